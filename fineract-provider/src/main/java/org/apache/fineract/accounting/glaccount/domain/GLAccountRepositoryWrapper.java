@@ -41,4 +41,11 @@ public class GLAccountRepositoryWrapper {
         return this.repository.findById(id).orElseThrow(() -> new GLAccountNotFoundException(id));
     }
 
+    /**
+     * Returns a lazily loaded reference to the account, for callers that already know the identifier is valid.
+     */
+    public GLAccount getReference(final Long id) {
+        return this.repository.getOne(id);
+    }
+
 }
@@ -0,0 +1,173 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.accounting.journalentry.domain;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Maintains acc_gl_daily_balance, the debits and credits per office, GL account, currency and day, as journal entries
+ * are posted.
+ *
+ * Within a transaction the amounts are only collected; they are added to the balance cells with one batch right before
+ * the transaction commits, so that the rows of busy cells (e.g. the cash account of a branch) stay locked for the
+ * commit only, and in a fixed order, so that concurrent postings cannot deadlock on them.
+ */
+@Component
+public class GLDailyBalanceRecorder {
+
+    private static final String UPSERT_SQL = "insert into acc_gl_daily_balance"
+            + " (office_id, account_id, currency_code, entry_date, debit_amount, credit_amount) values (?, ?, ?, ?, ?, ?)"
+            + " on duplicate key update debit_amount = debit_amount + values(debit_amount),"
+            + " credit_amount = credit_amount + values(credit_amount)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public GLDailyBalanceRecorder(final RoutingDataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    public void record(final JournalEntry journalEntry) {
+        record(Collections.singletonList(journalEntry));
+    }
+
+    public void record(final Collection<JournalEntry> journalEntries) {
+        if (journalEntries.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            final PendingBalances balances = new PendingBalances();
+            balances.add(journalEntries);
+            write(balances);
+            return;
+        }
+        currentBalances().add(journalEntries);
+    }
+
+    /**
+     * Looks the pending balances up among the synchronizations of the current transaction (rather than binding them as
+     * a resource), so that a nested REQUIRES_NEW transaction collects and writes its own.
+     */
+    private PendingBalances currentBalances() {
+        for (final TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingBalances) {
+                return (PendingBalances) synchronization;
+            }
+        }
+        final PendingBalances balances = new PendingBalances();
+        TransactionSynchronizationManager.registerSynchronization(balances);
+        return balances;
+    }
+
+    private void write(final PendingBalances balances) {
+        if (balances.cells.isEmpty()) {
+            return;
+        }
+        final List<Object[]> batchArgs = new ArrayList<>(balances.cells.size());
+        for (final Map.Entry<Cell, BigDecimal[]> cell : balances.cells.entrySet()) {
+            final Cell key = cell.getKey();
+            batchArgs.add(new Object[] { key.officeId, key.accountId, key.currencyCode, key.entryDate, cell.getValue()[0],
+                    cell.getValue()[1] });
+        }
+        balances.cells.clear();
+        this.jdbcTemplate.batchUpdate(UPSERT_SQL, batchArgs);
+    }
+
+    private final class PendingBalances extends TransactionSynchronizationAdapter {
+
+        // sorted, so that cells are always locked in the same order
+        private final Map<Cell, BigDecimal[]> cells = new TreeMap<>();
+
+        @Override
+        public void beforeCommit(final boolean readOnly) {
+            write(this);
+        }
+
+        void add(final Collection<JournalEntry> journalEntries) {
+            for (final JournalEntry journalEntry : journalEntries) {
+                if (journalEntry.getTransactionDate() == null) {
+                    continue;
+                }
+                final Cell cell = new Cell(journalEntry.getOffice().getId(), journalEntry.getGlAccount().getId(),
+                        journalEntry.getCurrencyCode(), new Date(journalEntry.getTransactionDate().getTime()));
+                final BigDecimal[] debitAndCredit = this.cells.computeIfAbsent(cell,
+                        key -> new BigDecimal[] { BigDecimal.ZERO, BigDecimal.ZERO });
+                final int index = journalEntry.isDebitEntry() ? 0 : 1;
+                debitAndCredit[index] = debitAndCredit[index].add(journalEntry.getAmount());
+            }
+        }
+    }
+
+    private static final class Cell implements Comparable<Cell> {
+
+        private static final Comparator<Cell> ORDER = Comparator.comparing((Cell cell) -> cell.officeId)
+                .thenComparing(cell -> cell.accountId).thenComparing(cell -> cell.currencyCode).thenComparing(cell -> cell.entryDate);
+
+        private final Long officeId;
+        private final Long accountId;
+        private final String currencyCode;
+        private final Date entryDate;
+
+        Cell(final Long officeId, final Long accountId, final String currencyCode, final Date entryDate) {
+            this.officeId = officeId;
+            this.accountId = accountId;
+            this.currencyCode = currencyCode;
+            this.entryDate = entryDate;
+        }
+
+        @Override
+        public int compareTo(final Cell other) {
+            return ORDER.compare(this, other);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Cell)) {
+                return false;
+            }
+            final Cell other = (Cell) obj;
+            return this.officeId.equals(other.officeId) && this.accountId.equals(other.accountId)
+                    && this.currencyCode.equals(other.currencyCode) && this.entryDate.equals(other.entryDate);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.officeId, this.accountId, this.currencyCode, this.entryDate);
+        }
+    }
+}
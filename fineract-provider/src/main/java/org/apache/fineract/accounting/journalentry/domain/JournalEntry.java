@@ -222,4 +222,12 @@ public class JournalEntry extends AbstractAuditableCustom {
         return this.shareTransactionId;
     }
 
+    public boolean isManualEntry() {
+        return this.manualEntry;
+    }
+
+    public String getDescription() {
+        return this.description;
+    }
+
 }
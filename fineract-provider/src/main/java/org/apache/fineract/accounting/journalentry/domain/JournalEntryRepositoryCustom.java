@@ -23,4 +23,18 @@ import java.util.List;
 public interface JournalEntryRepositoryCustom {
 
     List<JournalEntry> findFirstJournalEntryForAccount(long glAccountId);
+
+    /**
+     * Inserts new (not yet persisted) journal entries with a single JDBC batch, after flushing the persistence context so
+     * that the transactions they reference exist. The entries are not attached to the persistence context.
+     */
+    void insertInBatch(List<JournalEntry> journalEntries);
+
+    /**
+     * Replaces the default implementation so that every newly posted journal entry is also added to the daily GL
+     * balances, see {@link GLDailyBalanceRecorder}.
+     */
+    <S extends JournalEntry> S save(S journalEntry);
+
+    <S extends JournalEntry> S saveAndFlush(S journalEntry);
 }
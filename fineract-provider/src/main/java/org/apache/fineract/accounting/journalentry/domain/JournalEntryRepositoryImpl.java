@@ -18,17 +18,44 @@
  */
 package org.apache.fineract.accounting.journalentry.domain;
 
+import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
+import org.apache.fineract.infrastructure.core.domain.AbstractPersistableCustom;
+import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
+import org.apache.fineract.useradministration.domain.AppUser;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public class JournalEntryRepositoryImpl implements JournalEntryRepositoryCustom {
 
+    private static final String INSERT_SQL = "insert into acc_gl_journal_entry (account_id, office_id, currency_code, transaction_id,"
+            + " reversed, manual_entry, entry_date, type_enum, amount, description, entity_type_enum, entity_id, ref_num,"
+            + " payment_details_id, loan_transaction_id, savings_transaction_id, client_transaction_id, share_transaction_id,"
+            + " createdby_id, created_date, lastmodifiedby_id, lastmodified_date)"
+            + " values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
     @PersistenceContext
     private EntityManager entityManager;
 
+    private final JdbcTemplate jdbcTemplate;
+    private final AuditorAware<AppUser> auditorAware;
+    private final GLDailyBalanceRecorder glDailyBalanceRecorder;
+
+    @Autowired
+    public JournalEntryRepositoryImpl(final RoutingDataSource dataSource, final AuditorAware<AppUser> auditorAware,
+            final GLDailyBalanceRecorder glDailyBalanceRecorder) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.auditorAware = auditorAware;
+        this.glDailyBalanceRecorder = glDailyBalanceRecorder;
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public List<JournalEntry> findFirstJournalEntryForAccount(final long glAccountId) {
@@ -37,4 +64,51 @@ public class JournalEntryRepositoryImpl implements JournalEntryRepositoryCustom
                 .setParameter("glAccountId", glAccountId).setFirstResult(0).setMaxResults(1).getResultList();
         return journalEntries;
     }
+
+    @Override
+    public void insertInBatch(final List<JournalEntry> journalEntries) {
+        if (journalEntries.isEmpty()) {
+            return;
+        }
+        this.entityManager.flush();
+
+        final Long userId = this.auditorAware.getCurrentAuditor().map(AppUser::getId).orElse(null);
+        final Date now = new Date();
+        final List<Object[]> batchArgs = new ArrayList<>(journalEntries.size());
+        for (final JournalEntry journalEntry : journalEntries) {
+            batchArgs.add(new Object[] { journalEntry.getGlAccount().getId(), journalEntry.getOffice().getId(),
+                    journalEntry.getCurrencyCode(), journalEntry.getTransactionId(), false, journalEntry.isManualEntry(),
+                    new java.sql.Date(journalEntry.getTransactionDate().getTime()), journalEntry.getType(), journalEntry.getAmount(),
+                    journalEntry.getDescription(), journalEntry.getEntityType(), journalEntry.getEntityId(),
+                    journalEntry.getReferenceNumber(), idOf(journalEntry.getPaymentDetails()), idOf(journalEntry.getLoanTransaction()),
+                    idOf(journalEntry.getSavingsTransaction()), idOf(journalEntry.getClientTransaction()),
+                    journalEntry.getShareTransactionId(), userId, now, userId, now });
+        }
+        this.jdbcTemplate.batchUpdate(INSERT_SQL, batchArgs);
+        this.glDailyBalanceRecorder.record(journalEntries);
+    }
+
+    @Override
+    @Transactional
+    public <S extends JournalEntry> S save(final S journalEntry) {
+        if (!journalEntry.isNew()) {
+            // posted entries are only ever updated to mark them as reversed, which leaves the daily balances untouched
+            return this.entityManager.merge(journalEntry);
+        }
+        this.entityManager.persist(journalEntry);
+        this.glDailyBalanceRecorder.record(journalEntry);
+        return journalEntry;
+    }
+
+    @Override
+    @Transactional
+    public <S extends JournalEntry> S saveAndFlush(final S journalEntry) {
+        final S saved = save(journalEntry);
+        this.entityManager.flush();
+        return saved;
+    }
+
+    private static Long idOf(final AbstractPersistableCustom entity) {
+        return entity == null ? null : entity.getId();
+    }
 }
@@ -0,0 +1,42 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.accounting.journalentry.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Reads the daily GL balances (acc_gl_daily_balance) maintained by
+ * {@link org.apache.fineract.accounting.journalentry.domain.GLDailyBalanceRecorder}, for reports which need period
+ * totals per GL account without scanning the journal.
+ */
+public interface GLDailyBalanceReadPlatformService {
+
+    /**
+     * @param after
+     *            entries of this day are not included
+     * @param onOrBefore
+     *            last day included
+     * @param officeId
+     *            restricts the balances to one office, or null for all offices
+     * @return debits minus credits per GL code, for GL codes with entries in the period
+     */
+    Map<String, BigDecimal> retrieveNetBalancesByGLCode(LocalDate after, LocalDate onOrBefore, Long officeId);
+}
@@ -0,0 +1,63 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.accounting.journalentry.service;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+@Service
+public class GLDailyBalanceReadPlatformServiceImpl implements GLDailyBalanceReadPlatformService {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public GLDailyBalanceReadPlatformServiceImpl(final RoutingDataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public Map<String, BigDecimal> retrieveNetBalancesByGLCode(final LocalDate after, final LocalDate onOrBefore, final Long officeId) {
+        final StringBuilder sql = new StringBuilder("select gl.gl_code as glCode, sum(balance.debit_amount) - sum(balance.credit_amount)")
+                .append(" as netBalance from acc_gl_daily_balance balance join acc_gl_account gl on gl.id = balance.account_id")
+                .append(" where balance.entry_date > ? and balance.entry_date <= ?");
+        final List<Object> params = new ArrayList<>();
+        params.add(Date.valueOf(after));
+        params.add(Date.valueOf(onOrBefore));
+        if (officeId != null) {
+            sql.append(" and balance.office_id = ?");
+            params.add(officeId);
+        }
+        sql.append(" group by gl.gl_code");
+
+        final Map<String, BigDecimal> balances = new HashMap<>();
+        this.jdbcTemplate.query(sql.toString(), rs -> {
+            balances.put(rs.getString("glCode"), rs.getBigDecimal("netBalance"));
+        }, params.toArray());
+        return balances;
+    }
+}
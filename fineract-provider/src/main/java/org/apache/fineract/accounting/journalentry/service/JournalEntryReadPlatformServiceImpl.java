@@ -46,6 +46,7 @@ import org.apache.fineract.infrastructure.core.domain.JdbcSupport;
 import org.apache.fineract.infrastructure.core.exception.GeneralPlatformDomainRuleException;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
 import org.apache.fineract.infrastructure.core.service.Page;
+import org.apache.fineract.infrastructure.core.service.PageCursor;
 import org.apache.fineract.infrastructure.core.service.PaginationHelper;
 import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
 import org.apache.fineract.infrastructure.core.service.SearchParameters;
@@ -250,10 +251,10 @@ public class JournalEntryReadPlatformServiceImpl implements JournalEntryReadPlat
 
         GLJournalEntryMapper rm = new GLJournalEntryMapper(associationParametersData);
         final StringBuilder sqlBuilder = new StringBuilder(200);
-        sqlBuilder.append("select SQL_CALC_FOUND_ROWS ");
+        sqlBuilder.append("select ");
         sqlBuilder.append(rm.schema());
 
-        final Object[] objectArray = new Object[15];
+        final Object[] objectArray = new Object[18];
         int arrayPos = 0;
         String whereClose = " where ";
 
@@ -355,6 +356,31 @@ public class JournalEntryReadPlatformServiceImpl implements JournalEntryReadPlat
             whereClose = " and ";
         }
 
+        String sqlCountRows = null;
+        Object[] countArgs = null;
+        if (searchParameters.isCountRequested()) {
+            sqlCountRows = PaginationHelper.countSql(sqlBuilder.toString());
+            countArgs = Arrays.copyOf(objectArray, arrayPos);
+        }
+
+        if (searchParameters.isKeysetPaged()) {
+            // seek on the default (entry_date, id) ordering
+            final PageCursor cursor = PageCursor.from(searchParameters.getCursor());
+            if (cursor != null) {
+                cursor.expectKeys(2);
+                sqlBuilder.append(whereClose + " (journalEntry.entry_date > ? or (journalEntry.entry_date = ? and journalEntry.id > ?))");
+                objectArray[arrayPos] = cursor.getString(0);
+                arrayPos = arrayPos + 1;
+                objectArray[arrayPos] = cursor.getString(0);
+                arrayPos = arrayPos + 1;
+                objectArray[arrayPos] = cursor.getLong(1);
+                arrayPos = arrayPos + 1;
+            }
+            sqlBuilder.append(" order by journalEntry.entry_date, journalEntry.id");
+            return this.paginationHelper.fetchPage(this.jdbcTemplate, sqlCountRows, countArgs, sqlBuilder.toString(),
+                    Arrays.copyOf(objectArray, arrayPos), searchParameters.getLimit(), null, rm, "transactionDate", "id");
+        }
+
         if (searchParameters.isOrderByRequested()) {
             sqlBuilder.append(" order by ").append(searchParameters.getOrderBy());
             this.columnValidator.validateSqlInjection(sqlBuilder.toString(), searchParameters.getOrderBy());
@@ -367,16 +393,18 @@ public class JournalEntryReadPlatformServiceImpl implements JournalEntryReadPlat
             sqlBuilder.append(" order by journalEntry.entry_date, journalEntry.id");
         }
 
+        Integer limit = null;
+        Integer offset = null;
         if (searchParameters.isLimited()) {
-            sqlBuilder.append(" limit ").append(searchParameters.getLimit());
+            limit = searchParameters.getLimit();
             if (searchParameters.isOffset()) {
-                sqlBuilder.append(" offset ").append(searchParameters.getOffset());
+                offset = searchParameters.getOffset();
             }
         }
 
         final Object[] finalObjectArray = Arrays.copyOf(objectArray, arrayPos);
-        final String sqlCountRows = "SELECT FOUND_ROWS()";
-        return this.paginationHelper.fetchPage(this.jdbcTemplate, sqlCountRows, sqlBuilder.toString(), finalObjectArray, rm);
+        return this.paginationHelper.fetchPage(this.jdbcTemplate, sqlCountRows, countArgs, sqlBuilder.toString(), finalObjectArray, limit,
+                offset, rm);
     }
 
     @Override
@@ -530,9 +558,8 @@ public class JournalEntryReadPlatformServiceImpl implements JournalEntryReadPlat
             final GLJournalEntryMapper rm = new GLJournalEntryMapper(associationParametersData);
             final String sql = "select " + rm.schema()
                     + " where journalEntry.transaction_id = ? and journalEntry.entity_id = ? and journalEntry.entity_type_enum = ?";
-            final String sqlCountRows = "SELECT FOUND_ROWS()";
             Object[] data = { transactionId, entityId, entityType };
-            return this.paginationHelper.fetchPage(this.jdbcTemplate, sqlCountRows, sql, data, rm);
+            return this.paginationHelper.fetchPage(this.jdbcTemplate, PaginationHelper.countSql(sql), data, sql, data, null, null, rm);
         } catch (final EmptyResultDataAccessException e) {
             throw new JournalEntriesNotFoundException(entityId, e);
         }
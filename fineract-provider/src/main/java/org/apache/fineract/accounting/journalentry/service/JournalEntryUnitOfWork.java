@@ -0,0 +1,73 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.accounting.journalentry.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.LongFunction;
+import org.apache.fineract.accounting.closure.domain.GLClosure;
+import org.apache.fineract.accounting.journalentry.domain.JournalEntry;
+import org.apache.fineract.accounting.journalentry.exception.JournalEntryInvalidException;
+import org.apache.fineract.accounting.journalentry.exception.JournalEntryInvalidException.GlJournalEntryInvalidReason;
+
+/**
+ * Collects the journal entry legs of one business transaction (or of a whole job chunk running in one database
+ * transaction) so that they can be validated in memory and written with a single JDBC batch, instead of one
+ * <code>saveAndFlush</code> per leg. Also remembers the latest GL closure per office for the lifetime of the unit.
+ *
+ * @see AccountingProcessorHelper#executeInUnitOfWork(Runnable)
+ */
+final class JournalEntryUnitOfWork {
+
+    private final List<JournalEntry> journalEntries = new ArrayList<>();
+    private final Map<Long, Optional<GLClosure>> latestClosureByOffice = new HashMap<>();
+
+    void add(final JournalEntry journalEntry) {
+        this.journalEntries.add(journalEntry);
+    }
+
+    List<JournalEntry> getJournalEntries() {
+        return Collections.unmodifiableList(this.journalEntries);
+    }
+
+    GLClosure getLatestClosureByBranch(final long officeId, final LongFunction<GLClosure> closureLoader) {
+        return this.latestClosureByOffice.computeIfAbsent(officeId, id -> Optional.ofNullable(closureLoader.apply(id))).orElse(null);
+    }
+
+    /**
+     * Ensures that, per currency, the sum of all debits equals the sum of all credits of the collected legs.
+     */
+    void validateBalanced() {
+        final Map<String, BigDecimal> balanceByCurrency = new HashMap<>();
+        for (final JournalEntry journalEntry : this.journalEntries) {
+            final BigDecimal signedAmount = journalEntry.isDebitEntry() ? journalEntry.getAmount() : journalEntry.getAmount().negate();
+            balanceByCurrency.merge(journalEntry.getCurrencyCode(), signedAmount, BigDecimal::add);
+        }
+        for (final BigDecimal balance : balanceByCurrency.values()) {
+            if (balance.compareTo(BigDecimal.ZERO) != 0) {
+                throw new JournalEntryInvalidException(GlJournalEntryInvalidReason.DEBIT_CREDIT_SUM_MISMATCH, null, null, null);
+            }
+        }
+    }
+}
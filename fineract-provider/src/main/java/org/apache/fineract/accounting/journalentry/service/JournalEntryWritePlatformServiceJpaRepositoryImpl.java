@@ -466,8 +466,8 @@ public class JournalEntryWritePlatformServiceJpaRepositoryImpl implements Journa
                     expenseMap.put(entry.getExpenseAccount(), amount);
                 }
             }
-            createJournalEnry(provisioningEntry.getCreatedDate(), provisioningEntry.getId(), key.office, key.currency, liabilityMap,
-                    expenseMap);
+            this.helper.executeInUnitOfWork(() -> createJournalEnry(provisioningEntry.getCreatedDate(), provisioningEntry.getId(),
+                    key.office, key.currency, liabilityMap, expenseMap));
         }
         return "P" + provisioningEntry.getId();
     }
@@ -512,7 +512,7 @@ public class JournalEntryWritePlatformServiceJpaRepositoryImpl implements Journa
                     upfrontAccrualBasedAccountingEnabled, periodicAccrualBasedAccountingEnabled);
             final AccountingProcessorForLoan accountingProcessorForLoan = this.accountingProcessorForLoanFactory
                     .determineProcessor(loanDTO);
-            accountingProcessorForLoan.createJournalEntriesForLoan(loanDTO);
+            this.helper.executeInUnitOfWork(() -> accountingProcessorForLoan.createJournalEntriesForLoan(loanDTO));
         }
     }
 
@@ -528,7 +528,7 @@ public class JournalEntryWritePlatformServiceJpaRepositoryImpl implements Journa
                     accrualBasedAccountingEnabled);
             final AccountingProcessorForSavings accountingProcessorForSavings = this.accountingProcessorForSavingsFactory
                     .determineProcessor(savingsDTO);
-            accountingProcessorForSavings.createJournalEntriesForSavings(savingsDTO);
+            this.helper.executeInUnitOfWork(() -> accountingProcessorForSavings.createJournalEntriesForSavings(savingsDTO));
         }
 
     }
@@ -545,7 +545,7 @@ public class JournalEntryWritePlatformServiceJpaRepositoryImpl implements Journa
                     accrualBasedAccountingEnabled);
             final AccountingProcessorForShares accountingProcessorForShares = this.accountingProcessorForSharesFactory
                     .determineProcessor(sharesDTO);
-            accountingProcessorForShares.createJournalEntriesForShares(sharesDTO);
+            this.helper.executeInUnitOfWork(() -> accountingProcessorForShares.createJournalEntriesForShares(sharesDTO));
         }
 
     }
@@ -786,7 +786,8 @@ public class JournalEntryWritePlatformServiceJpaRepositoryImpl implements Journa
     @Override
     public void createJournalEntriesForClientTransactions(Map<String, Object> accountingBridgeData) {
         final ClientTransactionDTO clientTransactionDTO = this.helper.populateClientTransactionDtoFromMap(accountingBridgeData);
-        accountingProcessorForClientTransactions.createJournalEntriesForClientTransaction(clientTransactionDTO);
+        this.helper.executeInUnitOfWork(
+                () -> this.accountingProcessorForClientTransactions.createJournalEntriesForClientTransaction(clientTransactionDTO));
     }
 
     private static class OfficeCurrencyKey {
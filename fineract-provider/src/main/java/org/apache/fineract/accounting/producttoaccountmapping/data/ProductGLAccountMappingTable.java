@@ -0,0 +1,99 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.accounting.producttoaccountmapping.data;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of the GL accounts mapped to a single product, keyed by (financial account type, payment type) and
+ * (financial account type, charge). Values are GL account identifiers; a <code>null</code> result means no mapping
+ * exists for the requested key.
+ */
+public final class ProductGLAccountMappingTable {
+
+    private final Map<Integer, Long> coreAccounts;
+    private final Map<Integer, Map<Long, Long>> paymentTypeAccounts;
+    private final Map<Integer, Map<Long, Long>> chargeAccounts;
+
+    private ProductGLAccountMappingTable(final Map<Integer, Long> coreAccounts, final Map<Integer, Map<Long, Long>> paymentTypeAccounts,
+            final Map<Integer, Map<Long, Long>> chargeAccounts) {
+        this.coreAccounts = coreAccounts;
+        this.paymentTypeAccounts = paymentTypeAccounts;
+        this.chargeAccounts = chargeAccounts;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public Long getCoreAccountId(final int financialAccountType) {
+        return this.coreAccounts.get(financialAccountType);
+    }
+
+    public Long getPaymentTypeAccountId(final int financialAccountType, final Long paymentTypeId) {
+        return lookup(this.paymentTypeAccounts, financialAccountType, paymentTypeId);
+    }
+
+    public Long getChargeAccountId(final int financialAccountType, final Long chargeId) {
+        return lookup(this.chargeAccounts, financialAccountType, chargeId);
+    }
+
+    private static Long lookup(final Map<Integer, Map<Long, Long>> accounts, final int financialAccountType, final Long id) {
+        if (id == null) {
+            return null;
+        }
+        final Map<Long, Long> accountsForType = accounts.get(financialAccountType);
+        return accountsForType == null ? null : accountsForType.get(id);
+    }
+
+    public static final class Builder {
+
+        private final Map<Integer, Long> coreAccounts = new HashMap<>();
+        private final Map<Integer, Map<Long, Long>> paymentTypeAccounts = new HashMap<>();
+        private final Map<Integer, Map<Long, Long>> chargeAccounts = new HashMap<>();
+
+        private Builder() {}
+
+        public Builder withMapping(final int financialAccountType, final Long paymentTypeId, final Long chargeId, final Long glAccountId) {
+            if (chargeId != null) {
+                this.chargeAccounts.computeIfAbsent(financialAccountType, k -> new HashMap<>()).put(chargeId, glAccountId);
+            } else if (paymentTypeId != null) {
+                this.paymentTypeAccounts.computeIfAbsent(financialAccountType, k -> new HashMap<>()).put(paymentTypeId, glAccountId);
+            } else {
+                this.coreAccounts.put(financialAccountType, glAccountId);
+            }
+            return this;
+        }
+
+        public ProductGLAccountMappingTable build() {
+            return new ProductGLAccountMappingTable(Collections.unmodifiableMap(new HashMap<>(this.coreAccounts)),
+                    freeze(this.paymentTypeAccounts), freeze(this.chargeAccounts));
+        }
+
+        private static Map<Integer, Map<Long, Long>> freeze(final Map<Integer, Map<Long, Long>> accounts) {
+            final Map<Integer, Map<Long, Long>> frozen = new HashMap<>();
+            for (final Map.Entry<Integer, Map<Long, Long>> entry : accounts.entrySet()) {
+                frozen.put(entry.getKey(), Collections.unmodifiableMap(new HashMap<>(entry.getValue())));
+            }
+            return Collections.unmodifiableMap(frozen);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.accounting.producttoaccountmapping.service;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.fineract.accounting.producttoaccountmapping.data.ProductGLAccountMappingTable;
+import org.apache.fineract.accounting.producttoaccountmapping.domain.PortfolioProductType;
+import org.apache.fineract.infrastructure.cache.service.TenantScopedCacheService;
+import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tenant scoped, cached view of the product to GL account mappings and of the financial activity accounts used while
+ * posting journal entries.
+ *
+ * Mapping tables are loaded lazily per product into the caches of {@link TenantScopedCacheService} and are immutable;
+ * they are only ever replaced by evicting them. The write services owning <code>acc_product_mapping</code> and
+ * <code>acc_gl_financial_activity_account</code> must call the evict methods, which evict on every node.
+ */
+@Component
+public class ProductToGLAccountMappingResolver {
+
+    private static final String PRODUCT_MAPPINGS_CACHE = "productGLAccountMappings";
+    private static final String FINANCIAL_ACTIVITY_ACCOUNTS_CACHE = "financialActivityAccounts";
+    private static final String FINANCIAL_ACTIVITY_ACCOUNTS_KEY = "all";
+
+    private static final String PRODUCT_MAPPINGS_SQL = "select mapping.financial_account_type as financialAccountType, "
+            + "mapping.payment_type as paymentTypeId, mapping.charge_id as chargeId, mapping.gl_account_id as glAccountId "
+            + "from acc_product_mapping mapping where mapping.product_id = ? and mapping.product_type = ? "
+            + "and mapping.gl_account_id is not null";
+
+    private static final String FINANCIAL_ACTIVITY_ACCOUNTS_SQL = "select faa.financial_activity_type as financialActivityType, "
+            + "faa.gl_account_id as glAccountId from acc_gl_financial_activity_account faa";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TenantScopedCacheService cacheService;
+
+    @Autowired
+    public ProductToGLAccountMappingResolver(final RoutingDataSource dataSource, final TenantScopedCacheService cacheService) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.cacheService = cacheService;
+    }
+
+    public ProductGLAccountMappingTable retrieveMappingTable(final PortfolioProductType productType, final Long productId) {
+        return this.cacheService.get(PRODUCT_MAPPINGS_CACHE, productKey(productType, productId),
+                () -> loadMappingTable(productType, productId));
+    }
+
+    /**
+     * @return the identifier of the GL account linked to the financial activity, or <code>null</code> when the activity
+     *         has not been mapped
+     */
+    public Long retrieveFinancialActivityAccountId(final int financialActivityType) {
+        final Map<Integer, Long> financialActivityAccounts = this.cacheService.get(FINANCIAL_ACTIVITY_ACCOUNTS_CACHE,
+                FINANCIAL_ACTIVITY_ACCOUNTS_KEY, this::loadFinancialActivityAccounts);
+        return financialActivityAccounts.get(financialActivityType);
+    }
+
+    public void evictProductMappings(final PortfolioProductType productType, final Long productId) {
+        this.cacheService.evict(PRODUCT_MAPPINGS_CACHE, productKey(productType, productId));
+    }
+
+    public void evictFinancialActivityAccounts() {
+        this.cacheService.evict(FINANCIAL_ACTIVITY_ACCOUNTS_CACHE, FINANCIAL_ACTIVITY_ACCOUNTS_KEY);
+    }
+
+    private ProductGLAccountMappingTable loadMappingTable(final PortfolioProductType productType, final Long productId) {
+        final ProductGLAccountMappingTable.Builder builder = ProductGLAccountMappingTable.builder();
+        this.jdbcTemplate.query(PRODUCT_MAPPINGS_SQL, rs -> {
+            final Long paymentTypeId = rs.getObject("paymentTypeId", Long.class);
+            final Long chargeId = rs.getObject("chargeId", Long.class);
+            builder.withMapping(rs.getInt("financialAccountType"), paymentTypeId, chargeId, rs.getLong("glAccountId"));
+        }, productId, productType.getValue());
+        return builder.build();
+    }
+
+    private Map<Integer, Long> loadFinancialActivityAccounts() {
+        final Map<Integer, Long> accounts = new HashMap<>();
+        this.jdbcTemplate.query(FINANCIAL_ACTIVITY_ACCOUNTS_SQL, rs -> {
+            accounts.put(rs.getInt("financialActivityType"), rs.getLong("glAccountId"));
+        });
+        return Collections.unmodifiableMap(accounts);
+    }
+
+    private static String productKey(final PortfolioProductType productType, final Long productId) {
+        return productType.getValue() + ":" + productId;
+    }
+}
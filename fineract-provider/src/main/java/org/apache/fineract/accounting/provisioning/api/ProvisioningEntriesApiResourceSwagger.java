@@ -73,6 +73,8 @@ final class ProvisioningEntriesApiResourceSwagger {
 
         @Schema(example = "recreateprovisioningentry")
         public String command;
+        @Schema(example = "true")
+        public Boolean incremental;
     }
 
     @Schema(description = "PutProvisioningEntriesResponse")
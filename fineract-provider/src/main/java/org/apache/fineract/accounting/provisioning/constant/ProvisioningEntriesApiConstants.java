@@ -28,6 +28,8 @@ public interface ProvisioningEntriesApiConstants {
 
     String JSON_CREATEJOURNALENTRIES_PARAM = "createjournalentries";
 
+    String JSON_INCREMENTAL_PARAM = "incremental";
+
     String PROVISIONINGENTRY_PARAM = "provisioningentry";
 
     String ENTRIES_PARAM = "entries";
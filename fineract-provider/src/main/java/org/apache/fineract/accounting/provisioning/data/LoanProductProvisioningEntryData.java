@@ -137,6 +137,10 @@ public class LoanProductProvisioningEntryData {
         return percentage;
     }
 
+    public BigDecimal getAmountReserved() {
+        return this.amountreserved;
+    }
+
     public Long getLiablityAccount() {
         return this.liablityAccount;
     }
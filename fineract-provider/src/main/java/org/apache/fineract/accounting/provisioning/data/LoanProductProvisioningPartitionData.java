@@ -0,0 +1,60 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.accounting.provisioning.data;
+
+import java.util.Objects;
+
+/**
+ * An office and loan product pair; loan loss provisioning is computed and stored independently per partition.
+ */
+public final class LoanProductProvisioningPartitionData {
+
+    private final Long officeId;
+    private final Long productId;
+
+    public LoanProductProvisioningPartitionData(final Long officeId, final Long productId) {
+        this.officeId = officeId;
+        this.productId = productId;
+    }
+
+    public Long getOfficeId() {
+        return this.officeId;
+    }
+
+    public Long getProductId() {
+        return this.productId;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof LoanProductProvisioningPartitionData)) {
+            return false;
+        }
+        final LoanProductProvisioningPartitionData other = (LoanProductProvisioningPartitionData) obj;
+        return Objects.equals(this.officeId, other.officeId) && Objects.equals(this.productId, other.productId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.officeId, this.productId);
+    }
+}
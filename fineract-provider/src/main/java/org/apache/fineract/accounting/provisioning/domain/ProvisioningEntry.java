@@ -61,6 +61,10 @@ public class ProvisioningEntry extends AbstractPersistableCustom {
     @Temporal(TemporalType.DATE)
     private Date lastModifiedDate;
 
+    @Column(name = "generated_on")
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date generatedOn;
+
     protected ProvisioningEntry() {
 
     }
@@ -93,4 +97,20 @@ public class ProvisioningEntry extends AbstractPersistableCustom {
         return this.createdDate;
     }
 
+    /**
+     * Records the moment at which the loan product entries started being generated; loans changed after this moment are
+     * picked up by an incremental re-creation.
+     */
+    public void markGenerated(final AppUser generatedBy, final Date generatedOn) {
+        if (this.generatedOn != null) {
+            this.lastModifiedBy = generatedBy;
+            this.lastModifiedDate = generatedOn;
+        }
+        this.generatedOn = generatedOn;
+    }
+
+    public Date getGeneratedOn() {
+        return this.generatedOn;
+    }
+
 }
@@ -24,7 +24,8 @@ import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
-public interface ProvisioningEntryRepository extends JpaRepository<ProvisioningEntry, Long>, JpaSpecificationExecutor<ProvisioningEntry> {
+public interface ProvisioningEntryRepository
+        extends JpaRepository<ProvisioningEntry, Long>, JpaSpecificationExecutor<ProvisioningEntry>, ProvisioningEntryRepositoryCustom {
 
     // OPENJPA throws error if we use entry
     @Query("select entry1 from ProvisioningEntry entry1 where entry1.createdDate = :createdDate")
@@ -0,0 +1,39 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.accounting.provisioning.domain;
+
+import java.util.Collection;
+import org.apache.fineract.accounting.provisioning.data.LoanProductProvisioningEntryData;
+import org.apache.fineract.accounting.provisioning.data.LoanProductProvisioningPartitionData;
+
+public interface ProvisioningEntryRepositoryCustom {
+
+    /**
+     * Inserts the loan product entries of a provisioning entry with a single JDBC batch. The entries must carry the
+     * reserved amount; call {@link #refresh(ProvisioningEntry)} to see them on the entity.
+     */
+    void insertLoanProductProvisioningEntries(Long provisioningEntryId, Collection<LoanProductProvisioningEntryData> entries);
+
+    /**
+     * Deletes the loan product entries of the given partitions, or all of them when <code>partitions</code> is null.
+     */
+    void deleteLoanProductProvisioningEntries(Long provisioningEntryId, Collection<LoanProductProvisioningPartitionData> partitions);
+
+    void refresh(ProvisioningEntry provisioningEntry);
+}
@@ -0,0 +1,88 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.accounting.provisioning.domain;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import org.apache.fineract.accounting.provisioning.data.LoanProductProvisioningEntryData;
+import org.apache.fineract.accounting.provisioning.data.LoanProductProvisioningPartitionData;
+import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class ProvisioningEntryRepositoryImpl implements ProvisioningEntryRepositoryCustom {
+
+    private static final String INSERT_SQL = "insert into m_loanproduct_provisioning_entry (history_id, criteria_id, currency_code,"
+            + " office_id, product_id, category_id, overdue_in_days, reseve_amount, liability_account, expense_account)"
+            + " values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String DELETE_SQL = "delete from m_loanproduct_provisioning_entry where history_id = ?";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public ProvisioningEntryRepositoryImpl(final RoutingDataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public void insertLoanProductProvisioningEntries(final Long provisioningEntryId,
+            final Collection<LoanProductProvisioningEntryData> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        final List<Object[]> batchArgs = new ArrayList<>(entries.size());
+        for (final LoanProductProvisioningEntryData entry : entries) {
+            batchArgs.add(new Object[] { provisioningEntryId, entry.getCriteriaId(), entry.getCurrencyCode(), entry.getOfficeId(),
+                    entry.getProductId(), entry.getCategoryId(), entry.getOverdueInDays(), entry.getAmountReserved(),
+                    entry.getLiablityAccount(), entry.getExpenseAccount() });
+        }
+        this.jdbcTemplate.batchUpdate(INSERT_SQL, batchArgs);
+    }
+
+    @Override
+    public void deleteLoanProductProvisioningEntries(final Long provisioningEntryId,
+            final Collection<LoanProductProvisioningPartitionData> partitions) {
+        if (partitions == null) {
+            this.jdbcTemplate.update(DELETE_SQL, provisioningEntryId);
+            return;
+        }
+        if (partitions.isEmpty()) {
+            return;
+        }
+        final List<Object[]> batchArgs = new ArrayList<>(partitions.size());
+        for (final LoanProductProvisioningPartitionData partition : partitions) {
+            batchArgs.add(new Object[] { provisioningEntryId, partition.getOfficeId(), partition.getProductId() });
+        }
+        this.jdbcTemplate.batchUpdate(DELETE_SQL + " and office_id = ? and product_id = ?", batchArgs);
+    }
+
+    @Override
+    public void refresh(final ProvisioningEntry provisioningEntry) {
+        this.entityManager.refresh(provisioningEntry);
+    }
+}
@@ -44,8 +44,8 @@ import org.springframework.stereotype.Component;
 public class ProvisioningEntriesDefinitionJsonDeserializer implements ProvisioningEntriesApiConstants {
 
     private final FromJsonHelper fromApiJsonHelper;
-    private static final Set<String> supportedParameters = new HashSet<>(
-            Arrays.asList(JSON_DATE_PARAM, JSON_DATEFORMAT_PARAM, JSON_LOCALE_PARAM, JSON_CREATEJOURNALENTRIES_PARAM));
+    private static final Set<String> supportedParameters = new HashSet<>(Arrays.asList(JSON_DATE_PARAM, JSON_DATEFORMAT_PARAM,
+            JSON_LOCALE_PARAM, JSON_CREATEJOURNALENTRIES_PARAM, JSON_INCREMENTAL_PARAM));
 
     @Autowired
     public ProvisioningEntriesDefinitionJsonDeserializer(final FromJsonHelper fromApiJsonHelper) {
@@ -78,4 +78,30 @@ public class ProvisioningEntriesDefinitionJsonDeserializer implements Provisioni
             throw new PlatformApiDataValidationException(dataValidationErrors);
         }
     }
+
+    /**
+     * Validates the optional body of a re-creation request.
+     *
+     * @return whether only the office / loan product partitions changed since the entry was last generated are to be
+     *         re-created
+     */
+    public boolean validateForRecreate(final String json) {
+        if (StringUtils.isBlank(json)) {
+            return false;
+        }
+        final Type typeOfMap = new TypeToken<Map<String, Object>>() {}.getType();
+        this.fromApiJsonHelper.checkForUnsupportedParameters(typeOfMap, json, supportedParameters);
+        final JsonElement element = this.fromApiJsonHelper.parse(json);
+        if (!this.fromApiJsonHelper.parameterExists(JSON_INCREMENTAL_PARAM, element)) {
+            return false;
+        }
+        final List<ApiParameterError> dataValidationErrors = new ArrayList<>();
+        final DataValidatorBuilder baseDataValidator = new DataValidatorBuilder(dataValidationErrors).resource("provisioningcriteria");
+        final Boolean incremental = this.fromApiJsonHelper.extractBooleanNamed(JSON_INCREMENTAL_PARAM, element);
+        baseDataValidator.reset().parameter(JSON_INCREMENTAL_PARAM).value(incremental).notNull();
+        if (!dataValidationErrors.isEmpty()) {
+            throw new PlatformApiDataValidationException(dataValidationErrors);
+        }
+        return incremental;
+    }
 }
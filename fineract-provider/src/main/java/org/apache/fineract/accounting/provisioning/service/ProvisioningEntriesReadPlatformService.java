@@ -18,9 +18,12 @@
  */
 package org.apache.fineract.accounting.provisioning.service;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.Date;
+import java.util.List;
 import org.apache.fineract.accounting.provisioning.data.LoanProductProvisioningEntryData;
+import org.apache.fineract.accounting.provisioning.data.LoanProductProvisioningPartitionData;
 import org.apache.fineract.accounting.provisioning.data.ProvisioningEntryData;
 import org.apache.fineract.infrastructure.core.service.Page;
 import org.apache.fineract.infrastructure.core.service.SearchParameters;
@@ -29,6 +32,14 @@ public interface ProvisioningEntriesReadPlatformService {
 
     Collection<LoanProductProvisioningEntryData> retrieveLoanProductsProvisioningData(Date date);
 
+    Collection<LoanProductProvisioningEntryData> retrieveLoanProductsProvisioningData(Date date,
+            LoanProductProvisioningPartitionData partition);
+
+    List<LoanProductProvisioningPartitionData> retrieveLoanProductProvisioningPartitions();
+
+    List<LoanProductProvisioningPartitionData> retrieveLoanProductProvisioningPartitionsChangedSince(
+            LocalDateTime transactionsChangedSince, LocalDateTime schedulesChangedSince);
+
     ProvisioningEntryData retrieveProvisioningEntryData(Long entryId);
 
     Page<ProvisioningEntryData> retrieveAllProvisioningEntries(Integer offset, Integer limit);
@@ -21,12 +21,15 @@ package org.apache.fineract.accounting.provisioning.service;
 import java.math.BigDecimal;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.text.SimpleDateFormat;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import org.apache.fineract.accounting.provisioning.data.LoanProductProvisioningEntryData;
+import org.apache.fineract.accounting.provisioning.data.LoanProductProvisioningPartitionData;
 import org.apache.fineract.accounting.provisioning.data.ProvisioningEntryData;
 import org.apache.fineract.infrastructure.core.service.Page;
 import org.apache.fineract.infrastructure.core.service.PaginationHelper;
@@ -56,19 +59,67 @@ public class ProvisioningEntriesReadPlatformServiceImpl implements ProvisioningE
 
     @Override
     public Collection<LoanProductProvisioningEntryData> retrieveLoanProductsProvisioningData(Date date) {
+        return retrieveLoanProductsProvisioningData(date, null);
+    }
+
+    @Override
+    public Collection<LoanProductProvisioningEntryData> retrieveLoanProductsProvisioningData(final Date date,
+            final LoanProductProvisioningPartitionData partition) {
         String formattedDate = new SimpleDateFormat("yyyy-MM-dd").format(date);
-        LoanProductProvisioningEntryMapper mapper = new LoanProductProvisioningEntryMapper();
+        LoanProductProvisioningEntryMapper mapper = new LoanProductProvisioningEntryMapper(partition != null);
         final String sql = mapper.schema();
-        return this.jdbcTemplate.query(sql, mapper, new Object[] { formattedDate, formattedDate, formattedDate });
+        if (partition == null) {
+            return this.jdbcTemplate.query(sql, mapper, new Object[] { formattedDate, formattedDate, formattedDate });
+        }
+        return this.jdbcTemplate.query(sql, mapper,
+                new Object[] { formattedDate, formattedDate, formattedDate, partition.getOfficeId(), partition.getProductId() });
     }
 
+    @Override
+    public List<LoanProductProvisioningPartitionData> retrieveLoanProductProvisioningPartitions() {
+        final String sql = LoanProductProvisioningPartitionMapper.SCHEMA + " where loan.loan_status_id = 300";
+        return this.jdbcTemplate.query(sql, new LoanProductProvisioningPartitionMapper());
+    }
+
+    @Override
+    public List<LoanProductProvisioningPartitionData> retrieveLoanProductProvisioningPartitionsChangedSince(
+            final LocalDateTime transactionsChangedSince, final LocalDateTime schedulesChangedSince) {
+        // loans are not audited themselves, every change to the outstanding balance or the overdue date either books a
+        // transaction or rewrites the schedule. Closed loans are included so that their partition drops their reserve.
+        final String sql = LoanProductProvisioningPartitionMapper.SCHEMA
+                + " where loan.id in (select tr.loan_id from m_loan_transaction tr where tr.created_date > ?"
+                + " union select sch.loan_id from m_loan_repayment_schedule sch where sch.lastmodified_date > ?)";
+        return this.jdbcTemplate.query(sql, new LoanProductProvisioningPartitionMapper(),
+                new Object[] { Timestamp.valueOf(transactionsChangedSince), Timestamp.valueOf(schedulesChangedSince) });
+    }
+
+    private static final class LoanProductProvisioningPartitionMapper implements RowMapper<LoanProductProvisioningPartitionData> {
+
+        static final String SCHEMA = "select distinct if(loan.loan_type_enum=1, mclient.office_id, mgroup.office_id) as office_id, "
+                + "loan.product_id from m_loan loan "
+                + "JOIN m_loanproduct_provisioning_mapping lpm on lpm.product_id = loan.product_id "
+                + "LEFT JOIN m_client mclient ON mclient.id = loan.client_id LEFT JOIN m_group mgroup ON mgroup.id = loan.group_id";
+
+        @Override
+        public LoanProductProvisioningPartitionData mapRow(ResultSet rs, int rowNum) throws SQLException {
+            return new LoanProductProvisioningPartitionData(rs.getLong("office_id"), rs.getLong("product_id"));
+        }
+    }
+
+    /**
+     * Aggregates the outstanding balance of active loans per office, product, currency, provisioning category and days
+     * overdue, optionally restricted to a single office and product partition.
+     */
     private static final class LoanProductProvisioningEntryMapper implements RowMapper<LoanProductProvisioningEntryData> {
 
         private final StringBuilder sqlQuery;
 
-        private LoanProductProvisioningEntryMapper() {
-            sqlQuery = new StringBuilder().append(
-                    "select if(loan.loan_type_enum=1, mclient.office_id, mgroup.office_id) as office_id, loan.loan_type_enum, pcd.criteria_id as criteriaid, loan.product_id,loan.currency_code,")
+        private LoanProductProvisioningEntryMapper(final boolean partitioned) {
+            sqlQuery = new StringBuilder()
+                    .append("select loans.office_id, loans.criteriaid, loans.product_id, loans.currency_code, loans.numberofdaysoverdue, ")
+                    .append("loans.category_id, loans.provision_percentage, sum(loans.outstandingbalance) as outstandingbalance, ")
+                    .append("loans.liability_account, loans.expense_account from (")
+                    .append("select if(loan.loan_type_enum=1, mclient.office_id, mgroup.office_id) as office_id, loan.loan_type_enum, pcd.criteria_id as criteriaid, loan.product_id,loan.currency_code,")
                     .append("GREATEST(datediff(?")
                     .append(",sch.duedate),0) as numberofdaysoverdue,sch.duedate, pcd.category_id, pcd.provision_percentage,")
                     .append("loan.total_outstanding_derived as outstandingbalance, pcd.liability_account, pcd.expense_account from m_loan_repayment_schedule sch")
@@ -81,6 +132,12 @@ public class ProvisioningEntriesReadPlatformServiceImpl implements ProvisioningE
                     .append("LEFT JOIN m_group mgroup ON mgroup.id = loan.group_id ")
                     .append("where loan.loan_status_id=300 and sch.duedate = ")
                     .append("(select MIN(sch1.duedate) from m_loan_repayment_schedule sch1 where sch1.loan_id=loan.id and sch1.completed_derived=false)");
+            if (partitioned) {
+                sqlQuery.append(" and if(loan.loan_type_enum=1, mclient.office_id, mgroup.office_id) = ? and loan.product_id = ?");
+            }
+            sqlQuery.append(") loans group by loans.office_id, loans.criteriaid, loans.product_id, loans.currency_code, ")
+                    .append("loans.numberofdaysoverdue, loans.category_id, loans.provision_percentage, loans.liability_account, ")
+                    .append("loans.expense_account");
         }
 
         @Override
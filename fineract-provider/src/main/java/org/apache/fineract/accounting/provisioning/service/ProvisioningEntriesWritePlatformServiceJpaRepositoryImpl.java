@@ -19,17 +19,27 @@
 package org.apache.fineract.accounting.provisioning.service;
 
 import com.google.gson.JsonObject;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import org.apache.fineract.accounting.glaccount.domain.GLAccount;
-import org.apache.fineract.accounting.glaccount.domain.GLAccountRepository;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.apache.fineract.accounting.journalentry.service.JournalEntryWritePlatformService;
 import org.apache.fineract.accounting.producttoaccountmapping.domain.PortfolioProductType;
 import org.apache.fineract.accounting.provisioning.data.LoanProductProvisioningEntryData;
+import org.apache.fineract.accounting.provisioning.data.LoanProductProvisioningPartitionData;
 import org.apache.fineract.accounting.provisioning.data.ProvisioningEntryData;
 import org.apache.fineract.accounting.provisioning.domain.LoanProductProvisioningEntry;
 import org.apache.fineract.accounting.provisioning.domain.ProvisioningEntry;
@@ -39,24 +49,22 @@ import org.apache.fineract.accounting.provisioning.exception.ProvisioningEntryAl
 import org.apache.fineract.accounting.provisioning.exception.ProvisioningEntryNotfoundException;
 import org.apache.fineract.accounting.provisioning.exception.ProvisioningJournalEntriesCannotbeCreatedException;
 import org.apache.fineract.accounting.provisioning.serialization.ProvisioningEntriesDefinitionJsonDeserializer;
+import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
 import org.apache.fineract.infrastructure.core.api.JsonCommand;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResultBuilder;
+import org.apache.fineract.infrastructure.core.exception.PlatformInternalServerException;
 import org.apache.fineract.infrastructure.core.serialization.FromJsonHelper;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.infrastructure.core.service.TenantAwareTasks;
 import org.apache.fineract.infrastructure.jobs.annotation.CronTarget;
 import org.apache.fineract.infrastructure.jobs.service.JobName;
 import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
 import org.apache.fineract.organisation.monetary.domain.MonetaryCurrency;
 import org.apache.fineract.organisation.monetary.domain.Money;
 import org.apache.fineract.organisation.monetary.domain.MoneyHelper;
-import org.apache.fineract.organisation.office.domain.Office;
-import org.apache.fineract.organisation.office.domain.OfficeRepositoryWrapper;
 import org.apache.fineract.organisation.provisioning.data.ProvisioningCriteriaData;
-import org.apache.fineract.organisation.provisioning.domain.ProvisioningCategory;
-import org.apache.fineract.organisation.provisioning.domain.ProvisioningCategoryRepository;
 import org.apache.fineract.organisation.provisioning.service.ProvisioningCriteriaReadPlatformService;
-import org.apache.fineract.portfolio.loanproduct.domain.LoanProduct;
 import org.apache.fineract.portfolio.loanproduct.domain.LoanProductRepository;
 import org.apache.fineract.useradministration.domain.AppUser;
 import org.slf4j.Logger;
@@ -73,35 +81,31 @@ public class ProvisioningEntriesWritePlatformServiceJpaRepositoryImpl implements
     private final ProvisioningEntriesReadPlatformService provisioningEntriesReadPlatformService;
     private final ProvisioningCriteriaReadPlatformService provisioningCriteriaReadPlatformService;
     private final LoanProductRepository loanProductRepository;
-    private final GLAccountRepository glAccountRepository;
-    private final OfficeRepositoryWrapper officeRepositoryWrapper;
-    private final ProvisioningCategoryRepository provisioningCategoryRepository;
     private final PlatformSecurityContext platformSecurityContext;
     private final ProvisioningEntryRepository provisioningEntryRepository;
     private final JournalEntryWritePlatformService journalEntryWritePlatformService;
     private final ProvisioningEntriesDefinitionJsonDeserializer fromApiJsonDeserializer;
     private final FromJsonHelper fromApiJsonHelper;
+    private final ConfigurationDomainService configurationDomainService;
 
     @Autowired
     public ProvisioningEntriesWritePlatformServiceJpaRepositoryImpl(
             final ProvisioningEntriesReadPlatformService provisioningEntriesReadPlatformService,
             final ProvisioningCriteriaReadPlatformService provisioningCriteriaReadPlatformService,
-            final LoanProductRepository loanProductRepository, final GLAccountRepository glAccountRepository,
-            final OfficeRepositoryWrapper officeRepositoryWrapper, final ProvisioningCategoryRepository provisioningCategoryRepository,
-            final PlatformSecurityContext platformSecurityContext, final ProvisioningEntryRepository provisioningEntryRepository,
+            final LoanProductRepository loanProductRepository, final PlatformSecurityContext platformSecurityContext,
+            final ProvisioningEntryRepository provisioningEntryRepository,
             final JournalEntryWritePlatformService journalEntryWritePlatformService,
-            final ProvisioningEntriesDefinitionJsonDeserializer fromApiJsonDeserializer, final FromJsonHelper fromApiJsonHelper) {
+            final ProvisioningEntriesDefinitionJsonDeserializer fromApiJsonDeserializer, final FromJsonHelper fromApiJsonHelper,
+            final ConfigurationDomainService configurationDomainService) {
         this.provisioningEntriesReadPlatformService = provisioningEntriesReadPlatformService;
         this.provisioningCriteriaReadPlatformService = provisioningCriteriaReadPlatformService;
         this.loanProductRepository = loanProductRepository;
-        this.glAccountRepository = glAccountRepository;
-        this.officeRepositoryWrapper = officeRepositoryWrapper;
-        this.provisioningCategoryRepository = provisioningCategoryRepository;
         this.platformSecurityContext = platformSecurityContext;
         this.provisioningEntryRepository = provisioningEntryRepository;
         this.journalEntryWritePlatformService = journalEntryWritePlatformService;
         this.fromApiJsonDeserializer = fromApiJsonDeserializer;
         this.fromApiJsonHelper = fromApiJsonHelper;
+        this.configurationDomainService = configurationDomainService;
     }
 
     @Override
@@ -200,57 +204,95 @@ public class ProvisioningEntriesWritePlatformServiceJpaRepositoryImpl implements
         AppUser currentUser = this.platformSecurityContext.authenticatedUser();
         AppUser lastModifiedBy = null;
         Date lastModifiedDate = null;
-        Set<LoanProductProvisioningEntry> nullEntries = null;
-        ProvisioningEntry requestedEntry = new ProvisioningEntry(currentUser, date, lastModifiedBy, lastModifiedDate, nullEntries);
-        Collection<LoanProductProvisioningEntry> entries = generateLoanProvisioningEntry(requestedEntry, date);
-        requestedEntry.setProvisioningEntries(entries);
+        Set<LoanProductProvisioningEntry> noEntries = new HashSet<>();
+        ProvisioningEntry requestedEntry = new ProvisioningEntry(currentUser, date, lastModifiedBy, lastModifiedDate, noEntries);
+        requestedEntry.markGenerated(currentUser, new Date());
+        this.provisioningEntryRepository.saveAndFlush(requestedEntry);
+        generateLoanProvisioningEntries(requestedEntry, date,
+                this.provisioningEntriesReadPlatformService.retrieveLoanProductProvisioningPartitions());
         if (addJournalEntries) {
             ProvisioningEntryData exisProvisioningEntryData = this.provisioningEntriesReadPlatformService
                     .retrieveExistingProvisioningIdDateWithJournals();
             revertAndAddJournalEntries(exisProvisioningEntryData, requestedEntry);
-        } else {
-            this.provisioningEntryRepository.save(requestedEntry);
         }
         return requestedEntry;
     }
 
     @Override
     public CommandProcessingResult reCreateProvisioningEntries(Long provisioningEntryId, JsonCommand command) {
+        final boolean incremental = this.fromApiJsonDeserializer.validateForRecreate(command.json());
         ProvisioningEntry requestedEntry = this.provisioningEntryRepository.findById(provisioningEntryId)
                 .orElseThrow(() -> new ProvisioningEntryNotfoundException(provisioningEntryId));
-        requestedEntry.getLoanProductProvisioningEntries().clear();
-        this.provisioningEntryRepository.save(requestedEntry);
-        Collection<LoanProductProvisioningEntry> entries = generateLoanProvisioningEntry(requestedEntry, requestedEntry.getCreatedDate());
-        requestedEntry.setProvisioningEntries(entries);
-        this.provisioningEntryRepository.save(requestedEntry);
+        Collection<LoanProductProvisioningPartitionData> changedPartitions = null;
+        if (incremental && requestedEntry.getGeneratedOn() != null) {
+            // loan transactions are stamped in the tenant time zone, schedule audit columns in the server time zone
+            final Instant generatedOn = requestedEntry.getGeneratedOn().toInstant();
+            changedPartitions = this.provisioningEntriesReadPlatformService.retrieveLoanProductProvisioningPartitionsChangedSince(
+                    LocalDateTime.ofInstant(generatedOn, DateUtils.getDateTimeZoneOfTenant()),
+                    LocalDateTime.ofInstant(generatedOn, ZoneId.systemDefault()));
+        }
+        requestedEntry.markGenerated(this.platformSecurityContext.authenticatedUser(), new Date());
+        this.provisioningEntryRepository.saveAndFlush(requestedEntry);
+        this.provisioningEntryRepository.deleteLoanProductProvisioningEntries(provisioningEntryId, changedPartitions);
+        final Collection<LoanProductProvisioningPartitionData> partitions = changedPartitions != null ? changedPartitions
+                : this.provisioningEntriesReadPlatformService.retrieveLoanProductProvisioningPartitions();
+        generateLoanProvisioningEntries(requestedEntry, requestedEntry.getCreatedDate(), partitions);
         return new CommandProcessingResultBuilder().withCommandId(command.commandId()).withEntityId(requestedEntry.getId()).build();
     }
 
-    private Collection<LoanProductProvisioningEntry> generateLoanProvisioningEntry(ProvisioningEntry parent, Date date) {
-        Collection<LoanProductProvisioningEntryData> entries = this.provisioningEntriesReadPlatformService
-                .retrieveLoanProductsProvisioningData(date);
-        Map<LoanProductProvisioningEntry, LoanProductProvisioningEntry> provisioningEntries = new HashMap<>();
-        for (LoanProductProvisioningEntryData data : entries) {
-            LoanProduct loanProduct = this.loanProductRepository.findById(data.getProductId()).get();
-            Office office = this.officeRepositoryWrapper.findOneWithNotFoundDetection(data.getOfficeId());
-            ProvisioningCategory provisioningCategory = provisioningCategoryRepository.findById(data.getCategoryId()).get();
-            GLAccount liabilityAccount = glAccountRepository.findById(data.getLiablityAccount()).get();
-            GLAccount expenseAccount = glAccountRepository.findById(data.getExpenseAccount()).get();
-            MonetaryCurrency currency = loanProduct.getPrincipalAmount().getCurrency();
+    /**
+     * Computes the reserve of every office / loan product partition in parallel, then stores the resulting loan product
+     * entries with one batch insert and reloads them into the provisioning entry.
+     */
+    private void generateLoanProvisioningEntries(final ProvisioningEntry parent, final Date date,
+            final Collection<LoanProductProvisioningPartitionData> partitions) {
+        final Collection<LoanProductProvisioningEntryData> balances = retrieveLoanProductsProvisioningData(date, partitions);
+        final Map<Long, MonetaryCurrency> currencies = new HashMap<>();
+        final List<LoanProductProvisioningEntryData> entries = new ArrayList<>(balances.size());
+        for (LoanProductProvisioningEntryData data : balances) {
+            MonetaryCurrency currency = currencies.computeIfAbsent(data.getProductId(),
+                    productId -> this.loanProductRepository.findById(productId).get().getPrincipalAmount().getCurrency());
             Money money = Money.of(currency, data.getOutstandingBalance());
             Money amountToReserve = money.percentageOf(data.getPercentage(), MoneyHelper.getRoundingMode());
-            Long criteraId = data.getCriteriaId();
-            LoanProductProvisioningEntry entry = new LoanProductProvisioningEntry(loanProduct, office, data.getCurrencyCode(),
-                    provisioningCategory, data.getOverdueInDays(), amountToReserve.getAmount(), liabilityAccount, expenseAccount,
-                    criteraId);
-            entry.setProvisioningEntry(parent);
-            if (!provisioningEntries.containsKey(entry)) {
-                provisioningEntries.put(entry, entry);
-            } else {
-                LoanProductProvisioningEntry entry1 = provisioningEntries.get(entry);
-                entry1.addReservedAmount(entry.getReservedAmount());
+            entries.add(new LoanProductProvisioningEntryData(parent.getId(), data.getOfficeId(), null, data.getCurrencyCode(),
+                    data.getProductId(), null, data.getCategoryId(), null, data.getOverdueInDays(), amountToReserve.getAmount(),
+                    data.getLiablityAccount(), null, null, data.getExpenseAccount(), null, null, data.getCriteriaId()));
+        }
+        this.provisioningEntryRepository.insertLoanProductProvisioningEntries(parent.getId(), entries);
+        this.provisioningEntryRepository.refresh(parent);
+    }
+
+    private Collection<LoanProductProvisioningEntryData> retrieveLoanProductsProvisioningData(final Date date,
+            final Collection<LoanProductProvisioningPartitionData> partitions) {
+        final List<LoanProductProvisioningEntryData> balances = new ArrayList<>();
+        if (partitions.isEmpty()) {
+            return balances;
+        }
+        final List<Callable<Collection<LoanProductProvisioningEntryData>>> tasks = new ArrayList<>(partitions.size());
+        for (final LoanProductProvisioningPartitionData partition : partitions) {
+            tasks.add(TenantAwareTasks
+                    .wrap(() -> this.provisioningEntriesReadPlatformService.retrieveLoanProductsProvisioningData(date, partition)));
+        }
+        final int nThreads = Math.min(partitions.size(), this.configurationDomainService.retrieveScheduledJobNumberOfThreads());
+        final ExecutorService executor = Executors.newFixedThreadPool(nThreads);
+        try {
+            for (final Future<Collection<LoanProductProvisioningEntryData>> partitionBalances : executor.invokeAll(tasks)) {
+                balances.addAll(partitionBalances.get());
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PlatformInternalServerException("error.msg.provisioningentry.generation.interrupted",
+                    "Generation of the provisioning entry was interrupted");
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
             }
+            LOG.error("Problem occurred while computing loan loss provisioning", e.getCause());
+            throw new PlatformInternalServerException("error.msg.provisioningentry.generation.failed",
+                    "Generation of the provisioning entry failed: " + e.getCause().getMessage());
+        } finally {
+            executor.shutdownNow();
         }
-        return provisioningEntries.values();
+        return balances;
     }
 }
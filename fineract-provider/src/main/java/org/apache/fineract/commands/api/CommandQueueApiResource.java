@@ -0,0 +1,97 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.commands.api;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import javax.ws.rs.Consumes;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.UriInfo;
+import org.apache.fineract.commands.data.CommandQueueData;
+import org.apache.fineract.commands.service.CommandQueueReadPlatformService;
+import org.apache.fineract.infrastructure.core.api.ApiRequestParameterHelper;
+import org.apache.fineract.infrastructure.core.serialization.ApiRequestJsonSerializationSettings;
+import org.apache.fineract.infrastructure.core.serialization.DefaultToApiJsonSerializer;
+import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
+import org.apache.fineract.useradministration.domain.AppUser;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Component;
+
+@Path("/commandqueue")
+@Component
+@Scope("singleton")
+@Tag(name = "Command Queue", description = "Commands submitted with the 'Fineract-Async: true' request header are queued and answered with 202 Accepted and a Location header pointing at this resource. Commands against the same account are processed in submission order.\n"
+        + "\n"
+        + "Permissions: A user can always look at the commands they submitted. Commands of other users require one of the ALL_FUNCTIONS, ALL_FUNCTIONS_READ or READ_AUDIT permissions.")
+public class CommandQueueApiResource {
+
+    private static final Set<String> RESPONSE_DATA_PARAMETERS = new HashSet<>(Arrays.asList("id", "actionName", "entityName", "resourceId",
+            "subresourceId", "makerId", "maker", "submittedOn", "processedOn", "status", "resultStatusCode", "result"));
+
+    private final String resourceNameForPermissions = "AUDIT";
+
+    private final PlatformSecurityContext context;
+    private final CommandQueueReadPlatformService commandQueueReadPlatformService;
+    private final ApiRequestParameterHelper apiRequestParameterHelper;
+    private final DefaultToApiJsonSerializer<CommandQueueData> toApiJsonSerializer;
+
+    @Autowired
+    public CommandQueueApiResource(final PlatformSecurityContext context,
+            final CommandQueueReadPlatformService commandQueueReadPlatformService,
+            final ApiRequestParameterHelper apiRequestParameterHelper,
+            final DefaultToApiJsonSerializer<CommandQueueData> toApiJsonSerializer) {
+        this.context = context;
+        this.commandQueueReadPlatformService = commandQueueReadPlatformService;
+        this.apiRequestParameterHelper = apiRequestParameterHelper;
+        this.toApiJsonSerializer = toApiJsonSerializer;
+    }
+
+    @GET
+    @Path("{commandId}")
+    @Consumes({ MediaType.APPLICATION_JSON })
+    @Produces({ MediaType.APPLICATION_JSON })
+    @Operation(summary = "Retrieve a Queued Command", description = "Returns the status of a queued command. Once processed, \"result\" holds the response the command would have returned synchronously and \"resultStatusCode\" its HTTP status.\n"
+            + "\n" + "Example Requests:\n" + "\n" + "commandqueue/20")
+    @ApiResponses({ @ApiResponse(responseCode = "200", description = "OK") })
+    public String retrieveQueuedCommand(@PathParam("commandId") @Parameter(description = "commandId") final Long commandId,
+            @Context final UriInfo uriInfo) {
+
+        final AppUser currentUser = this.context.authenticatedUser();
+
+        final CommandQueueData queuedCommand = this.commandQueueReadPlatformService.retrieveQueuedCommand(commandId);
+        if (!currentUser.getId().equals(queuedCommand.getMakerId())) {
+            currentUser.validateHasReadPermission(this.resourceNameForPermissions);
+        }
+
+        final ApiRequestJsonSerializationSettings settings = this.apiRequestParameterHelper.process(uriInfo.getQueryParameters());
+        return this.toApiJsonSerializer.serialize(settings, queuedCommand, RESPONSE_DATA_PARAMETERS);
+    }
+}
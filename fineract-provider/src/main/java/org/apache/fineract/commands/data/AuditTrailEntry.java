@@ -0,0 +1,182 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.commands.data;
+
+import java.util.UUID;
+import org.apache.fineract.commands.domain.CommandSource;
+
+/**
+ * A processed command waiting in the audit trail write-behind stage to be inserted into
+ * <code>m_portfolio_command_source</code>. Holds the column values only, so it can be written to and read back from
+ * the local write ahead log. Every entry carries a unique id that is stored with the row, so that replaying the log
+ * after a crash inserts each entry at most once.
+ */
+public final class AuditTrailEntry {
+
+    private final String walEntryId;
+    private final String tenantIdentifier;
+    private final String actionName;
+    private final String entityName;
+    private final Long officeId;
+    private final Long groupId;
+    private final Long clientId;
+    private final Long loanId;
+    private final Long savingsId;
+    private final String resourceGetUrl;
+    private final Long resourceId;
+    private final Long subresourceId;
+    private final String commandAsJson;
+    private final Long makerId;
+    private final Long madeOnDate;
+    private final Long checkerId;
+    private final Long checkedOnDate;
+    private final Integer processingResult;
+    private final Long productId;
+    private final String transactionId;
+    private final Long creditBureauId;
+    private final Long organisationCreditBureauId;
+
+    public static AuditTrailEntry from(final String tenantIdentifier, final CommandSource commandSource) {
+        return new AuditTrailEntry(UUID.randomUUID().toString(), tenantIdentifier, commandSource.getActionName(),
+                commandSource.getEntityName(), commandSource.getOfficeId(), commandSource.getGroupId(), commandSource.getClientId(),
+                commandSource.getLoanId(), commandSource.getSavingsId(), commandSource.getResourceGetUrl(), commandSource.getResourceId(),
+                commandSource.getSubresourceId(), commandSource.json(), commandSource.getMaker().getId(),
+                commandSource.getMadeOnDate().getTime(), commandSource.getChecker() == null ? null : commandSource.getChecker().getId(),
+                commandSource.getCheckedOnDate() == null ? null : commandSource.getCheckedOnDate().getTime(),
+                commandSource.getProcessingResult(), commandSource.getProductId(), commandSource.getTransactionId(),
+                commandSource.getCreditBureauId(), commandSource.getOrganisationCreditBureauId());
+    }
+
+    private AuditTrailEntry(final String walEntryId, final String tenantIdentifier, final String actionName, final String entityName,
+            final Long officeId, final Long groupId, final Long clientId, final Long loanId, final Long savingsId,
+            final String resourceGetUrl, final Long resourceId, final Long subresourceId, final String commandAsJson, final Long makerId,
+            final Long madeOnDate, final Long checkerId, final Long checkedOnDate, final Integer processingResult, final Long productId,
+            final String transactionId, final Long creditBureauId, final Long organisationCreditBureauId) {
+        this.walEntryId = walEntryId;
+        this.tenantIdentifier = tenantIdentifier;
+        this.actionName = actionName;
+        this.entityName = entityName;
+        this.officeId = officeId;
+        this.groupId = groupId;
+        this.clientId = clientId;
+        this.loanId = loanId;
+        this.savingsId = savingsId;
+        this.resourceGetUrl = resourceGetUrl;
+        this.resourceId = resourceId;
+        this.subresourceId = subresourceId;
+        this.commandAsJson = commandAsJson;
+        this.makerId = makerId;
+        this.madeOnDate = madeOnDate;
+        this.checkerId = checkerId;
+        this.checkedOnDate = checkedOnDate;
+        this.processingResult = processingResult;
+        this.productId = productId;
+        this.transactionId = transactionId;
+        this.creditBureauId = creditBureauId;
+        this.organisationCreditBureauId = organisationCreditBureauId;
+    }
+
+    public String getWalEntryId() {
+        return this.walEntryId;
+    }
+
+    public String getTenantIdentifier() {
+        return this.tenantIdentifier;
+    }
+
+    public String getActionName() {
+        return this.actionName;
+    }
+
+    public String getEntityName() {
+        return this.entityName;
+    }
+
+    public Long getOfficeId() {
+        return this.officeId;
+    }
+
+    public Long getGroupId() {
+        return this.groupId;
+    }
+
+    public Long getClientId() {
+        return this.clientId;
+    }
+
+    public Long getLoanId() {
+        return this.loanId;
+    }
+
+    public Long getSavingsId() {
+        return this.savingsId;
+    }
+
+    public String getResourceGetUrl() {
+        return this.resourceGetUrl;
+    }
+
+    public Long getResourceId() {
+        return this.resourceId;
+    }
+
+    public Long getSubresourceId() {
+        return this.subresourceId;
+    }
+
+    public String getCommandAsJson() {
+        return this.commandAsJson;
+    }
+
+    public Long getMakerId() {
+        return this.makerId;
+    }
+
+    public Long getMadeOnDate() {
+        return this.madeOnDate;
+    }
+
+    public Long getCheckerId() {
+        return this.checkerId;
+    }
+
+    public Long getCheckedOnDate() {
+        return this.checkedOnDate;
+    }
+
+    public Integer getProcessingResult() {
+        return this.processingResult;
+    }
+
+    public Long getProductId() {
+        return this.productId;
+    }
+
+    public String getTransactionId() {
+        return this.transactionId;
+    }
+
+    public Long getCreditBureauId() {
+        return this.creditBureauId;
+    }
+
+    public Long getOrganisationCreditBureauId() {
+        return this.organisationCreditBureauId;
+    }
+}
@@ -0,0 +1,77 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.commands.data;
+
+import com.google.gson.JsonElement;
+import java.time.ZonedDateTime;
+import org.apache.fineract.infrastructure.core.data.EnumOptionData;
+
+/**
+ * Immutable data object representing a queued command and, once processed, its outcome.
+ */
+public final class CommandQueueData {
+
+    private final Long id;
+    @SuppressWarnings("unused")
+    private final String actionName;
+    @SuppressWarnings("unused")
+    private final String entityName;
+    @SuppressWarnings("unused")
+    private final Long resourceId;
+    @SuppressWarnings("unused")
+    private final Long subresourceId;
+    private final Long makerId;
+    @SuppressWarnings("unused")
+    private final String maker;
+    @SuppressWarnings("unused")
+    private final ZonedDateTime submittedOn;
+    @SuppressWarnings("unused")
+    private final ZonedDateTime processedOn;
+    @SuppressWarnings("unused")
+    private final EnumOptionData status;
+    @SuppressWarnings("unused")
+    private final Integer resultStatusCode;
+    @SuppressWarnings("unused")
+    private final JsonElement result;
+
+    public CommandQueueData(final Long id, final String actionName, final String entityName, final Long resourceId,
+            final Long subresourceId, final Long makerId, final String maker, final ZonedDateTime submittedOn,
+            final ZonedDateTime processedOn, final EnumOptionData status, final Integer resultStatusCode, final JsonElement result) {
+        this.id = id;
+        this.actionName = actionName;
+        this.entityName = entityName;
+        this.resourceId = resourceId;
+        this.subresourceId = subresourceId;
+        this.makerId = makerId;
+        this.maker = maker;
+        this.submittedOn = submittedOn;
+        this.processedOn = processedOn;
+        this.status = status;
+        this.resultStatusCode = resultStatusCode;
+        this.result = result;
+    }
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public Long getMakerId() {
+        return this.makerId;
+    }
+}
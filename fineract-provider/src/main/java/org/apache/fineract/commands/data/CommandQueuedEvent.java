@@ -0,0 +1,53 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.commands.data;
+
+import org.springframework.context.ApplicationEvent;
+
+public final class CommandQueuedEvent extends ApplicationEvent {
+
+    private final String tenantIdentifier;
+
+    private final Long commandId;
+
+    private final String partitionKey;
+
+    private CommandQueuedEvent(final String tenantIdentifier, final Long commandId, final String partitionKey) {
+        super(CommandQueuedEvent.class);
+        this.tenantIdentifier = tenantIdentifier;
+        this.commandId = commandId;
+        this.partitionKey = partitionKey;
+    }
+
+    public static CommandQueuedEvent instance(final String tenantIdentifier, final Long commandId, final String partitionKey) {
+        return new CommandQueuedEvent(tenantIdentifier, commandId, partitionKey);
+    }
+
+    public String getTenantIdentifier() {
+        return this.tenantIdentifier;
+    }
+
+    public Long getCommandId() {
+        return this.commandId;
+    }
+
+    public String getPartitionKey() {
+        return this.partitionKey;
+    }
+}
@@ -0,0 +1,177 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.commands.domain;
+
+import java.time.ZonedDateTime;
+import java.util.Date;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.JoinColumn;
+import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+import javax.persistence.Temporal;
+import javax.persistence.TemporalType;
+import org.apache.fineract.infrastructure.core.domain.AbstractPersistableCustom;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.useradministration.domain.AppUser;
+
+/**
+ * A command accepted for asynchronous processing. The wrapper is persisted as submitted and replayed through the normal
+ * command pipeline by a worker, which records the outcome on the same row.
+ */
+@Entity
+@Table(name = "m_command_queue")
+public class CommandQueueEntry extends AbstractPersistableCustom {
+
+    @Column(name = "action_name", nullable = false, length = 100)
+    private String actionName;
+
+    @Column(name = "entity_name", nullable = false, length = 100)
+    private String entityName;
+
+    @Column(name = "office_id")
+    private Long officeId;
+
+    @Column(name = "group_id")
+    private Long groupId;
+
+    @Column(name = "client_id")
+    private Long clientId;
+
+    @Column(name = "loan_id")
+    private Long loanId;
+
+    @Column(name = "savings_account_id")
+    private Long savingsId;
+
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Column(name = "resource_id")
+    private Long resourceId;
+
+    @Column(name = "subresource_id")
+    private Long subresourceId;
+
+    @Column(name = "api_get_url", length = 100)
+    private String resourceGetUrl;
+
+    @Column(name = "transaction_id", length = 100)
+    private String transactionId;
+
+    @Column(name = "creditbureau_id")
+    private Long creditBureauId;
+
+    @Column(name = "organisation_creditbureau_id")
+    private Long organisationCreditBureauId;
+
+    @Column(name = "command_as_json")
+    private String commandAsJson;
+
+    @Column(name = "partition_key", nullable = false, length = 150)
+    private String partitionKey;
+
+    @Column(name = "status_enum", nullable = false)
+    private Integer status;
+
+    @ManyToOne
+    @JoinColumn(name = "maker_id", nullable = false)
+    private AppUser maker;
+
+    @Column(name = "submitted_on", nullable = false)
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date submittedOn;
+
+    @Column(name = "processed_on")
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date processedOn;
+
+    @Column(name = "result_status_code")
+    private Integer resultStatusCode;
+
+    @Column(name = "result_as_json")
+    private String resultAsJson;
+
+    public static CommandQueueEntry pendingEntryFrom(final CommandWrapper wrapper, final AppUser maker) {
+        return new CommandQueueEntry(wrapper, partitionKeyFor(wrapper), maker);
+    }
+
+    /**
+     * Commands that touch the same account share a partition key and are therefore executed one after the other, in
+     * submission order. Commands that are not account related are ordered per entity.
+     */
+    public static String partitionKeyFor(final CommandWrapper wrapper) {
+        if (wrapper.getLoanId() != null) {
+            return "loan:" + wrapper.getLoanId();
+        }
+        if (wrapper.getSavingsId() != null) {
+            return "savings:" + wrapper.getSavingsId();
+        }
+        if (wrapper.getClientId() != null) {
+            return "client:" + wrapper.getClientId();
+        }
+        if (wrapper.getGroupId() != null) {
+            return "group:" + wrapper.getGroupId();
+        }
+        if (wrapper.getEntityId() != null) {
+            return wrapper.getEntityName().toLowerCase() + ":" + wrapper.getEntityId();
+        }
+        return wrapper.getEntityName().toLowerCase();
+    }
+
+    protected CommandQueueEntry() {
+        //
+    }
+
+    private CommandQueueEntry(final CommandWrapper wrapper, final String partitionKey, final AppUser maker) {
+        this.actionName = wrapper.actionName();
+        this.entityName = wrapper.entityName();
+        this.officeId = wrapper.getOfficeId();
+        this.groupId = wrapper.getGroupId();
+        this.clientId = wrapper.getClientId();
+        this.loanId = wrapper.getLoanId();
+        this.savingsId = wrapper.getSavingsId();
+        this.productId = wrapper.getProductId();
+        this.resourceId = wrapper.getEntityId();
+        this.subresourceId = wrapper.getSubentityId();
+        this.resourceGetUrl = wrapper.getHref();
+        this.transactionId = wrapper.getTransactionId();
+        this.creditBureauId = wrapper.getCreditBureauId();
+        this.organisationCreditBureauId = wrapper.getOrganisationCreditBureauId();
+        this.commandAsJson = wrapper.getJson();
+        this.partitionKey = partitionKey;
+        this.status = CommandQueueStatus.PENDING.getValue();
+        this.maker = maker;
+        this.submittedOn = Date.from(ZonedDateTime.now(DateUtils.getDateTimeZoneOfTenant()).toInstant());
+    }
+
+    public CommandWrapper toCommandWrapper() {
+        return new CommandWrapper(this.officeId, this.groupId, this.clientId, this.loanId, this.savingsId, this.actionName, this.entityName,
+                this.resourceId, this.subresourceId, this.resourceGetUrl, this.commandAsJson, this.transactionId, this.productId, null,
+                this.creditBureauId, this.organisationCreditBureauId);
+    }
+
+    public String getPartitionKey() {
+        return this.partitionKey;
+    }
+
+    public AppUser getMaker() {
+        return this.maker;
+    }
+}
@@ -0,0 +1,63 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.commands.domain;
+
+public enum CommandQueueStatus {
+
+    INVALID(0, "commandQueueStatus.invalid"), //
+    PENDING(1, "commandQueueStatus.pending"), //
+    PROCESSING(2, "commandQueueStatus.processing"), //
+    PROCESSED(3, "commandQueueStatus.processed"), //
+    FAILED(4, "commandQueueStatus.failed");
+
+    private final Integer value;
+    private final String code;
+
+    CommandQueueStatus(final Integer value, final String code) {
+        this.value = value;
+        this.code = code;
+    }
+
+    public Integer getValue() {
+        return this.value;
+    }
+
+    public String getCode() {
+        return this.code;
+    }
+
+    public static CommandQueueStatus fromInt(final Integer statusValue) {
+        CommandQueueStatus status = CommandQueueStatus.INVALID;
+        switch (statusValue) {
+            case 1:
+                status = PENDING;
+            break;
+            case 2:
+                status = PROCESSING;
+            break;
+            case 3:
+                status = PROCESSED;
+            break;
+            case 4:
+                status = FAILED;
+            break;
+        }
+        return status;
+    }
+}
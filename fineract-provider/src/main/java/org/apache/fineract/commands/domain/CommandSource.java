@@ -226,6 +226,26 @@ public class CommandSource extends AbstractPersistableCustom {
         return this.resourceGetUrl;
     }
 
+    public AppUser getMaker() {
+        return this.maker;
+    }
+
+    public Date getMadeOnDate() {
+        return this.madeOnDate;
+    }
+
+    public AppUser getChecker() {
+        return this.checker;
+    }
+
+    public Date getCheckedOnDate() {
+        return this.checkedOnDate;
+    }
+
+    public Integer getProcessingResult() {
+        return this.processingResult;
+    }
+
     public Long getProductId() {
         return this.productId;
     }
@@ -0,0 +1,81 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.commands.service;
+
+/**
+ * Carries the asynchronous processing request of the current API call from the Jersey filter to the command source
+ * service, and the id of the queued command back to the filter so that it can answer with 202 Accepted. On a queue
+ * worker it carries the claim of the command being processed into the transaction of the command.
+ */
+public final class AsyncCommandContext {
+
+    private AsyncCommandContext() {
+
+    }
+
+    public static final String ASYNC_REQUEST_HEADER = "Fineract-Async";
+
+    private static final ThreadLocal<Boolean> asyncRequestedContext = new ThreadLocal<>();
+
+    private static final ThreadLocal<Long> queuedCommandContext = new ThreadLocal<>();
+
+    private static final ThreadLocal<Long> processingCommandContext = new ThreadLocal<>();
+
+    private static final ThreadLocal<String> claimTokenContext = new ThreadLocal<>();
+
+    public static void setAsyncRequested(final boolean asyncRequested) {
+        asyncRequestedContext.set(asyncRequested);
+        queuedCommandContext.remove();
+    }
+
+    public static boolean isAsyncRequested() {
+        return Boolean.TRUE.equals(asyncRequestedContext.get());
+    }
+
+    public static void setQueuedCommandId(final Long commandId) {
+        queuedCommandContext.set(commandId);
+    }
+
+    public static Long getQueuedCommandId() {
+        return queuedCommandContext.get();
+    }
+
+    public static void setProcessingCommand(final Long commandId, final String claimToken) {
+        processingCommandContext.set(commandId);
+        claimTokenContext.set(claimToken);
+    }
+
+    public static Long getProcessingCommandId() {
+        return processingCommandContext.get();
+    }
+
+    public static String getClaimToken() {
+        return claimTokenContext.get();
+    }
+
+    public static void clearProcessingCommand() {
+        processingCommandContext.remove();
+        claimTokenContext.remove();
+    }
+
+    public static void clear() {
+        asyncRequestedContext.remove();
+        queuedCommandContext.remove();
+    }
+}
@@ -41,6 +41,7 @@ import org.apache.fineract.infrastructure.core.domain.JdbcSupport;
 import org.apache.fineract.infrastructure.core.exception.PlatformDataIntegrityException;
 import org.apache.fineract.infrastructure.core.serialization.FromJsonHelper;
 import org.apache.fineract.infrastructure.core.service.Page;
+import org.apache.fineract.infrastructure.core.service.PageCursor;
 import org.apache.fineract.infrastructure.core.service.PaginationHelper;
 import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
 import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
@@ -198,8 +199,25 @@ public class AuditReadPlatformServiceImpl implements AuditReadPlatformService {
         final String hierarchy = currentUser.getOffice().getHierarchy();
 
         final AuditMapper rm = new AuditMapper();
+        final String sqlCountRows = parameters.isCountRequested()
+                ? PaginationHelper.countSql("select " + rm.schema(includeJson, hierarchy) + ' ' + extraCriteria.getSQLTemplate())
+                : null;
+        final Object[] countArgs = extraCriteria.getArguments();
+
+        if (parameters.isKeysetPaged()) {
+            // seek on the default (newest first) ordering
+            final PageCursor cursor = PageCursor.from(parameters.getCursor());
+            if (cursor != null) {
+                extraCriteria.addCriteria("aud.id <", cursor.expectKeys(1).getLong(0));
+            }
+            final String sqlFetchRows = "select " + rm.schema(includeJson, hierarchy) + ' ' + extraCriteria.getSQLTemplate()
+                    + " order by aud.id DESC";
+            return this.paginationHelper.fetchPage(this.jdbcTemplate, sqlCountRows, countArgs, sqlFetchRows, extraCriteria.getArguments(),
+                    parameters.getLimit(), null, rm, "id");
+        }
+
         final StringBuilder sqlBuilder = new StringBuilder(200);
-        sqlBuilder.append("select SQL_CALC_FOUND_ROWS ");
+        sqlBuilder.append("select ");
         sqlBuilder.append(rm.schema(includeJson, hierarchy));
         sqlBuilder.append(' ').append(extraCriteria.getSQLTemplate());
         if (parameters.isOrderByRequested()) {
@@ -209,15 +227,18 @@ public class AuditReadPlatformServiceImpl implements AuditReadPlatformService {
             sqlBuilder.append(' ').append(' ').append(" order by aud.id DESC");
         }
 
-        if (parameters.isLimited()) {
-            sqlBuilder.append(' ').append(parameters.limitSql());
-            this.columnValidator.validateSqlInjection(sqlBuilder.toString(), parameters.limitSql());
-        }
-
         LOG.info("sql: {}", sqlBuilder);
 
-        final String sqlCountRows = "SELECT FOUND_ROWS()";
-        return this.paginationHelper.fetchPage(this.jdbcTemplate, sqlCountRows, sqlBuilder.toString(), extraCriteria.getArguments(), rm);
+        Integer limit = null;
+        Integer offset = null;
+        if (parameters.isLimited()) {
+            limit = parameters.getLimit();
+            if (parameters.isOffset()) {
+                offset = parameters.getOffset();
+            }
+        }
+        return this.paginationHelper.fetchPage(this.jdbcTemplate, sqlCountRows, countArgs, sqlBuilder.toString(), countArgs, limit, offset,
+                rm);
     }
 
     @Override
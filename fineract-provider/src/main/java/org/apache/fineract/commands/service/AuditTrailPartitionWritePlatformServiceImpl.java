@@ -0,0 +1,97 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.commands.service;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.jobs.annotation.CronTarget;
+import org.apache.fineract.infrastructure.jobs.service.JobName;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * Once the audit trail has been range partitioned by month on <code>made_on_date</code> (an out-of-band operation
+ * described in the deployment documentation), <code>p_history</code> holds everything before the table was partitioned,
+ * a <code>pYYYYMM</code> partition each month after it and <code>p_future</code> catches rows past the last monthly
+ * partition. Searches by date only touch the partitions of the requested months, and old months can be archived or
+ * dropped a partition at a time.
+ */
+@Service
+public class AuditTrailPartitionWritePlatformServiceImpl implements AuditTrailPartitionWritePlatformService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AuditTrailPartitionWritePlatformServiceImpl.class);
+    private static final String FUTURE_PARTITION = "p_future";
+    private static final int MONTHS_AHEAD = 3;
+    private static final DateTimeFormatter PARTITION_NAME_FORMAT = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public AuditTrailPartitionWritePlatformServiceImpl(final RoutingDataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    @CronTarget(jobName = JobName.ADD_AUDIT_PARTITIONS)
+    public void addUpcomingAuditPartitions() {
+        final List<Map<String, Object>> partitions = this.jdbcTemplate.queryForList("select partition_name as name,"
+                + " partition_description as upperBound from information_schema.partitions where table_schema = database()"
+                + " and table_name = 'm_portfolio_command_source' and partition_name is not null");
+        LocalDate lastUpperBound = null;
+        boolean hasFuturePartition = false;
+        for (final Map<String, Object> partition : partitions) {
+            if (FUTURE_PARTITION.equals(partition.get("name"))) {
+                hasFuturePartition = true;
+                continue;
+            }
+            // RANGE COLUMNS bounds are reported as quoted literals, e.g. '2021-02-01' or '2021-02-01 00:00:00'
+            final String upperBound = String.valueOf(partition.get("upperBound")).replace("'", "");
+            final LocalDate bound = LocalDate.parse(upperBound.substring(0, 10));
+            if (lastUpperBound == null || bound.isAfter(lastUpperBound)) {
+                lastUpperBound = bound;
+            }
+        }
+        if (!hasFuturePartition || lastUpperBound == null) {
+            LOG.warn("{}: m_portfolio_command_source is not partitioned by month, no partitions added",
+                    ThreadLocalContextUtil.getTenant().getName());
+            return;
+        }
+
+        final LocalDate addUntil = LocalDate.now(DateUtils.getDateTimeZoneOfTenant()).withDayOfMonth(1).plusMonths(MONTHS_AHEAD + 1);
+        final StringBuilder newPartitions = new StringBuilder();
+        for (LocalDate month = lastUpperBound; month.isBefore(addUntil); month = month.plusMonths(1)) {
+            newPartitions.append("partition ").append(month.format(PARTITION_NAME_FORMAT)).append(" values less than ('")
+                    .append(month.plusMonths(1)).append("'), ");
+        }
+        if (newPartitions.length() == 0) {
+            return;
+        }
+        this.jdbcTemplate.execute("alter table m_portfolio_command_source reorganize partition " + FUTURE_PARTITION + " into ("
+                + newPartitions + "partition " + FUTURE_PARTITION + " values less than (maxvalue))");
+        LOG.info("{}: Added audit trail partitions up to {}", ThreadLocalContextUtil.getTenant().getName(), addUntil);
+    }
+}
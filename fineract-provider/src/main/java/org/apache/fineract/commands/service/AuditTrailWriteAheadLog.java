@@ -0,0 +1,194 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.commands.service;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import org.apache.fineract.commands.data.AuditTrailEntry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Local write ahead log of the audit trail write-behind stage. Entries are appended as JSON lines to the active segment
+ * file and forced to disk before {@link #append(AuditTrailEntry)} returns; concurrent appenders share one force. The
+ * writer periodically {@link #roll()}s the active segment and deletes it once its entries are in the database.
+ * Segments left behind by a crash are read back with {@link #recover()}.
+ */
+final class AuditTrailWriteAheadLog {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AuditTrailWriteAheadLog.class);
+    private static final String SEGMENT_PREFIX = "audit-";
+    private static final String SEGMENT_SUFFIX = ".wal";
+
+    private final Gson gson = new Gson();
+    private final Object forceLock = new Object();
+    private final Path directory;
+    private long nextSegmentNumber;
+    private Path activeSegment;
+    private FileChannel activeChannel;
+    private List<AuditTrailEntry> activeEntries = new ArrayList<>();
+    private long appended;
+    private long forced;
+
+    AuditTrailWriteAheadLog(final Path directory) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        long lastSegmentNumber = 0;
+        for (final Path segment : existingSegments()) {
+            lastSegmentNumber = Math.max(lastSegmentNumber, segmentNumber(segment));
+        }
+        this.nextSegmentNumber = lastSegmentNumber + 1;
+    }
+
+    void append(final AuditTrailEntry entry) throws IOException {
+        final ByteBuffer line = StandardCharsets.UTF_8.encode(this.gson.toJson(entry) + '\n');
+        final FileChannel channel;
+        final long position;
+        synchronized (this) {
+            if (this.activeChannel == null) {
+                this.activeSegment = this.directory.resolve(SEGMENT_PREFIX + this.nextSegmentNumber++ + SEGMENT_SUFFIX);
+                this.activeChannel = FileChannel.open(this.activeSegment, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE,
+                        StandardOpenOption.APPEND);
+            }
+            while (line.hasRemaining()) {
+                this.activeChannel.write(line);
+            }
+            this.activeEntries.add(entry);
+            position = ++this.appended;
+            channel = this.activeChannel;
+        }
+        synchronized (this.forceLock) {
+            if (this.forced < position) {
+                final long target;
+                synchronized (this) {
+                    target = this.appended;
+                }
+                channel.force(false);
+                this.forced = target;
+            }
+        }
+    }
+
+    /**
+     * Closes the active segment, so that new entries go to a new one.
+     *
+     * @return the closed segment with the entries appended to it, or <code>null</code> when nothing was appended
+     */
+    Segment roll() throws IOException {
+        synchronized (this.forceLock) {
+            synchronized (this) {
+                if (this.activeChannel == null) {
+                    return null;
+                }
+                this.activeChannel.force(false);
+                this.activeChannel.close();
+                this.forced = this.appended;
+                final Segment sealed = new Segment(this.activeSegment, this.activeEntries);
+                this.activeSegment = null;
+                this.activeChannel = null;
+                this.activeEntries = new ArrayList<>();
+                return sealed;
+            }
+        }
+    }
+
+    /**
+     * Reads the segments left in the log directory by a previous run. Their entries may already be in the database.
+     */
+    List<Segment> recover() throws IOException {
+        final List<Segment> recovered = new ArrayList<>();
+        for (final Path segment : existingSegments()) {
+            final List<AuditTrailEntry> entries = new ArrayList<>();
+            try (BufferedReader reader = Files.newBufferedReader(segment, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isEmpty()) {
+                        continue;
+                    }
+                    try {
+                        entries.add(this.gson.fromJson(line, AuditTrailEntry.class));
+                    } catch (final JsonParseException e) {
+                        // torn write of an entry whose command never got a response
+                        LOG.warn("Skipping unreadable audit trail entry in {}", segment, e);
+                    }
+                }
+            }
+            recovered.add(new Segment(segment, entries));
+        }
+        return recovered;
+    }
+
+    synchronized void close() throws IOException {
+        if (this.activeChannel != null) {
+            this.activeChannel.force(false);
+            this.activeChannel.close();
+            this.activeChannel = null;
+        }
+    }
+
+    private List<Path> existingSegments() throws IOException {
+        final List<Path> segments = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(this.directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (final Path segment : stream) {
+                segments.add(segment);
+            }
+        }
+        segments.sort(Comparator.comparingLong(AuditTrailWriteAheadLog::segmentNumber));
+        return segments;
+    }
+
+    private static long segmentNumber(final Path segment) {
+        final String fileName = segment.getFileName().toString();
+        return Long.parseLong(fileName.substring(SEGMENT_PREFIX.length(), fileName.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    static final class Segment {
+
+        private final Path file;
+        private final List<AuditTrailEntry> entries;
+
+        Segment(final Path file, final List<AuditTrailEntry> entries) {
+            this.file = file;
+            this.entries = entries;
+        }
+
+        Path getFile() {
+            return this.file;
+        }
+
+        List<AuditTrailEntry> getEntries() {
+            return this.entries;
+        }
+
+        void delete() throws IOException {
+            Files.deleteIfExists(this.file);
+        }
+    }
+}
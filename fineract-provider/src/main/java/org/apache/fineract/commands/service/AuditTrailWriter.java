@@ -0,0 +1,240 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.commands.service;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import org.apache.fineract.commands.data.AuditTrailEntry;
+import org.apache.fineract.commands.domain.CommandSource;
+import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.documentmanagement.contentrepository.FileSystemContentRepository;
+import org.apache.fineract.infrastructure.security.service.TenantDetailsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.SqlTypeValue;
+import org.springframework.jdbc.core.StatementCreatorUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Write-behind stage for the audit trail of processed commands. When FINERACT_AUDIT_WRITE_BEHIND_ENABLED is set, the
+ * <code>m_portfolio_command_source</code> row of a processed command is no longer inserted inside the command's
+ * transaction. Once the transaction commits, the row is appended to a local {@link AuditTrailWriteAheadLog} in
+ * FINERACT_AUDIT_WAL_DIRECTORY, so it is durable before the response is sent, and a single writer thread inserts the
+ * collected rows in JDBC batches every FINERACT_AUDIT_FLUSH_INTERVAL_MILLIS.
+ *
+ * Segments left behind by a crash are inserted on the next start. Rows are inserted idempotently on the unique id of
+ * their log entry, so rows that already made it to the database are not duplicated. Every node needs its own log
+ * directory. Commands awaiting or going through checker approval keep being saved synchronously, since their row is read
+ * back by the checker.
+ */
+@Service
+public class AuditTrailWriter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AuditTrailWriter.class);
+
+    private static final String INSERT_SQL = "insert into m_portfolio_command_source (action_name, entity_name, office_id, group_id,"
+            + " client_id, loan_id, savings_account_id, api_get_url, resource_id, subresource_id, command_as_json, maker_id, made_on_date,"
+            + " checker_id, checked_on_date, processing_result_enum, product_id, transaction_id, creditbureau_id,"
+            + " organisation_creditbureau_id, wal_entry_id) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)"
+            // an entry replayed after a crash may be in the table already
+            + " on duplicate key update wal_entry_id = wal_entry_id";
+    private static final int INSERT_BATCH_SIZE = 500;
+
+    private final TenantDetailsService tenantDetailsService;
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final String logDirectory;
+    private final long flushIntervalMillis;
+    private final List<AuditTrailWriteAheadLog.Segment> unflushedSegments = new ArrayList<>();
+    private AuditTrailWriteAheadLog log;
+    private ScheduledExecutorService scheduler;
+
+    @Autowired
+    public AuditTrailWriter(final Environment environment, final TenantDetailsService tenantDetailsService,
+            final RoutingDataSource dataSource) {
+        this.tenantDetailsService = tenantDetailsService;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.enabled = environment.getProperty("FINERACT_AUDIT_WRITE_BEHIND_ENABLED", Boolean.class, false);
+        this.logDirectory = environment.getProperty("FINERACT_AUDIT_WAL_DIRECTORY",
+                FileSystemContentRepository.FINERACT_BASE_DIR + File.separator + "audit-wal");
+        this.flushIntervalMillis = environment.getProperty("FINERACT_AUDIT_FLUSH_INTERVAL_MILLIS", Long.class, 500L);
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!this.enabled) {
+            return;
+        }
+        this.log = new AuditTrailWriteAheadLog(Paths.get(this.logDirectory));
+        this.unflushedSegments.addAll(this.log.recover());
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "audit-trail-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler.scheduleWithFixedDelay(this::flush, 0, this.flushIntervalMillis, TimeUnit.MILLISECONDS);
+        LOG.info("Audit trail write-behind enabled, log directory {}, {} segments to recover", this.logDirectory,
+                this.unflushedSegments.size());
+    }
+
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    /**
+     * Hands the audit row of a processed command to the write-behind stage once the current transaction commits. Nothing
+     * is written when the transaction rolls back.
+     */
+    public void appendAfterCommit(final CommandSource commandSource) {
+        final AuditTrailEntry entry = AuditTrailEntry.from(ThreadLocalContextUtil.getTenant().getTenantIdentifier(), commandSource);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            append(entry);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+
+            @Override
+            public void afterCommit() {
+                append(entry);
+            }
+        });
+    }
+
+    private void append(final AuditTrailEntry entry) {
+        try {
+            this.log.append(entry);
+        } catch (final IOException e) {
+            // the command is committed already, so its audit row must not get lost with the log
+            LOG.error("Audit trail entry could not be logged, inserting it directly", e);
+            insertForCurrentTenant(List.of(entry));
+        }
+    }
+
+    private synchronized void flush() {
+        try {
+            final AuditTrailWriteAheadLog.Segment sealed = this.log.roll();
+            if (sealed != null) {
+                this.unflushedSegments.add(sealed);
+            }
+            final Iterator<AuditTrailWriteAheadLog.Segment> segments = this.unflushedSegments.iterator();
+            while (segments.hasNext()) {
+                final AuditTrailWriteAheadLog.Segment segment = segments.next();
+                flush(segment);
+                segment.delete();
+                segments.remove();
+            }
+        } catch (final IOException | RuntimeException e) {
+            // the segments stay in place and are retried with the next flush
+            LOG.error("Audit trail entries could not be written, {} segments pending", this.unflushedSegments.size(), e);
+        }
+    }
+
+    private void flush(final AuditTrailWriteAheadLog.Segment segment) {
+        final Map<String, List<AuditTrailEntry>> entriesByTenant = new LinkedHashMap<>();
+        for (final AuditTrailEntry entry : segment.getEntries()) {
+            entriesByTenant.computeIfAbsent(entry.getTenantIdentifier(), tenant -> new ArrayList<>()).add(entry);
+        }
+        for (final Map.Entry<String, List<AuditTrailEntry>> tenantEntries : entriesByTenant.entrySet()) {
+            insert(tenantEntries.getKey(), tenantEntries.getValue());
+            // a retry of the segment must not insert the rows of this tenant a second time
+            segment.getEntries().removeIf(entry -> tenantEntries.getKey().equals(entry.getTenantIdentifier()));
+        }
+    }
+
+    private void insert(final String tenantIdentifier, final List<AuditTrailEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        try {
+            ThreadLocalContextUtil.setTenant(this.tenantDetailsService.loadTenantById(tenantIdentifier));
+            insertForCurrentTenant(entries);
+        } finally {
+            ThreadLocalContextUtil.clearTenant();
+        }
+    }
+
+    private void insertForCurrentTenant(final List<AuditTrailEntry> entries) {
+        this.jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            final boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL)) {
+                int batched = 0;
+                for (final AuditTrailEntry entry : entries) {
+                    bind(statement, entry);
+                    statement.addBatch();
+                    if (++batched % INSERT_BATCH_SIZE == 0) {
+                        statement.executeBatch();
+                    }
+                }
+                statement.executeBatch();
+                connection.commit();
+            } catch (final SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+            return null;
+        });
+    }
+
+    private static void bind(final PreparedStatement statement, final AuditTrailEntry entry) throws SQLException {
+        final Object[] values = { entry.getActionName(), entry.getEntityName(), entry.getOfficeId(), entry.getGroupId(),
+                entry.getClientId(), entry.getLoanId(), entry.getSavingsId(), entry.getResourceGetUrl(), entry.getResourceId(),
+                entry.getSubresourceId(), entry.getCommandAsJson(), entry.getMakerId(), new Timestamp(entry.getMadeOnDate()),
+                entry.getCheckerId(), entry.getCheckedOnDate() == null ? null : new Timestamp(entry.getCheckedOnDate()),
+                entry.getProcessingResult(), entry.getProductId(), entry.getTransactionId(), entry.getCreditBureauId(),
+                entry.getOrganisationCreditBureauId(), entry.getWalEntryId() };
+        for (int i = 0; i < values.length; i++) {
+            StatementCreatorUtils.setParameterValue(statement, i + 1, SqlTypeValue.TYPE_UNKNOWN, values[i]);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws IOException, InterruptedException {
+        if (this.scheduler == null) {
+            return;
+        }
+        this.scheduler.shutdown();
+        this.scheduler.awaitTermination(30, TimeUnit.SECONDS);
+        flush();
+        this.log.close();
+    }
+}
@@ -0,0 +1,114 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.commands.service;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PreDestroy;
+import org.apache.fineract.commands.data.CommandQueuedEvent;
+import org.apache.fineract.commands.domain.CommandQueueEntry;
+import org.apache.fineract.infrastructure.core.service.PartitionedTenantExecutor;
+import org.apache.fineract.infrastructure.security.service.TenantDetailsService;
+import org.apache.fineract.useradministration.domain.AppUser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationListener;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+/**
+ * Executes queued commands on a fixed set of single threaded partitions. A command is always routed to the partition of
+ * its tenant and partition key, so commands against the same account run one at a time and in submission order while
+ * unrelated accounts are processed in parallel.
+ */
+@Service
+public class CommandQueueEventListener implements ApplicationListener<CommandQueuedEvent> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CommandQueueEventListener.class);
+
+    private final CommandQueueWritePlatformService commandQueueWritePlatformService;
+    private final PortfolioCommandSourceWritePlatformService commandSourceWritePlatformService;
+    private final PartitionedTenantExecutor partitions;
+
+    @Autowired
+    public CommandQueueEventListener(final TenantDetailsService tenantDetailsService,
+            final CommandQueueWritePlatformService commandQueueWritePlatformService,
+            final PortfolioCommandSourceWritePlatformService commandSourceWritePlatformService) {
+        this.commandQueueWritePlatformService = commandQueueWritePlatformService;
+        this.commandSourceWritePlatformService = commandSourceWritePlatformService;
+        this.partitions = new PartitionedTenantExecutor("command-queue", tenantDetailsService);
+    }
+
+    @Override
+    public void onApplicationEvent(final CommandQueuedEvent event) {
+        this.partitions.execute(event.getTenantIdentifier(), event.getPartitionKey(), () -> processPartition(event));
+    }
+
+    private void processPartition(final CommandQueuedEvent event) {
+        try {
+            // a command whose worker is gone (e.g. a stopped node) runs again, still ahead of the later ones
+            this.commandQueueWritePlatformService.releaseExpiredClaims(event.getPartitionKey());
+
+            // earlier commands of the partition left pending (e.g. by a restarted node) run first, and the partition is drained
+            // until a command cannot be claimed because an earlier one is still being processed by another worker
+            List<Long> pendingCommandIds;
+            while (!(pendingCommandIds = this.commandQueueWritePlatformService.retrievePendingCommandIds(event.getPartitionKey()))
+                    .isEmpty()) {
+                for (final Long commandId : pendingCommandIds) {
+                    if (!processCommand(commandId)) {
+                        return;
+                    }
+                }
+            }
+        } catch (final RuntimeException e) {
+            LOG.error("Queued commands of partition {} could not be processed", event.getPartitionKey(), e);
+        }
+    }
+
+    private boolean processCommand(final Long commandId) {
+        final String claimToken = UUID.randomUUID().toString();
+        final CommandQueueEntry entry = this.commandQueueWritePlatformService.claim(commandId, claimToken);
+        if (entry == null) {
+            return false;
+        }
+
+        final AppUser maker = entry.getMaker();
+        SecurityContextHolder.getContext()
+                .setAuthentication(new UsernamePasswordAuthenticationToken(maker, maker.getPassword(), maker.getAuthorities()));
+        // the command records its own completion in its transaction, see CommandQueueWritePlatformService#completeClaimedCommand
+        AsyncCommandContext.setProcessingCommand(commandId, claimToken);
+        try {
+            this.commandSourceWritePlatformService.logCommandSource(entry.toCommandWrapper());
+        } catch (final RuntimeException e) {
+            LOG.debug("Queued command {} failed", commandId, e);
+            this.commandQueueWritePlatformService.recordFailure(commandId, claimToken, e);
+        } finally {
+            AsyncCommandContext.clearProcessingCommand();
+        }
+        return true;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        this.partitions.shutdown(30, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,93 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.commands.service;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.ZonedDateTime;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.fineract.commands.data.CommandQueueData;
+import org.apache.fineract.commands.domain.CommandQueueStatus;
+import org.apache.fineract.commands.exception.QueuedCommandNotFoundException;
+import org.apache.fineract.infrastructure.core.data.EnumOptionData;
+import org.apache.fineract.infrastructure.core.domain.JdbcSupport;
+import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+
+@Service
+public class CommandQueueReadPlatformServiceImpl implements CommandQueueReadPlatformService {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public CommandQueueReadPlatformServiceImpl(final RoutingDataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public CommandQueueData retrieveQueuedCommand(final Long commandId) {
+        try {
+            final CommandQueueMapper rm = new CommandQueueMapper();
+            final String sql = "select " + rm.schema() + " where cq.id = ?";
+            return this.jdbcTemplate.queryForObject(sql, rm, new Object[] { commandId });
+        } catch (final EmptyResultDataAccessException e) {
+            throw new QueuedCommandNotFoundException(commandId, e);
+        }
+    }
+
+    private static final class CommandQueueMapper implements RowMapper<CommandQueueData> {
+
+        public String schema() {
+            return " cq.id as id, cq.action_name as actionName, cq.entity_name as entityName, cq.resource_id as resourceId, "
+                    + " cq.subresource_id as subresourceId, cq.maker_id as makerId, mk.username as maker, "
+                    + " cq.submitted_on as submittedOn, cq.processed_on as processedOn, cq.status_enum as status, "
+                    + " cq.result_status_code as resultStatusCode, cq.result_as_json as resultAsJson "
+                    + " from m_command_queue cq join m_appuser mk on mk.id = cq.maker_id ";
+        }
+
+        @Override
+        public CommandQueueData mapRow(final ResultSet rs, @SuppressWarnings("unused") final int rowNum) throws SQLException {
+
+            final Long id = rs.getLong("id");
+            final String actionName = rs.getString("actionName");
+            final String entityName = rs.getString("entityName");
+            final Long resourceId = JdbcSupport.getLong(rs, "resourceId");
+            final Long subresourceId = JdbcSupport.getLong(rs, "subresourceId");
+            final Long makerId = rs.getLong("makerId");
+            final String maker = rs.getString("maker");
+            final ZonedDateTime submittedOn = JdbcSupport.getDateTime(rs, "submittedOn");
+            final ZonedDateTime processedOn = JdbcSupport.getDateTime(rs, "processedOn");
+            final CommandQueueStatus status = CommandQueueStatus.fromInt(JdbcSupport.getInteger(rs, "status"));
+            final EnumOptionData statusData = new EnumOptionData(status.getValue().longValue(), status.getCode(),
+                    StringUtils.capitalize(status.name().toLowerCase()));
+            final Integer resultStatusCode = JdbcSupport.getInteger(rs, "resultStatusCode");
+            final String resultAsJson = rs.getString("resultAsJson");
+            final JsonElement result = resultAsJson == null ? null : JsonParser.parseString(resultAsJson);
+
+            return new CommandQueueData(id, actionName, entityName, resourceId, subresourceId, makerId, maker, submittedOn, processedOn,
+                    statusData, resultStatusCode, result);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.commands.service;
+
+import java.util.List;
+import org.apache.fineract.commands.domain.CommandQueueEntry;
+import org.apache.fineract.commands.domain.CommandWrapper;
+import org.apache.fineract.commands.exception.QueuedCommandClaimLostException;
+import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
+import org.apache.fineract.useradministration.domain.AppUser;
+
+public interface CommandQueueWritePlatformService {
+
+    CommandProcessingResult enqueue(CommandWrapper wrapper, AppUser maker);
+
+    /**
+     * @return the pending commands of the partition, in submission order
+     */
+    List<Long> retrievePendingCommandIds(String partitionKey);
+
+    /**
+     * Claims a pending command for the worker holding the claim token, unless an earlier command of its partition is
+     * still pending or processing.
+     *
+     * @return the claimed command, or null if it cannot be claimed
+     */
+    CommandQueueEntry claim(Long commandId, String claimToken);
+
+    /**
+     * Returns the commands of the partition whose processing lease expired to pending.
+     *
+     * @return the number of commands released
+     */
+    int releaseExpiredClaims(String partitionKey);
+
+    /**
+     * Records the result of the command claimed by the current queue worker, if any, in the transaction of the command.
+     *
+     * @throws QueuedCommandClaimLostException
+     *             if the claim was released and taken over by another worker, so that the command is rolled back
+     */
+    void completeClaimedCommand(CommandProcessingResult result);
+
+    /**
+     * Records the failure of a command, as long as the worker holding the claim token still owns it.
+     */
+    void recordFailure(Long commandId, String claimToken, RuntimeException exception);
+
+    void dispatchPendingCommands();
+}
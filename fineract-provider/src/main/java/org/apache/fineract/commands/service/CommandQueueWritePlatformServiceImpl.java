@@ -0,0 +1,201 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.commands.service;
+
+import java.time.ZonedDateTime;
+import java.util.Date;
+import java.util.List;
+import org.apache.fineract.batch.exception.ErrorHandler;
+import org.apache.fineract.batch.exception.ErrorInfo;
+import org.apache.fineract.commands.data.CommandQueuedEvent;
+import org.apache.fineract.commands.domain.CommandQueueEntry;
+import org.apache.fineract.commands.domain.CommandQueueEntryRepository;
+import org.apache.fineract.commands.domain.CommandQueueStatus;
+import org.apache.fineract.commands.domain.CommandWrapper;
+import org.apache.fineract.commands.exception.QueuedCommandClaimLostException;
+import org.apache.fineract.commands.exception.QueuedCommandNotFoundException;
+import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
+import org.apache.fineract.infrastructure.core.serialization.ToApiJsonSerializer;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.jobs.annotation.CronTarget;
+import org.apache.fineract.infrastructure.jobs.service.JobName;
+import org.apache.fineract.useradministration.domain.AppUser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Service
+public class CommandQueueWritePlatformServiceImpl implements CommandQueueWritePlatformService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CommandQueueWritePlatformServiceImpl.class);
+
+    /**
+     * Pending commands older than this were not picked up by the node that accepted them (e.g. it was restarted) and are
+     * dispatched again by the scheduled job.
+     */
+    private static final int STALE_PENDING_COMMAND_MINUTES = 1;
+
+    /**
+     * Commands claimed longer ago than this are assumed to have lost their worker (e.g. the node stopped while processing
+     * them) and are returned to pending, so that they are processed again. A worker that is merely slow cannot commit the
+     * command after that, as completing it requires the claim token the release cleared.
+     */
+    private static final int PROCESSING_LEASE_MINUTES = 10;
+
+    private static final String RELEASE_SQL = "update m_command_queue set status_enum = ?, claim_token = null, "
+            + "processing_started_on = null where status_enum = ? and processing_started_on < ?";
+
+    private static final String COMPLETE_SQL = "update m_command_queue set status_enum = ?, result_status_code = ?, "
+            + "result_as_json = ?, processed_on = ? where id = ? and status_enum = ? and claim_token = ?";
+
+    private final CommandQueueEntryRepository commandQueueEntryRepository;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final ToApiJsonSerializer<CommandProcessingResult> toApiJsonSerializer;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public CommandQueueWritePlatformServiceImpl(final CommandQueueEntryRepository commandQueueEntryRepository,
+            final ApplicationEventPublisher applicationEventPublisher,
+            final ToApiJsonSerializer<CommandProcessingResult> toApiJsonSerializer, final RoutingDataSource dataSource) {
+        this.commandQueueEntryRepository = commandQueueEntryRepository;
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.toApiJsonSerializer = toApiJsonSerializer;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public CommandProcessingResult enqueue(final CommandWrapper wrapper, final AppUser maker) {
+        final CommandQueueEntry entry = this.commandQueueEntryRepository.saveAndFlush(CommandQueueEntry.pendingEntryFrom(wrapper, maker));
+        final CommandQueuedEvent event = CommandQueuedEvent.instance(ThreadLocalContextUtil.getTenant().getTenantIdentifier(),
+                entry.getId(), entry.getPartitionKey());
+
+        // workers must not look for the command before the row is visible to them
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+
+                @Override
+                public void afterCommit() {
+                    CommandQueueWritePlatformServiceImpl.this.applicationEventPublisher.publishEvent(event);
+                }
+            });
+        } else {
+            this.applicationEventPublisher.publishEvent(event);
+        }
+
+        AsyncCommandContext.setQueuedCommandId(entry.getId());
+        return CommandProcessingResult.commandOnlyResult(entry.getId());
+    }
+
+    @Override
+    public List<Long> retrievePendingCommandIds(final String partitionKey) {
+        return this.commandQueueEntryRepository.findIdsByPartitionKeyAndStatus(partitionKey, CommandQueueStatus.PENDING.getValue());
+    }
+
+    @Transactional
+    @Override
+    public CommandQueueEntry claim(final Long commandId, final String claimToken) {
+        // commands of a partition run in submission order, even when a released command is picked up by another node
+        final Integer unfinishedEarlierCommands = this.jdbcTemplate.queryForObject("select count(*) from m_command_queue q "
+                + "join m_command_queue earlier on earlier.partition_key = q.partition_key and earlier.id < q.id "
+                + "where q.id = ? and earlier.status_enum in (?, ?)", Integer.class, commandId, CommandQueueStatus.PENDING.getValue(),
+                CommandQueueStatus.PROCESSING.getValue());
+        if (unfinishedEarlierCommands != null && unfinishedEarlierCommands > 0) {
+            return null;
+        }
+
+        // conditional update so that a command dispatched twice (by its node and by the recovery job) only runs once
+        final int claimed = this.jdbcTemplate.update(
+                "update m_command_queue set status_enum = ?, claim_token = ?, processing_started_on = ? where id = ? and status_enum = ?",
+                CommandQueueStatus.PROCESSING.getValue(), claimToken, minutesAgo(0), commandId, CommandQueueStatus.PENDING.getValue());
+        if (claimed == 0) {
+            return null;
+        }
+        return this.commandQueueEntryRepository.findById(commandId).orElseThrow(() -> new QueuedCommandNotFoundException(commandId));
+    }
+
+    @Transactional
+    @Override
+    public int releaseExpiredClaims(final String partitionKey) {
+        return this.jdbcTemplate.update(RELEASE_SQL + " and partition_key = ?", CommandQueueStatus.PENDING.getValue(),
+                CommandQueueStatus.PROCESSING.getValue(), minutesAgo(PROCESSING_LEASE_MINUTES), partitionKey);
+    }
+
+    @Transactional
+    @Override
+    public void completeClaimedCommand(final CommandProcessingResult result) {
+        final Long commandId = AsyncCommandContext.getProcessingCommandId();
+        if (commandId == null) {
+            return;
+        }
+        // joins the transaction of the command, so the command either commits together with its outcome or not at all,
+        // and a worker whose expired claim was taken over cannot commit it a second time
+        final int completed = this.jdbcTemplate.update(COMPLETE_SQL, CommandQueueStatus.PROCESSED.getValue(), 200,
+                this.toApiJsonSerializer.serialize(result), minutesAgo(0), commandId, CommandQueueStatus.PROCESSING.getValue(),
+                AsyncCommandContext.getClaimToken());
+        if (completed == 0) {
+            throw new QueuedCommandClaimLostException(commandId);
+        }
+    }
+
+    @Transactional
+    @Override
+    public void recordFailure(final Long commandId, final String claimToken, final RuntimeException exception) {
+        final ErrorInfo errorInfo = ErrorHandler.handler(exception);
+        final int recorded = this.jdbcTemplate.update(COMPLETE_SQL, CommandQueueStatus.FAILED.getValue(), errorInfo.getStatusCode(),
+                errorInfo.getMessage(), minutesAgo(0), commandId, CommandQueueStatus.PROCESSING.getValue(), claimToken);
+        if (recorded == 0) {
+            LOG.warn("Failure of queued command {} not recorded, its claim was released or taken over", commandId);
+        }
+    }
+
+    @Override
+    @CronTarget(jobName = JobName.PROCESS_QUEUED_COMMANDS)
+    public void dispatchPendingCommands() {
+        final int released = this.jdbcTemplate.update(RELEASE_SQL, CommandQueueStatus.PENDING.getValue(),
+                CommandQueueStatus.PROCESSING.getValue(), minutesAgo(PROCESSING_LEASE_MINUTES));
+        if (released > 0) {
+            LOG.warn("{}: Released {} queued commands whose processing lease expired", ThreadLocalContextUtil.getTenant().getName(),
+                    released);
+        }
+
+        final Date submittedBefore = minutesAgo(STALE_PENDING_COMMAND_MINUTES);
+        final List<CommandQueueEntry> pendingEntries = this.commandQueueEntryRepository
+                .findByStatusSubmittedBefore(CommandQueueStatus.PENDING.getValue(), submittedBefore);
+        final String tenantIdentifier = ThreadLocalContextUtil.getTenant().getTenantIdentifier();
+        for (final CommandQueueEntry entry : pendingEntries) {
+            this.applicationEventPublisher
+                    .publishEvent(CommandQueuedEvent.instance(tenantIdentifier, entry.getId(), entry.getPartitionKey()));
+        }
+        if (!pendingEntries.isEmpty()) {
+            LOG.info("{}: Dispatched {} queued commands", ThreadLocalContextUtil.getTenant().getName(), pendingEntries.size());
+        }
+    }
+
+    private static Date minutesAgo(final int minutes) {
+        return Date.from(ZonedDateTime.now(DateUtils.getDateTimeZoneOfTenant()).minusMinutes(minutes).toInstant());
+    }
+}
@@ -27,6 +27,7 @@ import org.apache.fineract.commands.domain.CommandWrapper;
 import org.apache.fineract.commands.exception.CommandNotAwaitingApprovalException;
 import org.apache.fineract.commands.exception.CommandNotFoundException;
 import org.apache.fineract.commands.exception.RollbackTransactionAsCommandIsNotApprovedByCheckerException;
+import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
 import org.apache.fineract.infrastructure.core.api.JsonCommand;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
 import org.apache.fineract.infrastructure.core.serialization.FromJsonHelper;
@@ -51,17 +52,23 @@ public class PortfolioCommandSourceWritePlatformServiceImpl implements Portfolio
     private final FromJsonHelper fromApiJsonHelper;
     private final CommandProcessingService processAndLogCommandService;
     private final SchedulerJobRunnerReadService schedulerJobRunnerReadService;
+    private final ConfigurationDomainService configurationDomainService;
+    private final CommandQueueWritePlatformService commandQueueWritePlatformService;
     private static final Logger LOG = LoggerFactory.getLogger(PortfolioCommandSourceWritePlatformServiceImpl.class);
 
     @Autowired
     public PortfolioCommandSourceWritePlatformServiceImpl(final PlatformSecurityContext context,
             final CommandSourceRepository commandSourceRepository, final FromJsonHelper fromApiJsonHelper,
-            final CommandProcessingService processAndLogCommandService, final SchedulerJobRunnerReadService schedulerJobRunnerReadService) {
+            final CommandProcessingService processAndLogCommandService, final SchedulerJobRunnerReadService schedulerJobRunnerReadService,
+            final ConfigurationDomainService configurationDomainService,
+            final CommandQueueWritePlatformService commandQueueWritePlatformService) {
         this.context = context;
         this.commandSourceRepository = commandSourceRepository;
         this.fromApiJsonHelper = fromApiJsonHelper;
         this.processAndLogCommandService = processAndLogCommandService;
         this.schedulerJobRunnerReadService = schedulerJobRunnerReadService;
+        this.configurationDomainService = configurationDomainService;
+        this.commandQueueWritePlatformService = commandQueueWritePlatformService;
     }
 
     @Override
@@ -83,6 +90,11 @@ public class PortfolioCommandSourceWritePlatformServiceImpl implements Portfolio
         }
         validateIsUpdateAllowed();
 
+        if (AsyncCommandContext.isAsyncRequested() && this.configurationDomainService.isAsyncCommandProcessingEnabled()) {
+            // accepted now, processed by a queue worker; the outcome is available from the command queue resource
+            return this.commandQueueWritePlatformService.enqueue(wrapper, this.context.authenticatedUser(wrapper));
+        }
+
         final String json = wrapper.getJson();
         CommandProcessingResult result = null;
         JsonCommand command = null;
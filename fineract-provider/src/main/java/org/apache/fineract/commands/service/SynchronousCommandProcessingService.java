@@ -63,13 +63,16 @@ public class SynchronousCommandProcessingService implements CommandProcessingSer
     private CommandSourceRepository commandSourceRepository;
     private final ConfigurationDomainService configurationDomainService;
     private final CommandHandlerProvider commandHandlerProvider;
+    private final AuditTrailWriter auditTrailWriter;
+    private final CommandQueueWritePlatformService commandQueueWritePlatformService;
 
     @Autowired
     public SynchronousCommandProcessingService(final PlatformSecurityContext context, final ApplicationContext applicationContext,
             final ToApiJsonSerializer<Map<String, Object>> toApiJsonSerializer,
             final ToApiJsonSerializer<CommandProcessingResult> toApiResultJsonSerializer,
             final CommandSourceRepository commandSourceRepository, final ConfigurationDomainService configurationDomainService,
-            final CommandHandlerProvider commandHandlerProvider) {
+            final CommandHandlerProvider commandHandlerProvider, final AuditTrailWriter auditTrailWriter,
+            final CommandQueueWritePlatformService commandQueueWritePlatformService) {
         this.context = context;
         this.context = context;
         this.applicationContext = applicationContext;
@@ -79,6 +82,8 @@ public class SynchronousCommandProcessingService implements CommandProcessingSer
         this.commandSourceRepository = commandSourceRepository;
         this.configurationDomainService = configurationDomainService;
         this.commandHandlerProvider = commandHandlerProvider;
+        this.auditTrailWriter = auditTrailWriter;
+        this.commandQueueWritePlatformService = commandQueueWritePlatformService;
     }
 
     @Transactional
@@ -124,7 +129,12 @@ public class SynchronousCommandProcessingService implements CommandProcessingSer
         }
 
         if (commandSourceResult.hasJson()) {
-            this.commandSourceRepository.save(commandSourceResult);
+            if (command.commandId() == null && this.auditTrailWriter.isEnabled()) {
+                // a checker reads the row back, so only new entries go through the write-behind stage
+                this.auditTrailWriter.appendAfterCommit(commandSourceResult);
+            } else {
+                this.commandSourceRepository.save(commandSourceResult);
+            }
         }
 
         if ((rollbackTransaction || result.isRollbackTransaction()) && !isApprovedByChecker) {
@@ -141,6 +151,7 @@ public class SynchronousCommandProcessingService implements CommandProcessingSer
             throw new RollbackTransactionAsCommandIsNotApprovedByCheckerException(commandSourceResult);
         }
         result.setRollbackTransaction(null);
+        this.commandQueueWritePlatformService.completeClaimedCommand(result);
 
         publishEvent(wrapper.entityName(), wrapper.actionName(), command, result);
 
@@ -154,8 +165,10 @@ public class SynchronousCommandProcessingService implements CommandProcessingSer
         commandSourceResult.markAsAwaitingApproval();
         commandSourceResult = this.commandSourceRepository.save(commandSourceResult);
 
-        return new CommandProcessingResultBuilder().withCommandId(commandSourceResult.getId())
+        final CommandProcessingResult result = new CommandProcessingResultBuilder().withCommandId(commandSourceResult.getId())
                 .withEntityId(commandSourceResult.getResourceId()).build();
+        this.commandQueueWritePlatformService.completeClaimedCommand(result);
+        return result;
     }
 
     private NewCommandSourceHandler findCommandHandler(final CommandWrapper wrapper) {
@@ -18,8 +18,13 @@
  */
 package org.apache.fineract.infrastructure.cache;
 
+import javax.sql.DataSource;
+import org.apache.fineract.infrastructure.cache.service.CacheInvalidationTransport;
+import org.apache.fineract.infrastructure.cache.service.JdbcCacheInvalidationTransport;
 import org.apache.fineract.infrastructure.cache.service.RuntimeDelegatingCacheManager;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CachingConfigurer;
 import org.springframework.cache.annotation.EnableCaching;
@@ -29,6 +34,7 @@ import org.springframework.cache.interceptor.KeyGenerator;
 import org.springframework.cache.interceptor.SimpleKeyGenerator;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 
 @SuppressWarnings("deprecation")
 @Configuration
@@ -44,6 +50,19 @@ public class PlatformCacheConfiguration implements CachingConfigurer {
         return this.delegatingCacheManager;
     }
 
+    /**
+     * Transport used by the multi node cache to broadcast evictions, replaced by declaring another
+     * {@link CacheInvalidationTransport} bean.
+     */
+    @Bean
+    @ConditionalOnMissingBean(CacheInvalidationTransport.class)
+    public CacheInvalidationTransport cacheInvalidationTransport(@Qualifier("hikariTenantDataSource") final DataSource dataSource,
+            final Environment environment) {
+        final long pollIntervalMillis = environment.getProperty("FINERACT_CACHE_INVALIDATION_POLL_INTERVAL_MILLIS", Long.class, 1000L);
+        final long retentionMillis = environment.getProperty("FINERACT_CACHE_INVALIDATION_RETENTION_MILLIS", Long.class, 600000L);
+        return new JdbcCacheInvalidationTransport(dataSource, pollIntervalMillis, retentionMillis);
+    }
+
     @Override
     public CacheResolver cacheResolver() {
         // TODO https://issues.apache.org/jira/browse/FINERACT-705
@@ -0,0 +1,64 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.cache.data;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Immutable data object representing the second level entity cache statistics of one entity type.
+ */
+public final class EntityCacheStatisticsData {
+
+    private final String entityType;
+    private final long hits;
+    private final long misses;
+    private final long puts;
+    private final BigDecimal hitRatio;
+
+    public EntityCacheStatisticsData(final String entityType, final long hits, final long misses, final long puts) {
+        this.entityType = entityType;
+        this.hits = hits;
+        this.misses = misses;
+        this.puts = puts;
+        final long lookups = hits + misses;
+        this.hitRatio = lookups == 0 ? BigDecimal.ZERO
+                : BigDecimal.valueOf(hits).divide(BigDecimal.valueOf(lookups), 4, RoundingMode.HALF_EVEN);
+    }
+
+    public String getEntityType() {
+        return this.entityType;
+    }
+
+    public long getHits() {
+        return this.hits;
+    }
+
+    public long getMisses() {
+        return this.misses;
+    }
+
+    public long getPuts() {
+        return this.puts;
+    }
+
+    public BigDecimal getHitRatio() {
+        return this.hitRatio;
+    }
+}
@@ -0,0 +1,66 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.cache.domain;
+
+/**
+ * An eviction performed on one node that every other node has to apply to its local copy of the cache.
+ *
+ * A {@code null} key clears the whole cache, a {@code null} cache name clears every cache.
+ */
+public final class CacheInvalidationMessage {
+
+    private final String originNodeId;
+    private final String cacheName;
+    private final String key;
+
+    public CacheInvalidationMessage(final String originNodeId, final String cacheName, final String key) {
+        this.originNodeId = originNodeId;
+        this.cacheName = cacheName;
+        this.key = key;
+    }
+
+    public static CacheInvalidationMessage clearAll(final String originNodeId) {
+        return new CacheInvalidationMessage(originNodeId, null, null);
+    }
+
+    public String getOriginNodeId() {
+        return this.originNodeId;
+    }
+
+    public String getCacheName() {
+        return this.cacheName;
+    }
+
+    public String getKey() {
+        return this.key;
+    }
+
+    public boolean isClearAll() {
+        return this.cacheName == null;
+    }
+
+    public boolean isClear() {
+        return this.key == null;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheInvalidationMessage [originNodeId=" + this.originNodeId + ", cacheName=" + this.cacheName + ", key=" + this.key + "]";
+    }
+}
@@ -0,0 +1,40 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.cache.service;
+
+import java.util.function.Consumer;
+import org.apache.fineract.infrastructure.cache.domain.CacheInvalidationMessage;
+
+/**
+ * Carries cache invalidations between the nodes of a cluster when the {@link MultiNodeCacheManager} is active.
+ *
+ * The default implementation is {@link JdbcCacheInvalidationTransport}; declaring another bean of this type replaces
+ * it.
+ */
+public interface CacheInvalidationTransport {
+
+    /**
+     * Starts delivering invalidations published by nodes other than {@code nodeId} to the given listener.
+     */
+    void start(String nodeId, Consumer<CacheInvalidationMessage> listener);
+
+    void stop();
+
+    void publish(CacheInvalidationMessage message);
+}
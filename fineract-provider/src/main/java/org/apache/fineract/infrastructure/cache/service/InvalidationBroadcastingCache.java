@@ -0,0 +1,122 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.cache.service;
+
+import java.util.concurrent.Callable;
+import org.apache.fineract.infrastructure.cache.domain.CacheInvalidationMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * {@link Cache} decorator that evicts from the local cache and publishes the eviction to the other nodes of the
+ * cluster. Inside a transaction the eviction is published after commit, so other nodes do not reload the old state
+ * before it is replaced.
+ */
+final class InvalidationBroadcastingCache implements Cache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(InvalidationBroadcastingCache.class);
+
+    private final Cache delegate;
+    private final CacheInvalidationTransport transport;
+    private final String nodeId;
+
+    InvalidationBroadcastingCache(final Cache delegate, final CacheInvalidationTransport transport, final String nodeId) {
+        this.delegate = delegate;
+        this.transport = transport;
+        this.nodeId = nodeId;
+    }
+
+    Cache getDelegate() {
+        return this.delegate;
+    }
+
+    @Override
+    public String getName() {
+        return this.delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return this.delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(final Object key) {
+        return this.delegate.get(key);
+    }
+
+    @Override
+    public <T> T get(final Object key, final Class<T> type) {
+        return this.delegate.get(key, type);
+    }
+
+    @Override
+    public <T> T get(final Object key, final Callable<T> valueLoader) {
+        return this.delegate.get(key, valueLoader);
+    }
+
+    @Override
+    public void put(final Object key, final Object value) {
+        this.delegate.put(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(final Object key, final Object value) {
+        return this.delegate.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void evict(final Object key) {
+        this.delegate.evict(key);
+        // keys that cannot be carried as text clear the whole cache on the other nodes
+        final String remoteKey = key instanceof String ? (String) key : null;
+        publish(new CacheInvalidationMessage(this.nodeId, getName(), remoteKey));
+    }
+
+    @Override
+    public void clear() {
+        this.delegate.clear();
+        publish(new CacheInvalidationMessage(this.nodeId, getName(), null));
+    }
+
+    private void publish(final CacheInvalidationMessage message) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+
+                @Override
+                public void afterCommit() {
+                    send(message);
+                }
+            });
+        } else {
+            send(message);
+        }
+    }
+
+    private void send(final CacheInvalidationMessage message) {
+        try {
+            this.transport.publish(message);
+        } catch (RuntimeException e) {
+            LOG.error("Could not publish {}", message, e);
+        }
+    }
+}
@@ -0,0 +1,214 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.cache.service;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import javax.sql.DataSource;
+import org.apache.fineract.infrastructure.cache.domain.CacheInvalidationMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+/**
+ * {@link CacheInvalidationTransport} backed by the {@code cache_invalidation} table of the tenant list database, which
+ * every node of a cluster shares. Published invalidations are inserted as rows; each node polls for rows with a higher
+ * id than the last one it has seen and skips its own.
+ *
+ * Ids are handed out when a row is inserted, not when it commits, so a row can become visible after rows with higher
+ * ids. Ids skipped by a poll are kept as gaps and polled for again until their rows show up or the gap timeout passes
+ * (the id of an insert that was rolled back is never filled). Too many open gaps clear all caches instead.
+ *
+ * Rows older than the retention period are purged. A node that could not poll for longer than that may have missed
+ * invalidations, so it clears all of its caches once polling succeeds again.
+ */
+public class JdbcCacheInvalidationTransport implements CacheInvalidationTransport {
+
+    private static final Logger LOG = LoggerFactory.getLogger(JdbcCacheInvalidationTransport.class);
+    private static final int MAX_ROWS_PER_POLL = 1000;
+    private static final int MAX_KEY_LENGTH = 500;
+    private static final int MAX_GAPS = 1000;
+    private static final long GAP_TIMEOUT_MILLIS = 60_000L;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long pollIntervalMillis;
+    private final long retentionMillis;
+    private final CacheInvalidationMapper mapper = new CacheInvalidationMapper();
+
+    private ScheduledExecutorService poller;
+    private volatile String nodeId;
+    private volatile Consumer<CacheInvalidationMessage> listener;
+    private long lastSeenId;
+    // ids below lastSeenId not seen yet, with the time they were skipped; only used by the polling thread
+    private final Map<Long, Long> gaps = new LinkedHashMap<>();
+    private long lastSuccessfulPoll;
+    private long lastPurge;
+
+    public JdbcCacheInvalidationTransport(final DataSource dataSource, final long pollIntervalMillis, final long retentionMillis) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.retentionMillis = retentionMillis;
+    }
+
+    @Override
+    public synchronized void start(final String nodeId, final Consumer<CacheInvalidationMessage> listener) {
+        if (this.poller != null) {
+            return;
+        }
+        this.nodeId = nodeId;
+        this.listener = listener;
+        this.lastSeenId = this.jdbcTemplate.queryForObject("select coalesce(max(id), 0) from cache_invalidation", Long.class);
+        this.lastSuccessfulPoll = System.currentTimeMillis();
+        this.poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "cache-invalidation-poller");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.poller.scheduleWithFixedDelay(this::poll, this.pollIntervalMillis, this.pollIntervalMillis, TimeUnit.MILLISECONDS);
+        LOG.info("Cache invalidation polling started for node {} every {} ms", this.nodeId, this.pollIntervalMillis);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (this.poller != null) {
+            this.poller.shutdownNow();
+            this.poller = null;
+        }
+        this.listener = null;
+    }
+
+    @Override
+    public void publish(final CacheInvalidationMessage message) {
+        String key = message.getKey();
+        final String cacheName = message.getCacheName();
+        if (key != null && key.length() > MAX_KEY_LENGTH) {
+            // too long to store, clear the whole cache on the other nodes instead
+            key = null;
+        }
+        this.jdbcTemplate.update("insert into cache_invalidation (origin_node, cache_name, cache_key, created_on) values (?, ?, ?, ?)",
+                message.getOriginNodeId(), cacheName, key, new Timestamp(System.currentTimeMillis()));
+    }
+
+    private void poll() {
+        final Consumer<CacheInvalidationMessage> currentListener = this.listener;
+        final String currentNodeId = this.nodeId;
+        if (currentListener == null) {
+            return;
+        }
+        final long now = System.currentTimeMillis();
+        final List<InvalidationRow> rows;
+        final List<InvalidationRow> filledGaps;
+        try {
+            rows = this.jdbcTemplate.query(
+                    "select id, origin_node, cache_name, cache_key from cache_invalidation where id > ? order by id limit " + MAX_ROWS_PER_POLL,
+                    this.mapper, this.lastSeenId);
+            filledGaps = retrieveFilledGaps();
+        } catch (RuntimeException e) {
+            LOG.warn("Polling cache invalidations failed", e);
+            return;
+        }
+        try {
+            if (now - this.lastSuccessfulPoll > this.retentionMillis) {
+                LOG.warn("Cache invalidations were not polled for {} ms, clearing all caches", now - this.lastSuccessfulPoll);
+                currentListener.accept(CacheInvalidationMessage.clearAll(currentNodeId));
+            }
+            for (final InvalidationRow row : filledGaps) {
+                this.gaps.remove(row.id);
+                apply(row, currentNodeId, currentListener);
+            }
+            for (final InvalidationRow row : rows) {
+                for (long skippedId = this.lastSeenId + 1; skippedId < row.id && this.gaps.size() <= MAX_GAPS; skippedId++) {
+                    this.gaps.put(skippedId, now);
+                }
+                this.lastSeenId = row.id;
+                apply(row, currentNodeId, currentListener);
+            }
+            expireGaps(now, currentNodeId, currentListener);
+            this.lastSuccessfulPoll = now;
+            if (now - this.lastPurge > this.retentionMillis) {
+                this.jdbcTemplate.update("delete from cache_invalidation where created_on < ?", new Timestamp(now - this.retentionMillis));
+                this.lastPurge = now;
+            }
+        } catch (RuntimeException e) {
+            LOG.warn("Applying cache invalidations failed", e);
+        }
+    }
+
+    private List<InvalidationRow> retrieveFilledGaps() {
+        if (this.gaps.isEmpty()) {
+            return Collections.emptyList();
+        }
+        final String placeholders = String.join(",", Collections.nCopies(this.gaps.size(), "?"));
+        return this.jdbcTemplate.query("select id, origin_node, cache_name, cache_key from cache_invalidation where id in (" + placeholders
+                + ")", this.mapper, this.gaps.keySet().toArray());
+    }
+
+    private static void apply(final InvalidationRow row, final String currentNodeId, final Consumer<CacheInvalidationMessage> listener) {
+        if (!currentNodeId.equals(row.message.getOriginNodeId())) {
+            listener.accept(row.message);
+        }
+    }
+
+    private void expireGaps(final long now, final String currentNodeId, final Consumer<CacheInvalidationMessage> listener) {
+        if (this.gaps.size() > MAX_GAPS) {
+            LOG.warn("More than {} cache invalidations are missing, clearing all caches", MAX_GAPS);
+            listener.accept(CacheInvalidationMessage.clearAll(currentNodeId));
+            this.gaps.clear();
+            return;
+        }
+        for (final Iterator<Long> skippedAt = this.gaps.values().iterator(); skippedAt.hasNext();) {
+            if (now - skippedAt.next() > GAP_TIMEOUT_MILLIS) {
+                skippedAt.remove();
+            }
+        }
+    }
+
+    private static final class InvalidationRow {
+
+        private final long id;
+        private final CacheInvalidationMessage message;
+
+        InvalidationRow(final long id, final CacheInvalidationMessage message) {
+            this.id = id;
+            this.message = message;
+        }
+    }
+
+    private static final class CacheInvalidationMapper implements RowMapper<InvalidationRow> {
+
+        @Override
+        public InvalidationRow mapRow(final ResultSet rs, @SuppressWarnings("unused") final int rowNum) throws SQLException {
+            final long id = rs.getLong("id");
+            final CacheInvalidationMessage message = new CacheInvalidationMessage(rs.getString("origin_node"), rs.getString("cache_name"),
+                    rs.getString("cache_key"));
+            return new InvalidationRow(id, message);
+        }
+    }
+}
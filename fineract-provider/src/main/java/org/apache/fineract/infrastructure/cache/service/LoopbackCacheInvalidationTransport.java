@@ -0,0 +1,71 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.cache.service;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.function.Consumer;
+import org.apache.fineract.infrastructure.cache.domain.CacheInvalidationMessage;
+
+/**
+ * In-memory {@link CacheInvalidationTransport} that delivers every message synchronously to the other peers created
+ * from the same instance, e.g. to run several {@link MultiNodeCacheManager}s in a single JVM.
+ */
+public final class LoopbackCacheInvalidationTransport implements CacheInvalidationTransport {
+
+    private final Set<LoopbackCacheInvalidationTransport> peers;
+    private volatile Consumer<CacheInvalidationMessage> listener;
+
+    public LoopbackCacheInvalidationTransport() {
+        this(new CopyOnWriteArraySet<>());
+    }
+
+    private LoopbackCacheInvalidationTransport(final Set<LoopbackCacheInvalidationTransport> peers) {
+        this.peers = peers;
+        this.peers.add(this);
+    }
+
+    /**
+     * Creates another transport connected to the same loopback channel.
+     */
+    public LoopbackCacheInvalidationTransport newPeer() {
+        return new LoopbackCacheInvalidationTransport(this.peers);
+    }
+
+    @Override
+    public void start(final String nodeId, final Consumer<CacheInvalidationMessage> listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public void stop() {
+        this.listener = null;
+    }
+
+    @Override
+    public void publish(final CacheInvalidationMessage message) {
+        for (final LoopbackCacheInvalidationTransport peer : List.copyOf(this.peers)) {
+            final Consumer<CacheInvalidationMessage> peerListener = peer.listener;
+            if (peer != this && peerListener != null) {
+                peerListener.accept(message);
+            }
+        }
+    }
+}
@@ -0,0 +1,136 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.cache.service;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.fineract.infrastructure.cache.domain.CacheInvalidationMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+/**
+ * {@link CacheManager} for running several nodes behind a load balancer: every node keeps its own local caches, and
+ * evictions are broadcast through a {@link CacheInvalidationTransport} and applied by all other nodes.
+ */
+public class MultiNodeCacheManager implements CacheManager {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MultiNodeCacheManager.class);
+
+    private final CacheManager localCacheManager;
+    private final CacheInvalidationTransport transport;
+    private final String nodeId;
+    private final Map<String, InvalidationBroadcastingCache> caches = new ConcurrentHashMap<>();
+    private final Map<String, Cache> registeredCaches = new ConcurrentHashMap<>();
+
+    public MultiNodeCacheManager(final CacheManager localCacheManager, final CacheInvalidationTransport transport) {
+        this(localCacheManager, transport, UUID.randomUUID().toString());
+    }
+
+    public MultiNodeCacheManager(final CacheManager localCacheManager, final CacheInvalidationTransport transport, final String nodeId) {
+        this.localCacheManager = localCacheManager;
+        this.transport = transport;
+        this.nodeId = nodeId;
+    }
+
+    public String getNodeId() {
+        return this.nodeId;
+    }
+
+    /**
+     * Starts applying invalidations received from other nodes. Local caches are cleared first, as evictions made while
+     * this node was not listening have been missed.
+     */
+    public void start() {
+        clearLocalCaches();
+        this.transport.start(this.nodeId, this::apply);
+    }
+
+    public void stop() {
+        this.transport.stop();
+    }
+
+    /**
+     * Registers a local cache that is not managed by the local cache manager, such as the second level entity cache,
+     * so that its evictions are broadcast and applied like those of the local cache manager.
+     */
+    public void registerLocalCache(final Cache localCache) {
+        this.registeredCaches.put(localCache.getName(), localCache);
+    }
+
+    @Override
+    public Cache getCache(final String name) {
+        final InvalidationBroadcastingCache cache = this.caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        final Cache localCache = getLocalCache(name);
+        if (localCache == null) {
+            return null;
+        }
+        return this.caches.computeIfAbsent(name, key -> new InvalidationBroadcastingCache(localCache, this.transport, this.nodeId));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        final Set<String> cacheNames = new LinkedHashSet<>(this.localCacheManager.getCacheNames());
+        cacheNames.addAll(this.registeredCaches.keySet());
+        return cacheNames;
+    }
+
+    /**
+     * Applies an invalidation received from another node to the local caches only, without publishing it again.
+     */
+    void apply(final CacheInvalidationMessage message) {
+        if (this.nodeId.equals(message.getOriginNodeId()) && !message.isClearAll()) {
+            return;
+        }
+        if (message.isClearAll()) {
+            clearLocalCaches();
+            return;
+        }
+        final Cache localCache = getLocalCache(message.getCacheName());
+        if (localCache == null) {
+            LOG.debug("Ignoring {} for unknown cache", message);
+        } else if (message.isClear()) {
+            localCache.clear();
+        } else {
+            localCache.evict(message.getKey());
+        }
+    }
+
+    private Cache getLocalCache(final String name) {
+        final Cache localCache = this.localCacheManager.getCache(name);
+        return localCache != null ? localCache : this.registeredCaches.get(name);
+    }
+
+    private void clearLocalCaches() {
+        for (final String cacheName : getCacheNames()) {
+            final Cache localCache = getLocalCache(cacheName);
+            if (localCache != null) {
+                localCache.clear();
+            }
+        }
+    }
+}
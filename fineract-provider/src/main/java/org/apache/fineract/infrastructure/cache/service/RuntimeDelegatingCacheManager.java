@@ -41,6 +41,9 @@ import org.springframework.stereotype.Component;
  *
  * By default it is {@link NoOpCacheManager} but we can change that by checking some persisted configuration in the
  * database on startup and allow user to switch implementation through UI/API
+ *
+ * The multi node cache keeps the same local caches as the single node one and broadcasts evictions to the other nodes
+ * through {@link MultiNodeCacheManager}.
  */
 @Component(value = "runtimeDelegatingCacheManager")
 public class RuntimeDelegatingCacheManager implements CacheManager {
@@ -48,15 +51,26 @@ public class RuntimeDelegatingCacheManager implements CacheManager {
     private static final Logger LOG = LoggerFactory.getLogger(RuntimeDelegatingCacheManager.class);
 
     private final JCacheCacheManager jcacheCacheManager;
+    private final MultiNodeCacheManager multiNodeCacheManager;
     private final CacheManager noOpCacheManager = new NoOpCacheManager();
     private CacheManager currentCacheManager;
 
     @Autowired
-    public RuntimeDelegatingCacheManager(final JCacheCacheManager jcacheCacheManager) {
+    public RuntimeDelegatingCacheManager(final JCacheCacheManager jcacheCacheManager,
+            final CacheInvalidationTransport cacheInvalidationTransport) {
         this.jcacheCacheManager = jcacheCacheManager;
+        this.multiNodeCacheManager = new MultiNodeCacheManager(jcacheCacheManager, cacheInvalidationTransport);
         this.currentCacheManager = this.noOpCacheManager;
     }
 
+    /**
+     * Registers a local cache kept outside of the cache managers, whose evictions are broadcast to the other nodes
+     * while the multi node cache is active.
+     */
+    public void registerMultiNodeCache(final Cache localCache) {
+        this.multiNodeCacheManager.registerLocalCache(localCache);
+    }
+
     @Override
     public Cache getCache(final String name) {
         return this.currentCacheManager.getCache(name);
@@ -71,29 +85,31 @@ public class RuntimeDelegatingCacheManager implements CacheManager {
 
         final boolean noCacheEnabled = this.currentCacheManager instanceof NoOpCacheManager;
         final boolean ehcacheEnabled = this.currentCacheManager instanceof JCacheCacheManager;
-
-        // final boolean distributedCacheEnabled = false;
+        final boolean distributedCacheEnabled = this.currentCacheManager instanceof MultiNodeCacheManager;
 
         final EnumOptionData noCacheType = CacheEnumerations.cacheType(CacheType.NO_CACHE);
         final EnumOptionData singleNodeCacheType = CacheEnumerations.cacheType(CacheType.SINGLE_NODE);
-        // final EnumOptionData multiNodeCacheType =
-        // CacheEnumerations.cacheType(CacheType.MULTI_NODE);
+        final EnumOptionData multiNodeCacheType = CacheEnumerations.cacheType(CacheType.MULTI_NODE);
 
         final CacheData noCache = CacheData.instance(noCacheType, noCacheEnabled);
         final CacheData singleNodeCache = CacheData.instance(singleNodeCacheType, ehcacheEnabled);
-        // final CacheData distributedCache =
-        // CacheData.instance(multiNodeCacheType, distributedCacheEnabled);
+        final CacheData distributedCache = CacheData.instance(multiNodeCacheType, distributedCacheEnabled);
 
-        final Collection<CacheData> caches = Arrays.asList(noCache, singleNodeCache);
+        final Collection<CacheData> caches = Arrays.asList(noCache, singleNodeCache, distributedCache);
         return caches;
     }
 
-    public Map<String, Object> switchToCache(final boolean ehcacheEnabled, final CacheType toCacheType) {
+    public Map<String, Object> switchToCache(final boolean ehcacheEnabled, final boolean distributedCacheEnabled,
+            final CacheType toCacheType) {
 
         final Map<String, Object> changes = new HashMap<>();
 
-        final boolean noCacheEnabled = !ehcacheEnabled;
-        final boolean distributedCacheEnabled = !ehcacheEnabled;
+        final boolean noCacheEnabled = !ehcacheEnabled && !distributedCacheEnabled;
+
+        if (toCacheType != CacheType.INVALID && !toCacheType.isDistributedCache()
+                && this.currentCacheManager == this.multiNodeCacheManager) {
+            this.multiNodeCacheManager.stop();
+        }
 
         switch (toCacheType) {
             case INVALID:
@@ -119,6 +135,11 @@ public class RuntimeDelegatingCacheManager implements CacheManager {
                 if (!distributedCacheEnabled) {
                     changes.put(CacheApiConstants.cacheTypeParameter, toCacheType.getValue());
                 }
+                if (this.currentCacheManager != this.multiNodeCacheManager) {
+                    // clears the local caches before listening for evictions from the other nodes
+                    this.multiNodeCacheManager.start();
+                    this.currentCacheManager = this.multiNodeCacheManager;
+                }
             break;
         }
 
@@ -0,0 +1,129 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.cache.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.jcache.JCacheCacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Tenant scoped caches of state derived from tenant tables (resolved identifiers, account mappings, configuration)
+ * that replace queries on hot paths. Unlike the caches behind <code>@Cacheable</code> they stay enabled whatever cache
+ * type is selected.
+ *
+ * Entries live in the JCache caches declared in <code>ehcache.xml</code>, bounded in size and time to live, so they are
+ * cleared with the other platform caches and, when the multi node cache is active, an eviction is broadcast to the
+ * other nodes after commit. Locally an eviction is applied immediately and once more when the surrounding transaction
+ * completes, so that a concurrent reader cannot keep state it loaded from rows the transaction changed.
+ */
+@Service
+public class TenantScopedCacheService {
+
+    private final CacheManager localCacheManager;
+    private final CacheManager platformCacheManager;
+    private final Map<String, AtomicLong> evictionCounts = new ConcurrentHashMap<>();
+
+    @Autowired
+    public TenantScopedCacheService(final JCacheCacheManager jcacheCacheManager,
+            final RuntimeDelegatingCacheManager runtimeDelegatingCacheManager) {
+        this((CacheManager) jcacheCacheManager, runtimeDelegatingCacheManager);
+    }
+
+    /**
+     * Keeps entries in the caches of <code>localCacheManager</code> and publishes evictions through the caches of
+     * <code>platformCacheManager</code>.
+     */
+    public TenantScopedCacheService(final CacheManager localCacheManager, final CacheManager platformCacheManager) {
+        this.localCacheManager = localCacheManager;
+        this.platformCacheManager = platformCacheManager;
+    }
+
+    /**
+     * @return the cached value of the key for the current tenant, loading and caching it when absent;
+     *         <code>null</code> values are returned but not cached
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(final String cacheName, final String key, final Supplier<T> loader) {
+        final Cache cache = localCache(cacheName);
+        final String tenantKey = tenantKey(key);
+        final Cache.ValueWrapper cached = cache.get(tenantKey);
+        if (cached != null) {
+            return (T) cached.get();
+        }
+        final AtomicLong evictions = evictionCountOf(cacheName);
+        final long evictionsBeforeLoad = evictions.get();
+        final T value = loader.get();
+        // not cached when evicted while loading, as the value may have been read from rows that were being changed
+        if (value != null && evictions.get() == evictionsBeforeLoad) {
+            cache.put(tenantKey, value);
+        }
+        return value;
+    }
+
+    /**
+     * Evicts the key of the current tenant on this node and, when the multi node cache is active, on the other nodes.
+     */
+    public void evict(final String cacheName, final String key) {
+        final String tenantKey = tenantKey(key);
+        final Runnable eviction = () -> {
+            evictionCountOf(cacheName).incrementAndGet();
+            localCache(cacheName).evict(tenantKey);
+        };
+        eviction.run();
+        // the platform cache publishes the eviction to the other nodes after commit when the multi node cache is active
+        final Cache platformCache = this.platformCacheManager.getCache(cacheName);
+        if (platformCache != null) {
+            platformCache.evict(tenantKey);
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+
+                @Override
+                public void afterCompletion(final int status) {
+                    eviction.run();
+                }
+            });
+        }
+    }
+
+    private Cache localCache(final String cacheName) {
+        final Cache cache = this.localCacheManager.getCache(cacheName);
+        if (cache == null) {
+            throw new IllegalStateException("Cache " + cacheName + " is not configured");
+        }
+        return cache;
+    }
+
+    private AtomicLong evictionCountOf(final String cacheName) {
+        return this.evictionCounts.computeIfAbsent(cacheName, key -> new AtomicLong());
+    }
+
+    private static String tenantKey(final String key) {
+        return ThreadLocalContextUtil.getTenant().getTenantIdentifier() + "|" + key;
+    }
+}
@@ -20,6 +20,7 @@ package org.apache.fineract.infrastructure.codes.domain;
 
 import java.util.LinkedHashMap;
 import java.util.Map;
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.JoinColumn;
@@ -33,6 +34,7 @@ import org.apache.fineract.infrastructure.core.api.JsonCommand;
 import org.apache.fineract.infrastructure.core.domain.AbstractPersistableCustom;
 
 @Entity
+@Cacheable
 @Table(name = "m_code_value", uniqueConstraints = {
         @UniqueConstraint(columnNames = { "code_id", "code_value" }, name = "code_value_duplicate") })
 public class CodeValue extends AbstractPersistableCustom {
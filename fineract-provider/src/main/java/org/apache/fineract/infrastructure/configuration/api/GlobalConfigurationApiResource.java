@@ -29,6 +29,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DefaultValue;
@@ -45,7 +46,9 @@ import org.apache.fineract.commands.domain.CommandWrapper;
 import org.apache.fineract.commands.service.CommandWrapperBuilder;
 import org.apache.fineract.commands.service.PortfolioCommandSourceWritePlatformService;
 import org.apache.fineract.infrastructure.configuration.data.GlobalConfigurationData;
+import org.apache.fineract.infrastructure.configuration.data.GlobalConfigurationLookupData;
 import org.apache.fineract.infrastructure.configuration.data.GlobalConfigurationPropertyData;
+import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
 import org.apache.fineract.infrastructure.configuration.service.ConfigurationReadPlatformService;
 import org.apache.fineract.infrastructure.core.api.ApiRequestParameterHelper;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
@@ -80,19 +83,22 @@ public class GlobalConfigurationApiResource {
     private final DefaultToApiJsonSerializer<GlobalConfigurationPropertyData> propertyDataJsonSerializer;
     private final ApiRequestParameterHelper apiRequestParameterHelper;
     private final PortfolioCommandSourceWritePlatformService commandsSourceWritePlatformService;
+    private final ConfigurationDomainService configurationDomainService;
 
     @Autowired
     public GlobalConfigurationApiResource(final PlatformSecurityContext context, final ConfigurationReadPlatformService readPlatformService,
             final DefaultToApiJsonSerializer<GlobalConfigurationData> toApiJsonSerializer,
             final ApiRequestParameterHelper apiRequestParameterHelper,
             final PortfolioCommandSourceWritePlatformService commandsSourceWritePlatformService,
-            final DefaultToApiJsonSerializer<GlobalConfigurationPropertyData> propertyDataJsonSerializer) {
+            final DefaultToApiJsonSerializer<GlobalConfigurationPropertyData> propertyDataJsonSerializer,
+            final ConfigurationDomainService configurationDomainService) {
         this.context = context;
         this.readPlatformService = readPlatformService;
         this.toApiJsonSerializer = toApiJsonSerializer;
         this.apiRequestParameterHelper = apiRequestParameterHelper;
         this.commandsSourceWritePlatformService = commandsSourceWritePlatformService;
         this.propertyDataJsonSerializer = propertyDataJsonSerializer;
+        this.configurationDomainService = configurationDomainService;
     }
 
     @GET
@@ -115,6 +121,22 @@ public class GlobalConfigurationApiResource {
         return this.toApiJsonSerializer.serialize(settings, configurationData, RESPONSE_DATA_PARAMETERS);
     }
 
+    @GET
+    @Path("lookups")
+    @Consumes({ MediaType.APPLICATION_JSON })
+    @Produces({ MediaType.APPLICATION_JSON })
+    @Operation(summary = "Retrieve Global Configuration Lookup Counts", description = "Returns how often each global configuration "
+            + "property was looked up on this node since startup, most used first.\n" + "\n" + "Example Requests:\n" + "\n"
+            + "configurations/lookups")
+    public String retrieveLookupCounts() {
+
+        this.context.authenticatedUser().validateHasReadPermission(this.resourceNameForPermissions);
+
+        final List<GlobalConfigurationLookupData> lookups = this.configurationDomainService.retrieveGlobalConfigurationLookupCounts();
+
+        return this.toApiJsonSerializer.serialize(lookups);
+    }
+
     @GET
     @Path("{configId}")
     @Consumes({ MediaType.APPLICATION_JSON })
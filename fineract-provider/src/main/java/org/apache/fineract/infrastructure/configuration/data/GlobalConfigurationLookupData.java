@@ -0,0 +1,41 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.configuration.data;
+
+/**
+ * Immutable data object with the number of lookups of a global configuration property since startup.
+ */
+public class GlobalConfigurationLookupData {
+
+    private final String name;
+    private final long lookups;
+
+    public GlobalConfigurationLookupData(final String name, final long lookups) {
+        this.name = name;
+        this.lookups = lookups;
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public long getLookups() {
+        return this.lookups;
+    }
+}
@@ -19,7 +19,9 @@
 package org.apache.fineract.infrastructure.configuration.domain;
 
 import java.util.Date;
+import java.util.List;
 import org.apache.fineract.infrastructure.cache.domain.CacheType;
+import org.apache.fineract.infrastructure.configuration.data.GlobalConfigurationLookupData;
 
 public interface ConfigurationDomainService {
 
@@ -39,6 +41,8 @@ public interface ConfigurationDomainService {
 
     boolean isEhcacheEnabled();
 
+    boolean isDistributedCacheEnabled();
+
     void updateCache(CacheType cacheType);
 
     Long retrievePenaltyWaitPeriod();
@@ -85,6 +89,8 @@ public interface ConfigurationDomainService {
 
     void removeGlobalConfigurationPropertyDataFromCache(String propertyName);
 
+    List<GlobalConfigurationLookupData> retrieveGlobalConfigurationLookupCounts();
+
     boolean isSMSOTPDeliveryEnabled();
 
     boolean isEmailOTPDeliveryEnabled();
@@ -100,4 +106,6 @@ public interface ConfigurationDomainService {
     boolean isFirstRepaymentDateAfterRescheduleAllowedOnHoliday();
 
     boolean isInterestToBeAppropriatedEquallyWhenGreaterThanEMI();
+
+    boolean isAsyncCommandProcessingEnabled();
 }
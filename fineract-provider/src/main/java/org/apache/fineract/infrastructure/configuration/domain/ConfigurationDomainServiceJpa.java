@@ -18,13 +18,20 @@
  */
 package org.apache.fineract.infrastructure.configuration.domain;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.Date;
-import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.fineract.infrastructure.cache.domain.CacheType;
 import org.apache.fineract.infrastructure.cache.domain.PlatformCache;
 import org.apache.fineract.infrastructure.cache.domain.PlatformCacheRepository;
+import org.apache.fineract.infrastructure.cache.service.TenantScopedCacheService;
+import org.apache.fineract.infrastructure.configuration.data.GlobalConfigurationLookupData;
 import org.apache.fineract.infrastructure.configuration.data.GlobalConfigurationPropertyData;
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.apache.fineract.useradministration.domain.Permission;
@@ -34,20 +41,33 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+/**
+ * Global configuration properties are read from a per-tenant {@link GlobalConfigurationSnapshot}, loaded once and
+ * replaced as a whole after <code>c_configuration</code> changes, so a lookup is a map read instead of a query. The
+ * snapshots are kept in the {@value #GLOBAL_CONFIGURATION_CACHE} cache of the {@link TenantScopedCacheService}, which
+ * broadcasts their eviction to the other nodes of a cluster.
+ */
 @Service
 public class ConfigurationDomainServiceJpa implements ConfigurationDomainService {
 
+    static final String GLOBAL_CONFIGURATION_CACHE = "globalConfiguration";
+    private static final String SNAPSHOT_KEY = "snapshot";
+
     private final PermissionRepository permissionRepository;
     private final GlobalConfigurationRepositoryWrapper globalConfigurationRepository;
     private final PlatformCacheRepository cacheTypeRepository;
-    private static Map<String, GlobalConfigurationPropertyData> configurations = new HashMap<>();
+    private final TenantScopedCacheService tenantScopedCacheService;
+    // property name to number of lookups, per tenant
+    private final Map<String, Map<String, LongAdder>> lookupCounts = new ConcurrentHashMap<>();
 
     @Autowired
     public ConfigurationDomainServiceJpa(final PermissionRepository permissionRepository,
-            final GlobalConfigurationRepositoryWrapper globalConfigurationRepository, final PlatformCacheRepository cacheTypeRepository) {
+            final GlobalConfigurationRepositoryWrapper globalConfigurationRepository, final PlatformCacheRepository cacheTypeRepository,
+            final TenantScopedCacheService tenantScopedCacheService) {
         this.permissionRepository = permissionRepository;
         this.globalConfigurationRepository = globalConfigurationRepository;
         this.cacheTypeRepository = cacheTypeRepository;
+        this.tenantScopedCacheService = tenantScopedCacheService;
     }
 
     @Override
@@ -117,6 +137,11 @@ public class ConfigurationDomainServiceJpa implements ConfigurationDomainService
         return this.cacheTypeRepository.findById(1L).get().isEhcacheEnabled();
     }
 
+    @Override
+    public boolean isDistributedCacheEnabled() {
+        return this.cacheTypeRepository.findById(1L).get().isDistributedCacheEnabled();
+    }
+
     @Transactional
     @Override
     public void updateCache(final CacheType cacheType) {
@@ -299,10 +324,20 @@ public class ConfigurationDomainServiceJpa implements ConfigurationDomainService
     }
 
     @Override
-    public void removeGlobalConfigurationPropertyDataFromCache(final String propertyName) {
-        String identifier = ThreadLocalContextUtil.getTenant().getTenantIdentifier();
-        String key = identifier + "_" + propertyName;
-        configurations.remove(key);
+    public void removeGlobalConfigurationPropertyDataFromCache(@SuppressWarnings("unused") final String propertyName) {
+        this.tenantScopedCacheService.evict(GLOBAL_CONFIGURATION_CACHE, SNAPSHOT_KEY);
+    }
+
+    @Override
+    public List<GlobalConfigurationLookupData> retrieveGlobalConfigurationLookupCounts() {
+        final Map<String, LongAdder> tenantLookupCounts = this.lookupCounts
+                .getOrDefault(ThreadLocalContextUtil.getTenant().getTenantIdentifier(), Collections.emptyMap());
+        final List<GlobalConfigurationLookupData> lookups = new ArrayList<>();
+        for (final Map.Entry<String, LongAdder> entry : tenantLookupCounts.entrySet()) {
+            lookups.add(new GlobalConfigurationLookupData(entry.getKey(), entry.getValue().sum()));
+        }
+        lookups.sort(Comparator.comparingLong(GlobalConfigurationLookupData::getLookups).reversed());
+        return lookups;
     }
 
     @Override
@@ -355,14 +390,19 @@ public class ConfigurationDomainServiceJpa implements ConfigurationDomainService
         return value;
     }
 
+    @Override
+    public boolean isAsyncCommandProcessingEnabled() {
+        final GlobalConfigurationPropertyData configuration = getGlobalConfigurationPropertyData("async-command-processing");
+        return configuration != null && configuration.isEnabled();
+    }
+
     private GlobalConfigurationPropertyData getGlobalConfigurationPropertyData(final String propertyName) {
-        String identifier = ThreadLocalContextUtil.getTenant().getTenantIdentifier();
-        String key = identifier + "_" + propertyName;
-        if (!configurations.containsKey(key)) {
-            GlobalConfigurationProperty configuration = this.globalConfigurationRepository.findOneByNameWithNotFoundDetection(propertyName);
-            configurations.put(key, configuration.toData());
-        }
-        return configurations.get(key);
+        final String tenantIdentifier = ThreadLocalContextUtil.getTenant().getTenantIdentifier();
+        this.lookupCounts.computeIfAbsent(tenantIdentifier, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(propertyName, key -> new LongAdder()).increment();
+        final GlobalConfigurationSnapshot snapshot = this.tenantScopedCacheService.get(GLOBAL_CONFIGURATION_CACHE, SNAPSHOT_KEY,
+                () -> new GlobalConfigurationSnapshot(this.globalConfigurationRepository.findAll()));
+        return snapshot.get(propertyName);
     }
 
     @Override
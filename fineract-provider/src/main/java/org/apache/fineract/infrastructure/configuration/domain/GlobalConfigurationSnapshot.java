@@ -0,0 +1,50 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.configuration.domain;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.fineract.infrastructure.configuration.data.GlobalConfigurationPropertyData;
+import org.apache.fineract.infrastructure.configuration.exception.GlobalConfigurationPropertyNotFoundException;
+
+/**
+ * Immutable view of all global configuration properties of one tenant, loaded in a single query. It is never updated;
+ * a change to <code>c_configuration</code> replaces the whole snapshot.
+ */
+final class GlobalConfigurationSnapshot {
+
+    private final Map<String, GlobalConfigurationPropertyData> properties;
+
+    GlobalConfigurationSnapshot(final Collection<GlobalConfigurationProperty> configurations) {
+        final Map<String, GlobalConfigurationPropertyData> byName = new HashMap<>(configurations.size() * 2);
+        for (final GlobalConfigurationProperty configuration : configurations) {
+            byName.put(configuration.getName(), configuration.toData());
+        }
+        this.properties = Map.copyOf(byName);
+    }
+
+    GlobalConfigurationPropertyData get(final String propertyName) {
+        final GlobalConfigurationPropertyData property = this.properties.get(propertyName);
+        if (property == null) {
+            throw new GlobalConfigurationPropertyNotFoundException(propertyName);
+        }
+        return property;
+    }
+}
@@ -0,0 +1,77 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.api;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import javax.ws.rs.Consumes;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.UriInfo;
+import org.apache.fineract.infrastructure.core.data.TenantMigrationStatusData;
+import org.apache.fineract.infrastructure.core.serialization.ApiRequestJsonSerializationSettings;
+import org.apache.fineract.infrastructure.core.serialization.ToApiJsonSerializer;
+import org.apache.fineract.infrastructure.core.service.TenantDatabaseUpgradeService;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.security.exception.NoAuthorizationException;
+import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+@Path("/tenantmigrations")
+@Component
+@Tag(name = "Tenant Migrations", description = "Reports the schema migration status and timing of the tenant of the request.")
+public class TenantMigrationsApiResource {
+
+    private final PlatformSecurityContext context;
+    private final TenantDatabaseUpgradeService tenantDatabaseUpgradeService;
+    private final ToApiJsonSerializer<TenantMigrationStatusData> toApiJsonSerializer;
+    private final ApiRequestParameterHelper apiRequestParameterHelper;
+
+    @Autowired
+    public TenantMigrationsApiResource(final PlatformSecurityContext context,
+            final TenantDatabaseUpgradeService tenantDatabaseUpgradeService,
+            final ToApiJsonSerializer<TenantMigrationStatusData> toApiJsonSerializer,
+            final ApiRequestParameterHelper apiRequestParameterHelper) {
+        this.context = context;
+        this.tenantDatabaseUpgradeService = tenantDatabaseUpgradeService;
+        this.toApiJsonSerializer = toApiJsonSerializer;
+        this.apiRequestParameterHelper = apiRequestParameterHelper;
+    }
+
+    @GET
+    @Consumes({ MediaType.APPLICATION_JSON })
+    @Produces({ MediaType.APPLICATION_JSON })
+    @Operation(summary = "Retrieve Tenant Migration Status", description = "Returns the migration status, start and completion time, "
+            + "duration and number of attempts of the schema of the current tenant.\n" + "\n" + "Example Requests:\n" + "\n"
+            + "tenantmigrations")
+    public String retrieveOne(@Context final UriInfo uriInfo) {
+        final boolean hasNotPermission = this.context.authenticatedUser().hasNotPermissionForAnyOf("ALL_FUNCTIONS", "ALL_FUNCTIONS_READ");
+        if (hasNotPermission) {
+            throw new NoAuthorizationException("User has no authority to view tenant migration status");
+        }
+        final TenantMigrationStatusData status = this.tenantDatabaseUpgradeService
+                .retrieveMigrationStatus(ThreadLocalContextUtil.getTenant().getTenantIdentifier());
+        final ApiRequestJsonSerializationSettings settings = this.apiRequestParameterHelper.process(uriInfo.getQueryParameters());
+        return this.toApiJsonSerializer.serialize(settings, status);
+    }
+}
@@ -19,6 +19,7 @@
 package org.apache.fineract.infrastructure.core.boot;
 
 import com.sun.jersey.spi.spring.container.servlet.SpringServlet;
+import org.apache.fineract.infrastructure.core.filters.AsyncCommandFilter;
 import org.apache.fineract.infrastructure.core.filters.ResponseCorsFilter;
 import org.apache.fineract.infrastructure.security.filter.TenantAwareBasicAuthenticationFilter;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -49,8 +50,10 @@ public class WebXmlConfiguration {
         jerseyServletRegistration.setName("jersey-servlet");
         jerseyServletRegistration.setLoadOnStartup(1);
         jerseyServletRegistration.addInitParameter("com.sun.jersey.api.json.POJOMappingFeature", "true");
+        jerseyServletRegistration.addInitParameter("com.sun.jersey.spi.container.ContainerRequestFilters",
+                AsyncCommandFilter.class.getName());
         jerseyServletRegistration.addInitParameter("com.sun.jersey.spi.container.ContainerResponseFilters",
-                ResponseCorsFilter.class.getName());
+                ResponseCorsFilter.class.getName() + ";" + AsyncCommandFilter.class.getName());
         jerseyServletRegistration.addInitParameter("com.sun.jersey.config.feature.DisableWADL", "true");
         // debugging for development:
         // jerseyServletRegistration.addInitParameter("com.sun.jersey.spi.container.ContainerRequestFilters",
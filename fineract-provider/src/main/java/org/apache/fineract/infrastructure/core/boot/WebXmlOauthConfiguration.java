@@ -19,6 +19,7 @@
 package org.apache.fineract.infrastructure.core.boot;
 
 import com.sun.jersey.spi.spring.container.servlet.SpringServlet;
+import org.apache.fineract.infrastructure.core.filters.AsyncCommandFilter;
 import org.springframework.boot.web.servlet.ServletRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -43,6 +44,10 @@ public class WebXmlOauthConfiguration {
         jerseyServletRegistration.setName("jersey-servlet");
         jerseyServletRegistration.setLoadOnStartup(1);
         jerseyServletRegistration.addInitParameter("com.sun.jersey.api.json.POJOMappingFeature", "true");
+        jerseyServletRegistration.addInitParameter("com.sun.jersey.spi.container.ContainerRequestFilters",
+                AsyncCommandFilter.class.getName());
+        jerseyServletRegistration.addInitParameter("com.sun.jersey.spi.container.ContainerResponseFilters",
+                AsyncCommandFilter.class.getName());
         // jerseyServletRegistration.addInitParameter("com.sun.jersey.spi.container.ContainerResponseFilters",
         // ResponseCorsFilter.class.getName());
         jerseyServletRegistration.addInitParameter("com.sun.jersey.config.feature.DisableWADL", "true");
@@ -32,23 +32,33 @@ public final class PaginationParameters {
     private final Integer limit;
     private final String orderBy;
     private final String sortOrder;
+    private final String cursor;
+    private final Boolean countRequested;
 
     public static PaginationParameters instance(Boolean paged, Integer offset, Integer limit, String orderBy, String sortOrder) {
+        return instance(paged, offset, limit, orderBy, sortOrder, null, null);
+    }
+
+    public static PaginationParameters instance(Boolean paged, Integer offset, Integer limit, String orderBy, String sortOrder,
+            String cursor, Boolean countRequested) {
         if (null == paged) {
             paged = false;
         }
 
         final Integer maxLimitAllowed = getCheckedLimit(limit);
 
-        return new PaginationParameters(paged, offset, maxLimitAllowed, orderBy, sortOrder);
+        return new PaginationParameters(paged, offset, maxLimitAllowed, orderBy, sortOrder, cursor, countRequested);
     }
 
-    private PaginationParameters(boolean paged, Integer offset, Integer limit, String orderBy, String sortOrder) {
+    private PaginationParameters(boolean paged, Integer offset, Integer limit, String orderBy, String sortOrder, String cursor,
+            Boolean countRequested) {
         this.paged = paged;
         this.offset = offset;
         this.limit = limit;
         this.orderBy = orderBy;
         this.sortOrder = sortOrder;
+        this.cursor = cursor;
+        this.countRequested = countRequested;
     }
 
     public static Integer getCheckedLimit(final Integer limit) {
@@ -103,6 +113,36 @@ public final class PaginationParameters {
         return this.offset != null;
     }
 
+    public String getCursor() {
+        return this.cursor;
+    }
+
+    public boolean isCursorPassed() {
+        return StringUtils.isNotBlank(this.cursor);
+    }
+
+    /**
+     * Keyset paging applies to limited, naturally (key) ordered listings, i.e. when the client passed a cursor, or asked
+     * for a first page without an explicit <code>orderBy</code> or a non zero <code>offset</code>.
+     */
+    public boolean isKeysetPaged() {
+        if (isCursorPassed()) {
+            return true;
+        }
+        return isLimited() && !isOrderByRequested() && (this.offset == null || this.offset == 0);
+    }
+
+    /**
+     * Counting all filtered rows is opt-in for cursor pages; it defaults to enabled otherwise, for compatibility with
+     * clients relying on <code>totalFilteredRecords</code>.
+     */
+    public boolean isCountRequested() {
+        if (this.countRequested != null) {
+            return this.countRequested;
+        }
+        return !isCursorPassed();
+    }
+
     public String orderBySql() {
         final StringBuilder sql = new StringBuilder();
 
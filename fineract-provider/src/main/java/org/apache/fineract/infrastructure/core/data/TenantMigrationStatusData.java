@@ -0,0 +1,74 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.data;
+
+import java.util.Date;
+
+/**
+ * Immutable data object reporting the schema migration state and timing of a single tenant.
+ */
+public final class TenantMigrationStatusData {
+
+    private final String tenantIdentifier;
+    private final String status;
+    private final Date startedOn;
+    private final Date completedOn;
+    private final Long durationMillis;
+    private final Integer migrationsExecuted;
+    private final Integer attempts;
+
+    public TenantMigrationStatusData(final String tenantIdentifier, final String status, final Date startedOn, final Date completedOn,
+            final Long durationMillis, final Integer migrationsExecuted, final Integer attempts) {
+        this.tenantIdentifier = tenantIdentifier;
+        this.status = status;
+        this.startedOn = startedOn;
+        this.completedOn = completedOn;
+        this.durationMillis = durationMillis;
+        this.migrationsExecuted = migrationsExecuted;
+        this.attempts = attempts;
+    }
+
+    public String getTenantIdentifier() {
+        return this.tenantIdentifier;
+    }
+
+    public String getStatus() {
+        return this.status;
+    }
+
+    public Date getStartedOn() {
+        return this.startedOn;
+    }
+
+    public Date getCompletedOn() {
+        return this.completedOn;
+    }
+
+    public Long getDurationMillis() {
+        return this.durationMillis;
+    }
+
+    public Integer getMigrationsExecuted() {
+        return this.migrationsExecuted;
+    }
+
+    public Integer getAttempts() {
+        return this.attempts;
+    }
+}
@@ -0,0 +1,58 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.filters;
+
+import com.sun.jersey.spi.container.ContainerRequest;
+import com.sun.jersey.spi.container.ContainerRequestFilter;
+import com.sun.jersey.spi.container.ContainerResponse;
+import com.sun.jersey.spi.container.ContainerResponseFilter;
+import javax.ws.rs.core.Response;
+import org.apache.fineract.commands.service.AsyncCommandContext;
+
+/**
+ * Filter that lets API clients ask for a command to be queued instead of being processed on the request thread. When a
+ * command was queued the response is turned into a 202 Accepted pointing at the command queue resource.
+ */
+public class AsyncCommandFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+    @Override
+    public ContainerRequest filter(final ContainerRequest request) {
+
+        // batch requests depend on the results of the commands they contain
+        final boolean asyncRequested = "true".equalsIgnoreCase(request.getHeaderValue(AsyncCommandContext.ASYNC_REQUEST_HEADER))
+                && !request.getPath().startsWith("batches");
+        AsyncCommandContext.setAsyncRequested(asyncRequested);
+
+        return request;
+    }
+
+    @Override
+    public ContainerResponse filter(final ContainerRequest request, final ContainerResponse response) {
+
+        final Long queuedCommandId = AsyncCommandContext.getQueuedCommandId();
+        AsyncCommandContext.clear();
+
+        if (queuedCommandId != null && response.getStatus() == Response.Status.OK.getStatusCode()) {
+            response.setStatus(Response.Status.ACCEPTED.getStatusCode());
+            response.getHttpHeaders().putSingle("Location", request.getBaseUri().resolve("commandqueue/" + queuedCommandId));
+        }
+
+        return response;
+    }
+}
@@ -0,0 +1,73 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.service;
+
+import java.util.concurrent.ThreadLocalRandom;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenantConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+/**
+ * Retries work that lost a lock to a concurrent transaction, such as a chunk posted by a worker thread of a scheduled
+ * job, within the deadlock retry limits of the connection of the current tenant.
+ */
+public final class LockConflictRetryUtil {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LockConflictRetryUtil.class);
+
+    private LockConflictRetryUtil() {
+
+    }
+
+    /**
+     * Runs the work, and runs it again after a random pause (between 1 and maxIntervalBetweenRetries + 1 seconds) as
+     * long as it fails on a lock conflict and the retries are not used up.
+     *
+     * @param operation
+     *            name of the work in log messages
+     */
+    public static void retryOnLockConflict(final String operation, final Runnable work) {
+        final FineractPlatformTenantConnection connection = ThreadLocalContextUtil.getTenant().getConnection();
+        final int maxNumberOfRetries = connection.getMaxRetriesOnDeadlock();
+        final int maxIntervalBetweenRetries = connection.getMaxIntervalBetweenRetries();
+        int numberOfRetries = 0;
+        while (true) {
+            try {
+                work.run();
+                return;
+            } catch (CannotAcquireLockException | ObjectOptimisticLockingFailureException exception) {
+                if (numberOfRetries >= maxNumberOfRetries) {
+                    LOG.error("{} has been retried for the max allowed attempts of {} and will be rolled back", operation,
+                            numberOfRetries);
+                    throw exception;
+                }
+                LOG.info("{} has been retried {} time(s)", operation, numberOfRetries);
+                try {
+                    Thread.sleep(1000 + ThreadLocalRandom.current().nextInt(maxIntervalBetweenRetries + 1) * 1000L);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw exception;
+                }
+                numberOfRetries++;
+            }
+        }
+    }
+}
@@ -23,19 +23,36 @@ import java.util.List;
 
 public class Page<E> implements Serializable {
 
-    private final int totalFilteredRecords;
+    /**
+     * <code>null</code> when the client did not ask for a count (see <code>count</code> query parameter), in which case
+     * it is left out of the JSON response.
+     */
+    private final Integer totalFilteredRecords;
     private final List<E> pageItems;
+    /**
+     * Opaque {@link PageCursor} token for the next page, <code>null</code> on the last page or for offset paging.
+     */
+    private final String nextCursor;
 
     public Page(final List<E> pageItems, final int totalFilteredRecords) {
+        this(pageItems, Integer.valueOf(totalFilteredRecords), null);
+    }
+
+    public Page(final List<E> pageItems, final Integer totalFilteredRecords, final String nextCursor) {
         this.pageItems = pageItems;
         this.totalFilteredRecords = totalFilteredRecords;
+        this.nextCursor = nextCursor;
     }
 
-    public int getTotalFilteredRecords() {
+    public Integer getTotalFilteredRecords() {
         return this.totalFilteredRecords;
     }
 
     public List<E> getPageItems() {
         return this.pageItems;
     }
+
+    public String getNextCursor() {
+        return this.nextCursor;
+    }
 }
@@ -0,0 +1,118 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.fineract.infrastructure.core.data.ApiParameterError;
+import org.apache.fineract.infrastructure.core.exception.PlatformApiDataValidationException;
+
+/**
+ * <p>
+ * Immutable, opaque continuation token used for keyset (seek) pagination.
+ * </p>
+ *
+ * <p>
+ * A cursor holds the values of the sort key columns of the last row returned on a page. The next page is then fetched
+ * with a predicate such as <code>id &gt; ?</code> instead of an <code>offset</code>, so deep pages cost the same as the
+ * first one. Clients must treat the token as opaque and only echo it back through the <code>cursor</code> query
+ * parameter.
+ * </p>
+ */
+public final class PageCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private final List<String> keyValues;
+
+    private PageCursor(final List<String> keyValues) {
+        this.keyValues = Collections.unmodifiableList(keyValues);
+    }
+
+    public static PageCursor of(final String... keyValues) {
+        return new PageCursor(Arrays.asList(keyValues));
+    }
+
+    /**
+     * Decodes a token previously produced by {@link #encode()}.
+     *
+     * @return the decoded cursor, or <code>null</code> when no token was passed
+     */
+    public static PageCursor from(final String token) {
+        if (StringUtils.isBlank(token)) {
+            return null;
+        }
+        final String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+        } catch (final IllegalArgumentException e) {
+            throw invalidCursor(token, e);
+        }
+        final List<String> values = new ArrayList<>(Arrays.asList(StringUtils.splitPreserveAllTokens(decoded, SEPARATOR)));
+        if (values.isEmpty() || values.stream().anyMatch(StringUtils::isBlank)) {
+            throw invalidCursor(token, null);
+        }
+        return new PageCursor(values);
+    }
+
+    public String encode() {
+        final String joined = String.join(SEPARATOR, this.keyValues);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(joined.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public int size() {
+        return this.keyValues.size();
+    }
+
+    public String getString(final int position) {
+        return this.keyValues.get(position);
+    }
+
+    public Long getLong(final int position) {
+        try {
+            return Long.valueOf(this.keyValues.get(position));
+        } catch (final NumberFormatException e) {
+            throw invalidCursor(encode(), e);
+        }
+    }
+
+    /**
+     * Ensures the cursor carries the expected number of key values, which guards against a token of one resource being
+     * replayed against another.
+     */
+    public PageCursor expectKeys(final int numberOfKeys) {
+        if (this.keyValues.size() != numberOfKeys) {
+            throw invalidCursor(encode(), null);
+        }
+        return this;
+    }
+
+    private static PlatformApiDataValidationException invalidCursor(final String token, final Throwable cause) {
+        final List<ApiParameterError> dataValidationErrors = new ArrayList<>();
+        final String defaultUserMessage = "The cursor value '" + token + "' is not valid.";
+        dataValidationErrors
+                .add(ApiParameterError.parameterError("validation.msg.cursor.value.is.invalid", defaultUserMessage, "cursor", token));
+        return new PlatformApiDataValidationException(dataValidationErrors, cause);
+    }
+}
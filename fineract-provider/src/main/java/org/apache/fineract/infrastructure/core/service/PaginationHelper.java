@@ -18,7 +18,11 @@
  */
 package org.apache.fineract.infrastructure.core.service;
 
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import org.apache.commons.lang3.ObjectUtils;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
@@ -44,4 +48,106 @@ public class PaginationHelper<E> {
 
         return new Page<>(items, ObjectUtils.defaultIfNull(totalFilteredRecords, 0));
     }
+
+    /**
+     * Fetches one page of rows and, for keyset paging, the cursor pointing at the following page.
+     *
+     * @param sqlCountRows
+     *            count statement (see {@link #countSql(String)}), or <code>null</code> to skip counting
+     * @param countArgs
+     *            arguments of the count statement
+     * @param sqlFetchRows
+     *            ordered select statement without a <code>limit</code> clause
+     * @param args
+     *            arguments of the select statement
+     * @param limit
+     *            page size, <code>null</code> for unlimited
+     * @param offset
+     *            rows to skip for offset paging, <code>null</code> for keyset paging
+     * @param keyColumnLabels
+     *            result set labels of the (unique) sort key the select statement is ordered by; the values of the last
+     *            row are encoded in {@link Page#getNextCursor()}. Pass none for plain offset paging.
+     */
+    public Page<E> fetchPage(final JdbcTemplate jt, final String sqlCountRows, final Object[] countArgs, final String sqlFetchRows,
+            final Object[] args, final Integer limit, final Integer offset, final RowMapper<E> rowMapper,
+            final String... keyColumnLabels) {
+
+        final boolean keyset = keyColumnLabels.length > 0 && limit != null && offset == null;
+        final StringBuilder sql = new StringBuilder(sqlFetchRows);
+        if (limit != null) {
+            // for keyset paging one extra row tells whether a next page exists
+            sql.append(" limit ").append(keyset ? limit + 1 : limit);
+            if (offset != null) {
+                sql.append(" offset ").append(offset);
+            }
+        }
+
+        final List<PageCursor> rowKeys = new ArrayList<>();
+        final RowMapper<E> keyCapturingMapper = keyset ? (rs, rowNum) -> {
+            rowKeys.add(readKey(rs, keyColumnLabels));
+            return rowMapper.mapRow(rs, rowNum);
+        } : rowMapper;
+        List<E> items = jt.query(sql.toString(), args, keyCapturingMapper);
+
+        String nextCursor = null;
+        if (keyset && items.size() > limit) {
+            items = new ArrayList<>(items.subList(0, limit));
+            nextCursor = rowKeys.get(limit - 1).encode();
+        }
+
+        Integer totalFilteredRecords = null;
+        if (sqlCountRows != null) {
+            totalFilteredRecords = ObjectUtils.defaultIfNull(jt.queryForObject(sqlCountRows, countArgs, Integer.class), 0);
+        }
+        return new Page<>(items, totalFilteredRecords, nextCursor);
+    }
+
+    private static PageCursor readKey(final ResultSet rs, final String[] keyColumnLabels) throws SQLException {
+        final String[] values = new String[keyColumnLabels.length];
+        for (int i = 0; i < keyColumnLabels.length; i++) {
+            values[i] = rs.getString(keyColumnLabels[i]);
+        }
+        return PageCursor.of(values);
+    }
+
+    /**
+     * Derives a <code>count(*)</code> statement from a filtered select statement (no <code>order by</code> or
+     * <code>limit</code>), replacing the MySQL specific and deprecated <code>SQL_CALC_FOUND_ROWS</code> /
+     * <code>FOUND_ROWS()</code> pair. The select list is dropped so that the count does not evaluate it.
+     */
+    public static String countSql(final String sqlFilteredRows) {
+        final int fromIndex = indexOfTopLevelFrom(sqlFilteredRows);
+        if (fromIndex < 0) {
+            throw new IllegalArgumentException("No top level from clause in: " + sqlFilteredRows);
+        }
+        return "select count(*) from (select 1 as found_row " + sqlFilteredRows.substring(fromIndex) + ") filtered_rows";
+    }
+
+    static int indexOfTopLevelFrom(final String sql) {
+        final String lowerCaseSql = sql.toLowerCase(Locale.ROOT);
+        int depth = 0;
+        char quote = 0;
+        for (int i = 0; i < lowerCaseSql.length(); i++) {
+            final char c = lowerCaseSql.charAt(i);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '\'' || c == '"' || c == '`') {
+                quote = c;
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            } else if (depth == 0 && lowerCaseSql.startsWith("from", i) && isWordBoundary(lowerCaseSql, i - 1)
+                    && isWordBoundary(lowerCaseSql, i + 4)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isWordBoundary(final String sql, final int index) {
+        return index < 0 || index >= sql.length() || !(Character.isLetterOrDigit(sql.charAt(index)) || sql.charAt(index) == '_');
+    }
 }
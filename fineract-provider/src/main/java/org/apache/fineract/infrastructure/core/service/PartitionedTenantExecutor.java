@@ -0,0 +1,87 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.service;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.security.service.TenantDetailsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Runs tasks on a fixed set of single threaded partitions. A task is always routed to the partition of its tenant and
+ * partition key, so tasks with the same key run one at a time and in submission order while tasks with other keys run
+ * in parallel.
+ *
+ * Tasks run on behalf of their tenant; the tenant and any security context set by the task are cleared once it
+ * completes.
+ */
+public final class PartitionedTenantExecutor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PartitionedTenantExecutor.class);
+
+    private final TenantDetailsService tenantDetailsService;
+    private final ExecutorService[] partitions;
+
+    /**
+     * @param name
+     *            prefix of the names of the partition threads
+     */
+    public PartitionedTenantExecutor(final String name, final TenantDetailsService tenantDetailsService) {
+        this.tenantDetailsService = tenantDetailsService;
+        this.partitions = new ExecutorService[Math.max(2, Runtime.getRuntime().availableProcessors())];
+        for (int i = 0; i < this.partitions.length; i++) {
+            final String threadName = name + "-" + i;
+            this.partitions[i] = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, threadName));
+        }
+    }
+
+    public void execute(final String tenantIdentifier, final String partitionKey, final Runnable task) {
+        final String key = tenantIdentifier + ":" + partitionKey;
+        this.partitions[Math.floorMod(key.hashCode(), this.partitions.length)].execute(() -> run(tenantIdentifier, key, task));
+    }
+
+    private void run(final String tenantIdentifier, final String key, final Runnable task) {
+        try {
+            final FineractPlatformTenant tenant = this.tenantDetailsService.loadTenantById(tenantIdentifier);
+            ThreadLocalContextUtil.setTenant(tenant);
+            task.run();
+        } catch (final RuntimeException e) {
+            LOG.error("Task of partition {} failed", key, e);
+        } finally {
+            SecurityContextHolder.clearContext();
+            ThreadLocalContextUtil.clearTenant();
+        }
+    }
+
+    /**
+     * Stops accepting tasks and waits up to the given time for the tasks already submitted to complete.
+     */
+    public void shutdown(final long timeout, final TimeUnit unit) throws InterruptedException {
+        for (final ExecutorService partition : this.partitions) {
+            partition.shutdown();
+        }
+        for (final ExecutorService partition : this.partitions) {
+            partition.awaitTermination(timeout, unit);
+        }
+    }
+}
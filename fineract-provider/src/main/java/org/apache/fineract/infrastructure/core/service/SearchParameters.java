@@ -50,6 +50,10 @@ public final class SearchParameters {
     private final Long categoryId;
     private final boolean isSelfUser;
 
+    // Keyset pagination
+    private final String cursor;
+    private final Boolean countRequested;
+
     public static SearchParameters from(final String sqlSearch, final Long officeId, final String externalId, final String name,
             final String hierarchy) {
         final Long staffId = null;
@@ -269,6 +273,8 @@ public final class SearchParameters {
         this.categoryId = null;
         this.isSelfUser = isSelfUser;
         this.status = null;
+        this.cursor = null;
+        this.countRequested = null;
 
     }
 
@@ -298,6 +304,8 @@ public final class SearchParameters {
         this.categoryId = null;
         this.isSelfUser = isSelfUser;
         this.status = status;
+        this.cursor = null;
+        this.countRequested = null;
 
     }
 
@@ -327,6 +335,8 @@ public final class SearchParameters {
         this.categoryId = null;
         this.isSelfUser = isSelfUser;
         this.status = null;
+        this.cursor = null;
+        this.countRequested = null;
     }
 
     private SearchParameters(final Long provisioningEntryId, final Long officeId, final Long productId, final Long categoryId,
@@ -353,6 +363,8 @@ public final class SearchParameters {
         this.categoryId = categoryId;
         this.isSelfUser = false;
         this.status = null;
+        this.cursor = null;
+        this.countRequested = null;
 
     }
 
@@ -382,7 +394,50 @@ public final class SearchParameters {
         this.categoryId = null;
         this.isSelfUser = false;
         this.status = null;
+        this.cursor = null;
+        this.countRequested = null;
+
+    }
+
+    private SearchParameters(final SearchParameters source, final String cursor, final Boolean countRequested) {
+        this.sqlSearch = source.sqlSearch;
+        this.officeId = source.officeId;
+        this.externalId = source.externalId;
+        this.name = source.name;
+        this.hierarchy = source.hierarchy;
+        this.firstname = source.firstname;
+        this.lastname = source.lastname;
+        this.status = source.status;
+        this.offset = source.offset;
+        this.limit = source.limit;
+        this.orderBy = source.orderBy;
+        this.sortOrder = source.sortOrder;
+        this.accountNo = source.accountNo;
+        this.currencyCode = source.currencyCode;
+        this.staffId = source.staffId;
+        this.loanId = source.loanId;
+        this.savingsId = source.savingsId;
+        this.orphansOnly = source.orphansOnly;
+        this.provisioningEntryId = source.provisioningEntryId;
+        this.productId = source.productId;
+        this.categoryId = source.categoryId;
+        this.isSelfUser = source.isSelfUser;
+        this.cursor = cursor;
+        this.countRequested = countRequested;
+    }
 
+    /**
+     * Returns a copy of these parameters for keyset pagination.
+     *
+     * @param cursor
+     *            opaque {@link PageCursor} token returned as <code>nextCursor</code> by the previous page, or
+     *            <code>null</code> for the first page
+     * @param countRequested
+     *            whether <code>totalFilteredRecords</code> should be computed; <code>null</code> counts on the first
+     *            page only
+     */
+    public SearchParameters withCursor(final String cursor, final Boolean countRequested) {
+        return new SearchParameters(this, cursor, countRequested);
     }
 
     public boolean isOrderByRequested() {
@@ -544,6 +599,36 @@ public final class SearchParameters {
         return this.isSelfUser;
     }
 
+    public String getCursor() {
+        return this.cursor;
+    }
+
+    public boolean isCursorPassed() {
+        return StringUtils.isNotBlank(this.cursor);
+    }
+
+    /**
+     * Keyset paging applies to limited, naturally (key) ordered listings, i.e. when the client passed a cursor, or asked
+     * for a first page without an explicit <code>orderBy</code> or a non zero <code>offset</code>.
+     */
+    public boolean isKeysetPaged() {
+        if (isCursorPassed()) {
+            return true;
+        }
+        return isLimited() && !isOrderByRequested() && (this.offset == null || this.offset == 0);
+    }
+
+    /**
+     * Counting all filtered rows is opt-in for cursor pages; it defaults to enabled otherwise, for compatibility with
+     * clients relying on <code>totalFilteredRecords</code>.
+     */
+    public boolean isCountRequested() {
+        if (this.countRequested != null) {
+            return this.countRequested;
+        }
+        return !isCursorPassed();
+    }
+
     /**
      * creates an instance of the SearchParameters from a request for the report mailing job run history
      *
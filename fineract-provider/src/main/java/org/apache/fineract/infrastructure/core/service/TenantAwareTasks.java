@@ -0,0 +1,66 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.service;
+
+import java.util.concurrent.Callable;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Wraps tasks handed to an executor, such as the worker threads of a scheduled job, so that they run with the tenant
+ * and the security context of the thread that wrapped them. Both are cleared from the worker thread once the task
+ * completes.
+ */
+public final class TenantAwareTasks {
+
+    private TenantAwareTasks() {
+
+    }
+
+    public static Runnable wrap(final Runnable task) {
+        final FineractPlatformTenant tenant = ThreadLocalContextUtil.getTenant();
+        final SecurityContext securityContext = SecurityContextHolder.getContext();
+        return () -> {
+            ThreadLocalContextUtil.setTenant(tenant);
+            SecurityContextHolder.setContext(securityContext);
+            try {
+                task.run();
+            } finally {
+                SecurityContextHolder.clearContext();
+                ThreadLocalContextUtil.clearTenant();
+            }
+        };
+    }
+
+    public static <V> Callable<V> wrap(final Callable<V> task) {
+        final FineractPlatformTenant tenant = ThreadLocalContextUtil.getTenant();
+        final SecurityContext securityContext = SecurityContextHolder.getContext();
+        return () -> {
+            ThreadLocalContextUtil.setTenant(tenant);
+            SecurityContextHolder.setContext(securityContext);
+            try {
+                return task.call();
+            } finally {
+                SecurityContextHolder.clearContext();
+                ThreadLocalContextUtil.clearTenant();
+            }
+        };
+    }
+}
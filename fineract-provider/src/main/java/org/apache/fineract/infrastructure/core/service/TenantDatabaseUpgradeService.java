@@ -18,13 +18,28 @@
  */
 package org.apache.fineract.infrastructure.core.service;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.sql.DataSource;
 import org.apache.fineract.infrastructure.core.boot.JDBCDriverConfig;
+import org.apache.fineract.infrastructure.core.data.TenantMigrationStatusData;
 import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
 import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenantConnection;
+import org.apache.fineract.infrastructure.core.exception.PlatformServiceUnavailableException;
 import org.apache.fineract.infrastructure.security.service.TenantDetailsService;
 import org.flywaydb.core.Flyway;
 import org.flywaydb.core.api.FlywayException;
@@ -39,6 +54,15 @@ import org.springframework.stereotype.Service;
 
 /**
  * A service that picks up on tenants that are configured to auto-update their specific schema on application startup.
+ *
+ * Tenant schemas are migrated in parallel, with at most FINERACT_TENANT_MIGRATION_CONCURRENCY_PER_SERVER migrations
+ * running against the same database server. FINERACT_TENANT_MIGRATION_MODE selects when that happens:
+ * <ul>
+ * <li>startup (default): all tenants are migrated before the application accepts traffic</li>
+ * <li>background: migrations are started at startup but do not block it; a request for a tenant that is still being
+ * migrated waits for its migration to finish</li>
+ * <li>lazy: a tenant is migrated on its first request or scheduled job</li>
+ * </ul>
  */
 @Service
 public class TenantDatabaseUpgradeService {
@@ -47,10 +71,16 @@ public class TenantDatabaseUpgradeService {
 
     private final TenantDetailsService tenantDetailsService;
     protected final DataSource tenantDataSource;
+    private final Map<String, TenantMigration> migrations = new ConcurrentHashMap<>();
+    private final Map<String, Semaphore> serverPermits = new ConcurrentHashMap<>();
 
     @Autowired
     private JDBCDriverConfig driverConfig;
 
+    private TenantMigrationMode migrationMode = TenantMigrationMode.STARTUP;
+    private int concurrencyPerServer;
+    private ExecutorService backgroundExecutor;
+
     @Autowired
     public TenantDatabaseUpgradeService(final TenantDetailsService detailsService,
             @Qualifier("hikariTenantDataSource") final DataSource dataSource) {
@@ -61,35 +91,158 @@ public class TenantDatabaseUpgradeService {
     @PostConstruct
     public void upgradeAllTenants() {
         upgradeTenantDB();
+        this.migrationMode = TenantMigrationMode.fromValue(getEnvVar("FINERACT_TENANT_MIGRATION_MODE", "startup"));
+        this.concurrencyPerServer = Math.max(1, Integer.parseInt(getEnvVar("FINERACT_TENANT_MIGRATION_CONCURRENCY_PER_SERVER", "4")));
+        LOG.info("upgradeAllTenants: FINERACT_TENANT_MIGRATION_MODE = {}, FINERACT_TENANT_MIGRATION_CONCURRENCY_PER_SERVER = {}",
+                this.migrationMode, this.concurrencyPerServer);
+
         final List<FineractPlatformTenant> tenants = this.tenantDetailsService.findAllTenants();
+        final List<FineractPlatformTenant> autoUpdateTenants = new ArrayList<>();
         for (final FineractPlatformTenant tenant : tenants) {
-            final FineractPlatformTenantConnection connection = tenant.getConnection();
-            if (connection.isAutoUpdateEnabled()) {
-
-                String connectionProtocol = driverConfig.constructProtocol(connection.getSchemaServer(), connection.getSchemaServerPort(),
-                        connection.getSchemaName(), connection.getSchemaConnectionParameters());
-                DriverDataSource source = new DriverDataSource(Thread.currentThread().getContextClassLoader(),
-                        driverConfig.getDriverClassName(), connectionProtocol, connection.getSchemaUsername(),
-                        connection.getSchemaPassword());
-
-                final Flyway flyway = Flyway.configure().dataSource(source).locations("sql/migrations/core_db").outOfOrder(true)
-                        .placeholderReplacement(false).configuration(Map.of("flyway.table", "schema_version")) // FINERACT-979
-                        .load();
-
-                // Should be removed later when all instances are stabilized
-                // :FINERACT-1008
-                repairFlywayVersionSkip(flyway.getConfiguration().getDataSource());
-
-                try {
-                    flyway.repair();
-                    flyway.migrate();
-                } catch (FlywayException e) {
-                    String betterMessage = e.getMessage() + "; for Tenant DB URL: " + connectionProtocol + ", username: "
-                            + connection.getSchemaUsername();
-                    throw new FlywayException(betterMessage, e);
+            final TenantMigration migration = this.migrations.computeIfAbsent(tenant.getTenantIdentifier(), TenantMigration::new);
+            if (tenant.getConnection().isAutoUpdateEnabled()) {
+                autoUpdateTenants.add(tenant);
+            } else {
+                migration.skip();
+            }
+        }
+        if (autoUpdateTenants.isEmpty() || this.migrationMode == TenantMigrationMode.LAZY) {
+            return;
+        }
+
+        final long servers = autoUpdateTenants.stream().map(tenant -> serverKey(tenant.getConnection())).distinct().count();
+        final int poolSize = (int) Math.min(autoUpdateTenants.size(), servers * this.concurrencyPerServer);
+        final ExecutorService executor = Executors.newFixedThreadPool(poolSize);
+        final List<Future<?>> futures = new ArrayList<>();
+        for (final FineractPlatformTenant tenant : autoUpdateTenants) {
+            futures.add(executor.submit(() -> upgradeTenant(tenant)));
+        }
+        executor.shutdown();
+
+        if (this.migrationMode == TenantMigrationMode.BACKGROUND) {
+            this.backgroundExecutor = executor;
+            return;
+        }
+
+        FlywayException failure = null;
+        for (final Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new FlywayException("Interrupted while migrating tenant databases", e);
+            } catch (ExecutionException e) {
+                final FlywayException cause = e.getCause() instanceof FlywayException ? (FlywayException) e.getCause()
+                        : new FlywayException(e.getCause());
+                if (failure == null) {
+                    failure = cause;
+                } else {
+                    failure.addSuppressed(cause);
                 }
             }
         }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (this.backgroundExecutor != null) {
+            this.backgroundExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * Makes sure the schema of the given tenant is migrated before it is used. Returns immediately once the tenant has
+     * been migrated (always in startup mode); otherwise migrates it on the calling thread, or waits for the migration
+     * already running on another thread.
+     */
+    public void ensureTenantUpgraded(final FineractPlatformTenant tenant) {
+        if (this.migrationMode == TenantMigrationMode.STARTUP) {
+            return;
+        }
+        final TenantMigration migration = this.migrations.get(tenant.getTenantIdentifier());
+        if (migration != null && migration.isCompleted()) {
+            return;
+        }
+        if (!tenant.getConnection().isAutoUpdateEnabled()) {
+            this.migrations.computeIfAbsent(tenant.getTenantIdentifier(), TenantMigration::new).skip();
+            return;
+        }
+        try {
+            upgradeTenant(tenant);
+        } catch (FlywayException e) {
+            throw new PlatformServiceUnavailableException("error.msg.tenant.migration.failed",
+                    "The database of tenant " + tenant.getTenantIdentifier() + " could not be migrated", tenant.getTenantIdentifier());
+        }
+    }
+
+    /**
+     * Reports the migration state of a single tenant; the state of other tenants of this instance is not disclosed.
+     */
+    public TenantMigrationStatusData retrieveMigrationStatus(final String tenantIdentifier) {
+        final TenantMigration migration = this.migrations.get(tenantIdentifier);
+        return migration != null ? migration.toData() : new TenantMigration(tenantIdentifier).toData();
+    }
+
+    /**
+     * Migrates the schema of one tenant, once. Concurrent callers for the same tenant wait for the running migration; a
+     * failed migration is retried by the next caller.
+     */
+    private void upgradeTenant(final FineractPlatformTenant tenant) {
+        final TenantMigration migration = this.migrations.computeIfAbsent(tenant.getTenantIdentifier(), TenantMigration::new);
+        synchronized (migration) {
+            if (migration.isCompleted()) {
+                return;
+            }
+            final Semaphore permits = this.serverPermits.computeIfAbsent(serverKey(tenant.getConnection()),
+                    key -> new Semaphore(this.concurrencyPerServer));
+            permits.acquireUninterruptibly();
+            try {
+                migration.start();
+                final int migrationsExecuted = migrateTenant(tenant.getConnection());
+                migration.complete(migrationsExecuted);
+                LOG.info("upgradeTenant: tenant {} migrated in {} ms, {} migrations executed", tenant.getTenantIdentifier(),
+                        migration.durationMillis(), migrationsExecuted);
+            } catch (RuntimeException e) {
+                migration.fail();
+                LOG.error("upgradeTenant: migration of tenant {} failed", tenant.getTenantIdentifier(), e);
+                throw e;
+            } finally {
+                permits.release();
+            }
+        }
+    }
+
+    private int migrateTenant(final FineractPlatformTenantConnection connection) {
+        String connectionProtocol = driverConfig.constructProtocol(connection.getSchemaServer(), connection.getSchemaServerPort(),
+                connection.getSchemaName(), connection.getSchemaConnectionParameters());
+        DriverDataSource source = new DriverDataSource(Thread.currentThread().getContextClassLoader(), driverConfig.getDriverClassName(),
+                connectionProtocol, connection.getSchemaUsername(), connection.getSchemaPassword());
+
+        final Flyway flyway = Flyway.configure().dataSource(source).locations("sql/migrations/core_db").outOfOrder(true)
+                .placeholderReplacement(false).configuration(Map.of("flyway.table", "schema_version")) // FINERACT-979
+                .load();
+
+        try {
+            // Should be removed later when all instances are stabilized
+            // :FINERACT-1008
+            repairFlywayVersionSkip(flyway.getConfiguration().getDataSource());
+
+            flyway.repair();
+            return flyway.migrate().migrationsExecuted;
+        } catch (FlywayException e) {
+            String betterMessage = e.getMessage() + "; for Tenant DB URL: " + connectionProtocol + ", username: "
+                    + connection.getSchemaUsername();
+            throw new FlywayException(betterMessage, e);
+        } catch (RuntimeException e) {
+            throw new FlywayException(e.getMessage() + "; for Tenant DB URL: " + connectionProtocol, e);
+        }
+    }
+
+    private static String serverKey(final FineractPlatformTenantConnection connection) {
+        return connection.getSchemaServer() + ":" + connection.getSchemaServerPort();
     }
 
     /**
@@ -162,4 +315,82 @@ public class TenantDatabaseUpgradeService {
             LOG.info("repairFlywayVersionSkip: The schema_version table does not exist, aborting repair");
         }
     }
+
+    private enum TenantMigrationMode {
+
+        STARTUP, BACKGROUND, LAZY;
+
+        static TenantMigrationMode fromValue(final String value) {
+            for (final TenantMigrationMode mode : values()) {
+                if (mode.name().equalsIgnoreCase(value.trim())) {
+                    return mode;
+                }
+            }
+            throw new IllegalStateException("Invalid FINERACT_TENANT_MIGRATION_MODE '" + value + "', expected one of "
+                    + Arrays.stream(values()).map(mode -> mode.name().toLowerCase(Locale.ROOT)).collect(Collectors.joining(", ")));
+        }
+    }
+
+    /**
+     * Migration state of a single tenant; mutated under the instance lock, read by the status endpoint.
+     */
+    private static final class TenantMigration {
+
+        private final String tenantIdentifier;
+        private final AtomicInteger attempts = new AtomicInteger();
+        private volatile String status = "PENDING";
+        private volatile boolean completed;
+        private volatile Date startedOn;
+        private volatile Date completedOn;
+        private volatile long startNanos;
+        private volatile Long durationMillis;
+        private volatile Integer migrationsExecuted;
+
+        TenantMigration(final String tenantIdentifier) {
+            this.tenantIdentifier = tenantIdentifier;
+        }
+
+        boolean isCompleted() {
+            return this.completed;
+        }
+
+        void skip() {
+            this.status = "SKIPPED";
+            this.completed = true;
+        }
+
+        void start() {
+            this.attempts.incrementAndGet();
+            this.status = "RUNNING";
+            this.startedOn = new Date();
+            this.startNanos = System.nanoTime();
+            this.completedOn = null;
+            this.durationMillis = null;
+        }
+
+        void complete(final int migrationsExecuted) {
+            finish("MIGRATED");
+            this.migrationsExecuted = migrationsExecuted;
+            this.completed = true;
+        }
+
+        void fail() {
+            finish("FAILED");
+        }
+
+        Long durationMillis() {
+            return this.durationMillis;
+        }
+
+        private void finish(final String finalStatus) {
+            this.completedOn = new Date();
+            this.durationMillis = (System.nanoTime() - this.startNanos) / 1_000_000L;
+            this.status = finalStatus;
+        }
+
+        TenantMigrationStatusData toData() {
+            return new TenantMigrationStatusData(this.tenantIdentifier, this.status, this.startedOn, this.completedOn, this.durationMillis,
+                    this.migrationsExecuted, this.attempts.get());
+        }
+    }
 }
@@ -269,6 +269,7 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
             if (this.isSurveyCategory(category)) {
                 this.namedParameterJdbcTemplate
                         .update("insert into c_configuration (name, value, enabled ) values( :dataTableName , '0','0')", paramMap);
+                this.configurationDomainService.removeGlobalConfigurationPropertyDataFromCache(dataTableName);
             }
 
         } catch (final JpaSystemException | DataIntegrityViolationException dve) {
@@ -367,6 +368,7 @@ public class ReadWriteNonCoreDataServiceImpl implements ReadWriteNonCoreDataServ
         sqlArray[3] = deleteFromConfigurationSql;
 
         this.jdbcTemplate.batchUpdate(sqlArray);
+        this.configurationDomainService.removeGlobalConfigurationPropertyDataFromCache(datatable);
     }
 
     @Transactional
@@ -19,10 +19,18 @@
 package org.apache.fineract.infrastructure.documentmanagement.api;
 
 import com.google.common.io.ByteSource;
+import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.ResponseBuilder;
+import javax.ws.rs.core.StreamingOutput;
 import org.apache.fineract.infrastructure.documentmanagement.data.FileData;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -30,32 +38,123 @@ import org.slf4j.LoggerFactory;
 /**
  * Utilities common to file upload/download resources.
  *
+ * Content is streamed to the client without ever being fully read into memory: local files are transferred straight
+ * from their file channel, other content (e.g. S3 objects) is copied from its stream. A single HTTP byte range
+ * (<code>Range: bytes=first-last</code>, <code>bytes=first-</code> or <code>bytes=-suffixLength</code>) is answered with
+ * 206 Partial Content; multiple ranges are not supported and get the whole content.
+ *
  * @author Michael Vorburger.ch
  */
 final class ContentResources {
 
     private static final Logger LOG = LoggerFactory.getLogger(ContentResources.class);
 
+    private static final Pattern SINGLE_BYTE_RANGE = Pattern.compile("^bytes=(\\d*)-(\\d*)$");
+    private static final int STATUS_RANGE_NOT_SATISFIABLE = 416;
+    private static final long[] UNSATISFIABLE = new long[0];
+
     private ContentResources() {}
 
     static Response fileDataToResponse(FileData fileData, String fileName, String dispositionType) {
+        return fileDataToResponse(fileData, fileName, dispositionType, null);
+    }
+
+    static Response fileDataToResponse(FileData fileData, String dispositionType) {
+        return fileDataToResponse(fileData, fileData.name(), dispositionType, null);
+    }
+
+    static Response fileDataToResponse(FileData fileData, String dispositionType, String rangeHeader) {
+        return fileDataToResponse(fileData, fileData.name(), dispositionType, rangeHeader);
+    }
+
+    static Response fileDataToResponse(FileData fileData, String fileName, String dispositionType, String rangeHeader) {
         ResponseBuilder response;
         try {
-            ByteSource byteSource = fileData.getByteSource();
-            // TODO Where is this InputStream closed?! It needs to be AFTER it's read by JAX-RS.. how to do that?
-            InputStream is = byteSource.openBufferedStream();
-            response = Response.ok(is);
+            final File file = fileData.getFile();
+            if (file != null && !file.isFile()) {
+                throw new IOException("File " + file + " does not exist");
+            }
+            final long size = file != null ? file.length() : fileData.getByteSource().sizeIfKnown().or(-1L);
+            final long[] range = size >= 0 ? parseRange(rangeHeader, size) : null;
+            if (range == UNSATISFIABLE) {
+                return Response.status(STATUS_RANGE_NOT_SATISFIABLE).header("Content-Range", "bytes */" + size).build();
+            }
+            final long offset = range != null ? range[0] : 0L;
+            final long length = range != null ? range[1] - range[0] + 1 : size;
+
+            final ByteSource byteSource = range != null ? fileData.getByteSource().slice(offset, length) : fileData.getByteSource();
+            final StreamingOutput content = file != null ? output -> transfer(file, offset, length, output) : byteSource::copyTo;
+            if (range != null) {
+                response = Response.status(Response.Status.PARTIAL_CONTENT).entity(content);
+                response.header("Content-Range", "bytes " + range[0] + "-" + range[1] + "/" + size);
+            } else {
+                response = Response.ok(content);
+            }
+            if (size >= 0) {
+                response.header("Accept-Ranges", "bytes");
+            }
             response.header("Content-Disposition", dispositionType + "; filename=\"" + fileName + "\"");
-            response.header("Content-Length", byteSource.sizeIfKnown().or(-1L));
+            if (length >= 0) {
+                response.header("Content-Length", length);
+            }
             response.header("Content-Type", fileData.contentType());
         } catch (IOException e) {
-            LOG.error("resizedImage.getByteSource().openBufferedStream() failed", e);
+            LOG.error("fileDataToResponse() failed for {}", fileName, e);
             response = Response.serverError();
         }
         return response.build();
     }
 
-    static Response fileDataToResponse(FileData fileData, String dispositionType) {
-        return fileDataToResponse(fileData, fileData.name(), dispositionType);
+    /**
+     * @return the first and last byte of the requested range, null to send the whole content or {@link #UNSATISFIABLE}
+     */
+    private static long[] parseRange(final String rangeHeader, final long size) {
+        if (rangeHeader == null) {
+            return null;
+        }
+        final Matcher matcher = SINGLE_BYTE_RANGE.matcher(rangeHeader.trim());
+        if (!matcher.matches() || (matcher.group(1).isEmpty() && matcher.group(2).isEmpty())) {
+            // syntactically invalid or multiple ranges; a server may ignore the Range header in that case
+            return null;
+        }
+        try {
+            if (matcher.group(1).isEmpty()) {
+                final long suffixLength = Long.parseLong(matcher.group(2));
+                if (suffixLength == 0 || size == 0) {
+                    return UNSATISFIABLE;
+                }
+                return new long[] { Math.max(0, size - suffixLength), size - 1 };
+            }
+            final long first = Long.parseLong(matcher.group(1));
+            final long last = matcher.group(2).isEmpty() ? size - 1 : Math.min(Long.parseLong(matcher.group(2)), size - 1);
+            if (first >= size) {
+                return UNSATISFIABLE;
+            }
+            return first <= last ? new long[] { first, last } : null;
+        } catch (NumberFormatException e) {
+            // more digits than fit into a long
+            return null;
+        }
+    }
+
+    /**
+     * Uses {@link FileChannel#transferTo(long, long, WritableByteChannel)}, which lets the operating system copy the file
+     * to the connection where the container allows it.
+     */
+    private static void transfer(final File file, final long offset, final long length, final OutputStream output) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            final WritableByteChannel target = Channels.newChannel(output);
+            long position = offset;
+            long remaining = length;
+            while (remaining > 0) {
+                final long transferred = channel.transferTo(position, remaining, target);
+                if (transferred <= 0) {
+                    // the file was truncated while it was being sent
+                    throw new IOException("Unexpected end of " + file + " at position " + position);
+                }
+                position += transferred;
+                remaining -= transferred;
+            }
+        }
     }
 }
@@ -23,7 +23,6 @@ import com.sun.jersey.multipart.FormDataBodyPart;
 import com.sun.jersey.multipart.FormDataParam;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.Base64;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
 import javax.ws.rs.GET;
@@ -34,8 +33,13 @@ import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.CacheControl;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.ResponseBuilder;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
 import org.apache.fineract.infrastructure.core.domain.Base64EncodedImage;
@@ -43,7 +47,9 @@ import org.apache.fineract.infrastructure.core.serialization.DefaultToApiJsonSer
 import org.apache.fineract.infrastructure.documentmanagement.contentrepository.ContentRepositoryUtils;
 import org.apache.fineract.infrastructure.documentmanagement.contentrepository.ContentRepositoryUtils.ImageFileExtension;
 import org.apache.fineract.infrastructure.documentmanagement.data.FileData;
-import org.apache.fineract.infrastructure.documentmanagement.data.ImageResizer;
+import org.apache.fineract.infrastructure.documentmanagement.data.ImageData;
+import org.apache.fineract.infrastructure.documentmanagement.data.ImageRendition;
+import org.apache.fineract.infrastructure.documentmanagement.data.ImageRenditionCache;
 import org.apache.fineract.infrastructure.documentmanagement.exception.ContentManagementException;
 import org.apache.fineract.infrastructure.documentmanagement.exception.InvalidEntityTypeForImageManagementException;
 import org.apache.fineract.infrastructure.documentmanagement.service.ImageReadPlatformService;
@@ -65,18 +71,18 @@ public class ImagesApiResource {
     private final ImageWritePlatformService imageWritePlatformService;
     private final DefaultToApiJsonSerializer<ClientData> toApiJsonSerializer;
     private final FileUploadValidator fileUploadValidator;
-    private final ImageResizer imageResizer;
+    private final ImageRenditionCache imageRenditionCache;
 
     @Autowired
     public ImagesApiResource(final PlatformSecurityContext context, final ImageReadPlatformService readPlatformService,
             final ImageWritePlatformService imageWritePlatformService, final DefaultToApiJsonSerializer<ClientData> toApiJsonSerializer,
-            final FileUploadValidator fileUploadValidator, final ImageResizer imageResizer) {
+            final FileUploadValidator fileUploadValidator, final ImageRenditionCache imageRenditionCache) {
         this.context = context;
         this.imageReadPlatformService = readPlatformService;
         this.imageWritePlatformService = imageWritePlatformService;
         this.toApiJsonSerializer = toApiJsonSerializer;
         this.fileUploadValidator = fileUploadValidator;
-        this.imageResizer = imageResizer;
+        this.imageRenditionCache = imageRenditionCache;
     }
 
     /**
@@ -122,6 +128,9 @@ public class ImagesApiResource {
     /**
      * Returns a images, either as Base64 encoded text/plain or as inline or attachment with image MIME type as
      * Content-Type.
+     *
+     * Resized images are served from the {@link ImageRenditionCache}, with an ETag and Last-Modified header; requests
+     * carrying a matching If-None-Match (or a not older If-Modified-Since) are answered with 304 Not Modified.
      */
     @GET
     @Consumes(MediaType.APPLICATION_JSON)
@@ -129,7 +138,7 @@ public class ImagesApiResource {
     // octet-stream)
     public Response retrieveImage(@PathParam("entity") final String entityName, @PathParam("entityId") final Long entityId,
             @QueryParam("maxWidth") final Integer maxWidth, @QueryParam("maxHeight") final Integer maxHeight,
-            @QueryParam("output") final String output, @HeaderParam("Accept") String acceptHeader) {
+            @QueryParam("output") final String output, @HeaderParam("Accept") String acceptHeader, @Context final Request request) {
         validateEntityTypeforImage(entityName);
         if (EntityTypeForImages.CLIENTS.toString().equalsIgnoreCase(entityName)) {
             this.context.authenticatedUser().validateHasReadPermission("CLIENTIMAGE");
@@ -137,35 +146,64 @@ public class ImagesApiResource {
             this.context.authenticatedUser().validateHasReadPermission("STAFFIMAGE");
         }
 
-        final FileData imageData = this.imageReadPlatformService.retrieveImage(entityName, entityId);
-        final FileData resizedImage = imageResizer.resize(imageData, maxWidth, maxHeight);
+        final ImageData imageData = this.imageReadPlatformService.retrieveImageData(entityName, entityId);
+        final ImageRendition rendition = this.imageRenditionCache.retrieve(imageData, maxWidth, maxHeight);
+        final FileData resizedImage = rendition.getFileData();
 
         // If client wants (Accept header) octet-stream, or output="octet" or "inline_octet", then send that instead of
         // text
-        if ("application/octet-stream".equalsIgnoreCase(acceptHeader)
-                || (output != null && (output.equals("octet") || output.equals("inline_octet")))) {
-            return ContentResources.fileDataToResponse(resizedImage, resizedImage.name() + ImageFileExtension.JPEG,
+        final boolean octet = "application/octet-stream".equalsIgnoreCase(acceptHeader)
+                || (output != null && (output.equals("octet") || output.equals("inline_octet")));
+
+        // the Base64 text and the binary variant of the same rendition are different representations
+        final EntityTag entityTag = rendition.getEntityTag() != null
+                ? new EntityTag(rendition.getEntityTag() + (octet ? "-octet" : "-base64"))
+                : null;
+        if (entityTag != null && request != null) {
+            final ResponseBuilder notModified = request.evaluatePreconditions(rendition.getLastModified(), entityTag);
+            if (notModified != null) {
+                return withValidators(notModified, rendition, entityTag).build();
+            }
+        }
+
+        if (octet) {
+            final Response response = ContentResources.fileDataToResponse(resizedImage, resizedImage.name() + ImageFileExtension.JPEG,
                     "inline_octet".equals(output) ? "inline" : "attachment");
+            if (entityTag == null || response.getStatus() != Response.Status.OK.getStatusCode()) {
+                return response;
+            }
+            return withValidators(Response.fromResponse(response), rendition, entityTag).build();
         }
 
         // Else return response with Base64 encoded
         // TODO: Need a better way of determining image type
         String imageDataURISuffix = ContentRepositoryUtils.ImageDataURIsuffix.JPEG.getValue();
-        if (StringUtils.endsWith(imageData.name(), ContentRepositoryUtils.ImageFileExtension.GIF.getValue())) {
+        if (StringUtils.endsWith(resizedImage.name(), ContentRepositoryUtils.ImageFileExtension.GIF.getValue())) {
             imageDataURISuffix = ContentRepositoryUtils.ImageDataURIsuffix.GIF.getValue();
-        } else if (StringUtils.endsWith(imageData.name(), ContentRepositoryUtils.ImageFileExtension.PNG.getValue())) {
+        } else if (StringUtils.endsWith(resizedImage.name(), ContentRepositoryUtils.ImageFileExtension.PNG.getValue())) {
             imageDataURISuffix = ContentRepositoryUtils.ImageDataURIsuffix.PNG.getValue();
         }
 
         try {
-            byte[] resizedImageBytes = resizedImage.getByteSource().read();
-            final String clientImageAsBase64Text = imageDataURISuffix + Base64.getMimeEncoder().encodeToString(resizedImageBytes);
-            return Response.ok(clientImageAsBase64Text, MediaType.TEXT_PLAIN_TYPE).build();
+            final String clientImageAsBase64Text = imageDataURISuffix + this.imageRenditionCache.retrieveBase64(rendition);
+            final ResponseBuilder response = Response.ok(clientImageAsBase64Text, MediaType.TEXT_PLAIN_TYPE);
+            return (entityTag != null ? withValidators(response, rendition, entityTag) : response).build();
         } catch (IOException e) {
-            throw new ContentManagementException(imageData.name(), e.getMessage(), e);
+            throw new ContentManagementException(resizedImage.name(), e.getMessage(), e);
         }
     }
 
+    /**
+     * Browsers may keep the image, but have to revalidate it (which is cheap, see above) before every use.
+     */
+    private static ResponseBuilder withValidators(final ResponseBuilder response, final ImageRendition rendition,
+            final EntityTag entityTag) {
+        final CacheControl cacheControl = new CacheControl();
+        cacheControl.setPrivate(true);
+        cacheControl.setNoCache(true);
+        return response.tag(entityTag).lastModified(rendition.getLastModified()).cacheControl(cacheControl);
+    }
+
     /**
      * This method is added only for consistency with other URL patterns and for maintaining consistency of usage of the
      * HTTP "verb" at the client side
@@ -18,7 +18,16 @@
  */
 package org.apache.fineract.infrastructure.documentmanagement.contentrepository;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
 import java.util.Random;
 import org.apache.commons.lang3.StringUtils;
@@ -32,6 +41,7 @@ import org.apache.fineract.infrastructure.documentmanagement.exception.ContentMa
 public final class ContentRepositoryUtils {
 
     private static final Random random = new Random();
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
 
     private ContentRepositoryUtils() {}
 
@@ -171,6 +181,70 @@ public final class ContentRepositoryUtils {
         }
     }
 
+    /**
+     * Streams uploaded content to the given file while computing its MD5 digest, so that only a small copy buffer is held
+     * in memory however large the upload is. The content goes to a temporary file next to the target first, so a failed
+     * or rejected upload never leaves a partial file behind. Unlike
+     * {@link #validateFileSizeWithinPermissibleRange(Long, String)} the size limit is enforced on the bytes actually
+     * received.
+     */
+    public static StoredContent writeToFile(final InputStream uploadedInputStream, final Path target, final String name)
+            throws IOException {
+        final MessageDigest digest = md5();
+        final Path temporaryFile = Files.createTempFile(target.getParent(), "upload", ".tmp");
+        try {
+            long size = 0;
+            try (OutputStream out = Files.newOutputStream(temporaryFile)) {
+                final byte[] buffer = new byte[COPY_BUFFER_SIZE];
+                int read;
+                while ((read = uploadedInputStream.read(buffer)) != -1) {
+                    size += read;
+                    validateFileSizeWithinPermissibleRange(size, name);
+                    digest.update(buffer, 0, read);
+                    out.write(buffer, 0, read);
+                }
+            }
+            Files.move(temporaryFile, target, StandardCopyOption.REPLACE_EXISTING);
+            return new StoredContent(size, digest.digest());
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+    private static MessageDigest md5() {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform is required to support MD5
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Size and MD5 digest of content written by {@link ContentRepositoryUtils#writeToFile(InputStream, Path, String)}.
+     */
+    public static final class StoredContent {
+
+        private final long size;
+        private final byte[] md5;
+
+        StoredContent(final long size, final byte[] md5) {
+            this.size = size;
+            this.md5 = md5;
+        }
+
+        public long getSize() {
+            return this.size;
+        }
+
+        /**
+         * @return the MD5 digest in the Base64 form used by the Content-MD5 header
+         */
+        public String getMd5AsBase64() {
+            return Base64.getEncoder().encodeToString(this.md5);
+        }
+    }
+
     public static void validateClientImageNotEmpty(final String imageFileName) {
         final List<ApiParameterError> dataValidationErrors = new ArrayList<>();
         if (imageFileName == null) {
@@ -24,10 +24,10 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Base64;
-import org.apache.commons.io.FileUtils;
 import org.apache.fineract.infrastructure.core.domain.Base64EncodedImage;
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.apache.fineract.infrastructure.documentmanagement.command.DocumentCommand;
+import org.apache.fineract.infrastructure.documentmanagement.contentrepository.ContentRepositoryUtils.StoredContent;
 import org.apache.fineract.infrastructure.documentmanagement.data.DocumentData;
 import org.apache.fineract.infrastructure.documentmanagement.data.FileData;
 import org.apache.fineract.infrastructure.documentmanagement.data.ImageData;
@@ -99,13 +99,13 @@ public class FileSystemContentRepository implements ContentRepository {
     @Override
     public FileData fetchFile(final DocumentData documentData) {
         final File file = new File(documentData.fileLocation());
-        return new FileData(Files.asByteSource(file), documentData.fileName(), documentData.contentType());
+        return new FileData(file, documentData.fileName(), documentData.contentType());
     }
 
     @Override
     public FileData fetchImage(final ImageData imageData) {
         final File file = new File(imageData.location());
-        return new FileData(Files.asByteSource(file), imageData.getEntityDisplayName(), imageData.contentType().getValue());
+        return new FileData(file, imageData.getEntityDisplayName(), imageData.contentType().getValue());
     }
 
     @Override
@@ -131,17 +131,12 @@ public class FileSystemContentRepository implements ContentRepository {
                 + "clients" + File.separator + resourceId;
     }
 
-    /**
-     * Recursively create the directory if it does not exist.
-     */
-    private void makeDirectories(final String uploadDocumentLocation) throws IOException {
-        Files.createParentDirs(new File(uploadDocumentLocation));
-    }
-
     private void writeFileToFileSystem(final String fileName, final InputStream uploadedInputStream, final String fileLocation) {
         try {
-            makeDirectories(fileLocation);
-            FileUtils.copyInputStreamToFile(uploadedInputStream, new File(fileLocation));
+            final File file = new File(fileLocation);
+            Files.createParentDirs(file);
+            final StoredContent storedContent = ContentRepositoryUtils.writeToFile(uploadedInputStream, file.toPath(), fileName);
+            LOG.debug("Stored {} ({} bytes, Content-MD5 {})", fileLocation, storedContent.getSize(), storedContent.getMd5AsBase64());
         } catch (final IOException ioException) {
             LOG.warn("writeFileToFileSystem() IOException (logged because cause is not propagated in ContentManagementException)",
                     ioException);
@@ -29,14 +29,19 @@ import com.amazonaws.services.s3.model.GetObjectRequest;
 import com.amazonaws.services.s3.model.ObjectMetadata;
 import com.amazonaws.services.s3.model.PutObjectRequest;
 import com.amazonaws.services.s3.model.S3Object;
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
 import com.google.common.io.ByteSource;
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Base64;
 import org.apache.fineract.infrastructure.core.domain.Base64EncodedImage;
 import org.apache.fineract.infrastructure.documentmanagement.command.DocumentCommand;
+import org.apache.fineract.infrastructure.documentmanagement.contentrepository.ContentRepositoryUtils.StoredContent;
 import org.apache.fineract.infrastructure.documentmanagement.data.DocumentData;
 import org.apache.fineract.infrastructure.documentmanagement.data.FileData;
 import org.apache.fineract.infrastructure.documentmanagement.data.ImageData;
@@ -105,26 +110,13 @@ public class S3ContentRepository implements ContentRepository {
 
     @Override
     public FileData fetchFile(final DocumentData documentData) throws DocumentNotFoundException {
-        return new FileData(new ByteSource() {
-
-            @Override
-            public InputStream openStream() throws IOException {
-                final S3Object s3object = getObject(documentData.fileLocation());
-                return s3object.getObjectContent();
-            }
-        }, documentData.fileName(), documentData.contentType());
+        return new FileData(new S3ObjectByteSource(documentData.fileLocation()), documentData.fileName(), documentData.contentType());
     }
 
     @Override
     public FileData fetchImage(final ImageData imageData) {
-        return new FileData(new ByteSource() {
-
-            @Override
-            public InputStream openStream() throws IOException {
-                final S3Object s3object = getObject(imageData.location());
-                return s3object.getObjectContent();
-            }
-        }, imageData.getEntityDisplayName(), imageData.contentType().getValue());
+        return new FileData(new S3ObjectByteSource(imageData.location()), imageData.getEntityDisplayName(),
+                imageData.contentType().getValue());
     }
 
     @Override
@@ -151,26 +143,104 @@ public class S3ContentRepository implements ContentRepository {
         }
     }
 
+    /**
+     * Without a known content length the S3 client buffers the whole stream in memory, so the upload is spooled to a
+     * temporary file first; its MD5 digest lets S3 verify the object it received.
+     */
     private void putObject(final String filename, final InputStream inputStream, final String s3UploadLocation)
             throws ContentManagementException {
+        Path spoolFile = null;
         try {
+            spoolFile = Files.createTempFile("fineract-s3-upload", ".tmp");
+            final StoredContent storedContent = ContentRepositoryUtils.writeToFile(inputStream, spoolFile, filename);
+            final ObjectMetadata metadata = new ObjectMetadata();
+            metadata.setContentLength(storedContent.getSize());
+            metadata.setContentMD5(storedContent.getMd5AsBase64());
             LOG.info("Uploading a new object to S3 {}", s3UploadLocation);
-            this.s3Client.putObject(new PutObjectRequest(this.s3BucketName, s3UploadLocation, inputStream, new ObjectMetadata()));
+            this.s3Client.putObject(new PutObjectRequest(this.s3BucketName, s3UploadLocation, spoolFile.toFile()).withMetadata(metadata));
+        } catch (final IOException ioe) {
+            throw new ContentManagementException(filename, ioe.getMessage(), ioe);
         } catch (AmazonServiceException ase) {
             throw new ContentManagementException(filename, ase.getMessage(), ase);
         } catch (final AmazonClientException ace) {
             throw new ContentManagementException(filename, ace.getMessage(), ace);
+        } finally {
+            deleteSpoolFile(spoolFile);
+        }
+    }
+
+    private static void deleteSpoolFile(final Path spoolFile) {
+        if (spoolFile != null) {
+            try {
+                Files.deleteIfExists(spoolFile);
+            } catch (final IOException e) {
+                LOG.warn("Unable to delete temporary upload file {}", spoolFile, e);
+            }
+        }
+    }
+
+    private S3Object getObject(final GetObjectRequest request) {
+        try {
+            LOG.info("Downloading an object from Amazon S3 Bucket: {}, location: {}", this.s3BucketName, request.getKey());
+            return this.s3Client.getObject(request);
+        } catch (AmazonServiceException ase) {
+            throw new ContentManagementException(request.getKey(), ase.getMessage(), ase);
+        } catch (final AmazonClientException ace) {
+            throw new ContentManagementException(request.getKey(), ace.getMessage(), ace);
         }
     }
 
-    private S3Object getObject(String key) {
+    private long getObjectLength(final String key) {
         try {
-            LOG.info("Downloading an object from Amazon S3 Bucket: {}, location: {}", this.s3BucketName, key);
-            return this.s3Client.getObject(new GetObjectRequest(this.s3BucketName, key));
+            return this.s3Client.getObjectMetadata(this.s3BucketName, key).getContentLength();
         } catch (AmazonServiceException ase) {
             throw new ContentManagementException(key, ase.getMessage(), ase);
         } catch (final AmazonClientException ace) {
             throw new ContentManagementException(key, ace.getMessage(), ace);
         }
     }
+
+    /**
+     * Content of an S3 object; slices are fetched with ranged GETs instead of reading and skipping the whole object.
+     */
+    private final class S3ObjectByteSource extends ByteSource {
+
+        private final String key;
+        private Long length;
+
+        S3ObjectByteSource(final String key) {
+            this.key = key;
+        }
+
+        @Override
+        public InputStream openStream() throws IOException {
+            return getObject(new GetObjectRequest(S3ContentRepository.this.s3BucketName, this.key)).getObjectContent();
+        }
+
+        @Override
+        public Optional<Long> sizeIfKnown() {
+            if (this.length == null) {
+                this.length = getObjectLength(this.key);
+            }
+            return Optional.of(this.length);
+        }
+
+        @Override
+        public ByteSource slice(final long offset, final long sliceLength) {
+            Preconditions.checkArgument(offset >= 0, "offset (%s) may not be negative", offset);
+            Preconditions.checkArgument(sliceLength >= 0, "length (%s) may not be negative", sliceLength);
+            if (sliceLength == 0) {
+                return ByteSource.empty();
+            }
+            final long lastByte = sliceLength > Long.MAX_VALUE - offset ? Long.MAX_VALUE : offset + sliceLength - 1;
+            return new ByteSource() {
+
+                @Override
+                public InputStream openStream() throws IOException {
+                    return getObject(new GetObjectRequest(S3ContentRepository.this.s3BucketName, S3ObjectByteSource.this.key)
+                            .withRange(offset, lastByte)).getObjectContent();
+                }
+            };
+        }
+    }
 }
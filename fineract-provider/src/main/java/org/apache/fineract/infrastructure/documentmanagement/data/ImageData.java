@@ -24,19 +24,28 @@ import org.apache.fineract.infrastructure.documentmanagement.domain.StorageType;
 
 public class ImageData {
 
+    private final Long imageId;
     private final String location;
     private final StorageType storageType;
+    private final Integer contentVersion;
     private final String entityDisplayName;
     private final ContentRepositoryUtils.ImageMIMEtype contentType;
 
-    public ImageData(final String location, final StorageType storageType, final String entityDisplayName) {
+    public ImageData(final Long imageId, final String location, final StorageType storageType, final Integer contentVersion,
+            final String entityDisplayName) {
+        this.imageId = imageId;
         this.location = location;
         this.storageType = storageType;
+        this.contentVersion = contentVersion;
         this.entityDisplayName = entityDisplayName;
         this.contentType = ContentRepositoryUtils.ImageMIMEtype
                 .fromFileExtension(ContentRepositoryUtils.imageExtensionFromFileName(location));
     }
 
+    public Long imageId() {
+        return this.imageId;
+    }
+
     public ImageMIMEtype contentType() {
         return this.contentType;
     }
@@ -49,6 +58,10 @@ public class ImageData {
         return this.location;
     }
 
+    public Integer contentVersion() {
+        return this.contentVersion;
+    }
+
     public String getEntityDisplayName() {
         return this.entityDisplayName;
     }
@@ -0,0 +1,69 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.documentmanagement.data;
+
+import java.nio.file.Path;
+import java.util.Date;
+
+/**
+ * A (possibly resized) image as served to API clients, together with the validators used for conditional GET.
+ * Renditions which could not be cached have neither a file nor validators.
+ */
+public final class ImageRendition {
+
+    private final FileData fileData;
+    private final Path file;
+    private final String entityTag;
+    private final Date lastModified;
+
+    static ImageRendition cached(final FileData fileData, final Path file, final String entityTag, final Date lastModified) {
+        return new ImageRendition(fileData, file, entityTag, lastModified);
+    }
+
+    static ImageRendition uncached(final FileData fileData) {
+        return new ImageRendition(fileData, null, null, null);
+    }
+
+    private ImageRendition(final FileData fileData, final Path file, final String entityTag, final Date lastModified) {
+        this.fileData = fileData;
+        this.file = file;
+        this.entityTag = entityTag;
+        this.lastModified = lastModified;
+    }
+
+    public FileData getFileData() {
+        return this.fileData;
+    }
+
+    Path getFile() {
+        return this.file;
+    }
+
+    public boolean isCached() {
+        return this.file != null;
+    }
+
+    public String getEntityTag() {
+        return this.entityTag;
+    }
+
+    public Date getLastModified() {
+        return this.lastModified;
+    }
+}
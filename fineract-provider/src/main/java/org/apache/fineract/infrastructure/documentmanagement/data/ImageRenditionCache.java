@@ -0,0 +1,297 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.documentmanagement.data;
+
+import com.google.common.io.ByteSource;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.annotation.PostConstruct;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.documentmanagement.contentrepository.ContentRepository;
+import org.apache.fineract.infrastructure.documentmanagement.contentrepository.ContentRepositoryFactory;
+import org.apache.fineract.infrastructure.documentmanagement.contentrepository.FileSystemContentRepository;
+import org.apache.fineract.infrastructure.documentmanagement.exception.ContentManagementException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+/**
+ * Disk backed cache of image renditions (the original image resized to the requested maximum dimensions), kept below
+ * FINERACT_BASE_DIR/{tenant}/image-renditions/{imageId}/{contentVersion}. Decoding and re-encoding an image with ImageIO
+ * is far more expensive than reading a file, so each rendition is only produced once per content version.
+ *
+ * The content version of an image is incremented whenever the image is replaced, so that a node which did not evict
+ * the renditions of the replaced image itself never serves them again, and the ETags of the old and the new content
+ * differ on every node.
+ *
+ * The total size of all renditions is capped; when the cap is exceeded the least recently used renditions are removed.
+ */
+@Service
+public class ImageRenditionCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ImageRenditionCache.class);
+
+    private static final String RENDITIONS_DIRECTORY = "image-renditions";
+    private static final String BASE64_SUFFIX = ".b64";
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+
+    private final ImageResizer imageResizer;
+    private final ContentRepositoryFactory contentRepositoryFactory;
+    private final boolean enabled;
+    private final long maxSizeInBytes;
+
+    // access ordered, so that iteration starts with the least recently used rendition
+    private final LinkedHashMap<Path, Long> renditionSizes = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalSizeInBytes;
+
+    @Autowired
+    public ImageRenditionCache(final ImageResizer imageResizer, final ContentRepositoryFactory contentRepositoryFactory,
+            final Environment environment) {
+        this.imageResizer = imageResizer;
+        this.contentRepositoryFactory = contentRepositoryFactory;
+        this.enabled = environment.getProperty("FINERACT_IMAGE_RENDITION_CACHE_ENABLED", Boolean.class, Boolean.TRUE);
+        this.maxSizeInBytes = environment.getProperty("FINERACT_IMAGE_RENDITION_CACHE_MAX_SIZE_MB", Long.class, 100L) * 1024L * 1024L;
+    }
+
+    /**
+     * Renditions left behind by a previous run still count towards the size cap; they are indexed oldest first.
+     */
+    @PostConstruct
+    public void indexExistingRenditions() {
+        final Path baseDirectory = Paths.get(FileSystemContentRepository.FINERACT_BASE_DIR);
+        if (!this.enabled || !Files.isDirectory(baseDirectory)) {
+            return;
+        }
+        final List<Path> renditions = new ArrayList<>();
+        try (DirectoryStream<Path> tenantDirectories = Files.newDirectoryStream(baseDirectory, Files::isDirectory)) {
+            for (final Path tenantDirectory : tenantDirectories) {
+                final Path renditionsDirectory = tenantDirectory.resolve(RENDITIONS_DIRECTORY);
+                if (Files.isDirectory(renditionsDirectory)) {
+                    try (Stream<Path> files = Files.walk(renditionsDirectory)) {
+                        renditions.addAll(files.filter(Files::isRegularFile).collect(Collectors.toList()));
+                    }
+                }
+            }
+            renditions.sort(Comparator.comparing(path -> path.toFile().lastModified()));
+            for (final Path rendition : renditions) {
+                if (rendition.getFileName().toString().endsWith(TEMPORARY_SUFFIX)) {
+                    Files.deleteIfExists(rendition);
+                } else {
+                    register(rendition, Files.size(rendition));
+                }
+            }
+        } catch (IOException e) {
+            LOG.warn("Unable to index existing image renditions below {}: {}", baseDirectory, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Returns the image resized to the given maximum dimensions (with the same semantics as
+     * {@link ImageResizer#resize(FileData, Integer, Integer)}), producing and caching it if necessary. If the cache is
+     * disabled or cannot be written, the rendition is produced on the fly and carries no validators.
+     */
+    public ImageRendition retrieve(final ImageData imageData, final Integer maxWidth, final Integer maxHeight) {
+        if (!this.enabled || imageData.imageId() == null) {
+            return ImageRendition.uncached(resize(imageData, maxWidth, maxHeight));
+        }
+        final String version = imageData.contentVersion() != null ? imageData.contentVersion().toString() : "0";
+        final String dimensions = dimensionsKey(maxWidth, maxHeight);
+        final Path versionDirectory = imageDirectory(imageData.imageId()).resolve(version);
+        final Path file = versionDirectory.resolve(dimensions);
+        try {
+            if (Files.exists(file)) {
+                touch(file);
+            } else {
+                evictOtherVersions(versionDirectory);
+                write(file, resize(imageData, maxWidth, maxHeight).getByteSource());
+            }
+            final Date lastModified = new Date(Files.getLastModifiedTime(file).toMillis());
+            final String entityTag = imageData.imageId() + "-" + version + "-" + dimensions;
+            final FileData fileData = new FileData(file.toFile(), imageData.getEntityDisplayName(),
+                    imageData.contentType().getValue());
+            return ImageRendition.cached(fileData, file, entityTag, lastModified);
+        } catch (IOException e) {
+            LOG.warn("Unable to cache image rendition {}, serving it uncached: {}", file, e.getMessage(), e);
+            return ImageRendition.uncached(resize(imageData, maxWidth, maxHeight));
+        }
+    }
+
+    /**
+     * Returns the rendition as (MIME) Base64 text, which is cached next to the rendition itself.
+     */
+    public String retrieveBase64(final ImageRendition rendition) throws IOException {
+        if (rendition.isCached()) {
+            final Path file = rendition.getFile().resolveSibling(rendition.getFile().getFileName() + BASE64_SUFFIX);
+            try {
+                if (Files.exists(file)) {
+                    touch(file);
+                } else {
+                    write(file, ByteSource.wrap(encodeBase64(rendition).getBytes(StandardCharsets.US_ASCII)));
+                }
+                return new String(Files.readAllBytes(file), StandardCharsets.US_ASCII);
+            } catch (IOException e) {
+                LOG.warn("Unable to cache Base64 image rendition {}, encoding it uncached: {}", file, e.getMessage(), e);
+            }
+        }
+        return encodeBase64(rendition);
+    }
+
+    /**
+     * Removes all renditions of the given image of the current tenant; must be called whenever the image is replaced or
+     * deleted.
+     */
+    public void evict(final Long imageId) {
+        if (!this.enabled || imageId == null) {
+            return;
+        }
+        final Path directory = imageDirectory(imageId);
+        try {
+            delete(directory);
+        } catch (IOException e) {
+            // stale renditions of a replaced image must not be served again
+            throw new ContentManagementException(directory.toString(), e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Renditions of other content versions are left behind on nodes which did not process the replacement of the image;
+     * they are never served again, so they are removed once the current version is rendered.
+     */
+    private void evictOtherVersions(final Path versionDirectory) throws IOException {
+        final Path imageDirectory = versionDirectory.getParent();
+        if (!Files.isDirectory(imageDirectory)) {
+            return;
+        }
+        final List<Path> otherVersions = new ArrayList<>();
+        try (DirectoryStream<Path> versions = Files.newDirectoryStream(imageDirectory)) {
+            for (final Path version : versions) {
+                if (!version.equals(versionDirectory)) {
+                    otherVersions.add(version);
+                }
+            }
+        }
+        for (final Path otherVersion : otherVersions) {
+            delete(otherVersion);
+        }
+    }
+
+    private void delete(final Path directory) throws IOException {
+        synchronized (this) {
+            final Iterator<Map.Entry<Path, Long>> iterator = this.renditionSizes.entrySet().iterator();
+            while (iterator.hasNext()) {
+                final Map.Entry<Path, Long> entry = iterator.next();
+                if (entry.getKey().startsWith(directory)) {
+                    this.totalSizeInBytes -= entry.getValue();
+                    iterator.remove();
+                }
+            }
+        }
+        if (Files.exists(directory)) {
+            try (Stream<Path> files = Files.walk(directory)) {
+                for (final Path path : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                    Files.deleteIfExists(path);
+                }
+            }
+        }
+    }
+
+    private FileData resize(final ImageData imageData, final Integer maxWidth, final Integer maxHeight) {
+        final ContentRepository contentRepository = this.contentRepositoryFactory.getRepository(imageData.storageType());
+        return this.imageResizer.resize(contentRepository.fetchImage(imageData), maxWidth, maxHeight);
+    }
+
+    private static String encodeBase64(final ImageRendition rendition) throws IOException {
+        return Base64.getMimeEncoder().encodeToString(rendition.getFileData().getByteSource().read());
+    }
+
+    /**
+     * {@link ImageResizer} returns the original image if no maximum width is given, regardless of the maximum height.
+     */
+    private static String dimensionsKey(final Integer maxWidth, final Integer maxHeight) {
+        if (maxWidth == null) {
+            return "original";
+        }
+        return maxWidth + "x" + (maxHeight != null ? maxHeight.toString() : "any");
+    }
+
+    private static Path imageDirectory(final Long imageId) {
+        final String tenantDirectory = ThreadLocalContextUtil.getTenant().getName().replaceAll(" ", "").trim();
+        return Paths.get(FileSystemContentRepository.FINERACT_BASE_DIR, tenantDirectory, RENDITIONS_DIRECTORY, imageId.toString());
+    }
+
+    /**
+     * Writes to a temporary file first, so that concurrent readers never see a partially written rendition.
+     */
+    private void write(final Path file, final ByteSource content) throws IOException {
+        Files.createDirectories(file.getParent());
+        final Path temporaryFile = Files.createTempFile(file.getParent(), file.getFileName().toString(), TEMPORARY_SUFFIX);
+        try (InputStream in = content.openStream()) {
+            Files.copy(in, temporaryFile, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(temporaryFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+        register(file, Files.size(file));
+    }
+
+    private void touch(final Path file) throws IOException {
+        final boolean known;
+        synchronized (this) {
+            known = this.renditionSizes.get(file) != null;
+        }
+        if (!known) {
+            register(file, Files.size(file));
+        }
+    }
+
+    private synchronized void register(final Path file, final long size) {
+        final Long previousSize = this.renditionSizes.put(file, size);
+        this.totalSizeInBytes += size - (previousSize != null ? previousSize : 0L);
+        // the rendition just registered is about to be served, so it is never removed here
+        final Iterator<Map.Entry<Path, Long>> iterator = this.renditionSizes.entrySet().iterator();
+        while (this.totalSizeInBytes > this.maxSizeInBytes && this.renditionSizes.size() > 1) {
+            final Map.Entry<Path, Long> leastRecentlyUsed = iterator.next();
+            iterator.remove();
+            this.totalSizeInBytes -= leastRecentlyUsed.getValue();
+            final File leastRecentlyUsedFile = leastRecentlyUsed.getKey().toFile();
+            if (!leastRecentlyUsedFile.delete() && leastRecentlyUsedFile.exists()) {
+                LOG.warn("Unable to delete image rendition {}", leastRecentlyUsedFile);
+            }
+        }
+    }
+}
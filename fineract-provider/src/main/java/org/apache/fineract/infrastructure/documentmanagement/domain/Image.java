@@ -33,6 +33,9 @@ public final class Image extends AbstractPersistableCustom {
     @Column(name = "storage_type_enum")
     private Integer storageType;
 
+    @Column(name = "content_version", nullable = false)
+    private Integer contentVersion = 0;
+
     public Image(final String location, final StorageType storageType) {
         this.location = location;
         this.storageType = storageType.getValue();
@@ -58,4 +61,17 @@ public final class Image extends AbstractPersistableCustom {
         this.storageType = storageType;
     }
 
+    public Integer getContentVersion() {
+        return this.contentVersion;
+    }
+
+    /**
+     * Points this image at newly stored content, which may be stored at the same location as the previous content.
+     */
+    public void replaceContent(final String location, final StorageType storageType) {
+        this.location = location;
+        this.storageType = storageType.getValue();
+        this.contentVersion++;
+    }
+
 }
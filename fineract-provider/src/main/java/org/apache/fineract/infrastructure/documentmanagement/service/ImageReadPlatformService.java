@@ -19,9 +19,12 @@
 package org.apache.fineract.infrastructure.documentmanagement.service;
 
 import org.apache.fineract.infrastructure.documentmanagement.data.FileData;
+import org.apache.fineract.infrastructure.documentmanagement.data.ImageData;
 
 public interface ImageReadPlatformService {
 
     FileData retrieveImage(String entityType, Long entityId);
 
+    ImageData retrieveImageData(String entityType, Long entityId);
+
 }
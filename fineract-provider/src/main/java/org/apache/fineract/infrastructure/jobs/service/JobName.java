@@ -46,7 +46,10 @@ public enum JobName {
                                                                                                                                                                                             "Generate AdhocClient Schedule"), UPDATE_EMAIL_OUTBOUND_WITH_CAMPAIGN_MESSAGE(
                                                                                                                                                                                                     "Update Email Outbound with campaign message"), EXECUTE_EMAIL(
                                                                                                                                                                                                             "Execute Email"), UPDATE_TRAIL_BALANCE_DETAILS(
-                                                                                                                                                                                                                    "Update Trial Balance Details");
+                                                                                                                                                                                                                    "Update Trial Balance Details"), PROCESS_QUEUED_COMMANDS(
+                                                                                                                                                                                                                            "Process Queued Commands"), APPLY_PENDING_SAVINGS_CREDITS(
+                                                                                                                                                                                                                                    "Apply Pending Savings Credits"), ADD_AUDIT_PARTITIONS(
+                                                                                                                                                                                                                                            "Add Audit Partitions");
 
     private final String name;
 
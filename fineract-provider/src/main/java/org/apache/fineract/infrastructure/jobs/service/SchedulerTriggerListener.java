@@ -20,6 +20,8 @@ package org.apache.fineract.infrastructure.jobs.service;
 
 import java.util.Random;
 import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.exception.PlatformServiceUnavailableException;
+import org.apache.fineract.infrastructure.core.service.TenantDatabaseUpgradeService;
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.apache.fineract.infrastructure.security.service.TenantDetailsService;
 import org.quartz.JobExecutionContext;
@@ -39,11 +41,14 @@ public class SchedulerTriggerListener implements TriggerListener {
 
     private final SchedularWritePlatformService schedularService;
     private final TenantDetailsService tenantDetailsService;
+    private final TenantDatabaseUpgradeService tenantDatabaseUpgradeService;
 
     @Autowired
-    public SchedulerTriggerListener(final SchedularWritePlatformService schedularService, final TenantDetailsService tenantDetailsService) {
+    public SchedulerTriggerListener(final SchedularWritePlatformService schedularService, final TenantDetailsService tenantDetailsService,
+            final TenantDatabaseUpgradeService tenantDatabaseUpgradeService) {
         this.schedularService = schedularService;
         this.tenantDetailsService = tenantDetailsService;
+        this.tenantDatabaseUpgradeService = tenantDatabaseUpgradeService;
 
     }
 
@@ -64,6 +69,13 @@ public class SchedulerTriggerListener implements TriggerListener {
         ThreadLocalContextUtil.setTenant(tenant);
         final JobKey key = trigger.getJobKey();
         final String jobKey = key.getName() + SchedulerServiceConstants.JOB_KEY_SEPERATOR + key.getGroup();
+        try {
+            this.tenantDatabaseUpgradeService.ensureTenantUpgraded(tenant);
+        } catch (PlatformServiceUnavailableException e) {
+            LOG.warn("vetoJobExecution() WILL veto the execution as the database of tenant {} is not migrated; jobKey={}", tenantIdentifier,
+                    jobKey);
+            return true;
+        }
         String triggerType = SchedulerServiceConstants.TRIGGER_TYPE_CRON;
         if (context.getMergedJobDataMap().containsKey(SchedulerServiceConstants.TRIGGER_TYPE_REFERENCE)) {
             triggerType = context.getMergedJobDataMap().getString(SchedulerServiceConstants.TRIGGER_TYPE_REFERENCE);
@@ -0,0 +1,74 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.openjpa;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.fineract.infrastructure.cache.data.EntityCacheStatisticsData;
+
+/**
+ * Hit, miss and put counters of a {@link TenantAwareDataCache} per tenant and entity type since startup.
+ */
+public final class EntityCacheStatistics {
+
+    private final Map<String, Map<String, Counters>> countersByTenant = new ConcurrentHashMap<>();
+
+    void recordLookup(final String tenantIdentifier, final String entityType, final boolean hit) {
+        final Counters counters = countersOf(tenantIdentifier, entityType);
+        if (hit) {
+            counters.hits.increment();
+        } else {
+            counters.misses.increment();
+        }
+    }
+
+    void recordPut(final String tenantIdentifier, final String entityType) {
+        countersOf(tenantIdentifier, entityType).puts.increment();
+    }
+
+    private Counters countersOf(final String tenantIdentifier, final String entityType) {
+        return this.countersByTenant.computeIfAbsent(tenantIdentifier, key -> new ConcurrentHashMap<>()).computeIfAbsent(entityType,
+                key -> new Counters());
+    }
+
+    public Collection<EntityCacheStatisticsData> retrieveAll(final String tenantIdentifier) {
+        final Map<String, Counters> counters = this.countersByTenant.getOrDefault(tenantIdentifier, Collections.emptyMap());
+        final List<EntityCacheStatisticsData> statistics = new ArrayList<>();
+        for (final Map.Entry<String, Counters> entry : counters.entrySet()) {
+            final Counters entityCounters = entry.getValue();
+            statistics.add(new EntityCacheStatisticsData(entry.getKey(), entityCounters.hits.sum(), entityCounters.misses.sum(),
+                    entityCounters.puts.sum()));
+        }
+        statistics.sort(Comparator.comparing(EntityCacheStatisticsData::getEntityType));
+        return statistics;
+    }
+
+    private static final class Counters {
+
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder puts = new LongAdder();
+    }
+}
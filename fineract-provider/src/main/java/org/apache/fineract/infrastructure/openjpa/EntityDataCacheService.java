@@ -0,0 +1,218 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.openjpa;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.regex.Pattern;
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+import org.apache.fineract.infrastructure.cache.data.EntityCacheStatisticsData;
+import org.apache.fineract.infrastructure.cache.service.RuntimeDelegatingCacheManager;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.security.service.TenantDetailsService;
+import org.apache.openjpa.conf.OpenJPAConfiguration;
+import org.apache.openjpa.datacache.DataCache;
+import org.apache.openjpa.event.RemoteCommitEvent;
+import org.apache.openjpa.event.RemoteCommitProvider;
+import org.apache.openjpa.persistence.OpenJPAPersistence;
+import org.apache.openjpa.util.LongId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.stereotype.Service;
+
+/**
+ * Connects the second level entity cache of OpenJPA to the Spring managed caches: it exposes the statistics of the
+ * {@link TenantAwareDataCache} and keeps the entity caches of a cluster consistent.
+ *
+ * The data cache is registered with the multi node cache as the {@value #CACHE_NAME} cache. While the multi node
+ * cache is active, the entities updated or deleted by a commit are published as evictions keyed by tenant, entity type
+ * and id; evictions received from other nodes are applied to the data cache on behalf of their tenant.
+ */
+@Service
+public class EntityDataCacheService {
+
+    public static final String CACHE_NAME = "entityDataCache";
+
+    private static final Logger LOG = LoggerFactory.getLogger(EntityDataCacheService.class);
+    private static final String KEY_SEPARATOR = "|";
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final RuntimeDelegatingCacheManager cacheManager;
+    private final TenantDetailsService tenantDetailsService;
+    private TenantAwareDataCache dataCache;
+
+    @Autowired
+    public EntityDataCacheService(final EntityManagerFactory entityManagerFactory, final RuntimeDelegatingCacheManager cacheManager,
+            final TenantDetailsService tenantDetailsService) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.cacheManager = cacheManager;
+        this.tenantDetailsService = tenantDetailsService;
+    }
+
+    @PostConstruct
+    public void register() {
+        final OpenJPAConfiguration configuration = OpenJPAPersistence.cast(this.entityManagerFactory).getConfiguration();
+        final DataCache systemDataCache = configuration.getDataCacheManagerInstance().getSystemDataCache();
+        if (systemDataCache instanceof TenantAwareDataCache) {
+            this.dataCache = (TenantAwareDataCache) systemDataCache;
+        }
+        final RemoteCommitProvider provider = configuration.getRemoteCommitEventManager().getRemoteCommitProvider();
+        if (provider instanceof TenantAwareRemoteCommitProvider) {
+            ((TenantAwareRemoteCommitProvider) provider).setPublisher(this::publish);
+        }
+        this.cacheManager.registerMultiNodeCache(new EntityDataCache());
+    }
+
+    /**
+     * @return the statistics of the data cache for the given tenant, empty when the data cache is disabled
+     */
+    public Collection<EntityCacheStatisticsData> retrieveStatistics(final String tenantIdentifier) {
+        if (this.dataCache == null) {
+            return Collections.emptyList();
+        }
+        return this.dataCache.getStatistics().retrieveAll(tenantIdentifier);
+    }
+
+    /**
+     * Publishes the entities updated or deleted by a commit of the current thread. Caches other than the multi node
+     * cache do not publish evictions; the multi node cache evicts the entities from the local data cache as well, which
+     * only costs a reload.
+     */
+    void publish(final RemoteCommitEvent event) {
+        final Cache cache = this.cacheManager.getCache(CACHE_NAME);
+        if (cache == null) {
+            return;
+        }
+        final FineractPlatformTenant tenant = ThreadLocalContextUtil.getTenant();
+        if (tenant == null || event.getPayloadType() == RemoteCommitEvent.PAYLOAD_EXTENTS) {
+            // changed by type rather than by id, or made outside of a tenant
+            cache.clear();
+            return;
+        }
+        final List<LongId> changedIds = new ArrayList<>();
+        for (final Object oid : event.getUpdatedObjectIds()) {
+            changedIds.add(oid instanceof LongId ? (LongId) oid : null);
+        }
+        for (final Object oid : event.getDeletedObjectIds()) {
+            changedIds.add(oid instanceof LongId ? (LongId) oid : null);
+        }
+        if (changedIds.contains(null)) {
+            // only long ids can be carried as keys
+            cache.clear();
+            return;
+        }
+        for (final LongId id : changedIds) {
+            cache.evict(tenant.getTenantIdentifier() + KEY_SEPARATOR + id.getType().getName() + KEY_SEPARATOR + id.getId());
+        }
+    }
+
+    /**
+     * Evicts an entity of the given tenant, running on behalf of the tenant when the current thread belongs to another
+     * one or to none.
+     */
+    void evict(final String key) {
+        final String[] parts = key.split(Pattern.quote(KEY_SEPARATOR), 3);
+        final Class<?> entityType;
+        final Long id;
+        try {
+            entityType = Class.forName(parts[1], false, EntityDataCacheService.class.getClassLoader());
+            id = Long.valueOf(parts[2]);
+        } catch (ClassNotFoundException | IndexOutOfBoundsException | NumberFormatException e) {
+            LOG.warn("Clearing the entity cache for the eviction of an unknown entity {}", key);
+            this.entityManagerFactory.getCache().evictAll();
+            return;
+        }
+        final FineractPlatformTenant currentTenant = ThreadLocalContextUtil.getTenant();
+        if (currentTenant != null && currentTenant.getTenantIdentifier().equals(parts[0])) {
+            this.entityManagerFactory.getCache().evict(entityType, id);
+            return;
+        }
+        ThreadLocalContextUtil.setTenant(this.tenantDetailsService.loadTenantById(parts[0]));
+        try {
+            this.entityManagerFactory.getCache().evict(entityType, id);
+        } finally {
+            if (currentTenant == null) {
+                ThreadLocalContextUtil.clearTenant();
+            } else {
+                ThreadLocalContextUtil.setTenant(currentTenant);
+            }
+        }
+    }
+
+    /**
+     * The data cache as seen by the multi node cache, which only evicts from it.
+     */
+    private final class EntityDataCache implements Cache {
+
+        @Override
+        public String getName() {
+            return CACHE_NAME;
+        }
+
+        @Override
+        public Object getNativeCache() {
+            return EntityDataCacheService.this.dataCache;
+        }
+
+        @Override
+        public ValueWrapper get(final Object key) {
+            return null;
+        }
+
+        @Override
+        public <T> T get(final Object key, final Class<T> type) {
+            return null;
+        }
+
+        @Override
+        public <T> T get(final Object key, final Callable<T> valueLoader) {
+            try {
+                return valueLoader.call();
+            } catch (Exception e) {
+                throw new ValueRetrievalException(key, valueLoader, e);
+            }
+        }
+
+        @Override
+        public void put(final Object key, final Object value) {
+            // filled by OpenJPA only
+        }
+
+        @Override
+        public void evict(final Object key) {
+            if (key instanceof String) {
+                EntityDataCacheService.this.evict((String) key);
+            } else {
+                clear();
+            }
+        }
+
+        @Override
+        public void clear() {
+            EntityDataCacheService.this.entityManagerFactory.getCache().evictAll();
+        }
+    }
+}
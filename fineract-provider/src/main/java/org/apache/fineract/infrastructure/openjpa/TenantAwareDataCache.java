@@ -0,0 +1,150 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.openjpa;
+
+import java.util.Collection;
+import java.util.Objects;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.openjpa.datacache.ConcurrentDataCache;
+import org.apache.openjpa.datacache.DataCachePCData;
+import org.apache.openjpa.util.OpenJPAId;
+
+/**
+ * OpenJPA second level {@link ConcurrentDataCache} shared by all tenants.
+ *
+ * The single persistence unit serves every tenant schema through the routing data source, so the same object id
+ * denotes different rows in different tenants. Entries are therefore keyed by the tenant of the current thread as well
+ * as the object id; without a tenant the cache is bypassed. Lookups are counted per tenant and entity type in
+ * {@link EntityCacheStatistics}.
+ *
+ * Other nodes of a cluster learn about committed changes through the {@link TenantAwareRemoteCommitProvider}.
+ */
+public class TenantAwareDataCache extends ConcurrentDataCache {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient EntityCacheStatistics statistics = new EntityCacheStatistics();
+
+    public EntityCacheStatistics getStatistics() {
+        return this.statistics;
+    }
+
+    @Override
+    protected DataCachePCData getInternal(final Object oid) {
+        final TenantScopedKey key = keyFor(oid);
+        if (key == null) {
+            return null;
+        }
+        final DataCachePCData data = super.getInternal(key);
+        this.statistics.recordLookup(key.tenantIdentifier, entityType(oid, data), data != null);
+        return data;
+    }
+
+    @Override
+    protected DataCachePCData putInternal(final Object oid, final DataCachePCData pc) {
+        final TenantScopedKey key = keyFor(oid);
+        if (key == null) {
+            return null;
+        }
+        this.statistics.recordPut(key.tenantIdentifier, entityType(oid, pc));
+        return super.putInternal(key, pc);
+    }
+
+    @Override
+    protected void putAllInternal(final Collection<DataCachePCData> pcs) {
+        for (final DataCachePCData pc : pcs) {
+            putInternal(pc.getId(), pc);
+        }
+    }
+
+    @Override
+    protected DataCachePCData removeInternal(final Object oid) {
+        final TenantScopedKey key = keyFor(oid);
+        if (key == null) {
+            // the tenant is unknown, so the entry cannot be located
+            clearInternal();
+            return null;
+        }
+        return super.removeInternal(key);
+    }
+
+    @Override
+    protected boolean pinInternal(final Object oid) {
+        final TenantScopedKey key = keyFor(oid);
+        return key != null && super.pinInternal(key);
+    }
+
+    @Override
+    protected boolean unpinInternal(final Object oid) {
+        final TenantScopedKey key = keyFor(oid);
+        return key != null && super.unpinInternal(key);
+    }
+
+    private static TenantScopedKey keyFor(final Object oid) {
+        final FineractPlatformTenant tenant = ThreadLocalContextUtil.getTenant();
+        if (tenant == null || oid == null) {
+            return null;
+        }
+        return new TenantScopedKey(tenant.getTenantIdentifier(), oid);
+    }
+
+    private static String entityType(final Object oid, final DataCachePCData data) {
+        if (oid instanceof OpenJPAId) {
+            return ((OpenJPAId) oid).getType().getSimpleName();
+        }
+        if (data != null && data.getType() != null) {
+            return data.getType().getSimpleName();
+        }
+        return oid.getClass().getSimpleName();
+    }
+
+    private static final class TenantScopedKey {
+
+        private final String tenantIdentifier;
+        private final Object oid;
+
+        TenantScopedKey(final String tenantIdentifier, final Object oid) {
+            this.tenantIdentifier = tenantIdentifier;
+            this.oid = oid;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof TenantScopedKey)) {
+                return false;
+            }
+            final TenantScopedKey other = (TenantScopedKey) obj;
+            return this.tenantIdentifier.equals(other.tenantIdentifier) && this.oid.equals(other.oid);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.tenantIdentifier, this.oid);
+        }
+
+        @Override
+        public String toString() {
+            return this.tenantIdentifier + ":" + this.oid;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.openjpa;
+
+import java.util.function.Consumer;
+import org.apache.openjpa.event.AbstractRemoteCommitProvider;
+import org.apache.openjpa.event.RemoteCommitEvent;
+
+/**
+ * OpenJPA remote commit provider handing the changes committed on this node to the publisher set by
+ * {@link EntityDataCacheService}, which broadcasts them to the other nodes of a cluster. The committing thread still
+ * carries its tenant when the changes are handed over.
+ *
+ * Evictions received from other nodes are applied by {@link EntityDataCacheService} directly, so nothing is fired to
+ * the listeners of this provider.
+ */
+public class TenantAwareRemoteCommitProvider extends AbstractRemoteCommitProvider {
+
+    private volatile Consumer<RemoteCommitEvent> publisher;
+
+    public void setPublisher(final Consumer<RemoteCommitEvent> publisher) {
+        this.publisher = publisher;
+    }
+
+    @Override
+    public void broadcast(final RemoteCommitEvent event) {
+        final Consumer<RemoteCommitEvent> currentPublisher = this.publisher;
+        if (currentPublisher != null) {
+            currentPublisher.accept(event);
+        }
+    }
+
+    @Override
+    public void close() {
+        this.publisher = null;
+    }
+}
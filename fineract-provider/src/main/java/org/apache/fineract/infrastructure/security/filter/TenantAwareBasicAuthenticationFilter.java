@@ -28,7 +28,9 @@ import org.apache.fineract.infrastructure.cache.domain.CacheType;
 import org.apache.fineract.infrastructure.cache.service.CacheWritePlatformService;
 import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
 import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.exception.PlatformServiceUnavailableException;
 import org.apache.fineract.infrastructure.core.serialization.ToApiJsonSerializer;
+import org.apache.fineract.infrastructure.core.service.TenantDatabaseUpgradeService;
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.apache.fineract.infrastructure.security.data.PlatformRequestLog;
 import org.apache.fineract.infrastructure.security.exception.InvalidTenantIdentiferException;
@@ -71,6 +73,7 @@ public class TenantAwareBasicAuthenticationFilter extends BasicAuthenticationFil
     private final ConfigurationDomainService configurationDomainService;
     private final CacheWritePlatformService cacheWritePlatformService;
     private final NotificationReadPlatformService notificationReadPlatformService;
+    private final TenantDatabaseUpgradeService tenantDatabaseUpgradeService;
     private final String tenantRequestHeader = "Fineract-Platform-TenantId";
     private final boolean exceptionIfHeaderMissing = true;
 
@@ -79,13 +82,15 @@ public class TenantAwareBasicAuthenticationFilter extends BasicAuthenticationFil
             final AuthenticationEntryPoint authenticationEntryPoint, final BasicAuthTenantDetailsService basicAuthTenantDetailsService,
             final ToApiJsonSerializer<PlatformRequestLog> toApiJsonSerializer, final ConfigurationDomainService configurationDomainService,
             final CacheWritePlatformService cacheWritePlatformService,
-            final NotificationReadPlatformService notificationReadPlatformService) {
+            final NotificationReadPlatformService notificationReadPlatformService,
+            final TenantDatabaseUpgradeService tenantDatabaseUpgradeService) {
         super(authenticationManager, authenticationEntryPoint);
         this.basicAuthTenantDetailsService = basicAuthTenantDetailsService;
         this.toApiJsonSerializer = toApiJsonSerializer;
         this.configurationDomainService = configurationDomainService;
         this.cacheWritePlatformService = cacheWritePlatformService;
         this.notificationReadPlatformService = notificationReadPlatformService;
+        this.tenantDatabaseUpgradeService = tenantDatabaseUpgradeService;
     }
 
     @Override
@@ -121,6 +126,7 @@ public class TenantAwareBasicAuthenticationFilter extends BasicAuthenticationFil
                 final FineractPlatformTenant tenant = this.basicAuthTenantDetailsService.loadTenantById(tenantIdentifier, isReportRequest);
 
                 ThreadLocalContextUtil.setTenant(tenant);
+                this.tenantDatabaseUpgradeService.ensureTenantUpgraded(tenant);
                 String authToken = request.getHeader("Authorization");
 
                 if (authToken != null && authToken.startsWith("Basic ")) {
@@ -134,6 +140,8 @@ public class TenantAwareBasicAuthenticationFilter extends BasicAuthenticationFil
                     final boolean ehcacheEnabled = this.configurationDomainService.isEhcacheEnabled();
                     if (ehcacheEnabled) {
                         this.cacheWritePlatformService.switchToCache(CacheType.SINGLE_NODE);
+                    } else if (this.configurationDomainService.isDistributedCacheEnabled()) {
+                        this.cacheWritePlatformService.switchToCache(CacheType.MULTI_NODE);
                     } else {
                         this.cacheWritePlatformService.switchToCache(CacheType.NO_CACHE);
                     }
@@ -148,6 +156,9 @@ public class TenantAwareBasicAuthenticationFilter extends BasicAuthenticationFil
 
             response.addHeader("WWW-Authenticate", "Basic realm=\"" + "Fineract Platform API" + "\"");
             response.sendError(HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+        } catch (final PlatformServiceUnavailableException e) {
+            // tenant schema migration failed, deal with exception at low level
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, e.getDefaultUserMessage());
         } finally {
             task.stop();
             final PlatformRequestLog log = PlatformRequestLog.from(task, request);
@@ -20,9 +20,11 @@ package org.apache.fineract.interoperation.api;
 
 import static org.apache.fineract.interoperation.util.InteropUtil.ENTITY_NAME_QUOTE;
 import static org.apache.fineract.interoperation.util.InteropUtil.ENTITY_NAME_REQUEST;
+import static org.apache.fineract.interoperation.util.InteropUtil.ENTITY_NAME_TRANSFER;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.parameters.RequestBody;
@@ -60,6 +62,7 @@ import org.apache.fineract.interoperation.data.InteropIdentifierAccountResponseD
 import org.apache.fineract.interoperation.data.InteropIdentifierRequestData;
 import org.apache.fineract.interoperation.data.InteropIdentifiersResponseData;
 import org.apache.fineract.interoperation.data.InteropKycResponseData;
+import org.apache.fineract.interoperation.data.InteropPhaseLatencyData;
 import org.apache.fineract.interoperation.data.InteropQuoteRequestData;
 import org.apache.fineract.interoperation.data.InteropQuoteResponseData;
 import org.apache.fineract.interoperation.data.InteropTransactionRequestData;
@@ -68,7 +71,9 @@ import org.apache.fineract.interoperation.data.InteropTransactionsData;
 import org.apache.fineract.interoperation.data.InteropTransferRequestData;
 import org.apache.fineract.interoperation.data.InteropTransferResponseData;
 import org.apache.fineract.interoperation.domain.InteropIdentifierType;
+import org.apache.fineract.interoperation.domain.InteropPhase;
 import org.apache.fineract.interoperation.domain.InteropTransferActionType;
+import org.apache.fineract.interoperation.service.InteropLatencyRecorder;
 import org.apache.fineract.interoperation.service.InteropService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Scope;
@@ -87,16 +92,19 @@ public class InteropApiResource {
 
     private InteropService interopService;
     private PortfolioCommandSourceWritePlatformService commandsSourceService;
+    private InteropLatencyRecorder latencyRecorder;
 
     @Autowired
     public InteropApiResource(PlatformSecurityContext context, ApiRequestParameterHelper apiRequestParameterHelper,
             DefaultToApiJsonSerializer<CommandProcessingResult> defaultToApiJsonSerializer, InteropService interopService,
-            PortfolioCommandSourceWritePlatformService portfolioCommandSourceWritePlatformService) {
+            PortfolioCommandSourceWritePlatformService portfolioCommandSourceWritePlatformService,
+            InteropLatencyRecorder latencyRecorder) {
         this.context = context;
         this.apiRequestParameterHelper = apiRequestParameterHelper;
         this.jsonSerializer = defaultToApiJsonSerializer;
         this.interopService = interopService;
         this.commandsSourceService = portfolioCommandSourceWritePlatformService;
+        this.latencyRecorder = latencyRecorder;
     }
 
     @GET
@@ -172,7 +180,13 @@ public class InteropApiResource {
             @ApiResponse(responseCode = "200", description = "OK", content = @Content(schema = @Schema(implementation = InteropIdentifierAccountResponseData.class))) })
     public String getAccountByIdentifier(@PathParam("idType") @Parameter(description = "idType") InteropIdentifierType idType,
             @PathParam("idValue") @Parameter(description = "idValue") String idValue, @Context UriInfo uriInfo) {
-        InteropIdentifierAccountResponseData result = interopService.getAccountByIdentifier(idType, idValue, null);
+        long start = System.nanoTime();
+        InteropIdentifierAccountResponseData result;
+        try {
+            result = interopService.getAccountByIdentifier(idType, idValue, null);
+        } finally {
+            latencyRecorder.record(InteropPhase.PARTY_LOOKUP, start);
+        }
         ApiRequestJsonSerializationSettings settings = this.apiRequestParameterHelper.process(uriInfo.getQueryParameters());
 
         return jsonSerializer.serialize(settings, result);
@@ -188,7 +202,13 @@ public class InteropApiResource {
     public String getAccountByIdentifier(@PathParam("idType") @Parameter(description = "idType") InteropIdentifierType idType,
             @PathParam("idValue") @Parameter(description = "idValue") String idValue,
             @PathParam("subIdOrType") @Parameter(description = "subIdOrType") String subIdOrType, @Context UriInfo uriInfo) {
-        InteropIdentifierAccountResponseData result = interopService.getAccountByIdentifier(idType, idValue, subIdOrType);
+        long start = System.nanoTime();
+        InteropIdentifierAccountResponseData result;
+        try {
+            result = interopService.getAccountByIdentifier(idType, idValue, subIdOrType);
+        } finally {
+            latencyRecorder.record(InteropPhase.PARTY_LOOKUP, start);
+        }
         ApiRequestJsonSerializationSettings settings = this.apiRequestParameterHelper.process(uriInfo.getQueryParameters());
 
         return jsonSerializer.serialize(settings, result);
@@ -339,7 +359,13 @@ public class InteropApiResource {
     public String createQuote(@Parameter(hidden = true) String quotesJson, @Context UriInfo uriInfo) {
         CommandWrapper commandRequest = new InteropWrapperBuilder().createQuotes().withJson(quotesJson).build();
 
-        InteropQuoteResponseData result = (InteropQuoteResponseData) commandsSourceService.logCommandSource(commandRequest);
+        long start = System.nanoTime();
+        InteropQuoteResponseData result;
+        try {
+            result = (InteropQuoteResponseData) commandsSourceService.logCommandSource(commandRequest);
+        } finally {
+            latencyRecorder.record(InteropPhase.QUOTE, start);
+        }
         ApiRequestJsonSerializationSettings settings = this.apiRequestParameterHelper.process(uriInfo.getQueryParameters());
 
         return jsonSerializer.serialize(settings, result);
@@ -383,15 +409,36 @@ public class InteropApiResource {
                     dataValidationErrors);
         }
 
-        CommandWrapper commandRequest = new InteropWrapperBuilder().performTransfer(InteropTransferActionType.valueOf(action))
-                .withJson(quotesJson).build();
+        InteropTransferActionType actionType = InteropTransferActionType.valueOf(action);
+        CommandWrapper commandRequest = new InteropWrapperBuilder().performTransfer(actionType).withJson(quotesJson).build();
 
-        InteropTransferResponseData result = (InteropTransferResponseData) commandsSourceService.logCommandSource(commandRequest);
+        long start = System.nanoTime();
+        InteropTransferResponseData result;
+        try {
+            result = (InteropTransferResponseData) commandsSourceService.logCommandSource(commandRequest);
+        } finally {
+            latencyRecorder.record(InteropPhase.fromTransferAction(actionType), start);
+        }
         ApiRequestJsonSerializationSettings settings = this.apiRequestParameterHelper.process(uriInfo.getQueryParameters());
 
         return jsonSerializer.serialize(settings, result);
     }
 
+    @GET
+    @Consumes({ MediaType.APPLICATION_JSON })
+    @Produces({ MediaType.APPLICATION_JSON })
+    @Path("metrics/latency")
+    @Operation(summary = "Query Interoperation latency histograms", description = "Latencies on this node since it was started")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "OK", content = @Content(array = @ArraySchema(schema = @Schema(implementation = InteropPhaseLatencyData.class)))) })
+    public String getLatencies(@Context UriInfo uriInfo) {
+        context.authenticatedUser().validateHasReadPermission(ENTITY_NAME_TRANSFER);
+
+        List<InteropPhaseLatencyData> result = latencyRecorder.retrieveLatencies();
+
+        return jsonSerializer.serialize(result);
+    }
+
     @GET
     @Consumes({ MediaType.APPLICATION_JSON })
     @Produces({ MediaType.APPLICATION_JSON })
@@ -0,0 +1,95 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.interoperation.data;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.apache.fineract.interoperation.domain.InteropPhase;
+import org.apache.fineract.interoperation.util.LatencyHistogram;
+
+public class InteropPhaseLatencyData {
+
+    private final InteropPhase phase;
+    private final long count;
+    private final long meanMillis;
+    private final long p50Millis;
+    private final long p95Millis;
+    private final long p99Millis;
+    private final long maxMillis;
+    /** number of requests per bucket, keyed by the inclusive upper bound in milliseconds ("+Inf" for the last one) */
+    private final Map<String, Long> buckets;
+
+    InteropPhaseLatencyData(InteropPhase phase, long count, long meanMillis, long p50Millis, long p95Millis, long p99Millis,
+            long maxMillis, Map<String, Long> buckets) {
+        this.phase = phase;
+        this.count = count;
+        this.meanMillis = meanMillis;
+        this.p50Millis = p50Millis;
+        this.p95Millis = p95Millis;
+        this.p99Millis = p99Millis;
+        this.maxMillis = maxMillis;
+        this.buckets = buckets;
+    }
+
+    public static InteropPhaseLatencyData build(InteropPhase phase, LatencyHistogram histogram) {
+        final long[] bucketCounts = histogram.getBucketCounts();
+        final Map<String, Long> buckets = new LinkedHashMap<>();
+        for (int i = 0; i < bucketCounts.length; i++) {
+            final String bound = i < LatencyHistogram.BUCKET_BOUNDS_MILLIS.length ? String.valueOf(LatencyHistogram.BUCKET_BOUNDS_MILLIS[i])
+                    : "+Inf";
+            buckets.put(bound, bucketCounts[i]);
+        }
+        final long count = histogram.getCount();
+        final long meanMillis = count == 0 ? 0 : histogram.getTotalMillis() / count;
+        return new InteropPhaseLatencyData(phase, count, meanMillis, histogram.getPercentileMillis(50), histogram.getPercentileMillis(95),
+                histogram.getPercentileMillis(99), histogram.getMaxMillis(), buckets);
+    }
+
+    public InteropPhase getPhase() {
+        return phase;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getMeanMillis() {
+        return meanMillis;
+    }
+
+    public long getP50Millis() {
+        return p50Millis;
+    }
+
+    public long getP95Millis() {
+        return p95Millis;
+    }
+
+    public long getP99Millis() {
+        return p99Millis;
+    }
+
+    public long getMaxMillis() {
+        return maxMillis;
+    }
+
+    public Map<String, Long> getBuckets() {
+        return buckets;
+    }
+}
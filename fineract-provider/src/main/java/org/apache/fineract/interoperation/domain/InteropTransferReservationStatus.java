@@ -0,0 +1,57 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.interoperation.domain;
+
+public enum InteropTransferReservationStatus {
+
+    INVALID(0), //
+    PREPARED(1), //
+    COMMITTED(2), //
+    RELEASED(3);
+
+    private final Integer value;
+
+    InteropTransferReservationStatus(final Integer value) {
+        this.value = value;
+    }
+
+    public Integer getValue() {
+        return this.value;
+    }
+
+    public static InteropTransferReservationStatus fromInt(final Integer statusValue) {
+        InteropTransferReservationStatus status = INVALID;
+        switch (statusValue) {
+            case 1:
+                status = PREPARED;
+            break;
+            case 2:
+                status = COMMITTED;
+            break;
+            case 3:
+                status = RELEASED;
+            break;
+        }
+        return status;
+    }
+
+    public boolean isPrepared() {
+        return this.equals(PREPARED);
+    }
+}
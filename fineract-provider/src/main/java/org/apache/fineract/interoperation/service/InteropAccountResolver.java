@@ -0,0 +1,97 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.interoperation.service;
+
+import java.util.List;
+import org.apache.fineract.infrastructure.cache.service.TenantScopedCacheService;
+import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
+import org.apache.fineract.interoperation.domain.InteropIdentifierType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tenant scoped, cached resolution of interoperation identifiers and account external ids to savings accounts, so that
+ * a switch looking up a party or moving money does not query the identifier and account tables on every call.
+ *
+ * Only successful resolutions are cached, in the caches of {@link TenantScopedCacheService}. Identifiers are only
+ * created and deleted by {@link InteropServiceImpl}, which evicts them on every node. The external id of an
+ * interoperable (active) savings account does not change, callers loading the account by the resolved id must still
+ * compare its external id and call {@link #evictAccount(String)} on a mismatch.
+ */
+@Component
+public class InteropAccountResolver {
+
+    private static final String IDENTIFIERS_CACHE = "interopIdentifiers";
+    private static final String SAVINGS_ACCOUNT_IDS_CACHE = "interopSavingsAccountIds";
+
+    private static final String IDENTIFIER_SQL = "select sa.external_id from interop_identifier ii "
+            + "join m_savings_account sa on sa.id = ii.account_id where ii.type = ? and ii.a_value = ? ";
+
+    private static final String ACCOUNT_SQL = "select sa.id from m_savings_account sa where sa.external_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TenantScopedCacheService cacheService;
+
+    @Autowired
+    public InteropAccountResolver(final RoutingDataSource dataSource, final TenantScopedCacheService cacheService) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.cacheService = cacheService;
+    }
+
+    /**
+     * @return the external id of the savings account registered for the identifier, or <code>null</code> when there
+     *         is none
+     */
+    public String resolveAccountExternalId(final InteropIdentifierType idType, final String idValue, final String subIdOrType) {
+        return this.cacheService.get(IDENTIFIERS_CACHE, identifierKey(idType, idValue, subIdOrType), () -> {
+            final List<String> externalIds;
+            if (subIdOrType == null) {
+                externalIds = this.jdbcTemplate.queryForList(IDENTIFIER_SQL + "and ii.sub_value_or_type is null", String.class,
+                        idType.name(), idValue);
+            } else {
+                externalIds = this.jdbcTemplate.queryForList(IDENTIFIER_SQL + "and ii.sub_value_or_type = ?", String.class, idType.name(),
+                        idValue, subIdOrType);
+            }
+            return externalIds.isEmpty() ? null : externalIds.get(0);
+        });
+    }
+
+    /**
+     * @return the identifier of the savings account with the external id, or <code>null</code> when there is none
+     */
+    public Long resolveSavingsAccountId(final String externalId) {
+        return this.cacheService.get(SAVINGS_ACCOUNT_IDS_CACHE, externalId, () -> {
+            final List<Long> savingsAccountIds = this.jdbcTemplate.queryForList(ACCOUNT_SQL, Long.class, externalId);
+            return savingsAccountIds.isEmpty() ? null : savingsAccountIds.get(0);
+        });
+    }
+
+    public void evictIdentifier(final InteropIdentifierType idType, final String idValue, final String subIdOrType) {
+        this.cacheService.evict(IDENTIFIERS_CACHE, identifierKey(idType, idValue, subIdOrType));
+    }
+
+    public void evictAccount(final String externalId) {
+        this.cacheService.evict(SAVINGS_ACCOUNT_IDS_CACHE, externalId);
+    }
+
+    private static String identifierKey(final InteropIdentifierType idType, final String idValue, final String subIdOrType) {
+        return idType.name() + ":" + idValue + (subIdOrType == null ? "" : ":" + subIdOrType);
+    }
+}
@@ -0,0 +1,67 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.interoperation.service;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.interoperation.data.InteropPhaseLatencyData;
+import org.apache.fineract.interoperation.domain.InteropPhase;
+import org.apache.fineract.interoperation.util.LatencyHistogram;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tenant scoped latency histograms of the interoperation phases since the node was started.
+ */
+@Component
+public class InteropLatencyRecorder {
+
+    private final ConcurrentHashMap<String, Map<InteropPhase, LatencyHistogram>> tenantHistograms = new ConcurrentHashMap<>();
+
+    /**
+     * @param startNanos
+     *            value of {@link System#nanoTime()} when the phase started
+     */
+    public void record(final InteropPhase phase, final long startNanos) {
+        currentTenantHistograms().get(phase).record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+    }
+
+    public List<InteropPhaseLatencyData> retrieveLatencies() {
+        final Map<InteropPhase, LatencyHistogram> histograms = currentTenantHistograms();
+        final List<InteropPhaseLatencyData> latencies = new ArrayList<>();
+        for (final InteropPhase phase : InteropPhase.values()) {
+            latencies.add(InteropPhaseLatencyData.build(phase, histograms.get(phase)));
+        }
+        return latencies;
+    }
+
+    private Map<InteropPhase, LatencyHistogram> currentTenantHistograms() {
+        return this.tenantHistograms.computeIfAbsent(ThreadLocalContextUtil.getTenant().getTenantIdentifier(), k -> {
+            final Map<InteropPhase, LatencyHistogram> histograms = new EnumMap<>(InteropPhase.class);
+            for (final InteropPhase phase : InteropPhase.values()) {
+                histograms.put(phase, new LatencyHistogram());
+            }
+            return histograms;
+        });
+    }
+}
@@ -21,9 +21,6 @@ package org.apache.fineract.interoperation.service;
 import static org.apache.fineract.interoperation.util.InteropUtil.DEFAULT_LOCALE;
 import static org.apache.fineract.interoperation.util.InteropUtil.DEFAULT_ROUTING_CODE;
 import static org.apache.fineract.portfolio.paymentdetail.domain.PaymentDetail.instance;
-import static org.apache.fineract.portfolio.savings.SavingsAccountTransactionType.AMOUNT_HOLD;
-import static org.apache.fineract.portfolio.savings.SavingsAccountTransactionType.DEPOSIT;
-import static org.apache.fineract.portfolio.savings.SavingsAccountTransactionType.WITHDRAWAL;
 import static org.apache.fineract.portfolio.savings.domain.SavingsAccountTransaction.releaseAmount;
 
 import jakarta.validation.constraints.NotNull;
@@ -72,14 +69,11 @@ import org.apache.fineract.interoperation.serialization.InteropDataValidator;
 import org.apache.fineract.interoperation.util.MathUtil;
 import org.apache.fineract.organisation.monetary.domain.ApplicationCurrency;
 import org.apache.fineract.organisation.monetary.domain.ApplicationCurrencyRepository;
-import org.apache.fineract.organisation.monetary.domain.MonetaryCurrency;
-import org.apache.fineract.organisation.monetary.domain.Money;
 import org.apache.fineract.portfolio.loanaccount.data.LoanAccountData;
 import org.apache.fineract.portfolio.loanaccount.domain.Loan;
 import org.apache.fineract.portfolio.loanaccount.domain.LoanRepository;
 import org.apache.fineract.portfolio.note.domain.Note;
 import org.apache.fineract.portfolio.note.domain.NoteRepository;
-import org.apache.fineract.portfolio.paymentdetail.domain.PaymentDetail;
 import org.apache.fineract.portfolio.paymenttype.domain.PaymentType;
 import org.apache.fineract.portfolio.paymenttype.domain.PaymentTypeRepository;
 import org.apache.fineract.portfolio.savings.SavingsAccountTransactionType;
@@ -132,6 +126,9 @@ public class InteropServiceImpl implements InteropService {
 
     private final DefaultToApiJsonSerializer<LoanAccountData> toApiJsonSerializer;
 
+    private final InteropAccountResolver accountResolver;
+    private final InteropTransferEngine transferEngine;
+
     @Autowired
     public InteropServiceImpl(PlatformSecurityContext securityContext, InteropDataValidator interopDataValidator,
             SavingsAccountRepository savingsAccountRepository, SavingsAccountTransactionRepository savingsAccountTransactionRepository,
@@ -140,7 +137,8 @@ public class InteropServiceImpl implements InteropService {
             SavingsHelper savingsHelper, SavingsAccountTransactionSummaryWrapper savingsAccountTransactionSummaryWrapper,
             SavingsAccountDomainService savingsAccountService, final RoutingDataSource dataSource,
             final PortfolioCommandSourceWritePlatformService commandsSourceWritePlatformService,
-            final DefaultToApiJsonSerializer<LoanAccountData> toApiJsonSerializer) {
+            final DefaultToApiJsonSerializer<LoanAccountData> toApiJsonSerializer, final InteropAccountResolver accountResolver,
+            final InteropTransferEngine transferEngine) {
         this.securityContext = securityContext;
         this.dataValidator = interopDataValidator;
         this.savingsAccountRepository = savingsAccountRepository;
@@ -156,6 +154,8 @@ public class InteropServiceImpl implements InteropService {
         this.jdbcTemplate = new JdbcTemplate(dataSource);
         this.commandsSourceWritePlatformService = commandsSourceWritePlatformService;
         this.toApiJsonSerializer = toApiJsonSerializer;
+        this.accountResolver = accountResolver;
+        this.transferEngine = transferEngine;
     }
 
     private static final class KycMapper implements RowMapper<InteropKycData> {
@@ -246,13 +246,13 @@ public class InteropServiceImpl implements InteropService {
     @Override
     public InteropIdentifierAccountResponseData getAccountByIdentifier(@NotNull InteropIdentifierType idType, @NotNull String idValue,
             String subIdOrType) {
-        InteropIdentifier identifier = findIdentifier(idType, idValue, subIdOrType);
-        if (identifier == null) {
+        String accountId = accountResolver.resolveAccountExternalId(idType, idValue, subIdOrType);
+        if (accountId == null) {
             throw new HttpClientErrorException(HttpStatus.BAD_REQUEST,
                     "Account not found for identifier " + idType + "/" + idValue + (subIdOrType == null ? "" : ("/" + subIdOrType)));
         }
 
-        return InteropIdentifierAccountResponseData.build(identifier.getAccount().getExternalId());
+        return InteropIdentifierAccountResponseData.build(accountId);
     }
 
     @NotNull
@@ -270,6 +270,7 @@ public class InteropServiceImpl implements InteropService {
                 request.getSubIdOrType(), createdBy.getUsername(), DateUtils.getDateOfTenant());
 
         identifierRepository.save(identifier);
+        accountResolver.evictIdentifier(request.getIdType(), request.getIdValue(), request.getSubIdOrType());
 
         return InteropIdentifierAccountResponseData.build(savingsAccount.getExternalId());
     }
@@ -288,6 +289,7 @@ public class InteropServiceImpl implements InteropService {
         String accountId = identifier.getAccount().getExternalId();
 
         identifierRepository.delete(identifier);
+        accountResolver.evictIdentifier(idType, idValue, subIdOrType);
 
         return InteropIdentifierAccountResponseData.build(accountId);
     }
@@ -363,27 +365,8 @@ public class InteropServiceImpl implements InteropService {
             SavingsAccount savingsAccount = validateAndGetSavingAccount(request);
             BigDecimal total = calculateTotalTransferAmount(request, savingsAccount);
 
-            if (MathUtil.isLessThan(savingsAccount.getWithdrawableBalance(), total)) {
-                throw new HttpClientErrorException(HttpStatus.BAD_REQUEST, "Not enough balance amount for requested amount plus fees!");
-            }
-            if (findTransaction(savingsAccount, transferCode, AMOUNT_HOLD.getValue()) != null) {
-                throw new HttpClientErrorException(HttpStatus.TOO_MANY_REQUESTS, "Transfer amount was already put on hold " + transferCode);
-            }
-
-            PaymentDetail paymentDetail = instance(findPaymentType(), savingsAccount.getExternalId(), null, getRoutingCode(), transferCode,
-                    null);
-            SavingsAccountTransaction holdTransaction = SavingsAccountTransaction.holdAmount(savingsAccount, savingsAccount.office(),
-                    paymentDetail, transactionDate.toLocalDate(), Money.of(savingsAccount.getCurrency(), total), new Date(),
-                    getLoginUser());
-            MonetaryCurrency accountCurrency = savingsAccount.getCurrency().copy();
-            holdTransaction.updateRunningBalance(
-                    Money.of(accountCurrency, savingsAccount.getWithdrawableBalance().subtract(holdTransaction.getAmount())));
-            holdTransaction.updateCumulativeBalanceAndDates(accountCurrency, transactionDate.toLocalDate());
-
-            savingsAccount.holdAmount(total);
-            savingsAccount.addTransaction(holdTransaction);
-
-            savingsAccountRepository.save(savingsAccount);
+            // the balance check is part of the conditional update holding the amount
+            transferEngine.prepare(savingsAccount.getId(), transferCode, total);
         }
 
         return InteropTransferResponseData.build(command.commandId(), request.getTransactionCode(), InteropActionState.ACCEPTED,
@@ -399,46 +382,36 @@ public class InteropServiceImpl implements InteropService {
         SavingsAccount savingsAccount = validateAndGetSavingAccount(request);
         String transferCode = request.getTransferCode();
 
-        if (findTransaction(savingsAccount, transferCode, (isDebit ? WITHDRAWAL : DEPOSIT).getValue()) != null) {
-            throw new HttpClientErrorException(HttpStatus.TOO_MANY_REQUESTS, "Transfer was already committed with code: " + transferCode);
-        }
-
         LocalDateTime transactionDateTime = DateUtils.getLocalDateTimeOfTenant();
         LocalDate transactionDate = transactionDateTime.toLocalDate();
         DateTimeFormatter fmt = getDateTimeFormatter(command);
         SavingsAccountTransaction transaction;
 
         if (isDebit) {
-            SavingsAccountTransaction holdTransaction = findTransaction(savingsAccount, transferCode, AMOUNT_HOLD.getValue());
-            if (holdTransaction == null) {
-                throw new HttpClientErrorException(HttpStatus.NOT_FOUND, "Missing onhold transaction for transfer: " + transferCode);
-            }
+            InteropTransferEngine.Reservation reservation = transferEngine.commitDebit(savingsAccount.getId(), transferCode);
+            BigDecimal heldAmount = reservation.getAmount();
 
             BigDecimal totalTransferAmount = calculateTotalTransferAmount(request, savingsAccount);
-            if (holdTransaction.getAmount().compareTo(totalTransferAmount) != 0) {
+            if (heldAmount.compareTo(totalTransferAmount) != 0) {
                 throw new HttpClientErrorException(HttpStatus.BAD_REQUEST,
                         "Transfer request amount plus fees does not match with onhold amount!");
             }
 
-            if (MathUtil.isLessThan(savingsAccount.getWithdrawableBalance().add(holdTransaction.getAmount()), totalTransferAmount)) {
+            if (MathUtil.isLessThan(savingsAccount.getWithdrawableBalance().add(heldAmount), totalTransferAmount)) {
                 throw new HttpClientErrorException(HttpStatus.BAD_REQUEST, "Not enough balance amount!");
             }
 
-            if (holdTransaction.getReleaseIdOfHoldAmountTransaction() == null) {
-                SavingsAccountTransaction releaseTransaction = savingsAccountTransactionRepository
-                        .saveAndFlush(releaseAmount(holdTransaction, transactionDate, new Date(), getLoginUser()));
-                holdTransaction.updateReleaseId(releaseTransaction.getId());
-                savingsAccount.releaseOnHoldAmount(holdTransaction.getAmount());
-                savingsAccount.addTransaction(releaseTransaction);
-
-                savingsAccountRepository.save(savingsAccount);
-            }
+            // released in the same versioned update of the account that posts the withdrawal
+            savingsAccount.releaseOnHoldAmount(heldAmount);
+            releaseLegacyHoldTransaction(reservation, transactionDate);
 
             SavingsTransactionBooleanValues transactionValues = new SavingsTransactionBooleanValues(false, true, true, false, false);
             transaction = savingsAccountService.handleWithdrawal(savingsAccount, fmt, transactionDate, request.getAmount().getAmount(),
                     instance(findPaymentType(), savingsAccount.getExternalId(), null, getRoutingCode(), transferCode, null),
                     transactionValues);
         } else {
+            transferEngine.commitCredit(savingsAccount.getId(), transferCode, request.getAmount().getAmount());
+
             transaction = savingsAccountService.handleDeposit(savingsAccount, fmt, transactionDate, request.getAmount().getAmount(),
                     instance(findPaymentType(), savingsAccount.getExternalId(), null, getRoutingCode(), transferCode, null), false, true);
         }
@@ -459,26 +432,8 @@ public class InteropServiceImpl implements InteropService {
         SavingsAccount savingsAccount = validateAndGetSavingAccount(request);
 
         LocalDateTime transactionDateTime = DateUtils.getLocalDateTimeOfTenant();
-        SavingsAccountTransaction holdTransaction = findTransaction(savingsAccount, request.getTransferCode(), AMOUNT_HOLD.getValue());
-
-        if (holdTransaction != null && holdTransaction.getReleaseIdOfHoldAmountTransaction() == null) {
-            SavingsAccountTransaction releaseTransaction = releaseAmount(holdTransaction, transactionDateTime.toLocalDate(), new Date(),
-                    getLoginUser());
-            MonetaryCurrency accountCurrency = savingsAccount.getCurrency().copy();
-            releaseTransaction.updateRunningBalance(
-                    Money.of(accountCurrency, savingsAccount.getWithdrawableBalance().add(holdTransaction.getAmount())));
-            releaseTransaction.updateCumulativeBalanceAndDates(accountCurrency, transactionDateTime.toLocalDate());
-            releaseTransaction = savingsAccountTransactionRepository.saveAndFlush(releaseTransaction);
-            holdTransaction.updateReleaseId(releaseTransaction.getId());
-
-            savingsAccount.releaseOnHoldAmount(holdTransaction.getAmount());
-            savingsAccount.addTransaction(releaseTransaction);
-
-            savingsAccountRepository.save(savingsAccount);
-        } else {
-            throw new HttpClientErrorException(HttpStatus.BAD_REQUEST,
-                    "No active onhold transaction exists with transferCode " + request.getTransferCode());
-        }
+        InteropTransferEngine.Reservation reservation = transferEngine.release(savingsAccount.getId(), request.getTransferCode());
+        releaseLegacyHoldTransaction(reservation, transactionDateTime.toLocalDate());
 
         return InteropTransferResponseData.build(command.commandId(), request.getTransactionCode(), InteropActionState.ACCEPTED,
                 request.getExpiration(), request.getExtensionList(), request.getTransferCode(), transactionDateTime);
@@ -518,13 +473,37 @@ public class InteropServiceImpl implements InteropService {
     }
 
     private SavingsAccount validateAndGetSavingAccount(String accountId) {
-        SavingsAccount savingsAccount = savingsAccountRepository.findByExternalId(accountId);
+        Long savingsAccountId = accountResolver.resolveSavingsAccountId(accountId);
+        SavingsAccount savingsAccount = savingsAccountId == null ? null : savingsAccountRepository.findById(savingsAccountId).orElse(null);
+        if (savingsAccount != null && !accountId.equals(savingsAccount.getExternalId())) {
+            accountResolver.evictAccount(accountId);
+            savingsAccount = savingsAccountRepository.findByExternalId(accountId);
+        }
         if (savingsAccount == null) {
             throw new SavingsAccountNotFoundException(accountId);
         }
         return savingsAccount;
     }
 
+    /**
+     * Transfers prepared before reservations were introduced hold their amount through an AMOUNT_HOLD transaction; it is
+     * linked to a release transaction as before, so that it is no longer shown as an active hold. The held amount itself
+     * was already given back by the reservation.
+     */
+    private void releaseLegacyHoldTransaction(InteropTransferEngine.Reservation reservation, LocalDate transactionDate) {
+        if (reservation.getHoldTransactionId() == null) {
+            return;
+        }
+        SavingsAccountTransaction holdTransaction = savingsAccountTransactionRepository.findById(reservation.getHoldTransactionId())
+                .orElse(null);
+        if (holdTransaction == null || holdTransaction.getReleaseIdOfHoldAmountTransaction() != null) {
+            return;
+        }
+        SavingsAccountTransaction releaseTransaction = savingsAccountTransactionRepository
+                .saveAndFlush(releaseAmount(holdTransaction, transactionDate, new Date(), getLoginUser()));
+        holdTransaction.updateReleaseId(releaseTransaction.getId());
+    }
+
     private Loan validateAndGetLoan(String accountId) {
         Loan loan = loanRepository.findNonClosedLoanByAccountNumber(accountId);
         if (loan == null) {
@@ -600,13 +579,6 @@ public class InteropServiceImpl implements InteropService {
         return null;
     }
 
-    private SavingsAccountTransaction findTransaction(SavingsAccount savingsAccount, String transactionCode, Integer transactionTypeValue) {
-        return savingsAccount.getTransactions().stream().filter(t -> transactionTypeValue.equals(t.getTypeOf())).filter(t -> {
-            PaymentDetail detail = t.getPaymentDetail();
-            return detail != null && getRoutingCode().equals(detail.getRoutingCode()) && transactionCode.equals(detail.getReceiptNumber());
-        }).findFirst().orElse(null);
-    }
-
     public InteropIdentifier findIdentifier(@NotNull InteropIdentifierType idType, @NotNull String idValue, String subIdOrType) {
         return identifierRepository.findOneByTypeAndValueAndSubType(idType, idValue, subIdOrType);
     }
@@ -0,0 +1,186 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.interoperation.service;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.List;
+import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
+import org.apache.fineract.interoperation.domain.InteropTransactionRole;
+import org.apache.fineract.interoperation.domain.InteropTransferReservationStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+
+/**
+ * Keeps the state of interoperation transfers in <code>interop_transfer_reservation</code> and the amount they hold on
+ * the payer account in <code>m_savings_account.total_savings_amount_on_hold</code>.
+ *
+ * Every state change is a single conditional UPDATE, so concurrent or repeated prepare, commit and release requests of
+ * a transfer cannot both succeed, and neither the savings account aggregate nor its transaction history is loaded to
+ * hold or release funds. Updates of the savings account row increment its version so that a concurrent JPA update of
+ * the account made from a stale copy fails instead of overwriting the held amount. Must be called within a
+ * transaction.
+ */
+@Component
+public class InteropTransferEngine {
+
+    private static final String INSERT_RESERVATION_SQL = "insert into interop_transfer_reservation (savings_account_id, transfer_code, "
+            + "transaction_role, amount, status_enum, created_on) values (?, ?, ?, ?, ?, ?)";
+
+    private static final String RESERVATION_SQL = "select r.id as id, r.amount as amount, r.status_enum as status, "
+            + "r.hold_transaction_id as holdTransactionId from interop_transfer_reservation r where r.savings_account_id = ? and r.transfer_code = ? and r.transaction_role = ?";
+
+    private static final String UPDATE_RESERVATION_STATUS_SQL = "update interop_transfer_reservation set status_enum = ?, modified_on = ? "
+            + "where id = ? and status_enum = ?";
+
+    // same formula as SavingsAccount.getWithdrawableBalance()
+    private static final String HOLD_AMOUNT_SQL = "update m_savings_account sa "
+            + "set sa.total_savings_amount_on_hold = ifnull(sa.total_savings_amount_on_hold, 0) + ?, sa.version = sa.version + 1 "
+            + "where sa.id = ? and ifnull(sa.account_balance_derived, 0) - ifnull(sa.on_hold_funds_derived, 0) "
+            + "- ifnull(sa.total_savings_amount_on_hold, 0) "
+            + "- (case when sa.enforce_min_required_balance = 1 then ifnull(sa.min_required_balance, 0) else 0 end) "
+            + "+ (case when sa.allow_overdraft = 1 then ifnull(sa.overdraft_limit, 0) else 0 end) >= ?";
+
+    private static final String RELEASE_AMOUNT_SQL = "update m_savings_account sa "
+            + "set sa.total_savings_amount_on_hold = sa.total_savings_amount_on_hold - ?, sa.version = sa.version + 1 "
+            + "where sa.id = ? and sa.total_savings_amount_on_hold >= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public InteropTransferEngine(final RoutingDataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * Records the transfer as prepared and holds the amount on the account if its withdrawable balance covers it.
+     */
+    public void prepare(final Long savingsAccountId, final String transferCode, final BigDecimal amount) {
+        insertReservation(savingsAccountId, transferCode, InteropTransactionRole.PAYER, amount, InteropTransferReservationStatus.PREPARED,
+                "Transfer amount was already put on hold " + transferCode);
+
+        if (this.jdbcTemplate.update(HOLD_AMOUNT_SQL, amount, savingsAccountId, amount) == 0) {
+            throw new HttpClientErrorException(HttpStatus.BAD_REQUEST, "Not enough balance amount for requested amount plus fees!");
+        }
+    }
+
+    /**
+     * Marks the prepared transfer as committed. The held amount is left on the account, the caller releases it together
+     * with posting the withdrawal.
+     *
+     * @return the reservation of the transfer, with the amount it holds
+     */
+    public Reservation commitDebit(final Long savingsAccountId, final String transferCode) {
+        final Reservation reservation = findReservation(savingsAccountId, transferCode, InteropTransactionRole.PAYER);
+        if (reservation == null || reservation.status == InteropTransferReservationStatus.RELEASED) {
+            throw new HttpClientErrorException(HttpStatus.NOT_FOUND, "Missing onhold transaction for transfer: " + transferCode);
+        }
+        if (!reservation.status.isPrepared() || !updateStatus(reservation.id, InteropTransferReservationStatus.PREPARED,
+                InteropTransferReservationStatus.COMMITTED)) {
+            throw new HttpClientErrorException(HttpStatus.TOO_MANY_REQUESTS, "Transfer was already committed with code: " + transferCode);
+        }
+        return reservation;
+    }
+
+    /**
+     * Records the credit of the transfer as committed, credits are not prepared.
+     */
+    public void commitCredit(final Long savingsAccountId, final String transferCode, final BigDecimal amount) {
+        insertReservation(savingsAccountId, transferCode, InteropTransactionRole.PAYEE, amount, InteropTransferReservationStatus.COMMITTED,
+                "Transfer was already committed with code: " + transferCode);
+    }
+
+    /**
+     * Marks the prepared transfer as released and gives the held amount back to the account.
+     *
+     * @return the released reservation of the transfer
+     */
+    public Reservation release(final Long savingsAccountId, final String transferCode) {
+        final Reservation reservation = findReservation(savingsAccountId, transferCode, InteropTransactionRole.PAYER);
+        if (reservation == null || !reservation.status.isPrepared()
+                || !updateStatus(reservation.id, InteropTransferReservationStatus.PREPARED, InteropTransferReservationStatus.RELEASED)) {
+            throw new HttpClientErrorException(HttpStatus.BAD_REQUEST,
+                    "No active onhold transaction exists with transferCode " + transferCode);
+        }
+        if (this.jdbcTemplate.update(RELEASE_AMOUNT_SQL, reservation.amount, savingsAccountId, reservation.amount) == 0) {
+            throw new HttpClientErrorException(HttpStatus.CONFLICT,
+                    "Amount held for transfer " + transferCode + " is no longer on hold on the account");
+        }
+        return reservation;
+    }
+
+    private void insertReservation(final Long savingsAccountId, final String transferCode, final InteropTransactionRole role,
+            final BigDecimal amount, final InteropTransferReservationStatus status, final String duplicateMessage) {
+        try {
+            this.jdbcTemplate.update(INSERT_RESERVATION_SQL, savingsAccountId, transferCode, role.name(), amount, status.getValue(),
+                    new Date());
+        } catch (final DuplicateKeyException e) {
+            throw new HttpClientErrorException(HttpStatus.TOO_MANY_REQUESTS, duplicateMessage);
+        }
+    }
+
+    private Reservation findReservation(final Long savingsAccountId, final String transferCode, final InteropTransactionRole role) {
+        final List<Reservation> reservations = this.jdbcTemplate.query(RESERVATION_SQL,
+                (rs, rowNum) -> new Reservation(rs.getLong("id"), rs.getBigDecimal("amount"),
+                        InteropTransferReservationStatus.fromInt(rs.getInt("status")), rs.getObject("holdTransactionId", Long.class)),
+                savingsAccountId, transferCode, role.name());
+        return reservations.isEmpty() ? null : reservations.get(0);
+    }
+
+    private boolean updateStatus(final Long reservationId, final InteropTransferReservationStatus expectedStatus,
+            final InteropTransferReservationStatus newStatus) {
+        return this.jdbcTemplate.update(UPDATE_RESERVATION_STATUS_SQL, newStatus.getValue(), new Date(), reservationId,
+                expectedStatus.getValue()) == 1;
+    }
+
+    /**
+     * Payer side of a transfer, as stored in <code>interop_transfer_reservation</code>.
+     */
+    static final class Reservation {
+
+        private final Long id;
+        private final BigDecimal amount;
+        private final InteropTransferReservationStatus status;
+        private final Long holdTransactionId;
+
+        private Reservation(final Long id, final BigDecimal amount, final InteropTransferReservationStatus status,
+                final Long holdTransactionId) {
+            this.id = id;
+            this.amount = amount;
+            this.status = status;
+            this.holdTransactionId = holdTransactionId;
+        }
+
+        BigDecimal getAmount() {
+            return this.amount;
+        }
+
+        /**
+         * @return the AMOUNT_HOLD savings transaction of a transfer prepared before reservations were introduced, or
+         *         <code>null</code>
+         */
+        Long getHoldTransactionId() {
+            return this.holdTransactionId;
+        }
+    }
+}
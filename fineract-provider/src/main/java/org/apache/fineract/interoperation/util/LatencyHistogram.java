@@ -0,0 +1,108 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.interoperation.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock free histogram of latencies in milliseconds with fixed bucket bounds, cheap enough to be updated on every
+ * request.
+ */
+public final class LatencyHistogram {
+
+    /** Inclusive upper bounds of the buckets in milliseconds, the last bucket has no upper bound. */
+    public static final long[] BUCKET_BOUNDS_MILLIS = { 1, 2, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000 };
+
+    private final LongAdder[] buckets = new LongAdder[BUCKET_BOUNDS_MILLIS.length + 1];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalMillis = new LongAdder();
+    private final AtomicLong maxMillis = new AtomicLong();
+
+    public LatencyHistogram() {
+        for (int i = 0; i < this.buckets.length; i++) {
+            this.buckets[i] = new LongAdder();
+        }
+    }
+
+    public void record(final long millis) {
+        final long value = Math.max(0, millis);
+        this.buckets[bucketOf(value)].increment();
+        this.count.increment();
+        this.totalMillis.add(value);
+        this.maxMillis.accumulateAndGet(value, Math::max);
+    }
+
+    public long getCount() {
+        return this.count.sum();
+    }
+
+    public long getTotalMillis() {
+        return this.totalMillis.sum();
+    }
+
+    public long getMaxMillis() {
+        return this.maxMillis.get();
+    }
+
+    /**
+     * @return the number of recorded latencies per bucket, in the order of {@link #BUCKET_BOUNDS_MILLIS} followed by the
+     *         unbounded bucket
+     */
+    public long[] getBucketCounts() {
+        final long[] counts = new long[this.buckets.length];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = this.buckets[i].sum();
+        }
+        return counts;
+    }
+
+    /**
+     * @return the upper bound of the bucket the percentile falls in, or the maximum for the unbounded bucket; 0 when
+     *         nothing was recorded
+     */
+    public long getPercentileMillis(final double percentile) {
+        final long[] counts = getBucketCounts();
+        long total = 0;
+        for (final long bucketCount : counts) {
+            total += bucketCount;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        final long rank = (long) Math.ceil(percentile / 100.0 * total);
+        long seen = 0;
+        for (int i = 0; i < BUCKET_BOUNDS_MILLIS.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return BUCKET_BOUNDS_MILLIS[i];
+            }
+        }
+        return getMaxMillis();
+    }
+
+    private static int bucketOf(final long millis) {
+        for (int i = 0; i < BUCKET_BOUNDS_MILLIS.length; i++) {
+            if (millis <= BUCKET_BOUNDS_MILLIS[i]) {
+                return i;
+            }
+        }
+        return BUCKET_BOUNDS_MILLIS.length;
+    }
+}
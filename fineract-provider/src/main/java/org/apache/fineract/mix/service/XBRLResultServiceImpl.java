@@ -29,7 +29,7 @@ import java.util.regex.Pattern;
 import javax.script.ScriptEngine;
 import javax.script.ScriptEngineManager;
 import javax.script.ScriptException;
-import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
+import org.apache.fineract.accounting.journalentry.service.GLDailyBalanceReadPlatformService;
 import org.apache.fineract.mix.data.MixTaxonomyData;
 import org.apache.fineract.mix.data.MixTaxonomyMappingData;
 import org.apache.fineract.mix.data.XBRLData;
@@ -37,8 +37,6 @@ import org.apache.fineract.mix.exception.XBRLMappingInvalidException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.jdbc.core.JdbcTemplate;
-import org.springframework.jdbc.support.rowset.SqlRowSet;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -49,15 +47,15 @@ public class XBRLResultServiceImpl implements XBRLResultService {
 
     private final MixTaxonomyMappingReadPlatformService readTaxonomyMappingService;
     private final MixTaxonomyReadPlatformService readTaxonomyService;
-    private final JdbcTemplate jdbcTemplate;
-    private HashMap<String, BigDecimal> accountBalanceMap;
+    private final GLDailyBalanceReadPlatformService glDailyBalanceReadPlatformService;
 
     @Autowired
-    public XBRLResultServiceImpl(final RoutingDataSource dataSource, final MixTaxonomyMappingReadPlatformService readTaxonomyMappingService,
-            final MixTaxonomyReadPlatformService readTaxonomyService) {
+    public XBRLResultServiceImpl(final MixTaxonomyMappingReadPlatformService readTaxonomyMappingService,
+            final MixTaxonomyReadPlatformService readTaxonomyService,
+            final GLDailyBalanceReadPlatformService glDailyBalanceReadPlatformService) {
         this.readTaxonomyMappingService = readTaxonomyMappingService;
         this.readTaxonomyService = readTaxonomyService;
-        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.glDailyBalanceReadPlatformService = glDailyBalanceReadPlatformService;
     }
 
     @Override
@@ -86,9 +84,11 @@ public class XBRLResultServiceImpl implements XBRLResultService {
             }
             // <taxonomyId, value>
             final HashMap<MixTaxonomyData, BigDecimal> resultMap = new HashMap<>();
-            setupBalanceMap(getAccountSql(startDate, endDate));
+            // sums of the daily GL balance cells instead of aggregating the journal entries of the period
+            final Map<String, BigDecimal> accountBalanceMap = this.glDailyBalanceReadPlatformService
+                    .retrieveNetBalancesByGLCode(startDate.toLocalDate(), endDate.toLocalDate(), null);
             for (final Map.Entry<String, String> entry : configMap.entrySet()) {
-                final BigDecimal value = processMappingString(entry.getValue());
+                final BigDecimal value = processMappingString(entry.getValue(), accountBalanceMap);
                 if (value != null) {
                     final MixTaxonomyData taxonomy = this.readTaxonomyService.retrieveOne(Long.parseLong(entry.getKey()));
                     resultMap.put(taxonomy, value);
@@ -100,60 +100,12 @@ public class XBRLResultServiceImpl implements XBRLResultService {
         return null;
     }
 
-    private String getAccountSql(final Date startDate, final Date endDate) {
-        final String sql = "select debits.glcode as 'glcode', debits.name as 'name', (ifnull(debits.debitamount,0)-ifnull(credits.creditamount,0)) as 'balance' "
-                + "from (select acc_gl_account.gl_code as 'glcode',name,sum(amount) as 'debitamount' "
-                + "from acc_gl_journal_entry,acc_gl_account " + "where acc_gl_account.id = acc_gl_journal_entry.account_id "
-                + "and acc_gl_journal_entry.type_enum=2 " + "and acc_gl_journal_entry.entry_date <= " + endDate
-                + " and acc_gl_journal_entry.entry_date > " + startDate
-                // "and (acc_gl_journal_entry.office_id=${branch} or
-                // ${branch}=1) "
-                // +
-                + " group by glcode " + "order by glcode) debits " + "LEFT OUTER JOIN "
-                + "(select acc_gl_account.gl_code as 'glcode',name,sum(amount) as 'creditamount' "
-                + "from acc_gl_journal_entry,acc_gl_account " + "where acc_gl_account.id = acc_gl_journal_entry.account_id "
-                + "and acc_gl_journal_entry.type_enum=1 " + "and acc_gl_journal_entry.entry_date <= " + endDate
-                + " and acc_gl_journal_entry.entry_date > " + startDate
-                // "and (acc_gl_journal_entry.office_id=${branch} or
-                // ${branch}=1) "
-                // +
-                + " group by glcode " + "order by glcode) credits " + "on debits.glcode=credits.glcode " + "union "
-                + "select credits.glcode as 'glcode', credits.name as 'name', (ifnull(debits.debitamount,0)-ifnull(credits.creditamount,0)) as 'balance' "
-                + "from (select acc_gl_account.gl_code as 'glcode',name,sum(amount) as 'debitamount' "
-                + "from acc_gl_journal_entry,acc_gl_account " + "where acc_gl_account.id = acc_gl_journal_entry.account_id "
-                + "and acc_gl_journal_entry.type_enum=2 " + "and acc_gl_journal_entry.entry_date <= " + endDate
-                + " and acc_gl_journal_entry.entry_date > " + startDate
-                // "and (acc_gl_journal_entry.office_id=${branch} or
-                // ${branch}=1) "
-                // +
-                + " group by glcode " + "order by glcode) debits " + "RIGHT OUTER JOIN "
-                + "(select acc_gl_account.gl_code as 'glcode',name,sum(amount) as 'creditamount' "
-                + "from acc_gl_journal_entry,acc_gl_account " + "where acc_gl_account.id = acc_gl_journal_entry.account_id "
-                + "and acc_gl_journal_entry.type_enum=1 " + "and acc_gl_journal_entry.entry_date <= " + endDate
-                + " and acc_gl_journal_entry.entry_date > " + startDate
-                // "and (acc_gl_journal_entry.office_id=${branch} or
-                // ${branch}=1) "
-                // +
-                + " group by name, glcode " + "order by glcode) credits " + "on debits.glcode=credits.glcode;";
-        return sql;
-    }
-
-    private void setupBalanceMap(final String sql) {
-        if (this.accountBalanceMap == null) {
-            this.accountBalanceMap = new HashMap<>();
-            final SqlRowSet rs = this.jdbcTemplate.queryForRowSet(sql);
-            while (rs.next()) {
-                this.accountBalanceMap.put(rs.getString("glcode"), rs.getBigDecimal("balance"));
-            }
-        }
-    }
-
     // Calculate Taxonomy value from expression
-    private BigDecimal processMappingString(String mappingString) {
+    private BigDecimal processMappingString(String mappingString, final Map<String, BigDecimal> accountBalanceMap) {
         final ArrayList<String> glCodes = getGLCodes(mappingString);
         for (final String glcode : glCodes) {
 
-            final BigDecimal balance = this.accountBalanceMap.get(glcode);
+            final BigDecimal balance = accountBalanceMap.get(glcode);
             mappingString = mappingString.replaceAll("\\{" + glcode + "\\}", balance != null ? balance.toString() : "0");
         }
 
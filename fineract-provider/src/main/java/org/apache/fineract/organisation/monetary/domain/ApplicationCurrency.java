@@ -18,6 +18,7 @@
  */
 package org.apache.fineract.organisation.monetary.domain;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.Table;
@@ -26,6 +27,7 @@ import org.apache.fineract.organisation.monetary.data.CurrencyData;
 import org.apache.fineract.organisation.office.domain.OrganisationCurrency;
 
 @Entity
+@Cacheable
 @Table(name = "m_currency")
 public class ApplicationCurrency extends AbstractPersistableCustom {
 
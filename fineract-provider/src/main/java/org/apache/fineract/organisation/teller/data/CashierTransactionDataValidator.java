@@ -22,11 +22,9 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZonedDateTime;
-import java.util.Date;
 import org.apache.fineract.infrastructure.core.api.JsonCommand;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
 import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
-import org.apache.fineract.infrastructure.core.service.SearchParameters;
 import org.apache.fineract.organisation.teller.domain.Cashier;
 import org.apache.fineract.organisation.teller.domain.Teller;
 import org.apache.fineract.organisation.teller.exception.CashierAlreadyAlloacated;
@@ -56,17 +54,9 @@ public class CashierTransactionDataValidator {
     }
 
     public void validateSettleCashAndCashOutTransactions(final Long cashierId, String currencyCode, final BigDecimal transactionAmount) {
-
-        final Integer offset = null;
-        final Integer limit = null;
-        final String orderBy = null;
-        final String sortOrder = null;
-        final Date fromDate = null;
-        final Date toDate = null;
-        final SearchParameters searchParameters = SearchParameters.forPagination(offset, limit, orderBy, sortOrder);
-        final CashierTransactionsWithSummaryData cashierTxnWithSummary = this.tellerManagementReadPlatformService
-                .retrieveCashierTransactionsWithSummary(cashierId, false, fromDate, toDate, currencyCode, searchParameters);
-        if (cashierTxnWithSummary.getNetCash().subtract(transactionAmount).compareTo(BigDecimal.ZERO) < 0) {
+        // reads the net cash without rebuilding the summary, which would lock the cashier within the validating transaction
+        final BigDecimal netCash = this.tellerManagementReadPlatformService.retrieveCashierNetCash(cashierId, currencyCode);
+        if (netCash.subtract(transactionAmount).compareTo(BigDecimal.ZERO) < 0) {
             throw new CashierInsufficientAmountException();
         }
     }
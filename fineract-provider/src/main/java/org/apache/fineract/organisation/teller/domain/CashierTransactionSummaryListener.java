@@ -0,0 +1,147 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.organisation.teller.domain;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.persistence.EntityManagerFactory;
+import org.apache.fineract.infrastructure.core.domain.AbstractPersistableCustom;
+import org.apache.fineract.organisation.teller.domain.CashierTransactionSummaryQueue.Source;
+import org.apache.fineract.portfolio.client.domain.ClientTransaction;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanTransaction;
+import org.apache.fineract.portfolio.paymentdetail.domain.PaymentDetail;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccountTransaction;
+import org.apache.fineract.useradministration.domain.AppUser;
+import org.apache.openjpa.event.DeleteListener;
+import org.apache.openjpa.event.LifecycleEvent;
+import org.apache.openjpa.event.PostPersistListener;
+import org.apache.openjpa.event.UpdateListener;
+import org.apache.openjpa.persistence.OpenJPAPersistence;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Lifecycle listener of the transactions reported by the cashier transaction summary, marking the days they are
+ * summarised under dirty whenever they are written. It registers itself with the entity manager factory when Spring
+ * creates it.
+ *
+ * Rows are marked once they are in the database: after the insert or update, as the transaction commits, and at once
+ * before the delete. Only transactions the summary can report are marked: those paid in cash or without payment
+ * details, made by a user linked to a staff member that can be allocated as a cashier. Transactions paid by other
+ * means, and the accruals and interest postings of the jobs, made by users without a staff member, are left out.
+ */
+@Component
+public class CashierTransactionSummaryListener implements PostPersistListener, UpdateListener, DeleteListener {
+
+    private final CashierTransactionSummaryQueue queue;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    public CashierTransactionSummaryListener(final CashierTransactionSummaryQueue queue,
+            final EntityManagerFactory entityManagerFactory) {
+        this.queue = queue;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @PostConstruct
+    public void register() {
+        OpenJPAPersistence.cast(this.entityManagerFactory).addLifecycleListener(this, CashierTransaction.class,
+                SavingsAccountTransaction.class, LoanTransaction.class, ClientTransaction.class);
+    }
+
+    @PreDestroy
+    public void unregister() {
+        OpenJPAPersistence.cast(this.entityManagerFactory).removeLifecycleListener(this);
+    }
+
+    @Override
+    public void afterPersistPerformed(final LifecycleEvent event) {
+        markDirty(event.getSource());
+    }
+
+    @Override
+    public void beforeUpdate(final LifecycleEvent event) {
+        // marked once the update is performed
+    }
+
+    @Override
+    public void afterUpdatePerformed(final LifecycleEvent event) {
+        markDirty(event.getSource());
+    }
+
+    @Override
+    public void beforeDelete(final LifecycleEvent event) {
+        final Object transaction = event.getSource();
+        if (isSummarised(transaction)) {
+            this.queue.markRemoved(sourceOf(transaction), ((AbstractPersistableCustom) transaction).getId());
+        }
+    }
+
+    @Override
+    public void afterDelete(final LifecycleEvent event) {
+        // marked before the delete, while the row can still be read
+    }
+
+    private void markDirty(final Object transaction) {
+        if (isSummarised(transaction)) {
+            this.queue.markDirty(sourceOf(transaction), ((AbstractPersistableCustom) transaction).getId());
+        }
+    }
+
+    /**
+     * Mirrors the conditions of the cashier transaction summary that can be told from the entity itself; whether the
+     * staff member is allocated as a cashier on the transaction date is left to the statement marking the days.
+     */
+    static boolean isSummarised(final Object transaction) {
+        if (!(transaction instanceof AbstractPersistableCustom) || ((AbstractPersistableCustom) transaction).getId() == null) {
+            return false;
+        }
+        if (transaction instanceof SavingsAccountTransaction) {
+            final SavingsAccountTransaction savingsTransaction = (SavingsAccountTransaction) transaction;
+            return isCashierUser(savingsTransaction.getAppUser()) && isCashPayment(savingsTransaction.getPaymentDetail());
+        } else if (transaction instanceof LoanTransaction) {
+            final LoanTransaction loanTransaction = (LoanTransaction) transaction;
+            return isCashierUser(loanTransaction.getAppUser()) && isCashPayment(loanTransaction.getPaymentDetail());
+        } else if (transaction instanceof ClientTransaction) {
+            final ClientTransaction clientTransaction = (ClientTransaction) transaction;
+            return isCashierUser(clientTransaction.getAppUser()) && isCashPayment(clientTransaction.getPaymentDetail());
+        }
+        return transaction instanceof CashierTransaction;
+    }
+
+    private static boolean isCashierUser(final AppUser appUser) {
+        return appUser != null && appUser.getStaff() != null;
+    }
+
+    private static boolean isCashPayment(final PaymentDetail paymentDetail) {
+        return paymentDetail == null
+                || (paymentDetail.getPaymentType() != null && Boolean.TRUE.equals(paymentDetail.getPaymentType().isCashPayment()));
+    }
+
+    private static Source sourceOf(final Object transaction) {
+        if (transaction instanceof SavingsAccountTransaction) {
+            return Source.SAVINGS;
+        } else if (transaction instanceof LoanTransaction) {
+            return Source.LOANS;
+        } else if (transaction instanceof ClientTransaction) {
+            return Source.CLIENT;
+        }
+        return Source.CASHIER;
+    }
+}
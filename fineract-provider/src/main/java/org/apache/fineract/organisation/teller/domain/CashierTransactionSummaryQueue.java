@@ -0,0 +1,218 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.organisation.teller.domain;
+
+import com.google.common.collect.Lists;
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Change tracking for the cashier transaction summary. Every write of a transaction that the summary reports marks the
+ * day it is summarised under dirty for each cashier it belongs to, in the same transaction; reading the summary
+ * rebuilds the dirty days of the cashier and clears the marks it has processed.
+ *
+ * Within a transaction the written transactions are only collected; their days are marked with one statement per
+ * source table right before the transaction commits, rather than with one statement per entity write.
+ *
+ * Each mark carries a version that is bumped on every write, so a day written again while it is rebuilt stays dirty
+ * for the next read.
+ */
+@Repository
+public class CashierTransactionSummaryQueue {
+
+    /**
+     * The tables whose transactions are summarised, with the statement selecting the days of some of their rows, up to
+     * the list of row ids. Other than cashier transactions, a transaction belongs to the cashiers allocated to the staff
+     * of the user that made it around the transaction date.
+     */
+    public enum Source {
+
+        CASHIER("select distinct txn.cashier_id, date(txn.created_date) as summary_date from m_cashier_transactions txn "
+                + "where txn.id in ("), //
+        SAVINGS(staffTransactionDays("m_savings_account_transaction")), //
+        LOANS(staffTransactionDays("m_loan_transaction")), //
+        CLIENT(staffTransactionDays("m_client_transaction"));
+
+        private final String dirtyDaysSql;
+
+        Source(final String dirtyDaysSql) {
+            this.dirtyDaysSql = dirtyDaysSql;
+        }
+
+        private static String staffTransactionDays(final String table) {
+            return "select distinct c.id as cashier_id, txn.transaction_date as summary_date from " + table + " txn "
+                    + "join m_appuser u on u.id = txn.appuser_id join m_cashiers c on c.staff_id = u.staff_id "
+                    + "where txn.transaction_date between c.start_date and date_add(c.end_date, interval 1 day) and txn.id in (";
+        }
+    }
+
+    private static final String ON_DUPLICATE_MARK = " on duplicate key update m_cashier_txn_summary_dirty.version = "
+            + "m_cashier_txn_summary_dirty.version + 1";
+
+    private static final int TRANSACTIONS_PER_STATEMENT = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    public CashierTransactionSummaryQueue(final RoutingDataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * Marks the days of a written transaction dirty before the current transaction commits, or at once when there is
+     * no transaction.
+     */
+    public void markDirty(final Source source, final Long transactionId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            markDirty(source, Collections.singleton(transactionId));
+            return;
+        }
+        currentMarks().add(source, transactionId);
+    }
+
+    /**
+     * Marks the days of a transaction that is about to be deleted dirty at once, while its row can still be read.
+     */
+    public void markRemoved(final Source source, final Long transactionId) {
+        markDirty(source, Collections.singleton(transactionId));
+    }
+
+    /**
+     * Looks the pending marks up among the synchronizations of the current transaction, so that a nested REQUIRES_NEW
+     * transaction collects and writes its own.
+     */
+    private PendingMarks currentMarks() {
+        for (final TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingMarks) {
+                return (PendingMarks) synchronization;
+            }
+        }
+        final PendingMarks marks = new PendingMarks();
+        TransactionSynchronizationManager.registerSynchronization(marks);
+        return marks;
+    }
+
+    private void markDirty(final Source source, final Collection<Long> transactionIds) {
+        for (final List<Long> ids : Lists.partition(new ArrayList<>(transactionIds), TRANSACTIONS_PER_STATEMENT)) {
+            final String placeholders = String.join(",", Collections.nCopies(ids.size(), "?"));
+            this.jdbcTemplate.update("insert into m_cashier_txn_summary_dirty (cashier_id, summary_date, version) select dirty.*, 1 from ("
+                    + source.dirtyDaysSql + placeholders + ")) dirty" + ON_DUPLICATE_MARK, ids.toArray());
+        }
+    }
+
+    /**
+     * Marks every day the cashier has transactions on dirty, as needed when the allocation of the cashier changes.
+     */
+    public void markAllDirty(final Long cashierId) {
+        this.jdbcTemplate.update("insert into m_cashier_txn_summary_dirty (cashier_id, summary_date, version) "
+                + "select distinct cashier_id, summary_date, 1 from m_cashier_txn_summary where cashier_id = ?" + ON_DUPLICATE_MARK,
+                cashierId);
+        this.jdbcTemplate.update("insert into m_cashier_txn_summary_dirty (cashier_id, summary_date, version) "
+                + "select distinct txn.cashier_id, date(txn.created_date), 1 from m_cashier_transactions txn where txn.cashier_id = ?"
+                + ON_DUPLICATE_MARK, cashierId);
+        for (final String table : new String[] { "m_savings_account_transaction", "m_loan_transaction", "m_client_transaction" }) {
+            this.jdbcTemplate.update("insert into m_cashier_txn_summary_dirty (cashier_id, summary_date, version) "
+                    + "select distinct c.id, txn.transaction_date, 1 from " + table + " txn join m_appuser u on u.id = txn.appuser_id "
+                    + "join m_cashiers c on c.staff_id = u.staff_id where c.id = ? "
+                    + "and txn.transaction_date between c.start_date and date_add(c.end_date, interval 1 day)" + ON_DUPLICATE_MARK,
+                    cashierId);
+        }
+    }
+
+    /**
+     * @return the dirty days of the cashier, as day to version of the mark, in day order
+     */
+    public Map<Date, Long> retrieveDirtyDays(final Long cashierId) {
+        final Map<Date, Long> dirtyDays = new LinkedHashMap<>();
+        this.jdbcTemplate.query("select summary_date, version from m_cashier_txn_summary_dirty where cashier_id = ? order by summary_date",
+                rs -> {
+                    dirtyDays.put(rs.getDate("summary_date"), rs.getLong("version"));
+                }, cashierId);
+        return dirtyDays;
+    }
+
+    /**
+     * Clears the marks of the cashier unless the day was written again after the given versions were read.
+     */
+    public void clear(final Long cashierId, final Map<Date, Long> dirtyDays) {
+        final List<Object[]> batchArgs = new ArrayList<>(dirtyDays.size());
+        for (final Map.Entry<Date, Long> dirtyDay : dirtyDays.entrySet()) {
+            batchArgs.add(new Object[] { cashierId, dirtyDay.getKey(), dirtyDay.getValue() });
+        }
+        this.jdbcTemplate.batchUpdate("delete from m_cashier_txn_summary_dirty where cashier_id = ? and summary_date = ? and version = ?",
+                batchArgs);
+    }
+
+    /**
+     * Removes the summary and the marks of a cashier whose allocation is deleted.
+     */
+    public void remove(final Long cashierId) {
+        this.jdbcTemplate.update("delete from m_cashier_txn_summary where cashier_id = ?", cashierId);
+        this.jdbcTemplate.update("delete from m_cashier_txn_summary_dirty where cashier_id = ?", cashierId);
+    }
+
+    private final class PendingMarks extends TransactionSynchronizationAdapter {
+
+        // sorted, so that concurrent transactions mark the days in the same order
+        private final Map<Source, SortedSet<Long>> transactionIds = new EnumMap<>(Source.class);
+        private boolean written;
+
+        @Override
+        public void beforeCommit(final boolean readOnly) {
+            // entities written since the last flush only report themselves to the listener once they are flushed
+            if (!readOnly) {
+                CashierTransactionSummaryQueue.this.entityManager.flush();
+            }
+            for (final Map.Entry<Source, SortedSet<Long>> pending : this.transactionIds.entrySet()) {
+                markDirty(pending.getKey(), pending.getValue());
+            }
+            this.transactionIds.clear();
+            this.written = true;
+        }
+
+        void add(final Source source, final Long transactionId) {
+            if (this.written) {
+                // flushed as the transaction commits, after the pending marks were written
+                markDirty(source, Collections.singleton(transactionId));
+                return;
+            }
+            this.transactionIds.computeIfAbsent(source, key -> new TreeSet<>()).add(transactionId);
+        }
+    }
+}
@@ -0,0 +1,207 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.organisation.teller.service;
+
+import com.google.common.collect.Lists;
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
+import org.apache.fineract.organisation.teller.domain.CashierTransactionSummaryQueue;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+public class CashierTransactionSummaryWritePlatformServiceImpl implements CashierTransactionSummaryWritePlatformService {
+
+    private static final int DAYS_PER_STATEMENT = 100;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CashierTransactionSummaryQueue cashierTransactionSummaryQueue;
+
+    @Autowired
+    public CashierTransactionSummaryWritePlatformServiceImpl(final RoutingDataSource dataSource,
+            final CashierTransactionSummaryQueue cashierTransactionSummaryQueue) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.cashierTransactionSummaryQueue = cashierTransactionSummaryQueue;
+    }
+
+    @Transactional
+    @Override
+    public void refreshSummary(final Long cashierId) {
+        // locking the cashier serialises concurrent rebuilds of its days
+        this.jdbcTemplate.queryForList("select id from m_cashiers where id = ? for update", Long.class, cashierId);
+
+        final Map<Date, Long> dirtyDays = this.cashierTransactionSummaryQueue.retrieveDirtyDays(cashierId);
+        if (dirtyDays.isEmpty()) {
+            return;
+        }
+        for (final List<Date> days : Lists.partition(new ArrayList<>(dirtyDays.keySet()), DAYS_PER_STATEMENT)) {
+            final String placeholders = String.join(",", Collections.nCopies(days.size(), "?"));
+
+            final List<Object> deleteArgs = new ArrayList<>(days.size() + 1);
+            deleteArgs.add(cashierId);
+            deleteArgs.addAll(days);
+            this.jdbcTemplate.update("delete from m_cashier_txn_summary where cashier_id = ? and summary_date in (" + placeholders + ")",
+                    deleteArgs.toArray());
+
+            final List<Object> insertArgs = new ArrayList<>(4 * (days.size() + 1) + 1);
+            insertArgs.add(cashierId);
+            for (int part = 0; part < 4; part++) {
+                insertArgs.add(cashierId);
+                insertArgs.addAll(days);
+            }
+            this.jdbcTemplate.update("insert into m_cashier_txn_summary "
+                    + "(cashier_id, summary_date, currency_code, office_id, cash_txn_type, txn_total) select ?, rebuilt.* from ("
+                    + cashTotalsSql(placeholders) + ") rebuilt", insertArgs.toArray());
+        }
+        this.cashierTransactionSummaryQueue.clear(cashierId, dirtyDays);
+    }
+
+    /**
+     * The cash transactions of a cashier on the given days summed up per day, currency, office and cashier transaction
+     * type. Cashier transactions count on the day they were created, all others on their transaction date.
+     *
+     * Each of the four parts takes the cashier id followed by the arguments of <code>daysSql</code>, which is either a
+     * list of placeholders or a query for the days.
+     */
+    static String cashTotalsSql(final String daysSql) {
+        final StringBuilder sqlBuilder = new StringBuilder(4000);
+
+        sqlBuilder.append("select summary_date, currency_code, office_id, cash_txn_type, sum(txn_amount) as txn_total from ");
+        sqlBuilder.append(" (select * from ");
+        sqlBuilder.append(" (select txn.id as txn_id, 'cashier' as entity_type, date(txn.created_date) as summary_date, ");
+        sqlBuilder.append("    txn.currency_code as currency_code, o.id as office_id, ");
+        sqlBuilder.append("    txn.txn_type as cash_txn_type, txn.txn_amount as txn_amount ");
+        sqlBuilder.append("    from m_cashier_transactions txn ");
+        sqlBuilder.append("    left join m_cashiers c on c.id = txn.cashier_id ");
+        sqlBuilder.append("    left join m_tellers t on t.id = c.teller_id ");
+        sqlBuilder.append("    left join m_office o on o.id = t.office_id ");
+        sqlBuilder.append("    where txn.cashier_id = ? ");
+        sqlBuilder.append("    and date(txn.created_date) in (").append(daysSql).append(") ");
+        sqlBuilder.append(" AND (( case when c.full_day then Date(txn.created_date) between c.start_date AND c.end_date ");
+        sqlBuilder.append(" else ( Date(txn.created_date) between c.start_date AND c.end_date) ");
+        sqlBuilder.append(" and ( TIME(txn.created_date) between TIME(c.start_time) AND TIME(c.end_time)) end) or txn.txn_type = 101) ");
+        sqlBuilder.append("    ) cashier_txns ");
+        sqlBuilder.append("    UNION ");
+        sqlBuilder.append("    (select sav_txn.id as txn_id, 'savings' as entity_type, sav_txn.transaction_date as summary_date, ");
+        sqlBuilder.append("    sav.currency_code as currency_code, o.id as office_id, ");
+        sqlBuilder.append("    case ");
+        sqlBuilder.append("        when renum.enum_value in ('deposit','withdrawal fee', 'Pay Charge', 'Annual Fee') ");
+        sqlBuilder.append("            then 103 ");
+        sqlBuilder.append("        when renum.enum_value in ('withdrawal', 'Waive Charge', 'Interest Posting', 'Overdraft Interest') ");
+        sqlBuilder.append("            then 104 ");
+        sqlBuilder.append("        else ");
+        sqlBuilder.append("            105 ");
+        sqlBuilder.append("    end as cash_txn_type, ");
+        sqlBuilder.append("    sav_txn.amount as txn_amount ");
+        sqlBuilder.append("    from m_savings_account_transaction sav_txn ");
+        sqlBuilder.append("    left join r_enum_value renum on sav_txn.transaction_type_enum = renum.enum_id ");
+        sqlBuilder.append("    and renum.enum_name = 'savings_transaction_type_enum' ");
+        sqlBuilder.append("    left join m_savings_account sav on sav_txn.savings_account_id = sav.id ");
+        sqlBuilder.append("    left join m_client cl on sav.client_id = cl.id ");
+        sqlBuilder.append("    left join m_office o on cl.office_id = o.id ");
+        sqlBuilder.append("    left join m_appuser user on sav_txn.appuser_id = user.id ");
+        sqlBuilder.append("    left join m_staff staff on user.staff_id = staff.id ");
+        sqlBuilder.append("    left join m_cashiers c on c.staff_id = staff.id ");
+        sqlBuilder.append(" left join m_payment_detail payDetails on payDetails.id = sav_txn.payment_detail_id ");
+        sqlBuilder.append(" left join m_payment_type payType on payType.id = payDetails.payment_type_id ");
+        sqlBuilder.append(" left join m_account_transfer_transaction acnttrans ");
+        sqlBuilder.append(" on (acnttrans.from_savings_transaction_id = sav_txn.id ");
+        sqlBuilder.append(" or acnttrans.to_savings_transaction_id = sav_txn.id) ");
+        sqlBuilder.append("    where sav_txn.is_reversed = 0 and c.id = ? ");
+        sqlBuilder.append("    and sav_txn.transaction_date in (").append(daysSql).append(") ");
+        sqlBuilder.append("    and sav_txn.transaction_date between c.start_date and date_add(c.end_date, interval 1 day) ");
+        sqlBuilder.append("    and (sav_txn.payment_detail_id IS NULL OR payType.is_cash_payment = 1) ");
+        sqlBuilder.append("    AND acnttrans.id IS NULL  ");
+        sqlBuilder.append("    ) ");
+        sqlBuilder.append("    UNION ");
+        sqlBuilder.append("    ( ");
+        sqlBuilder.append("    select loan_txn.id as txn_id, 'loans' as entity_type, loan_txn.transaction_date as summary_date, ");
+        sqlBuilder.append("    loan.currency_code as currency_code, o.id as office_id, ");
+        sqlBuilder.append("    case ");
+        sqlBuilder.append(
+                "        when renum.enum_value in ('REPAYMENT_AT_DISBURSEMENT','REPAYMENT', 'RECOVERY_REPAYMENT', 'CHARGE_PAYMENT') ");
+        sqlBuilder.append("            then 103 ");
+        sqlBuilder.append("        when renum.enum_value in ('DISBURSEMENT', 'WAIVE_INTEREST', 'WRITEOFF', 'WAIVE_CHARGES') ");
+        sqlBuilder.append("            then 104 ");
+        sqlBuilder.append("        else ");
+        sqlBuilder.append("            105 ");
+        sqlBuilder.append("    end as cash_txn_type, ");
+        sqlBuilder.append("    loan_txn.amount as txn_amount ");
+        sqlBuilder.append("    from m_loan_transaction loan_txn ");
+        sqlBuilder.append("    left join r_enum_value renum on loan_txn.transaction_type_enum = renum.enum_id ");
+        sqlBuilder.append("    and renum.enum_name = 'loan_transaction_type_enum' ");
+        sqlBuilder.append("    left join m_loan loan on loan_txn.loan_id = loan.id ");
+        sqlBuilder.append("    left join m_client cl on loan.client_id = cl.id ");
+        sqlBuilder.append("    left join m_office o on cl.office_id = o.id ");
+        sqlBuilder.append("    left join m_appuser user on loan_txn.appuser_id = user.id ");
+        sqlBuilder.append("    left join m_staff staff on user.staff_id = staff.id ");
+        sqlBuilder.append("    left join m_cashiers c on c.staff_id = staff.id ");
+        sqlBuilder.append(" left join m_payment_detail payDetails on payDetails.id = loan_txn.payment_detail_id ");
+        sqlBuilder.append(" left join m_payment_type payType on payType.id = payDetails.payment_type_id ");
+        sqlBuilder.append(" left join m_account_transfer_transaction acnttrans ");
+        sqlBuilder.append(" on (acnttrans.from_loan_transaction_id = loan_txn.id ");
+        sqlBuilder.append(" or acnttrans.to_loan_transaction_id = loan_txn.id) ");
+        sqlBuilder.append("    where loan_txn.is_reversed = 0 and c.id = ? ");
+        sqlBuilder.append("    and loan_txn.transaction_date in (").append(daysSql).append(") ");
+        sqlBuilder.append("    and loan_txn.transaction_date between c.start_date and date_add(c.end_date, interval 1 day) ");
+        sqlBuilder.append("    and (loan_txn.payment_detail_id IS NULL OR payType.is_cash_payment = 1) ");
+        sqlBuilder.append("    AND acnttrans.id IS NULL  ");
+        sqlBuilder.append("    ) ");
+        sqlBuilder.append("    UNION ");
+        sqlBuilder.append("    ( ");
+        sqlBuilder.append("    SELECT cli_txn.id AS txn_id, 'client' as entity_type, cli_txn.transaction_date as summary_date, ");
+        sqlBuilder.append("    cli_txn.currency_code as currency_code, o.id as office_id, ");
+        sqlBuilder.append("    case ");
+        sqlBuilder.append("        WHEN renum.enum_value IN ('PAY_CHARGE') ");
+        sqlBuilder.append("            then 103 ");
+        sqlBuilder.append("        WHEN renum.enum_value IN ('WAIVE_CHARGE') ");
+        sqlBuilder.append("            then 104 ");
+        sqlBuilder.append("        else ");
+        sqlBuilder.append("            105 ");
+        sqlBuilder.append("    end as cash_txn_type, ");
+        sqlBuilder.append("    cli_txn.amount as txn_amount ");
+        sqlBuilder.append("    from m_client_transaction cli_txn ");
+        sqlBuilder.append("    left join r_enum_value renum ON cli_txn.transaction_type_enum = renum.enum_id ");
+        sqlBuilder.append("    AND renum.enum_name = 'client_transaction_type_enum' ");
+        sqlBuilder.append("    left join m_client cl ON cli_txn.client_id = cl.id ");
+        sqlBuilder.append("    left join m_office o ON cl.office_id = o.id ");
+        sqlBuilder.append("    left join m_appuser user ON cli_txn.appuser_id = user.id ");
+        sqlBuilder.append("    left join m_staff staff ON user.staff_id = staff.id ");
+        sqlBuilder.append("    left join m_cashiers c ON c.staff_id = staff.id ");
+        sqlBuilder.append(" left join m_payment_detail payDetails on payDetails.id = cli_txn.payment_detail_id ");
+        sqlBuilder.append(" left join m_payment_type payType on payType.id = payDetails.payment_type_id ");
+        sqlBuilder.append("    where cli_txn.is_reversed = 0 AND c.id = ?    ");
+        sqlBuilder.append("    and cli_txn.transaction_date in (").append(daysSql).append(") ");
+        sqlBuilder.append("    and cli_txn.transaction_date between c.start_date and date_add(c.end_date, interval 1 day) ");
+        sqlBuilder.append(" and (cli_txn.payment_detail_id IS NULL OR payType.is_cash_payment = 1)  ");
+        sqlBuilder.append("    ) ");
+        sqlBuilder.append("    ) txns ");
+        // the summary only reports transactions within an office hierarchy
+        sqlBuilder.append("    where office_id is not null and currency_code is not null ");
+        sqlBuilder.append("    group by summary_date, currency_code, office_id, cash_txn_type ");
+
+        return sqlBuilder.toString();
+    }
+}
@@ -18,6 +18,7 @@
  */
 package org.apache.fineract.organisation.teller.service;
 
+import java.math.BigDecimal;
 import java.util.Collection;
 import java.util.Date;
 import org.apache.fineract.infrastructure.core.service.Page;
@@ -64,7 +65,17 @@ public interface TellerManagementReadPlatformService {
     Page<CashierTransactionData> retrieveCashierTransactions(Long cashierId, boolean includeAllTellers, Date fromDate, Date toDate,
             String currencyCode, SearchParameters searchParameters);
 
+    /**
+     * Totals the cash transactions of the cashier from the maintained summary, paging through the transactions themselves
+     * only when <code>includeTransactions</code> is set.
+     */
     CashierTransactionsWithSummaryData retrieveCashierTransactionsWithSummary(Long cashierId, boolean includeAllTellers, Date fromDate,
-            Date toDate, String currencyCode, SearchParameters searchParameters);
+            Date toDate, String currencyCode, SearchParameters searchParameters, boolean includeTransactions);
+
+    /**
+     * The net cash of the cashier, as checked before the cashier settles or pays out cash. Days of the summary that are
+     * marked dirty are totalled from the transactions themselves instead of being rebuilt, so this only reads.
+     */
+    BigDecimal retrieveCashierNetCash(Long cashierId, String currencyCode);
 
 }
@@ -22,9 +22,11 @@ import java.math.BigDecimal;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
 import java.util.Iterator;
+import java.util.List;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.fineract.infrastructure.core.domain.JdbcSupport;
 import org.apache.fineract.infrastructure.core.exception.UnrecognizedQueryParamException;
@@ -72,17 +74,20 @@ public class TellerManagementReadPlatformServiceImpl implements TellerManagement
     private final CurrencyReadPlatformService currencyReadPlatformService;
     private final PaginationHelper<CashierTransactionData> paginationHelper = new PaginationHelper<>();
     private final ColumnValidator columnValidator;
+    private final CashierTransactionSummaryWritePlatformService cashierTransactionSummaryWritePlatformService;
 
     @Autowired
     public TellerManagementReadPlatformServiceImpl(final PlatformSecurityContext context, final RoutingDataSource dataSource,
             final OfficeReadPlatformService officeReadPlatformService, StaffReadPlatformService staffReadPlatformService,
-            final CurrencyReadPlatformService currencyReadPlatformService, final ColumnValidator columnValidator) {
+            final CurrencyReadPlatformService currencyReadPlatformService, final ColumnValidator columnValidator,
+            final CashierTransactionSummaryWritePlatformService cashierTransactionSummaryWritePlatformService) {
         this.context = context;
         this.jdbcTemplate = new JdbcTemplate(dataSource);
         this.officeReadPlatformService = officeReadPlatformService;
         this.staffReadPlatformService = staffReadPlatformService;
         this.currencyReadPlatformService = currencyReadPlatformService;
         this.columnValidator = columnValidator;
+        this.cashierTransactionSummaryWritePlatformService = cashierTransactionSummaryWritePlatformService;
     }
 
     private static final class TellerMapper implements RowMapper<TellerData> {
@@ -456,7 +461,8 @@ public class TellerManagementReadPlatformServiceImpl implements TellerManagement
 
     @Override
     public CashierTransactionsWithSummaryData retrieveCashierTransactionsWithSummary(final Long cashierId, final boolean includeAllTellers,
-            final Date fromDate, final Date toDate, final String currencyCode, final SearchParameters searchParameters) {
+            final Date fromDate, final Date toDate, final String currencyCode, final SearchParameters searchParameters,
+            final boolean includeTransactions) {
         CashierData cashierData = findCashier(cashierId);
         Long staffId = cashierData.getStaffId();
         StaffData staffData = staffReadPlatformService.retrieveStaff(staffId);
@@ -468,12 +474,13 @@ public class TellerManagementReadPlatformServiceImpl implements TellerManagement
         } else {
             hierarchySearchString = hierarchy;
         }
+        this.cashierTransactionSummaryWritePlatformService.refreshSummary(cashierId);
+
         final CashierTransactionSummaryMapper ctsm = new CashierTransactionSummaryMapper();
-        final String sql = "select " + ctsm.cashierTxnSummarySchema() + " limit 1000";
+        final String sql = "select " + ctsm.cashierTxnSummarySchema();
 
         Collection<CashierTransactionTypeTotalsData> cashierTxnTypeTotals = this.jdbcTemplate.query(sql, ctsm,
-                new Object[] { cashierId, currencyCode, hierarchySearchString, cashierId, currencyCode, hierarchySearchString, cashierId,
-                        currencyCode, hierarchySearchString, cashierId, currencyCode, hierarchySearchString });
+                new Object[] { cashierId, currencyCode, hierarchySearchString });
 
         Iterator<CashierTransactionTypeTotalsData> itr = cashierTxnTypeTotals.iterator();
         BigDecimal allocAmount = new BigDecimal(0);
@@ -496,8 +503,11 @@ public class TellerManagementReadPlatformServiceImpl implements TellerManagement
             }
         }
 
-        final Page<CashierTransactionData> cashierTransactions = retrieveCashierTransactions(cashierId, includeAllTellers, fromDate, toDate,
-                currencyCode, searchParameters);
+        Page<CashierTransactionData> cashierTransactions = null;
+        if (includeTransactions) {
+            cashierTransactions = retrieveCashierTransactions(cashierId, includeAllTellers, fromDate, toDate, currencyCode,
+                    searchParameters);
+        }
 
         CashierTransactionData cashierTxnTemplate = retrieveCashierTxnTemplate(cashierId);
 
@@ -507,6 +517,38 @@ public class TellerManagementReadPlatformServiceImpl implements TellerManagement
         return txnsWithSummary;
     }
 
+    @Override
+    public BigDecimal retrieveCashierNetCash(final Long cashierId, final String currencyCode) {
+        CashierData cashierData = findCashier(cashierId);
+        StaffData staffData = staffReadPlatformService.retrieveStaff(cashierData.getStaffId());
+        OfficeData officeData = officeReadPlatformService.retrieveOffice(staffData.getOfficeId());
+
+        final CashierTransactionSummaryMapper ctsm = new CashierTransactionSummaryMapper();
+        final String sql = "select " + ctsm.cashierNetCashSchema();
+
+        final List<Object> args = new ArrayList<>(11);
+        args.add(cashierId);
+        for (int part = 0; part < 4; part++) {
+            args.add(cashierId);
+            args.add(cashierId);
+        }
+        args.add(currencyCode);
+        args.add(officeData.getHierarchy());
+        final Collection<CashierTransactionTypeTotalsData> cashierTxnTypeTotals = this.jdbcTemplate.query(sql, ctsm, args.toArray());
+
+        BigDecimal netCash = BigDecimal.ZERO;
+        for (final CashierTransactionTypeTotalsData total : cashierTxnTypeTotals) {
+            if (total.getCashierTxnType().equals(CashierTxnType.ALLOCATE.getId())
+                    || total.getCashierTxnType().equals(CashierTxnType.INWARD_CASH_TXN.getId())) {
+                netCash = netCash.add(total.getCashTotal());
+            } else if (total.getCashierTxnType().equals(CashierTxnType.SETTLE.getId())
+                    || total.getCashierTxnType().equals(CashierTxnType.OUTWARD_CASH_TXN.getId())) {
+                netCash = netCash.subtract(total.getCashTotal());
+            }
+        }
+        return netCash;
+    }
+
     @Override
     public Page<CashierTransactionData> retrieveCashierTransactions(final Long cashierId, final boolean includeAllTellers,
             final Date fromDate, final Date toDate, final String currencyCode, final SearchParameters searchParameters) {
@@ -774,136 +816,36 @@ public class TellerManagementReadPlatformServiceImpl implements TellerManagement
 
             final StringBuilder sqlBuilder = new StringBuilder(400);
 
-            sqlBuilder.append(" cash_txn_type, sum(txn_amount) as txn_total from ");
-            sqlBuilder.append(" (select * from ");
-            sqlBuilder.append(" (select txn.id as txn_id, txn.cashier_id as cashier_id, ");
-            sqlBuilder.append("    txn.txn_type as cash_txn_type, ");
-            sqlBuilder.append("    txn.txn_amount as txn_amount, txn.txn_date as txn_date, txn.txn_note as txn_note, ");
-            sqlBuilder.append("    txn.entity_type as entity_type, txn.entity_id as entity_id, txn.created_date as created_date, ");
-            sqlBuilder.append(
-                    "    o.id as office_id, o.name as office_name, t.id as teller_id, t.name as teller_name, s.display_name as cashier_name ");
-            sqlBuilder.append("    from m_cashier_transactions txn ");
-            sqlBuilder.append("    left join m_cashiers c on c.id = txn.cashier_id ");
-            sqlBuilder.append("    left join m_tellers t on t.id = c.teller_id ");
-            sqlBuilder.append("    left join m_office o on o.id = t.office_id ");
-            sqlBuilder.append("    left join m_staff s on s.id = c.staff_id ");
-            sqlBuilder.append("    where txn.cashier_id = ? ");
-            sqlBuilder.append(" AND (( case when c.full_day then Date(txn.created_date) between c.start_date AND c.end_date ");
-            sqlBuilder.append(
-                    " else ( Date(txn.created_date) between c.start_date AND c.end_date) and  ( TIME(txn.created_date) between TIME(c.start_time) AND TIME(c.end_time))  end) or txn.txn_type = 101) ");
-            sqlBuilder.append(" and   txn.currency_code = ? ");
-            sqlBuilder.append("    and o.hierarchy like ?  ) cashier_txns ");
-            sqlBuilder.append("    UNION ");
-            sqlBuilder.append("    (select sav_txn.id as txn_id, c.id as cashier_id, ");
-            sqlBuilder.append("    case ");
-            sqlBuilder.append("        when renum.enum_value in ('deposit','withdrawal fee', 'Pay Charge', 'Annual Fee') ");
-            sqlBuilder.append("            then 103 ");
-            sqlBuilder.append("        when renum.enum_value in ('withdrawal', 'Waive Charge', 'Interest Posting', 'Overdraft Interest') ");
-            sqlBuilder.append("            then 104 ");
-            sqlBuilder.append("        else ");
-            sqlBuilder.append("            105 ");
-            sqlBuilder.append("    end as cash_txn_type, ");
-            sqlBuilder.append("    sav_txn.amount as txn_amount, sav_txn.transaction_date as txn_date, ");
-            sqlBuilder.append(
-                    "    concat (renum.enum_value, ', Sav:', sav.id, '-', sav.account_no, ',Client:', cl.id, '-',cl.display_name) as txn_note, ");
-            sqlBuilder.append("    'savings' as entity_type, sav.id as entity_id, sav_txn.created_date as created_date, ");
-            sqlBuilder.append(
-                    "    o.id as office_id, o.name as office_name, null as teller_id, null as teller_name, staff.display_name as cashier_name ");
-            sqlBuilder.append("    from m_savings_account_transaction sav_txn ");
-            sqlBuilder.append(
-                    "    left join r_enum_value renum on sav_txn.transaction_type_enum = renum.enum_id and renum.enum_name = 'savings_transaction_type_enum' ");
-            sqlBuilder.append("    left join m_savings_account sav on sav_txn.savings_account_id = sav.id ");
-            sqlBuilder.append("    left join m_client cl on sav.client_id = cl.id ");
-            sqlBuilder.append("    left join m_office o on cl.office_id = o.id ");
-            sqlBuilder.append("    left join m_appuser user on sav_txn.appuser_id = user.id ");
-            sqlBuilder.append("    left join m_staff staff on user.staff_id = staff.id ");
-            sqlBuilder.append("    left join m_cashiers c on c.staff_id = staff.id ");
-            sqlBuilder.append(" left join m_payment_detail payDetails on payDetails.id = sav_txn.payment_detail_id ");
-            sqlBuilder.append(" left join m_payment_type payType on payType.id = payDetails.payment_type_id ");
-            sqlBuilder.append(" left join m_account_transfer_transaction acnttrans ");
-            sqlBuilder.append(" on (acnttrans.from_savings_transaction_id = sav_txn.id ");
-            sqlBuilder.append(" or acnttrans.to_savings_transaction_id = sav_txn.id) ");
-            sqlBuilder.append("    where sav_txn.is_reversed = 0 and c.id = ? ");
-            sqlBuilder.append(" and sav.currency_code = ? ");
-            sqlBuilder.append("    and o.hierarchy like ? ");
-            sqlBuilder.append("    and sav_txn.transaction_date between c.start_date and date_add(c.end_date, interval 1 day) ");
-            sqlBuilder.append("    and (sav_txn.payment_detail_id IS NULL OR payType.is_cash_payment = 1) ");
-            sqlBuilder.append("    AND acnttrans.id IS NULL  ");
-            sqlBuilder.append("    ) ");
-            sqlBuilder.append("    UNION ");
-            sqlBuilder.append("    ( ");
-            sqlBuilder.append("    select loan_txn.id as txn_id, c.id as cashier_id, ");
-            sqlBuilder.append("    case ");
-            sqlBuilder.append(
-                    "        when renum.enum_value in ('REPAYMENT_AT_DISBURSEMENT','REPAYMENT', 'RECOVERY_REPAYMENT', 'CHARGE_PAYMENT') ");
-            sqlBuilder.append("            then 103 ");
-            sqlBuilder.append("        when renum.enum_value in ('DISBURSEMENT', 'WAIVE_INTEREST', 'WRITEOFF', 'WAIVE_CHARGES') ");
-            sqlBuilder.append("            then 104 ");
-            sqlBuilder.append("        else ");
-            sqlBuilder.append("            105 ");
-            sqlBuilder.append("    end as cash_txn_type, ");
-            sqlBuilder.append("    loan_txn.amount as txn_amount, loan_txn.transaction_date as txn_date, ");
-            sqlBuilder.append(
-                    "    concat (renum.enum_value, ', Loan:', loan.id, '-', loan.account_no, ',Client:', cl.id, '-',cl.display_name) as txn_note, ");
-            sqlBuilder.append("    'loans' as entity_type, loan.id as entity_id, loan_txn.created_date as created_date, ");
-            sqlBuilder.append(
-                    "    o.id as office_id, o.name as office_name, null as teller_id, null as teller_name, staff.display_name as cashier_name ");
-            sqlBuilder.append("    from m_loan_transaction loan_txn ");
-            sqlBuilder.append(
-                    "    left join r_enum_value renum on loan_txn.transaction_type_enum = renum.enum_id and renum.enum_name = 'loan_transaction_type_enum' ");
-            sqlBuilder.append("    left join m_loan loan on loan_txn.loan_id = loan.id ");
-            sqlBuilder.append("    left join m_client cl on loan.client_id = cl.id ");
-            sqlBuilder.append("    left join m_office o on cl.office_id = o.id ");
-            sqlBuilder.append("    left join m_appuser user on loan_txn.appuser_id = user.id ");
-            sqlBuilder.append("    left join m_staff staff on user.staff_id = staff.id ");
-            sqlBuilder.append("    left join m_cashiers c on c.staff_id = staff.id ");
-            sqlBuilder.append(" left join m_payment_detail payDetails on payDetails.id = loan_txn.payment_detail_id ");
-            sqlBuilder.append(" left join m_payment_type payType on payType.id = payDetails.payment_type_id ");
-            sqlBuilder.append(" left join m_account_transfer_transaction acnttrans ");
-            sqlBuilder.append(" on (acnttrans.from_loan_transaction_id = loan_txn.id ");
-            sqlBuilder.append(" or acnttrans.to_loan_transaction_id = loan_txn.id) ");
-            sqlBuilder.append("    where loan_txn.is_reversed = 0 and c.id = ? ");
-            sqlBuilder.append(" and loan.currency_code = ? ");
-            sqlBuilder.append("    and o.hierarchy like ? ");
-            sqlBuilder.append("    and loan_txn.transaction_date between c.start_date and date_add(c.end_date, interval 1 day) ");
-            sqlBuilder.append("    and (loan_txn.payment_detail_id IS NULL OR payType.is_cash_payment = 1) ");
-            sqlBuilder.append("    AND acnttrans.id IS NULL  ");
-            sqlBuilder.append("    ) ");
-            sqlBuilder.append("    UNION ");
-            sqlBuilder.append("    ( ");
-            sqlBuilder.append("    SELECT cli_txn.id AS txn_id, c.id AS cashier_id, ");
-            sqlBuilder.append("    case ");
-            sqlBuilder.append("        WHEN renum.enum_value IN ('PAY_CHARGE') ");
-            sqlBuilder.append("            then 103 ");
-            sqlBuilder.append("        WHEN renum.enum_value IN ('WAIVE_CHARGE') ");
-            sqlBuilder.append("            then 104 ");
-            sqlBuilder.append("        else ");
-            sqlBuilder.append("            105 ");
-            sqlBuilder.append("    end as cash_txn_type, ");
-            sqlBuilder.append("    cli_txn.amount as txn_amount, cli_txn.transaction_date as txn_date, ");
-            sqlBuilder.append(
-                    "    concat (renum.enum_value, ', Client:', cl.id, '-', cl.account_no, ',Client:', cl.id, '-',cl.display_name) as txn_note, ");
-            sqlBuilder.append("    'client' as entity_type, cl.id as entity_id, cli_txn.created_date as created_date, ");
-            sqlBuilder.append(
-                    "    o.id as office_id, o.name as office_name, null as teller_id, null as teller_name, staff.display_name as cashier_name ");
-            sqlBuilder.append("    from m_client_transaction cli_txn ");
-            sqlBuilder.append(
-                    "    left join r_enum_value renum ON cli_txn.transaction_type_enum = renum.enum_id AND renum.enum_name = 'client_transaction_type_enum' ");
-            sqlBuilder.append("    left join m_client cl ON cli_txn.client_id = cl.id ");
-            sqlBuilder.append("    left join m_office o ON cl.office_id = o.id ");
-            sqlBuilder.append("    left join m_appuser user ON cli_txn.appuser_id = user.id ");
-            sqlBuilder.append("    left join m_staff staff ON user.staff_id = staff.id ");
-            sqlBuilder.append("    left join m_cashiers c ON c.staff_id = staff.id ");
-            sqlBuilder.append(" left join m_payment_detail payDetails on payDetails.id = cli_txn.payment_detail_id ");
-            sqlBuilder.append(" left join m_payment_type payType on payType.id = payDetails.payment_type_id ");
-            sqlBuilder.append("    where cli_txn.is_reversed = 0 AND c.id = ?    ");
-            sqlBuilder.append(" and cli_txn.currency_code = ? ");
-            sqlBuilder.append("    and o.hierarchy LIKE ? ");
-            sqlBuilder.append("    and cli_txn.transaction_date between c.start_date and date_add(c.end_date, interval 1 day) ");
-            sqlBuilder.append(" and (cli_txn.payment_detail_id IS NULL OR payType.is_cash_payment = 1)  ");
-            sqlBuilder.append("    ) ");
-            sqlBuilder.append("    ) txns ");
-            sqlBuilder.append("    group by cash_txn_type ");
+            sqlBuilder.append(" summary.cash_txn_type as cash_txn_type, sum(summary.txn_total) as txn_total ");
+            sqlBuilder.append(" from m_cashier_txn_summary summary ");
+            sqlBuilder.append(" join m_office o on o.id = summary.office_id ");
+            sqlBuilder.append(" where summary.cashier_id = ? and summary.currency_code = ? and o.hierarchy like ? ");
+            sqlBuilder.append(" group by summary.cash_txn_type ");
+
+            return sqlBuilder.toString();
+        }
+
+        /**
+         * The totals of the summary, with the days marked dirty totalled from the transactions instead.
+         */
+        public String cashierNetCashSchema() {
+
+            final StringBuilder sqlBuilder = new StringBuilder(5000);
+
+            sqlBuilder.append(" totals.cash_txn_type as cash_txn_type, sum(totals.txn_total) as txn_total from ");
+            sqlBuilder.append(" (select summary.cash_txn_type, summary.txn_total, summary.currency_code, summary.office_id ");
+            sqlBuilder.append(" from m_cashier_txn_summary summary where summary.cashier_id = ? and not exists ");
+            sqlBuilder.append(" (select 1 from m_cashier_txn_summary_dirty dirty ");
+            sqlBuilder.append(" where dirty.cashier_id = summary.cashier_id and dirty.summary_date = summary.summary_date) ");
+            sqlBuilder.append(" union all ");
+            sqlBuilder.append(" select dirty_days.cash_txn_type, dirty_days.txn_total, dirty_days.currency_code, dirty_days.office_id ");
+            sqlBuilder.append(" from (");
+            sqlBuilder.append(CashierTransactionSummaryWritePlatformServiceImpl
+                    .cashTotalsSql("select dirty.summary_date from m_cashier_txn_summary_dirty dirty where dirty.cashier_id = ?"));
+            sqlBuilder.append(") dirty_days) totals ");
+            sqlBuilder.append(" join m_office o on o.id = totals.office_id ");
+            sqlBuilder.append(" where totals.currency_code = ? and o.hierarchy like ? ");
+            sqlBuilder.append(" group by totals.cash_txn_type ");
 
             return sqlBuilder.toString();
         }
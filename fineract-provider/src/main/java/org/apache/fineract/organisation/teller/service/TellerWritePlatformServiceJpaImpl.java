@@ -45,6 +45,7 @@ import org.apache.fineract.organisation.teller.domain.Cashier;
 import org.apache.fineract.organisation.teller.domain.CashierRepository;
 import org.apache.fineract.organisation.teller.domain.CashierTransaction;
 import org.apache.fineract.organisation.teller.domain.CashierTransactionRepository;
+import org.apache.fineract.organisation.teller.domain.CashierTransactionSummaryQueue;
 import org.apache.fineract.organisation.teller.domain.CashierTxnType;
 import org.apache.fineract.organisation.teller.domain.Teller;
 import org.apache.fineract.organisation.teller.domain.TellerRepositoryWrapper;
@@ -76,6 +77,7 @@ public class TellerWritePlatformServiceJpaImpl implements TellerWritePlatformSer
     private final JournalEntryRepository glJournalEntryRepository;
     private final FinancialActivityAccountRepositoryWrapper financialActivityAccountRepositoryWrapper;
     private final CashierTransactionDataValidator cashierTransactionDataValidator;
+    private final CashierTransactionSummaryQueue cashierTransactionSummaryQueue;
 
     @Autowired
     public TellerWritePlatformServiceJpaImpl(final PlatformSecurityContext context,
@@ -84,7 +86,8 @@ public class TellerWritePlatformServiceJpaImpl implements TellerWritePlatformSer
             CashierRepository cashierRepository, CashierTransactionRepository cashierTxnRepository,
             JournalEntryRepository glJournalEntryRepository,
             FinancialActivityAccountRepositoryWrapper financialActivityAccountRepositoryWrapper,
-            final CashierTransactionDataValidator cashierTransactionDataValidator) {
+            final CashierTransactionDataValidator cashierTransactionDataValidator,
+            final CashierTransactionSummaryQueue cashierTransactionSummaryQueue) {
         this.context = context;
         this.fromApiJsonDeserializer = fromApiJsonDeserializer;
         this.tellerRepositoryWrapper = tellerRepositoryWrapper;
@@ -95,6 +98,7 @@ public class TellerWritePlatformServiceJpaImpl implements TellerWritePlatformSer
         this.glJournalEntryRepository = glJournalEntryRepository;
         this.financialActivityAccountRepositoryWrapper = financialActivityAccountRepositoryWrapper;
         this.cashierTransactionDataValidator = cashierTransactionDataValidator;
+        this.cashierTransactionSummaryQueue = cashierTransactionSummaryQueue;
     }
 
     @Override
@@ -297,6 +301,8 @@ public class TellerWritePlatformServiceJpaImpl implements TellerWritePlatformSer
 
             if (!changes.isEmpty()) {
                 this.cashierRepository.saveAndFlush(cashier);
+                // the days and times of the allocation decide which transactions the summary counts
+                this.cashierTransactionSummaryQueue.markAllDirty(cashier.getId());
             }
 
             return new CommandProcessingResultBuilder() //
@@ -328,6 +334,7 @@ public class TellerWritePlatformServiceJpaImpl implements TellerWritePlatformSer
         try {
             final AppUser currentUser = this.context.authenticatedUser();
             final Cashier cashier = validateUserPriviledgeOnCashierAndRetrieve(currentUser, tellerId, cashierId);
+            this.cashierTransactionSummaryQueue.remove(cashierId);
             this.cashierRepository.delete(cashier);
 
         } catch (final JpaSystemException | DataIntegrityViolationException dve) {
@@ -106,6 +106,10 @@ public class AccountTransferStandingInstruction extends AbstractPersistableCusto
     @Column(name = "last_run_date")
     private Date latsRunDate;
 
+    @Temporal(TemporalType.DATE)
+    @Column(name = "next_run_date")
+    private Date nextRunDate;
+
     protected AccountTransferStandingInstruction() {
 
     }
@@ -155,6 +159,7 @@ public class AccountTransferStandingInstruction extends AbstractPersistableCusto
         if (!dataValidationErrors.isEmpty()) {
             throw new PlatformApiDataValidationException(dataValidationErrors);
         }
+        updateNextRunDate();
     }
 
     public Map<String, Object> update(JsonCommand command) {
@@ -241,6 +246,7 @@ public class AccountTransferStandingInstruction extends AbstractPersistableCusto
         if (!dataValidationErrors.isEmpty()) {
             throw new PlatformApiDataValidationException(dataValidationErrors);
         }
+        updateNextRunDate();
         return actualChanges;
     }
 
@@ -289,6 +295,15 @@ public class AccountTransferStandingInstruction extends AbstractPersistableCusto
 
     }
 
+    private void updateNextRunDate() {
+        final LocalDate validFromDate = this.validFrom == null ? null
+                : LocalDate.ofInstant(this.validFrom.toInstant(), DateUtils.getDateTimeZoneOfTenant());
+        final LocalDate next = StandingInstructionRunDateCalculator.nextRunDate(AccountTransferRecurrenceType.fromInt(this.recurrenceType),
+                PeriodFrequencyType.fromInt(this.recurrenceFrequency), this.recurrenceInterval, this.recurrenceOnDay,
+                this.recurrenceOnMonth, validFromDate, DateUtils.getLocalDateOfTenant());
+        this.nextRunDate = next == null ? null : Date.from(next.atStartOfDay(DateUtils.getDateTimeZoneOfTenant()).toInstant());
+    }
+
     public void updateLatsRunDate(Date latsRunDate) {
         this.latsRunDate = latsRunDate;
     }
@@ -0,0 +1,108 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.account.domain;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import org.apache.fineract.portfolio.common.domain.PeriodFrequencyType;
+
+/**
+ * Works out the next business date on which a standing instruction has to be evaluated by the standing instruction job.
+ * The result is stored as <code>next_run_date</code> so that the job only reads instructions that are due.
+ */
+public final class StandingInstructionRunDateCalculator {
+
+    private StandingInstructionRunDateCalculator() {
+
+    }
+
+    /**
+     * @return the first date on or after <code>onOrAfter</code> (and not before <code>validFrom</code>) on which the
+     *         instruction is due; instructions transferring as per loan dues are evaluated every day. Returns null for
+     *         periodic instructions without a usable recurrence.
+     */
+    public static LocalDate nextRunDate(final AccountTransferRecurrenceType recurrenceType, final PeriodFrequencyType frequencyType,
+            final Integer recurrenceInterval, final Integer recurrenceOnDay, final Integer recurrenceOnMonth, final LocalDate validFrom,
+            final LocalDate onOrAfter) {
+        final LocalDate from = validFrom != null && onOrAfter.isBefore(validFrom) ? validFrom : onOrAfter;
+        if (!recurrenceType.isPeriodicRecurrence()) {
+            return from;
+        }
+        if (validFrom == null || frequencyType == null || recurrenceInterval == null || recurrenceInterval < 1) {
+            return null;
+        }
+
+        final ChronoUnit unit;
+        LocalDate startDate = validFrom;
+        switch (frequencyType) {
+            case DAYS:
+                unit = ChronoUnit.DAYS;
+            break;
+            case WEEKS:
+                unit = ChronoUnit.WEEKS;
+            break;
+            case MONTHS:
+                unit = ChronoUnit.MONTHS;
+                if (recurrenceOnDay == null) {
+                    return null;
+                }
+                startDate = withDayOfMonth(startDate, recurrenceOnDay);
+                if (startDate.isBefore(validFrom)) {
+                    startDate = withDayOfMonth(startDate.plusMonths(1), recurrenceOnDay);
+                }
+            break;
+            case YEARS:
+                unit = ChronoUnit.YEARS;
+                if (recurrenceOnDay == null || recurrenceOnMonth == null) {
+                    return null;
+                }
+                startDate = withDayOfMonth(validFrom.withDayOfMonth(1).withMonth(recurrenceOnMonth), recurrenceOnDay);
+                if (startDate.isBefore(validFrom)) {
+                    startDate = withDayOfMonth(startDate.withDayOfMonth(1).plusYears(1), recurrenceOnDay);
+                }
+            break;
+            default:
+                return null;
+        }
+
+        if (!startDate.isBefore(from)) {
+            return startDate;
+        }
+        long periods = unit.between(startDate, from) / recurrenceInterval * recurrenceInterval;
+        LocalDate nextRunDate = runDateOfPeriod(startDate, unit, periods, recurrenceOnDay);
+        while (nextRunDate.isBefore(from)) {
+            periods += recurrenceInterval;
+            nextRunDate = runDateOfPeriod(startDate, unit, periods, recurrenceOnDay);
+        }
+        return nextRunDate;
+    }
+
+    private static LocalDate runDateOfPeriod(final LocalDate startDate, final ChronoUnit unit, final long periods,
+            final Integer recurrenceOnDay) {
+        if (unit == ChronoUnit.MONTHS || unit == ChronoUnit.YEARS) {
+            // stay on the configured day, months shorter than it run on their last day
+            return withDayOfMonth(startDate.withDayOfMonth(1).plus(periods, unit), recurrenceOnDay);
+        }
+        return startDate.plus(periods, unit);
+    }
+
+    private static LocalDate withDayOfMonth(final LocalDate date, final int dayOfMonth) {
+        return date.withDayOfMonth(Math.min(dayOfMonth, date.lengthOfMonth()));
+    }
+}
@@ -18,6 +18,7 @@
  */
 package org.apache.fineract.portfolio.account.service;
 
+import java.time.LocalDate;
 import java.util.Collection;
 import org.apache.fineract.infrastructure.core.service.Page;
 import org.apache.fineract.portfolio.account.data.StandingInstructionDTO;
@@ -35,6 +36,12 @@ public interface StandingInstructionReadPlatformService {
 
     Collection<StandingInstructionData> retrieveAll(Integer status);
 
+    /**
+     * Instructions with the given status whose next run date is on or before <code>runDate</code>, highest priority
+     * first.
+     */
+    Collection<StandingInstructionData> retrieveAllDue(Integer status, LocalDate runDate);
+
     StandingInstructionDuesData retriveLoanDuesData(Long loanId);
 
 }
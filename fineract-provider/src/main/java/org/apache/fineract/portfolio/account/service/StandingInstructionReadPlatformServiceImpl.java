@@ -339,6 +339,17 @@ public class StandingInstructionReadPlatformServiceImpl implements StandingInstr
         return this.jdbcTemplate.query(sqlBuilder.toString(), this.standingInstructionMapper, status);
     }
 
+    @Override
+    public Collection<StandingInstructionData> retrieveAllDue(final Integer status, final LocalDate runDate) {
+        final StringBuilder sqlBuilder = new StringBuilder(200);
+        sqlBuilder.append("select ");
+        sqlBuilder.append(this.standingInstructionMapper.schema());
+        sqlBuilder.append(" where atsi.status=? and atsi.next_run_date <= ? and ? >= atsi.valid_from ")
+                .append(" and (atsi.valid_till IS NULL or ? < atsi.valid_till) ")
+                .append(" and (atsi.last_run_date <> ? or atsi.last_run_date IS NULL)").append(" ORDER BY atsi.priority DESC");
+        return this.jdbcTemplate.query(sqlBuilder.toString(), this.standingInstructionMapper, status, runDate, runDate, runDate, runDate);
+    }
+
     @Override
     public StandingInstructionData retrieveOne(final Long instructionId) {
 
@@ -29,8 +29,14 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
 import org.apache.fineract.infrastructure.core.api.JsonCommand;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResultBuilder;
@@ -39,6 +45,7 @@ import org.apache.fineract.infrastructure.core.exception.PlatformApiDataValidati
 import org.apache.fineract.infrastructure.core.exception.PlatformDataIntegrityException;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
 import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
+import org.apache.fineract.infrastructure.core.service.TenantAwareTasks;
 import org.apache.fineract.infrastructure.jobs.annotation.CronTarget;
 import org.apache.fineract.infrastructure.jobs.exception.JobExecutionException;
 import org.apache.fineract.infrastructure.jobs.service.JobName;
@@ -54,12 +61,10 @@ import org.apache.fineract.portfolio.account.domain.AccountTransferRecurrenceTyp
 import org.apache.fineract.portfolio.account.domain.AccountTransferStandingInstruction;
 import org.apache.fineract.portfolio.account.domain.StandingInstructionAssembler;
 import org.apache.fineract.portfolio.account.domain.StandingInstructionRepository;
+import org.apache.fineract.portfolio.account.domain.StandingInstructionRunDateCalculator;
 import org.apache.fineract.portfolio.account.domain.StandingInstructionStatus;
 import org.apache.fineract.portfolio.account.domain.StandingInstructionType;
 import org.apache.fineract.portfolio.account.exception.StandingInstructionNotFoundException;
-import org.apache.fineract.portfolio.common.domain.PeriodFrequencyType;
-import org.apache.fineract.portfolio.loanaccount.loanschedule.domain.DefaultScheduledDateGenerator;
-import org.apache.fineract.portfolio.loanaccount.loanschedule.domain.ScheduledDateGenerator;
 import org.apache.fineract.portfolio.savings.domain.SavingsAccount;
 import org.apache.fineract.portfolio.savings.exception.InsufficientAccountBalanceException;
 import org.slf4j.Logger;
@@ -84,6 +89,7 @@ public class StandingInstructionWritePlatformServiceImpl implements StandingInst
     private final StandingInstructionReadPlatformService standingInstructionReadPlatformService;
     private final AccountTransfersWritePlatformService accountTransfersWritePlatformService;
     private final JdbcTemplate jdbcTemplate;
+    private final ConfigurationDomainService configurationDomainService;
 
     @Autowired
     public StandingInstructionWritePlatformServiceImpl(final StandingInstructionDataValidator standingInstructionDataValidator,
@@ -91,7 +97,8 @@ public class StandingInstructionWritePlatformServiceImpl implements StandingInst
             final AccountTransferDetailRepository accountTransferDetailRepository,
             final StandingInstructionRepository standingInstructionRepository,
             final StandingInstructionReadPlatformService standingInstructionReadPlatformService,
-            final AccountTransfersWritePlatformService accountTransfersWritePlatformService, final RoutingDataSource dataSource) {
+            final AccountTransfersWritePlatformService accountTransfersWritePlatformService, final RoutingDataSource dataSource,
+            final ConfigurationDomainService configurationDomainService) {
         this.standingInstructionDataValidator = standingInstructionDataValidator;
         this.standingInstructionAssembler = standingInstructionAssembler;
         this.accountTransferDetailRepository = accountTransferDetailRepository;
@@ -99,6 +106,7 @@ public class StandingInstructionWritePlatformServiceImpl implements StandingInst
         this.standingInstructionReadPlatformService = standingInstructionReadPlatformService;
         this.accountTransfersWritePlatformService = accountTransfersWritePlatformService;
         this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.configurationDomainService = configurationDomainService;
     }
 
     @Transactional
@@ -192,70 +200,173 @@ public class StandingInstructionWritePlatformServiceImpl implements StandingInst
     @Override
     @CronTarget(jobName = JobName.EXECUTE_STANDING_INSTRUCTIONS)
     public void executeStandingInstructions() throws JobExecutionException {
-        Collection<StandingInstructionData> instructionDatas = this.standingInstructionReadPlatformService
-                .retrieveAll(StandingInstructionStatus.ACTIVE.getValue());
-        List<Throwable> errors = new ArrayList<>();
-        for (StandingInstructionData data : instructionDatas) {
-            boolean isDueForTransfer = false;
-            AccountTransferRecurrenceType recurrenceType = data.recurrenceType();
-            StandingInstructionType instructionType = data.instructionType();
-            LocalDate transactionDate = LocalDate.now(DateUtils.getDateTimeZoneOfTenant());
-            if (recurrenceType.isPeriodicRecurrence()) {
-                final ScheduledDateGenerator scheduledDateGenerator = new DefaultScheduledDateGenerator();
-                PeriodFrequencyType frequencyType = data.recurrenceFrequency();
-                LocalDate startDate = data.validFrom();
-                if (frequencyType.isMonthly()) {
-                    startDate = startDate.withDayOfMonth(data.recurrenceOnDay());
-                    if (startDate.isBefore(data.validFrom())) {
-                        startDate = startDate.plusMonths(1);
-                    }
-                } else if (frequencyType.isYearly()) {
-                    startDate = startDate.withDayOfMonth(data.recurrenceOnDay()).withMonth(data.recurrenceOnMonth());
-                    if (startDate.isBefore(data.validFrom())) {
-                        startDate = startDate.plusYears(1);
-                    }
-                }
-                isDueForTransfer = scheduledDateGenerator.isDateFallsInSchedule(frequencyType, data.recurrenceInterval(), startDate,
-                        transactionDate);
+        final LocalDate transactionDate = DateUtils.getLocalDateOfTenant();
+        final Collection<StandingInstructionData> instructionDatas = this.standingInstructionReadPlatformService
+                .retrieveAllDue(StandingInstructionStatus.ACTIVE.getValue(), transactionDate);
+        if (instructionDatas.isEmpty()) {
+            return;
+        }
 
+        final List<List<StandingInstructionData>> partitions = partitionByAccount(instructionDatas,
+                this.configurationDomainService.retrieveScheduledJobNumberOfThreads());
+        final ExecutorService executorService = Executors.newFixedThreadPool(partitions.size());
+        final List<Future<List<Throwable>>> results = new ArrayList<>(partitions.size());
+        try {
+            for (final List<StandingInstructionData> partition : partitions) {
+                results.add(executorService.submit(TenantAwareTasks.wrap(() -> executeStandingInstructions(partition, transactionDate))));
             }
-            BigDecimal transactionAmount = data.amount();
-            if (data.toAccountType().isLoanAccount()
-                    && (recurrenceType.isDuesRecurrence() || (isDueForTransfer && instructionType.isDuesAmoutTransfer()))) {
-                StandingInstructionDuesData standingInstructionDuesData = this.standingInstructionReadPlatformService
-                        .retriveLoanDuesData(data.toAccount().accountId());
-                if (data.instructionType().isDuesAmoutTransfer()) {
-                    transactionAmount = standingInstructionDuesData.totalDueAmount();
-                }
-                if (recurrenceType.isDuesRecurrence()) {
-                    isDueForTransfer = LocalDate.now(DateUtils.getDateTimeZoneOfTenant()).equals(standingInstructionDuesData.dueDate());
+
+            final List<Throwable> errors = new ArrayList<>();
+            for (int i = 0; i < results.size(); i++) {
+                try {
+                    final List<Throwable> partitionErrors = results.get(i).get();
+                    if (!partitionErrors.isEmpty()) {
+                        LOG.error("Standing instruction partition {} failed {} of {} transfers", i, partitionErrors.size(),
+                                partitions.get(i).size());
+                        errors.addAll(partitionErrors);
+                    }
+                } catch (final ExecutionException e) {
+                    LOG.error("Standing instruction partition {} failed", i, e.getCause());
+                    errors.add(e.getCause());
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    errors.add(e);
+                    break;
                 }
             }
+            if (!errors.isEmpty()) {
+                throw new JobExecutionException(errors);
+            }
+        } finally {
+            executorService.shutdown();
+        }
+    }
 
-            if (isDueForTransfer && transactionAmount != null && transactionAmount.compareTo(BigDecimal.ZERO) > 0) {
-                final SavingsAccount fromSavingsAccount = null;
-                final boolean isRegularTransaction = true;
-                final boolean isExceptionForBalanceCheck = false;
-                AccountTransferDTO accountTransferDTO = new AccountTransferDTO(transactionDate, transactionAmount, data.fromAccountType(),
-                        data.toAccountType(), data.fromAccount().accountId(), data.toAccount().accountId(),
-                        data.name() + " Standing instruction trasfer ", null, null, null, null, data.toTransferType(), null, null,
-                        data.transferType().getValue(), null, null, null, null, null, fromSavingsAccount, isRegularTransaction,
-                        isExceptionForBalanceCheck);
-                final boolean transferCompleted = transferAmount(errors, accountTransferDTO, data.getId());
-
-                if (transferCompleted) {
-                    final String updateQuery = "UPDATE m_account_transfer_standing_instructions SET last_run_date = ? where id = ?";
-                    this.jdbcTemplate.update(updateQuery,
-                            Date.from(transactionDate.atStartOfDay(DateUtils.getDateTimeZoneOfTenant()).toInstant()), data.getId());
+    /**
+     * Splits the due instructions into at most <code>numberOfPartitions</code> partitions such that instructions
+     * touching the same account, as source or as destination, end up in the same partition. A partition is executed
+     * serially in priority order, so an account is never debited or credited by two transfers at the same time.
+     */
+    static List<List<StandingInstructionData>> partitionByAccount(final Collection<StandingInstructionData> instructionDatas,
+            final int numberOfPartitions) {
+        final Map<String, String> parents = new HashMap<>();
+        for (final StandingInstructionData data : instructionDatas) {
+            union(parents, fromAccountKey(data), toAccountKey(data));
+        }
+
+        final Map<String, List<StandingInstructionData>> groups = new LinkedHashMap<>();
+        for (final StandingInstructionData data : instructionDatas) {
+            groups.computeIfAbsent(find(parents, fromAccountKey(data)), key -> new ArrayList<>()).add(data);
+        }
+
+        final int size = Math.max(1, Math.min(numberOfPartitions, groups.size()));
+        final List<List<StandingInstructionData>> partitions = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            partitions.add(new ArrayList<>());
+        }
+        for (final List<StandingInstructionData> group : groups.values()) {
+            List<StandingInstructionData> smallest = partitions.get(0);
+            for (final List<StandingInstructionData> partition : partitions) {
+                if (partition.size() < smallest.size()) {
+                    smallest = partition;
                 }
+            }
+            smallest.addAll(group);
+        }
+        return partitions;
+    }
 
+    private static String fromAccountKey(final StandingInstructionData data) {
+        return data.fromAccountType().name() + ":" + data.fromAccount().accountId();
+    }
+
+    private static String toAccountKey(final StandingInstructionData data) {
+        return data.toAccountType().name() + ":" + data.toAccount().accountId();
+    }
+
+    private static String find(final Map<String, String> parents, final String key) {
+        String root = key;
+        while (parents.containsKey(root)) {
+            root = parents.get(root);
+        }
+        if (!root.equals(key)) {
+            parents.put(key, root);
+        }
+        return root;
+    }
+
+    private static void union(final Map<String, String> parents, final String first, final String second) {
+        final String firstRoot = find(parents, first);
+        final String secondRoot = find(parents, second);
+        if (!firstRoot.equals(secondRoot)) {
+            parents.put(secondRoot, firstRoot);
+        }
+    }
+
+    private List<Throwable> executeStandingInstructions(final List<StandingInstructionData> instructionDatas,
+            final LocalDate transactionDate) {
+        final List<Throwable> errors = new ArrayList<>();
+        for (final StandingInstructionData data : instructionDatas) {
+            executeStandingInstruction(errors, data, transactionDate);
+        }
+        return errors;
+    }
+
+    private void executeStandingInstruction(final List<Throwable> errors, final StandingInstructionData data,
+            final LocalDate transactionDate) {
+        boolean isDueForTransfer = false;
+        AccountTransferRecurrenceType recurrenceType = data.recurrenceType();
+        StandingInstructionType instructionType = data.instructionType();
+        if (recurrenceType.isPeriodicRecurrence()) {
+            // the stored next run date may lie in the past when the job did not run on that day
+            isDueForTransfer = transactionDate.equals(nextRunDate(data, transactionDate));
+        }
+        BigDecimal transactionAmount = data.amount();
+        if (data.toAccountType().isLoanAccount()
+                && (recurrenceType.isDuesRecurrence() || (isDueForTransfer && instructionType.isDuesAmoutTransfer()))) {
+            StandingInstructionDuesData standingInstructionDuesData = this.standingInstructionReadPlatformService
+                    .retriveLoanDuesData(data.toAccount().accountId());
+            if (data.instructionType().isDuesAmoutTransfer()) {
+                transactionAmount = standingInstructionDuesData.totalDueAmount();
+            }
+            if (recurrenceType.isDuesRecurrence()) {
+                isDueForTransfer = transactionDate.equals(standingInstructionDuesData.dueDate());
             }
         }
-        if (!errors.isEmpty()) {
-            throw new JobExecutionException(errors);
+
+        final LocalDate nextRunDate = nextRunDate(data, transactionDate.plusDays(1));
+        if (isDueForTransfer && transactionAmount != null && transactionAmount.compareTo(BigDecimal.ZERO) > 0) {
+            final SavingsAccount fromSavingsAccount = null;
+            final boolean isRegularTransaction = true;
+            final boolean isExceptionForBalanceCheck = false;
+            AccountTransferDTO accountTransferDTO = new AccountTransferDTO(transactionDate, transactionAmount, data.fromAccountType(),
+                    data.toAccountType(), data.fromAccount().accountId(), data.toAccount().accountId(),
+                    data.name() + " Standing instruction trasfer ", null, null, null, null, data.toTransferType(), null, null,
+                    data.transferType().getValue(), null, null, null, null, null, fromSavingsAccount, isRegularTransaction,
+                    isExceptionForBalanceCheck);
+            final boolean transferCompleted = transferAmount(errors, accountTransferDTO, data.getId());
+
+            // a failed transfer keeps its next run date, so that a rerun of the job on the same day retries it
+            if (transferCompleted) {
+                final String updateQuery = "UPDATE m_account_transfer_standing_instructions SET last_run_date = ?, next_run_date = ? "
+                        + "where id = ?";
+                this.jdbcTemplate.update(updateQuery, toDate(transactionDate), toDate(nextRunDate), data.getId());
+            }
+        } else {
+            this.jdbcTemplate.update("UPDATE m_account_transfer_standing_instructions SET next_run_date = ? where id = ?",
+                    toDate(nextRunDate), data.getId());
         }
     }
 
+    private static LocalDate nextRunDate(final StandingInstructionData data, final LocalDate onOrAfter) {
+        return StandingInstructionRunDateCalculator.nextRunDate(data.recurrenceType(), data.recurrenceFrequency(),
+                data.recurrenceInterval(), data.recurrenceOnDay(), data.recurrenceOnMonth(), data.validFrom(), onOrAfter);
+    }
+
+    private static Date toDate(final LocalDate localDate) {
+        return localDate == null ? null : Date.from(localDate.atStartOfDay(DateUtils.getDateTimeZoneOfTenant()).toInstant());
+    }
+
     private boolean transferAmount(final List<Throwable> errors, final AccountTransferDTO accountTransferDTO, final Long instructionId) {
         boolean transferCompleted = true;
         StringBuilder errorLog = new StringBuilder();
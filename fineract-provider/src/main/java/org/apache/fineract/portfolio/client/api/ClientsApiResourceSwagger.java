@@ -165,6 +165,8 @@ final class ClientsApiResourceSwagger {
         @Schema(example = "2")
         public Integer totalFilteredRecords;
         public Set<GetClientsPageItemsResponse> pageItems;
+        @Schema(example = "MTI")
+        public String nextCursor;
     }
 
     @Schema(description = "GetClientsClientIdResponse")
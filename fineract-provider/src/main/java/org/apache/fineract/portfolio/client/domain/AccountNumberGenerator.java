@@ -28,11 +28,13 @@ import org.apache.fineract.portfolio.group.domain.Group;
 import org.apache.fineract.portfolio.loanaccount.domain.Loan;
 import org.apache.fineract.portfolio.savings.domain.SavingsAccount;
 import org.apache.fineract.portfolio.shareaccounts.domain.ShareAccount;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 /**
- * Example {@link AccountNumberGenerator} for clients that takes an entities auto generated database id and zero fills
- * it ensuring the identifier is always of a given <code>maxLength</code>.
+ * Example {@link AccountNumberGenerator} for clients that takes the next number of the entity's
+ * {@link AccountNumberSequence} and zero fills it ensuring the identifier is always of a given <code>maxLength</code>.
+ * The entity does not need an id yet, so the account number can be set before it is first saved.
  */
 @Component
 public class AccountNumberGenerator {
@@ -46,9 +48,16 @@ public class AccountNumberGenerator {
     private static final String SAVINGS_PRODUCT_SHORT_NAME = "savingsProductShortName";
     private static final String SHARE_PRODUCT_SHORT_NAME = "sharesProductShortName";
 
+    private final AccountNumberSequence accountNumberSequence;
+
+    @Autowired
+    public AccountNumberGenerator(final AccountNumberSequence accountNumberSequence) {
+        this.accountNumberSequence = accountNumberSequence;
+    }
+
     public String generate(Client client, AccountNumberFormat accountNumberFormat) {
         Map<String, String> propertyMap = new HashMap<>();
-        propertyMap.put(ID, client.getId().toString());
+        propertyMap.put(ID, nextNumber(AccountNumberSequence.CLIENT));
         propertyMap.put(OFFICE_NAME, client.getOffice().getName());
         CodeValue clientType = client.clientType();
         if (clientType != null) {
@@ -59,7 +68,7 @@ public class AccountNumberGenerator {
 
     public String generate(Loan loan, AccountNumberFormat accountNumberFormat) {
         Map<String, String> propertyMap = new HashMap<>();
-        propertyMap.put(ID, loan.getId().toString());
+        propertyMap.put(ID, nextNumber(AccountNumberSequence.LOAN));
         propertyMap.put(OFFICE_NAME, loan.getOffice().getName());
         propertyMap.put(LOAN_PRODUCT_SHORT_NAME, loan.loanProduct().getShortName());
         return generateAccountNumber(propertyMap, accountNumberFormat);
@@ -67,7 +76,7 @@ public class AccountNumberGenerator {
 
     public String generate(SavingsAccount savingsAccount, AccountNumberFormat accountNumberFormat) {
         Map<String, String> propertyMap = new HashMap<>();
-        propertyMap.put(ID, savingsAccount.getId().toString());
+        propertyMap.put(ID, nextNumber(AccountNumberSequence.SAVINGS));
         propertyMap.put(OFFICE_NAME, savingsAccount.office().getName());
         propertyMap.put(SAVINGS_PRODUCT_SHORT_NAME, savingsAccount.savingsProduct().getShortName());
         return generateAccountNumber(propertyMap, accountNumberFormat);
@@ -75,11 +84,15 @@ public class AccountNumberGenerator {
 
     public String generate(ShareAccount shareaccount, AccountNumberFormat accountNumberFormat) {
         Map<String, String> propertyMap = new HashMap<>();
-        propertyMap.put(ID, shareaccount.getId().toString());
+        propertyMap.put(ID, nextNumber(AccountNumberSequence.SHARES));
         propertyMap.put(SHARE_PRODUCT_SHORT_NAME, shareaccount.getShareProduct().getShortName());
         return generateAccountNumber(propertyMap, accountNumberFormat);
     }
 
+    private String nextNumber(final String sequenceName) {
+        return Long.toString(this.accountNumberSequence.next(sequenceName));
+    }
+
     private String generateAccountNumber(Map<String, String> propertyMap, AccountNumberFormat accountNumberFormat) {
         String accountNumber = StringUtils.leftPad(propertyMap.get(ID), AccountNumberGenerator.maxLength, '0');
         if (accountNumberFormat != null && accountNumberFormat.getPrefixEnum() != null) {
@@ -118,14 +131,14 @@ public class AccountNumberGenerator {
 
     public String generateGroupAccountNumber(Group group, AccountNumberFormat accountNumberFormat) {
         Map<String, String> propertyMap = new HashMap<>();
-        propertyMap.put(ID, group.getId().toString());
+        propertyMap.put(ID, nextNumber(AccountNumberSequence.GROUP));
         propertyMap.put(OFFICE_NAME, group.getOffice().getName());
         return generateAccountNumber(propertyMap, accountNumberFormat);
     }
 
     public String generateCenterAccountNumber(Group group, AccountNumberFormat accountNumberFormat) {
         Map<String, String> propertyMap = new HashMap<>();
-        propertyMap.put(ID, group.getId().toString());
+        propertyMap.put(ID, nextNumber(AccountNumberSequence.GROUP));
         propertyMap.put(OFFICE_NAME, group.getOffice().getName());
         return generateAccountNumber(propertyMap, accountNumberFormat);
     }
@@ -0,0 +1,113 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.client.domain;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Allocates the numbers {@link AccountNumberGenerator} builds account numbers from, so that an entity gets its account
+ * number before it is first inserted. Numbers come from one sequence per table of numbered entities, kept in
+ * <code>m_account_number_sequence</code>.
+ *
+ * Each node reserves blocks of <code>FINERACT_ACCOUNT_NUMBER_BLOCK_SIZE</code> numbers per tenant and sequence, and hands
+ * them out from memory. A block is reserved in a transaction of its own, on a connection of its own, and committed
+ * straight away, so it is never given out twice even if the transaction that asked for it rolls back; numbers left in a
+ * block when the node stops are skipped. As the caller keeps its own connection meanwhile, at most
+ * <code>FINERACT_ACCOUNT_NUMBER_RESERVATION_CONCURRENCY</code> blocks are reserved at a time, which bounds the number of
+ * extra connections taken from the pool.
+ */
+@Component
+public class AccountNumberSequence {
+
+    public static final String CLIENT = "m_client";
+    public static final String GROUP = "m_group";
+    public static final String LOAN = "m_loan";
+    public static final String SAVINGS = "m_savings_account";
+    public static final String SHARES = "m_share_account";
+
+    private static final String SELECT_SQL = "select next_value from m_account_number_sequence where sequence_name = ? for update";
+    private static final String UPDATE_SQL = "update m_account_number_sequence set next_value = ? where sequence_name = ?";
+
+    private static final ResultSetExtractor<Long> NEXT_VALUE = rs -> rs.next() ? rs.getLong(1) : null;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate reservationTemplate;
+    private final Semaphore reservations;
+    private final int blockSize;
+    private final ConcurrentMap<String, Block> blocks = new ConcurrentHashMap<>();
+
+    @Autowired
+    public AccountNumberSequence(final RoutingDataSource dataSource, final Environment environment) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.reservationTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        this.reservationTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.reservations = new Semaphore(
+                Math.max(1, environment.getProperty("FINERACT_ACCOUNT_NUMBER_RESERVATION_CONCURRENCY", Integer.class, 2)), true);
+        this.blockSize = Math.max(1, environment.getProperty("FINERACT_ACCOUNT_NUMBER_BLOCK_SIZE", Integer.class, 50));
+    }
+
+    public long next(final String sequenceName) {
+        final String key = ThreadLocalContextUtil.getTenant().getTenantIdentifier() + "/" + sequenceName;
+        final Block block = this.blocks.computeIfAbsent(key, k -> new Block());
+        synchronized (block) {
+            if (block.next >= block.end) {
+                block.next = reserve(sequenceName);
+                block.end = block.next + this.blockSize;
+            }
+            return block.next++;
+        }
+    }
+
+    /**
+     * @return the first number of a newly reserved block
+     */
+    private long reserve(final String sequenceName) {
+        this.reservations.acquireUninterruptibly();
+        try {
+            return this.reservationTemplate.execute(status -> {
+                final Long first = this.jdbcTemplate.query(SELECT_SQL, NEXT_VALUE, sequenceName);
+                if (first == null) {
+                    throw new IllegalStateException("No account number sequence " + sequenceName);
+                }
+                this.jdbcTemplate.update(UPDATE_SQL, first + this.blockSize, sequenceName);
+                return first;
+            });
+        } finally {
+            this.reservations.release();
+        }
+    }
+
+    private static final class Block {
+
+        private long next;
+        private long end;
+    }
+}
@@ -230,4 +230,12 @@ public class ClientTransaction extends AbstractPersistableCustom {
         return LocalDate.ofInstant(this.dateOf.toInstant(), DateUtils.getDateTimeZoneOfTenant());
     }
 
+    public PaymentDetail getPaymentDetail() {
+        return this.paymentDetail;
+    }
+
+    public AppUser getAppUser() {
+        return this.appUser;
+    }
+
 }
@@ -37,6 +37,7 @@ import org.apache.fineract.infrastructure.core.domain.JdbcSupport;
 import org.apache.fineract.infrastructure.core.exception.PlatformApiDataValidationException;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
 import org.apache.fineract.infrastructure.core.service.Page;
+import org.apache.fineract.infrastructure.core.service.PageCursor;
 import org.apache.fineract.infrastructure.core.service.PaginationHelper;
 import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
 import org.apache.fineract.infrastructure.core.service.SearchParameters;
@@ -199,7 +200,7 @@ public class ClientReadPlatformServiceImpl implements ClientReadPlatformService
         // }
         List<Object> paramList = new ArrayList<>(Arrays.asList(underHierarchySearchString, underHierarchySearchString));
         final StringBuilder sqlBuilder = new StringBuilder(200);
-        sqlBuilder.append("select SQL_CALC_FOUND_ROWS ");
+        sqlBuilder.append("select ");
         sqlBuilder.append(this.clientMapper.schema());
         sqlBuilder.append(" where (o.hierarchy like ? or transferToOffice.hierarchy like ?) ");
 
@@ -215,7 +216,29 @@ public class ClientReadPlatformServiceImpl implements ClientReadPlatformService
             if (StringUtils.isNotBlank(extraCriteria)) {
                 sqlBuilder.append(" and (").append(extraCriteria).append(")");
             }
+        }
+
+        String sqlCountRows = null;
+        Object[] countArgs = null;
+        if (searchParameters == null || searchParameters.isCountRequested()) {
+            sqlCountRows = PaginationHelper.countSql(sqlBuilder.toString());
+            countArgs = paramList.toArray();
+        }
 
+        if (searchParameters != null && searchParameters.isKeysetPaged()) {
+            final PageCursor cursor = PageCursor.from(searchParameters.getCursor());
+            if (cursor != null) {
+                sqlBuilder.append(" and c.id > ?");
+                paramList.add(cursor.expectKeys(1).getLong(0));
+            }
+            sqlBuilder.append(" order by c.id");
+            return this.paginationHelper.fetchPage(this.jdbcTemplate, sqlCountRows, countArgs, sqlBuilder.toString(),
+                    paramList.toArray(), searchParameters.getLimit(), null, this.clientMapper, "id");
+        }
+
+        Integer limit = null;
+        Integer offset = null;
+        if (searchParameters != null) {
             if (searchParameters.isOrderByRequested()) {
                 sqlBuilder.append(" order by ").append(searchParameters.getOrderBy());
                 this.columnValidator.validateSqlInjection(sqlBuilder.toString(), searchParameters.getOrderBy());
@@ -226,15 +249,14 @@ public class ClientReadPlatformServiceImpl implements ClientReadPlatformService
             }
 
             if (searchParameters.isLimited()) {
-                sqlBuilder.append(" limit ").append(searchParameters.getLimit());
+                limit = searchParameters.getLimit();
                 if (searchParameters.isOffset()) {
-                    sqlBuilder.append(" offset ").append(searchParameters.getOffset());
+                    offset = searchParameters.getOffset();
                 }
             }
         }
-        final String sqlCountRows = "SELECT FOUND_ROWS()";
-        return this.paginationHelper.fetchPage(this.jdbcTemplate, sqlCountRows, sqlBuilder.toString(), paramList.toArray(),
-                this.clientMapper);
+        return this.paginationHelper.fetchPage(this.jdbcTemplate, sqlCountRows, countArgs, sqlBuilder.toString(), paramList.toArray(),
+                limit, offset, this.clientMapper);
     }
 
     private String buildSqlStringFromClientCriteria(String schemaSql, final SearchParameters searchParameters, List<Object> paramList) {
@@ -198,6 +198,9 @@ public class GroupingTypesWritePlatformServiceJpaRepositoryImpl implements Group
             final Group newGroup = Group.newGroup(groupOffice, staff, parentGroup, groupLevel, name, externalId, active, activationDate,
                     clientMembers, groupMembers, submittedOnDate, currentUser, accountNo);
 
+            /* Generate account number if required */
+            generateAccountNumberIfRequired(newGroup);
+
             boolean rollbackTransaction = false;
             if (newGroup.isActive()) {
                 this.groupRepository.save(newGroup);
@@ -228,9 +231,6 @@ public class GroupingTypesWritePlatformServiceJpaRepositoryImpl implements Group
              */
             newGroup.generateHierarchy();
 
-            /* Generate account number if required */
-            generateAccountNumberIfRequired(newGroup);
-
             this.groupRepository.saveAndFlush(newGroup);
             newGroup.captureStaffHistoryDuringCenterCreation(staff, activationDate);
 
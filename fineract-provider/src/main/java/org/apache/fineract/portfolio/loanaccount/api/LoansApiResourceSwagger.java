@@ -478,6 +478,8 @@ final class LoansApiResourceSwagger {
         @Schema(example = "1")
         public Integer totalFilteredRecords;
         public Set<GetLoansLoanIdResponse> pageItems;
+        @Schema(example = "MTI")
+        public String nextCursor;
     }
 
     @Schema(description = "PostLoansRequest")
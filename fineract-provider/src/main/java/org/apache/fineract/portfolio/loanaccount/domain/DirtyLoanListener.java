@@ -0,0 +1,107 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.domain;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.persistence.EntityManagerFactory;
+import org.apache.openjpa.event.DeleteListener;
+import org.apache.openjpa.event.LifecycleEvent;
+import org.apache.openjpa.event.PostPersistListener;
+import org.apache.openjpa.event.UpdateListener;
+import org.apache.openjpa.persistence.OpenJPAPersistence;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Lifecycle listener of loans and of the installments, charges and transactions they are derived from, marking the
+ * loan dirty in the {@link DirtyLoanQueue} whenever one of them is written, whichever service writes it. It registers
+ * itself with the entity manager factory when Spring creates it.
+ */
+@Component
+public class DirtyLoanListener implements PostPersistListener, UpdateListener, DeleteListener {
+
+    private final DirtyLoanQueue queue;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    public DirtyLoanListener(final DirtyLoanQueue queue, final EntityManagerFactory entityManagerFactory) {
+        this.queue = queue;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @PostConstruct
+    public void register() {
+        OpenJPAPersistence.cast(this.entityManagerFactory).addLifecycleListener(this, Loan.class, LoanRepaymentScheduleInstallment.class,
+                LoanCharge.class, LoanTransaction.class);
+    }
+
+    @PreDestroy
+    public void unregister() {
+        OpenJPAPersistence.cast(this.entityManagerFactory).removeLifecycleListener(this);
+    }
+
+    @Override
+    public void afterPersistPerformed(final LifecycleEvent event) {
+        markDirty(event.getSource());
+    }
+
+    @Override
+    public void beforeUpdate(final LifecycleEvent event) {
+        // marked once the update is performed
+    }
+
+    @Override
+    public void afterUpdatePerformed(final LifecycleEvent event) {
+        markDirty(event.getSource());
+    }
+
+    @Override
+    public void beforeDelete(final LifecycleEvent event) {
+        // a loan that is deleted has nothing left to derive; its marks are cleared by the next run of the jobs
+        if (!(event.getSource() instanceof Loan)) {
+            markDirty(event.getSource());
+        }
+    }
+
+    @Override
+    public void afterDelete(final LifecycleEvent event) {
+        // marked before the delete, while the loan can still be told
+    }
+
+    private void markDirty(final Object entity) {
+        final Loan loan = loanOf(entity);
+        if (loan != null) {
+            this.queue.markDirty(loan.getId());
+        }
+    }
+
+    private static Loan loanOf(final Object entity) {
+        if (entity instanceof Loan) {
+            return (Loan) entity;
+        } else if (entity instanceof LoanRepaymentScheduleInstallment) {
+            return ((LoanRepaymentScheduleInstallment) entity).getLoan();
+        } else if (entity instanceof LoanCharge) {
+            return ((LoanCharge) entity).getLoan();
+        } else if (entity instanceof LoanTransaction) {
+            return ((LoanTransaction) entity).getLoan();
+        }
+        return null;
+    }
+}
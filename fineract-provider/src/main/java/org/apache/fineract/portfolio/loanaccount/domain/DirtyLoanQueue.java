@@ -0,0 +1,166 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.domain;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Change tracking for the loan columns that scheduled jobs derive from the repayment schedule. Every write of a loan,
+ * or of one of its installments, charges or transactions, marks the loan dirty once per consumer (see
+ * {@link #LOAN_SUMMARY} and {@link #LOAN_PAID_IN_ADVANCE}) in the same transaction; a consumer then recomputes only the
+ * dirty loans and clears the marks it has processed. The writes are reported by the {@link DirtyLoanListener}, and
+ * within a transaction the loans are only collected, then marked with one statement right before it commits.
+ *
+ * Only writes made through the entity manager are reported. Statements run directly against the loan tables have to
+ * mark the loans themselves with {@link #markDirty(Collection)} when they change a column the consumers read; the
+ * accrual, NPA and accrued-till updates of the jobs do not, as the derived columns are computed from the amounts and
+ * the completed, waived and written-off portions of the installments and charges only.
+ *
+ * Each mark carries a version that is bumped on every write, so a loan written again while a job recomputes it stays
+ * dirty for the next run.
+ */
+@Repository
+public class DirtyLoanQueue {
+
+    public static final String LOAN_SUMMARY = "loan_summary";
+    public static final String LOAN_PAID_IN_ADVANCE = "loan_paid_in_advance";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    public DirtyLoanQueue(final RoutingDataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * Marks a written loan dirty before the current transaction commits, or at once when there is no transaction.
+     */
+    public void markDirty(final Long loanId) {
+        if (loanId == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            markDirty(Collections.singleton(loanId));
+            return;
+        }
+        currentMarks().add(loanId);
+    }
+
+    /**
+     * Looks the pending marks up among the synchronizations of the current transaction, so that a nested REQUIRES_NEW
+     * transaction collects and writes its own.
+     */
+    private PendingMarks currentMarks() {
+        for (final TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingMarks) {
+                return (PendingMarks) synchronization;
+            }
+        }
+        final PendingMarks marks = new PendingMarks();
+        TransactionSynchronizationManager.registerSynchronization(marks);
+        return marks;
+    }
+
+    /**
+     * Marks the loans dirty at once.
+     */
+    public void markDirty(final Collection<Long> loanIds) {
+        final List<Object[]> batchArgs = new ArrayList<>(loanIds.size());
+        for (final Long loanId : loanIds) {
+            if (loanId != null) {
+                batchArgs.add(new Object[] { loanId, loanId });
+            }
+        }
+        if (batchArgs.isEmpty()) {
+            return;
+        }
+        this.jdbcTemplate.batchUpdate("insert into m_loan_dirty (consumer, loan_id, version) values ('" + LOAN_SUMMARY + "', ?, 1), ('"
+                + LOAN_PAID_IN_ADVANCE + "', ?, 1) on duplicate key update version = version + 1", batchArgs);
+    }
+
+    /**
+     * @return up to <code>limit</code> dirty loans of the consumer with an id above <code>afterLoanId</code>, as loan id
+     *         to version of the mark, in loan id order
+     */
+    public Map<Long, Long> retrieveDirtyLoans(final String consumer, final long afterLoanId, final int limit) {
+        final Map<Long, Long> dirtyLoans = new LinkedHashMap<>();
+        this.jdbcTemplate.query("select loan_id, version from m_loan_dirty where consumer = ? and loan_id > ? order by loan_id limit ?",
+                rs -> {
+                    dirtyLoans.put(rs.getLong("loan_id"), rs.getLong("version"));
+                }, consumer, afterLoanId, limit);
+        return dirtyLoans;
+    }
+
+    /**
+     * Clears the marks of the consumer unless the loan was written again after the given versions were read.
+     */
+    public void clear(final String consumer, final Map<Long, Long> dirtyLoans) {
+        final List<Object[]> batchArgs = new ArrayList<>(dirtyLoans.size());
+        for (final Map.Entry<Long, Long> dirtyLoan : dirtyLoans.entrySet()) {
+            batchArgs.add(new Object[] { consumer, dirtyLoan.getKey(), dirtyLoan.getValue() });
+        }
+        this.jdbcTemplate.batchUpdate("delete from m_loan_dirty where consumer = ? and loan_id = ? and version = ?", batchArgs);
+    }
+
+    private final class PendingMarks extends TransactionSynchronizationAdapter {
+
+        // sorted, so that concurrent transactions mark the loans in the same order
+        private final SortedSet<Long> loanIds = new TreeSet<>();
+        private boolean written;
+
+        @Override
+        public void beforeCommit(final boolean readOnly) {
+            // entities written since the last flush only report themselves to the listener once they are flushed
+            if (!readOnly) {
+                DirtyLoanQueue.this.entityManager.flush();
+            }
+            markDirty(this.loanIds);
+            this.loanIds.clear();
+            this.written = true;
+        }
+
+        void add(final Long loanId) {
+            if (this.written) {
+                // flushed as the transaction commits, after the pending marks were written
+                markDirty(Collections.singleton(loanId));
+                return;
+            }
+            this.loanIds.add(loanId);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.domain;
+
+import java.time.LocalDate;
+import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Records the business date on which overdue charges were last applied to a loan. The mark is written in the same
+ * transaction as the charges, so a rerun of the overdue charge job on the same day skips loans that were already
+ * charged and picks up only those that failed or were not reached.
+ */
+@Repository
+public class LoanOverdueChargeRunMarker {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public LoanOverdueChargeRunMarker(final RoutingDataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    public void markCharged(final Long loanId, final LocalDate runDate) {
+        this.jdbcTemplate.update(
+                "insert into m_loan_overdue_charge_run (loan_id, last_run_date) values (?, ?) on duplicate key update last_run_date = ?",
+                loanId, runDate, runDate);
+    }
+}
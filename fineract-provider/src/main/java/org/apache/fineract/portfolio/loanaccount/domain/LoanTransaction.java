@@ -798,6 +798,10 @@ public class LoanTransaction extends AbstractPersistableCustom {
         return this.paymentDetail;
     }
 
+    public AppUser getAppUser() {
+        return this.appUser;
+    }
+
     public boolean isPaymentTransaction() {
         return this.isNotReversed() && !(this.isDisbursement() || this.isAccrual() || this.isRepaymentAtDisbursement()
                 || this.isNonMonetaryTransaction() || this.isIncomePosting());
@@ -383,13 +383,6 @@ public class LoanApplicationWritePlatformServiceJpaRepositoryImpl implements Loa
                 }
             }
 
-            this.loanRepositoryWrapper.save(newLoanApplication);
-
-            if (loanProduct.isInterestRecalculationEnabled()) {
-                this.fromApiJsonDeserializer.validateLoanForInterestRecalculation(newLoanApplication);
-                createAndPersistCalendarInstanceForInterestRecalculation(newLoanApplication);
-            }
-
             // loan account number generation
             String accountNumber = "";
             GroupLoanIndividualMonitoringAccount glimAccount;
@@ -425,7 +418,6 @@ public class LoanApplicationWritePlatformServiceJpaRepositoryImpl implements Loa
                                     command.bigDecimalValueOfParameterNamedDefaultToNullIfZero("totalLoan"), Long.valueOf(1), true,
                                     LoanStatus.SUBMITTED_AND_PENDING_APPROVAL.getValue(), applicationId);
                             newLoanApplication.setGlim(glimRepository.findOneByAccountNumber(accountNumber));
-                            this.loanRepositoryWrapper.save(newLoanApplication);
 
                         } else {
                             // ************** Parent-empty
@@ -437,7 +429,6 @@ public class LoanApplicationWritePlatformServiceJpaRepositoryImpl implements Loa
                                     command.bigDecimalValueOfParameterNamedDefaultToNullIfZero("totalLoan"), Long.valueOf(1), true,
                                     LoanStatus.SUBMITTED_AND_PENDING_APPROVAL.getValue(), applicationId);
                             newLoanApplication.setGlim(glimRepository.findOneByAccountNumber(accountNumber));
-                            this.loanRepositoryWrapper.save(newLoanApplication);
 
                         }
 
@@ -451,7 +442,6 @@ public class LoanApplicationWritePlatformServiceJpaRepositoryImpl implements Loa
                             newLoanApplication.updateAccountNo(accountNumber);
                             this.glimAccountInfoWritePlatformService.incrementChildAccountCount(glimAccount);
                             newLoanApplication.setGlim(glimAccount);
-                            this.loanRepositoryWrapper.save(newLoanApplication);
 
                         } else {
                             // **************Child-empty
@@ -464,7 +454,6 @@ public class LoanApplicationWritePlatformServiceJpaRepositoryImpl implements Loa
                                     command.bigDecimalValueOfParameterNamedDefaultToNullIfZero("totalLoan"), Long.valueOf(1), true,
                                     LoanStatus.SUBMITTED_AND_PENDING_APPROVAL.getValue(), applicationId);
                             newLoanApplication.setGlim(glimRepository.findOneByAccountNumber(accountNumber));
-                            this.loanRepositoryWrapper.save(newLoanApplication);
 
                         }
 
@@ -478,10 +467,16 @@ public class LoanApplicationWritePlatformServiceJpaRepositoryImpl implements Loa
                     }
                 } else { // for applications other than GLIM
                     newLoanApplication.updateAccountNo(this.accountNumberGenerator.generate(newLoanApplication, accountNumberFormat));
-                    this.loanRepositoryWrapper.save(newLoanApplication);
                 }
             }
 
+            this.loanRepositoryWrapper.save(newLoanApplication);
+
+            if (loanProduct.isInterestRecalculationEnabled()) {
+                this.fromApiJsonDeserializer.validateLoanForInterestRecalculation(newLoanApplication);
+                createAndPersistCalendarInstanceForInterestRecalculation(newLoanApplication);
+            }
+
             final String submittedOnNote = command.stringValueOfParameterNamed("submittedOnNote");
             if (StringUtils.isNotBlank(submittedOnNote)) {
                 final Note note = Note.loanNote(newLoanApplication, submittedOnNote);
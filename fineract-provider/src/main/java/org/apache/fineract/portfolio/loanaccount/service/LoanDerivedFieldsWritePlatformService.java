@@ -0,0 +1,39 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import org.apache.fineract.portfolio.loanaccount.domain.DirtyLoanQueue;
+
+/**
+ * Recomputes the loan columns derived from the repayment schedule for a chunk of loans, each chunk in its own
+ * transaction. Chunks come from the {@link DirtyLoanQueue}; dirty loans are given as loan id to version of the mark.
+ */
+public interface LoanDerivedFieldsWritePlatformService {
+
+    int refreshLoanSummaries(Map<Long, Long> dirtyLoans);
+
+    int refreshPaidInAdvance(Map<Long, Long> dirtyLoans);
+
+    int refreshPaidInAdvance(Collection<Long> loanIds);
+
+    List<Long> retrieveLoansPaidInAdvance(long afterLoanId, int limit);
+}
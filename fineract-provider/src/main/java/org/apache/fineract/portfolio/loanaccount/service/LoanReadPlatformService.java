@@ -90,6 +90,16 @@ public interface LoanReadPlatformService {
      */
     Collection<OverdueLoanScheduleData> retrieveAllLoansWithOverdueInstallments(Long penaltyWaitPeriod, Boolean backdatePenalties);
 
+    /**
+     * Pages over the loans with overdue installments in loan id order, skipping loans whose overdue charges were
+     * already applied on <code>runDate</code>.
+     */
+    List<Long> retrieveLoanIdsWithOverdueInstallments(Long penaltyWaitPeriod, Boolean backdatePenalties, LocalDate runDate,
+            Long afterLoanId, Integer limit);
+
+    Collection<OverdueLoanScheduleData> retrieveOverdueInstallments(Long penaltyWaitPeriod, Boolean backdatePenalties,
+            Collection<Long> loanIds);
+
     Integer retriveLoanCounter(Long groupId, Integer loanType, Long productId);
 
     Integer retriveLoanCounter(Long clientId, Long productId);
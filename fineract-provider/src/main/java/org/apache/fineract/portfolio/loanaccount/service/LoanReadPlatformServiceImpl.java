@@ -43,6 +43,7 @@ import org.apache.fineract.infrastructure.core.data.EnumOptionData;
 import org.apache.fineract.infrastructure.core.domain.JdbcSupport;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
 import org.apache.fineract.infrastructure.core.service.Page;
+import org.apache.fineract.infrastructure.core.service.PageCursor;
 import org.apache.fineract.infrastructure.core.service.PaginationHelper;
 import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
 import org.apache.fineract.infrastructure.core.service.SearchParameters;
@@ -293,7 +294,7 @@ public class LoanReadPlatformServiceImpl implements LoanReadPlatformService {
         final String hierarchySearchString = hierarchy + "%";
 
         final StringBuilder sqlBuilder = new StringBuilder(200);
-        sqlBuilder.append("select SQL_CALC_FOUND_ROWS ");
+        sqlBuilder.append("select ");
         sqlBuilder.append(this.loaanLoanMapper.loanSchema());
 
         // TODO - for time being this will data scope list of loans returned to
@@ -336,7 +337,30 @@ public class LoanReadPlatformServiceImpl implements LoanReadPlatformService {
                 extraCriterias.add(searchParameters.getAccountNo());
                 arrayPos = arrayPos + 1;
             }
+        }
+
+        String sqlCountRows = null;
+        Object[] countArgs = null;
+        if (searchParameters == null || searchParameters.isCountRequested()) {
+            sqlCountRows = PaginationHelper.countSql(sqlBuilder.toString());
+            countArgs = Arrays.copyOf(extraCriterias.toArray(), arrayPos);
+        }
+
+        if (searchParameters != null && searchParameters.isKeysetPaged()) {
+            final PageCursor cursor = PageCursor.from(searchParameters.getCursor());
+            if (cursor != null) {
+                sqlBuilder.append(" and l.id > ?");
+                extraCriterias.add(cursor.expectKeys(1).getLong(0));
+                arrayPos = arrayPos + 1;
+            }
+            sqlBuilder.append(" order by l.id");
+            return this.paginationHelper.fetchPage(this.jdbcTemplate, sqlCountRows, countArgs, sqlBuilder.toString(),
+                    Arrays.copyOf(extraCriterias.toArray(), arrayPos), searchParameters.getLimit(), null, this.loaanLoanMapper, "id");
+        }
 
+        Integer limit = null;
+        Integer offset = null;
+        if (searchParameters != null) {
             if (searchParameters.isOrderByRequested()) {
                 sqlBuilder.append(" order by ").append(searchParameters.getOrderBy());
                 this.columnValidator.validateSqlInjection(sqlBuilder.toString(), searchParameters.getOrderBy());
@@ -348,17 +372,16 @@ public class LoanReadPlatformServiceImpl implements LoanReadPlatformService {
             }
 
             if (searchParameters.isLimited()) {
-                sqlBuilder.append(" limit ").append(searchParameters.getLimit());
+                limit = searchParameters.getLimit();
                 if (searchParameters.isOffset()) {
-                    sqlBuilder.append(" offset ").append(searchParameters.getOffset());
+                    offset = searchParameters.getOffset();
                 }
             }
         }
         final Object[] objectArray = extraCriterias.toArray();
         final Object[] finalObjectArray = Arrays.copyOf(objectArray, arrayPos);
-        final String sqlCountRows = "SELECT FOUND_ROWS()";
-        return this.paginationHelper.fetchPage(this.jdbcTemplate, sqlCountRows, sqlBuilder.toString(), finalObjectArray,
-                this.loaanLoanMapper);
+        return this.paginationHelper.fetchPage(this.jdbcTemplate, sqlCountRows, countArgs, sqlBuilder.toString(), finalObjectArray, limit,
+                offset, this.loaanLoanMapper);
     }
 
     @Override
@@ -979,11 +1002,14 @@ public class LoanReadPlatformServiceImpl implements LoanReadPlatformService {
                     + " ls.fee_charges_amount as feeChargesDue, ls.fee_charges_completed_derived as feeChargesPaid, ls.fee_charges_waived_derived as feeChargesWaived, ls.fee_charges_writtenoff_derived as feeChargesWrittenOff, "
                     + " ls.penalty_charges_amount as penaltyChargesDue, ls.penalty_charges_completed_derived as penaltyChargesPaid, ls.penalty_charges_waived_derived as penaltyChargesWaived, ls.penalty_charges_writtenoff_derived as penaltyChargesWrittenOff, "
                     + " ls.total_paid_in_advance_derived as totalPaidInAdvanceForPeriod, ls.total_paid_late_derived as totalPaidLateForPeriod, "
-                    + " mc.amount,mc.id as chargeId " + " from m_loan_repayment_schedule ls "
-                    + " inner join m_loan ml on ml.id = ls.loan_id "
+                    + " mc.amount,mc.id as chargeId " + from();
+
+        }
+
+        public String from() {
+            return " from m_loan_repayment_schedule ls " + " inner join m_loan ml on ml.id = ls.loan_id "
                     + " join m_product_loan_charge plc on plc.product_loan_id = ml.product_id "
                     + " join m_charge mc on mc.id = plc.charge_id ";
-
         }
 
         @Override
@@ -1492,20 +1518,68 @@ public class LoanReadPlatformServiceImpl implements LoanReadPlatformService {
             final Boolean backdatePenalties) {
         final MusoniOverdueLoanScheduleMapper rm = new MusoniOverdueLoanScheduleMapper();
 
+        final List<Object> params = new ArrayList<>();
         final StringBuilder sqlBuilder = new StringBuilder(400);
-        sqlBuilder.append("select ").append(rm.schema()).append(" where DATE_SUB(CURDATE(),INTERVAL ? DAY) > ls.duedate ")
+        sqlBuilder.append("select ").append(rm.schema());
+        appendOverdueInstallmentCriteria(sqlBuilder, params, penaltyWaitPeriod, backdatePenalties);
+
+        return this.jdbcTemplate.query(sqlBuilder.toString(), rm, params.toArray());
+    }
+
+    @Override
+    public List<Long> retrieveLoanIdsWithOverdueInstallments(final Long penaltyWaitPeriod, final Boolean backdatePenalties,
+            final LocalDate runDate, final Long afterLoanId, final Integer limit) {
+        final MusoniOverdueLoanScheduleMapper rm = new MusoniOverdueLoanScheduleMapper();
+
+        final List<Object> params = new ArrayList<>();
+        final StringBuilder sqlBuilder = new StringBuilder(600);
+        sqlBuilder.append("select distinct ls.loan_id ").append(rm.from());
+        appendOverdueInstallmentCriteria(sqlBuilder, params, penaltyWaitPeriod, backdatePenalties);
+        sqlBuilder.append(" and ls.loan_id > ? ");
+        params.add(afterLoanId);
+        // loans already charged on this business date by an earlier run
+        sqlBuilder.append(" and not exists (select 1 from m_loan_overdue_charge_run r ")
+                .append(" where r.loan_id = ls.loan_id and r.last_run_date = ?) ");
+        params.add(runDate);
+        sqlBuilder.append(" order by ls.loan_id limit ?");
+        params.add(limit);
+
+        return this.jdbcTemplate.queryForList(sqlBuilder.toString(), Long.class, params.toArray());
+    }
+
+    @Override
+    public Collection<OverdueLoanScheduleData> retrieveOverdueInstallments(final Long penaltyWaitPeriod, final Boolean backdatePenalties,
+            final Collection<Long> loanIds) {
+        if (loanIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        final MusoniOverdueLoanScheduleMapper rm = new MusoniOverdueLoanScheduleMapper();
+
+        final List<Object> params = new ArrayList<>();
+        final StringBuilder sqlBuilder = new StringBuilder(600);
+        sqlBuilder.append("select ").append(rm.schema());
+        appendOverdueInstallmentCriteria(sqlBuilder, params, penaltyWaitPeriod, backdatePenalties);
+        sqlBuilder.append(" and ls.loan_id in (").append(String.join(",", Collections.nCopies(loanIds.size(), "?"))).append(")");
+        params.addAll(loanIds);
+        sqlBuilder.append(" order by ls.loan_id, ls.installment");
+
+        return this.jdbcTemplate.query(sqlBuilder.toString(), rm, params.toArray());
+    }
+
+    private static void appendOverdueInstallmentCriteria(final StringBuilder sqlBuilder, final List<Object> params,
+            final Long penaltyWaitPeriod, final Boolean backdatePenalties) {
+        sqlBuilder.append(" where DATE_SUB(CURDATE(),INTERVAL ? DAY) > ls.duedate ")
                 .append(" and ls.completed_derived <> 1 and mc.charge_applies_to_enum =1 ")
                 .append(" and ls.recalculated_interest_component <> 1 ")
                 .append(" and mc.charge_time_enum = 9 and ml.loan_status_id = 300 ");
+        params.add(penaltyWaitPeriod);
 
-        if (backdatePenalties) {
-            return this.jdbcTemplate.query(sqlBuilder.toString(), rm, new Object[] { penaltyWaitPeriod });
+        if (!backdatePenalties) {
+            // Only apply for duedate = yesterday (so that we don't apply
+            // penalties on the duedate itself)
+            sqlBuilder.append(" and ls.duedate >= DATE_SUB(CURDATE(),INTERVAL (? + 1) DAY)");
+            params.add(penaltyWaitPeriod);
         }
-        // Only apply for duedate = yesterday (so that we don't apply
-        // penalties on the duedate itself)
-        sqlBuilder.append(" and ls.duedate >= DATE_SUB(CURDATE(),INTERVAL (? + 1) DAY)");
-
-        return this.jdbcTemplate.query(sqlBuilder.toString(), rm, new Object[] { penaltyWaitPeriod, penaltyWaitPeriod });
     }
 
     @SuppressWarnings("deprecation")
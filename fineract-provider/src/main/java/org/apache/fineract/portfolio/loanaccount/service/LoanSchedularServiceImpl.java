@@ -18,10 +18,11 @@
  */
 package org.apache.fineract.portfolio.loanaccount.service;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
@@ -30,10 +31,15 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
 import org.apache.fineract.infrastructure.core.data.ApiParameterError;
 import org.apache.fineract.infrastructure.core.exception.AbstractPlatformDomainRuleException;
 import org.apache.fineract.infrastructure.core.exception.PlatformApiDataValidationException;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.infrastructure.core.service.TenantAwareTasks;
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.apache.fineract.infrastructure.jobs.annotation.CronTarget;
 import org.apache.fineract.infrastructure.jobs.exception.JobExecutionException;
@@ -42,10 +48,12 @@ import org.apache.fineract.organisation.office.data.OfficeData;
 import org.apache.fineract.organisation.office.exception.OfficeNotFoundException;
 import org.apache.fineract.organisation.office.service.OfficeReadPlatformService;
 import org.apache.fineract.portfolio.loanaccount.loanschedule.data.OverdueLoanScheduleData;
+import org.apache.fineract.portfolio.savings.service.CallerBlocksPolicy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
+import org.springframework.core.env.Environment;
 import org.springframework.dao.CannotAcquireLockException;
 import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
@@ -61,16 +69,19 @@ public class LoanSchedularServiceImpl implements LoanSchedularService {
     private final LoanWritePlatformService loanWritePlatformService;
     private final OfficeReadPlatformService officeReadPlatformService;
     private final ApplicationContext applicationContext;
+    private final int overdueChargePageSize;
 
     @Autowired
     public LoanSchedularServiceImpl(final ConfigurationDomainService configurationDomainService,
             final LoanReadPlatformService loanReadPlatformService, final LoanWritePlatformService loanWritePlatformService,
-            final OfficeReadPlatformService officeReadPlatformService, final ApplicationContext applicationContext) {
+            final OfficeReadPlatformService officeReadPlatformService, final ApplicationContext applicationContext,
+            final Environment environment) {
         this.configurationDomainService = configurationDomainService;
         this.loanReadPlatformService = loanReadPlatformService;
         this.loanWritePlatformService = loanWritePlatformService;
         this.officeReadPlatformService = officeReadPlatformService;
         this.applicationContext = applicationContext;
+        this.overdueChargePageSize = environment.getProperty("FINERACT_OVERDUE_CHARGE_PAGE_SIZE", Integer.class, 1000);
     }
 
     @Override
@@ -79,45 +90,71 @@ public class LoanSchedularServiceImpl implements LoanSchedularService {
 
         final Long penaltyWaitPeriodValue = this.configurationDomainService.retrievePenaltyWaitPeriod();
         final Boolean backdatePenalties = this.configurationDomainService.isBackdatePenaltiesEnabled();
-        final Collection<OverdueLoanScheduleData> overdueLoanScheduledInstallments = this.loanReadPlatformService
-                .retrieveAllLoansWithOverdueInstallments(penaltyWaitPeriodValue, backdatePenalties);
-
-        if (!overdueLoanScheduledInstallments.isEmpty()) {
-            final Map<Long, Collection<OverdueLoanScheduleData>> overdueScheduleData = new HashMap<>();
-            for (final OverdueLoanScheduleData overdueInstallment : overdueLoanScheduledInstallments) {
-                if (overdueScheduleData.containsKey(overdueInstallment.getLoanId())) {
-                    overdueScheduleData.get(overdueInstallment.getLoanId()).add(overdueInstallment);
-                } else {
-                    Collection<OverdueLoanScheduleData> loanData = new ArrayList<>();
-                    loanData.add(overdueInstallment);
-                    overdueScheduleData.put(overdueInstallment.getLoanId(), loanData);
+        final LocalDate runDate = DateUtils.getLocalDateOfTenant();
+        final Integer nThreads = this.configurationDomainService.retrieveScheduledJobNumberOfThreads();
+
+        // loans are streamed page by page and charged by a bounded pool, so
+        // neither the overdue installments nor the queued work of the whole
+        // portfolio are ever held in memory at once
+        final ExecutorService executor = new ThreadPoolExecutor(nThreads, nThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(nThreads), new CallerBlocksPolicy(23));
+        final List<Throwable> exceptions = Collections.synchronizedList(new ArrayList<>());
+
+        try {
+            Long afterLoanId = 0L;
+            List<Long> loanIds;
+            do {
+                loanIds = this.loanReadPlatformService.retrieveLoanIdsWithOverdueInstallments(penaltyWaitPeriodValue, backdatePenalties,
+                        runDate, afterLoanId, this.overdueChargePageSize);
+                if (loanIds.isEmpty()) {
+                    break;
                 }
-            }
+                afterLoanId = loanIds.get(loanIds.size() - 1);
 
-            List<Throwable> exceptions = new ArrayList<>();
-            for (final Long loanId : overdueScheduleData.keySet()) {
-                try {
-                    this.loanWritePlatformService.applyOverdueChargesForLoan(loanId, overdueScheduleData.get(loanId));
+                final Map<Long, Collection<OverdueLoanScheduleData>> overdueScheduleData = new LinkedHashMap<>();
+                for (final OverdueLoanScheduleData overdueInstallment : this.loanReadPlatformService
+                        .retrieveOverdueInstallments(penaltyWaitPeriodValue, backdatePenalties, loanIds)) {
+                    overdueScheduleData.computeIfAbsent(overdueInstallment.getLoanId(), loanId -> new ArrayList<>())
+                            .add(overdueInstallment);
+                }
 
-                } catch (final PlatformApiDataValidationException e) {
-                    final List<ApiParameterError> errors = e.getErrors();
-                    for (final ApiParameterError error : errors) {
-                        LOG.error("Apply Charges due for overdue loans failed for account {} with message: {}", loanId,
-                                error.getDeveloperMessage(), e);
-                    }
-                    exceptions.add(e);
-                } catch (final AbstractPlatformDomainRuleException e) {
-                    LOG.error("Apply Charges due for overdue loans failed for account {} with message: {}", loanId,
-                            e.getDefaultUserMessage(), e);
-                    exceptions.add(e);
-                } catch (Exception e) {
-                    LOG.error("Apply Charges due for overdue loans failed for account {}", loanId, e);
-                    exceptions.add(e);
+                for (final Map.Entry<Long, Collection<OverdueLoanScheduleData>> entry : overdueScheduleData.entrySet()) {
+                    executor.execute(TenantAwareTasks.wrap(() -> applyOverdueChargesForLoan(entry.getKey(), entry.getValue(), exceptions)));
                 }
+            } while (loanIds.size() == this.overdueChargePageSize);
+        } finally {
+            executor.shutdown();
+        }
+
+        try {
+            executor.awaitTermination(23, TimeUnit.HOURS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            exceptions.add(e);
+        }
+
+        if (!exceptions.isEmpty()) {
+            throw new JobExecutionException(new ArrayList<>(exceptions));
+        }
+    }
+
+    private void applyOverdueChargesForLoan(final Long loanId, final Collection<OverdueLoanScheduleData> overdueInstallments,
+            final List<Throwable> exceptions) {
+        try {
+            this.loanWritePlatformService.applyOverdueChargesForLoan(loanId, overdueInstallments);
+        } catch (final PlatformApiDataValidationException e) {
+            final List<ApiParameterError> errors = e.getErrors();
+            for (final ApiParameterError error : errors) {
+                LOG.error("Apply Charges due for overdue loans failed for account {} with message: {}", loanId, error.getDeveloperMessage(),
+                        e);
             }
-            if (!exceptions.isEmpty()) {
-                throw new JobExecutionException(exceptions);
-            }
+            exceptions.add(e);
+        } catch (final AbstractPlatformDomainRuleException e) {
+            LOG.error("Apply Charges due for overdue loans failed for account {} with message: {}", loanId, e.getDefaultUserMessage(), e);
+            exceptions.add(e);
+        } catch (Exception e) {
+            LOG.error("Apply Charges due for overdue loans failed for account {}", loanId, e);
+            exceptions.add(e);
         }
     }
 
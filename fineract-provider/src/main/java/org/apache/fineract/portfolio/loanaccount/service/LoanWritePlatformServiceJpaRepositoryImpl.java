@@ -36,6 +36,7 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.fineract.accounting.journalentry.service.AccountingProcessorHelper;
 import org.apache.fineract.accounting.journalentry.service.JournalEntryWritePlatformService;
 import org.apache.fineract.infrastructure.codes.domain.CodeValue;
 import org.apache.fineract.infrastructure.codes.domain.CodeValueRepositoryWrapper;
@@ -141,6 +142,7 @@ import org.apache.fineract.portfolio.loanaccount.domain.LoanEvent;
 import org.apache.fineract.portfolio.loanaccount.domain.LoanInstallmentCharge;
 import org.apache.fineract.portfolio.loanaccount.domain.LoanInterestRecalcualtionAdditionalDetails;
 import org.apache.fineract.portfolio.loanaccount.domain.LoanLifecycleStateMachine;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanOverdueChargeRunMarker;
 import org.apache.fineract.portfolio.loanaccount.domain.LoanOverdueInstallmentCharge;
 import org.apache.fineract.portfolio.loanaccount.domain.LoanRepaymentScheduleInstallment;
 import org.apache.fineract.portfolio.loanaccount.domain.LoanRepaymentScheduleInstallmentRepository;
@@ -159,6 +161,7 @@ import org.apache.fineract.portfolio.loanaccount.exception.ExceedingTrancheCount
 import org.apache.fineract.portfolio.loanaccount.exception.InvalidPaidInAdvanceAmountException;
 import org.apache.fineract.portfolio.loanaccount.exception.LoanForeclosureException;
 import org.apache.fineract.portfolio.loanaccount.exception.LoanMultiDisbursementException;
+import org.apache.fineract.portfolio.loanaccount.exception.LoanNotFoundException;
 import org.apache.fineract.portfolio.loanaccount.exception.LoanOfficerAssignmentException;
 import org.apache.fineract.portfolio.loanaccount.exception.LoanOfficerUnassignmentException;
 import org.apache.fineract.portfolio.loanaccount.exception.LoanTransactionNotFoundException;
@@ -238,6 +241,8 @@ public class LoanWritePlatformServiceJpaRepositoryImpl implements LoanWritePlatf
     private final CashierTransactionDataValidator cashierTransactionDataValidator;
     private final GLIMAccountInfoRepository glimRepository;
     private final LoanRepository loanRepository;
+    private final LoanOverdueChargeRunMarker loanOverdueChargeRunMarker;
+    private final AccountingProcessorHelper accountingProcessorHelper;
 
     @Autowired
     public LoanWritePlatformServiceJpaRepositoryImpl(final PlatformSecurityContext context,
@@ -267,7 +272,8 @@ public class LoanWritePlatformServiceJpaRepositoryImpl implements LoanWritePlatf
             final LoanRepaymentScheduleTransactionProcessorFactory transactionProcessingStrategy,
             final CodeValueRepositoryWrapper codeValueRepository, final LoanRepositoryWrapper loanRepositoryWrapper,
             final CashierTransactionDataValidator cashierTransactionDataValidator, final GLIMAccountInfoRepository glimRepository,
-            final LoanRepository loanRepository) {
+            final LoanRepository loanRepository, final LoanOverdueChargeRunMarker loanOverdueChargeRunMarker,
+            final AccountingProcessorHelper accountingProcessorHelper) {
         this.context = context;
         this.loanEventApiJsonValidator = loanEventApiJsonValidator;
         this.loanAssembler = loanAssembler;
@@ -308,6 +314,8 @@ public class LoanWritePlatformServiceJpaRepositoryImpl implements LoanWritePlatf
         this.cashierTransactionDataValidator = cashierTransactionDataValidator;
         this.loanRepository = loanRepository;
         this.glimRepository = glimRepository;
+        this.loanOverdueChargeRunMarker = loanOverdueChargeRunMarker;
+        this.accountingProcessorHelper = accountingProcessorHelper;
     }
 
     private LoanLifecycleStateMachine defaultLoanLifecycleStateMachine() {
@@ -321,21 +329,24 @@ public class LoanWritePlatformServiceJpaRepositoryImpl implements LoanWritePlatf
         final Long parentLoanId = loanId;
         GroupLoanIndividualMonitoringAccount parentLoan = glimRepository.findById(parentLoanId).get();
         List<Loan> childLoans = this.loanRepository.findByGlimId(loanId);
-        CommandProcessingResult result = null;
-        int count = 0;
-        for (Loan loan : childLoans) {
-            result = disburseLoan(loan.getId(), command, false);
-            if (result.getLoanId() != null) {
-                count++;
-                // if all the child loans are approved, mark the parent loan as
-                // approved
-                if (count == parentLoan.getChildAccountsCount()) {
-                    parentLoan.setLoanStatus(LoanStatus.ACTIVE.getValue());
-                    glimRepository.save(parentLoan);
+        // the journal entries of all child loans are written with one batch
+        return this.accountingProcessorHelper.executeInUnitOfWork(() -> {
+            CommandProcessingResult result = null;
+            int count = 0;
+            for (Loan loan : childLoans) {
+                result = disburseLoan(loan.getId(), command, false);
+                if (result.getLoanId() != null) {
+                    count++;
+                    // if all the child loans are approved, mark the parent loan as
+                    // approved
+                    if (count == parentLoan.getChildAccountsCount()) {
+                        parentLoan.setLoanStatus(LoanStatus.ACTIVE.getValue());
+                        glimRepository.save(parentLoan);
+                    }
                 }
             }
-        }
-        return result;
+            return result;
+        });
     }
 
     @Transactional
@@ -768,21 +779,23 @@ public class LoanWritePlatformServiceJpaRepositoryImpl implements LoanWritePlatf
         final Long parentLoanId = loanId;
         GroupLoanIndividualMonitoringAccount parentLoan = glimRepository.findById(parentLoanId).get();
         List<Loan> childLoans = this.loanRepository.findByGlimId(loanId);
-        CommandProcessingResult result = null;
-        int count = 0;
-        for (Loan loan : childLoans) {
-            result = undoLoanDisbursal(loan.getId(), command);
-            if (result.getLoanId() != null) {
-                count++;
-                // if all the child loans are approved, mark the parent loan as
-                // approved
-                if (count == parentLoan.getChildAccountsCount()) {
-                    parentLoan.setLoanStatus(LoanStatus.APPROVED.getValue());
-                    glimRepository.save(parentLoan);
+        return this.accountingProcessorHelper.executeInUnitOfWork(() -> {
+            CommandProcessingResult result = null;
+            int count = 0;
+            for (Loan loan : childLoans) {
+                result = undoLoanDisbursal(loan.getId(), command);
+                if (result.getLoanId() != null) {
+                    count++;
+                    // if all the child loans are approved, mark the parent loan as
+                    // approved
+                    if (count == parentLoan.getChildAccountsCount()) {
+                        parentLoan.setLoanStatus(LoanStatus.APPROVED.getValue());
+                        glimRepository.save(parentLoan);
+                    }
                 }
             }
-        }
-        return result;
+            return result;
+        });
     }
 
     @Transactional
@@ -845,10 +858,13 @@ public class LoanWritePlatformServiceJpaRepositoryImpl implements LoanWritePlatf
         final Long parentLoanId = loanId;
 
         glimRepository.findById(parentLoanId).get();
+        // loads all child loans with one query, the repayments below then find them in the persistence context
+        final Set<Long> childLoanIds = new HashSet<>();
+        for (final Loan childLoan : this.loanRepository.findByGlimId(parentLoanId)) {
+            childLoanIds.add(childLoan.getId());
+        }
 
         JsonArray repayments = command.arrayOfParameterNamed("formDataArray");
-        JsonCommand childCommand = null;
-        CommandProcessingResult result = null;
         JsonObject jsonObject = null;
 
         Long[] childLoanId = new Long[repayments.size()];
@@ -856,13 +872,19 @@ public class LoanWritePlatformServiceJpaRepositoryImpl implements LoanWritePlatf
             jsonObject = repayments.get(i).getAsJsonObject();
             LOG.info("{}", jsonObject.toString());
             childLoanId[i] = jsonObject.get("loanId").getAsLong();
+            if (!childLoanIds.contains(childLoanId[i])) {
+                throw new LoanNotFoundException(childLoanId[i]);
+            }
         }
-        int j = 0;
-        for (JsonElement element : repayments) {
-            childCommand = JsonCommand.fromExistingCommand(command, element);
-            result = makeLoanRepayment(childLoanId[j++], childCommand, false);
-        }
-        return result;
+        return this.accountingProcessorHelper.executeInUnitOfWork(() -> {
+            CommandProcessingResult result = null;
+            int j = 0;
+            for (JsonElement element : repayments) {
+                final JsonCommand childCommand = JsonCommand.fromExistingCommand(command, element);
+                result = makeLoanRepayment(childLoanId[j++], childCommand, false);
+            }
+            return result;
+        });
     }
 
     @Transactional
@@ -2470,6 +2492,7 @@ public class LoanWritePlatformServiceJpaRepositoryImpl implements LoanWritePlatf
                     constructEntityMap(BusinessEntity.LOAN, loan));
 
         }
+        this.loanOverdueChargeRunMarker.markCharged(loanId, DateUtils.getLocalDateOfTenant());
     }
 
     private void addInstallmentIfPenaltyAppliedAfterLastDueDate(Loan loan, LocalDate lastChargeDate) {
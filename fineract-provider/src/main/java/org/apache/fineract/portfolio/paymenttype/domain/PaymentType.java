@@ -20,6 +20,7 @@ package org.apache.fineract.portfolio.paymenttype.domain;
 
 import java.util.LinkedHashMap;
 import java.util.Map;
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.Table;
@@ -30,6 +31,7 @@ import org.apache.fineract.portfolio.paymenttype.api.PaymentTypeApiResourceConst
 import org.apache.fineract.portfolio.paymenttype.data.PaymentTypeData;
 
 @Entity
+@Cacheable
 @Table(name = "m_payment_type")
 public class PaymentType extends AbstractPersistableCustom {
 
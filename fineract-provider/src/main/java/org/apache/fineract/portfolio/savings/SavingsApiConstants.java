@@ -49,6 +49,7 @@ public class SavingsApiConstants {
     public static final String unblockCreditsAction = ".unblockCredits";
     public static final String blockDebitsAction = ".blockDebits";
     public static final String unblockDebitsAction = ".unblockDebits";
+    public static final String updateHotAccountAction = ".updateHotAccount";
 
     // command
     public static final String COMMAND_UNDO_TRANSACTION = "undo";
@@ -64,6 +65,9 @@ public class SavingsApiConstants {
     public static final String COMMAND_BLOCK_DEBIT = "blockDebit";
     public static final String COMMAND_UNBLOCK_DEBIT = "unblockDebit";
     public static final String COMMAND_UNBLOCK_CREDIT = "unblockCredit";
+    public static final String COMMAND_ENABLE_HOT_ACCOUNT = "enableHotAccount";
+    public static final String COMMAND_DISABLE_HOT_ACCOUNT = "disableHotAccount";
+    public static final String COMMAND_RETRY_PENDING_CREDIT = "retry";
 
     // general
     public static final String localeParamName = "locale";
@@ -186,6 +190,10 @@ public class SavingsApiConstants {
     public static final String daysToDormancyParamName = "daysToDormancy";
     public static final String daysToEscheatParamName = "daysToEscheat";
 
+    // Hot accounts
+    public static final String hotAccountParamName = "hotAccount";
+    public static final String pendingCreditIdParamName = "pendingCreditId";
+
     public static final String datatables = "datatables";
 
     public static final String gsimApplicationId = "applicationId";
@@ -0,0 +1,95 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.savings.api;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import javax.ws.rs.Consumes;
+import javax.ws.rs.DefaultValue;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.UriInfo;
+import org.apache.fineract.infrastructure.core.api.ApiRequestParameterHelper;
+import org.apache.fineract.infrastructure.core.serialization.ApiRequestJsonSerializationSettings;
+import org.apache.fineract.infrastructure.core.serialization.DefaultToApiJsonSerializer;
+import org.apache.fineract.infrastructure.core.service.Page;
+import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
+import org.apache.fineract.portfolio.savings.DepositsApiConstants;
+import org.apache.fineract.portfolio.savings.data.DepositAccountMaturityData;
+import org.apache.fineract.portfolio.savings.service.DepositAccountReadPlatformService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Component;
+
+/**
+ * The matured fixed and recurring deposit accounts that the next run of the deposit maturity job would update, with
+ * their maturity dates and amounts. Pages through the accounts in id order with the <code>nextCursor</code> of the
+ * previous page.
+ */
+@Path("/depositaccounts/matured")
+@Component
+@Scope("singleton")
+@Tag(name = "Matured Deposit Accounts", description = "Active fixed and recurring deposit accounts that have reached their maturity date "
+        + "and are updated by the next run of the deposit maturity job.")
+public class DepositAccountMaturityApiResource {
+
+    private static final int MAX_LIMIT = 1000;
+
+    private final PlatformSecurityContext context;
+    private final DefaultToApiJsonSerializer<DepositAccountMaturityData> toApiJsonSerializer;
+    private final ApiRequestParameterHelper apiRequestParameterHelper;
+    private final DepositAccountReadPlatformService depositAccountReadPlatformService;
+
+    @Autowired
+    public DepositAccountMaturityApiResource(final PlatformSecurityContext context,
+            final DefaultToApiJsonSerializer<DepositAccountMaturityData> toApiJsonSerializer,
+            final ApiRequestParameterHelper apiRequestParameterHelper,
+            final DepositAccountReadPlatformService depositAccountReadPlatformService) {
+        this.context = context;
+        this.toApiJsonSerializer = toApiJsonSerializer;
+        this.apiRequestParameterHelper = apiRequestParameterHelper;
+        this.depositAccountReadPlatformService = depositAccountReadPlatformService;
+    }
+
+    @GET
+    @Consumes({ MediaType.APPLICATION_JSON })
+    @Produces({ MediaType.APPLICATION_JSON })
+    @Operation(summary = "List matured deposit accounts", description = "Lists the matured fixed and recurring deposit accounts in "
+            + "account id order, with their maturity date and amount. Pass the nextCursor of a page as cursor to fetch the following "
+            + "page; the last page has no nextCursor.\n\n" + "Example Requests:\n" + "\n" + "depositaccounts/matured\n" + "\n"
+            + "depositaccounts/matured?limit=500&cursor=MTIz")
+    public String retrieveAll(@QueryParam("cursor") @Parameter(description = "cursor") final String cursor,
+            @DefaultValue("200") @QueryParam("limit") @Parameter(description = "limit") final Integer limit,
+            @Context final UriInfo uriInfo) {
+
+        this.context.authenticatedUser().validateHasReadPermission(DepositsApiConstants.FIXED_DEPOSIT_ACCOUNT_RESOURCE_NAME);
+        this.context.authenticatedUser().validateHasReadPermission(DepositsApiConstants.RECURRING_DEPOSIT_ACCOUNT_RESOURCE_NAME);
+
+        final Page<DepositAccountMaturityData> depositAccounts = this.depositAccountReadPlatformService.retrieveAllMatured(cursor,
+                Math.max(1, Math.min(limit, MAX_LIMIT)));
+
+        final ApiRequestJsonSerializationSettings settings = this.apiRequestParameterHelper.process(uriInfo.getQueryParameters());
+        return this.toApiJsonSerializer.serialize(settings, depositAccounts);
+    }
+}
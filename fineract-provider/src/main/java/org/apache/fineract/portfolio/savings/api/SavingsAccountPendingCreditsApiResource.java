@@ -0,0 +1,131 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.savings.api;
+
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.util.Collection;
+import javax.ws.rs.Consumes;
+import javax.ws.rs.GET;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.UriInfo;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.fineract.commands.domain.CommandWrapper;
+import org.apache.fineract.commands.service.CommandWrapperBuilder;
+import org.apache.fineract.commands.service.PortfolioCommandSourceWritePlatformService;
+import org.apache.fineract.infrastructure.core.api.ApiRequestParameterHelper;
+import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
+import org.apache.fineract.infrastructure.core.exception.UnrecognizedQueryParamException;
+import org.apache.fineract.infrastructure.core.serialization.ApiRequestJsonSerializationSettings;
+import org.apache.fineract.infrastructure.core.serialization.DefaultToApiJsonSerializer;
+import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
+import org.apache.fineract.portfolio.savings.SavingsApiConstants;
+import org.apache.fineract.portfolio.savings.data.SavingsAccountPendingCreditData;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccountPendingCreditStatus;
+import org.apache.fineract.portfolio.savings.service.SavingsAccountPendingCreditReadPlatformService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Component;
+
+/**
+ * Credits to a hot savings account which were accepted but not (yet) applied. Credits which could not be applied are
+ * listed with <code>?status=failed</code> and can be put back in line with <code>?command=retry</code>.
+ */
+@Path("/savingsaccounts/{savingsId}/pendingcredits")
+@Component
+@Scope("singleton")
+@Tag(name = "Savings Account Pending Credits", description = "")
+public class SavingsAccountPendingCreditsApiResource {
+
+    private final PlatformSecurityContext context;
+    private final DefaultToApiJsonSerializer<SavingsAccountPendingCreditData> toApiJsonSerializer;
+    private final PortfolioCommandSourceWritePlatformService commandsSourceWritePlatformService;
+    private final ApiRequestParameterHelper apiRequestParameterHelper;
+    private final SavingsAccountPendingCreditReadPlatformService pendingCreditReadPlatformService;
+
+    @Autowired
+    public SavingsAccountPendingCreditsApiResource(final PlatformSecurityContext context,
+            final DefaultToApiJsonSerializer<SavingsAccountPendingCreditData> toApiJsonSerializer,
+            final PortfolioCommandSourceWritePlatformService commandsSourceWritePlatformService,
+            final ApiRequestParameterHelper apiRequestParameterHelper,
+            final SavingsAccountPendingCreditReadPlatformService pendingCreditReadPlatformService) {
+        this.context = context;
+        this.toApiJsonSerializer = toApiJsonSerializer;
+        this.commandsSourceWritePlatformService = commandsSourceWritePlatformService;
+        this.apiRequestParameterHelper = apiRequestParameterHelper;
+        this.pendingCreditReadPlatformService = pendingCreditReadPlatformService;
+    }
+
+    @GET
+    @Consumes({ MediaType.APPLICATION_JSON })
+    @Produces({ MediaType.APPLICATION_JSON })
+    public String retrieveAll(@PathParam("savingsId") final Long savingsId, @QueryParam("status") final String status,
+            @Context final UriInfo uriInfo) {
+
+        this.context.authenticatedUser().validateHasReadPermission(SavingsApiConstants.SAVINGS_ACCOUNT_RESOURCE_NAME);
+
+        SavingsAccountPendingCreditStatus pendingCreditStatus = null;
+        if (StringUtils.isNotBlank(status)) {
+            pendingCreditStatus = parseStatus(status);
+        }
+        final Collection<SavingsAccountPendingCreditData> pendingCredits = this.pendingCreditReadPlatformService
+                .retrievePendingCredits(savingsId, pendingCreditStatus);
+
+        final ApiRequestJsonSerializationSettings settings = this.apiRequestParameterHelper.process(uriInfo.getQueryParameters());
+        return this.toApiJsonSerializer.serialize(settings, pendingCredits);
+    }
+
+    @POST
+    @Path("{pendingCreditId}")
+    @Consumes({ MediaType.APPLICATION_JSON })
+    @Produces({ MediaType.APPLICATION_JSON })
+    public String handleCommand(@PathParam("savingsId") final Long savingsId, @PathParam("pendingCreditId") final Long pendingCreditId,
+            @QueryParam("command") final String commandParam, final String apiRequestBodyAsJson) {
+
+        String jsonApiRequest = apiRequestBodyAsJson;
+        if (StringUtils.isBlank(jsonApiRequest)) {
+            jsonApiRequest = "{}";
+        }
+
+        if (!SavingsApiConstants.COMMAND_RETRY_PENDING_CREDIT.equalsIgnoreCase(StringUtils.trim(commandParam))) {
+            throw new UnrecognizedQueryParamException("command", commandParam,
+                    new Object[] { SavingsApiConstants.COMMAND_RETRY_PENDING_CREDIT });
+        }
+
+        final CommandWrapper commandRequest = new CommandWrapperBuilder().withJson(jsonApiRequest)
+                .retrySavingsAccountPendingCredit(savingsId, pendingCreditId).build();
+        final CommandProcessingResult result = this.commandsSourceWritePlatformService.logCommandSource(commandRequest);
+        return this.toApiJsonSerializer.serialize(result);
+    }
+
+    private static SavingsAccountPendingCreditStatus parseStatus(final String status) {
+        for (final SavingsAccountPendingCreditStatus pendingCreditStatus : SavingsAccountPendingCreditStatus.values()) {
+            if (pendingCreditStatus != SavingsAccountPendingCreditStatus.INVALID
+                    && pendingCreditStatus.name().equalsIgnoreCase(status.trim())) {
+                return pendingCreditStatus;
+            }
+        }
+        throw new UnrecognizedQueryParamException("status", status, new Object[] { "pending", "applied", "failed" });
+    }
+}
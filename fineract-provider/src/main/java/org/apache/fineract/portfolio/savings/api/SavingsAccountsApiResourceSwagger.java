@@ -197,6 +197,8 @@ final class SavingsAccountsApiResourceSwagger {
         @Schema(example = "1")
         public Integer totalFilteredRecords;
         public Set<GetSavingsPageItems> pageItems;
+        @Schema(example = "MTI")
+        public String nextCursor;
     }
 
     @Schema(description = "PostSavingsAccountsRequest")
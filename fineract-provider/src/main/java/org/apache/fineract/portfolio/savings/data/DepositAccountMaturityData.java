@@ -0,0 +1,66 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.savings.data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import org.apache.fineract.portfolio.savings.DepositAccountType;
+
+public final class DepositAccountMaturityData {
+
+    private final Long id;
+    private final String accountNo;
+    private final DepositAccountType depositType;
+    private final LocalDate maturityDate;
+    private final BigDecimal maturityAmount;
+
+    public static DepositAccountMaturityData instance(final Long id, final String accountNo, final DepositAccountType depositType,
+            final LocalDate maturityDate, final BigDecimal maturityAmount) {
+        return new DepositAccountMaturityData(id, accountNo, depositType, maturityDate, maturityAmount);
+    }
+
+    private DepositAccountMaturityData(final Long id, final String accountNo, final DepositAccountType depositType,
+            final LocalDate maturityDate, final BigDecimal maturityAmount) {
+        this.id = id;
+        this.accountNo = accountNo;
+        this.depositType = depositType;
+        this.maturityDate = maturityDate;
+        this.maturityAmount = maturityAmount;
+    }
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public String getAccountNo() {
+        return this.accountNo;
+    }
+
+    public DepositAccountType getDepositType() {
+        return this.depositType;
+    }
+
+    public LocalDate getMaturityDate() {
+        return this.maturityDate;
+    }
+
+    public BigDecimal getMaturityAmount() {
+        return this.maturityAmount;
+    }
+}
@@ -0,0 +1,91 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.savings.data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import org.apache.fineract.infrastructure.core.data.EnumOptionData;
+
+/**
+ * Immutable data object representing a credit to a hot savings account, pending, applied or failed.
+ */
+public final class SavingsAccountPendingCreditData {
+
+    private final Long id;
+    private final Long savingsAccountId;
+    private final LocalDate transactionDate;
+    private final BigDecimal amount;
+    private final EnumOptionData status;
+    private final Long savingsAccountTransactionId;
+    private final String failureReason;
+    private final ZonedDateTime createdDate;
+
+    public static SavingsAccountPendingCreditData instance(final Long id, final Long savingsAccountId, final LocalDate transactionDate,
+            final BigDecimal amount, final EnumOptionData status, final Long savingsAccountTransactionId, final String failureReason,
+            final ZonedDateTime createdDate) {
+        return new SavingsAccountPendingCreditData(id, savingsAccountId, transactionDate, amount, status, savingsAccountTransactionId,
+                failureReason, createdDate);
+    }
+
+    private SavingsAccountPendingCreditData(final Long id, final Long savingsAccountId, final LocalDate transactionDate,
+            final BigDecimal amount, final EnumOptionData status, final Long savingsAccountTransactionId, final String failureReason,
+            final ZonedDateTime createdDate) {
+        this.id = id;
+        this.savingsAccountId = savingsAccountId;
+        this.transactionDate = transactionDate;
+        this.amount = amount;
+        this.status = status;
+        this.savingsAccountTransactionId = savingsAccountTransactionId;
+        this.failureReason = failureReason;
+        this.createdDate = createdDate;
+    }
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public Long getSavingsAccountId() {
+        return this.savingsAccountId;
+    }
+
+    public LocalDate getTransactionDate() {
+        return this.transactionDate;
+    }
+
+    public BigDecimal getAmount() {
+        return this.amount;
+    }
+
+    public EnumOptionData getStatus() {
+        return this.status;
+    }
+
+    public Long getSavingsAccountTransactionId() {
+        return this.savingsAccountTransactionId;
+    }
+
+    public String getFailureReason() {
+        return this.failureReason;
+    }
+
+    public ZonedDateTime getCreatedDate() {
+        return this.createdDate;
+    }
+}
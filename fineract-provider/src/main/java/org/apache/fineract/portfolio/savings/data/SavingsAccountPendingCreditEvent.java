@@ -0,0 +1,46 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.savings.data;
+
+import org.springframework.context.ApplicationEvent;
+
+public final class SavingsAccountPendingCreditEvent extends ApplicationEvent {
+
+    private final String tenantIdentifier;
+
+    private final Long savingsAccountId;
+
+    private SavingsAccountPendingCreditEvent(final String tenantIdentifier, final Long savingsAccountId) {
+        super(SavingsAccountPendingCreditEvent.class);
+        this.tenantIdentifier = tenantIdentifier;
+        this.savingsAccountId = savingsAccountId;
+    }
+
+    public static SavingsAccountPendingCreditEvent instance(final String tenantIdentifier, final Long savingsAccountId) {
+        return new SavingsAccountPendingCreditEvent(tenantIdentifier, savingsAccountId);
+    }
+
+    public String getTenantIdentifier() {
+        return this.tenantIdentifier;
+    }
+
+    public Long getSavingsAccountId() {
+        return this.savingsAccountId;
+    }
+}
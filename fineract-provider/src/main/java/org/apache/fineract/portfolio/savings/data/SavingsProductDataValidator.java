@@ -28,6 +28,7 @@ import static org.apache.fineract.portfolio.savings.SavingsApiConstants.descript
 import static org.apache.fineract.portfolio.savings.SavingsApiConstants.digitsAfterDecimalParamName;
 import static org.apache.fineract.portfolio.savings.SavingsApiConstants.feeAmountParamName;
 import static org.apache.fineract.portfolio.savings.SavingsApiConstants.feeOnMonthDayParamName;
+import static org.apache.fineract.portfolio.savings.SavingsApiConstants.hotAccountParamName;
 import static org.apache.fineract.portfolio.savings.SavingsApiConstants.inMultiplesOfParamName;
 import static org.apache.fineract.portfolio.savings.SavingsApiConstants.interestCalculationDaysInYearTypeParamName;
 import static org.apache.fineract.portfolio.savings.SavingsApiConstants.interestCalculationTypeParamName;
@@ -103,7 +104,7 @@ public class SavingsProductDataValidator {
             daysToInactiveParamName, daysToEscheatParamName, allowOverdraftParamName, overdraftLimitParamName,
             nominalAnnualInterestRateOverdraftParamName, minOverdraftForInterestCalculationParamName,
             SavingsApiConstants.minRequiredBalanceParamName, SavingsApiConstants.enforceMinRequiredBalanceParamName,
-            minBalanceForInterestCalculationParamName, withHoldTaxParamName, taxGroupIdParamName));
+            minBalanceForInterestCalculationParamName, withHoldTaxParamName, taxGroupIdParamName, hotAccountParamName));
 
     @Autowired
     public SavingsProductDataValidator(final FromJsonHelper fromApiJsonHelper) {
@@ -342,6 +343,7 @@ public class SavingsProductDataValidator {
         }
 
         validateTaxWithHoldingParams(baseDataValidator, element, true);
+        validateHotAccountParams(baseDataValidator, element);
 
         throwExceptionIfValidationWarningsExist(dataValidationErrors);
     }
@@ -545,6 +547,7 @@ public class SavingsProductDataValidator {
         }
 
         validateTaxWithHoldingParams(baseDataValidator, element, false);
+        validateHotAccountParams(baseDataValidator, element);
 
         throwExceptionIfValidationWarningsExist(dataValidationErrors);
     }
@@ -650,6 +653,13 @@ public class SavingsProductDataValidator {
 
     }
 
+    private void validateHotAccountParams(final DataValidatorBuilder baseDataValidator, final JsonElement element) {
+        if (this.fromApiJsonHelper.parameterExists(hotAccountParamName, element)) {
+            final String hotAccount = this.fromApiJsonHelper.extractStringNamed(hotAccountParamName, element);
+            baseDataValidator.reset().parameter(hotAccountParamName).value(hotAccount).ignoreIfNull().validateForBooleanValue();
+        }
+    }
+
     private void validateTaxWithHoldingParams(final DataValidatorBuilder baseDataValidator, final JsonElement element,
             final boolean isCreate) {
         if (this.fromApiJsonHelper.parameterExists(withHoldTaxParamName, element)) {
@@ -329,6 +329,9 @@ public class SavingsAccount extends AbstractPersistableCustom {
     @Column(name = "total_savings_amount_on_hold", scale = 6, precision = 19, nullable = true)
     private BigDecimal savingsOnHoldAmount;
 
+    @Column(name = "is_hot_account", nullable = true)
+    private Boolean hotAccount;
+
     @OneToMany(cascade = CascadeType.ALL, mappedBy = "account", orphanRemoval = true, fetch = FetchType.LAZY)
     protected List<InteropIdentifier> identifiers = new ArrayList<>();
 
@@ -902,6 +905,43 @@ public class SavingsAccount extends AbstractPersistableCustom {
 
     public SavingsAccountTransaction deposit(final SavingsAccountTransactionDTO transactionDTO,
             final SavingsAccountTransactionType savingsAccountTransactionType) {
+        final SavingsAccountTransaction transaction = newDepositTransaction(transactionDTO, savingsAccountTransactionType);
+        addTransaction(transaction);
+        this.summary.updateSummary(this.currency, this.savingsAccountTransactionSummaryWrapper, this.transactions);
+        return transaction;
+    }
+
+    /**
+     * Appends a deposit after the latest transaction of the account without loading or recalculating the transaction
+     * history. Only valid for deposits that are not back-dated, see
+     * {@link #appendToTransactionHistory(SavingsAccountTransaction, SavingsAccountTransaction)}.
+     */
+    public SavingsAccountTransaction appendDeposit(final SavingsAccountTransactionDTO transactionDTO,
+            final SavingsAccountTransactionType savingsAccountTransactionType, final SavingsAccountTransaction latestTransaction) {
+        final SavingsAccountTransaction transaction = newDepositTransaction(transactionDTO, savingsAccountTransactionType);
+        appendToTransactionHistory(transaction, latestTransaction);
+        return transaction;
+    }
+
+    private SavingsAccountTransaction newDepositTransaction(final SavingsAccountTransactionDTO transactionDTO,
+            final SavingsAccountTransactionType savingsAccountTransactionType) {
+        validateDeposit(transactionDTO);
+
+        final Money amount = Money.of(this.currency, transactionDTO.getTransactionAmount());
+
+        final SavingsAccountTransaction transaction = SavingsAccountTransaction.deposit(this, office(), transactionDTO.getPaymentDetail(),
+                transactionDTO.getTransactionDate(), amount, transactionDTO.getCreatedDate(), transactionDTO.getAppUser(),
+                savingsAccountTransactionType);
+
+        if (this.sub_status.equals(SavingsAccountSubStatusEnum.INACTIVE.getValue())
+                || this.sub_status.equals(SavingsAccountSubStatusEnum.DORMANT.getValue())) {
+            this.sub_status = SavingsAccountSubStatusEnum.NONE.getValue();
+        }
+
+        return transaction;
+    }
+
+    public void validateDeposit(final SavingsAccountTransactionDTO transactionDTO) {
         final String resourceTypeName = depositAccountType().resourceName();
         if (isNotActive()) {
             final String defaultUserMessage = "Transaction is not allowed. Account is not active.";
@@ -940,21 +980,6 @@ public class SavingsAccount extends AbstractPersistableCustom {
             throw new PlatformApiDataValidationException(dataValidationErrors);
         }
         validateActivityNotBeforeClientOrGroupTransferDate(SavingsEvent.SAVINGS_DEPOSIT, transactionDTO.getTransactionDate());
-
-        final Money amount = Money.of(this.currency, transactionDTO.getTransactionAmount());
-
-        final SavingsAccountTransaction transaction = SavingsAccountTransaction.deposit(this, office(), transactionDTO.getPaymentDetail(),
-                transactionDTO.getTransactionDate(), amount, transactionDTO.getCreatedDate(), transactionDTO.getAppUser(),
-                savingsAccountTransactionType);
-        addTransaction(transaction);
-        this.summary.updateSummary(this.currency, this.savingsAccountTransactionSummaryWrapper, this.transactions);
-
-        if (this.sub_status.equals(SavingsAccountSubStatusEnum.INACTIVE.getValue())
-                || this.sub_status.equals(SavingsAccountSubStatusEnum.DORMANT.getValue())) {
-            this.sub_status = SavingsAccountSubStatusEnum.NONE.getValue();
-        }
-
-        return transaction;
     }
 
     public LocalDate getActivationLocalDate() {
@@ -984,6 +1009,33 @@ public class SavingsAccount extends AbstractPersistableCustom {
 
     public SavingsAccountTransaction withdraw(final SavingsAccountTransactionDTO transactionDTO, final boolean applyWithdrawFee) {
 
+        validateWithdrawal(transactionDTO);
+
+        if (applyWithdrawFee) {
+            // auto pay withdrawal fee
+            payWithdrawalFee(transactionDTO.getTransactionAmount(), transactionDTO.getTransactionDate(), transactionDTO.getAppUser());
+        }
+
+        final SavingsAccountTransaction transaction = newWithdrawalTransaction(transactionDTO);
+        addTransaction(transaction);
+        return transaction;
+    }
+
+    /**
+     * Appends a withdrawal after the latest transaction of the account without loading or recalculating the transaction
+     * history. Only valid for withdrawals that are not back-dated and do not attract a withdrawal fee, see
+     * {@link #appendToTransactionHistory(SavingsAccountTransaction, SavingsAccountTransaction)}.
+     */
+    public SavingsAccountTransaction appendWithdrawal(final SavingsAccountTransactionDTO transactionDTO,
+            final SavingsAccountTransaction latestTransaction) {
+        validateWithdrawal(transactionDTO);
+        final SavingsAccountTransaction transaction = newWithdrawalTransaction(transactionDTO);
+        appendToTransactionHistory(transaction, latestTransaction);
+        return transaction;
+    }
+
+    private void validateWithdrawal(final SavingsAccountTransactionDTO transactionDTO) {
+
         if (!isTransactionsAllowed()) {
 
             final String defaultUserMessage = "Transaction is not allowed. Account is not active.";
@@ -1034,17 +1086,13 @@ public class SavingsAccount extends AbstractPersistableCustom {
             throw new PlatformApiDataValidationException(dataValidationErrors);
         }
         validateActivityNotBeforeClientOrGroupTransferDate(SavingsEvent.SAVINGS_WITHDRAWAL, transactionDTO.getTransactionDate());
+    }
 
-        if (applyWithdrawFee) {
-            // auto pay withdrawal fee
-            payWithdrawalFee(transactionDTO.getTransactionAmount(), transactionDTO.getTransactionDate(), transactionDTO.getAppUser());
-        }
-
+    private SavingsAccountTransaction newWithdrawalTransaction(final SavingsAccountTransactionDTO transactionDTO) {
         final Money transactionAmountMoney = Money.of(this.currency, transactionDTO.getTransactionAmount());
         final SavingsAccountTransaction transaction = SavingsAccountTransaction.withdrawal(this, office(),
                 transactionDTO.getPaymentDetail(), transactionDTO.getTransactionDate(), transactionAmountMoney,
                 transactionDTO.getCreatedDate(), transactionDTO.getAppUser());
-        addTransaction(transaction);
 
         if (this.sub_status.equals(SavingsAccountSubStatusEnum.INACTIVE.getValue())
                 || this.sub_status.equals(SavingsAccountSubStatusEnum.DORMANT.getValue())) {
@@ -1053,6 +1101,39 @@ public class SavingsAccount extends AbstractPersistableCustom {
         return transaction;
     }
 
+    /**
+     * Carries the running balance, the end of day balance and the summary forward from {@code latestTransaction}, the
+     * latest non reversed transaction of the account. This gives the same result as recalculating the whole history as
+     * long as the new transaction is dated on or after the latest one, the latest one is not an interest posting and the
+     * balance does not go into overdraft.
+     */
+    private void appendToTransactionHistory(final SavingsAccountTransaction transaction,
+            final SavingsAccountTransaction latestTransaction) {
+        Money runningBalance = latestTransaction == null ? Money.zero(this.currency) : latestTransaction.getRunningBalance(this.currency);
+        if (transaction.isCredit()) {
+            runningBalance = runningBalance.plus(transaction.getAmount(this.currency));
+        } else {
+            runningBalance = runningBalance.minus(transaction.getAmount(this.currency));
+        }
+        transaction.updateRunningBalance(runningBalance);
+
+        if (latestTransaction != null) {
+            latestTransaction.updateCumulativeBalanceAndDates(this.currency, transaction.transactionLocalDate().minusDays(1));
+        }
+        transaction.updateCumulativeBalanceAndDates(this.currency, DateUtils.getLocalDateOfTenant());
+
+        this.summary.updateSummaryForAppendedTransaction(this.currency, transaction);
+    }
+
+    public boolean hasActiveWithdrawalFee() {
+        for (SavingsAccountCharge charge : this.charges()) {
+            if (charge.isWithdrawalFee() && charge.isActive()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     public BigDecimal calculateWithdrawalFee(final BigDecimal transactionAmount) {
         BigDecimal result = BigDecimal.ZERO;
         if (isWithdrawalFeeApplicableForTransfer()) {
@@ -1152,6 +1233,28 @@ public class SavingsAccount extends AbstractPersistableCustom {
         }
     }
 
+    /**
+     * Balance check for a withdrawal appended with {@link #appendWithdrawal(SavingsAccountTransactionDTO,
+     * SavingsAccountTransaction)}. Earlier balances were validated when their transactions were made, so only the
+     * resulting balance is checked against the minimum required balance including funds on hold.
+     */
+    public void validateAppendedWithdrawalDoesNotBecomeNegative(final SavingsAccountTransaction withdrawal,
+            final BigDecimal transactionAmount, final boolean isException) {
+        final Money runningBalance = withdrawal.getRunningBalance(this.currency);
+        final BigDecimal withdrawalFee = null;
+        if (!isException && withdrawal.canProcessBalanceCheck()) {
+            final Money minRequiredBalance = minRequiredBalanceDerived(getCurrency()).plus(getOnHoldFunds());
+            if (runningBalance.minus(minRequiredBalance).isLessThanZero()) {
+                throw new InsufficientAccountBalanceException("transactionAmount", getAccountBalance(), withdrawalFee, transactionAmount);
+            }
+        }
+        if (this.getSavingsHoldAmount().compareTo(BigDecimal.ZERO) > 0) {
+            if (runningBalance.minus(this.getSavingsHoldAmount()).isLessThanZero()) {
+                throw new InsufficientAccountBalanceException("transactionAmount", getAccountBalance(), withdrawalFee, transactionAmount);
+            }
+        }
+    }
+
     public void validateAccountBalanceDoesNotBecomeNegative(final String transactionAction,
             final List<DepositAccountOnHoldTransaction> depositAccountOnHoldTransactions) {
 
@@ -1486,6 +1589,22 @@ public class SavingsAccount extends AbstractPersistableCustom {
     public Map<String, Object> deriveAccountingBridgeData(final CurrencyData currencyData, final Set<Long> existingTransactionIds,
             final Set<Long> existingReversedTransactionIds, boolean isAccountTransfer) {
 
+        final List<SavingsAccountTransaction> newTransactions = new ArrayList<>();
+        List<SavingsAccountTransaction> trans = getTransactions();
+        for (final SavingsAccountTransaction transaction : trans) {
+            if (transaction.isReversed() && !existingReversedTransactionIds.contains(transaction.getId())) {
+                newTransactions.add(transaction);
+            } else if (!existingTransactionIds.contains(transaction.getId())) {
+                newTransactions.add(transaction);
+            }
+        }
+
+        return deriveAccountingBridgeData(currencyData, newTransactions, isAccountTransfer);
+    }
+
+    public Map<String, Object> deriveAccountingBridgeData(final CurrencyData currencyData,
+            final List<SavingsAccountTransaction> newTransactions, boolean isAccountTransfer) {
+
         final Map<String, Object> accountingBridgeData = new LinkedHashMap<>();
         accountingBridgeData.put("savingsId", getId());
         accountingBridgeData.put("savingsProductId", productId());
@@ -1496,13 +1615,8 @@ public class SavingsAccount extends AbstractPersistableCustom {
         accountingBridgeData.put("isAccountTransfer", isAccountTransfer);
 
         final List<Map<String, Object>> newSavingsTransactions = new ArrayList<>();
-        List<SavingsAccountTransaction> trans = getTransactions();
-        for (final SavingsAccountTransaction transaction : trans) {
-            if (transaction.isReversed() && !existingReversedTransactionIds.contains(transaction.getId())) {
-                newSavingsTransactions.add(transaction.toMapData(currencyData));
-            } else if (!existingTransactionIds.contains(transaction.getId())) {
-                newSavingsTransactions.add(transaction.toMapData(currencyData));
-            }
+        for (final SavingsAccountTransaction transaction : newTransactions) {
+            newSavingsTransactions.add(transaction.toMapData(currencyData));
         }
 
         accountingBridgeData.put("newSavingsTransactions", newSavingsTransactions);
@@ -3033,6 +3147,10 @@ public class SavingsAccount extends AbstractPersistableCustom {
 
     public void loadLazyCollections() {
         transactions.size();
+        loadLazyCollectionsExceptTransactions();
+    }
+
+    public void loadLazyCollectionsExceptTransactions() {
         charges.size();
         savingsOfficerHistory.size();
         if (group != null) {
@@ -3130,6 +3248,34 @@ public class SavingsAccount extends AbstractPersistableCustom {
         return actualChanges;
     }
 
+    /**
+     * Credits to a hot account are journaled and applied to the balance in batches by a single writer, see
+     * {@link SavingsAccountPendingCredit}. The account setting overrides the default of its product.
+     */
+    public boolean isHotAccount() {
+        return this.hotAccount == null ? this.product.isHotAccount() : this.hotAccount;
+    }
+
+    public Map<String, Object> updateHotAccount(final boolean hotAccount) {
+
+        final Map<String, Object> actualChanges = new LinkedHashMap<>();
+
+        if (!depositAccountType().isSavingsDeposit()) {
+            final List<ApiParameterError> dataValidationErrors = new ArrayList<>();
+            final DataValidatorBuilder baseDataValidator = new DataValidatorBuilder(dataValidationErrors)
+                    .resource(depositAccountType().resourceName() + SavingsApiConstants.updateHotAccountAction);
+            baseDataValidator.reset().parameter(SavingsApiConstants.hotAccountParamName)
+                    .failWithCodeNoParameterAddedToErrorCode("not.supported.for.deposit.type");
+            throw new PlatformApiDataValidationException(dataValidationErrors);
+        }
+
+        if (this.hotAccount == null || this.hotAccount != hotAccount) {
+            this.hotAccount = hotAccount;
+            actualChanges.put(SavingsApiConstants.hotAccountParamName, hotAccount);
+        }
+        return actualChanges;
+    }
+
     public Map<String, Object> unblockCredits() {
 
         final Map<String, Object> actualChanges = new LinkedHashMap<>();
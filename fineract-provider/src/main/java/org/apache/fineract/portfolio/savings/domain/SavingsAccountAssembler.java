@@ -313,6 +313,12 @@ public class SavingsAccountAssembler {
         return account;
     }
 
+    public SavingsAccount assembleWithoutTransactionHistory(final Long savingsId) {
+        final SavingsAccount account = this.savingsAccountRepository.findOneWithoutTransactionsWithNotFoundDetection(savingsId);
+        account.setHelpers(this.savingsAccountTransactionSummaryWrapper, this.savingsHelper);
+        return account;
+    }
+
     public void setHelpers(final SavingsAccount account) {
         account.setHelpers(this.savingsAccountTransactionSummaryWrapper, this.savingsHelper);
     }
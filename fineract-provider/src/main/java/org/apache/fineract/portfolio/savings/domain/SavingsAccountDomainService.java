@@ -24,6 +24,7 @@ import java.time.format.DateTimeFormatter;
 import java.util.Set;
 import org.apache.fineract.portfolio.paymentdetail.domain.PaymentDetail;
 import org.apache.fineract.portfolio.savings.SavingsTransactionBooleanValues;
+import org.apache.fineract.portfolio.savings.data.SavingsAccountTransactionDTO;
 
 public interface SavingsAccountDomainService {
 
@@ -33,6 +34,9 @@ public interface SavingsAccountDomainService {
     SavingsAccountTransaction handleDeposit(SavingsAccount account, DateTimeFormatter fmt, LocalDate transactionDate,
             BigDecimal transactionAmount, PaymentDetail paymentDetail, boolean isAccountTransfer, boolean isRegularTransaction);
 
+    SavingsAccountTransaction handleDeposit(SavingsAccount account, SavingsAccountTransactionDTO transactionDTO, boolean isAccountTransfer,
+            boolean isRegularTransaction);
+
     void postJournalEntries(SavingsAccount savingsAccount, Set<Long> existingTransactionIds, Set<Long> existingReversedTransactionIds);
 
     SavingsAccountTransaction handleDividendPayout(SavingsAccount account, LocalDate transactionDate, BigDecimal transactionAmount);
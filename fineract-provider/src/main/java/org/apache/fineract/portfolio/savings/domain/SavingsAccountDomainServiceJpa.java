@@ -22,12 +22,14 @@ import java.math.BigDecimal;
 import java.math.MathContext;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import javax.persistence.Persistence;
 import org.apache.fineract.accounting.journalentry.service.JournalEntryWritePlatformService;
 import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
@@ -35,6 +37,7 @@ import org.apache.fineract.infrastructure.security.service.PlatformSecurityConte
 import org.apache.fineract.organisation.monetary.domain.ApplicationCurrency;
 import org.apache.fineract.organisation.monetary.domain.ApplicationCurrencyRepositoryWrapper;
 import org.apache.fineract.organisation.monetary.domain.MonetaryCurrency;
+import org.apache.fineract.organisation.monetary.domain.Money;
 import org.apache.fineract.portfolio.common.BusinessEventNotificationConstants.BusinessEntity;
 import org.apache.fineract.portfolio.common.BusinessEventNotificationConstants.BusinessEvents;
 import org.apache.fineract.portfolio.common.service.BusinessEventNotifierService;
@@ -45,6 +48,7 @@ import org.apache.fineract.portfolio.savings.data.SavingsAccountTransactionDTO;
 import org.apache.fineract.portfolio.savings.exception.DepositAccountTransactionNotAllowedException;
 import org.apache.fineract.useradministration.domain.AppUser;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -93,13 +97,28 @@ public class SavingsAccountDomainServiceJpa implements SavingsAccountDomainServi
         if (transactionBooleanValues.isRegularTransaction() && !account.allowWithdrawal()) {
             throw new DepositAccountTransactionNotAllowedException(account.getId(), "withdraw", account.depositAccountType());
         }
+        Integer accountType = null;
+        final SavingsAccountTransactionDTO transactionDTO = new SavingsAccountTransactionDTO(fmt, transactionDate, transactionAmount,
+                paymentDetail, new Date(), user, accountType);
+
+        if (!(transactionBooleanValues.isApplyWithdrawFee() && account.hasActiveWithdrawalFee())) {
+            final SavingsAccountTransaction latestTransaction = findLatestTransactionIfAppendable(account, transactionDate);
+            if (latestTransaction != null && latestTransaction.getRunningBalance(account.getCurrency()).isGreaterThanOrEqualTo(
+                    Money.of(account.getCurrency(), transactionAmount))) {
+                final SavingsAccountTransaction withdrawal = account.appendWithdrawal(transactionDTO, latestTransaction);
+                account.validateAppendedWithdrawalDoesNotBecomeNegative(withdrawal, transactionAmount,
+                        transactionBooleanValues.isExceptionForBalanceCheck());
+                saveAppendedTransaction(account, withdrawal, transactionBooleanValues.isAccountTransfer());
+                this.businessEventNotifierService.notifyBusinessEventWasExecuted(BusinessEvents.SAVINGS_WITHDRAWAL,
+                        constructEntityMap(BusinessEntity.SAVINGS_TRANSACTION, withdrawal));
+                return withdrawal;
+            }
+        }
+
         final Set<Long> existingTransactionIds = new HashSet<>();
         final LocalDate postInterestOnDate = null;
         final Set<Long> existingReversedTransactionIds = new HashSet<>();
         updateExistingTransactionsDetails(account, existingTransactionIds, existingReversedTransactionIds);
-        Integer accountType = null;
-        final SavingsAccountTransactionDTO transactionDTO = new SavingsAccountTransactionDTO(fmt, transactionDate, transactionAmount,
-                paymentDetail, new Date(), user, accountType);
         final SavingsAccountTransaction withdrawal = account.withdraw(transactionDTO, transactionBooleanValues.isApplyWithdrawFee());
         final MathContext mc = MathContext.DECIMAL64;
         if (account.isBeforeLastPostingPeriod(transactionDate)) {
@@ -145,11 +164,29 @@ public class SavingsAccountDomainServiceJpa implements SavingsAccountDomainServi
                 savingsAccountTransactionType);
     }
 
+    @Transactional
+    @Override
+    public SavingsAccountTransaction handleDeposit(final SavingsAccount account, final SavingsAccountTransactionDTO transactionDTO,
+            final boolean isAccountTransfer, final boolean isRegularTransaction) {
+        final SavingsAccountTransactionType savingsAccountTransactionType = SavingsAccountTransactionType.DEPOSIT;
+        return handleDeposit(account, transactionDTO, isAccountTransfer, isRegularTransaction, savingsAccountTransactionType);
+    }
+
     private SavingsAccountTransaction handleDeposit(final SavingsAccount account, final DateTimeFormatter fmt,
             final LocalDate transactionDate, final BigDecimal transactionAmount, final PaymentDetail paymentDetail,
             final boolean isAccountTransfer, final boolean isRegularTransaction,
             final SavingsAccountTransactionType savingsAccountTransactionType) {
         AppUser user = getAppUserIfPresent();
+        Integer accountType = null;
+        final SavingsAccountTransactionDTO transactionDTO = new SavingsAccountTransactionDTO(fmt, transactionDate, transactionAmount,
+                paymentDetail, new Date(), user, accountType);
+        return handleDeposit(account, transactionDTO, isAccountTransfer, isRegularTransaction, savingsAccountTransactionType);
+    }
+
+    private SavingsAccountTransaction handleDeposit(final SavingsAccount account, final SavingsAccountTransactionDTO transactionDTO,
+            final boolean isAccountTransfer, final boolean isRegularTransaction,
+            final SavingsAccountTransactionType savingsAccountTransactionType) {
+        final LocalDate transactionDate = transactionDTO.getTransactionDate();
         account.validateForAccountBlock();
         account.validateForCreditBlock();
         final boolean isSavingsInterestPostingAtCurrentPeriodEnd = this.configurationDomainService
@@ -160,12 +197,20 @@ public class SavingsAccountDomainServiceJpa implements SavingsAccountDomainServi
             throw new DepositAccountTransactionNotAllowedException(account.getId(), "deposit", account.depositAccountType());
         }
         boolean isInterestTransfer = false;
+
+        final SavingsAccountTransaction latestTransaction = findLatestTransactionIfAppendable(account, transactionDate);
+        if (latestTransaction != null) {
+            final SavingsAccountTransaction deposit = account.appendDeposit(transactionDTO, savingsAccountTransactionType,
+                    latestTransaction);
+            saveAppendedTransaction(account, deposit, isAccountTransfer);
+            this.businessEventNotifierService.notifyBusinessEventWasExecuted(BusinessEvents.SAVINGS_DEPOSIT,
+                    constructEntityMap(BusinessEntity.SAVINGS_TRANSACTION, deposit));
+            return deposit;
+        }
+
         final Set<Long> existingTransactionIds = new HashSet<>();
         final Set<Long> existingReversedTransactionIds = new HashSet<>();
         updateExistingTransactionsDetails(account, existingTransactionIds, existingReversedTransactionIds);
-        Integer accountType = null;
-        final SavingsAccountTransactionDTO transactionDTO = new SavingsAccountTransactionDTO(fmt, transactionDate, transactionAmount,
-                paymentDetail, new Date(), user, accountType);
         final SavingsAccountTransaction deposit = account.deposit(transactionDTO, savingsAccountTransactionType);
         final LocalDate postInterestOnDate = null;
         final MathContext mc = MathContext.DECIMAL64;
@@ -205,6 +250,44 @@ public class SavingsAccountDomainServiceJpa implements SavingsAccountDomainServi
         return transaction.getId();
     }
 
+    /**
+     * Returns the latest non reversed transaction of the account when a transaction dated {@code transactionDate} can be
+     * appended after it without replaying the transaction history, otherwise {@code null}. Appending is only possible
+     * while the history has not been loaded, for plain savings accounts without overdraft, when the transaction is not
+     * back-dated and the latest transaction is not an interest posting.
+     */
+    private SavingsAccountTransaction findLatestTransactionIfAppendable(final SavingsAccount account, final LocalDate transactionDate) {
+        if (Persistence.getPersistenceUtil().isLoaded(account, "transactions") || !account.depositAccountType().isSavingsDeposit()
+                || account.allowOverdraft()) {
+            return null;
+        }
+        final List<SavingsAccountTransaction> latestTransactions = this.savingsAccountTransactionRepository
+                .findLatestNonReversedBySavingsAccountId(account.getId(), PageRequest.of(0, 1));
+        if (latestTransactions.isEmpty()) {
+            return null;
+        }
+        final SavingsAccountTransaction latestTransaction = latestTransactions.get(0);
+        if (latestTransaction.isAfter(transactionDate) || latestTransaction.isInterestPostingAndNotReversed()
+                || latestTransaction.isOverdraftInterestAndNotReversed()
+                || latestTransaction.getRunningBalance(account.getCurrency()).isLessThanZero()) {
+            return null;
+        }
+        return latestTransaction;
+    }
+
+    private void saveAppendedTransaction(final SavingsAccount account, final SavingsAccountTransaction transaction,
+            final boolean isAccountTransfer) {
+        this.savingsAccountTransactionRepository.saveAndFlush(transaction);
+
+        final MonetaryCurrency currency = account.getCurrency();
+        final ApplicationCurrency applicationCurrency = this.applicationCurrencyRepositoryWrapper.findOneWithNotFoundDetection(currency);
+        final List<SavingsAccountTransaction> newTransactions = new ArrayList<>();
+        newTransactions.add(transaction);
+        final Map<String, Object> accountingBridgeData = account.deriveAccountingBridgeData(applicationCurrency.toData(),
+                newTransactions, isAccountTransfer);
+        this.journalEntryWritePlatformService.createJournalEntriesForSavings(accountingBridgeData);
+    }
+
     private void updateExistingTransactionsDetails(SavingsAccount account, Set<Long> existingTransactionIds,
             Set<Long> existingReversedTransactionIds) {
         existingTransactionIds.addAll(account.findExistingTransactionIds());
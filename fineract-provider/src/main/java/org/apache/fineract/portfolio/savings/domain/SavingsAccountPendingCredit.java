@@ -0,0 +1,154 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.savings.domain;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Date;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.JoinColumn;
+import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+import javax.persistence.Temporal;
+import javax.persistence.TemporalType;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.fineract.infrastructure.core.domain.AbstractPersistableCustom;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.portfolio.paymentdetail.domain.PaymentDetail;
+import org.apache.fineract.useradministration.domain.AppUser;
+
+/**
+ * A credit to a hot account that has been accepted but not yet applied to the balance of the account. Pending credits
+ * of an account are applied in the order they were accepted by a single writer, so concurrent deposits to the same
+ * account never compete for its optimistic lock.
+ */
+@Entity
+@Table(name = "m_savings_account_pending_credit")
+public class SavingsAccountPendingCredit extends AbstractPersistableCustom {
+
+    @Column(name = "savings_account_id", nullable = false)
+    private Long savingsAccountId;
+
+    @Temporal(TemporalType.DATE)
+    @Column(name = "transaction_date", nullable = false)
+    private Date transactionDate;
+
+    @Column(name = "amount", scale = 6, precision = 19, nullable = false)
+    private BigDecimal amount;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "payment_detail_id", nullable = true)
+    private PaymentDetail paymentDetail;
+
+    @Column(name = "note", length = 1000, nullable = true)
+    private String note;
+
+    @Column(name = "status_enum", nullable = false)
+    private Integer status;
+
+    @Column(name = "savings_account_transaction_id", nullable = true)
+    private Long savingsAccountTransactionId;
+
+    @Column(name = "failure_reason", length = 500, nullable = true)
+    private String failureReason;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "created_date", nullable = false)
+    private Date createdDate;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "appuser_id", nullable = true)
+    private AppUser appUser;
+
+    protected SavingsAccountPendingCredit() {}
+
+    private SavingsAccountPendingCredit(final Long savingsAccountId, final LocalDate transactionDate, final BigDecimal amount,
+            final PaymentDetail paymentDetail, final String note, final AppUser appUser) {
+        this.savingsAccountId = savingsAccountId;
+        this.transactionDate = Date.from(transactionDate.atStartOfDay(DateUtils.getDateTimeZoneOfTenant()).toInstant());
+        this.amount = amount;
+        this.paymentDetail = paymentDetail;
+        this.note = note;
+        this.status = SavingsAccountPendingCreditStatus.PENDING.getValue();
+        this.createdDate = new Date();
+        this.appUser = appUser;
+    }
+
+    public static SavingsAccountPendingCredit pending(final SavingsAccount account, final LocalDate transactionDate,
+            final BigDecimal amount, final PaymentDetail paymentDetail, final String note, final AppUser appUser) {
+        return new SavingsAccountPendingCredit(account.getId(), transactionDate, amount, paymentDetail, note, appUser);
+    }
+
+    public void markApplied(final Long savingsAccountTransactionId) {
+        this.status = SavingsAccountPendingCreditStatus.APPLIED.getValue();
+        this.savingsAccountTransactionId = savingsAccountTransactionId;
+    }
+
+    public void markFailed(final String failureReason) {
+        this.status = SavingsAccountPendingCreditStatus.FAILED.getValue();
+        this.failureReason = StringUtils.left(failureReason, 500);
+    }
+
+    /**
+     * Puts a failed credit back in line, e.g. after the cause of the failure (a blocked account) has been removed. It
+     * keeps its place among the pending credits of the account.
+     */
+    public void markPendingForRetry() {
+        this.status = SavingsAccountPendingCreditStatus.PENDING.getValue();
+        this.failureReason = null;
+    }
+
+    public Long getSavingsAccountId() {
+        return this.savingsAccountId;
+    }
+
+    public LocalDate getTransactionDate() {
+        return LocalDate.ofInstant(this.transactionDate.toInstant(), DateUtils.getDateTimeZoneOfTenant());
+    }
+
+    public BigDecimal getAmount() {
+        return this.amount;
+    }
+
+    public PaymentDetail getPaymentDetail() {
+        return this.paymentDetail;
+    }
+
+    public String getNote() {
+        return this.note;
+    }
+
+    public SavingsAccountPendingCreditStatus getStatus() {
+        return SavingsAccountPendingCreditStatus.fromInt(this.status);
+    }
+
+    public String getFailureReason() {
+        return this.failureReason;
+    }
+
+    public Date getCreatedDate() {
+        return this.createdDate;
+    }
+
+    public AppUser getAppUser() {
+        return this.appUser;
+    }
+}
@@ -0,0 +1,67 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.savings.domain;
+
+public enum SavingsAccountPendingCreditStatus {
+
+    INVALID(0, "savingsAccountPendingCreditStatus.invalid"), //
+    PENDING(1, "savingsAccountPendingCreditStatus.pending"), //
+    APPLIED(2, "savingsAccountPendingCreditStatus.applied"), //
+    FAILED(3, "savingsAccountPendingCreditStatus.failed");
+
+    private final Integer value;
+    private final String code;
+
+    SavingsAccountPendingCreditStatus(final Integer value, final String code) {
+        this.value = value;
+        this.code = code;
+    }
+
+    public Integer getValue() {
+        return this.value;
+    }
+
+    public String getCode() {
+        return this.code;
+    }
+
+    public static SavingsAccountPendingCreditStatus fromInt(final Integer statusValue) {
+        SavingsAccountPendingCreditStatus status = SavingsAccountPendingCreditStatus.INVALID;
+        switch (statusValue) {
+            case 1:
+                status = PENDING;
+            break;
+            case 2:
+                status = APPLIED;
+            break;
+            case 3:
+                status = FAILED;
+            break;
+        }
+        return status;
+    }
+
+    public boolean isPending() {
+        return this.equals(PENDING);
+    }
+
+    public boolean isFailed() {
+        return this.equals(FAILED);
+    }
+}
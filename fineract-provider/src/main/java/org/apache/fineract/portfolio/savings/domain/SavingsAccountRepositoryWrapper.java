@@ -57,6 +57,18 @@ public class SavingsAccountRepositoryWrapper {
         return account;
     }
 
+    /**
+     * Loads the account without initialising its transaction history, for operations that only append a transaction
+     * after the latest one.
+     */
+    @Transactional(readOnly = true)
+    public SavingsAccount findOneWithoutTransactionsWithNotFoundDetection(final Long savingsId) {
+        final SavingsAccount account = this.repository.findById(savingsId)
+                .orElseThrow(() -> new SavingsAccountNotFoundException(savingsId));
+        account.loadLazyCollectionsExceptTransactions();
+        return account;
+    }
+
     @Transactional(readOnly = true)
     public SavingsAccount findOneWithNotFoundDetection(final Long savingsId, final DepositAccountType depositAccountType) {
         final SavingsAccount account = this.repository.findByIdAndDepositAccountType(savingsId, depositAccountType.getValue());
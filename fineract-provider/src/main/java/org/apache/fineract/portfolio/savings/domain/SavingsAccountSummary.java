@@ -101,6 +101,26 @@ public final class SavingsAccountSummary {
         this.totalOverdraftInterestDerived = wrapper.calculateTotalOverdraftInterest(currency, transactions);
         this.totalWithholdTax = wrapper.calculateTotalWithholdTaxWithdrawal(currency, transactions);
 
+        updateAccountBalance(currency);
+    }
+
+    /**
+     * Adds a single deposit or withdrawal appended after the latest transaction to the running totals, without going
+     * through the transaction history.
+     */
+    public void updateSummaryForAppendedTransaction(final MonetaryCurrency currency, final SavingsAccountTransaction transaction) {
+        if (transaction.isDepositAndNotReversed() || transaction.isDividendPayoutAndNotReversed()) {
+            this.totalDeposits = Money.of(currency, this.totalDeposits).plus(transaction.getAmount(currency))
+                    .getAmountDefaultedToNullIfZero();
+        } else if (transaction.isWithdrawal() && transaction.isNotReversed()) {
+            this.totalWithdrawals = Money.of(currency, this.totalWithdrawals).plus(transaction.getAmount(currency))
+                    .getAmountDefaultedToNullIfZero();
+        }
+
+        updateAccountBalance(currency);
+    }
+
+    private void updateAccountBalance(final MonetaryCurrency currency) {
         this.accountBalance = Money.of(currency, this.totalDeposits).plus(this.totalInterestPosted).minus(this.totalWithdrawals)
                 .minus(this.totalWithdrawalFees).minus(this.totalAnnualFees).minus(this.totalFeeCharge).minus(this.totalPenaltyCharge)
                 .minus(totalOverdraftInterestDerived).minus(totalWithholdTax).getAmount();
@@ -793,6 +793,10 @@ public final class SavingsAccountTransaction extends AbstractPersistableCustom {
         return this.paymentDetail;
     }
 
+    public AppUser getAppUser() {
+        return this.appUser;
+    }
+
     public void updateReleaseId(Long releaseId) {
         this.releaseIdOfHoldAmountTransaction = releaseId;
     }
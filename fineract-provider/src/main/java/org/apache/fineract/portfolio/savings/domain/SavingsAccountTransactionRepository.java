@@ -18,6 +18,8 @@
  */
 package org.apache.fineract.portfolio.savings.domain;
 
+import java.util.List;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
@@ -30,4 +32,8 @@ public interface SavingsAccountTransactionRepository
     SavingsAccountTransaction findOneByIdAndSavingsAccountId(@Param("transactionId") Long transactionId,
             @Param("savingsId") Long savingsId);
 
+    @Query("select sat from SavingsAccountTransaction sat where sat.savingsAccount.id = :savingsId and sat.reversed = false "
+            + "order by sat.dateOf desc, sat.createdDate desc, sat.id desc")
+    List<SavingsAccountTransaction> findLatestNonReversedBySavingsAccountId(@Param("savingsId") Long savingsId, Pageable pageable);
+
 }
@@ -29,6 +29,7 @@ import static org.apache.fineract.portfolio.savings.SavingsApiConstants.daysToIn
 import static org.apache.fineract.portfolio.savings.SavingsApiConstants.descriptionParamName;
 import static org.apache.fineract.portfolio.savings.SavingsApiConstants.digitsAfterDecimalParamName;
 import static org.apache.fineract.portfolio.savings.SavingsApiConstants.enforceMinRequiredBalanceParamName;
+import static org.apache.fineract.portfolio.savings.SavingsApiConstants.hotAccountParamName;
 import static org.apache.fineract.portfolio.savings.SavingsApiConstants.inMultiplesOfParamName;
 import static org.apache.fineract.portfolio.savings.SavingsApiConstants.interestCalculationDaysInYearTypeParamName;
 import static org.apache.fineract.portfolio.savings.SavingsApiConstants.interestCalculationTypeParamName;
@@ -60,6 +61,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.DiscriminatorColumn;
 import javax.persistence.DiscriminatorType;
@@ -91,6 +93,7 @@ import org.apache.fineract.portfolio.savings.SavingsPostingInterestPeriodType;
 import org.apache.fineract.portfolio.tax.domain.TaxGroup;
 
 @Entity
+@Cacheable
 @Table(name = "m_savings_product", uniqueConstraints = { @UniqueConstraint(columnNames = { "name" }, name = "sp_unq_name"),
         @UniqueConstraint(columnNames = { "short_name" }, name = "sp_unq_short_name") })
 @Inheritance
@@ -201,6 +204,9 @@ public class SavingsProduct extends AbstractPersistableCustom {
     @Column(name = "days_to_escheat")
     private Long daysToEscheat;
 
+    @Column(name = "is_hot_account", nullable = false)
+    private boolean hotAccount;
+
     public static SavingsProduct createNew(final String name, final String shortName, final String description,
             final MonetaryCurrency currency, final BigDecimal interestRate,
             final SavingsCompoundingInterestPeriodType interestCompoundingPeriodType,
@@ -588,6 +594,12 @@ public class SavingsProduct extends AbstractPersistableCustom {
             this.daysToEscheat = newValue;
         }
 
+        if (command.isChangeInBooleanParameterNamed(hotAccountParamName, this.hotAccount)) {
+            final boolean newValue = command.booleanPrimitiveValueOfParameterNamed(hotAccountParamName);
+            actualChanges.put(hotAccountParamName, newValue);
+            this.hotAccount = newValue;
+        }
+
         if (this.isDormancyTrackingActive == null || !this.isDormancyTrackingActive) {
             this.daysToInactive = null;
             this.daysToDormancy = null;
@@ -737,6 +749,14 @@ public class SavingsProduct extends AbstractPersistableCustom {
         return null == this.isDormancyTrackingActive ? false : this.isDormancyTrackingActive;
     }
 
+    public boolean isHotAccount() {
+        return this.hotAccount;
+    }
+
+    public void updateHotAccount(final boolean hotAccount) {
+        this.hotAccount = hotAccount;
+    }
+
     public Long getDaysToInactive() {
         return this.daysToInactive;
     }
@@ -0,0 +1,89 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.savings.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import org.apache.fineract.infrastructure.core.data.ApiParameterError;
+import org.apache.fineract.infrastructure.core.exception.PlatformApiDataValidationException;
+import org.apache.fineract.infrastructure.core.service.LockConflictRetryUtil;
+import org.apache.fineract.infrastructure.jobs.exception.JobExecutionException;
+import org.apache.fineract.portfolio.savings.data.DepositAccountMaturityData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Component;
+
+/**
+ * Updates the maturity details of one chunk of matured deposit accounts on a worker thread of the maturity job. The
+ * chunk is written in a single transaction; if that fails, the chunk is replayed account by account so that one
+ * failing account does not hold back the others.
+ */
+@Component
+@Scope("prototype")
+public class DepositAccountMaturityPoster implements Callable<Void> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DepositAccountMaturityPoster.class);
+
+    private Collection<DepositAccountMaturityData> accounts;
+    private DepositAccountWritePlatformService depositAccountWritePlatformService;
+
+    public void setAccounts(final Collection<DepositAccountMaturityData> accounts) {
+        this.accounts = accounts;
+    }
+
+    public void setDepositAccountWritePlatformService(final DepositAccountWritePlatformService depositAccountWritePlatformService) {
+        this.depositAccountWritePlatformService = depositAccountWritePlatformService;
+    }
+
+    @Override
+    public Void call() throws JobExecutionException {
+        try {
+            LockConflictRetryUtil.retryOnLockConflict("Update maturity details",
+                    () -> this.depositAccountWritePlatformService.updateMaturityDetails(this.accounts));
+            return null;
+        } catch (final Exception e) {
+            LOG.warn("Update maturity details failed for a chunk of {} accounts, retrying them one by one", this.accounts.size(), e);
+        }
+
+        final List<Throwable> errors = new ArrayList<>();
+        for (final DepositAccountMaturityData account : this.accounts) {
+            try {
+                LockConflictRetryUtil.retryOnLockConflict("Update maturity details",
+                        () -> this.depositAccountWritePlatformService.updateMaturityDetails(account.getId(), account.getDepositType()));
+            } catch (final PlatformApiDataValidationException e) {
+                final List<ApiParameterError> apiErrors = e.getErrors();
+                for (final ApiParameterError error : apiErrors) {
+                    LOG.error("Update maturity details failed for account: {} with message {}", account.getAccountNo(),
+                            error.getDeveloperMessage());
+                }
+                errors.add(e);
+            } catch (final Exception e) {
+                LOG.error("Update maturity details failed for account: {}", account.getAccountNo(), e);
+                errors.add(e);
+            }
+        }
+        if (!errors.isEmpty()) {
+            throw new JobExecutionException(errors);
+        }
+        return null;
+    }
+}
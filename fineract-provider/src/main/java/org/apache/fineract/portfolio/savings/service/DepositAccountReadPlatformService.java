@@ -19,13 +19,15 @@
 package org.apache.fineract.portfolio.savings.service;
 
 import java.util.Collection;
-import java.util.Map;
+import java.util.List;
 import org.apache.fineract.infrastructure.core.data.PaginationParameters;
 import org.apache.fineract.infrastructure.core.service.Page;
 import org.apache.fineract.portfolio.account.data.AccountTransferDTO;
 import org.apache.fineract.portfolio.savings.DepositAccountType;
 import org.apache.fineract.portfolio.savings.data.DepositAccountData;
+import org.apache.fineract.portfolio.savings.data.DepositAccountMaturityData;
 import org.apache.fineract.portfolio.savings.data.SavingsAccountTransactionData;
+import org.springframework.jdbc.core.RowCallbackHandler;
 
 public interface DepositAccountReadPlatformService {
 
@@ -46,11 +48,26 @@ public interface DepositAccountReadPlatformService {
     DepositAccountData retrieveTemplate(DepositAccountType depositAccountType, Long clientId, Long groupId, Long productId,
             boolean staffInSelectedOfficeOnly);
 
-    Collection<DepositAccountData> retrieveForMaturityUpdate();
+    /**
+     * Active fixed and recurring deposit accounts that have reached their maturity date, in account id order, starting
+     * after <code>afterAccountId</code>.
+     */
+    List<DepositAccountMaturityData> retrieveForMaturityUpdate(Long afterAccountId, Integer limit);
+
+    /**
+     * One page of the accounts of {@link #retrieveForMaturityUpdate(Long, Integer)}, starting after the account of the
+     * {@link org.apache.fineract.infrastructure.core.service.PageCursor} token <code>cursor</code> (from the start when
+     * <code>null</code>).
+     */
+    Page<DepositAccountMaturityData> retrieveAllMatured(String cursor, Integer limit);
 
     SavingsAccountTransactionData retrieveRecurringAccountDepositTransactionTemplate(Long accountId);
 
     Collection<AccountTransferDTO> retrieveDataForInterestTransfer();
 
-    Collection<Map<String, Object>> retriveDataForRDScheduleCreation();
+    /**
+     * Streams the active recurring deposit accounts without a deposit period that need future installments, one row per
+     * account, restricted to the accounts whose id modulo <code>partitions</code> is <code>partition</code>.
+     */
+    void retriveDataForRDScheduleCreation(int partitions, int partition, RowCallbackHandler rowHandler);
 }
@@ -27,7 +27,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
-import java.util.Map;
+import java.util.List;
 import java.util.Set;
 import org.apache.fineract.infrastructure.core.data.EnumOptionData;
 import org.apache.fineract.infrastructure.core.data.PaginationParameters;
@@ -35,6 +35,7 @@ import org.apache.fineract.infrastructure.core.data.PaginationParametersDataVali
 import org.apache.fineract.infrastructure.core.domain.JdbcSupport;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
 import org.apache.fineract.infrastructure.core.service.Page;
+import org.apache.fineract.infrastructure.core.service.PageCursor;
 import org.apache.fineract.infrastructure.core.service.PaginationHelper;
 import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
 import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
@@ -66,6 +67,7 @@ import org.apache.fineract.portfolio.paymenttype.data.PaymentTypeData;
 import org.apache.fineract.portfolio.paymenttype.service.PaymentTypeReadPlatformService;
 import org.apache.fineract.portfolio.savings.DepositAccountOnClosureType;
 import org.apache.fineract.portfolio.savings.DepositAccountType;
+import org.apache.fineract.portfolio.savings.DepositAccountUtils;
 import org.apache.fineract.portfolio.savings.SavingsAccountTransactionType;
 import org.apache.fineract.portfolio.savings.SavingsCompoundingInterestPeriodType;
 import org.apache.fineract.portfolio.savings.SavingsInterestCalculationDaysInYearType;
@@ -74,6 +76,7 @@ import org.apache.fineract.portfolio.savings.SavingsPeriodFrequencyType;
 import org.apache.fineract.portfolio.savings.SavingsPostingInterestPeriodType;
 import org.apache.fineract.portfolio.savings.data.DepositAccountData;
 import org.apache.fineract.portfolio.savings.data.DepositAccountInterestRateChartData;
+import org.apache.fineract.portfolio.savings.data.DepositAccountMaturityData;
 import org.apache.fineract.portfolio.savings.data.DepositProductData;
 import org.apache.fineract.portfolio.savings.data.FixedDepositAccountData;
 import org.apache.fineract.portfolio.savings.data.RecurringDepositAccountData;
@@ -91,6 +94,7 @@ import org.apache.fineract.useradministration.domain.AppUser;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Service;
 import org.springframework.util.CollectionUtils;
@@ -100,6 +104,7 @@ public class DepositAccountReadPlatformServiceImpl implements DepositAccountRead
 
     private final PlatformSecurityContext context;
     private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingJdbcTemplate;
     private final DepositAccountInterestRateChartReadPlatformService accountChartReadPlatformService;
     private final InterestRateChartReadPlatformService productChartReadPlatformService;
     private final FixedDepositAccountMapper fixedDepositAccountRowMapper = new FixedDepositAccountMapper();
@@ -108,6 +113,7 @@ public class DepositAccountReadPlatformServiceImpl implements DepositAccountRead
     private final DepositAccountForMaturityMapper depositAccountForMaturityRowMapper = new DepositAccountForMaturityMapper();
     private final PaginationParametersDataValidator paginationParametersDataValidator;
     private final PaginationHelper<DepositAccountData> paginationHelper = new PaginationHelper<>();
+    private final PaginationHelper<DepositAccountMaturityData> maturityPaginationHelper = new PaginationHelper<>();
     private final SavingsAccountTransactionsMapper transactionsMapper;
     private final ClientReadPlatformService clientReadPlatformService;
     private final GroupReadPlatformService groupReadPlatformService;
@@ -140,6 +146,9 @@ public class DepositAccountReadPlatformServiceImpl implements DepositAccountRead
             PaymentTypeReadPlatformService paymentTypeReadPlatformService) {
         this.context = context;
         this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        // makes the MySQL driver stream rows instead of reading the whole result into memory
+        this.streamingJdbcTemplate.setFetchSize(Integer.MIN_VALUE);
         this.accountChartReadPlatformService = chartReadPlatformService;
         this.paginationParametersDataValidator = paginationParametersDataValidator;
         this.transactionsMapper = new SavingsAccountTransactionsMapper();
@@ -215,18 +224,34 @@ public class DepositAccountReadPlatformServiceImpl implements DepositAccountRead
     }
 
     @Override
-    public Collection<DepositAccountData> retrieveForMaturityUpdate() {
+    public List<DepositAccountMaturityData> retrieveForMaturityUpdate(final Long afterAccountId, final Integer limit) {
+        return this.jdbcTemplate.query(maturitySql() + " LIMIT ?", this.depositAccountForMaturityRowMapper,
+                maturityArgs(afterAccountId, limit));
+    }
+
+    @Override
+    public Page<DepositAccountMaturityData> retrieveAllMatured(final String cursor, final Integer limit) {
+        final PageCursor pageCursor = PageCursor.from(cursor);
+        final Long afterAccountId = pageCursor == null ? 0L : pageCursor.expectKeys(1).getLong(0);
+        return this.maturityPaginationHelper.fetchPage(this.jdbcTemplate, null, null, maturitySql(), maturityArgs(afterAccountId), limit,
+                null, this.depositAccountForMaturityRowMapper, "id");
+    }
 
+    private String maturitySql() {
         final StringBuilder sqlBuilder = new StringBuilder(200);
         sqlBuilder.append("SELECT ");
         sqlBuilder.append(this.depositAccountForMaturityRowMapper.schema());
-        sqlBuilder.append(" WHERE da.deposit_type_enum in (?, ?) and da.status_enum = ?");
+        sqlBuilder.append(" WHERE da.deposit_type_enum in (?, ?) and da.status_enum = ? and da.id > ?");
+        sqlBuilder.append(" ORDER BY da.id");
+        return sqlBuilder.toString();
+    }
 
+    private Object[] maturityArgs(final Object... trailingArgs) {
         LocalDate today = DateUtils.getLocalDateOfTenant();
-
-        return this.jdbcTemplate.query(sqlBuilder.toString(), this.depositAccountForMaturityRowMapper,
-                new Object[] { formatter.format(today), DepositAccountType.FIXED_DEPOSIT.getValue(),
-                        DepositAccountType.RECURRING_DEPOSIT.getValue(), SavingsAccountStatusType.ACTIVE.getValue() });
+        final List<Object> args = new ArrayList<>(Arrays.asList(formatter.format(today), DepositAccountType.FIXED_DEPOSIT.getValue(),
+                DepositAccountType.RECURRING_DEPOSIT.getValue(), SavingsAccountStatusType.ACTIVE.getValue()));
+        args.addAll(Arrays.asList(trailingArgs));
+        return args.toArray();
     }
 
     @Override
@@ -518,7 +543,7 @@ public class DepositAccountReadPlatformServiceImpl implements DepositAccountRead
     }
 
     @Override
-    public Collection<Map<String, Object>> retriveDataForRDScheduleCreation() {
+    public void retriveDataForRDScheduleCreation(final int partitions, final int partition, final RowCallbackHandler rowHandler) {
         final StringBuilder sb = new StringBuilder(300);
         sb.append(" select rd.savings_account_id savingsId, rd.mandatory_recommended_deposit_amount as amount,");
         sb.append(" mc.recurrence as recurrence ,");
@@ -530,12 +555,14 @@ public class DepositAccountReadPlatformServiceImpl implements DepositAccountRead
         sb.append(" inner join m_calendar_instance mci on mci.entity_type_enum = ? and mci.entity_id = dat.savings_account_id  ");
         sb.append(" inner join m_calendar mc  on mc.id = mci.calendar_id and mc.calendar_type_enum = ?");
         sb.append(" inner join m_mandatory_savings_schedule ms on ms.savings_account_id = dat.savings_account_id and ms.duedate > ?");
-        sb.append(" where dat.deposit_period is null");
+        sb.append(" where dat.deposit_period is null and mod(dat.savings_account_id, ?) = ?");
         sb.append(" group by ms.savings_account_id, rd.mandatory_recommended_deposit_amount, mc.recurrence");
+        sb.append(" having count(ms.installment) < ?");
 
-        return this.jdbcTemplate.queryForList(sb.toString(), SavingsAccountStatusType.ACTIVE.getValue(),
+        this.streamingJdbcTemplate.query(sb.toString(), rowHandler, SavingsAccountStatusType.ACTIVE.getValue(),
                 CalendarEntityType.SAVINGS.getValue(), CalendarType.COLLECTION.getValue(),
-                formatter.format(DateUtils.getLocalDateOfTenant()));
+                formatter.format(DateUtils.getLocalDateOfTenant()), partitions, partition,
+                DepositAccountUtils.GENERATE_MINIMUM_NUMBER_OF_FUTURE_INSTALMENTS);
     }
 
     private abstract static class DepositAccountMapper implements RowMapper<DepositAccountData> {
@@ -751,7 +778,7 @@ public class DepositAccountReadPlatformServiceImpl implements DepositAccountRead
             final BigDecimal availableBalance = null;
             final SavingsAccountSummaryData summary = new SavingsAccountSummaryData(currency, totalDeposits, totalWithdrawals,
                     totalWithdrawalFees, totalAnnualFees, totalInterestEarned, totalInterestPosted, accountBalance, totalFeeCharge,
-                    totalPenaltyCharge, totalOverdraftInterestDerived, totalWithholdTax, null, null, availableBalance);
+                    totalPenaltyCharge, totalOverdraftInterestDerived, totalWithholdTax, null, null, availableBalance, null);
 
             return DepositAccountData.instance(id, accountNo, externalId, groupId, groupName, clientId, clientName, productId, productName,
                     fieldOfficerId, fieldOfficerName, status, timeline, currency, nominalAnnualInterestRate, interestCompoundingPeriodType,
@@ -1378,7 +1405,7 @@ public class DepositAccountReadPlatformServiceImpl implements DepositAccountRead
         return savingsCharges;
     }
 
-    private static final class DepositAccountForMaturityMapper implements RowMapper<DepositAccountData> {
+    private static final class DepositAccountForMaturityMapper implements RowMapper<DepositAccountMaturityData> {
 
         private final String schemaSql;
 
@@ -1386,7 +1413,9 @@ public class DepositAccountReadPlatformServiceImpl implements DepositAccountRead
             final StringBuilder sqlBuilder = new StringBuilder(200);
             sqlBuilder.append("da.id as id, ");
             sqlBuilder.append("da.account_no as accountNumber, ");
-            sqlBuilder.append("da.deposit_type_enum as depositTypeId ");
+            sqlBuilder.append("da.deposit_type_enum as depositTypeId, ");
+            sqlBuilder.append("dat.maturity_date as maturityDate, ");
+            sqlBuilder.append("dat.maturity_amount as maturityAmount ");
             sqlBuilder.append("FROM m_savings_account da ");
             sqlBuilder.append("inner join m_deposit_account_term_and_preclosure dat on dat.savings_account_id = da.id ");
             sqlBuilder.append("and dat.maturity_date is not null and dat.maturity_date <= ? ");
@@ -1399,14 +1428,16 @@ public class DepositAccountReadPlatformServiceImpl implements DepositAccountRead
         }
 
         @Override
-        public DepositAccountData mapRow(final ResultSet rs, @SuppressWarnings("unused") final int rowNum) throws SQLException {
+        public DepositAccountMaturityData mapRow(final ResultSet rs, @SuppressWarnings("unused") final int rowNum) throws SQLException {
 
             final Long id = rs.getLong("id");
-            final String name = rs.getString("accountNumber");
+            final String accountNo = rs.getString("accountNumber");
             final Integer depositTypeId = JdbcSupport.getInteger(rs, "depositTypeId");
-            final EnumOptionData depositType = (depositTypeId == null) ? null : SavingsEnumerations.depositType(depositTypeId);
+            final DepositAccountType depositType = DepositAccountType.fromInt(depositTypeId);
+            final LocalDate maturityDate = JdbcSupport.getLocalDate(rs, "maturityDate");
+            final BigDecimal maturityAmount = JdbcSupport.getBigDecimalDefaultToZeroIfNull(rs, "maturityAmount");
 
-            return DepositAccountData.lookup(id, name, depositType);
+            return DepositAccountMaturityData.instance(id, accountNo, depositType, maturityDate, maturityAmount);
         }
     }
 
@@ -0,0 +1,35 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.savings.service;
+
+/**
+ * Tops up the mandatory savings schedule of recurring deposit accounts without a deposit period so that each account
+ * keeps {@link org.apache.fineract.portfolio.savings.DepositAccountUtils#GENERATE_MINIMUM_NUMBER_OF_FUTURE_INSTALMENTS}
+ * future installments.
+ */
+public interface RecurringDepositScheduleWritePlatformService {
+
+    /**
+     * Generates the missing installments of the accounts whose id modulo <code>partitions</code> is
+     * <code>partition</code>, so that partitions can run in parallel.
+     *
+     * @return the number of installments written
+     */
+    int generateFutureInstallments(int partitions, int partition);
+}
@@ -0,0 +1,110 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.savings.service;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
+import org.apache.fineract.portfolio.calendar.domain.CalendarFrequencyType;
+import org.apache.fineract.portfolio.calendar.service.CalendarUtils;
+import org.apache.fineract.portfolio.common.domain.PeriodFrequencyType;
+import org.apache.fineract.portfolio.savings.DepositAccountUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+@Service
+public class RecurringDepositScheduleWritePlatformServiceImpl implements RecurringDepositScheduleWritePlatformService {
+
+    static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_SQL = "INSERT INTO `m_mandatory_savings_schedule` (`savings_account_id`, `duedate`, `installment`, "
+            + "`deposit_amount`, `completed_derived`, `created_date`, `lastmodified_date`) VALUES (?, ?, ?, ?, b'0', ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DepositAccountReadPlatformService depositAccountReadPlatformService;
+
+    @Autowired
+    public RecurringDepositScheduleWritePlatformServiceImpl(final RoutingDataSource dataSource,
+            final DepositAccountReadPlatformService depositAccountReadPlatformService) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.depositAccountReadPlatformService = depositAccountReadPlatformService;
+    }
+
+    @Override
+    public int generateFutureInstallments(final int partitions, final int partition) {
+        final Timestamp currentDate = Timestamp.valueOf(DateUtils.getLocalDateTimeOfTenant());
+        // accounts mostly share a handful of recurrences, parse each rule only once
+        final Map<String, DepositRecurrence> recurrences = new HashMap<>();
+        final List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        final int[] written = new int[1];
+
+        this.depositAccountReadPlatformService.retriveDataForRDScheduleCreation(partitions, partition, rs -> {
+            long count = rs.getLong("futureInstallemts");
+            final Long savingsId = rs.getLong("savingsId");
+            final BigDecimal amount = rs.getBigDecimal("amount");
+            final DepositRecurrence recurrence = recurrences.computeIfAbsent(rs.getString("recurrence"), DepositRecurrence::new);
+            LocalDate lastDepositDate = rs.getDate("dueDate").toLocalDate();
+            int installmentNumber = rs.getInt("installment");
+            while (count < DepositAccountUtils.GENERATE_MINIMUM_NUMBER_OF_FUTURE_INSTALMENTS) {
+                count++;
+                installmentNumber++;
+                lastDepositDate = recurrence.nextDepositDate(lastDepositDate);
+                batch.add(new Object[] { savingsId, lastDepositDate, installmentNumber, amount, currentDate, currentDate });
+                if (batch.size() == BATCH_SIZE) {
+                    written[0] += flush(batch);
+                }
+            }
+        });
+        written[0] += flush(batch);
+        return written[0];
+    }
+
+    private int flush(final List<Object[]> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        this.jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+        final int size = batch.size();
+        batch.clear();
+        return size;
+    }
+
+    private static final class DepositRecurrence {
+
+        private final PeriodFrequencyType frequencyType;
+        private final int interval;
+
+        DepositRecurrence(final String recurrence) {
+            this.frequencyType = CalendarFrequencyType.from(CalendarUtils.getFrequency(recurrence));
+            final int recurrenceInterval = CalendarUtils.getInterval(recurrence);
+            this.interval = recurrenceInterval == -1 ? 1 : recurrenceInterval;
+        }
+
+        LocalDate nextDepositDate(final LocalDate lastDepositDate) {
+            return DepositAccountUtils.calculateNextDepositDate(lastDepositDate, this.frequencyType, this.interval);
+        }
+    }
+}
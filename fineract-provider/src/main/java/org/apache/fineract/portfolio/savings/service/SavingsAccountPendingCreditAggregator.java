@@ -0,0 +1,114 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.savings.service;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PreDestroy;
+import org.apache.fineract.infrastructure.core.service.PartitionedTenantExecutor;
+import org.apache.fineract.infrastructure.security.service.TenantDetailsService;
+import org.apache.fineract.portfolio.savings.data.SavingsAccountPendingCreditEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationListener;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Service;
+
+/**
+ * Single writer for the pending credits of hot accounts. An account is always drained on the same single threaded
+ * partition and at most one drain per account is scheduled at a time, so credits arriving while a batch is applied are
+ * picked up by the next batch instead of competing for the account.
+ */
+@Service
+public class SavingsAccountPendingCreditAggregator implements ApplicationListener<SavingsAccountPendingCreditEvent> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SavingsAccountPendingCreditAggregator.class);
+
+    private final SavingsAccountPendingCreditWritePlatformService pendingCreditWritePlatformService;
+    private final PartitionedTenantExecutor partitions;
+    private final Set<String> scheduledAccounts = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public SavingsAccountPendingCreditAggregator(final TenantDetailsService tenantDetailsService,
+            final SavingsAccountPendingCreditWritePlatformService pendingCreditWritePlatformService) {
+        this.pendingCreditWritePlatformService = pendingCreditWritePlatformService;
+        this.partitions = new PartitionedTenantExecutor("pending-credits", tenantDetailsService);
+    }
+
+    @Override
+    public void onApplicationEvent(final SavingsAccountPendingCreditEvent event) {
+        final String accountKey = event.getTenantIdentifier() + ":" + event.getSavingsAccountId();
+        if (!this.scheduledAccounts.add(accountKey)) {
+            // a drain of the account is already waiting to run and will pick this credit up
+            return;
+        }
+        this.partitions.execute(event.getTenantIdentifier(), String.valueOf(event.getSavingsAccountId()), () -> drain(accountKey, event));
+    }
+
+    private void drain(final String accountKey, final SavingsAccountPendingCreditEvent event) {
+        // credits accepted from here on need another drain
+        this.scheduledAccounts.remove(accountKey);
+        try {
+            boolean hasMore = true;
+            while (hasMore) {
+                hasMore = applyBatch(event.getSavingsAccountId()) == SavingsAccountPendingCreditWritePlatformService.APPLY_BATCH_SIZE;
+            }
+        } catch (final ConcurrencyFailureException e) {
+            // another node applied credits of the account at the same time, the scheduled job retries what is left
+            LOG.debug("Pending credits of savings account {} were changed concurrently", event.getSavingsAccountId(), e);
+        } catch (final RuntimeException e) {
+            LOG.error("Pending credits of savings account {} could not be applied", event.getSavingsAccountId(), e);
+        }
+    }
+
+    private int applyBatch(final Long savingsAccountId) {
+        try {
+            return this.pendingCreditWritePlatformService.applyPendingCredits(savingsAccountId);
+        } catch (final ConcurrencyFailureException e) {
+            throw e;
+        } catch (final RuntimeException e) {
+            LOG.debug("Batch of pending credits of savings account {} failed, applying them one by one", savingsAccountId, e);
+        }
+
+        // isolate the credit that cannot be applied so that the rest of the batch still goes through
+        final List<Long> pendingCreditIds = this.pendingCreditWritePlatformService.retrievePendingCreditIds(savingsAccountId);
+        for (final Long pendingCreditId : pendingCreditIds) {
+            try {
+                this.pendingCreditWritePlatformService.applyPendingCredit(pendingCreditId);
+            } catch (final ConcurrencyFailureException e) {
+                throw e;
+            } catch (final RuntimeException e) {
+                LOG.debug("Pending credit {} failed", pendingCreditId, e);
+                this.pendingCreditWritePlatformService.recordFailure(pendingCreditId, e);
+            }
+        }
+        return pendingCreditIds.size();
+    }
+
+    /**
+     * Lets the drains already scheduled finish; credits they do not get to stay pending and are picked up by the job.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        this.partitions.shutdown(30, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,84 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.savings.service;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import org.apache.fineract.infrastructure.core.data.EnumOptionData;
+import org.apache.fineract.infrastructure.core.domain.JdbcSupport;
+import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
+import org.apache.fineract.portfolio.savings.data.SavingsAccountPendingCreditData;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccountPendingCreditStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+
+@Service
+public class SavingsAccountPendingCreditReadPlatformServiceImpl implements SavingsAccountPendingCreditReadPlatformService {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SavingsAccountPendingCreditMapper pendingCreditMapper = new SavingsAccountPendingCreditMapper();
+
+    @Autowired
+    public SavingsAccountPendingCreditReadPlatformServiceImpl(final RoutingDataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public Collection<SavingsAccountPendingCreditData> retrievePendingCredits(final Long savingsAccountId,
+            final SavingsAccountPendingCreditStatus status) {
+        if (status == null) {
+            final String sql = "select " + this.pendingCreditMapper.schema() + " where pc.savings_account_id = ? order by pc.id";
+            return this.jdbcTemplate.query(sql, this.pendingCreditMapper, savingsAccountId);
+        }
+        final String sql = "select " + this.pendingCreditMapper.schema()
+                + " where pc.savings_account_id = ? and pc.status_enum = ? order by pc.id";
+        return this.jdbcTemplate.query(sql, this.pendingCreditMapper, savingsAccountId, status.getValue());
+    }
+
+    private static final class SavingsAccountPendingCreditMapper implements RowMapper<SavingsAccountPendingCreditData> {
+
+        public String schema() {
+            return " pc.id as id, pc.savings_account_id as savingsAccountId, pc.transaction_date as transactionDate, pc.amount as amount,"
+                    + " pc.status_enum as status, pc.savings_account_transaction_id as savingsAccountTransactionId,"
+                    + " pc.failure_reason as failureReason, pc.created_date as createdDate"
+                    + " from m_savings_account_pending_credit pc";
+        }
+
+        @Override
+        public SavingsAccountPendingCreditData mapRow(final ResultSet rs, @SuppressWarnings("unused") final int rowNum)
+                throws SQLException {
+            final Long id = rs.getLong("id");
+            final Long savingsAccountId = rs.getLong("savingsAccountId");
+            final LocalDate transactionDate = JdbcSupport.getLocalDate(rs, "transactionDate");
+            final BigDecimal amount = JdbcSupport.getBigDecimalDefaultToZeroIfNull(rs, "amount");
+            final EnumOptionData status = SavingsEnumerations.pendingCreditStatus(JdbcSupport.getInteger(rs, "status"));
+            final Long savingsAccountTransactionId = JdbcSupport.getLong(rs, "savingsAccountTransactionId");
+            final String failureReason = rs.getString("failureReason");
+            final ZonedDateTime createdDate = JdbcSupport.getDateTime(rs, "createdDate");
+            return SavingsAccountPendingCreditData.instance(id, savingsAccountId, transactionDate, amount, status,
+                    savingsAccountTransactionId, failureReason, createdDate);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.savings.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
+import org.apache.fineract.portfolio.paymentdetail.domain.PaymentDetail;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccount;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccountPendingCredit;
+
+public interface SavingsAccountPendingCreditWritePlatformService {
+
+    /**
+     * Number of pending credits of an account applied in one transaction.
+     */
+    int APPLY_BATCH_SIZE = 200;
+
+    SavingsAccountPendingCredit recordPendingCredit(SavingsAccount account, LocalDate transactionDate, BigDecimal transactionAmount,
+            PaymentDetail paymentDetail, String note);
+
+    int applyPendingCredits(Long savingsAccountId);
+
+    List<Long> retrievePendingCreditIds(Long savingsAccountId);
+
+    void applyPendingCredit(Long pendingCreditId);
+
+    void recordFailure(Long pendingCreditId, RuntimeException exception);
+
+    CommandProcessingResult retryFailedPendingCredit(Long savingsAccountId, Long pendingCreditId);
+
+    void dispatchStalePendingCredits();
+}
@@ -0,0 +1,241 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.savings.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.fineract.batch.exception.ErrorHandler;
+import org.apache.fineract.batch.exception.ErrorInfo;
+import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
+import org.apache.fineract.infrastructure.core.data.CommandProcessingResultBuilder;
+import org.apache.fineract.infrastructure.core.exception.GeneralPlatformDomainRuleException;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.jobs.annotation.CronTarget;
+import org.apache.fineract.infrastructure.jobs.service.JobName;
+import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
+import org.apache.fineract.portfolio.note.domain.Note;
+import org.apache.fineract.portfolio.note.domain.NoteRepository;
+import org.apache.fineract.portfolio.paymentdetail.domain.PaymentDetail;
+import org.apache.fineract.portfolio.savings.data.SavingsAccountPendingCreditEvent;
+import org.apache.fineract.portfolio.savings.data.SavingsAccountTransactionDTO;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccount;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccountAssembler;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccountDomainService;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccountPendingCredit;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccountPendingCreditRepository;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccountPendingCreditStatus;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccountTransaction;
+import org.apache.fineract.portfolio.savings.exception.SavingsAccountPendingCreditNotFoundException;
+import org.apache.fineract.useradministration.domain.AppUser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Service
+public class SavingsAccountPendingCreditWritePlatformServiceImpl implements SavingsAccountPendingCreditWritePlatformService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SavingsAccountPendingCreditWritePlatformServiceImpl.class);
+
+    /**
+     * Pending credits older than this were not applied by the node that accepted them (e.g. it was restarted) and are
+     * dispatched again by the scheduled job.
+     */
+    private static final int STALE_PENDING_CREDIT_MINUTES = 1;
+
+    private static final DateTimeFormatter TRANSACTION_DATE_FORMATTER = DateTimeFormatter.ofPattern("dd MMMM yyyy");
+
+    private final PlatformSecurityContext context;
+    private final SavingsAccountPendingCreditRepository pendingCreditRepository;
+    private final SavingsAccountAssembler savingsAccountAssembler;
+    private final SavingsAccountDomainService savingsAccountDomainService;
+    private final NoteRepository noteRepository;
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    @Autowired
+    public SavingsAccountPendingCreditWritePlatformServiceImpl(final PlatformSecurityContext context,
+            final SavingsAccountPendingCreditRepository pendingCreditRepository, final SavingsAccountAssembler savingsAccountAssembler,
+            final SavingsAccountDomainService savingsAccountDomainService, final NoteRepository noteRepository,
+            final ApplicationEventPublisher applicationEventPublisher) {
+        this.context = context;
+        this.pendingCreditRepository = pendingCreditRepository;
+        this.savingsAccountAssembler = savingsAccountAssembler;
+        this.savingsAccountDomainService = savingsAccountDomainService;
+        this.noteRepository = noteRepository;
+        this.applicationEventPublisher = applicationEventPublisher;
+    }
+
+    @Override
+    public SavingsAccountPendingCredit recordPendingCredit(final SavingsAccount account, final LocalDate transactionDate,
+            final BigDecimal transactionAmount, final PaymentDetail paymentDetail, final String note) {
+        final AppUser user = this.context.authenticatedUser();
+        final SavingsAccountPendingCredit pendingCredit = this.pendingCreditRepository.saveAndFlush(SavingsAccountPendingCredit
+                .pending(account, transactionDate, transactionAmount, paymentDetail, StringUtils.trimToNull(note), user));
+        dispatchAfterCommit(account.getId());
+        return pendingCredit;
+    }
+
+    private void dispatchAfterCommit(final Long savingsAccountId) {
+        final SavingsAccountPendingCreditEvent event = SavingsAccountPendingCreditEvent
+                .instance(ThreadLocalContextUtil.getTenant().getTenantIdentifier(), savingsAccountId);
+
+        // the aggregator must not look for the credit before the row is visible to it
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+
+                @Override
+                public void afterCommit() {
+                    SavingsAccountPendingCreditWritePlatformServiceImpl.this.applicationEventPublisher.publishEvent(event);
+                }
+            });
+        } else {
+            this.applicationEventPublisher.publishEvent(event);
+        }
+    }
+
+    @Transactional
+    @Override
+    public int applyPendingCredits(final Long savingsAccountId) {
+        final List<SavingsAccountPendingCredit> pendingCredits = this.pendingCreditRepository.findBySavingsAccountIdAndStatus(
+                savingsAccountId, SavingsAccountPendingCreditStatus.PENDING.getValue(), PageRequest.of(0, APPLY_BATCH_SIZE));
+        if (pendingCredits.isEmpty()) {
+            return 0;
+        }
+
+        // one load and one version increment of the account for the whole batch
+        final SavingsAccount account = this.savingsAccountAssembler.assembleWithoutTransactionHistory(savingsAccountId);
+        for (final SavingsAccountPendingCredit pendingCredit : pendingCredits) {
+            apply(account, pendingCredit);
+        }
+        return pendingCredits.size();
+    }
+
+    @Override
+    public List<Long> retrievePendingCreditIds(final Long savingsAccountId) {
+        final List<SavingsAccountPendingCredit> pendingCredits = this.pendingCreditRepository.findBySavingsAccountIdAndStatus(
+                savingsAccountId, SavingsAccountPendingCreditStatus.PENDING.getValue(), PageRequest.of(0, APPLY_BATCH_SIZE));
+        final List<Long> pendingCreditIds = new ArrayList<>(pendingCredits.size());
+        for (final SavingsAccountPendingCredit pendingCredit : pendingCredits) {
+            pendingCreditIds.add(pendingCredit.getId());
+        }
+        return pendingCreditIds;
+    }
+
+    @Transactional
+    @Override
+    public void applyPendingCredit(final Long pendingCreditId) {
+        final SavingsAccountPendingCredit pendingCredit = this.pendingCreditRepository.findById(pendingCreditId).orElse(null);
+        if (pendingCredit == null || !pendingCredit.getStatus().isPending()) {
+            return;
+        }
+        final SavingsAccount account = this.savingsAccountAssembler.assembleWithoutTransactionHistory(pendingCredit.getSavingsAccountId());
+        apply(account, pendingCredit);
+    }
+
+    private void apply(final SavingsAccount account, final SavingsAccountPendingCredit pendingCredit) {
+        final AppUser maker = pendingCredit.getAppUser();
+        if (maker != null) {
+            // journal entries and notes are attributed to the user who made the deposit
+            SecurityContextHolder.getContext()
+                    .setAuthentication(new UsernamePasswordAuthenticationToken(maker, maker.getPassword(), maker.getAuthorities()));
+        }
+
+        final Integer accountType = null;
+        final SavingsAccountTransactionDTO transactionDTO = new SavingsAccountTransactionDTO(TRANSACTION_DATE_FORMATTER,
+                pendingCredit.getTransactionDate(), pendingCredit.getAmount(), pendingCredit.getPaymentDetail(),
+                pendingCredit.getCreatedDate(), maker, accountType);
+        final boolean isAccountTransfer = false;
+        final boolean isRegularTransaction = true;
+        final SavingsAccountTransaction deposit = this.savingsAccountDomainService.handleDeposit(account, transactionDTO,
+                isAccountTransfer, isRegularTransaction);
+
+        if (pendingCredit.getNote() != null) {
+            this.noteRepository.save(Note.savingsTransactionNote(account, deposit, pendingCredit.getNote()));
+        }
+        pendingCredit.markApplied(deposit.getId());
+        this.pendingCreditRepository.save(pendingCredit);
+    }
+
+    @Transactional
+    @Override
+    public void recordFailure(final Long pendingCreditId, final RuntimeException exception) {
+        final ErrorInfo errorInfo = ErrorHandler.handler(exception);
+        final SavingsAccountPendingCredit pendingCredit = this.pendingCreditRepository.findById(pendingCreditId).orElse(null);
+        if (pendingCredit != null) {
+            pendingCredit.markFailed(errorInfo.getMessage());
+            this.pendingCreditRepository.save(pendingCredit);
+            // the depositor got a success response already, so a failed credit needs someone to look at it
+            LOG.warn("{}: Pending credit {} of {} to savings account {} failed and needs to be retried: {}",
+                    ThreadLocalContextUtil.getTenant().getName(), pendingCreditId, pendingCredit.getAmount(),
+                    pendingCredit.getSavingsAccountId(), pendingCredit.getFailureReason());
+        }
+    }
+
+    @Transactional
+    @Override
+    public CommandProcessingResult retryFailedPendingCredit(final Long savingsAccountId, final Long pendingCreditId) {
+        this.context.authenticatedUser();
+        final SavingsAccountPendingCredit pendingCredit = this.pendingCreditRepository.findById(pendingCreditId)
+                .filter(credit -> credit.getSavingsAccountId().equals(savingsAccountId))
+                .orElseThrow(() -> new SavingsAccountPendingCreditNotFoundException(savingsAccountId, pendingCreditId));
+        if (!pendingCredit.getStatus().isFailed()) {
+            throw new GeneralPlatformDomainRuleException("error.msg.savings.account.pending.credit.not.failed",
+                    "Pending credit " + pendingCreditId + " of savings account " + savingsAccountId + " has not failed", pendingCreditId);
+        }
+        pendingCredit.markPendingForRetry();
+        this.pendingCreditRepository.saveAndFlush(pendingCredit);
+        dispatchAfterCommit(savingsAccountId);
+
+        return new CommandProcessingResultBuilder() //
+                .withEntityId(pendingCreditId) //
+                .withSavingsId(savingsAccountId) //
+                .build();
+    }
+
+    @Override
+    @CronTarget(jobName = JobName.APPLY_PENDING_SAVINGS_CREDITS)
+    public void dispatchStalePendingCredits() {
+        final Date createdBefore = Date
+                .from(ZonedDateTime.now(DateUtils.getDateTimeZoneOfTenant()).minusMinutes(STALE_PENDING_CREDIT_MINUTES).toInstant());
+        final List<Long> savingsAccountIds = this.pendingCreditRepository
+                .findSavingsAccountIdsByStatusCreatedBefore(SavingsAccountPendingCreditStatus.PENDING.getValue(), createdBefore);
+        final String tenantIdentifier = ThreadLocalContextUtil.getTenant().getTenantIdentifier();
+        for (final Long savingsAccountId : savingsAccountIds) {
+            this.applicationEventPublisher.publishEvent(SavingsAccountPendingCreditEvent.instance(tenantIdentifier, savingsAccountId));
+        }
+        if (!savingsAccountIds.isEmpty()) {
+            LOG.info("{}: Dispatched pending credits of {} savings accounts", ThreadLocalContextUtil.getTenant().getName(),
+                    savingsAccountIds.size());
+        }
+    }
+}
@@ -33,6 +33,7 @@ import org.apache.fineract.infrastructure.core.data.EnumOptionData;
 import org.apache.fineract.infrastructure.core.domain.JdbcSupport;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
 import org.apache.fineract.infrastructure.core.service.Page;
+import org.apache.fineract.infrastructure.core.service.PageCursor;
 import org.apache.fineract.infrastructure.core.service.PaginationHelper;
 import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
 import org.apache.fineract.infrastructure.core.service.SearchParameters;
@@ -168,13 +169,13 @@ public class SavingsAccountReadPlatformServiceImpl implements SavingsAccountRead
         final String hierarchySearchString = hierarchy + "%";
 
         final StringBuilder sqlBuilder = new StringBuilder(200);
-        sqlBuilder.append("select SQL_CALC_FOUND_ROWS ");
+        sqlBuilder.append("select ");
         sqlBuilder.append(this.savingAccountMapper.schema());
 
         sqlBuilder.append(" join m_office o on o.id = c.office_id");
         sqlBuilder.append(" where o.hierarchy like ?");
 
-        final Object[] objectArray = new Object[2];
+        final Object[] objectArray = new Object[4];
         objectArray[0] = hierarchySearchString;
         int arrayPos = 1;
         if (searchParameters != null) {
@@ -195,6 +196,30 @@ public class SavingsAccountReadPlatformServiceImpl implements SavingsAccountRead
                 objectArray[arrayPos] = searchParameters.getOfficeId();
                 arrayPos = arrayPos + 1;
             }
+        }
+
+        String sqlCountRows = null;
+        Object[] countArgs = null;
+        if (searchParameters == null || searchParameters.isCountRequested()) {
+            sqlCountRows = PaginationHelper.countSql(sqlBuilder.toString());
+            countArgs = Arrays.copyOf(objectArray, arrayPos);
+        }
+
+        if (searchParameters != null && searchParameters.isKeysetPaged()) {
+            final PageCursor cursor = PageCursor.from(searchParameters.getCursor());
+            if (cursor != null) {
+                sqlBuilder.append(" and sa.id > ?");
+                objectArray[arrayPos] = cursor.expectKeys(1).getLong(0);
+                arrayPos = arrayPos + 1;
+            }
+            sqlBuilder.append(" order by sa.id");
+            return this.paginationHelper.fetchPage(this.jdbcTemplate, sqlCountRows, countArgs, sqlBuilder.toString(),
+                    Arrays.copyOf(objectArray, arrayPos), searchParameters.getLimit(), null, this.savingAccountMapper, "id");
+        }
+
+        Integer limit = null;
+        Integer offset = null;
+        if (searchParameters != null) {
             if (searchParameters.isOrderByRequested()) {
                 sqlBuilder.append(" order by ").append(searchParameters.getOrderBy());
                 this.columnValidator.validateSqlInjection(sqlBuilder.toString(), searchParameters.getOrderBy());
@@ -206,16 +231,15 @@ public class SavingsAccountReadPlatformServiceImpl implements SavingsAccountRead
             }
 
             if (searchParameters.isLimited()) {
-                sqlBuilder.append(" limit ").append(searchParameters.getLimit());
+                limit = searchParameters.getLimit();
                 if (searchParameters.isOffset()) {
-                    sqlBuilder.append(" offset ").append(searchParameters.getOffset());
+                    offset = searchParameters.getOffset();
                 }
             }
         }
         final Object[] finalObjectArray = Arrays.copyOf(objectArray, arrayPos);
-        final String sqlCountRows = "SELECT FOUND_ROWS()";
-        return this.paginationHelper.fetchPage(this.jdbcTemplate, sqlCountRows, sqlBuilder.toString(), finalObjectArray,
-                this.savingAccountMapper);
+        return this.paginationHelper.fetchPage(this.jdbcTemplate, sqlCountRows, countArgs, sqlBuilder.toString(), finalObjectArray, limit,
+                offset, this.savingAccountMapper);
     }
 
     @Override
@@ -314,6 +338,8 @@ public class SavingsAccountReadPlatformServiceImpl implements SavingsAccountRead
             sqlBuilder.append("sa.total_withhold_tax_derived as totalWithholdTax, ");
             sqlBuilder.append("sa.last_interest_calculation_date as lastInterestCalculationDate, ");
             sqlBuilder.append("sa.total_savings_amount_on_hold as onHoldAmount, ");
+            sqlBuilder.append("(select sum(pc.amount) from m_savings_account_pending_credit pc ");
+            sqlBuilder.append("where pc.savings_account_id = sa.id and pc.status_enum = 1) as totalPendingCredits, ");
             sqlBuilder.append("tg.id as taxGroupId, tg.name as taxGroupName, ");
             sqlBuilder.append("(select IFNULL(max(sat.transaction_date),sa.activatedon_date) ");
             sqlBuilder.append("from m_savings_account_transaction as sat ");
@@ -515,6 +541,9 @@ public class SavingsAccountReadPlatformServiceImpl implements SavingsAccountRead
 
             final BigDecimal onHoldAmount = rs.getBigDecimal("onHoldAmount");
 
+            // credits to hot accounts that are accepted but not yet applied, they are not available until applied
+            final BigDecimal totalPendingCredits = JdbcSupport.getBigDecimalDefaultToNullIfZero(rs, "totalPendingCredits");
+
             BigDecimal availableBalance = accountBalance;
             if (availableBalance != null && onHoldFunds != null) {
 
@@ -536,7 +565,7 @@ public class SavingsAccountReadPlatformServiceImpl implements SavingsAccountRead
             final SavingsAccountSummaryData summary = new SavingsAccountSummaryData(currency, totalDeposits, totalWithdrawals,
                     totalWithdrawalFees, totalAnnualFees, totalInterestEarned, totalInterestPosted, accountBalance, totalFeeCharge,
                     totalPenaltyCharge, totalOverdraftInterestDerived, totalWithholdTax, interestNotPosted, lastInterestCalculationDate,
-                    availableBalance);
+                    availableBalance, totalPendingCredits);
 
             final boolean withHoldTax = rs.getBoolean("withHoldTax");
             final Long taxGroupId = JdbcSupport.getLong(rs, "taxGroupId");
@@ -97,6 +97,8 @@ public interface SavingsAccountWritePlatformService {
 
     CommandProcessingResult unblockCredits(Long savingsId);
 
+    CommandProcessingResult updateHotAccount(Long savingsId, boolean hotAccount);
+
     CommandProcessingResult blockDebits(Long savingsId);
 
     CommandProcessingResult unblockDebits(Long savingsId);
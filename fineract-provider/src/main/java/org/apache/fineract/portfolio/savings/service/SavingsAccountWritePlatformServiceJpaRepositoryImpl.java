@@ -43,6 +43,7 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.fineract.accounting.journalentry.service.AccountingProcessorHelper;
 import org.apache.fineract.accounting.journalentry.service.JournalEntryWritePlatformService;
 import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
 import org.apache.fineract.infrastructure.core.api.JsonCommand;
@@ -104,14 +105,17 @@ import org.apache.fineract.portfolio.savings.domain.SavingsAccountAssembler;
 import org.apache.fineract.portfolio.savings.domain.SavingsAccountCharge;
 import org.apache.fineract.portfolio.savings.domain.SavingsAccountChargeRepositoryWrapper;
 import org.apache.fineract.portfolio.savings.domain.SavingsAccountDomainService;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccountPendingCredit;
 import org.apache.fineract.portfolio.savings.domain.SavingsAccountRepositoryWrapper;
 import org.apache.fineract.portfolio.savings.domain.SavingsAccountStatusType;
 import org.apache.fineract.portfolio.savings.domain.SavingsAccountTransaction;
 import org.apache.fineract.portfolio.savings.domain.SavingsAccountTransactionRepository;
+import org.apache.fineract.portfolio.savings.exception.DepositAccountTransactionNotAllowedException;
 import org.apache.fineract.portfolio.savings.exception.PostInterestAsOnDateException;
 import org.apache.fineract.portfolio.savings.exception.PostInterestAsOnDateException.PostInterestAsOnExceptionType;
 import org.apache.fineract.portfolio.savings.exception.PostInterestClosingDateException;
 import org.apache.fineract.portfolio.savings.exception.SavingsAccountClosingNotAllowedException;
+import org.apache.fineract.portfolio.savings.exception.SavingsAccountNotFoundException;
 import org.apache.fineract.portfolio.savings.exception.SavingsAccountTransactionNotFoundException;
 import org.apache.fineract.portfolio.savings.exception.SavingsOfficerAssignmentException;
 import org.apache.fineract.portfolio.savings.exception.SavingsOfficerUnassignmentException;
@@ -155,6 +159,8 @@ public class SavingsAccountWritePlatformServiceJpaRepositoryImpl implements Savi
     private final StandingInstructionRepository standingInstructionRepository;
     private final BusinessEventNotifierService businessEventNotifierService;
     private final GSIMRepositoy gsimRepository;
+    private final SavingsAccountPendingCreditWritePlatformService pendingCreditWritePlatformService;
+    private final AccountingProcessorHelper accountingProcessorHelper;
 
     @Autowired
     public SavingsAccountWritePlatformServiceJpaRepositoryImpl(final PlatformSecurityContext context,
@@ -176,7 +182,9 @@ public class SavingsAccountWritePlatformServiceJpaRepositoryImpl implements Savi
             final DepositAccountOnHoldTransactionRepository depositAccountOnHoldTransactionRepository,
             final EntityDatatableChecksWritePlatformService entityDatatableChecksWritePlatformService,
             final AppUserRepositoryWrapper appuserRepository, final StandingInstructionRepository standingInstructionRepository,
-            final BusinessEventNotifierService businessEventNotifierService, final GSIMRepositoy gsimRepository) {
+            final BusinessEventNotifierService businessEventNotifierService, final GSIMRepositoy gsimRepository,
+            final SavingsAccountPendingCreditWritePlatformService pendingCreditWritePlatformService,
+            final AccountingProcessorHelper accountingProcessorHelper) {
         this.context = context;
         this.savingAccountRepositoryWrapper = savingAccountRepositoryWrapper;
         this.savingsAccountTransactionRepository = savingsAccountTransactionRepository;
@@ -203,6 +211,8 @@ public class SavingsAccountWritePlatformServiceJpaRepositoryImpl implements Savi
         this.standingInstructionRepository = standingInstructionRepository;
         this.businessEventNotifierService = businessEventNotifierService;
         this.gsimRepository = gsimRepository;
+        this.pendingCreditWritePlatformService = pendingCreditWritePlatformService;
+        this.accountingProcessorHelper = accountingProcessorHelper;
     }
 
     private static final Logger LOG = LoggerFactory.getLogger(SavingsAccountWritePlatformServiceJpaRepositoryImpl.class);
@@ -215,19 +225,22 @@ public class SavingsAccountWritePlatformServiceJpaRepositoryImpl implements Savi
         GroupSavingsIndividualMonitoring parentSavings = gsimRepository.findById(parentSavingId).get();
         List<SavingsAccount> childSavings = this.savingAccountRepositoryWrapper.findByGsimId(gsimId);
 
-        CommandProcessingResult result = null;
-        int count = 0;
-        for (SavingsAccount account : childSavings) {
-            result = activate(account.getId(), command);
-            if (result != null) {
-                count++;
-                if (count == parentSavings.getChildAccountsCount()) {
-                    parentSavings.setSavingsStatus(SavingsAccountStatusType.ACTIVE.getValue());
-                    gsimRepository.save(parentSavings);
+        // the journal entries of all child accounts are written with one batch
+        return this.accountingProcessorHelper.executeInUnitOfWork(() -> {
+            CommandProcessingResult result = null;
+            int count = 0;
+            for (SavingsAccount account : childSavings) {
+                result = activate(account.getId(), command);
+                if (result != null) {
+                    count++;
+                    if (count == parentSavings.getChildAccountsCount()) {
+                        parentSavings.setSavingsStatus(SavingsAccountStatusType.ACTIVE.getValue());
+                        gsimRepository.save(parentSavings);
+                    }
                 }
             }
-        }
-        return result;
+            return result;
+        });
     }
 
     @Transactional
@@ -302,22 +315,28 @@ public class SavingsAccountWritePlatformServiceJpaRepositoryImpl implements Savi
     @Override
     public CommandProcessingResult gsimDeposit(final Long gsimId, final JsonCommand command) {
 
-        Long parentSavingId = gsimId;
-        // GroupSavingsIndividualMonitoringparentSavings=gsimRepository.findById(parentSavingId).get();
-        List<SavingsAccount> childSavings = this.savingAccountRepositoryWrapper.findByGsimId(gsimId);
+        // loads all child accounts with one query, the deposits below then find them in the persistence context
+        final Set<Long> childSavingsIds = new HashSet<>();
+        for (final SavingsAccount childSavings : this.savingAccountRepositoryWrapper.findByGsimId(gsimId)) {
+            childSavingsIds.add(childSavings.getId());
+        }
 
         JsonArray savingsArray = command.arrayOfParameterNamed("savingsArray");
-
-        JsonArray childAccounts = command.arrayOfParameterNamed("childAccounts");
-        int count = 0;
-
-        CommandProcessingResult result = null;
         for (JsonElement element : savingsArray) {
-
-            result = deposit(element.getAsJsonObject().get("childAccountId").getAsLong(),
-                    JsonCommand.fromExistingCommand(command, element));
+            final Long childAccountId = element.getAsJsonObject().get("childAccountId").getAsLong();
+            if (!childSavingsIds.contains(childAccountId)) {
+                throw new SavingsAccountNotFoundException(childAccountId);
+            }
         }
-        return result;
+
+        return this.accountingProcessorHelper.executeInUnitOfWork(() -> {
+            CommandProcessingResult result = null;
+            for (JsonElement element : savingsArray) {
+                result = deposit(element.getAsJsonObject().get("childAccountId").getAsLong(),
+                        JsonCommand.fromExistingCommand(command, element));
+            }
+            return result;
+        });
     }
 
     @Transactional
@@ -329,12 +348,12 @@ public class SavingsAccountWritePlatformServiceJpaRepositoryImpl implements Savi
         this.savingsAccountTransactionDataValidator.validate(command);
         boolean isGsim = false;
 
-        if (this.savingAccountRepositoryWrapper.findOneWithNotFoundDetection(savingsId).getGsim() != null) {
+        final SavingsAccount account = this.savingAccountAssembler.assembleWithoutTransactionHistory(savingsId);
+        if (account.getGsim() != null) {
             isGsim = true;
             LOG.info("is gsim");
         }
 
-        final SavingsAccount account = this.savingAccountAssembler.assembleFrom(savingsId);
         checkClientOrGroupActive(account);
         final Locale locale = command.extractLocale();
         final DateTimeFormatter fmt = DateTimeFormatter.ofPattern(command.dateFormat()).withLocale(locale);
@@ -344,6 +363,12 @@ public class SavingsAccountWritePlatformServiceJpaRepositoryImpl implements Savi
 
         final Map<String, Object> changes = new LinkedHashMap<>();
         final PaymentDetail paymentDetail = this.paymentDetailWritePlatformService.createAndPersistPaymentDetail(command, changes);
+
+        if (account.isHotAccount() && !isGsim) {
+            return depositToHotAccount(account, fmt, transactionDate, transactionAmount, paymentDetail,
+                    command.stringValueOfParameterNamed("note"), changes);
+        }
+
         boolean isAccountTransfer = false;
         boolean isRegularTransaction = true;
         final SavingsAccountTransaction deposit = this.savingsAccountDomainService.handleDeposit(account, fmt, transactionDate,
@@ -381,6 +406,36 @@ public class SavingsAccountWritePlatformServiceJpaRepositoryImpl implements Savi
 
     }
 
+    /**
+     * Validates the deposit against the account as it is now and journals it as a pending credit. The balance of the
+     * account is updated when the credit is applied by {@link SavingsAccountPendingCreditAggregator}, so the returned
+     * entity is the pending credit and not a savings transaction.
+     */
+    private CommandProcessingResult depositToHotAccount(final SavingsAccount account, final DateTimeFormatter fmt,
+            final LocalDate transactionDate, final BigDecimal transactionAmount, final PaymentDetail paymentDetail, final String note,
+            final Map<String, Object> changes) {
+        account.validateForAccountBlock();
+        account.validateForCreditBlock();
+        if (!account.allowDeposit()) {
+            throw new DepositAccountTransactionNotAllowedException(account.getId(), "deposit", account.depositAccountType());
+        }
+        account.validateDeposit(new SavingsAccountTransactionDTO(fmt, transactionDate, transactionAmount, paymentDetail, new Date(),
+                this.context.authenticatedUser(), null));
+
+        final SavingsAccountPendingCredit pendingCredit = this.pendingCreditWritePlatformService.recordPendingCredit(account,
+                transactionDate, transactionAmount, paymentDetail, note);
+        changes.put(SavingsApiConstants.pendingCreditIdParamName, pendingCredit.getId());
+
+        return new CommandProcessingResultBuilder() //
+                .withEntityId(pendingCredit.getId()) //
+                .withOfficeId(account.officeId()) //
+                .withClientId(account.clientId()) //
+                .withGroupId(account.groupId()) //
+                .withSavingsId(account.getId()) //
+                .with(changes) //
+                .build();
+    }
+
     private Long saveTransactionToGenerateTransactionId(final SavingsAccountTransaction transaction) {
         this.savingsAccountTransactionRepository.saveAndFlush(transaction);
         return transaction.getId();
@@ -392,8 +447,9 @@ public class SavingsAccountWritePlatformServiceJpaRepositoryImpl implements Savi
 
         this.savingsAccountTransactionDataValidator.validate(command);
 
+        final SavingsAccount account = this.savingAccountAssembler.assembleWithoutTransactionHistory(savingsId);
         boolean isGsim = false;
-        if (this.savingAccountRepositoryWrapper.findOneWithNotFoundDetection(savingsId).getGsim() != null) {
+        if (account.getGsim() != null) {
             isGsim = true;
         }
 
@@ -406,7 +462,6 @@ public class SavingsAccountWritePlatformServiceJpaRepositoryImpl implements Savi
         final Map<String, Object> changes = new LinkedHashMap<>();
         final PaymentDetail paymentDetail = this.paymentDetailWritePlatformService.createAndPersistPaymentDetail(command, changes);
 
-        final SavingsAccount account = this.savingAccountAssembler.assembleFrom(savingsId);
         checkClientOrGroupActive(account);
         final boolean isAccountTransfer = false;
         final boolean isRegularTransaction = true;
@@ -782,20 +837,22 @@ public class SavingsAccountWritePlatformServiceJpaRepositoryImpl implements Savi
         GroupSavingsIndividualMonitoring parentSavings = gsimRepository.findById(parentSavingId).get();
         List<SavingsAccount> childSavings = this.savingAccountRepositoryWrapper.findByGsimId(gsimId);
 
-        CommandProcessingResult result = null;
-        int count = 0;
-        for (SavingsAccount account : childSavings) {
-            result = close(account.getId(), command);
-
-            if (result != null) {
-                count++;
-                if (count == parentSavings.getChildAccountsCount()) {
-                    parentSavings.setSavingsStatus(SavingsAccountStatusType.CLOSED.getValue());
-                    gsimRepository.save(parentSavings);
+        return this.accountingProcessorHelper.executeInUnitOfWork(() -> {
+            CommandProcessingResult result = null;
+            int count = 0;
+            for (SavingsAccount account : childSavings) {
+                result = close(account.getId(), command);
+
+                if (result != null) {
+                    count++;
+                    if (count == parentSavings.getChildAccountsCount()) {
+                        parentSavings.setSavingsStatus(SavingsAccountStatusType.CLOSED.getValue());
+                        gsimRepository.save(parentSavings);
+                    }
                 }
             }
-        }
-        return result;
+            return result;
+        });
     }
 
     @Override
@@ -1658,6 +1715,20 @@ public class SavingsAccountWritePlatformServiceJpaRepositoryImpl implements Savi
                 .withClientId(account.clientId()).withGroupId(account.groupId()).withSavingsId(savingsId).with(changes).build();
     }
 
+    @Override
+    public CommandProcessingResult updateHotAccount(final Long savingsId, final boolean hotAccount) {
+        this.context.authenticatedUser();
+
+        final SavingsAccount account = this.savingAccountAssembler.assembleWithoutTransactionHistory(savingsId);
+
+        final Map<String, Object> changes = account.updateHotAccount(hotAccount);
+        if (!changes.isEmpty()) {
+            this.savingAccountRepositoryWrapper.save(account);
+        }
+        return new CommandProcessingResultBuilder().withEntityId(savingsId).withOfficeId(account.officeId())
+                .withClientId(account.clientId()).withGroupId(account.groupId()).withSavingsId(savingsId).with(changes).build();
+    }
+
     @Override
     public CommandProcessingResult blockDebits(final Long savingsId) {
         this.context.authenticatedUser();
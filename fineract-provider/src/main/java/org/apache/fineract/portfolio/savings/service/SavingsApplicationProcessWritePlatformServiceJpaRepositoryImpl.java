@@ -214,7 +214,6 @@ public class SavingsApplicationProcessWritePlatformServiceJpaRepositoryImpl impl
             final AppUser submittedBy = this.context.authenticatedUser();
 
             final SavingsAccount account = this.savingAccountAssembler.assembleFrom(command, submittedBy);
-            this.savingAccountRepository.save(account);
             String accountNumber = "";
             GroupSavingsIndividualMonitoring gsimAccount = null;
             BigDecimal applicationId = BigDecimal.ZERO;
@@ -250,7 +249,6 @@ public class SavingsApplicationProcessWritePlatformServiceJpaRepositoryImpl impl
                                     Long.valueOf(1), true, SavingsAccountStatusType.SUBMITTED_AND_PENDING_APPROVAL.getValue(),
                                     applicationId);
                             account.setGsim(gsimAccount);
-                            this.savingAccountRepository.save(account);
 
                         } else {
                             // Parent-empty table
@@ -259,7 +257,6 @@ public class SavingsApplicationProcessWritePlatformServiceJpaRepositoryImpl impl
                             gsimWritePlatformService.addGSIMAccountInfo(accountNumber, group, BigDecimal.ZERO, Long.valueOf(1), true,
                                     SavingsAccountStatusType.SUBMITTED_AND_PENDING_APPROVAL.getValue(), applicationId);
                             account.setGsim(gsimRepository.findOneByAccountNumber(accountNumber));
-                            this.savingAccountRepository.save(account);
                         }
                     } else {
                         if (gsimRepository.count() != 0) {
@@ -269,7 +266,6 @@ public class SavingsApplicationProcessWritePlatformServiceJpaRepositoryImpl impl
                             account.updateAccountNo(accountNumber);
                             this.gsimWritePlatformService.incrementChildAccountCount(gsimAccount);
                             account.setGsim(gsimAccount);
-                            this.savingAccountRepository.save(account);
 
                         } else {
                             // Child-empty table
@@ -280,7 +276,6 @@ public class SavingsApplicationProcessWritePlatformServiceJpaRepositoryImpl impl
                             gsimWritePlatformService.addGSIMAccountInfo(accountNumber, group, BigDecimal.ZERO, Long.valueOf(1), true,
                                     SavingsAccountStatusType.SUBMITTED_AND_PENDING_APPROVAL.getValue(), applicationId);
                             account.setGsim(gsimAccount);
-                            this.savingAccountRepository.save(account);
                         }
                         // reset isAcceptingChild when processing last
                         // application of GSIM
@@ -295,6 +290,7 @@ public class SavingsApplicationProcessWritePlatformServiceJpaRepositoryImpl impl
                 }
             }
             // end of gsim
+            this.savingAccountRepository.save(account);
             final Long savingsId = account.getId();
             if (command.parameterExists(SavingsApiConstants.datatables)) {
                 this.entityDatatableChecksWritePlatformService.saveDatatables(StatusEnum.CREATE.getCode().longValue(),
@@ -329,8 +325,6 @@ public class SavingsApplicationProcessWritePlatformServiceJpaRepositoryImpl impl
         if (account.isAccountNumberRequiresAutoGeneration()) {
             final AccountNumberFormat accountNumberFormat = this.accountNumberFormatRepository.findByAccountType(EntityAccountType.SAVINGS);
             account.updateAccountNo(this.accountNumberGenerator.generate(account, accountNumberFormat));
-
-            this.savingAccountRepository.save(account);
         }
     }
 
@@ -738,6 +732,7 @@ public class SavingsApplicationProcessWritePlatformServiceJpaRepositoryImpl impl
                 Date.from(savingsAccountDataDTO.getApplicationDate().atStartOfDay(DateUtils.getDateTimeZoneOfTenant()).toInstant()),
                 savingsAccountDataDTO.getAppliedBy());
         Money amountForDeposit = account.activateWithBalance();
+        generateAccountNumber(account);
 
         final Set<Long> existingTransactionIds = new HashSet<>();
         final Set<Long> existingReversedTransactionIds = new HashSet<>();
@@ -749,7 +744,6 @@ public class SavingsApplicationProcessWritePlatformServiceJpaRepositoryImpl impl
                 existingReversedTransactionIds);
         this.savingAccountRepository.save(account);
 
-        generateAccountNumber(account);
         // post journal entries for activation charges
         this.savingsAccountDomainService.postJournalEntries(account, existingTransactionIds, existingReversedTransactionIds);
 
@@ -37,6 +37,7 @@ import org.apache.fineract.portfolio.savings.SavingsWithdrawalFeesType;
 import org.apache.fineract.portfolio.savings.data.SavingsAccountStatusEnumData;
 import org.apache.fineract.portfolio.savings.data.SavingsAccountSubStatusEnumData;
 import org.apache.fineract.portfolio.savings.data.SavingsAccountTransactionEnumData;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccountPendingCreditStatus;
 import org.apache.fineract.portfolio.savings.domain.SavingsAccountStatusType;
 import org.apache.fineract.portfolio.savings.domain.SavingsAccountSubStatusEnum;
 
@@ -855,4 +856,30 @@ public final class SavingsEnumerations {
         }
         return optionData;
     }
+
+    public static EnumOptionData pendingCreditStatus(final int id) {
+        return pendingCreditStatus(SavingsAccountPendingCreditStatus.fromInt(id));
+    }
+
+    public static EnumOptionData pendingCreditStatus(final SavingsAccountPendingCreditStatus status) {
+        EnumOptionData optionData = new EnumOptionData(SavingsAccountPendingCreditStatus.INVALID.getValue().longValue(),
+                SavingsAccountPendingCreditStatus.INVALID.getCode(), "Invalid");
+        switch (status) {
+            case INVALID:
+            break;
+            case PENDING:
+                optionData = new EnumOptionData(SavingsAccountPendingCreditStatus.PENDING.getValue().longValue(),
+                        SavingsAccountPendingCreditStatus.PENDING.getCode(), "Pending");
+            break;
+            case APPLIED:
+                optionData = new EnumOptionData(SavingsAccountPendingCreditStatus.APPLIED.getValue().longValue(),
+                        SavingsAccountPendingCreditStatus.APPLIED.getCode(), "Applied");
+            break;
+            case FAILED:
+                optionData = new EnumOptionData(SavingsAccountPendingCreditStatus.FAILED.getValue().longValue(),
+                        SavingsAccountPendingCreditStatus.FAILED.getCode(), "Failed");
+            break;
+        }
+        return optionData;
+    }
 }
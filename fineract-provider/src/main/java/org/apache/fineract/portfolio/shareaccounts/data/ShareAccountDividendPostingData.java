@@ -0,0 +1,58 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.shareaccounts.data;
+
+import java.math.BigDecimal;
+
+public final class ShareAccountDividendPostingData {
+
+    private final Long id;
+    private final Long dividendPayOutId;
+    private final Long savingsAccountId;
+    private final BigDecimal amount;
+
+    public static ShareAccountDividendPostingData instance(final Long id, final Long dividendPayOutId, final Long savingsAccountId,
+            final BigDecimal amount) {
+        return new ShareAccountDividendPostingData(id, dividendPayOutId, savingsAccountId, amount);
+    }
+
+    private ShareAccountDividendPostingData(final Long id, final Long dividendPayOutId, final Long savingsAccountId,
+            final BigDecimal amount) {
+        this.id = id;
+        this.dividendPayOutId = dividendPayOutId;
+        this.savingsAccountId = savingsAccountId;
+        this.amount = amount;
+    }
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public Long getDividendPayOutId() {
+        return this.dividendPayOutId;
+    }
+
+    public Long getSavingsAccountId() {
+        return this.savingsAccountId;
+    }
+
+    public BigDecimal getAmount() {
+        return this.amount;
+    }
+}
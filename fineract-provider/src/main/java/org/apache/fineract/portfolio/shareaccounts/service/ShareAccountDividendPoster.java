@@ -0,0 +1,89 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.shareaccounts.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import org.apache.fineract.infrastructure.core.data.ApiParameterError;
+import org.apache.fineract.infrastructure.core.exception.PlatformApiDataValidationException;
+import org.apache.fineract.infrastructure.core.service.LockConflictRetryUtil;
+import org.apache.fineract.infrastructure.jobs.exception.JobExecutionException;
+import org.apache.fineract.portfolio.shareaccounts.data.ShareAccountDividendPostingData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Component;
+
+/**
+ * Posts one chunk of account dividends to the linked savings accounts on a worker thread of the dividend posting job.
+ * The chunk is posted in a single transaction; if that fails, the chunk is replayed dividend by dividend so that one
+ * failing savings account does not hold back the others.
+ */
+@Component
+@Scope("prototype")
+public class ShareAccountDividendPoster implements Callable<Void> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ShareAccountDividendPoster.class);
+
+    private Collection<ShareAccountDividendPostingData> dividends;
+    private ShareAccountSchedularService shareAccountSchedularService;
+
+    public void setDividends(final Collection<ShareAccountDividendPostingData> dividends) {
+        this.dividends = dividends;
+    }
+
+    public void setShareAccountSchedularService(final ShareAccountSchedularService shareAccountSchedularService) {
+        this.shareAccountSchedularService = shareAccountSchedularService;
+    }
+
+    @Override
+    public Void call() throws JobExecutionException {
+        try {
+            LockConflictRetryUtil.retryOnLockConflict("Post Dividends",
+                    () -> this.shareAccountSchedularService.postDividends(this.dividends));
+            return null;
+        } catch (final Exception e) {
+            LOG.warn("Post Dividends to savings failed for a chunk of {} dividends, retrying them one by one", this.dividends.size(), e);
+        }
+
+        final List<Throwable> errors = new ArrayList<>();
+        for (final ShareAccountDividendPostingData dividend : this.dividends) {
+            try {
+                LockConflictRetryUtil.retryOnLockConflict("Post Dividends", () -> this.shareAccountSchedularService.postDividend(dividend));
+            } catch (final PlatformApiDataValidationException e) {
+                final List<ApiParameterError> apiErrors = e.getErrors();
+                for (final ApiParameterError error : apiErrors) {
+                    LOG.error("Post Dividends to savings failed for Divident detail Id: {} and savings Id: {} with message: {}",
+                            dividend.getId(), dividend.getSavingsAccountId(), error.getDeveloperMessage());
+                }
+                errors.add(e);
+            } catch (final Exception e) {
+                LOG.error("Post Dividends to savings failed for Divident detail Id: {} and savings Id: {}", dividend.getId(),
+                        dividend.getSavingsAccountId(), e);
+                errors.add(e);
+            }
+        }
+        if (!errors.isEmpty()) {
+            throw new JobExecutionException(errors);
+        }
+        return null;
+    }
+}
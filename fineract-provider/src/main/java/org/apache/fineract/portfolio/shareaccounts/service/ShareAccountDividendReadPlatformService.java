@@ -19,14 +19,18 @@
 package org.apache.fineract.portfolio.shareaccounts.service;
 
 import java.util.List;
-import java.util.Map;
 import org.apache.fineract.infrastructure.core.service.Page;
 import org.apache.fineract.infrastructure.core.service.SearchParameters;
 import org.apache.fineract.portfolio.shareaccounts.data.ShareAccountDividendData;
+import org.apache.fineract.portfolio.shareaccounts.data.ShareAccountDividendPostingData;
 
 public interface ShareAccountDividendReadPlatformService {
 
-    List<Map<String, Object>> retriveDividendDetailsForPostDividents();
+    /**
+     * Initiated account dividends of approved payouts, in id order, starting after {@code afterId} and returning at most
+     * {@code limit} rows.
+     */
+    List<ShareAccountDividendPostingData> retrieveDividendDetailsForPosting(Long afterId, Integer limit);
 
     Page<ShareAccountDividendData> retriveAll(Long payoutDetailId, SearchParameters searchParameters);
 
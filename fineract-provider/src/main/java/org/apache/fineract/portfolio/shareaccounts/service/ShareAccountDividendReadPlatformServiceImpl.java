@@ -23,7 +23,6 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import org.apache.fineract.infrastructure.core.data.EnumOptionData;
 import org.apache.fineract.infrastructure.core.domain.JdbcSupport;
 import org.apache.fineract.infrastructure.core.service.Page;
@@ -33,6 +32,7 @@ import org.apache.fineract.infrastructure.core.service.SearchParameters;
 import org.apache.fineract.infrastructure.security.utils.ColumnValidator;
 import org.apache.fineract.portfolio.shareaccounts.data.ShareAccountData;
 import org.apache.fineract.portfolio.shareaccounts.data.ShareAccountDividendData;
+import org.apache.fineract.portfolio.shareaccounts.data.ShareAccountDividendPostingData;
 import org.apache.fineract.portfolio.shareaccounts.domain.ShareAccountDividendStatusType;
 import org.apache.fineract.portfolio.shareproducts.domain.ShareProductDividendStatusType;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -46,6 +46,7 @@ public class ShareAccountDividendReadPlatformServiceImpl implements ShareAccount
     private final JdbcTemplate jdbcTemplate;
     private final ColumnValidator columnValidator;
     private final PaginationHelper<ShareAccountDividendData> paginationHelper = new PaginationHelper<>();
+    private final ShareAccountDividendPostingMapper shareAccountDividendPostingMapper = new ShareAccountDividendPostingMapper();
 
     @Autowired
     public ShareAccountDividendReadPlatformServiceImpl(final RoutingDataSource dataSource, final ColumnValidator columnValidator) {
@@ -54,17 +55,15 @@ public class ShareAccountDividendReadPlatformServiceImpl implements ShareAccount
     }
 
     @Override
-    public List<Map<String, Object>> retriveDividendDetailsForPostDividents() {
-        StringBuilder sb = new StringBuilder();
+    public List<ShareAccountDividendPostingData> retrieveDividendDetailsForPosting(final Long afterId, final Integer limit) {
+        final StringBuilder sb = new StringBuilder();
         sb.append("select ");
-        sb.append(" sadd.id as id, ");
-        sb.append(" sa.savings_account_id as savingsAccountId ");
-        sb.append(" from m_share_account_dividend_details sadd");
-        sb.append(" inner join m_share_product_dividend_pay_out spdpo on spdpo.id = sadd.dividend_pay_out_id ");
-        sb.append(" inner join m_share_account sa on sa.id = sadd.account_id ");
-        sb.append(" where spdpo.status = ? and sadd.status = ?");
-        return this.jdbcTemplate.queryForList(sb.toString(), ShareProductDividendStatusType.APPROVED.getValue(),
-                ShareAccountDividendStatusType.INITIATED.getValue());
+        sb.append(this.shareAccountDividendPostingMapper.schema());
+        sb.append(" where spdpo.status = ? and sadd.status = ? and sadd.id > ?");
+        sb.append(" order by sadd.id limit ?");
+        return this.jdbcTemplate.query(sb.toString(), this.shareAccountDividendPostingMapper,
+                new Object[] { ShareProductDividendStatusType.APPROVED.getValue(), ShareAccountDividendStatusType.INITIATED.getValue(),
+                        afterId, limit });
     }
 
     @Override
@@ -142,4 +141,33 @@ public class ShareAccountDividendReadPlatformServiceImpl implements ShareAccount
 
     }
 
+    private static final class ShareAccountDividendPostingMapper implements RowMapper<ShareAccountDividendPostingData> {
+
+        private final String sql;
+
+        ShareAccountDividendPostingMapper() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(" sadd.id as id, sadd.dividend_pay_out_id as dividendPayOutId,");
+            sb.append(" sa.savings_account_id as savingsAccountId, sadd.amount as amount ");
+            sb.append(" from m_share_account_dividend_details sadd");
+            sb.append(" inner join m_share_product_dividend_pay_out spdpo on spdpo.id = sadd.dividend_pay_out_id ");
+            sb.append(" inner join m_share_account sa on sa.id = sadd.account_id ");
+            sql = sb.toString();
+        }
+
+        public String schema() {
+            return this.sql;
+        }
+
+        @Override
+        public ShareAccountDividendPostingData mapRow(ResultSet rs, @SuppressWarnings("unused") int rowNum) throws SQLException {
+            final Long id = rs.getLong("id");
+            final Long dividendPayOutId = rs.getLong("dividendPayOutId");
+            final Long savingsAccountId = JdbcSupport.getLong(rs, "savingsAccountId");
+            final BigDecimal amount = rs.getBigDecimal("amount");
+            return ShareAccountDividendPostingData.instance(id, dividendPayOutId, savingsAccountId, amount);
+        }
+
+    }
+
 }
@@ -18,8 +18,17 @@
  */
 package org.apache.fineract.portfolio.shareaccounts.service;
 
+import java.util.Collection;
+import org.apache.fineract.portfolio.shareaccounts.data.ShareAccountDividendPostingData;
+
 public interface ShareAccountSchedularService {
 
-    void postDividend(Long dividendDetailId, Long savingsId);
+    void postDividend(ShareAccountDividendPostingData dividend);
+
+    /**
+     * Posts a chunk of account dividends to the linked savings accounts in a single transaction, writing the journal
+     * entries of the whole chunk with one batch.
+     */
+    void postDividends(Collection<ShareAccountDividendPostingData> dividends);
 
 }
@@ -18,15 +18,27 @@
  */
 package org.apache.fineract.portfolio.shareaccounts.service;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.fineract.accounting.journalentry.service.AccountingProcessorHelper;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
 import org.apache.fineract.portfolio.savings.domain.SavingsAccount;
 import org.apache.fineract.portfolio.savings.domain.SavingsAccountAssembler;
 import org.apache.fineract.portfolio.savings.domain.SavingsAccountDomainService;
 import org.apache.fineract.portfolio.savings.domain.SavingsAccountTransaction;
+import org.apache.fineract.portfolio.shareaccounts.data.ShareAccountDividendPostingData;
 import org.apache.fineract.portfolio.shareaccounts.domain.ShareAccountDividendDetails;
 import org.apache.fineract.portfolio.shareaccounts.domain.ShareAccountDividendRepository;
 import org.apache.fineract.portfolio.shareaccounts.domain.ShareAccountDividendStatusType;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -36,25 +48,66 @@ public class ShareAccountSchedularServiceImpl implements ShareAccountSchedularSe
     private final ShareAccountDividendRepository shareAccountDividendRepository;
     private final SavingsAccountDomainService savingsAccountDomainService;
     private final SavingsAccountAssembler savingsAccountAssembler;
+    private final AccountingProcessorHelper accountingProcessorHelper;
+    private final JdbcTemplate jdbcTemplate;
 
     @Autowired
     public ShareAccountSchedularServiceImpl(final ShareAccountDividendRepository shareAccountDividendRepository,
-            final SavingsAccountDomainService savingsAccountDomainService, final SavingsAccountAssembler savingsAccountAssembler) {
+            final SavingsAccountDomainService savingsAccountDomainService, final SavingsAccountAssembler savingsAccountAssembler,
+            final AccountingProcessorHelper accountingProcessorHelper, final RoutingDataSource dataSource) {
         this.shareAccountDividendRepository = shareAccountDividendRepository;
         this.savingsAccountDomainService = savingsAccountDomainService;
         this.savingsAccountAssembler = savingsAccountAssembler;
+        this.accountingProcessorHelper = accountingProcessorHelper;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
     }
 
     @Override
     @Transactional
-    public void postDividend(final Long dividendDetailId, final Long savingsId) {
-
-        ShareAccountDividendDetails shareAccountDividendDetails = this.shareAccountDividendRepository.findById(dividendDetailId).get();
-        final SavingsAccount savingsAccount = this.savingsAccountAssembler.assembleFrom(savingsId);
-        SavingsAccountTransaction savingsAccountTransaction = this.savingsAccountDomainService.handleDividendPayout(savingsAccount,
-                DateUtils.getLocalDateOfTenant(), shareAccountDividendDetails.getAmount());
-        shareAccountDividendDetails.update(ShareAccountDividendStatusType.POSTED.getValue(), savingsAccountTransaction.getId());
-        this.shareAccountDividendRepository.save(shareAccountDividendDetails);
+    public void postDividend(final ShareAccountDividendPostingData dividend) {
+        post(Collections.singletonList(dividend));
+    }
+
+    @Override
+    @Transactional
+    public void postDividends(final Collection<ShareAccountDividendPostingData> dividends) {
+        post(dividends);
+    }
+
+    private void post(final Collection<ShareAccountDividendPostingData> dividends) {
+        final List<Long> ids = new ArrayList<>(dividends.size());
+        for (final ShareAccountDividendPostingData dividend : dividends) {
+            ids.add(dividend.getId());
+        }
+        final Map<Long, ShareAccountDividendDetails> detailsById = new HashMap<>();
+        for (final ShareAccountDividendDetails details : this.shareAccountDividendRepository.findAllById(ids)) {
+            detailsById.put(details.getId(), details);
+        }
+
+        final LocalDate transactionDate = DateUtils.getLocalDateOfTenant();
+        final Map<Long, Integer> postedCountByPayOut = new HashMap<>();
+        final Map<Long, BigDecimal> postedAmountByPayOut = new HashMap<>();
+        // the deposits take the savings append path as the assembled accounts come without their transaction history,
+        // and their journal entries are collected and written together at the end of the unit of work
+        this.accountingProcessorHelper.executeInUnitOfWork(() -> {
+            for (final ShareAccountDividendPostingData dividend : dividends) {
+                final ShareAccountDividendDetails details = detailsById.get(dividend.getId());
+                final SavingsAccount savingsAccount = this.savingsAccountAssembler.assembleFrom(dividend.getSavingsAccountId());
+                final SavingsAccountTransaction savingsAccountTransaction = this.savingsAccountDomainService
+                        .handleDividendPayout(savingsAccount, transactionDate, details.getAmount());
+                details.update(ShareAccountDividendStatusType.POSTED.getValue(), savingsAccountTransaction.getId());
+                postedCountByPayOut.merge(dividend.getDividendPayOutId(), 1, Integer::sum);
+                postedAmountByPayOut.merge(dividend.getDividendPayOutId(), details.getAmount(), BigDecimal::add);
+            }
+        });
+        this.shareAccountDividendRepository.saveAll(detailsById.values());
+
+        final List<Object[]> progress = new ArrayList<>(postedCountByPayOut.size());
+        for (final Map.Entry<Long, Integer> entry : postedCountByPayOut.entrySet()) {
+            progress.add(new Object[] { entry.getValue(), postedAmountByPayOut.get(entry.getKey()), entry.getKey() });
+        }
+        this.jdbcTemplate.batchUpdate("update m_share_product_dividend_pay_out set posted_account_count = posted_account_count + ?, "
+                + "posted_amount = posted_amount + ? where id = ?", progress);
     }
 
 }
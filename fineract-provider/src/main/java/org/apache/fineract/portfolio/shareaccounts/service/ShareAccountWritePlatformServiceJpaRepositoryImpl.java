@@ -101,8 +101,8 @@ public class ShareAccountWritePlatformServiceJpaRepositoryImpl implements ShareA
     public CommandProcessingResult createShareAccount(JsonCommand jsonCommand) {
         try {
             ShareAccount account = this.accountDataSerializer.validateAndCreate(jsonCommand);
-            this.shareAccountRepository.save(account);
             generateAccountNumber(account);
+            this.shareAccountRepository.save(account);
             journalEntryWritePlatformService.createJournalEntriesForShares(
                     populateJournalEntries(account, account.getPendingForApprovalSharePurchaseTransactions()));
 
@@ -127,7 +127,6 @@ public class ShareAccountWritePlatformServiceJpaRepositoryImpl implements ShareA
         if (account.isAccountNumberRequiresAutoGeneration()) {
             final AccountNumberFormat accountNumberFormat = this.accountNumberFormatRepository.findByAccountType(EntityAccountType.SHARES);
             account.updateAccountNumber(this.accountNumberGenerator.generate(account, accountNumberFormat));
-            this.shareAccountRepository.save(account);
         }
     }
 
@@ -40,10 +40,16 @@ public class ShareProductDividendPayOutData {
     private final LocalDate dividendPeriodEndDate;
     @SuppressWarnings("unused")
     private final Collection<ShareAccountDividendData> accountDividendsData;
+    @SuppressWarnings("unused")
+    private final Integer accountCount;
+    @SuppressWarnings("unused")
+    private final Integer postedAccountCount;
+    @SuppressWarnings("unused")
+    private final BigDecimal postedAmount;
 
     public ShareProductDividendPayOutData(final Long id, final ShareProductData productData, final BigDecimal amount,
             LocalDate dividendStartDate, final LocalDate dividendEndDate, final Collection<ShareAccountDividendData> accountDividendsData,
-            final EnumOptionData status) {
+            final EnumOptionData status, final Integer accountCount, final Integer postedAccountCount, final BigDecimal postedAmount) {
         this.id = id;
         this.productData = productData;
         this.amount = amount;
@@ -51,5 +57,8 @@ public class ShareProductDividendPayOutData {
         this.accountDividendsData = accountDividendsData;
         this.dividendPeriodStartDate = dividendStartDate;
         this.status = status;
+        this.accountCount = accountCount;
+        this.postedAccountCount = postedAccountCount;
+        this.postedAmount = postedAmount;
     }
 }
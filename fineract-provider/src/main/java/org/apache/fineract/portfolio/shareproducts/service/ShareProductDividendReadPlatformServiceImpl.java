@@ -100,6 +100,9 @@ public class ShareProductDividendReadPlatformServiceImpl implements ShareProduct
             sb.append(" pod.id as id, pod.amount as amount,");
             sb.append(" pod.status as status, pod.dividend_period_start_date as startDate,");
             sb.append(" pod.dividend_period_end_date as endDate,");
+            sb.append(" pod.posted_account_count as postedAccountCount, pod.posted_amount as postedAmount,");
+            sb.append(" (select count(*) from m_share_account_dividend_details sadd");
+            sb.append(" where sadd.dividend_pay_out_id = pod.id) as accountCount,");
             sb.append(" sp.id as productId,sp.name as productName ");
             sb.append(" from m_share_product_dividend_pay_out pod");
             sb.append(" inner join m_share_product sp on sp.id = pod.product_id ");
@@ -118,13 +121,17 @@ public class ShareProductDividendReadPlatformServiceImpl implements ShareProduct
             final EnumOptionData statusEnum = SharesEnumerations.shareProductDividendStatusEnum(status);
             final LocalDate startDate = JdbcSupport.getLocalDate(rs, "startDate");
             final LocalDate endDate = JdbcSupport.getLocalDate(rs, "endDate");
+            final Integer accountCount = JdbcSupport.getInteger(rs, "accountCount");
+            final Integer postedAccountCount = JdbcSupport.getInteger(rs, "postedAccountCount");
+            final BigDecimal postedAmount = rs.getBigDecimal("postedAmount");
 
             final Long productId = rs.getLong("productId");
             final String productName = rs.getString("productName");
 
             final ShareProductData productData = ShareProductData.lookup(productId, productName);
             final Collection<ShareAccountDividendData> accountDividendsData = null;
-            return new ShareProductDividendPayOutData(id, productData, amount, startDate, endDate, accountDividendsData, statusEnum);
+            return new ShareProductDividendPayOutData(id, productData, amount, startDate, endDate, accountDividendsData, statusEnum,
+                    accountCount, postedAccountCount, postedAmount);
         }
 
     }
@@ -32,9 +32,9 @@ public interface ScheduledJobRunnerService {
 
     void updateNPA();
 
-    void updateMaturityDetailsOfDepositAccounts();
+    void updateMaturityDetailsOfDepositAccounts() throws JobExecutionException;
 
-    void generateRDSchedule();
+    void generateRDSchedule() throws JobExecutionException;
 
     void postDividends() throws JobExecutionException;
 
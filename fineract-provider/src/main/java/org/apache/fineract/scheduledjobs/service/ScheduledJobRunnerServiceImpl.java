@@ -19,40 +19,51 @@
 package org.apache.fineract.scheduledjobs.service;
 
 import java.math.BigDecimal;
-import java.math.BigInteger;
 import java.text.SimpleDateFormat;
 import java.time.LocalDate;
 import java.time.ZonedDateTime;
-import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.apache.fineract.accounting.glaccount.domain.TrialBalance;
 import org.apache.fineract.accounting.glaccount.domain.TrialBalanceRepositoryWrapper;
+import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
 import org.apache.fineract.infrastructure.core.data.ApiParameterError;
 import org.apache.fineract.infrastructure.core.exception.PlatformApiDataValidationException;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
 import org.apache.fineract.infrastructure.core.service.RoutingDataSourceServiceFactory;
+import org.apache.fineract.infrastructure.core.service.TenantAwareTasks;
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.apache.fineract.infrastructure.jobs.annotation.CronTarget;
 import org.apache.fineract.infrastructure.jobs.exception.JobExecutionException;
 import org.apache.fineract.infrastructure.jobs.service.JobName;
-import org.apache.fineract.portfolio.savings.DepositAccountType;
-import org.apache.fineract.portfolio.savings.DepositAccountUtils;
-import org.apache.fineract.portfolio.savings.data.DepositAccountData;
+import org.apache.fineract.portfolio.loanaccount.domain.DirtyLoanQueue;
+import org.apache.fineract.portfolio.loanaccount.service.LoanDerivedFieldsWritePlatformService;
+import org.apache.fineract.portfolio.savings.data.DepositAccountMaturityData;
 import org.apache.fineract.portfolio.savings.data.SavingsAccountAnnualFeeData;
+import org.apache.fineract.portfolio.savings.service.DepositAccountMaturityPoster;
 import org.apache.fineract.portfolio.savings.service.DepositAccountReadPlatformService;
 import org.apache.fineract.portfolio.savings.service.DepositAccountWritePlatformService;
+import org.apache.fineract.portfolio.savings.service.RecurringDepositScheduleWritePlatformService;
 import org.apache.fineract.portfolio.savings.service.SavingsAccountChargeReadPlatformService;
 import org.apache.fineract.portfolio.savings.service.SavingsAccountWritePlatformService;
+import org.apache.fineract.portfolio.shareaccounts.data.ShareAccountDividendPostingData;
+import org.apache.fineract.portfolio.shareaccounts.service.ShareAccountDividendPoster;
 import org.apache.fineract.portfolio.shareaccounts.service.ShareAccountDividendReadPlatformService;
 import org.apache.fineract.portfolio.shareaccounts.service.ShareAccountSchedularService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.env.Environment;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -63,9 +74,6 @@ public class ScheduledJobRunnerServiceImpl implements ScheduledJobRunnerService
 
     private static final Logger LOG = LoggerFactory.getLogger(ScheduledJobRunnerServiceImpl.class);
 
-    private final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-    private final DateTimeFormatter formatterWithTime = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-
     private final RoutingDataSourceServiceFactory dataSourceServiceFactory;
     private final SavingsAccountWritePlatformService savingsAccountWritePlatformService;
     private final SavingsAccountChargeReadPlatformService savingsAccountChargeReadPlatformService;
@@ -74,6 +82,15 @@ public class ScheduledJobRunnerServiceImpl implements ScheduledJobRunnerService
     private final ShareAccountDividendReadPlatformService shareAccountDividendReadPlatformService;
     private final ShareAccountSchedularService shareAccountSchedularService;
     private final TrialBalanceRepositoryWrapper trialBalanceRepositoryWrapper;
+    private final DirtyLoanQueue dirtyLoanQueue;
+    private final LoanDerivedFieldsWritePlatformService loanDerivedFieldsWritePlatformService;
+    private final RecurringDepositScheduleWritePlatformService recurringDepositScheduleWritePlatformService;
+    private final ConfigurationDomainService configurationDomainService;
+    private final ApplicationContext applicationContext;
+    private final int chunkSize;
+    private final long chunkPauseMillis;
+    private final int maturityChunkSize;
+    private final int dividendChunkSize;
 
     @Autowired
     public ScheduledJobRunnerServiceImpl(final RoutingDataSourceServiceFactory dataSourceServiceFactory,
@@ -83,7 +100,11 @@ public class ScheduledJobRunnerServiceImpl implements ScheduledJobRunnerService
             final DepositAccountWritePlatformService depositAccountWritePlatformService,
             final ShareAccountDividendReadPlatformService shareAccountDividendReadPlatformService,
             final ShareAccountSchedularService shareAccountSchedularService,
-            final TrialBalanceRepositoryWrapper trialBalanceRepositoryWrapper) {
+            final TrialBalanceRepositoryWrapper trialBalanceRepositoryWrapper, final DirtyLoanQueue dirtyLoanQueue,
+            final LoanDerivedFieldsWritePlatformService loanDerivedFieldsWritePlatformService,
+            final RecurringDepositScheduleWritePlatformService recurringDepositScheduleWritePlatformService,
+            final ConfigurationDomainService configurationDomainService, final ApplicationContext applicationContext,
+            final Environment environment) {
         this.dataSourceServiceFactory = dataSourceServiceFactory;
         this.savingsAccountWritePlatformService = savingsAccountWritePlatformService;
         this.savingsAccountChargeReadPlatformService = savingsAccountChargeReadPlatformService;
@@ -92,124 +113,82 @@ public class ScheduledJobRunnerServiceImpl implements ScheduledJobRunnerService
         this.shareAccountDividendReadPlatformService = shareAccountDividendReadPlatformService;
         this.shareAccountSchedularService = shareAccountSchedularService;
         this.trialBalanceRepositoryWrapper = trialBalanceRepositoryWrapper;
+        this.dirtyLoanQueue = dirtyLoanQueue;
+        this.loanDerivedFieldsWritePlatformService = loanDerivedFieldsWritePlatformService;
+        this.recurringDepositScheduleWritePlatformService = recurringDepositScheduleWritePlatformService;
+        this.configurationDomainService = configurationDomainService;
+        this.applicationContext = applicationContext;
+        this.chunkSize = environment.getProperty("FINERACT_LOAN_DERIVED_FIELDS_CHUNK_SIZE", Integer.class, 500);
+        this.chunkPauseMillis = environment.getProperty("FINERACT_LOAN_DERIVED_FIELDS_CHUNK_PAUSE_MILLIS", Long.class, 50L);
+        this.maturityChunkSize = environment.getProperty("FINERACT_DEPOSIT_MATURITY_CHUNK_SIZE", Integer.class, 50);
+        this.dividendChunkSize = environment.getProperty("FINERACT_SHARE_DIVIDEND_POSTING_CHUNK_SIZE", Integer.class, 200);
     }
 
-    @Transactional
     @Override
     @CronTarget(jobName = JobName.UPDATE_LOAN_SUMMARY)
     public void updateLoanSummaryDetails() {
-
-        final JdbcTemplate jdbcTemplate = new JdbcTemplate(this.dataSourceServiceFactory.determineDataSourceService().retrieveDataSource());
-
-        final StringBuilder updateSqlBuilder = new StringBuilder(900);
-        updateSqlBuilder.append("update m_loan ");
-        updateSqlBuilder.append("join (");
-        updateSqlBuilder.append("SELECT ml.id AS loanId,");
-        updateSqlBuilder.append("SUM(mr.principal_amount) as principal_disbursed_derived, ");
-        updateSqlBuilder.append("SUM(IFNULL(mr.principal_completed_derived,0)) as principal_repaid_derived, ");
-        updateSqlBuilder.append("SUM(IFNULL(mr.principal_writtenoff_derived,0)) as principal_writtenoff_derived,");
-        updateSqlBuilder.append("SUM(IFNULL(mr.interest_amount,0)) as interest_charged_derived,");
-        updateSqlBuilder.append("SUM(IFNULL(mr.interest_completed_derived,0)) as interest_repaid_derived,");
-        updateSqlBuilder.append("SUM(IFNULL(mr.interest_waived_derived,0)) as interest_waived_derived,");
-        updateSqlBuilder.append("SUM(IFNULL(mr.interest_writtenoff_derived,0)) as interest_writtenoff_derived,");
-        updateSqlBuilder.append(
-                "SUM(IFNULL(mr.fee_charges_amount,0)) + IFNULL((select SUM(lc.amount) from  m_loan_charge lc where lc.loan_id=ml.id and lc.is_active=1 and lc.charge_time_enum=1),0) as fee_charges_charged_derived,");
-        updateSqlBuilder.append(
-                "SUM(IFNULL(mr.fee_charges_completed_derived,0)) + IFNULL((select SUM(lc.amount_paid_derived) from  m_loan_charge lc where lc.loan_id=ml.id and lc.is_active=1 and lc.charge_time_enum=1),0) as fee_charges_repaid_derived,");
-        updateSqlBuilder.append("SUM(IFNULL(mr.fee_charges_waived_derived,0)) as fee_charges_waived_derived,");
-        updateSqlBuilder.append("SUM(IFNULL(mr.fee_charges_writtenoff_derived,0)) as fee_charges_writtenoff_derived,");
-        updateSqlBuilder.append("SUM(IFNULL(mr.penalty_charges_amount,0)) as penalty_charges_charged_derived,");
-        updateSqlBuilder.append("SUM(IFNULL(mr.penalty_charges_completed_derived,0)) as penalty_charges_repaid_derived,");
-        updateSqlBuilder.append("SUM(IFNULL(mr.penalty_charges_waived_derived,0)) as penalty_charges_waived_derived,");
-        updateSqlBuilder.append("SUM(IFNULL(mr.penalty_charges_writtenoff_derived,0)) as penalty_charges_writtenoff_derived ");
-        updateSqlBuilder.append(" FROM m_loan ml ");
-        updateSqlBuilder.append("INNER JOIN m_loan_repayment_schedule mr on mr.loan_id = ml.id ");
-        updateSqlBuilder.append("WHERE ml.disbursedon_date is not null ");
-        updateSqlBuilder.append("GROUP BY ml.id ");
-        updateSqlBuilder.append(") x on x.loanId = m_loan.id ");
-
-        updateSqlBuilder.append("SET m_loan.principal_disbursed_derived = x.principal_disbursed_derived,");
-        updateSqlBuilder.append("m_loan.principal_repaid_derived = x.principal_repaid_derived,");
-        updateSqlBuilder.append("m_loan.principal_writtenoff_derived = x.principal_writtenoff_derived,");
-        updateSqlBuilder.append(
-                "m_loan.principal_outstanding_derived = (x.principal_disbursed_derived - (x.principal_repaid_derived + x.principal_writtenoff_derived)),");
-        updateSqlBuilder.append("m_loan.interest_charged_derived = x.interest_charged_derived,");
-        updateSqlBuilder.append("m_loan.interest_repaid_derived = x.interest_repaid_derived,");
-        updateSqlBuilder.append("m_loan.interest_waived_derived = x.interest_waived_derived,");
-        updateSqlBuilder.append("m_loan.interest_writtenoff_derived = x.interest_writtenoff_derived,");
-        updateSqlBuilder.append(
-                "m_loan.interest_outstanding_derived = (x.interest_charged_derived - (x.interest_repaid_derived + x.interest_waived_derived + x.interest_writtenoff_derived)),");
-        updateSqlBuilder.append("m_loan.fee_charges_charged_derived = x.fee_charges_charged_derived,");
-        updateSqlBuilder.append("m_loan.fee_charges_repaid_derived = x.fee_charges_repaid_derived,");
-        updateSqlBuilder.append("m_loan.fee_charges_waived_derived = x.fee_charges_waived_derived,");
-        updateSqlBuilder.append("m_loan.fee_charges_writtenoff_derived = x.fee_charges_writtenoff_derived,");
-        updateSqlBuilder.append(
-                "m_loan.fee_charges_outstanding_derived = (x.fee_charges_charged_derived - (x.fee_charges_repaid_derived + x.fee_charges_waived_derived + x.fee_charges_writtenoff_derived)),");
-        updateSqlBuilder.append("m_loan.penalty_charges_charged_derived = x.penalty_charges_charged_derived,");
-        updateSqlBuilder.append("m_loan.penalty_charges_repaid_derived = x.penalty_charges_repaid_derived,");
-        updateSqlBuilder.append("m_loan.penalty_charges_waived_derived = x.penalty_charges_waived_derived,");
-        updateSqlBuilder.append("m_loan.penalty_charges_writtenoff_derived = x.penalty_charges_writtenoff_derived,");
-        updateSqlBuilder.append(
-                "m_loan.penalty_charges_outstanding_derived = (x.penalty_charges_charged_derived - (x.penalty_charges_repaid_derived + x.penalty_charges_waived_derived + x.penalty_charges_writtenoff_derived)),");
-        updateSqlBuilder.append(
-                "m_loan.total_expected_repayment_derived = (x.principal_disbursed_derived + x.interest_charged_derived + x.fee_charges_charged_derived + x.penalty_charges_charged_derived),");
-        updateSqlBuilder.append(
-                "m_loan.total_repayment_derived = (x.principal_repaid_derived + x.interest_repaid_derived + x.fee_charges_repaid_derived + x.penalty_charges_repaid_derived),");
-        updateSqlBuilder.append(
-                "m_loan.total_expected_costofloan_derived = (x.interest_charged_derived + x.fee_charges_charged_derived + x.penalty_charges_charged_derived),");
-        updateSqlBuilder.append(
-                "m_loan.total_costofloan_derived = (x.interest_repaid_derived + x.fee_charges_repaid_derived + x.penalty_charges_repaid_derived),");
-        updateSqlBuilder.append(
-                "m_loan.total_waived_derived = (x.interest_waived_derived + x.fee_charges_waived_derived + x.penalty_charges_waived_derived),");
-        updateSqlBuilder.append(
-                "m_loan.total_writtenoff_derived = (x.interest_writtenoff_derived +  x.fee_charges_writtenoff_derived + x.penalty_charges_writtenoff_derived),");
-        updateSqlBuilder.append("m_loan.total_outstanding_derived=");
-        updateSqlBuilder.append(" (x.principal_disbursed_derived - (x.principal_repaid_derived + x.principal_writtenoff_derived)) + ");
-        updateSqlBuilder.append(
-                " (x.interest_charged_derived - (x.interest_repaid_derived + x.interest_waived_derived + x.interest_writtenoff_derived)) +");
-        updateSqlBuilder.append(
-                " (x.fee_charges_charged_derived - (x.fee_charges_repaid_derived + x.fee_charges_waived_derived + x.fee_charges_writtenoff_derived)) +");
-        updateSqlBuilder.append(
-                " (x.penalty_charges_charged_derived - (x.penalty_charges_repaid_derived + x.penalty_charges_waived_derived + x.penalty_charges_writtenoff_derived))");
-
-        final int result = jdbcTemplate.update(updateSqlBuilder.toString());
+        int result = 0;
+        long lastLoanId = 0;
+        Map<Long, Long> dirtyLoans = this.dirtyLoanQueue.retrieveDirtyLoans(DirtyLoanQueue.LOAN_SUMMARY, lastLoanId, this.chunkSize);
+        while (!dirtyLoans.isEmpty()) {
+            result += this.loanDerivedFieldsWritePlatformService.refreshLoanSummaries(dirtyLoans);
+            lastLoanId = lastKey(dirtyLoans);
+            pauseBetweenChunks();
+            dirtyLoans = this.dirtyLoanQueue.retrieveDirtyLoans(DirtyLoanQueue.LOAN_SUMMARY, lastLoanId, this.chunkSize);
+        }
 
         LOG.info("{}: Records affected by updateLoanSummaryDetails: {}", ThreadLocalContextUtil.getTenant().getName(), result);
     }
 
-    @Transactional
     @Override
     @CronTarget(jobName = JobName.UPDATE_LOAN_PAID_IN_ADVANCE)
     public void updateLoanPaidInAdvance() {
+        int result = 0;
+
+        // loans paid in advance drop out as their installments fall due, without being written
+        long lastLoanId = 0;
+        List<Long> loansPaidInAdvance = this.loanDerivedFieldsWritePlatformService.retrieveLoansPaidInAdvance(lastLoanId, this.chunkSize);
+        while (!loansPaidInAdvance.isEmpty()) {
+            result += this.loanDerivedFieldsWritePlatformService.refreshPaidInAdvance(loansPaidInAdvance);
+            lastLoanId = loansPaidInAdvance.get(loansPaidInAdvance.size() - 1);
+            pauseBetweenChunks();
+            loansPaidInAdvance = this.loanDerivedFieldsWritePlatformService.retrieveLoansPaidInAdvance(lastLoanId, this.chunkSize);
+        }
 
-        final JdbcTemplate jdbcTemplate = new JdbcTemplate(this.dataSourceServiceFactory.determineDataSourceService().retrieveDataSource());
-
-        jdbcTemplate.execute("truncate table m_loan_paid_in_advance");
-
-        final StringBuilder updateSqlBuilder = new StringBuilder(900);
+        // any other loan can only become paid in advance by being written
+        lastLoanId = 0;
+        Map<Long, Long> dirtyLoans = this.dirtyLoanQueue.retrieveDirtyLoans(DirtyLoanQueue.LOAN_PAID_IN_ADVANCE, lastLoanId,
+                this.chunkSize);
+        while (!dirtyLoans.isEmpty()) {
+            result += this.loanDerivedFieldsWritePlatformService.refreshPaidInAdvance(dirtyLoans);
+            lastLoanId = lastKey(dirtyLoans);
+            pauseBetweenChunks();
+            dirtyLoans = this.dirtyLoanQueue.retrieveDirtyLoans(DirtyLoanQueue.LOAN_PAID_IN_ADVANCE, lastLoanId, this.chunkSize);
+        }
 
-        updateSqlBuilder.append(
-                "INSERT INTO m_loan_paid_in_advance(loan_id, principal_in_advance_derived, interest_in_advance_derived, fee_charges_in_advance_derived, penalty_charges_in_advance_derived, total_in_advance_derived)");
-        updateSqlBuilder.append(" select ml.id as loanId,");
-        updateSqlBuilder.append(" SUM(ifnull(mr.principal_completed_derived, 0)) as principal_in_advance_derived,");
-        updateSqlBuilder.append(" SUM(ifnull(mr.interest_completed_derived, 0)) as interest_in_advance_derived,");
-        updateSqlBuilder.append(" SUM(ifnull(mr.fee_charges_completed_derived, 0)) as fee_charges_in_advance_derived,");
-        updateSqlBuilder.append(" SUM(ifnull(mr.penalty_charges_completed_derived, 0)) as penalty_charges_in_advance_derived,");
-        updateSqlBuilder.append(
-                " (SUM(ifnull(mr.principal_completed_derived, 0)) + SUM(ifnull(mr.interest_completed_derived, 0)) + SUM(ifnull(mr.fee_charges_completed_derived, 0)) + SUM(ifnull(mr.penalty_charges_completed_derived, 0))) as total_in_advance_derived");
-        updateSqlBuilder.append(" FROM m_loan ml ");
-        updateSqlBuilder.append(" INNER JOIN m_loan_repayment_schedule mr on mr.loan_id = ml.id ");
-        updateSqlBuilder.append(" WHERE ml.loan_status_id = 300 ");
-        updateSqlBuilder.append(" and mr.duedate >= CURDATE() ");
-        updateSqlBuilder.append(" GROUP BY ml.id");
-        updateSqlBuilder
-                .append(" HAVING (SUM(ifnull(mr.principal_completed_derived, 0)) + SUM(ifnull(mr.interest_completed_derived, 0)) +");
-        updateSqlBuilder
-                .append(" SUM(ifnull(mr.fee_charges_completed_derived, 0)) + SUM(ifnull(mr.penalty_charges_completed_derived, 0))) > 0.0");
+        LOG.info("{}: Records affected by updateLoanPaidInAdvance: {}", ThreadLocalContextUtil.getTenant().getName(), result);
+    }
 
-        final int result = jdbcTemplate.update(updateSqlBuilder.toString());
+    private static long lastKey(final Map<Long, Long> dirtyLoans) {
+        long lastKey = 0;
+        for (final Long loanId : dirtyLoans.keySet()) {
+            lastKey = loanId;
+        }
+        return lastKey;
+    }
 
-        LOG.info("{}: Records affected by updateLoanPaidInAdvance: {}", ThreadLocalContextUtil.getTenant().getName(), result);
+    /**
+     * Gives daytime transactions on the same loans a chance to get their locks between two chunks.
+     */
+    private void pauseBetweenChunks() {
+        if (this.chunkPauseMillis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(this.chunkPauseMillis);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
     }
 
     @Override
@@ -303,119 +282,145 @@ public class ScheduledJobRunnerServiceImpl implements ScheduledJobRunnerService
 
     @Override
     @CronTarget(jobName = JobName.UPDATE_DEPOSITS_ACCOUNT_MATURITY_DETAILS)
-    public void updateMaturityDetailsOfDepositAccounts() {
-
-        final Collection<DepositAccountData> depositAccounts = this.depositAccountReadPlatformService.retrieveForMaturityUpdate();
-
-        for (final DepositAccountData depositAccount : depositAccounts) {
-            try {
-                final DepositAccountType depositAccountType = DepositAccountType.fromInt(depositAccount.depositType().getId().intValue());
-                this.depositAccountWritePlatformService.updateMaturityDetails(depositAccount.id(), depositAccountType);
-            } catch (final PlatformApiDataValidationException e) {
-                final List<ApiParameterError> errors = e.getErrors();
-                for (final ApiParameterError error : errors) {
-                    LOG.error("Update maturity details failed for account: {} with message {}", depositAccount.accountNo(),
-                            error.getDeveloperMessage());
+    public void updateMaturityDetailsOfDepositAccounts() throws JobExecutionException {
+        final int nThreads = this.configurationDomainService.retrieveScheduledJobNumberOfThreads();
+        final int pageSize = this.maturityChunkSize * nThreads;
+
+        int result = 0;
+        final List<Throwable> errors = new ArrayList<>();
+        final ExecutorService executorService = Executors.newFixedThreadPool(nThreads);
+        try {
+            Long lastAccountId = 0L;
+            List<DepositAccountMaturityData> depositAccounts;
+            do {
+                depositAccounts = this.depositAccountReadPlatformService.retrieveForMaturityUpdate(lastAccountId, pageSize);
+                if (depositAccounts.isEmpty()) {
+                    break;
                 }
-            } catch (final Exception ex) {
-                LOG.error("Update maturity details failed for account: {}", depositAccount.accountNo(), ex);
-            }
+                lastAccountId = depositAccounts.get(depositAccounts.size() - 1).getId();
+                result += depositAccounts.size();
+
+                final List<Callable<Void>> posters = new ArrayList<>();
+                for (int fromIndex = 0; fromIndex < depositAccounts.size(); fromIndex += this.maturityChunkSize) {
+                    final DepositAccountMaturityPoster poster = (DepositAccountMaturityPoster) this.applicationContext
+                            .getBean("depositAccountMaturityPoster");
+                    poster.setAccounts(depositAccounts.subList(fromIndex,
+                            Math.min(fromIndex + this.maturityChunkSize, depositAccounts.size())));
+                    poster.setDepositAccountWritePlatformService(this.depositAccountWritePlatformService);
+                    posters.add(TenantAwareTasks.wrap(poster));
+                }
+                for (final Future<Void> response : executorService.invokeAll(posters)) {
+                    try {
+                        response.get();
+                    } catch (final ExecutionException e) {
+                        if (e.getCause() instanceof JobExecutionException) {
+                            errors.addAll(((JobExecutionException) e.getCause()).getCauses());
+                        } else {
+                            errors.add(e.getCause());
+                        }
+                    }
+                }
+            } while (depositAccounts.size() == pageSize);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            errors.add(e);
+        } finally {
+            executorService.shutdown();
         }
 
         LOG.info("{}: Records affected by updateMaturityDetailsOfDepositAccounts: {}", ThreadLocalContextUtil.getTenant().getName(),
-                depositAccounts.size());
+                result - errors.size());
+        if (!errors.isEmpty()) {
+            throw new JobExecutionException(errors);
+        }
     }
 
     @Override
     @CronTarget(jobName = JobName.GENERATE_RD_SCEHDULE)
-    public void generateRDSchedule() {
-        final JdbcTemplate jdbcTemplate = new JdbcTemplate(this.dataSourceServiceFactory.determineDataSourceService().retrieveDataSource());
-        final Collection<Map<String, Object>> scheduleDetails = this.depositAccountReadPlatformService.retriveDataForRDScheduleCreation();
-        String insertSql = "INSERT INTO `m_mandatory_savings_schedule` (`savings_account_id`, `duedate`, `installment`, `deposit_amount`, `completed_derived`, `created_date`, `lastmodified_date`) VALUES ";
-        StringBuilder sb = new StringBuilder();
-        String currentDate = formatterWithTime.format(DateUtils.getLocalDateTimeOfTenant());
-        int iterations = 0;
-        for (Map<String, Object> details : scheduleDetails) {
-            Long count = (Long) details.get("futureInstallemts");
-            if (count == null) {
-                count = 0L;
+    public void generateRDSchedule() throws JobExecutionException {
+        final int partitions = this.configurationDomainService.retrieveScheduledJobNumberOfThreads();
+        final ExecutorService executorService = Executors.newFixedThreadPool(partitions);
+        try {
+            final List<Future<Integer>> results = new ArrayList<>(partitions);
+            for (int i = 0; i < partitions; i++) {
+                final int partition = i;
+                results.add(executorService.submit(TenantAwareTasks
+                        .wrap(() -> this.recurringDepositScheduleWritePlatformService.generateFutureInstallments(partitions, partition))));
             }
-            final Long savingsId = (Long) details.get("savingsId");
-            final BigDecimal amount = (BigDecimal) details.get("amount");
-            final String recurrence = (String) details.get("recurrence");
-            Date date = (Date) details.get("dueDate");
-            LocalDate lastDepositDate = LocalDate.ofInstant(date.toInstant(), DateUtils.getDateTimeZoneOfTenant());
-            Integer installmentNumber = (Integer) details.get("installment");
-            while (count < DepositAccountUtils.GENERATE_MINIMUM_NUMBER_OF_FUTURE_INSTALMENTS) {
-                count++;
-                installmentNumber++;
-                lastDepositDate = DepositAccountUtils.calculateNextDepositDate(lastDepositDate, recurrence);
-
-                if (sb.length() > 0) {
-                    sb.append(", ");
-                }
-                sb.append("(");
-                sb.append(savingsId);
-                sb.append(",'");
-                sb.append(formatter.format(lastDepositDate));
-                sb.append("',");
-                sb.append(installmentNumber);
-                sb.append(",");
-                sb.append(amount);
-                sb.append(", b'0','");
-                sb.append(currentDate);
-                sb.append("','");
-                sb.append(currentDate);
-                sb.append("')");
-                iterations++;
-                if (iterations > 200) {
-                    jdbcTemplate.update(insertSql + sb.toString());
-                    sb = new StringBuilder();
-                }
 
+            int result = 0;
+            final List<Throwable> errors = new ArrayList<>();
+            for (int i = 0; i < results.size(); i++) {
+                try {
+                    result += results.get(i).get();
+                } catch (final ExecutionException e) {
+                    LOG.error("Generate RD schedule failed for partition {}", i, e.getCause());
+                    errors.add(e.getCause());
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    errors.add(e);
+                    break;
+                }
             }
+            LOG.info("{}: Records affected by generateRDSchedule: {}", ThreadLocalContextUtil.getTenant().getName(), result);
+            if (!errors.isEmpty()) {
+                throw new JobExecutionException(errors);
+            }
+        } finally {
+            executorService.shutdown();
         }
-
-        if (sb.length() > 0) {
-            jdbcTemplate.update(insertSql + sb.toString());
-        }
-
     }
 
     @Override
     @CronTarget(jobName = JobName.POST_DIVIDENTS_FOR_SHARES)
     public void postDividends() throws JobExecutionException {
-        List<Throwable> exceptions = new ArrayList<>();
-        List<Map<String, Object>> dividendDetails = this.shareAccountDividendReadPlatformService.retriveDividendDetailsForPostDividents();
-        for (Map<String, Object> dividendMap : dividendDetails) {
-            Long id = null;
-            Long savingsId = null;
-            if (dividendMap.get("id") instanceof BigInteger) {
-                // Drizzle is returningBigInteger
-                id = ((BigInteger) dividendMap.get("id")).longValue();
-                savingsId = ((BigInteger) dividendMap.get("savingsAccountId")).longValue();
-            } else { // MySQL connector is returning Long
-                id = (Long) dividendMap.get("id");
-                savingsId = (Long) dividendMap.get("savingsAccountId");
-            }
-            try {
-                this.shareAccountSchedularService.postDividend(id, savingsId);
-            } catch (final PlatformApiDataValidationException e) {
-                exceptions.add(e);
-                final List<ApiParameterError> errors = e.getErrors();
-                for (final ApiParameterError error : errors) {
-                    LOG.error(
-                            "Post Dividends to savings failed due to ApiParameterError for Divident detail Id: {} and savings Id: {} with message: {}",
-                            id, savingsId, error.getDeveloperMessage(), e);
+        final int nThreads = this.configurationDomainService.retrieveScheduledJobNumberOfThreads();
+        final int pageSize = this.dividendChunkSize * nThreads;
+
+        int result = 0;
+        final List<Throwable> errors = new ArrayList<>();
+        final ExecutorService executorService = Executors.newFixedThreadPool(nThreads);
+        try {
+            Long lastDividendId = 0L;
+            List<ShareAccountDividendPostingData> dividends;
+            do {
+                dividends = this.shareAccountDividendReadPlatformService.retrieveDividendDetailsForPosting(lastDividendId, pageSize);
+                if (dividends.isEmpty()) {
+                    break;
                 }
-            } catch (final Exception e) {
-                LOG.error("Post Dividends to savings failed for Divident detail Id: {} and savings Id: {}", id, savingsId, e);
-                exceptions.add(e);
-            }
+                lastDividendId = dividends.get(dividends.size() - 1).getId();
+                result += dividends.size();
+
+                final List<Callable<Void>> posters = new ArrayList<>();
+                for (int fromIndex = 0; fromIndex < dividends.size(); fromIndex += this.dividendChunkSize) {
+                    final ShareAccountDividendPoster poster = (ShareAccountDividendPoster) this.applicationContext
+                            .getBean("shareAccountDividendPoster");
+                    poster.setDividends(dividends.subList(fromIndex, Math.min(fromIndex + this.dividendChunkSize, dividends.size())));
+                    poster.setShareAccountSchedularService(this.shareAccountSchedularService);
+                    posters.add(TenantAwareTasks.wrap(poster));
+                }
+                for (final Future<Void> response : executorService.invokeAll(posters)) {
+                    try {
+                        response.get();
+                    } catch (final ExecutionException e) {
+                        if (e.getCause() instanceof JobExecutionException) {
+                            errors.addAll(((JobExecutionException) e.getCause()).getCauses());
+                        } else {
+                            errors.add(e.getCause());
+                        }
+                    }
+                }
+            } while (dividends.size() == pageSize);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            errors.add(e);
+        } finally {
+            executorService.shutdown();
         }
 
-        if (!exceptions.isEmpty()) {
-            throw new JobExecutionException(exceptions);
+        LOG.info("{}: Records affected by postDividends: {}", ThreadLocalContextUtil.getTenant().getName(), result - errors.size());
+        if (!errors.isEmpty()) {
+            throw new JobExecutionException(errors);
         }
     }
 
@@ -0,0 +1,33 @@
+--
+-- Licensed to the Apache Software Foundation (ASF) under one
+-- or more contributor license agreements. See the NOTICE file
+-- distributed with this work for additional information
+-- regarding copyright ownership. The ASF licenses this file
+-- to you under the Apache License, Version 2.0 (the
+-- "License"); you may not use this file except in compliance
+-- with the License. You may obtain a copy of the License at
+--
+-- http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing,
+-- software distributed under the License is distributed on an
+-- "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+-- KIND, either express or implied. See the License for the
+-- specific language governing permissions and limitations
+-- under the License.
+--
+
+ALTER TABLE `m_provisioning_history`
+    ADD COLUMN `generated_on` DATETIME NULL DEFAULT NULL;
+
+ALTER TABLE `m_loanproduct_provisioning_entry`
+    ADD INDEX `idx_provisioning_entry_partition` (`history_id`, `office_id`, `product_id`);
+
+ALTER TABLE `m_loan_transaction`
+    ADD INDEX `idx_loan_transaction_created_date` (`created_date`);
+
+ALTER TABLE `m_loan_repayment_schedule`
+    ADD INDEX `idx_loan_schedule_lastmodified_date` (`lastmodified_date`);
+
+UPDATE `c_configuration` SET `description` = "Number of threads to be used for certain Scheduled Jobs. For now it applies to: Savings Account Interest Posting and Loan Loss Provisioning."
+WHERE `name` = 'scheduled-job-number-of-threads';
@@ -0,0 +1,57 @@
+--
+-- Licensed to the Apache Software Foundation (ASF) under one
+-- or more contributor license agreements. See the NOTICE file
+-- distributed with this work for additional information
+-- regarding copyright ownership. The ASF licenses this file
+-- to you under the Apache License, Version 2.0 (the
+-- "License"); you may not use this file except in compliance
+-- with the License. You may obtain a copy of the License at
+--
+-- http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing,
+-- software distributed under the License is distributed on an
+-- "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+-- KIND, either express or implied. See the License for the
+-- specific language governing permissions and limitations
+-- under the License.
+--
+
+CREATE TABLE `m_command_queue` (
+    `id` BIGINT NOT NULL AUTO_INCREMENT,
+    `action_name` VARCHAR(100) NOT NULL,
+    `entity_name` VARCHAR(100) NOT NULL,
+    `office_id` BIGINT NULL DEFAULT NULL,
+    `group_id` BIGINT NULL DEFAULT NULL,
+    `client_id` BIGINT NULL DEFAULT NULL,
+    `loan_id` BIGINT NULL DEFAULT NULL,
+    `savings_account_id` BIGINT NULL DEFAULT NULL,
+    `product_id` BIGINT NULL DEFAULT NULL,
+    `resource_id` BIGINT NULL DEFAULT NULL,
+    `subresource_id` BIGINT NULL DEFAULT NULL,
+    `api_get_url` VARCHAR(100) NULL DEFAULT NULL,
+    `transaction_id` VARCHAR(100) NULL DEFAULT NULL,
+    `creditbureau_id` BIGINT NULL DEFAULT NULL,
+    `organisation_creditbureau_id` BIGINT NULL DEFAULT NULL,
+    `command_as_json` TEXT NULL DEFAULT NULL,
+    `partition_key` VARCHAR(150) NOT NULL,
+    `status_enum` SMALLINT NOT NULL,
+    `maker_id` BIGINT NOT NULL,
+    `submitted_on` DATETIME NOT NULL,
+    `claim_token` VARCHAR(36) NULL DEFAULT NULL,
+    `processing_started_on` DATETIME NULL DEFAULT NULL,
+    `processed_on` DATETIME NULL DEFAULT NULL,
+    `result_status_code` INT NULL DEFAULT NULL,
+    `result_as_json` TEXT NULL DEFAULT NULL,
+    PRIMARY KEY (`id`),
+    INDEX `idx_command_queue_partition` (`partition_key`, `status_enum`, `id`),
+    INDEX `idx_command_queue_status` (`status_enum`, `submitted_on`),
+    CONSTRAINT `FK_command_queue_maker` FOREIGN KEY (`maker_id`) REFERENCES `m_appuser` (`id`)
+) ENGINE=InnoDB DEFAULT CHARSET=UTF8MB4;
+
+INSERT INTO `c_configuration` (`name`, `value`, `enabled`, `description`)
+VALUES ('async-command-processing', NULL, 0, "Allow API clients to queue commands for asynchronous processing by sending the 'Fineract-Async: true' request header.");
+
+-- queued commands are dispatched when they are accepted; the job that re-dispatches commands left pending is opt-in
+INSERT INTO `job` (`name`, `display_name`, `cron_expression`, `create_time`, `task_priority`, `group_name`, `previous_run_start_time`, `next_run_time`, `job_key`, `initializing_errorlog`, `is_active`, `currently_running`, `updates_allowed`, `scheduler_group`, `is_misfired`)
+VALUES ('Process Queued Commands', 'Process Queued Commands', '0 0/1 * 1/1 * ? *', now(), 5, NULL, NULL, NULL, NULL, NULL, 0, 0, 1, 0, 0);
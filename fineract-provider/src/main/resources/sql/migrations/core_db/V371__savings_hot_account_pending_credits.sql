@@ -0,0 +1,51 @@
+--
+-- Licensed to the Apache Software Foundation (ASF) under one
+-- or more contributor license agreements. See the NOTICE file
+-- distributed with this work for additional information
+-- regarding copyright ownership. The ASF licenses this file
+-- to you under the Apache License, Version 2.0 (the
+-- "License"); you may not use this file except in compliance
+-- with the License. You may obtain a copy of the License at
+--
+-- http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing,
+-- software distributed under the License is distributed on an
+-- "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+-- KIND, either express or implied. See the License for the
+-- specific language governing permissions and limitations
+-- under the License.
+--
+
+ALTER TABLE `m_savings_product` ADD COLUMN `is_hot_account` TINYINT(1) NOT NULL DEFAULT 0;
+
+ALTER TABLE `m_savings_account` ADD COLUMN `is_hot_account` TINYINT(1) NULL DEFAULT NULL;
+
+CREATE TABLE `m_savings_account_pending_credit` (
+    `id` BIGINT NOT NULL AUTO_INCREMENT,
+    `savings_account_id` BIGINT NOT NULL,
+    `transaction_date` DATE NOT NULL,
+    `amount` DECIMAL(19,6) NOT NULL,
+    `payment_detail_id` BIGINT NULL DEFAULT NULL,
+    `note` VARCHAR(1000) NULL DEFAULT NULL,
+    `status_enum` SMALLINT NOT NULL,
+    `savings_account_transaction_id` BIGINT NULL DEFAULT NULL,
+    `failure_reason` VARCHAR(500) NULL DEFAULT NULL,
+    `created_date` DATETIME NOT NULL,
+    `appuser_id` BIGINT NULL DEFAULT NULL,
+    PRIMARY KEY (`id`),
+    INDEX `idx_savings_pending_credit_account` (`savings_account_id`, `status_enum`, `id`),
+    INDEX `idx_savings_pending_credit_status` (`status_enum`, `created_date`),
+    CONSTRAINT `FK_savings_pending_credit_account` FOREIGN KEY (`savings_account_id`) REFERENCES `m_savings_account` (`id`),
+    CONSTRAINT `FK_savings_pending_credit_payment_detail` FOREIGN KEY (`payment_detail_id`) REFERENCES `m_payment_detail` (`id`),
+    CONSTRAINT `FK_savings_pending_credit_appuser` FOREIGN KEY (`appuser_id`) REFERENCES `m_appuser` (`id`)
+) ENGINE=InnoDB DEFAULT CHARSET=UTF8MB4;
+
+INSERT INTO `m_permission` (`grouping`, `code`, `entity_name`, `action_name`, `can_maker_checker`) VALUES
+('portfolio', 'ENABLEHOTACCOUNT_SAVINGSACCOUNT', 'SAVINGSACCOUNT', 'ENABLEHOTACCOUNT', 0),
+('portfolio', 'ENABLEHOTACCOUNT_SAVINGSACCOUNT_CHECKER', 'SAVINGSACCOUNT', 'ENABLEHOTACCOUNT_CHECKER', 0),
+('portfolio', 'DISABLEHOTACCOUNT_SAVINGSACCOUNT', 'SAVINGSACCOUNT', 'DISABLEHOTACCOUNT', 0),
+('portfolio', 'DISABLEHOTACCOUNT_SAVINGSACCOUNT_CHECKER', 'SAVINGSACCOUNT', 'DISABLEHOTACCOUNT_CHECKER', 0);
+
+INSERT INTO `job` (`name`, `display_name`, `cron_expression`, `create_time`, `task_priority`, `group_name`, `previous_run_start_time`, `next_run_time`, `job_key`, `initializing_errorlog`, `is_active`, `currently_running`, `updates_allowed`, `scheduler_group`, `is_misfired`)
+VALUES ('Apply Pending Savings Credits', 'Apply Pending Savings Credits', '0 0/1 * 1/1 * ? *', now(), 5, NULL, NULL, NULL, NULL, NULL, 1, 0, 1, 0, 0);
@@ -0,0 +1,46 @@
+--
+-- Licensed to the Apache Software Foundation (ASF) under one
+-- or more contributor license agreements. See the NOTICE file
+-- distributed with this work for additional information
+-- regarding copyright ownership. The ASF licenses this file
+-- to you under the Apache License, Version 2.0 (the
+-- "License"); you may not use this file except in compliance
+-- with the License. You may obtain a copy of the License at
+--
+-- http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing,
+-- software distributed under the License is distributed on an
+-- "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+-- KIND, either express or implied. See the License for the
+-- specific language governing permissions and limitations
+-- under the License.
+--
+
+CREATE TABLE `interop_transfer_reservation` (
+    `id` BIGINT NOT NULL AUTO_INCREMENT,
+    `savings_account_id` BIGINT NOT NULL,
+    `transfer_code` VARCHAR(100) NOT NULL,
+    `transaction_role` VARCHAR(32) NOT NULL,
+    `amount` DECIMAL(19,6) NOT NULL,
+    `status_enum` SMALLINT NOT NULL,
+    `created_on` DATETIME NOT NULL,
+    `modified_on` DATETIME NULL DEFAULT NULL,
+    `hold_transaction_id` BIGINT NULL DEFAULT NULL,
+    PRIMARY KEY (`id`),
+    UNIQUE INDEX `uk_interop_transfer_reservation` (`savings_account_id`, `transfer_code`, `transaction_role`),
+    CONSTRAINT `FK_interop_transfer_reservation_account` FOREIGN KEY (`savings_account_id`) REFERENCES `m_savings_account` (`id`)
+) ENGINE=InnoDB DEFAULT CHARSET=UTF8MB4;
+
+-- transfers prepared before this migration hold their amount through an AMOUNT_HOLD transaction that has not been
+-- released yet; give each of them a PREPARED reservation so that they can still be committed or released, linked to the
+-- hold transaction that has to be marked released then
+INSERT IGNORE INTO `interop_transfer_reservation` (`savings_account_id`, `transfer_code`, `transaction_role`, `amount`, `status_enum`, `created_on`, `hold_transaction_id`)
+SELECT t.savings_account_id, pd.receipt_number, 'PAYER', t.amount, 1, t.created_date, t.id
+FROM m_savings_account_transaction t
+INNER JOIN m_payment_detail pd ON pd.id = t.payment_detail_id
+WHERE t.transaction_type_enum = 20
+    AND t.is_reversed = 0
+    AND t.release_id_of_hold_amount IS NULL
+    AND pd.routing_code = 'INTEROPERATION'
+    AND pd.receipt_number IS NOT NULL;
@@ -0,0 +1,40 @@
+--
+-- Licensed to the Apache Software Foundation (ASF) under one
+-- or more contributor license agreements. See the NOTICE file
+-- distributed with this work for additional information
+-- regarding copyright ownership. The ASF licenses this file
+-- to you under the Apache License, Version 2.0 (the
+-- "License"); you may not use this file except in compliance
+-- with the License. You may obtain a copy of the License at
+--
+-- http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing,
+-- software distributed under the License is distributed on an
+-- "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+-- KIND, either express or implied. See the License for the
+-- specific language governing permissions and limitations
+-- under the License.
+--
+
+-- Audit trail storage: the key that deduplicates rows written behind and indexes for the search filters, in a single
+-- ALTER that MySQL runs online. Partitioning the table by month and compressing its rows rewrites the whole table, so
+-- it is not part of the migrations; see "Audit trail partitioning" in the deployment documentation.
+
+-- rows written behind by the audit trail writer carry the unique id of their log entry, so that replaying the log
+-- after a crash inserts them at most once; the key contains the partitioning column so that it survives partitioning.
+-- The group, client and loan indexes were created on office_id.
+ALTER TABLE `m_portfolio_command_source`
+    ADD COLUMN `wal_entry_id` VARCHAR(36) NULL DEFAULT NULL,
+    ADD UNIQUE INDEX `uk_wal_entry_id` (`wal_entry_id`, `made_on_date`),
+    DROP INDEX `group_id`,
+    DROP INDEX `client_id`,
+    DROP INDEX `loan_id`,
+    ADD INDEX `group_id` (`group_id`),
+    ADD INDEX `client_id` (`client_id`),
+    ADD INDEX `loan_id` (`loan_id`),
+    ADD INDEX `savings_account_id` (`savings_account_id`);
+
+-- splits monthly partitions off p_future once the table has been partitioned, activate it after doing so
+INSERT INTO `job` (`name`, `display_name`, `cron_expression`, `create_time`, `task_priority`, `group_name`, `previous_run_start_time`, `next_run_time`, `job_key`, `initializing_errorlog`, `is_active`, `currently_running`, `updates_allowed`, `scheduler_group`, `is_misfired`)
+VALUES ('Add Audit Partitions', 'Add Audit Partitions', '0 0 1 1/1 * ? *', now(), 5, NULL, NULL, NULL, NULL, NULL, 0, 0, 1, 0, 0);
@@ -0,0 +1,33 @@
+--
+-- Licensed to the Apache Software Foundation (ASF) under one
+-- or more contributor license agreements. See the NOTICE file
+-- distributed with this work for additional information
+-- regarding copyright ownership. The ASF licenses this file
+-- to you under the Apache License, Version 2.0 (the
+-- "License"); you may not use this file except in compliance
+-- with the License. You may obtain a copy of the License at
+--
+-- http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing,
+-- software distributed under the License is distributed on an
+-- "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+-- KIND, either express or implied. See the License for the
+-- specific language governing permissions and limitations
+-- under the License.
+--
+
+-- loans whose schedule derived columns need to be recomputed, once per consuming job
+CREATE TABLE `m_loan_dirty` (
+  `consumer` VARCHAR(50) NOT NULL,
+  `loan_id` BIGINT NOT NULL,
+  `version` BIGINT NOT NULL,
+  PRIMARY KEY (`consumer`, `loan_id`)
+) ENGINE=InnoDB DEFAULT CHARSET=UTF8MB4;
+
+-- the first runs after the upgrade recompute every loan the full statements used to cover
+INSERT INTO `m_loan_dirty` (`consumer`, `loan_id`, `version`)
+SELECT 'loan_summary', `id`, 1 FROM `m_loan` WHERE `disbursedon_date` IS NOT NULL;
+
+INSERT INTO `m_loan_dirty` (`consumer`, `loan_id`, `version`)
+SELECT 'loan_paid_in_advance', `id`, 1 FROM `m_loan` WHERE `loan_status_id` = 300;
@@ -0,0 +1,27 @@
+--
+-- Licensed to the Apache Software Foundation (ASF) under one
+-- or more contributor license agreements. See the NOTICE file
+-- distributed with this work for additional information
+-- regarding copyright ownership. The ASF licenses this file
+-- to you under the Apache License, Version 2.0 (the
+-- "License"); you may not use this file except in compliance
+-- with the License. You may obtain a copy of the License at
+--
+-- http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing,
+-- software distributed under the License is distributed on an
+-- "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+-- KIND, either express or implied. See the License for the
+-- specific language governing permissions and limitations
+-- under the License.
+--
+
+-- next date on which the standing instruction job has to evaluate an instruction, maintained by the instruction and
+-- the job; instructions are evaluated once on the first run after the upgrade, which works out their real next date
+ALTER TABLE `m_account_transfer_standing_instructions` ADD COLUMN `next_run_date` DATE NULL DEFAULT NULL AFTER `last_run_date`;
+
+UPDATE `m_account_transfer_standing_instructions` SET `next_run_date` = `valid_from`;
+
+ALTER TABLE `m_account_transfer_standing_instructions`
+    ADD INDEX `idx_standing_instruction_next_run` (`status`, `next_run_date`);
@@ -0,0 +1,39 @@
+--
+-- Licensed to the Apache Software Foundation (ASF) under one
+-- or more contributor license agreements. See the NOTICE file
+-- distributed with this work for additional information
+-- regarding copyright ownership. The ASF licenses this file
+-- to you under the Apache License, Version 2.0 (the
+-- "License"); you may not use this file except in compliance
+-- with the License. You may obtain a copy of the License at
+--
+-- http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing,
+-- software distributed under the License is distributed on an
+-- "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+-- KIND, either express or implied. See the License for the
+-- specific language governing permissions and limitations
+-- under the License.
+--
+
+-- debits and credits per office, GL account, currency and day, maintained as journal entries are posted, so that
+-- reports over a period only have to sum cells instead of scanning acc_gl_journal_entry
+CREATE TABLE `acc_gl_daily_balance` (
+    `office_id` BIGINT NOT NULL,
+    `account_id` BIGINT NOT NULL,
+    `currency_code` VARCHAR(3) NOT NULL,
+    `entry_date` DATE NOT NULL,
+    `debit_amount` DECIMAL(19,6) NOT NULL DEFAULT 0,
+    `credit_amount` DECIMAL(19,6) NOT NULL DEFAULT 0,
+    PRIMARY KEY (`office_id`, `account_id`, `currency_code`, `entry_date`),
+    INDEX `idx_gl_daily_balance_entry_date` (`entry_date`, `account_id`)
+) ENGINE=InnoDB DEFAULT CHARSET=UTF8MB4;
+
+INSERT INTO `acc_gl_daily_balance` (`office_id`, `account_id`, `currency_code`, `entry_date`, `debit_amount`, `credit_amount`)
+SELECT `office_id`, `account_id`, `currency_code`, `entry_date`,
+    SUM(CASE WHEN `type_enum` = 2 THEN `amount` ELSE 0 END),
+    SUM(CASE WHEN `type_enum` = 1 THEN `amount` ELSE 0 END)
+FROM `acc_gl_journal_entry`
+WHERE `entry_date` IS NOT NULL
+GROUP BY `office_id`, `account_id`, `currency_code`, `entry_date`;
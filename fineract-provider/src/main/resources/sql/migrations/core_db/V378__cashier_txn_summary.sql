@@ -0,0 +1,63 @@
+--
+-- Licensed to the Apache Software Foundation (ASF) under one
+-- or more contributor license agreements. See the NOTICE file
+-- distributed with this work for additional information
+-- regarding copyright ownership. The ASF licenses this file
+-- to you under the Apache License, Version 2.0 (the
+-- "License"); you may not use this file except in compliance
+-- with the License. You may obtain a copy of the License at
+--
+-- http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing,
+-- software distributed under the License is distributed on an
+-- "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+-- KIND, either express or implied. See the License for the
+-- specific language governing permissions and limitations
+-- under the License.
+--
+
+-- cash totals of each cashier per day, currency, office of the transaction and cashier transaction type, as reported
+-- by the cashier transaction summary; the days marked dirty are rebuilt before the summary is read
+CREATE TABLE `m_cashier_txn_summary` (
+    `cashier_id` BIGINT NOT NULL,
+    `summary_date` DATE NOT NULL,
+    `currency_code` VARCHAR(3) NOT NULL,
+    `office_id` BIGINT NOT NULL,
+    `cash_txn_type` SMALLINT NOT NULL,
+    `txn_total` DECIMAL(19,6) NOT NULL,
+    PRIMARY KEY (`cashier_id`, `summary_date`, `currency_code`, `office_id`, `cash_txn_type`)
+) ENGINE=InnoDB DEFAULT CHARSET=UTF8MB4;
+
+CREATE TABLE `m_cashier_txn_summary_dirty` (
+    `cashier_id` BIGINT NOT NULL,
+    `summary_date` DATE NOT NULL,
+    `version` BIGINT NOT NULL,
+    PRIMARY KEY (`cashier_id`, `summary_date`)
+) ENGINE=InnoDB DEFAULT CHARSET=UTF8MB4;
+
+-- every day that already has transactions starts dirty, so each cashier is summarised on its first retrieval
+INSERT IGNORE INTO `m_cashier_txn_summary_dirty` (`cashier_id`, `summary_date`, `version`)
+SELECT DISTINCT txn.cashier_id, DATE(txn.created_date), 1
+FROM m_cashier_transactions txn;
+
+INSERT IGNORE INTO `m_cashier_txn_summary_dirty` (`cashier_id`, `summary_date`, `version`)
+SELECT DISTINCT c.id, sav_txn.transaction_date, 1
+FROM m_savings_account_transaction sav_txn
+JOIN m_appuser u ON u.id = sav_txn.appuser_id
+JOIN m_cashiers c ON c.staff_id = u.staff_id
+WHERE sav_txn.transaction_date BETWEEN c.start_date AND DATE_ADD(c.end_date, INTERVAL 1 DAY);
+
+INSERT IGNORE INTO `m_cashier_txn_summary_dirty` (`cashier_id`, `summary_date`, `version`)
+SELECT DISTINCT c.id, loan_txn.transaction_date, 1
+FROM m_loan_transaction loan_txn
+JOIN m_appuser u ON u.id = loan_txn.appuser_id
+JOIN m_cashiers c ON c.staff_id = u.staff_id
+WHERE loan_txn.transaction_date BETWEEN c.start_date AND DATE_ADD(c.end_date, INTERVAL 1 DAY);
+
+INSERT IGNORE INTO `m_cashier_txn_summary_dirty` (`cashier_id`, `summary_date`, `version`)
+SELECT DISTINCT c.id, cli_txn.transaction_date, 1
+FROM m_client_transaction cli_txn
+JOIN m_appuser u ON u.id = cli_txn.appuser_id
+JOIN m_cashiers c ON c.staff_id = u.staff_id
+WHERE cli_txn.transaction_date BETWEEN c.start_date AND DATE_ADD(c.end_date, INTERVAL 1 DAY);
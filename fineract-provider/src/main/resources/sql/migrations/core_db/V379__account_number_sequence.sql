@@ -0,0 +1,38 @@
+--
+-- Licensed to the Apache Software Foundation (ASF) under one
+-- or more contributor license agreements. See the NOTICE file
+-- distributed with this work for additional information
+-- regarding copyright ownership. The ASF licenses this file
+-- to you under the Apache License, Version 2.0 (the
+-- "License"); you may not use this file except in compliance
+-- with the License. You may obtain a copy of the License at
+--
+-- http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing,
+-- software distributed under the License is distributed on an
+-- "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+-- KIND, either express or implied. See the License for the
+-- specific language governing permissions and limitations
+-- under the License.
+--
+
+-- next number of each account number sequence, one per table of numbered entities; application nodes reserve blocks
+-- of numbers from here and hand them out from memory
+CREATE TABLE `m_account_number_sequence` (
+    `sequence_name` VARCHAR(50) NOT NULL,
+    `next_value` BIGINT NOT NULL,
+    PRIMARY KEY (`sequence_name`)
+) ENGINE=InnoDB DEFAULT CHARSET=UTF8MB4;
+
+-- account numbers used to be derived from the entity id, so every sequence continues after the highest id
+INSERT INTO `m_account_number_sequence` (`sequence_name`, `next_value`)
+SELECT 'm_client', COALESCE(MAX(id), 0) + 1 FROM m_client
+UNION ALL
+SELECT 'm_group', COALESCE(MAX(id), 0) + 1 FROM m_group
+UNION ALL
+SELECT 'm_loan', COALESCE(MAX(id), 0) + 1 FROM m_loan
+UNION ALL
+SELECT 'm_savings_account', COALESCE(MAX(id), 0) + 1 FROM m_savings_account
+UNION ALL
+SELECT 'm_share_account', COALESCE(MAX(id), 0) + 1 FROM m_share_account;
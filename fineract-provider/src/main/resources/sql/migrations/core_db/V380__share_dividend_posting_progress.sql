@@ -0,0 +1,35 @@
+--
+-- Licensed to the Apache Software Foundation (ASF) under one
+-- or more contributor license agreements. See the NOTICE file
+-- distributed with this work for additional information
+-- regarding copyright ownership. The ASF licenses this file
+-- to you under the Apache License, Version 2.0 (the
+-- "License"); you may not use this file except in compliance
+-- with the License. You may obtain a copy of the License at
+--
+-- http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing,
+-- software distributed under the License is distributed on an
+-- "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+-- KIND, either express or implied. See the License for the
+-- specific language governing permissions and limitations
+-- under the License.
+--
+
+-- progress of the dividend posting job, advanced with every chunk of posted account dividends
+ALTER TABLE `m_share_product_dividend_pay_out`
+    ADD COLUMN `posted_account_count` INT NOT NULL DEFAULT 0 AFTER `status`,
+    ADD COLUMN `posted_amount` DECIMAL(19,6) NOT NULL DEFAULT 0 AFTER `posted_account_count`;
+
+UPDATE `m_share_product_dividend_pay_out` pod
+    INNER JOIN (
+        SELECT sadd.dividend_pay_out_id, COUNT(*) AS posted_account_count, SUM(sadd.amount) AS posted_amount
+        FROM m_share_account_dividend_details sadd
+        WHERE sadd.status = 300
+        GROUP BY sadd.dividend_pay_out_id
+    ) posted ON posted.dividend_pay_out_id = pod.id
+SET pod.posted_account_count = posted.posted_account_count, pod.posted_amount = posted.posted_amount;
+
+-- the posting job pages through the account dividends still to be posted in id order
+CREATE INDEX `IND_m_share_account_dividend_details_status` ON `m_share_account_dividend_details` (`status`, `id`);
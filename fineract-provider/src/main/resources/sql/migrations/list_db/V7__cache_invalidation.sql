@@ -0,0 +1,29 @@
+--
+-- Licensed to the Apache Software Foundation (ASF) under one
+-- or more contributor license agreements. See the NOTICE file
+-- distributed with this work for additional information
+-- regarding copyright ownership. The ASF licenses this file
+-- to you under the Apache License, Version 2.0 (the
+-- "License"); you may not use this file except in compliance
+-- with the License. You may obtain a copy of the License at
+--
+-- http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing,
+-- software distributed under the License is distributed on an
+-- "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+-- KIND, either express or implied. See the License for the
+-- specific language governing permissions and limitations
+-- under the License.
+--
+
+-- evictions broadcast between the nodes of a cluster using the multi node cache
+CREATE TABLE `cache_invalidation` (
+  `id` BIGINT NOT NULL AUTO_INCREMENT,
+  `origin_node` VARCHAR(64) NOT NULL,
+  `cache_name` VARCHAR(100) NULL DEFAULT NULL,
+  `cache_key` VARCHAR(500) NULL DEFAULT NULL,
+  `created_on` DATETIME NOT NULL,
+  PRIMARY KEY (`id`),
+  INDEX `cache_invalidation_created_on_idx` (`created_on`)
+) ENGINE=InnoDB DEFAULT CHARSET=UTF8MB4;
@@ -0,0 +1,245 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.accounting.journalentry.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Supplier;
+import org.apache.fineract.accounting.closure.domain.GLClosureRepository;
+import org.apache.fineract.accounting.common.AccountingConstants.CashAccountsForLoan;
+import org.apache.fineract.accounting.common.AccountingConstants.CashAccountsForSavings;
+import org.apache.fineract.accounting.glaccount.domain.GLAccount;
+import org.apache.fineract.accounting.glaccount.domain.GLAccountRepositoryWrapper;
+import org.apache.fineract.accounting.journalentry.domain.JournalEntry;
+import org.apache.fineract.accounting.journalentry.domain.JournalEntryRepository;
+import org.apache.fineract.accounting.journalentry.exception.JournalEntryInvalidException;
+import org.apache.fineract.accounting.producttoaccountmapping.data.ProductGLAccountMappingTable;
+import org.apache.fineract.accounting.producttoaccountmapping.domain.PortfolioProductType;
+import org.apache.fineract.accounting.producttoaccountmapping.service.ProductToGLAccountMappingResolver;
+import org.apache.fineract.organisation.office.domain.Office;
+import org.apache.fineract.organisation.office.domain.OfficeRepositoryWrapper;
+import org.apache.fineract.portfolio.account.service.AccountTransfersReadPlatformService;
+import org.apache.fineract.portfolio.client.domain.ClientTransactionRepositoryWrapper;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanTransactionRepository;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccountTransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * Unit Test for {@link AccountingProcessorHelper}.
+ */
+@ExtendWith(MockitoExtension.class)
+public class AccountingProcessorHelperTest {
+
+    private static final Long LOAN_PRODUCT_ID = 1L;
+    private static final Long SAVINGS_PRODUCT_ID = 2L;
+    private static final Long OFFICE_ID = 3L;
+
+    @Mock
+    private JournalEntryRepository glJournalEntryRepository;
+
+    @Mock
+    private ProductToGLAccountMappingResolver accountMappingResolver;
+
+    @Mock
+    private GLClosureRepository closureRepository;
+
+    @Mock
+    private OfficeRepositoryWrapper officeRepositoryWrapper;
+
+    @Mock
+    private LoanTransactionRepository loanTransactionRepository;
+
+    @Mock
+    private SavingsAccountTransactionRepository savingsAccountTransactionRepository;
+
+    @Mock
+    private AccountTransfersReadPlatformService accountTransfersReadPlatformService;
+
+    @Mock
+    private GLAccountRepositoryWrapper accountRepositoryWrapper;
+
+    @Mock
+    private ClientTransactionRepositoryWrapper clientTransactionRepositoryWrapper;
+
+    @Mock
+    private Office office;
+
+    @Mock
+    private GLAccount debitAccount;
+
+    @Mock
+    private GLAccount creditAccount;
+
+    @Captor
+    private ArgumentCaptor<List<JournalEntry>> journalEntries;
+
+    private AccountingProcessorHelper helper;
+
+    private final Date transactionDate = new Date();
+
+    @BeforeEach
+    public void setUp() {
+        this.helper = new AccountingProcessorHelper(this.glJournalEntryRepository, this.accountMappingResolver, this.closureRepository,
+                this.officeRepositoryWrapper, this.loanTransactionRepository, this.savingsAccountTransactionRepository,
+                this.accountTransfersReadPlatformService, this.accountRepositoryWrapper, this.clientTransactionRepositoryWrapper);
+    }
+
+    @Test
+    public void testSupplierResultIsReturnedOnceItsLegsAreWritten() {
+        mapSavingsAccounts();
+        final Object commandResult = new Object();
+
+        final Supplier<Object> work = () -> {
+            depositToSavings(11L, "S-1", "100.00");
+            return commandResult;
+        };
+        assertSame(commandResult, this.helper.executeInUnitOfWork(work));
+
+        verify(this.glJournalEntryRepository).insertInBatch(this.journalEntries.capture());
+        verify(this.glJournalEntryRepository, never()).saveAndFlush(any(JournalEntry.class));
+        assertEquals(2, this.journalEntries.getValue().size());
+    }
+
+    @Test
+    public void testGlimChildLoansAreWrittenAsOneBatch() {
+        when(this.accountMappingResolver.retrieveMappingTable(PortfolioProductType.LOAN, LOAN_PRODUCT_ID)).thenReturn(
+                ProductGLAccountMappingTable.builder().withMapping(CashAccountsForLoan.LOAN_PORTFOLIO.getValue(), null, null, 21L)
+                        .withMapping(CashAccountsForLoan.FUND_SOURCE.getValue(), null, null, 22L).build());
+        when(this.accountRepositoryWrapper.getReference(21L)).thenReturn(this.debitAccount);
+        when(this.accountRepositoryWrapper.getReference(22L)).thenReturn(this.creditAccount);
+
+        // a GLIM disbursal runs the journal entries of every child loan, each in a unit of its own, under the parent's
+        final Supplier<String> parentDisbursal = () -> {
+            for (long loanId = 31; loanId <= 33; loanId++) {
+                final Long childLoanId = loanId;
+                final Runnable childJournalEntries = () -> {
+                    this.helper.checkForBranchClosures(this.helper.getLatestClosureByBranch(OFFICE_ID), this.transactionDate);
+                    this.helper.createDebitJournalEntryOrReversalForLoan(this.office, "USD", CashAccountsForLoan.LOAN_PORTFOLIO.getValue(),
+                            LOAN_PRODUCT_ID, null, childLoanId, "L-" + childLoanId, this.transactionDate, new BigDecimal("250.00"), false);
+                    this.helper.createCreditJournalEntryOrReversalForLoan(this.office, "USD", CashAccountsForLoan.FUND_SOURCE,
+                            LOAN_PRODUCT_ID, null, childLoanId, "L-" + childLoanId, this.transactionDate, new BigDecimal("250.00"), false);
+                };
+                this.helper.executeInUnitOfWork(childJournalEntries);
+                verify(this.glJournalEntryRepository, never()).insertInBatch(anyList());
+            }
+            return "disbursed";
+        };
+        assertEquals("disbursed", this.helper.executeInUnitOfWork(parentDisbursal));
+
+        verify(this.glJournalEntryRepository).insertInBatch(this.journalEntries.capture());
+        verify(this.glJournalEntryRepository, never()).saveAndFlush(any(JournalEntry.class));
+        assertEquals(6, this.journalEntries.getValue().size());
+        // the closure of the branch is looked up once for the whole parent operation
+        verify(this.closureRepository).getLatestGLClosureByBranch(OFFICE_ID);
+    }
+
+    @Test
+    public void testGsimChildDepositsAreWrittenAsOneBatch() {
+        mapSavingsAccounts();
+
+        final Supplier<Integer> parentDeposit = () -> {
+            for (long savingsId = 41; savingsId <= 44; savingsId++) {
+                final Long childSavingsId = savingsId;
+                final Runnable childJournalEntries = () -> depositToSavings(childSavingsId, "S-" + childSavingsId, "75.25");
+                this.helper.executeInUnitOfWork(childJournalEntries);
+            }
+            return 4;
+        };
+        assertEquals(Integer.valueOf(4), this.helper.executeInUnitOfWork(parentDeposit));
+
+        verify(this.glJournalEntryRepository).insertInBatch(this.journalEntries.capture());
+        assertEquals(8, this.journalEntries.getValue().size());
+        for (final JournalEntry journalEntry : this.journalEntries.getValue()) {
+            assertEquals(new BigDecimal("75.25"), journalEntry.getAmount());
+        }
+    }
+
+    @Test
+    public void testFailingChildWritesNoLegOfTheOthers() {
+        mapSavingsAccounts();
+
+        final Supplier<Integer> parentDeposit = () -> {
+            depositToSavings(41L, "S-41", "75.25");
+            depositToSavings(42L, "S-42", "75.25");
+            throw new IllegalStateException("child 43 failed");
+        };
+        assertThrows(IllegalStateException.class, () -> this.helper.executeInUnitOfWork(parentDeposit));
+
+        verify(this.glJournalEntryRepository, never()).insertInBatch(anyList());
+        assertUnitOfWorkEnded();
+    }
+
+    @Test
+    public void testUnbalancedChildrenWriteNothing() {
+        mapSavingsAccounts();
+
+        final Runnable parentDeposit = () -> {
+            depositToSavings(41L, "S-41", "75.25");
+            final Runnable unbalancedChild = () -> this.helper.createCashBasedDebitJournalEntriesAndReversalsForSavings(this.office, "USD",
+                    CashAccountsForSavings.SAVINGS_REFERENCE.getValue(), SAVINGS_PRODUCT_ID, null, 42L, "S-42", this.transactionDate,
+                    new BigDecimal("75.25"), false);
+            this.helper.executeInUnitOfWork(unbalancedChild);
+        };
+        assertThrows(JournalEntryInvalidException.class, () -> this.helper.executeInUnitOfWork(parentDeposit));
+
+        verify(this.glJournalEntryRepository, never()).insertInBatch(anyList());
+        assertUnitOfWorkEnded();
+    }
+
+    private void mapSavingsAccounts() {
+        when(this.accountMappingResolver.retrieveMappingTable(PortfolioProductType.SAVING, SAVINGS_PRODUCT_ID)).thenReturn(
+                ProductGLAccountMappingTable.builder().withMapping(CashAccountsForSavings.SAVINGS_REFERENCE.getValue(), null, null, 51L)
+                        .withMapping(CashAccountsForSavings.SAVINGS_CONTROL.getValue(), null, null, 52L).build());
+        when(this.accountRepositoryWrapper.getReference(51L)).thenReturn(this.debitAccount);
+        when(this.accountRepositoryWrapper.getReference(52L)).thenReturn(this.creditAccount);
+    }
+
+    private void depositToSavings(final Long savingsId, final String transactionId, final String amount) {
+        this.helper.createCashBasedJournalEntriesAndReversalsForSavings(this.office, "USD",
+                CashAccountsForSavings.SAVINGS_REFERENCE.getValue(), CashAccountsForSavings.SAVINGS_CONTROL.getValue(), SAVINGS_PRODUCT_ID,
+                null, savingsId, transactionId, this.transactionDate, new BigDecimal(amount), false);
+    }
+
+    /**
+     * Once a unit of work has ended, legs are saved one by one again.
+     */
+    private void assertUnitOfWorkEnded() {
+        this.helper.createProvisioningDebitJournalEntry(this.transactionDate, 61L, this.office, "USD", this.debitAccount, BigDecimal.ONE);
+        final ArgumentCaptor<JournalEntry> journalEntry = ArgumentCaptor.forClass(JournalEntry.class);
+        verify(this.glJournalEntryRepository).saveAndFlush(journalEntry.capture());
+        assertTrue(journalEntry.getValue().isDebitEntry());
+    }
+}
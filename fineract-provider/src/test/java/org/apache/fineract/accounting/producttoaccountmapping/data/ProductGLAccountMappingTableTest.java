@@ -0,0 +1,60 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.accounting.producttoaccountmapping.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit Test for {@link ProductGLAccountMappingTable}.
+ */
+public class ProductGLAccountMappingTableTest {
+
+    private final ProductGLAccountMappingTable table = ProductGLAccountMappingTable.builder() //
+            .withMapping(1, null, null, 10L) //
+            .withMapping(1, 3L, null, 11L) //
+            .withMapping(4, null, null, 40L) //
+            .withMapping(4, null, 7L, 41L) //
+            .build();
+
+    @Test
+    public void testCoreMappingIgnoresSpecificMappings() {
+        assertEquals(Long.valueOf(10L), this.table.getCoreAccountId(1));
+        assertEquals(Long.valueOf(40L), this.table.getCoreAccountId(4));
+        assertNull(this.table.getCoreAccountId(2));
+    }
+
+    @Test
+    public void testPaymentTypeMapping() {
+        assertEquals(Long.valueOf(11L), this.table.getPaymentTypeAccountId(1, 3L));
+        assertNull(this.table.getPaymentTypeAccountId(1, 4L));
+        assertNull(this.table.getPaymentTypeAccountId(1, null));
+        assertNull(this.table.getPaymentTypeAccountId(4, 3L));
+    }
+
+    @Test
+    public void testChargeMapping() {
+        assertEquals(Long.valueOf(41L), this.table.getChargeAccountId(4, 7L));
+        assertNull(this.table.getChargeAccountId(4, 8L));
+        assertNull(this.table.getChargeAccountId(4, null));
+        assertNull(this.table.getChargeAccountId(1, 7L));
+    }
+}
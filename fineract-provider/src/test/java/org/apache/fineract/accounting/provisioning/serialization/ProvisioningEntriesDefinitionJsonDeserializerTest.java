@@ -0,0 +1,65 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.accounting.provisioning.serialization;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.apache.fineract.infrastructure.core.exception.PlatformApiDataValidationException;
+import org.apache.fineract.infrastructure.core.exception.UnsupportedParameterException;
+import org.apache.fineract.infrastructure.core.serialization.FromJsonHelper;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit Test for {@link ProvisioningEntriesDefinitionJsonDeserializer}.
+ */
+public class ProvisioningEntriesDefinitionJsonDeserializerTest {
+
+    private final ProvisioningEntriesDefinitionJsonDeserializer deserializer = new ProvisioningEntriesDefinitionJsonDeserializer(
+            new FromJsonHelper());
+
+    @Test
+    public void testRecreateWithoutBodyIsFull() {
+        assertFalse(this.deserializer.validateForRecreate(null));
+        assertFalse(this.deserializer.validateForRecreate(" "));
+        assertFalse(this.deserializer.validateForRecreate("{}"));
+    }
+
+    @Test
+    public void testRecreateReadsIncremental() {
+        assertTrue(this.deserializer.validateForRecreate("{\"incremental\": true}"));
+        assertTrue(this.deserializer.validateForRecreate("{\"incremental\": \"true\"}"));
+        assertFalse(this.deserializer.validateForRecreate("{\"incremental\": false}"));
+    }
+
+    @Test
+    public void testRecreateRejectsNullIncremental() {
+        final PlatformApiDataValidationException thrown = assertThrows(PlatformApiDataValidationException.class,
+                () -> this.deserializer.validateForRecreate("{\"incremental\": null}"));
+
+        assertEquals("incremental", thrown.getErrors().get(0).getParameterName());
+    }
+
+    @Test
+    public void testRecreateRejectsUnsupportedParameter() {
+        assertThrows(UnsupportedParameterException.class, () -> this.deserializer.validateForRecreate("{\"incrementally\": true}"));
+    }
+}
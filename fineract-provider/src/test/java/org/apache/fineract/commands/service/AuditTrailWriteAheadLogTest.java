@@ -0,0 +1,126 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.commands.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Date;
+import java.util.List;
+import org.apache.fineract.commands.data.AuditTrailEntry;
+import org.apache.fineract.commands.domain.CommandSource;
+import org.apache.fineract.useradministration.domain.AppUser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit Test for {@link AuditTrailWriteAheadLog}.
+ */
+public class AuditTrailWriteAheadLogTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testRollSealsAppendedEntries() throws IOException {
+        final AuditTrailWriteAheadLog log = new AuditTrailWriteAheadLog(this.directory);
+        final AuditTrailEntry first = entry("CREATE", 1L);
+        final AuditTrailEntry second = entry("CREATE", 1L);
+        log.append(first);
+        log.append(second);
+
+        final AuditTrailWriteAheadLog.Segment segment = log.roll();
+
+        assertEquals(List.of(first, second), segment.getEntries());
+        assertEquals(2, Files.readAllLines(segment.getFile(), StandardCharsets.UTF_8).size());
+        assertNotEquals(first.getWalEntryId(), second.getWalEntryId());
+        assertNull(log.roll());
+
+        log.append(entry("UPDATE", 2L));
+        final AuditTrailWriteAheadLog.Segment next = log.roll();
+        assertNotEquals(segment.getFile(), next.getFile());
+        assertEquals(1, next.getEntries().size());
+
+        segment.delete();
+        assertFalse(Files.exists(segment.getFile()));
+        log.close();
+    }
+
+    @Test
+    public void testRecoverReadsEntriesLeftByPreviousRun() throws IOException {
+        final AuditTrailWriteAheadLog crashed = new AuditTrailWriteAheadLog(this.directory);
+        final AuditTrailEntry sealed = entry("CREATE", 1L);
+        crashed.append(sealed);
+        crashed.roll();
+        final AuditTrailEntry active = entry("UPDATE", 1L);
+        crashed.append(active);
+        crashed.close();
+
+        final AuditTrailWriteAheadLog restarted = new AuditTrailWriteAheadLog(this.directory);
+        final List<AuditTrailWriteAheadLog.Segment> recovered = restarted.recover();
+
+        assertEquals(2, recovered.size());
+        assertEquals(sealed.getWalEntryId(), recovered.get(0).getEntries().get(0).getWalEntryId());
+        assertEquals(active.getWalEntryId(), recovered.get(1).getEntries().get(0).getWalEntryId());
+        assertEquals(active.getCommandAsJson(), recovered.get(1).getEntries().get(0).getCommandAsJson());
+
+        // new entries must not go to a segment that is being recovered
+        restarted.append(entry("DELETE", 1L));
+        final AuditTrailWriteAheadLog.Segment segment = restarted.roll();
+        assertTrue(recovered.stream().noneMatch(r -> r.getFile().equals(segment.getFile())));
+    }
+
+    @Test
+    public void testRecoverSkipsTornEntry() throws IOException {
+        final AuditTrailWriteAheadLog crashed = new AuditTrailWriteAheadLog(this.directory);
+        final AuditTrailEntry complete = entry("CREATE", 1L);
+        crashed.append(complete);
+        final Path file = crashed.roll().getFile();
+        Files.write(file, "{\"walEntryId\":\"".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+        final List<AuditTrailWriteAheadLog.Segment> recovered = new AuditTrailWriteAheadLog(this.directory).recover();
+
+        assertEquals(1, recovered.size());
+        assertEquals(1, recovered.get(0).getEntries().size());
+        assertEquals(complete.getWalEntryId(), recovered.get(0).getEntries().get(0).getWalEntryId());
+    }
+
+    static AuditTrailEntry entry(final String actionName, final Long resourceId) {
+        final AppUser maker = mock(AppUser.class);
+        when(maker.getId()).thenReturn(1L);
+        final CommandSource commandSource = mock(CommandSource.class);
+        when(commandSource.getActionName()).thenReturn(actionName);
+        when(commandSource.getEntityName()).thenReturn("CLIENT");
+        when(commandSource.getResourceId()).thenReturn(resourceId);
+        when(commandSource.json()).thenReturn("{\"firstname\":\"Jane\"}");
+        when(commandSource.getMaker()).thenReturn(maker);
+        when(commandSource.getMadeOnDate()).thenReturn(new Date(1_600_000_000_000L));
+        return AuditTrailEntry.from("default", commandSource);
+    }
+}
@@ -0,0 +1,196 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.commands.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.apache.fineract.commands.data.AuditTrailEntry;
+import org.apache.fineract.commands.domain.CommandSource;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.security.service.TenantDetailsService;
+import org.apache.fineract.useradministration.domain.AppUser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Answers;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.env.MockEnvironment;
+
+/**
+ * Unit Test for {@link AuditTrailWriter}.
+ */
+@ExtendWith(MockitoExtension.class)
+public class AuditTrailWriterTest {
+
+    private static final FineractPlatformTenant TENANT = new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null);
+
+    @TempDir
+    Path directory;
+
+    @Mock
+    private TenantDetailsService tenantDetailsService;
+
+    @Mock
+    private RoutingDataSource dataSource;
+
+    @Mock
+    private Connection connection;
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private PreparedStatement statement;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        when(this.tenantDetailsService.loadTenantById("default")).thenReturn(TENANT);
+        when(this.dataSource.getConnection()).thenReturn(this.connection);
+        when(this.connection.prepareStatement(anyString())).thenReturn(this.statement);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadLocalContextUtil.clearTenant();
+    }
+
+    @Test
+    public void testIdenticalCommandsAreBothInserted() throws Exception {
+        final AuditTrailWriter writer = startWriter();
+        final CommandSource commandSource = commandSource();
+
+        ThreadLocalContextUtil.setTenant(TENANT);
+        writer.appendAfterCommit(commandSource);
+        writer.appendAfterCommit(commandSource);
+        ThreadLocalContextUtil.clearTenant();
+        writer.shutdown();
+
+        final List<String> inserted = insertedWalEntryIds();
+        assertEquals(2, inserted.size());
+        assertEquals(2, inserted.stream().distinct().count());
+        assertTrue(segments().isEmpty());
+    }
+
+    @Test
+    public void testRecoveredSegmentIsReplayedWithLoggedIds() throws Exception {
+        final List<String> logged = crashWithLoggedEntries();
+
+        startWriter().shutdown();
+
+        final ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(this.connection).prepareStatement(sql.capture());
+        assertTrue(sql.getValue().endsWith("on duplicate key update wal_entry_id = wal_entry_id"));
+        assertEquals(logged, insertedWalEntryIds());
+        assertTrue(segments().isEmpty());
+    }
+
+    @Test
+    public void testSegmentReplayedTwiceKeepsItsIds() throws Exception {
+        final List<String> logged = crashWithLoggedEntries();
+        final Path segment = segments().get(0);
+        final byte[] content = Files.readAllBytes(segment);
+
+        startWriter().shutdown();
+        // crash after the insert committed but before the segment got deleted
+        Files.write(segment, content);
+        startWriter().shutdown();
+
+        final List<String> inserted = insertedWalEntryIds();
+        assertEquals(4, inserted.size());
+        assertEquals(logged, inserted.subList(0, 2));
+        assertEquals(logged, inserted.subList(2, 4));
+    }
+
+    @Test
+    public void testSegmentIsKeptWhenInsertFails() throws Exception {
+        crashWithLoggedEntries();
+        when(this.statement.executeBatch()).thenThrow(new SQLException("Lock wait timeout exceeded"));
+
+        startWriter().shutdown();
+
+        verify(this.connection, atLeastOnce()).rollback();
+        assertEquals(1, segments().size());
+        assertNull(ThreadLocalContextUtil.getTenant());
+    }
+
+    private AuditTrailWriter startWriter() throws IOException {
+        final MockEnvironment environment = new MockEnvironment().withProperty("FINERACT_AUDIT_WRITE_BEHIND_ENABLED", "true")
+                .withProperty("FINERACT_AUDIT_WAL_DIRECTORY", this.directory.toString())
+                .withProperty("FINERACT_AUDIT_FLUSH_INTERVAL_MILLIS", "60000");
+        final AuditTrailWriter writer = new AuditTrailWriter(environment, this.tenantDetailsService, this.dataSource);
+        writer.start();
+        return writer;
+    }
+
+    private List<String> crashWithLoggedEntries() throws IOException {
+        final AuditTrailWriteAheadLog log = new AuditTrailWriteAheadLog(this.directory);
+        final AuditTrailEntry first = AuditTrailEntry.from("default", commandSource());
+        final AuditTrailEntry second = AuditTrailEntry.from("default", commandSource());
+        log.append(first);
+        log.append(second);
+        log.close();
+        return List.of(first.getWalEntryId(), second.getWalEntryId());
+    }
+
+    private List<String> insertedWalEntryIds() throws SQLException {
+        final ArgumentCaptor<String> walEntryIds = ArgumentCaptor.forClass(String.class);
+        verify(this.statement, atLeast(0)).setString(eq(21), walEntryIds.capture());
+        return walEntryIds.getAllValues();
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(this.directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".wal")).collect(Collectors.toList());
+        }
+    }
+
+    private static CommandSource commandSource() {
+        final AppUser maker = mock(AppUser.class);
+        when(maker.getId()).thenReturn(1L);
+        final CommandSource commandSource = mock(CommandSource.class);
+        when(commandSource.getActionName()).thenReturn("CREATE");
+        when(commandSource.getEntityName()).thenReturn("CLIENT");
+        when(commandSource.json()).thenReturn("{\"firstname\":\"Jane\"}");
+        when(commandSource.getMaker()).thenReturn(maker);
+        when(commandSource.getMadeOnDate()).thenReturn(new Date(1_600_000_000_000L));
+        return commandSource;
+    }
+}
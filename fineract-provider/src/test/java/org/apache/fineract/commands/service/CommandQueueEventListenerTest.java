@@ -0,0 +1,176 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.commands.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicReference;
+import org.apache.fineract.commands.data.CommandQueuedEvent;
+import org.apache.fineract.commands.domain.CommandQueueEntry;
+import org.apache.fineract.commands.domain.CommandWrapper;
+import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
+import org.apache.fineract.infrastructure.security.service.TenantDetailsService;
+import org.apache.fineract.useradministration.domain.AppUser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Unit Test for {@link CommandQueueEventListener}.
+ */
+@ExtendWith(MockitoExtension.class)
+public class CommandQueueEventListenerTest {
+
+    @Mock
+    private TenantDetailsService tenantDetailsService;
+
+    @Mock
+    private CommandQueueWritePlatformService commandQueueWritePlatformService;
+
+    @Mock
+    private PortfolioCommandSourceWritePlatformService commandSourceWritePlatformService;
+
+    private CommandQueueEventListener listener;
+
+    @BeforeEach
+    public void setUp() {
+        this.listener = new CommandQueueEventListener(this.tenantDetailsService, this.commandQueueWritePlatformService,
+                this.commandSourceWritePlatformService);
+    }
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        this.listener.shutdown();
+    }
+
+    @Test
+    public void testExpiredClaimsAreReleasedBeforePartitionIsDrained() {
+        final CommandWrapper first = mock(CommandWrapper.class);
+        final CommandWrapper second = mock(CommandWrapper.class);
+        when(this.commandQueueWritePlatformService.retrievePendingCommandIds("loan:7")).thenReturn(Arrays.asList(2L, 4L),
+                Collections.emptyList());
+        when(this.commandQueueWritePlatformService.claim(eq(2L), anyString())).thenReturn(claimedEntry(first));
+        when(this.commandQueueWritePlatformService.claim(eq(4L), anyString())).thenReturn(claimedEntry(second));
+
+        processPartition(CommandQueuedEvent.instance("default", 4L, "loan:7"));
+
+        final InOrder inOrder = inOrder(this.commandQueueWritePlatformService, this.commandSourceWritePlatformService);
+        inOrder.verify(this.commandQueueWritePlatformService).releaseExpiredClaims("loan:7");
+        inOrder.verify(this.commandQueueWritePlatformService).retrievePendingCommandIds("loan:7");
+        inOrder.verify(this.commandQueueWritePlatformService).claim(eq(2L), anyString());
+        inOrder.verify(this.commandSourceWritePlatformService).logCommandSource(first);
+        inOrder.verify(this.commandQueueWritePlatformService).claim(eq(4L), anyString());
+        inOrder.verify(this.commandSourceWritePlatformService).logCommandSource(second);
+        inOrder.verify(this.commandQueueWritePlatformService).retrievePendingCommandIds("loan:7");
+    }
+
+    @Test
+    public void testClaimedCommandRunsWithItsClaimToken() {
+        final CommandWrapper wrapper = mock(CommandWrapper.class);
+        final ArgumentCaptor<String> claimToken = ArgumentCaptor.forClass(String.class);
+        final AtomicReference<Long> processingCommandId = new AtomicReference<>();
+        final AtomicReference<String> processingClaimToken = new AtomicReference<>();
+        when(this.commandQueueWritePlatformService.retrievePendingCommandIds("loan:7")).thenReturn(Arrays.asList(4L),
+                Collections.emptyList());
+        when(this.commandQueueWritePlatformService.claim(eq(4L), claimToken.capture())).thenReturn(claimedEntry(wrapper));
+        when(this.commandSourceWritePlatformService.logCommandSource(wrapper)).thenAnswer(invocation -> {
+            processingCommandId.set(AsyncCommandContext.getProcessingCommandId());
+            processingClaimToken.set(AsyncCommandContext.getClaimToken());
+            return CommandProcessingResult.commandOnlyResult(9L);
+        });
+
+        processPartition(CommandQueuedEvent.instance("default", 4L, "loan:7"));
+
+        assertEquals(4L, processingCommandId.get());
+        assertEquals(claimToken.getValue(), processingClaimToken.get());
+        verify(this.commandQueueWritePlatformService, never()).recordFailure(any(), any(), any());
+        assertNull(AsyncCommandContext.getProcessingCommandId());
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    public void testFailedCommandIsRecordedAndPartitionContinues() {
+        final CommandWrapper failing = mock(CommandWrapper.class);
+        final CommandWrapper succeeding = mock(CommandWrapper.class);
+        final RuntimeException failure = new IllegalStateException("failed");
+        final ArgumentCaptor<String> claimToken = ArgumentCaptor.forClass(String.class);
+        when(this.commandQueueWritePlatformService.retrievePendingCommandIds("loan:7")).thenReturn(Arrays.asList(3L, 4L),
+                Collections.emptyList());
+        when(this.commandQueueWritePlatformService.claim(eq(3L), claimToken.capture())).thenReturn(claimedEntry(failing));
+        when(this.commandQueueWritePlatformService.claim(eq(4L), anyString())).thenReturn(claimedEntry(succeeding));
+        when(this.commandSourceWritePlatformService.logCommandSource(failing)).thenThrow(failure);
+
+        processPartition(CommandQueuedEvent.instance("default", 4L, "loan:7"));
+
+        verify(this.commandQueueWritePlatformService).recordFailure(3L, claimToken.getValue(), failure);
+        verify(this.commandSourceWritePlatformService).logCommandSource(succeeding);
+        assertNull(AsyncCommandContext.getProcessingCommandId());
+    }
+
+    @Test
+    public void testPartitionStopsAtCommandClaimedElsewhere() {
+        when(this.commandQueueWritePlatformService.retrievePendingCommandIds("loan:7")).thenReturn(Arrays.asList(3L, 4L));
+
+        processPartition(CommandQueuedEvent.instance("default", 4L, "loan:7"));
+
+        verify(this.commandQueueWritePlatformService).claim(eq(3L), anyString());
+        verify(this.commandQueueWritePlatformService, never()).claim(eq(4L), anyString());
+        verify(this.commandSourceWritePlatformService, never()).logCommandSource(any());
+    }
+
+    @Test
+    public void testFailedReleaseDoesNotProcessPartition() {
+        when(this.commandQueueWritePlatformService.releaseExpiredClaims("loan:7")).thenThrow(new IllegalStateException("down"));
+
+        processPartition(CommandQueuedEvent.instance("default", 4L, "loan:7"));
+
+        verify(this.commandQueueWritePlatformService, never()).retrievePendingCommandIds(any());
+        verify(this.commandQueueWritePlatformService, never()).claim(any(), any());
+    }
+
+    private void processPartition(final CommandQueuedEvent event) {
+        ReflectionTestUtils.invokeMethod(this.listener, "processPartition", event);
+    }
+
+    private static CommandQueueEntry claimedEntry(final CommandWrapper wrapper) {
+        final AppUser maker = mock(AppUser.class);
+        final CommandQueueEntry entry = mock(CommandQueueEntry.class);
+        when(entry.getMaker()).thenReturn(maker);
+        when(entry.toCommandWrapper()).thenReturn(wrapper);
+        return entry;
+    }
+}
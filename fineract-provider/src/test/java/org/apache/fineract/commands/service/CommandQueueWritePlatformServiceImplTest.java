@@ -0,0 +1,249 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.commands.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import org.apache.fineract.commands.data.CommandQueuedEvent;
+import org.apache.fineract.commands.domain.CommandQueueEntry;
+import org.apache.fineract.commands.domain.CommandQueueEntryRepository;
+import org.apache.fineract.commands.domain.CommandQueueStatus;
+import org.apache.fineract.commands.exception.QueuedCommandClaimLostException;
+import org.apache.fineract.commands.exception.QueuedCommandNotFoundException;
+import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.serialization.ToApiJsonSerializer;
+import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Unit Test for {@link CommandQueueWritePlatformServiceImpl}.
+ */
+@ExtendWith(MockitoExtension.class)
+public class CommandQueueWritePlatformServiceImplTest {
+
+    private static final long LEASE_MILLIS = 10 * 60 * 1000L;
+
+    @Mock
+    private CommandQueueEntryRepository commandQueueEntryRepository;
+
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Mock
+    private ToApiJsonSerializer<CommandProcessingResult> toApiJsonSerializer;
+
+    @Mock
+    private RoutingDataSource dataSource;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private CommandQueueWritePlatformServiceImpl service;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        this.service = new CommandQueueWritePlatformServiceImpl(this.commandQueueEntryRepository, this.applicationEventPublisher,
+                this.toApiJsonSerializer, this.dataSource);
+        ReflectionTestUtils.setField(this.service, "jdbcTemplate", this.jdbcTemplate);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadLocalContextUtil.clearTenant();
+    }
+
+    @Test
+    public void testClaimStartsProcessingLease() {
+        final CommandQueueEntry entry = mock(CommandQueueEntry.class);
+        when(this.jdbcTemplate.queryForObject(anyString(), eq(Integer.class), any(), any(), any())).thenReturn(0);
+        when(this.jdbcTemplate.update(anyString(), any(), any(), any(), any(), any())).thenReturn(1);
+        when(this.commandQueueEntryRepository.findById(5L)).thenReturn(Optional.of(entry));
+
+        final long before = System.currentTimeMillis();
+        assertSame(entry, this.service.claim(5L, "token-1"));
+
+        final ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        final ArgumentCaptor<Date> startedOn = ArgumentCaptor.forClass(Date.class);
+        verify(this.jdbcTemplate).update(sql.capture(), eq(CommandQueueStatus.PROCESSING.getValue()), eq("token-1"), startedOn.capture(),
+                eq(5L), eq(CommandQueueStatus.PENDING.getValue()));
+        assertTrue(sql.getValue().contains("claim_token = ?"));
+        assertTrue(startedOn.getValue().getTime() >= before);
+    }
+
+    @Test
+    public void testClaimOfClaimedCommandReturnsNothing() {
+        when(this.jdbcTemplate.queryForObject(anyString(), eq(Integer.class), any(), any(), any())).thenReturn(0);
+        when(this.jdbcTemplate.update(anyString(), any(), any(), any(), any(), any())).thenReturn(0);
+
+        assertNull(this.service.claim(5L, "token-1"));
+        verify(this.commandQueueEntryRepository, never()).findById(any());
+    }
+
+    @Test
+    public void testClaimWaitsForEarlierCommandsOfPartition() {
+        when(this.jdbcTemplate.queryForObject(anyString(), eq(Integer.class), eq(5L), eq(CommandQueueStatus.PENDING.getValue()),
+                eq(CommandQueueStatus.PROCESSING.getValue()))).thenReturn(1);
+
+        assertNull(this.service.claim(5L, "token-1"));
+        verify(this.jdbcTemplate, never()).update(anyString(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    public void testClaimOfDeletedCommandFails() {
+        when(this.jdbcTemplate.queryForObject(anyString(), eq(Integer.class), any(), any(), any())).thenReturn(0);
+        when(this.jdbcTemplate.update(anyString(), any(), any(), any(), any(), any())).thenReturn(1);
+        when(this.commandQueueEntryRepository.findById(5L)).thenReturn(Optional.empty());
+
+        assertThrows(QueuedCommandNotFoundException.class, () -> this.service.claim(5L, "token-1"));
+    }
+
+    @Test
+    public void testExpiredClaimsOfPartitionAreReleased() {
+        when(this.jdbcTemplate.update(anyString(), any(), any(), any(), any())).thenReturn(2);
+
+        final long before = System.currentTimeMillis();
+        assertEquals(2, this.service.releaseExpiredClaims("loan:7"));
+
+        final ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        final ArgumentCaptor<Date> claimedBefore = ArgumentCaptor.forClass(Date.class);
+        verify(this.jdbcTemplate).update(sql.capture(), eq(CommandQueueStatus.PENDING.getValue()),
+                eq(CommandQueueStatus.PROCESSING.getValue()), claimedBefore.capture(), eq("loan:7"));
+        assertTrue(sql.getValue().contains("claim_token = null"));
+        assertLeaseCutoff(before, claimedBefore.getValue());
+    }
+
+    @Test
+    public void testClaimedCommandCompletesWithItsToken() {
+        final CommandProcessingResult result = CommandProcessingResult.commandOnlyResult(11L);
+        when(this.toApiJsonSerializer.serialize(result)).thenReturn("{\"commandId\":11}");
+        when(this.jdbcTemplate.update(anyString(), any(), any(), any(), any(), any(), any(), any())).thenReturn(1);
+
+        AsyncCommandContext.setProcessingCommand(5L, "token-1");
+        try {
+            this.service.completeClaimedCommand(result);
+        } finally {
+            AsyncCommandContext.clearProcessingCommand();
+        }
+
+        verify(this.jdbcTemplate).update(anyString(), eq(CommandQueueStatus.PROCESSED.getValue()), eq(200), eq("{\"commandId\":11}"),
+                any(Date.class), eq(5L), eq(CommandQueueStatus.PROCESSING.getValue()), eq("token-1"));
+    }
+
+    @Test
+    public void testCompletionWithLostClaimFails() {
+        final CommandProcessingResult result = CommandProcessingResult.commandOnlyResult(11L);
+        when(this.jdbcTemplate.update(anyString(), any(), any(), any(), any(), any(), any(), any())).thenReturn(0);
+
+        AsyncCommandContext.setProcessingCommand(5L, "token-1");
+        try {
+            assertThrows(QueuedCommandClaimLostException.class, () -> this.service.completeClaimedCommand(result));
+        } finally {
+            AsyncCommandContext.clearProcessingCommand();
+        }
+    }
+
+    @Test
+    public void testCompletionOutsideQueueWorkerIsIgnored() {
+        this.service.completeClaimedCommand(CommandProcessingResult.commandOnlyResult(11L));
+
+        verifyNoInteractions(this.jdbcTemplate, this.toApiJsonSerializer);
+    }
+
+    @Test
+    public void testFailureWithLostClaimIsNotRecorded() {
+        when(this.jdbcTemplate.update(anyString(), any(), any(), any(), any(), any(), any(), any())).thenReturn(0);
+
+        this.service.recordFailure(5L, "token-1", new QueuedCommandNotFoundException(5L));
+
+        verify(this.jdbcTemplate).update(anyString(), eq(CommandQueueStatus.FAILED.getValue()), any(), any(), any(Date.class), eq(5L),
+                eq(CommandQueueStatus.PROCESSING.getValue()), eq("token-1"));
+        verify(this.commandQueueEntryRepository, never()).findById(any());
+    }
+
+    @Test
+    public void testJobReleasesExpiredClaimsBeforeDispatchingPendingCommands() {
+        final CommandQueueEntry first = pendingEntry(3L, "loan:7");
+        final CommandQueueEntry second = pendingEntry(4L, "savings:9");
+        when(this.jdbcTemplate.update(anyString(), any(), any(), any())).thenReturn(1);
+        when(this.commandQueueEntryRepository.findByStatusSubmittedBefore(eq(CommandQueueStatus.PENDING.getValue()), any(Date.class)))
+                .thenReturn(Arrays.asList(first, second));
+
+        final long before = System.currentTimeMillis();
+        this.service.dispatchPendingCommands();
+
+        final InOrder inOrder = inOrder(this.jdbcTemplate, this.commandQueueEntryRepository);
+        final ArgumentCaptor<Date> claimedBefore = ArgumentCaptor.forClass(Date.class);
+        inOrder.verify(this.jdbcTemplate).update(anyString(), eq(CommandQueueStatus.PENDING.getValue()),
+                eq(CommandQueueStatus.PROCESSING.getValue()), claimedBefore.capture());
+        inOrder.verify(this.commandQueueEntryRepository).findByStatusSubmittedBefore(eq(CommandQueueStatus.PENDING.getValue()),
+                any(Date.class));
+        assertLeaseCutoff(before, claimedBefore.getValue());
+
+        final ArgumentCaptor<CommandQueuedEvent> events = ArgumentCaptor.forClass(CommandQueuedEvent.class);
+        verify(this.applicationEventPublisher, times(2)).publishEvent(events.capture());
+        final List<CommandQueuedEvent> published = events.getAllValues();
+        assertEquals(3L, published.get(0).getCommandId());
+        assertEquals("loan:7", published.get(0).getPartitionKey());
+        assertEquals(4L, published.get(1).getCommandId());
+        assertEquals("default", published.get(1).getTenantIdentifier());
+    }
+
+    private static void assertLeaseCutoff(final long before, final Date cutoff) {
+        assertTrue(cutoff.getTime() >= before - LEASE_MILLIS);
+        assertTrue(cutoff.getTime() <= System.currentTimeMillis() - LEASE_MILLIS);
+    }
+
+    private static CommandQueueEntry pendingEntry(final Long id, final String partitionKey) {
+        final CommandQueueEntry entry = mock(CommandQueueEntry.class);
+        when(entry.getId()).thenReturn(id);
+        when(entry.getPartitionKey()).thenReturn(partitionKey);
+        return entry;
+    }
+}
@@ -0,0 +1,159 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.cache.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import javax.sql.DataSource;
+import org.apache.fineract.infrastructure.cache.domain.CacheInvalidationMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Unit Test for {@link JdbcCacheInvalidationTransport}.
+ */
+public class JdbcCacheInvalidationTransportTest {
+
+    private final InvalidationTable table = new InvalidationTable();
+    private final List<CacheInvalidationMessage> received = new ArrayList<>();
+    private JdbcCacheInvalidationTransport transport;
+
+    @BeforeEach
+    public void setUp() {
+        this.transport = new JdbcCacheInvalidationTransport(mock(DataSource.class), 1000L, 600_000L);
+        ReflectionTestUtils.setField(this.transport, "jdbcTemplate", this.table);
+        ReflectionTestUtils.setField(this.transport, "nodeId", "A");
+        ReflectionTestUtils.setField(this.transport, "listener", (Consumer<CacheInvalidationMessage>) this.received::add);
+        ReflectionTestUtils.setField(this.transport, "lastSuccessfulPoll", System.currentTimeMillis());
+        ReflectionTestUtils.setField(this.transport, "lastPurge", System.currentTimeMillis());
+    }
+
+    @Test
+    public void testRowCommittedAfterAHigherIdIsApplied() {
+        this.table.commit(1L, "B", "offices");
+        this.table.commit(3L, "B", "charges");
+        poll();
+        assertEquals(Arrays.asList("offices", "charges"), receivedCacheNames());
+
+        this.table.commit(2L, "B", "codes");
+        poll();
+        assertEquals(Arrays.asList("offices", "charges", "codes"), receivedCacheNames());
+
+        poll();
+        assertEquals(3, this.received.size());
+    }
+
+    @Test
+    public void testOwnRowsAreSkippedAlsoWhenFillingGaps() {
+        this.table.commit(2L, "B", "charges");
+        poll();
+        this.table.commit(1L, "A", "offices");
+        poll();
+
+        assertEquals(Arrays.asList("charges"), receivedCacheNames());
+    }
+
+    @Test
+    public void testGapIsDroppedAfterTheTimeout() {
+        this.table.commit(2L, "B", "charges");
+        poll();
+        final Map<Long, Long> gaps = gaps();
+        assertEquals(1, gaps.size());
+
+        gaps.replaceAll((id, skippedAt) -> skippedAt - 61_000L);
+        poll();
+
+        assertTrue(gaps().isEmpty());
+    }
+
+    @Test
+    public void testTooManyGapsClearAllCaches() {
+        this.table.commit(5000L, "B", "charges");
+        poll();
+
+        assertEquals(2, this.received.size());
+        assertTrue(this.received.get(1).isClearAll());
+        assertTrue(gaps().isEmpty());
+    }
+
+    private void poll() {
+        ReflectionTestUtils.invokeMethod(this.transport, "poll");
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Long, Long> gaps() {
+        return (Map<Long, Long>) ReflectionTestUtils.getField(this.transport, "gaps");
+    }
+
+    private List<String> receivedCacheNames() {
+        return this.received.stream().map(CacheInvalidationMessage::getCacheName).collect(Collectors.toList());
+    }
+
+    /**
+     * The committed rows of cache_invalidation, answering the two queries of the transport.
+     */
+    private static final class InvalidationTable extends JdbcTemplate {
+
+        private final Map<Long, String[]> rows = new TreeMap<>();
+
+        void commit(final long id, final String originNode, final String cacheName) {
+            this.rows.put(id, new String[] { originNode, cacheName });
+        }
+
+        @Override
+        public <T> List<T> query(final String sql, final RowMapper<T> rowMapper, final Object... args) {
+            final List<Object> ids = Arrays.asList(args);
+            final List<T> result = new ArrayList<>();
+            for (final Map.Entry<Long, String[]> row : this.rows.entrySet()) {
+                final boolean selected = sql.contains("where id > ?") ? row.getKey() > (Long) args[0] : ids.contains(row.getKey());
+                if (selected) {
+                    result.add(map(rowMapper, row.getKey(), row.getValue(), result.size()));
+                }
+            }
+            return result;
+        }
+
+        private static <T> T map(final RowMapper<T> rowMapper, final long id, final String[] row, final int rowNum) {
+            try {
+                final ResultSet rs = mock(ResultSet.class);
+                when(rs.getLong("id")).thenReturn(id);
+                when(rs.getString("origin_node")).thenReturn(row[0]);
+                when(rs.getString("cache_name")).thenReturn(row[1]);
+                return rowMapper.mapRow(rs, rowNum);
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
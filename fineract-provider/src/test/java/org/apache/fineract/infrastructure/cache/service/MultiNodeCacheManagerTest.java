@@ -0,0 +1,114 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.cache.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+/**
+ * Unit Test for {@link MultiNodeCacheManager}.
+ */
+public class MultiNodeCacheManagerTest {
+
+    private MultiNodeCacheManager nodeA;
+    private MultiNodeCacheManager nodeB;
+
+    @BeforeEach
+    public void setUp() {
+        final LoopbackCacheInvalidationTransport transportA = new LoopbackCacheInvalidationTransport();
+        final LoopbackCacheInvalidationTransport transportB = transportA.newPeer();
+        this.nodeA = new MultiNodeCacheManager(new ConcurrentMapCacheManager("offices", "charges"), transportA, "A");
+        this.nodeB = new MultiNodeCacheManager(new ConcurrentMapCacheManager("offices", "charges"), transportB, "B");
+        this.nodeA.start();
+        this.nodeB.start();
+    }
+
+    @Test
+    public void testEvictionIsAppliedOnOtherNodes() {
+        this.nodeA.getCache("offices").put("defaultof", "A");
+        this.nodeB.getCache("offices").put("defaultof", "B");
+        this.nodeB.getCache("offices").put("otherof", "B");
+
+        this.nodeA.getCache("offices").evict("defaultof");
+
+        assertNull(this.nodeA.getCache("offices").get("defaultof"));
+        assertNull(this.nodeB.getCache("offices").get("defaultof"));
+        assertNotNull(this.nodeB.getCache("offices").get("otherof"));
+    }
+
+    @Test
+    public void testClearIsAppliedOnOtherNodes() {
+        this.nodeB.getCache("charges").put("defaultch", "B");
+        this.nodeB.getCache("offices").put("defaultof", "B");
+
+        this.nodeA.getCache("charges").clear();
+
+        assertNull(this.nodeB.getCache("charges").get("defaultch"));
+        assertNotNull(this.nodeB.getCache("offices").get("defaultof"));
+    }
+
+    @Test
+    public void testNonTextKeyClearsCacheOnOtherNodes() {
+        this.nodeB.getCache("charges").put("defaultch", "B");
+
+        this.nodeA.getCache("charges").evict(Long.valueOf(1));
+
+        assertNull(this.nodeB.getCache("charges").get("defaultch"));
+    }
+
+    @Test
+    public void testPutIsNotBroadcast() {
+        this.nodeA.getCache("offices").put("defaultof", "A");
+
+        assertNull(this.nodeB.getCache("offices").get("defaultof"));
+    }
+
+    @Test
+    public void testEvictionOfRegisteredCacheIsAppliedOnOtherNodes() {
+        final Cache entitiesA = new ConcurrentMapCache("entities");
+        final Cache entitiesB = new ConcurrentMapCache("entities");
+        this.nodeA.registerLocalCache(entitiesA);
+        this.nodeB.registerLocalCache(entitiesB);
+        entitiesB.put("default|Office|1", "B");
+        entitiesB.put("default|Office|2", "B");
+
+        this.nodeA.getCache("entities").evict("default|Office|1");
+
+        assertNull(entitiesB.get("default|Office|1"));
+        assertNotNull(entitiesB.get("default|Office|2"));
+    }
+
+    @Test
+    public void testStoppedNodeIgnoresEvictions() {
+        final Cache offices = this.nodeB.getCache("offices");
+        offices.put("defaultof", "B");
+        this.nodeB.stop();
+
+        this.nodeA.getCache("offices").evict("defaultof");
+
+        assertEquals("B", offices.get("defaultof").get());
+    }
+}
@@ -0,0 +1,152 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.cache.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Unit Test for {@link TenantScopedCacheService}.
+ */
+public class TenantScopedCacheServiceTest {
+
+    private static final FineractPlatformTenant DEFAULT_TENANT = new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata",
+            null);
+    private static final FineractPlatformTenant OTHER_TENANT = new FineractPlatformTenant(2L, "other", "Other", "Asia/Kolkata", null);
+
+    private TenantScopedCacheService nodeA;
+    private TenantScopedCacheService nodeB;
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    public void setUp() {
+        final LoopbackCacheInvalidationTransport transportA = new LoopbackCacheInvalidationTransport();
+        final LoopbackCacheInvalidationTransport transportB = transportA.newPeer();
+        final ConcurrentMapCacheManager localA = new ConcurrentMapCacheManager("interopIdentifiers");
+        final ConcurrentMapCacheManager localB = new ConcurrentMapCacheManager("interopIdentifiers");
+        final MultiNodeCacheManager multiNodeA = new MultiNodeCacheManager(localA, transportA, "A");
+        final MultiNodeCacheManager multiNodeB = new MultiNodeCacheManager(localB, transportB, "B");
+        multiNodeA.start();
+        multiNodeB.start();
+        this.nodeA = new TenantScopedCacheService(localA, multiNodeA);
+        this.nodeB = new TenantScopedCacheService(localB, multiNodeB);
+        ThreadLocalContextUtil.setTenant(DEFAULT_TENANT);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        ThreadLocalContextUtil.clearTenant();
+    }
+
+    @Test
+    public void testValuesAreCachedPerTenant() {
+        assertEquals("A1", this.nodeA.get("interopIdentifiers", "MSISDN:1", () -> load("A1")));
+        assertEquals("A1", this.nodeA.get("interopIdentifiers", "MSISDN:1", () -> load("A2")));
+
+        ThreadLocalContextUtil.setTenant(OTHER_TENANT);
+        assertEquals("O1", this.nodeA.get("interopIdentifiers", "MSISDN:1", () -> load("O1")));
+        assertEquals(2, this.loads.get());
+    }
+
+    @Test
+    public void testMissingValuesAreNotCached() {
+        assertNull(this.nodeA.get("interopIdentifiers", "MSISDN:1", () -> load(null)));
+        assertEquals("A1", this.nodeA.get("interopIdentifiers", "MSISDN:1", () -> load("A1")));
+        assertEquals(2, this.loads.get());
+    }
+
+    @Test
+    public void testEvictionIsAppliedOnOtherNodes() {
+        this.nodeA.get("interopIdentifiers", "MSISDN:1", () -> load("A1"));
+        this.nodeB.get("interopIdentifiers", "MSISDN:1", () -> load("B1"));
+
+        this.nodeA.evict("interopIdentifiers", "MSISDN:1");
+
+        assertEquals("A2", this.nodeA.get("interopIdentifiers", "MSISDN:1", () -> load("A2")));
+        assertEquals("B2", this.nodeB.get("interopIdentifiers", "MSISDN:1", () -> load("B2")));
+    }
+
+    @Test
+    public void testEvictionOnlyAppliesToCurrentTenant() {
+        this.nodeA.get("interopIdentifiers", "MSISDN:1", () -> load("A1"));
+        ThreadLocalContextUtil.setTenant(OTHER_TENANT);
+        this.nodeA.get("interopIdentifiers", "MSISDN:1", () -> load("O1"));
+
+        this.nodeA.evict("interopIdentifiers", "MSISDN:1");
+
+        assertEquals("O2", this.nodeA.get("interopIdentifiers", "MSISDN:1", () -> load("O2")));
+        ThreadLocalContextUtil.setTenant(DEFAULT_TENANT);
+        assertEquals("A1", this.nodeA.get("interopIdentifiers", "MSISDN:1", () -> load("A2")));
+    }
+
+    @Test
+    public void testValueLoadedDuringTransactionIsEvictedOnCompletion() {
+        TransactionSynchronizationManager.initSynchronization();
+        this.nodeA.evict("interopIdentifiers", "MSISDN:1");
+        // a concurrent reader loading the rows before the transaction commits
+        this.nodeA.get("interopIdentifiers", "MSISDN:1", () -> load("A1"));
+
+        for (final TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        }
+
+        assertEquals("A2", this.nodeA.get("interopIdentifiers", "MSISDN:1", () -> load("A2")));
+    }
+
+    @Test
+    public void testValueEvictedWhileLoadingIsNotCached() {
+        assertEquals("A1", this.nodeA.get("interopIdentifiers", "MSISDN:1", () -> {
+            this.nodeA.evict("interopIdentifiers", "MSISDN:1");
+            return load("A1");
+        }));
+
+        assertEquals("A2", this.nodeA.get("interopIdentifiers", "MSISDN:1", () -> load("A2")));
+    }
+
+    @Test
+    public void testValuesAreCachedWhenPlatformCacheIsDisabled() {
+        final TenantScopedCacheService service = new TenantScopedCacheService(new ConcurrentMapCacheManager("interopIdentifiers"),
+                new NoOpCacheManager());
+
+        service.get("interopIdentifiers", "MSISDN:1", () -> load("A1"));
+        assertEquals("A1", service.get("interopIdentifiers", "MSISDN:1", () -> load("A2")));
+
+        service.evict("interopIdentifiers", "MSISDN:1");
+        assertEquals("A3", service.get("interopIdentifiers", "MSISDN:1", () -> load("A3")));
+    }
+
+    private String load(final String value) {
+        this.loads.incrementAndGet();
+        return value;
+    }
+}
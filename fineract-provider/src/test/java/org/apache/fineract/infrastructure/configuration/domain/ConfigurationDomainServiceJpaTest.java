@@ -0,0 +1,150 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.configuration.domain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.List;
+import org.apache.fineract.infrastructure.cache.domain.PlatformCacheRepository;
+import org.apache.fineract.infrastructure.cache.service.TenantScopedCacheService;
+import org.apache.fineract.infrastructure.configuration.data.GlobalConfigurationLookupData;
+import org.apache.fineract.infrastructure.configuration.exception.GlobalConfigurationPropertyNotFoundException;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.useradministration.domain.PermissionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+
+/**
+ * Unit Test for {@link ConfigurationDomainServiceJpa}.
+ */
+@ExtendWith(MockitoExtension.class)
+public class ConfigurationDomainServiceJpaTest {
+
+    @Mock
+    private PermissionRepository permissionRepository;
+
+    @Mock
+    private GlobalConfigurationRepositoryWrapper globalConfigurationRepository;
+
+    @Mock
+    private PlatformCacheRepository cacheTypeRepository;
+
+    private ConfigurationDomainServiceJpa configurationDomainService;
+
+    @BeforeEach
+    public void setUp() {
+        final TenantScopedCacheService tenantScopedCacheService = new TenantScopedCacheService(
+                new ConcurrentMapCacheManager(ConfigurationDomainServiceJpa.GLOBAL_CONFIGURATION_CACHE), new NoOpCacheManager());
+        this.configurationDomainService = new ConfigurationDomainServiceJpa(this.permissionRepository, this.globalConfigurationRepository,
+                this.cacheTypeRepository, tenantScopedCacheService);
+        useTenant("default");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadLocalContextUtil.clearTenant();
+    }
+
+    @Test
+    public void testPropertiesAreLoadedOncePerTenant() {
+        when(this.globalConfigurationRepository.findAll()).thenReturn(configuration(true, 5L));
+
+        assertTrue(this.configurationDomainService.isBackdatePenaltiesEnabled());
+        assertEquals(5L, this.configurationDomainService.retrievePenaltyWaitPeriod());
+        assertTrue(this.configurationDomainService.isBackdatePenaltiesEnabled());
+        verify(this.globalConfigurationRepository, times(1)).findAll();
+
+        useTenant("other");
+        assertTrue(this.configurationDomainService.isBackdatePenaltiesEnabled());
+        verify(this.globalConfigurationRepository, times(2)).findAll();
+    }
+
+    @Test
+    public void testSnapshotIsReplacedAfterUpdate() {
+        when(this.globalConfigurationRepository.findAll()).thenReturn(configuration(true, 5L), configuration(false, 7L));
+
+        assertTrue(this.configurationDomainService.isBackdatePenaltiesEnabled());
+
+        this.configurationDomainService.removeGlobalConfigurationPropertyDataFromCache("backdate-penalties-enabled");
+
+        assertFalse(this.configurationDomainService.isBackdatePenaltiesEnabled());
+        assertEquals(7L, this.configurationDomainService.retrievePenaltyWaitPeriod());
+        verify(this.globalConfigurationRepository, times(2)).findAll();
+    }
+
+    @Test
+    public void testMissingPropertyIsReported() {
+        when(this.globalConfigurationRepository.findAll()).thenReturn(configuration(true, 5L));
+
+        assertThrows(GlobalConfigurationPropertyNotFoundException.class, () -> this.configurationDomainService.isAmazonS3Enabled());
+    }
+
+    @Test
+    public void testLookupsAreCountedPerProperty() {
+        when(this.globalConfigurationRepository.findAll()).thenReturn(configuration(true, 5L));
+
+        this.configurationDomainService.isBackdatePenaltiesEnabled();
+        this.configurationDomainService.retrievePenaltyWaitPeriod();
+        this.configurationDomainService.isBackdatePenaltiesEnabled();
+
+        final List<GlobalConfigurationLookupData> lookups = this.configurationDomainService.retrieveGlobalConfigurationLookupCounts();
+        assertEquals(2, lookups.size());
+        assertEquals("backdate-penalties-enabled", lookups.get(0).getName());
+        assertEquals(2, lookups.get(0).getLookups());
+        assertEquals("penalty-wait-period", lookups.get(1).getName());
+        assertEquals(1, lookups.get(1).getLookups());
+    }
+
+    @Test
+    public void testLookupsAreCountedPerTenant() {
+        when(this.globalConfigurationRepository.findAll()).thenReturn(configuration(true, 5L));
+
+        this.configurationDomainService.isBackdatePenaltiesEnabled();
+        useTenant("other");
+        this.configurationDomainService.retrievePenaltyWaitPeriod();
+
+        final List<GlobalConfigurationLookupData> lookups = this.configurationDomainService.retrieveGlobalConfigurationLookupCounts();
+        assertEquals(1, lookups.size());
+        assertEquals("penalty-wait-period", lookups.get(0).getName());
+        assertEquals(1, lookups.get(0).getLookups());
+    }
+
+    private static List<GlobalConfigurationProperty> configuration(final boolean backdatePenalties, final Long penaltyWaitPeriod) {
+        return Arrays.asList(new GlobalConfigurationProperty("backdate-penalties-enabled", backdatePenalties, null, null, null, false),
+                new GlobalConfigurationProperty("penalty-wait-period", true, penaltyWaitPeriod, null, null, false));
+    }
+
+    private static void useTenant(final String tenantIdentifier) {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, tenantIdentifier, tenantIdentifier, "Asia/Kolkata", null));
+    }
+}
@@ -0,0 +1,134 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenantConnection;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+/**
+ * Unit Test for {@link LockConflictRetryUtil}.
+ */
+public class LockConflictRetryUtilTest {
+
+    @AfterEach
+    public void tearDown() {
+        ThreadLocalContextUtil.clearTenant();
+    }
+
+    @Test
+    public void testWorkThatSucceedsRunsOnce() {
+        setTenant(3);
+        final AtomicInteger runs = new AtomicInteger();
+
+        LockConflictRetryUtil.retryOnLockConflict("Test", runs::incrementAndGet);
+
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    public void testLockConflictIsRetried() {
+        setTenant(3);
+        final AtomicInteger runs = new AtomicInteger();
+
+        final long started = System.currentTimeMillis();
+        LockConflictRetryUtil.retryOnLockConflict("Test", () -> {
+            if (runs.incrementAndGet() == 1) {
+                throw new CannotAcquireLockException("deadlock");
+            }
+        });
+
+        assertEquals(2, runs.get());
+        // waits at least a second between attempts
+        assertTrue(System.currentTimeMillis() - started >= 1000);
+    }
+
+    @Test
+    public void testOptimisticLockingFailureIsRetried() {
+        setTenant(3);
+        final AtomicInteger runs = new AtomicInteger();
+
+        LockConflictRetryUtil.retryOnLockConflict("Test", () -> {
+            if (runs.incrementAndGet() == 1) {
+                throw new ObjectOptimisticLockingFailureException(Object.class, 1L);
+            }
+        });
+
+        assertEquals(2, runs.get());
+    }
+
+    @Test
+    public void testLockConflictIsRethrownOnceRetriesAreUsedUp() {
+        setTenant(1);
+        final AtomicInteger runs = new AtomicInteger();
+        final CannotAcquireLockException conflict = new CannotAcquireLockException("deadlock");
+
+        final CannotAcquireLockException thrown = assertThrows(CannotAcquireLockException.class,
+                () -> LockConflictRetryUtil.retryOnLockConflict("Test", () -> {
+                    runs.incrementAndGet();
+                    throw conflict;
+                }));
+
+        assertSame(conflict, thrown);
+        assertEquals(2, runs.get());
+    }
+
+    @Test
+    public void testOtherFailuresAreNotRetried() {
+        setTenant(3);
+        final AtomicInteger runs = new AtomicInteger();
+
+        assertThrows(DataIntegrityViolationException.class, () -> LockConflictRetryUtil.retryOnLockConflict("Test", () -> {
+            runs.incrementAndGet();
+            throw new DataIntegrityViolationException("duplicate");
+        }));
+
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    public void testNoRetriesWhenTenantAllowsNone() {
+        setTenant(0);
+        final AtomicInteger runs = new AtomicInteger();
+
+        assertThrows(CannotAcquireLockException.class, () -> LockConflictRetryUtil.retryOnLockConflict("Test", () -> {
+            runs.incrementAndGet();
+            throw new CannotAcquireLockException("deadlock");
+        }));
+
+        assertEquals(1, runs.get());
+    }
+
+    private static void setTenant(final int maxRetriesOnDeadlock) {
+        final FineractPlatformTenantConnection connection = new FineractPlatformTenantConnection(1L, "fineract_default", "localhost",
+                "3306", null, "root", "mysql", false, 5, 30000L, true, 60, false, 50, 40, 20, 10, 60, 34000, 60000, maxRetriesOnDeadlock, 0,
+                true);
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", connection));
+    }
+}
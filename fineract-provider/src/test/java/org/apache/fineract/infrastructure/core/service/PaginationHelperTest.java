@@ -0,0 +1,71 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.apache.fineract.infrastructure.core.exception.PlatformApiDataValidationException;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit Test for {@link PaginationHelper} and {@link PageCursor}.
+ */
+public class PaginationHelperTest {
+
+    @Test
+    public void testCountSqlDropsSelectList() {
+        assertEquals("select count(*) from (select 1 as found_row from m_loan l where l.id > ?) filtered_rows",
+                PaginationHelper.countSql("select l.id as id, l.account_no as accountNo from m_loan l where l.id > ?"));
+    }
+
+    @Test
+    public void testCountSqlSkipsNestedFrom() {
+        final String sql = "select c.id as id, (select count(*) from m_loan l where l.client_id = c.id) as loans, 'from' as label"
+                + " from m_client c";
+        assertEquals("select count(*) from (select 1 as found_row from m_client c) filtered_rows", PaginationHelper.countSql(sql));
+    }
+
+    @Test
+    public void testCountSqlWithoutFrom() {
+        assertThrows(IllegalArgumentException.class, () -> PaginationHelper.countSql("select fromage, 1 as fromDate"));
+    }
+
+    @Test
+    public void testCursorRoundTrip() {
+        final PageCursor cursor = PageCursor.from(PageCursor.of("2020-01-31", "42").encode());
+        assertEquals(2, cursor.size());
+        assertEquals("2020-01-31", cursor.getString(0));
+        assertEquals(Long.valueOf(42), cursor.getLong(1));
+    }
+
+    @Test
+    public void testBlankCursor() {
+        assertNull(PageCursor.from(null));
+        assertNull(PageCursor.from(" "));
+    }
+
+    @Test
+    public void testInvalidCursor() {
+        assertThrows(PlatformApiDataValidationException.class, () -> PageCursor.from("not base64!"));
+        assertThrows(PlatformApiDataValidationException.class, () -> PageCursor.from(PageCursor.of("abc").encode()).getLong(0));
+        assertThrows(PlatformApiDataValidationException.class, () -> PageCursor.from(PageCursor.of("1", "2").encode()).expectKeys(1));
+    }
+}
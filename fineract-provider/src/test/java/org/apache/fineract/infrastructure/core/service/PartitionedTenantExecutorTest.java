@@ -0,0 +1,85 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.security.service.TenantDetailsService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * Unit Test for {@link PartitionedTenantExecutor}.
+ */
+@ExtendWith(MockitoExtension.class)
+public class PartitionedTenantExecutorTest {
+
+    @Mock
+    private TenantDetailsService tenantDetailsService;
+
+    @Test
+    public void testTasksOfSameKeyRunInOrderOnTheirTenant() throws InterruptedException {
+        final FineractPlatformTenant tenant = new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null);
+        when(this.tenantDetailsService.loadTenantById("default")).thenReturn(tenant);
+        final PartitionedTenantExecutor executor = new PartitionedTenantExecutor("test", this.tenantDetailsService);
+        final List<String> runs = new CopyOnWriteArrayList<>();
+        final List<String> threads = new CopyOnWriteArrayList<>();
+
+        for (int i = 0; i < 20; i++) {
+            final String run = String.valueOf(i);
+            executor.execute("default", "7", () -> {
+                runs.add(run + "@" + ThreadLocalContextUtil.getTenant().getTenantIdentifier());
+                threads.add(Thread.currentThread().getName());
+            });
+        }
+        executor.shutdown(10, TimeUnit.SECONDS);
+
+        assertEquals(20, runs.size());
+        for (int i = 0; i < 20; i++) {
+            assertEquals(i + "@default", runs.get(i));
+            assertEquals(threads.get(0), threads.get(i));
+        }
+    }
+
+    @Test
+    public void testFailedTaskDoesNotStopItsPartition() throws InterruptedException {
+        final FineractPlatformTenant tenant = new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null);
+        when(this.tenantDetailsService.loadTenantById("default")).thenReturn(tenant);
+        final PartitionedTenantExecutor executor = new PartitionedTenantExecutor("test", this.tenantDetailsService);
+        final List<String> runs = new CopyOnWriteArrayList<>();
+
+        executor.execute("default", "7", () -> {
+            throw new IllegalStateException("failed");
+        });
+        executor.execute("default", "7", () -> runs.add(ThreadLocalContextUtil.getTenant().getTenantIdentifier()));
+        executor.shutdown(10, TimeUnit.SECONDS);
+
+        assertEquals(1, runs.size());
+        assertEquals("default", runs.get(0));
+        assertNull(ThreadLocalContextUtil.getTenant());
+    }
+}
@@ -0,0 +1,97 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Unit Test for {@link TenantAwareTasks}.
+ */
+public class TenantAwareTasksTest {
+
+    private static final FineractPlatformTenant TENANT = new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null);
+
+    private final SecurityContext securityContext = SecurityContextHolder.createEmptyContext();
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void setUp() {
+        this.executor = Executors.newSingleThreadExecutor();
+        ThreadLocalContextUtil.setTenant(TENANT);
+        SecurityContextHolder.setContext(this.securityContext);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        this.executor.shutdownNow();
+        SecurityContextHolder.clearContext();
+        ThreadLocalContextUtil.clearTenant();
+    }
+
+    @Test
+    public void testCallableRunsWithContextOfWrappingThread() throws Exception {
+        final Callable<Object[]> task = () -> new Object[] { ThreadLocalContextUtil.getTenant(), SecurityContextHolder.getContext() };
+        final Future<Object[]> seen = this.executor.submit(TenantAwareTasks.wrap(task));
+
+        assertSame(TENANT, seen.get()[0]);
+        assertSame(this.securityContext, seen.get()[1]);
+        assertNull(this.executor.submit(ThreadLocalContextUtil::getTenant).get());
+    }
+
+    @Test
+    public void testRunnableRunsWithContextOfWrappingThread() throws Exception {
+        final FineractPlatformTenant[] seen = new FineractPlatformTenant[1];
+        final Runnable task = () -> seen[0] = ThreadLocalContextUtil.getTenant();
+
+        this.executor.submit(TenantAwareTasks.wrap(task)).get();
+
+        assertSame(TENANT, seen[0]);
+        assertNull(this.executor.submit(ThreadLocalContextUtil::getTenant).get());
+    }
+
+    @Test
+    public void testContextIsClearedWhenTaskFails() throws Exception {
+        final IllegalStateException failure = new IllegalStateException("task failed");
+        final Callable<Void> task = () -> {
+            throw failure;
+        };
+        final Future<Void> result = this.executor.submit(TenantAwareTasks.wrap(task));
+
+        final ExecutionException thrown = assertThrows(ExecutionException.class, result::get);
+
+        assertSame(failure, thrown.getCause());
+        assertNull(this.executor.submit(ThreadLocalContextUtil::getTenant).get());
+        assertEquals(SecurityContextHolder.createEmptyContext(), this.executor.submit(SecurityContextHolder::getContext).get());
+    }
+}
@@ -0,0 +1,184 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.documentmanagement.api;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.google.common.io.ByteSource;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+import org.apache.fineract.infrastructure.documentmanagement.data.FileData;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Unit Test for the byte range handling of {@link ContentResources}.
+ */
+public class ContentResourcesTest {
+
+    private static final byte[] CONTENT = "0123456789".getBytes(StandardCharsets.US_ASCII);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testNoRangeHeaderSendsWholeContent() {
+        assertNull(parseRange(null, 10));
+    }
+
+    @Test
+    public void testClosedRange() {
+        assertArrayEquals(new long[] { 2, 5 }, parseRange("bytes=2-5", 10));
+        assertArrayEquals(new long[] { 0, 0 }, parseRange("bytes=0-0", 10));
+        assertArrayEquals(new long[] { 9, 9 }, parseRange(" bytes=9-9 ", 10));
+    }
+
+    @Test
+    public void testOpenRangeEndsAtLastByte() {
+        assertArrayEquals(new long[] { 4, 9 }, parseRange("bytes=4-", 10));
+    }
+
+    @Test
+    public void testLastBeyondSizeIsClampedToLastByte() {
+        assertArrayEquals(new long[] { 4, 9 }, parseRange("bytes=4-10", 10));
+        assertArrayEquals(new long[] { 0, 9 }, parseRange("bytes=0-99999999999", 10));
+    }
+
+    @Test
+    public void testSuffixRange() {
+        assertArrayEquals(new long[] { 7, 9 }, parseRange("bytes=-3", 10));
+        assertArrayEquals(new long[] { 0, 9 }, parseRange("bytes=-10", 10));
+    }
+
+    @Test
+    public void testSuffixLongerThanContentSendsWholeContentAsRange() {
+        assertArrayEquals(new long[] { 0, 9 }, parseRange("bytes=-25", 10));
+    }
+
+    @Test
+    public void testEmptySuffixIsUnsatisfiable() {
+        assertUnsatisfiable(parseRange("bytes=-0", 10));
+    }
+
+    @Test
+    public void testFirstAtOrBeyondSizeIsUnsatisfiable() {
+        assertUnsatisfiable(parseRange("bytes=10-", 10));
+        assertUnsatisfiable(parseRange("bytes=10-12", 10));
+        assertUnsatisfiable(parseRange("bytes=11-", 10));
+    }
+
+    @Test
+    public void testZeroLengthContentIsUnsatisfiable() {
+        assertUnsatisfiable(parseRange("bytes=0-", 0));
+        assertUnsatisfiable(parseRange("bytes=0-0", 0));
+        assertUnsatisfiable(parseRange("bytes=-1", 0));
+    }
+
+    @Test
+    public void testMalformedHeaderIsIgnored() {
+        assertNull(parseRange("bytes=-", 10));
+        assertNull(parseRange("bytes=a-b", 10));
+        assertNull(parseRange("bytes=1-2-3", 10));
+        assertNull(parseRange("items=0-5", 10));
+        assertNull(parseRange("bytes 0-5", 10));
+        assertNull(parseRange("", 10));
+        assertNull(parseRange("bytes=99999999999999999999-", 10));
+    }
+
+    @Test
+    public void testLastBeforeFirstIsIgnored() {
+        assertNull(parseRange("bytes=5-2", 10));
+    }
+
+    @Test
+    public void testMultipleRangesAreIgnored() {
+        assertNull(parseRange("bytes=0-1,4-5", 10));
+        assertNull(parseRange("bytes=0-1, -2", 10));
+    }
+
+    @Test
+    public void testRangeOfFileIsSentAsPartialContent() throws IOException {
+        final Path file = Files.write(this.directory.resolve("content.txt"), CONTENT);
+
+        final Response response = ContentResources
+                .fileDataToResponse(new FileData(file.toFile(), "content.txt", "text/plain"), "attachment", "bytes=3-6");
+
+        assertEquals(Response.Status.PARTIAL_CONTENT.getStatusCode(), response.getStatus());
+        assertEquals("bytes 3-6/10", response.getMetadata().getFirst("Content-Range"));
+        assertEquals(4L, response.getMetadata().getFirst("Content-Length"));
+        assertEquals("3456", body(response));
+    }
+
+    @Test
+    public void testRangeOfStreamedContentIsSentAsPartialContent() throws IOException {
+        final Response response = ContentResources
+                .fileDataToResponse(new FileData(ByteSource.wrap(CONTENT), "content.txt", "text/plain"), "attachment", "bytes=-4");
+
+        assertEquals(Response.Status.PARTIAL_CONTENT.getStatusCode(), response.getStatus());
+        assertEquals("bytes 6-9/10", response.getMetadata().getFirst("Content-Range"));
+        assertEquals("6789", body(response));
+    }
+
+    @Test
+    public void testUnsatisfiableRangeIsRejected() throws IOException {
+        final Path file = Files.write(this.directory.resolve("content.txt"), CONTENT);
+
+        final Response response = ContentResources
+                .fileDataToResponse(new FileData(file.toFile(), "content.txt", "text/plain"), "attachment", "bytes=10-");
+
+        assertEquals(416, response.getStatus());
+        assertEquals("bytes */10", response.getMetadata().getFirst("Content-Range"));
+        assertNull(response.getEntity());
+    }
+
+    @Test
+    public void testMultipleRangesGetWholeContent() throws IOException {
+        final Path file = Files.write(this.directory.resolve("content.txt"), CONTENT);
+
+        final Response response = ContentResources
+                .fileDataToResponse(new FileData(file.toFile(), "content.txt", "text/plain"), "attachment", "bytes=0-1,4-5");
+
+        assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
+        assertNull(response.getMetadata().getFirst("Content-Range"));
+        assertEquals("bytes", response.getMetadata().getFirst("Accept-Ranges"));
+        assertEquals("0123456789", body(response));
+    }
+
+    private static long[] parseRange(final String rangeHeader, final long size) {
+        return ReflectionTestUtils.invokeMethod(ContentResources.class, "parseRange", rangeHeader, size);
+    }
+
+    private static void assertUnsatisfiable(final long[] range) {
+        assertEquals(0, range.length);
+    }
+
+    private static String body(final Response response) throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ((StreamingOutput) response.getEntity()).write(output);
+        return new String(output.toByteArray(), StandardCharsets.US_ASCII);
+    }
+}
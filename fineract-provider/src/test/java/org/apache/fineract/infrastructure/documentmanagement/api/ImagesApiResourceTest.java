@@ -0,0 +1,184 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.documentmanagement.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import com.google.common.io.ByteSource;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.documentmanagement.contentrepository.ContentRepository;
+import org.apache.fineract.infrastructure.documentmanagement.contentrepository.ContentRepositoryFactory;
+import org.apache.fineract.infrastructure.documentmanagement.contentrepository.FileSystemContentRepository;
+import org.apache.fineract.infrastructure.documentmanagement.data.FileData;
+import org.apache.fineract.infrastructure.documentmanagement.data.ImageData;
+import org.apache.fineract.infrastructure.documentmanagement.data.ImageRenditionCache;
+import org.apache.fineract.infrastructure.documentmanagement.data.ImageResizer;
+import org.apache.fineract.infrastructure.documentmanagement.domain.StorageType;
+import org.apache.fineract.infrastructure.documentmanagement.service.ImageReadPlatformService;
+import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
+import org.apache.fineract.useradministration.domain.AppUser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.env.MockEnvironment;
+
+/**
+ * Unit Test for the conditional GET handling of {@link ImagesApiResource#retrieveImage}.
+ */
+@ExtendWith(MockitoExtension.class)
+public class ImagesApiResourceTest {
+
+    private static final String CLIENTS = "clients";
+    private static final Long CLIENT_ID = 1L;
+
+    @Mock
+    private PlatformSecurityContext context;
+
+    @Mock
+    private AppUser user;
+
+    @Mock
+    private ImageReadPlatformService imageReadPlatformService;
+
+    @Mock
+    private ImageResizer imageResizer;
+
+    @Mock
+    private ContentRepositoryFactory contentRepositoryFactory;
+
+    @Mock
+    private ContentRepository contentRepository;
+
+    @Mock
+    private Request request;
+
+    private String tenantName;
+    private ImagesApiResource resource;
+    private EntityTag ifNoneMatch;
+
+    @BeforeEach
+    public void setUp() {
+        this.tenantName = "images-api-test-" + UUID.randomUUID();
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", this.tenantName, "Asia/Kolkata", null));
+        when(this.context.authenticatedUser()).thenReturn(this.user);
+        when(this.contentRepositoryFactory.getRepository(StorageType.FILE_SYSTEM)).thenReturn(this.contentRepository);
+        when(this.contentRepository.fetchImage(any(ImageData.class)))
+                .thenReturn(new FileData(ByteSource.wrap("image".getBytes(StandardCharsets.UTF_8)), "image.jpg", "image/jpeg"));
+        when(this.imageResizer.resize(any(FileData.class), any(), any())).thenAnswer(invocation -> invocation.getArgument(0));
+        // stands in for the container, which compares the validators with the If-None-Match header
+        when(this.request.evaluatePreconditions(any(Date.class), any(EntityTag.class))).thenAnswer(invocation -> {
+            final EntityTag entityTag = invocation.getArgument(1);
+            return entityTag.equals(this.ifNoneMatch) ? Response.notModified(entityTag) : null;
+        });
+        final ImageRenditionCache imageRenditionCache = new ImageRenditionCache(this.imageResizer, this.contentRepositoryFactory,
+                new MockEnvironment());
+        this.resource = new ImagesApiResource(this.context, this.imageReadPlatformService, null, null, null, imageRenditionCache);
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        ThreadLocalContextUtil.clearTenant();
+        final Path tenantDirectory = Paths.get(FileSystemContentRepository.FINERACT_BASE_DIR, this.tenantName);
+        if (Files.exists(tenantDirectory)) {
+            try (Stream<Path> files = Files.walk(tenantDirectory)) {
+                for (final Path path : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                    Files.delete(path);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testMatchingEntityTagIsAnsweredNotModified() {
+        useImage(0);
+        final Response response = retrieve(null);
+        assertEquals(200, response.getStatus());
+        assertNotNull(response.getEntity());
+
+        this.ifNoneMatch = entityTag(response);
+        final Response notModified = retrieve(null);
+
+        assertEquals(304, notModified.getStatus());
+        assertNull(notModified.getEntity());
+        assertEquals(this.ifNoneMatch, entityTag(notModified));
+        assertNotNull(notModified.getMetadata().getFirst(HttpHeaders.LAST_MODIFIED));
+        assertTrue(notModified.getMetadata().getFirst(HttpHeaders.CACHE_CONTROL).toString().contains("no-cache"));
+    }
+
+    @Test
+    public void testReplacedImageIsServedAgain() {
+        useImage(0);
+        this.ifNoneMatch = entityTag(retrieve(null));
+
+        useImage(1);
+        final Response response = retrieve(null);
+
+        assertEquals(200, response.getStatus());
+        assertNotEquals(this.ifNoneMatch, entityTag(response));
+    }
+
+    @Test
+    public void testBinaryAndBase64RepresentationsHaveDifferentEntityTags() {
+        useImage(0);
+        final EntityTag base64 = entityTag(retrieve(null));
+        this.ifNoneMatch = base64;
+
+        final Response octet = retrieve("octet");
+
+        assertEquals(200, octet.getStatus());
+        assertNotEquals(base64, entityTag(octet));
+    }
+
+    private void useImage(final int contentVersion) {
+        when(this.imageReadPlatformService.retrieveImageData(CLIENTS, CLIENT_ID))
+                .thenReturn(new ImageData(7L, "images/clients/1/image.jpg", StorageType.FILE_SYSTEM, contentVersion, "Jane Doe"));
+    }
+
+    private Response retrieve(final String output) {
+        return this.resource.retrieveImage(CLIENTS, CLIENT_ID, 100, 50, output, null, this.request);
+    }
+
+    private static EntityTag entityTag(final Response response) {
+        return (EntityTag) response.getMetadata().getFirst(HttpHeaders.ETAG);
+    }
+}
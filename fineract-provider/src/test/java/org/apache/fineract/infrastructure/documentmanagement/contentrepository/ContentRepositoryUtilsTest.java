@@ -0,0 +1,190 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.documentmanagement.contentrepository;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.apache.fineract.infrastructure.documentmanagement.contentrepository.ContentRepositoryUtils.StoredContent;
+import org.apache.fineract.infrastructure.documentmanagement.exception.ContentManagementException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit Test for {@link ContentRepositoryUtils#writeToFile(InputStream, Path, String)}.
+ */
+public class ContentRepositoryUtilsTest {
+
+    private static final long MB = 1024 * 1024;
+    private static final long SIZE_LIMIT = (ContentRepository.MAX_FILE_UPLOAD_SIZE_IN_MB + 1) * MB - 1;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testContentIsStoredWithSizeAndMd5() throws Exception {
+        final Path target = this.directory.resolve("upload.txt");
+
+        final StoredContent stored = ContentRepositoryUtils
+                .writeToFile(new ByteArrayInputStream("abc".getBytes(StandardCharsets.US_ASCII)), target, "upload.txt");
+
+        assertEquals(3, stored.getSize());
+        assertEquals("kAFQmDzST7DWlj99KOF/cg==", stored.getMd5AsBase64());
+        assertEquals("abc", new String(Files.readAllBytes(target), StandardCharsets.US_ASCII));
+        assertEquals(List.of(target), files());
+    }
+
+    @Test
+    public void testEmptyContentIsStored() throws Exception {
+        final Path target = this.directory.resolve("empty.txt");
+
+        final StoredContent stored = ContentRepositoryUtils.writeToFile(new ByteArrayInputStream(new byte[0]), target, "empty.txt");
+
+        assertEquals(0, stored.getSize());
+        assertEquals("1B2M2Y8AsgTpgAmY7PhCfg==", stored.getMd5AsBase64());
+        assertEquals(0, Files.size(target));
+    }
+
+    @Test
+    public void testContentSpanningManyBuffersIsStoredWithMd5OfAllBytes() throws Exception {
+        final Path target = this.directory.resolve("upload.bin");
+        final GeneratedInputStream upload = new GeneratedInputStream(MB + 17);
+
+        final StoredContent stored = ContentRepositoryUtils.writeToFile(upload, target, "upload.bin");
+
+        final byte[] expected = new GeneratedInputStream(MB + 17).readAllBytes();
+        assertEquals(expected.length, stored.getSize());
+        assertEquals(Base64.getEncoder().encodeToString(MessageDigest.getInstance("MD5").digest(expected)), stored.getMd5AsBase64());
+        assertArrayEquals(expected, Files.readAllBytes(target));
+    }
+
+    @Test
+    public void testContentAtSizeLimitIsStored() throws Exception {
+        final Path target = this.directory.resolve("large.bin");
+
+        final StoredContent stored = ContentRepositoryUtils.writeToFile(new GeneratedInputStream(SIZE_LIMIT), target, "large.bin");
+
+        assertEquals(SIZE_LIMIT, stored.getSize());
+        assertEquals(SIZE_LIMIT, Files.size(target));
+    }
+
+    @Test
+    public void testContentOverSizeLimitIsRejectedWithoutReadingItAll() throws Exception {
+        final Path target = this.directory.resolve("huge.bin");
+        final GeneratedInputStream upload = new GeneratedInputStream(100 * MB);
+
+        assertThrows(ContentManagementException.class, () -> ContentRepositoryUtils.writeToFile(upload, target, "huge.bin"));
+
+        assertTrue(upload.position <= SIZE_LIMIT + 64 * 1024);
+        assertTrue(files().isEmpty());
+    }
+
+    @Test
+    public void testExistingFileIsReplaced() throws Exception {
+        final Path target = Files.write(this.directory.resolve("upload.txt"), "old content".getBytes(StandardCharsets.US_ASCII));
+
+        ContentRepositoryUtils.writeToFile(new ByteArrayInputStream("new".getBytes(StandardCharsets.US_ASCII)), target, "upload.txt");
+
+        assertEquals("new", new String(Files.readAllBytes(target), StandardCharsets.US_ASCII));
+        assertEquals(List.of(target), files());
+    }
+
+    @Test
+    public void testFailedUploadKeepsExistingFile() throws Exception {
+        final Path target = Files.write(this.directory.resolve("upload.txt"), "old content".getBytes(StandardCharsets.US_ASCII));
+        final InputStream upload = new GeneratedInputStream(MB) {
+
+            @Override
+            public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+                if (this.position > 100 * 1024) {
+                    throw new IOException("connection reset");
+                }
+                return super.read(buffer, offset, length);
+            }
+        };
+
+        assertThrows(IOException.class, () -> ContentRepositoryUtils.writeToFile(upload, target, "upload.txt"));
+
+        assertEquals("old content", new String(Files.readAllBytes(target), StandardCharsets.US_ASCII));
+        assertEquals(List.of(target), files());
+    }
+
+    @Test
+    public void testContentOneByteOverSizeLimitIsRejected() {
+        final Path target = this.directory.resolve("huge.bin");
+
+        assertThrows(ContentManagementException.class,
+                () -> ContentRepositoryUtils.writeToFile(new GeneratedInputStream(SIZE_LIMIT + 1), target, "huge.bin"));
+
+        assertFalse(Files.exists(target));
+    }
+
+    private List<Path> files() throws IOException {
+        try (Stream<Path> files = Files.list(this.directory)) {
+            return files.collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Upload of the given number of bytes, generated as they are read.
+     */
+    private static class GeneratedInputStream extends InputStream {
+
+        private final long size;
+        long position;
+
+        GeneratedInputStream(final long size) {
+            this.size = size;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (this.position >= this.size) {
+                return -1;
+            }
+            return (int) (this.position++ * 31 % 251);
+        }
+
+        @Override
+        public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+            if (this.position >= this.size) {
+                return -1;
+            }
+            final int count = (int) Math.min(length, this.size - this.position);
+            for (int i = 0; i < count; i++) {
+                buffer[offset + i] = (byte) (this.position++ * 31 % 251);
+            }
+            return count;
+        }
+    }
+}
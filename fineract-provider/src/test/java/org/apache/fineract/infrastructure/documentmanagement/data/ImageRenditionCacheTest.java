@@ -0,0 +1,211 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.documentmanagement.data;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.io.ByteSource;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.documentmanagement.contentrepository.ContentRepository;
+import org.apache.fineract.infrastructure.documentmanagement.contentrepository.ContentRepositoryFactory;
+import org.apache.fineract.infrastructure.documentmanagement.contentrepository.FileSystemContentRepository;
+import org.apache.fineract.infrastructure.documentmanagement.domain.StorageType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.env.MockEnvironment;
+
+/**
+ * Unit Test for {@link ImageRenditionCache}.
+ */
+@ExtendWith(MockitoExtension.class)
+public class ImageRenditionCacheTest {
+
+    private static final String LOCATION = "images/clients/1/image.jpg";
+
+    @Mock
+    private ImageResizer imageResizer;
+
+    @Mock
+    private ContentRepositoryFactory contentRepositoryFactory;
+
+    @Mock
+    private ContentRepository contentRepository;
+
+    private String tenantName;
+    private byte[] originalContent;
+
+    @BeforeEach
+    public void setUp() {
+        // renditions are kept below FINERACT_BASE_DIR, so every test uses a tenant directory of its own
+        this.tenantName = "rendition-cache-test-" + UUID.randomUUID();
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", this.tenantName, "Asia/Kolkata", null));
+        this.originalContent = "first".getBytes(StandardCharsets.UTF_8);
+        when(this.contentRepositoryFactory.getRepository(StorageType.FILE_SYSTEM)).thenReturn(this.contentRepository);
+        when(this.contentRepository.fetchImage(any(ImageData.class)))
+                .thenAnswer(invocation -> new FileData(ByteSource.wrap(this.originalContent), "image.jpg", "image/jpeg"));
+        when(this.imageResizer.resize(any(FileData.class), any(), any())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        ThreadLocalContextUtil.clearTenant();
+        final Path tenantDirectory = Paths.get(FileSystemContentRepository.FINERACT_BASE_DIR, this.tenantName);
+        if (Files.exists(tenantDirectory)) {
+            try (Stream<Path> files = Files.walk(tenantDirectory)) {
+                for (final Path path : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                    Files.delete(path);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testRenditionIsProducedOnce() throws IOException {
+        final ImageRenditionCache cache = cache(true, 100L);
+
+        final ImageRendition first = cache.retrieve(image(0), 100, 50);
+        final ImageRendition second = cache.retrieve(image(0), 100, 50);
+
+        assertTrue(first.isCached());
+        assertEquals(first.getFile(), second.getFile());
+        assertEquals(first.getEntityTag(), second.getEntityTag());
+        assertEquals(first.getLastModified(), second.getLastModified());
+        assertArrayEquals(this.originalContent, second.getFileData().getByteSource().read());
+        verify(this.imageResizer, times(1)).resize(any(FileData.class), eq(100), eq(50));
+    }
+
+    @Test
+    public void testDimensionsAreCachedSeparately() {
+        final ImageRenditionCache cache = cache(true, 100L);
+
+        final ImageRendition small = cache.retrieve(image(0), 100, 50);
+        final ImageRendition original = cache.retrieve(image(0), null, 50);
+
+        assertNotEquals(small.getFile(), original.getFile());
+        assertNotEquals(small.getEntityTag(), original.getEntityTag());
+    }
+
+    @Test
+    public void testReplacedImageMissesCacheWithoutEviction() throws IOException {
+        final ImageRenditionCache cache = cache(true, 100L);
+        final ImageRendition replaced = cache.retrieve(image(0), 100, 50);
+
+        // another node replaced the image at the same location, so nothing was evicted here
+        this.originalContent = "second".getBytes(StandardCharsets.UTF_8);
+        final ImageRendition current = cache.retrieve(image(1), 100, 50);
+
+        assertNotEquals(replaced.getEntityTag(), current.getEntityTag());
+        assertArrayEquals(this.originalContent, current.getFileData().getByteSource().read());
+        assertFalse(Files.exists(replaced.getFile()));
+        verify(this.imageResizer, times(2)).resize(any(FileData.class), eq(100), eq(50));
+    }
+
+    @Test
+    public void testEvictRemovesAllRenditionsOfImage() throws IOException {
+        final ImageRenditionCache cache = cache(true, 100L);
+        final ImageRendition small = cache.retrieve(image(0), 100, 50);
+        final ImageRendition original = cache.retrieve(image(0), null, null);
+        cache.retrieveBase64(small);
+
+        cache.evict(1L);
+
+        assertFalse(Files.exists(small.getFile()));
+        assertFalse(Files.exists(original.getFile()));
+        cache.retrieve(image(0), 100, 50);
+        verify(this.imageResizer, times(2)).resize(any(FileData.class), eq(100), eq(50));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedRenditionIsRemovedAboveMaxSize() {
+        final ImageRenditionCache cache = cache(true, 1L);
+        this.originalContent = new byte[600 * 1024];
+
+        final ImageRendition small = cache.retrieve(image(0), 100, 50);
+        final ImageRendition large = cache.retrieve(image(0), 200, 100);
+        assertFalse(Files.exists(small.getFile()));
+        assertTrue(Files.exists(large.getFile()));
+
+        // 100x50 was removed to make room for 200x100, so it is produced again and 200x100 is removed in turn
+        cache.retrieve(image(0), 100, 50);
+        assertTrue(Files.exists(small.getFile()));
+        assertFalse(Files.exists(large.getFile()));
+        verify(this.imageResizer, times(2)).resize(any(FileData.class), eq(100), eq(50));
+    }
+
+    @Test
+    public void testBase64IsCachedNextToRendition() throws IOException {
+        final ImageRenditionCache cache = cache(true, 100L);
+        final ImageRendition rendition = cache.retrieve(image(0), 100, 50);
+
+        final String base64 = cache.retrieveBase64(rendition);
+
+        assertEquals(Base64.getMimeEncoder().encodeToString(this.originalContent), base64);
+        assertTrue(Files.exists(rendition.getFile().resolveSibling(rendition.getFile().getFileName() + ".b64")));
+        assertEquals(base64, cache.retrieveBase64(cache.retrieve(image(0), 100, 50)));
+    }
+
+    @Test
+    public void testDisabledCacheServesUncachedRenditions() throws IOException {
+        final ImageRenditionCache cache = cache(false, 100L);
+
+        final ImageRendition rendition = cache.retrieve(image(0), 100, 50);
+
+        assertFalse(rendition.isCached());
+        assertNull(rendition.getEntityTag());
+        assertNull(rendition.getLastModified());
+        assertArrayEquals(this.originalContent, rendition.getFileData().getByteSource().read());
+        assertFalse(Files.exists(Paths.get(FileSystemContentRepository.FINERACT_BASE_DIR, this.tenantName)));
+    }
+
+    private ImageRenditionCache cache(final boolean enabled, final long maxSizeInMegabytes) {
+        final MockEnvironment environment = new MockEnvironment()
+                .withProperty("FINERACT_IMAGE_RENDITION_CACHE_ENABLED", Boolean.toString(enabled))
+                .withProperty("FINERACT_IMAGE_RENDITION_CACHE_MAX_SIZE_MB", Long.toString(maxSizeInMegabytes));
+        return new ImageRenditionCache(this.imageResizer, this.contentRepositoryFactory, environment);
+    }
+
+    private static ImageData image(final int contentVersion) {
+        return new ImageData(1L, LOCATION, StorageType.FILE_SYSTEM, contentVersion, "Jane Doe");
+    }
+}
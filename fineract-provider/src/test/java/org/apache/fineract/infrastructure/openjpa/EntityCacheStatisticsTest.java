@@ -0,0 +1,74 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.openjpa;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.fineract.infrastructure.cache.data.EntityCacheStatisticsData;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit Test for {@link EntityCacheStatistics}.
+ */
+public class EntityCacheStatisticsTest {
+
+    private final EntityCacheStatistics entityCacheStatistics = new EntityCacheStatistics();
+
+    @Test
+    public void testCountersArePerEntityType() {
+        this.entityCacheStatistics.recordLookup("default", "Office", false);
+        this.entityCacheStatistics.recordPut("default", "Office");
+        this.entityCacheStatistics.recordLookup("default", "Office", true);
+        this.entityCacheStatistics.recordLookup("default", "Office", true);
+        this.entityCacheStatistics.recordLookup("default", "Charge", false);
+
+        final List<EntityCacheStatisticsData> statistics = new ArrayList<>(this.entityCacheStatistics.retrieveAll("default"));
+
+        assertEquals(2, statistics.size());
+        final EntityCacheStatisticsData charge = statistics.get(0);
+        assertEquals("Charge", charge.getEntityType());
+        assertEquals(0, charge.getHits());
+        assertEquals(1, charge.getMisses());
+        assertEquals(0, BigDecimal.ZERO.compareTo(charge.getHitRatio()));
+        final EntityCacheStatisticsData office = statistics.get(1);
+        assertEquals("Office", office.getEntityType());
+        assertEquals(2, office.getHits());
+        assertEquals(1, office.getMisses());
+        assertEquals(1, office.getPuts());
+        assertEquals(new BigDecimal("0.6667"), office.getHitRatio());
+    }
+
+    @Test
+    public void testCountersArePerTenant() {
+        this.entityCacheStatistics.recordLookup("default", "Office", true);
+        this.entityCacheStatistics.recordLookup("other", "Office", false);
+        this.entityCacheStatistics.recordLookup("other", "Office", false);
+
+        final List<EntityCacheStatisticsData> statistics = new ArrayList<>(this.entityCacheStatistics.retrieveAll("other"));
+
+        assertEquals(1, statistics.size());
+        assertEquals(0, statistics.get(0).getHits());
+        assertEquals(2, statistics.get(0).getMisses());
+        assertTrue(this.entityCacheStatistics.retrieveAll("unknown").isEmpty());
+    }
+}
@@ -0,0 +1,125 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.openjpa;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import javax.persistence.Cache;
+import javax.persistence.EntityManagerFactory;
+import org.apache.fineract.infrastructure.cache.service.RuntimeDelegatingCacheManager;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.security.service.TenantDetailsService;
+import org.apache.fineract.organisation.office.domain.Office;
+import org.apache.fineract.portfolio.charge.domain.Charge;
+import org.apache.openjpa.event.RemoteCommitEvent;
+import org.apache.openjpa.util.LongId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * Unit Test for {@link EntityDataCacheService}.
+ */
+@ExtendWith(MockitoExtension.class)
+public class EntityDataCacheServiceTest {
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private RuntimeDelegatingCacheManager cacheManager;
+
+    @Mock
+    private TenantDetailsService tenantDetailsService;
+
+    @Mock
+    private Cache entityCache;
+
+    @Mock
+    private org.springframework.cache.Cache multiNodeCache;
+
+    private EntityDataCacheService service;
+
+    @BeforeEach
+    public void setUp() {
+        this.service = new EntityDataCacheService(this.entityManagerFactory, this.cacheManager, this.tenantDetailsService);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadLocalContextUtil.clearTenant();
+    }
+
+    @Test
+    public void testCommittedChangesArePublishedWithTheirTenant() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        when(this.cacheManager.getCache(EntityDataCacheService.CACHE_NAME)).thenReturn(this.multiNodeCache);
+
+        this.service.publish(new RemoteCommitEvent(RemoteCommitEvent.PAYLOAD_OIDS, null, null,
+                Collections.singletonList(new LongId(Office.class, 1L)), Collections.singletonList(new LongId(Charge.class, 2L))));
+
+        verify(this.multiNodeCache).evict("default|" + Office.class.getName() + "|1");
+        verify(this.multiNodeCache).evict("default|" + Charge.class.getName() + "|2");
+    }
+
+    @Test
+    public void testChangesByTypeClearTheCache() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        when(this.cacheManager.getCache(EntityDataCacheService.CACHE_NAME)).thenReturn(this.multiNodeCache);
+
+        this.service.publish(new RemoteCommitEvent(RemoteCommitEvent.PAYLOAD_EXTENTS, null, null,
+                Collections.singletonList(Office.class.getName()), null));
+
+        verify(this.multiNodeCache).clear();
+    }
+
+    @Test
+    public void testReceivedEvictionIsAppliedOnBehalfOfItsTenant() {
+        final FineractPlatformTenant tenant = new FineractPlatformTenant(2L, "other", "Other", "Asia/Kolkata", null);
+        when(this.tenantDetailsService.loadTenantById("other")).thenReturn(tenant);
+        when(this.entityManagerFactory.getCache()).thenReturn(this.entityCache);
+        doAnswer(invocation -> {
+            assertSame(tenant, ThreadLocalContextUtil.getTenant());
+            return null;
+        }).when(this.entityCache).evict(Office.class, 1L);
+
+        this.service.evict("other|" + Office.class.getName() + "|1");
+
+        verify(this.entityCache).evict(Office.class, 1L);
+        assertNull(ThreadLocalContextUtil.getTenant());
+    }
+
+    @Test
+    public void testEvictionOfUnknownEntityClearsTheCache() {
+        when(this.entityManagerFactory.getCache()).thenReturn(this.entityCache);
+
+        this.service.evict("other|org.apache.fineract.Unknown|1");
+
+        verify(this.entityCache).evictAll();
+    }
+}
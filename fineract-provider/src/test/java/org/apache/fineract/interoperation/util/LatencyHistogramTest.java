@@ -0,0 +1,72 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.interoperation.util;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit Test for {@link LatencyHistogram}.
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    public void testEmptyHistogram() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMaxMillis());
+        assertEquals(0, histogram.getPercentileMillis(99));
+    }
+
+    @Test
+    public void testLatenciesAreCountedInTheirBucket() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(0);
+        histogram.record(1);
+        histogram.record(3);
+        histogram.record(10);
+        histogram.record(20000);
+
+        assertEquals(5, histogram.getCount());
+        assertEquals(20014, histogram.getTotalMillis());
+        assertEquals(20000, histogram.getMaxMillis());
+        assertArrayEquals(new long[] { 2, 0, 1, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 1 }, histogram.getBucketCounts());
+    }
+
+    @Test
+    public void testPercentilesAreBucketUpperBounds() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 90; i++) {
+            histogram.record(4);
+        }
+        for (int i = 0; i < 9; i++) {
+            histogram.record(80);
+        }
+        histogram.record(12000);
+
+        assertEquals(5, histogram.getPercentileMillis(50));
+        assertEquals(5, histogram.getPercentileMillis(90));
+        assertEquals(100, histogram.getPercentileMillis(95));
+        assertEquals(100, histogram.getPercentileMillis(99));
+        assertEquals(12000, histogram.getPercentileMillis(100));
+    }
+}
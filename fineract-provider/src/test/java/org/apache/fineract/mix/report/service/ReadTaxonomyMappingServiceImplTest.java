@@ -20,8 +20,18 @@ package org.apache.fineract.mix.report.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
 import java.util.ArrayList;
-import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.fineract.accounting.journalentry.service.GLDailyBalanceReadPlatformService;
+import org.apache.fineract.mix.data.MixTaxonomyData;
+import org.apache.fineract.mix.data.MixTaxonomyMappingData;
+import org.apache.fineract.mix.data.XBRLData;
+import org.apache.fineract.mix.service.MixTaxonomyMappingReadPlatformService;
+import org.apache.fineract.mix.service.MixTaxonomyReadPlatformService;
 import org.apache.fineract.mix.service.XBRLResultServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -33,11 +43,17 @@ import org.mockito.junit.jupiter.MockitoExtension;
 public class ReadTaxonomyMappingServiceImplTest {
 
     private XBRLResultServiceImpl readService;
+    private MixTaxonomyMappingReadPlatformService taxonomyMappingReadService;
+    private MixTaxonomyReadPlatformService taxonomyReadService;
+    private GLDailyBalanceReadPlatformService glDailyBalanceReadService;
 
     @BeforeEach
     public void setUp() throws Exception {
-        final RoutingDataSource dataSource = Mockito.mock(RoutingDataSource.class);
-        this.readService = new XBRLResultServiceImpl(dataSource, null, null);
+        this.taxonomyMappingReadService = Mockito.mock(MixTaxonomyMappingReadPlatformService.class);
+        this.taxonomyReadService = Mockito.mock(MixTaxonomyReadPlatformService.class);
+        this.glDailyBalanceReadService = Mockito.mock(GLDailyBalanceReadPlatformService.class);
+        this.readService = new XBRLResultServiceImpl(this.taxonomyMappingReadService, this.taxonomyReadService,
+                this.glDailyBalanceReadService);
 
     }
 
@@ -48,4 +64,20 @@ public class ReadTaxonomyMappingServiceImplTest {
         assertEquals("11000", result.get(1));
     }
 
+    @Test
+    public void shouldEvaluateMappingFromDailyBalances() {
+        final MixTaxonomyData taxonomy = new MixTaxonomyData(1L, "Assets", "ifrs", null, 0, null);
+        Mockito.when(this.taxonomyMappingReadService.retrieveTaxonomyMapping())
+                .thenReturn(new MixTaxonomyMappingData("default", "{\"1\":\"{12000}+{11000}\"}"));
+        Mockito.when(this.taxonomyReadService.retrieveOne(1L)).thenReturn(taxonomy);
+        final Map<String, BigDecimal> balances = new HashMap<>();
+        balances.put("12000", new BigDecimal("150"));
+        balances.put("11000", new BigDecimal("-50"));
+        Mockito.when(this.glDailyBalanceReadService.retrieveNetBalancesByGLCode(LocalDate.of(2021, 3, 31), LocalDate.of(2021, 6, 30),
+                null)).thenReturn(balances);
+
+        final XBRLData result = this.readService.getXBRLResult(Date.valueOf("2021-03-31"), Date.valueOf("2021-06-30"), "USD");
+
+        assertEquals(0, new BigDecimal("100").compareTo(result.getResultMap().get(taxonomy)));
+    }
 }
@@ -0,0 +1,132 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.organisation.teller.domain;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import javax.persistence.EntityManagerFactory;
+import org.apache.fineract.organisation.staff.domain.Staff;
+import org.apache.fineract.organisation.teller.domain.CashierTransactionSummaryQueue.Source;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanTransaction;
+import org.apache.fineract.portfolio.paymentdetail.domain.PaymentDetail;
+import org.apache.fineract.portfolio.paymenttype.domain.PaymentType;
+import org.apache.fineract.useradministration.domain.AppUser;
+import org.apache.openjpa.event.LifecycleEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * Unit Test for {@link CashierTransactionSummaryListener}.
+ */
+@ExtendWith(MockitoExtension.class)
+public class CashierTransactionSummaryListenerTest {
+
+    @Mock
+    private CashierTransactionSummaryQueue queue;
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private AppUser appUser;
+
+    private CashierTransactionSummaryListener listener;
+
+    @BeforeEach
+    public void setUp() {
+        this.listener = new CashierTransactionSummaryListener(this.queue, this.entityManagerFactory);
+    }
+
+    @Test
+    public void testCashTransactionOfStaffUserIsMarked() {
+        when(this.appUser.getStaff()).thenReturn(mock(Staff.class));
+        final LoanTransaction transaction = loanTransaction(PaymentDetail.instance(paymentType(true), null, null, null, null, null));
+
+        this.listener.afterPersistPerformed(new LifecycleEvent(transaction, LifecycleEvent.AFTER_PERSIST_PERFORMED));
+        this.listener.afterUpdatePerformed(new LifecycleEvent(transaction, LifecycleEvent.AFTER_UPDATE_PERFORMED));
+        this.listener.beforeDelete(new LifecycleEvent(transaction, LifecycleEvent.BEFORE_DELETE));
+
+        verify(this.queue, times(2)).markDirty(Source.LOANS, 9L);
+        verify(this.queue).markRemoved(Source.LOANS, 9L);
+    }
+
+    @Test
+    public void testTransactionWithoutPaymentDetailOfStaffUserIsMarked() {
+        when(this.appUser.getStaff()).thenReturn(mock(Staff.class));
+        final LoanTransaction transaction = loanTransaction(null);
+
+        this.listener.afterPersistPerformed(new LifecycleEvent(transaction, LifecycleEvent.AFTER_PERSIST_PERFORMED));
+
+        verify(this.queue).markDirty(Source.LOANS, 9L);
+    }
+
+    @Test
+    public void testNonCashTransactionIsNotMarked() {
+        when(this.appUser.getStaff()).thenReturn(mock(Staff.class));
+        final LoanTransaction transaction = loanTransaction(PaymentDetail.instance(paymentType(false), null, null, null, null, null));
+
+        this.listener.afterPersistPerformed(new LifecycleEvent(transaction, LifecycleEvent.AFTER_PERSIST_PERFORMED));
+        this.listener.beforeDelete(new LifecycleEvent(transaction, LifecycleEvent.BEFORE_DELETE));
+
+        verify(this.queue, never()).markDirty(any(Source.class), anyLong());
+        verify(this.queue, never()).markRemoved(any(Source.class), anyLong());
+    }
+
+    @Test
+    public void testTransactionOfUserWithoutStaffIsNotMarked() {
+        final LoanTransaction transaction = loanTransaction(null);
+
+        this.listener.afterUpdatePerformed(new LifecycleEvent(transaction, LifecycleEvent.AFTER_UPDATE_PERFORMED));
+
+        verify(this.queue, never()).markDirty(any(Source.class), anyLong());
+    }
+
+    @Test
+    public void testCashierTransactionIsAlwaysMarked() {
+        final CashierTransaction transaction = mock(CashierTransaction.class);
+        when(transaction.getId()).thenReturn(4L);
+
+        this.listener.afterPersistPerformed(new LifecycleEvent(transaction, LifecycleEvent.AFTER_PERSIST_PERFORMED));
+
+        verify(this.queue).markDirty(Source.CASHIER, 4L);
+    }
+
+    private LoanTransaction loanTransaction(final PaymentDetail paymentDetail) {
+        final LoanTransaction transaction = mock(LoanTransaction.class);
+        when(transaction.getId()).thenReturn(9L);
+        when(transaction.getAppUser()).thenReturn(this.appUser);
+        if (paymentDetail != null) {
+            when(transaction.getPaymentDetail()).thenReturn(paymentDetail);
+        }
+        return transaction;
+    }
+
+    private static PaymentType paymentType(final boolean cash) {
+        return PaymentType.create(cash ? "Cash" : "Cheque", null, cash, 1L);
+    }
+}
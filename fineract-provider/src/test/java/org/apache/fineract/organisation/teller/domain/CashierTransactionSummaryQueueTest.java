@@ -0,0 +1,145 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.organisation.teller.domain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+import javax.persistence.EntityManager;
+import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
+import org.apache.fineract.organisation.teller.domain.CashierTransactionSummaryQueue.Source;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Unit Test for {@link CashierTransactionSummaryQueue}.
+ */
+@ExtendWith(MockitoExtension.class)
+public class CashierTransactionSummaryQueueTest {
+
+    @Mock
+    private RoutingDataSource dataSource;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private CashierTransactionSummaryQueue queue;
+
+    @BeforeEach
+    public void setUp() {
+        this.queue = new CashierTransactionSummaryQueue(this.dataSource);
+        ReflectionTestUtils.setField(this.queue, "jdbcTemplate", this.jdbcTemplate);
+        ReflectionTestUtils.setField(this.queue, "entityManager", this.entityManager);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void testMarksAreWrittenOncePerSourceBeforeCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        this.queue.markDirty(Source.SAVINGS, 7L);
+        this.queue.markDirty(Source.CASHIER, 5L);
+        this.queue.markDirty(Source.SAVINGS, 3L);
+        this.queue.markDirty(Source.SAVINGS, 7L);
+
+        verifyNoInteractions(this.jdbcTemplate);
+        assertEquals(1, TransactionSynchronizationManager.getSynchronizations().size());
+
+        beforeCommit();
+
+        verify(this.entityManager).flush();
+        verify(this.jdbcTemplate).update(contains("from m_cashier_transactions txn where txn.id in (?))"), eq(5L));
+        verify(this.jdbcTemplate).update(contains("from m_savings_account_transaction txn"), eq(3L), eq(7L));
+        verifyNoMoreInteractions(this.jdbcTemplate);
+    }
+
+    @Test
+    public void testTransactionsFlushedBeforeCommitAreMarkedWithTheOthers() {
+        TransactionSynchronizationManager.initSynchronization();
+        this.queue.markDirty(Source.LOANS, 2L);
+        doAnswer(invocation -> {
+            this.queue.markDirty(Source.LOANS, 1L);
+            return null;
+        }).when(this.entityManager).flush();
+
+        beforeCommit();
+
+        verify(this.jdbcTemplate).update(contains("from m_loan_transaction txn"), eq(1L), eq(2L));
+        verifyNoMoreInteractions(this.jdbcTemplate);
+    }
+
+    @Test
+    public void testTransactionFlushedAsTheTransactionCommitsIsMarkedAtOnce() {
+        TransactionSynchronizationManager.initSynchronization();
+        this.queue.markDirty(Source.CLIENT, 4L);
+        beforeCommit();
+
+        this.queue.markDirty(Source.CLIENT, 6L);
+
+        verify(this.jdbcTemplate).update(contains("from m_client_transaction txn"), eq(4L));
+        verify(this.jdbcTemplate).update(contains("from m_client_transaction txn"), eq(6L));
+        verifyNoMoreInteractions(this.jdbcTemplate);
+    }
+
+    @Test
+    public void testTransactionIsMarkedAtOnceWithoutTransactionSynchronization() {
+        this.queue.markDirty(Source.CASHIER, 8L);
+
+        verify(this.jdbcTemplate).update(contains("from m_cashier_transactions txn"), eq(8L));
+        verifyNoInteractions(this.entityManager);
+    }
+
+    @Test
+    public void testRemovedTransactionIsMarkedWhileItsRowExists() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        this.queue.markRemoved(Source.SAVINGS, 9L);
+
+        verify(this.jdbcTemplate).update(contains("from m_savings_account_transaction txn"), eq(9L));
+        assertEquals(0, TransactionSynchronizationManager.getSynchronizations().size());
+    }
+
+    private static void beforeCommit() {
+        for (final TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.beforeCommit(false);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.account.domain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.LocalDate;
+import org.apache.fineract.portfolio.common.domain.PeriodFrequencyType;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit Test for {@link StandingInstructionRunDateCalculator}.
+ */
+public class StandingInstructionRunDateCalculatorTest {
+
+    private static final LocalDate VALID_FROM = LocalDate.of(2020, 1, 15);
+
+    @Test
+    public void testDuesRecurrenceIsEvaluatedEveryDay() {
+        assertEquals(LocalDate.of(2020, 3, 2), nextRunDate(AccountTransferRecurrenceType.AS_PER_DUES, null, null, null, null,
+                LocalDate.of(2020, 3, 2)));
+        assertEquals(VALID_FROM, nextRunDate(AccountTransferRecurrenceType.AS_PER_DUES, null, null, null, null, LocalDate.of(2020, 1, 1)));
+    }
+
+    @Test
+    public void testDailyRecurrence() {
+        assertEquals(LocalDate.of(2020, 1, 18), nextRunDate(AccountTransferRecurrenceType.PERIODIC, PeriodFrequencyType.DAYS, 3, null,
+                null, LocalDate.of(2020, 1, 17)));
+        assertEquals(LocalDate.of(2020, 1, 18), nextRunDate(AccountTransferRecurrenceType.PERIODIC, PeriodFrequencyType.DAYS, 3, null,
+                null, LocalDate.of(2020, 1, 18)));
+    }
+
+    @Test
+    public void testWeeklyRecurrence() {
+        assertEquals(LocalDate.of(2020, 1, 29), nextRunDate(AccountTransferRecurrenceType.PERIODIC, PeriodFrequencyType.WEEKS, 2, null,
+                null, LocalDate.of(2020, 1, 16)));
+    }
+
+    @Test
+    public void testMonthlyRecurrenceStaysOnConfiguredDay() {
+        // day 31 runs on the last day of shorter months without drifting
+        assertEquals(LocalDate.of(2020, 1, 31), nextRunDate(AccountTransferRecurrenceType.PERIODIC, PeriodFrequencyType.MONTHS, 1, 31,
+                null, LocalDate.of(2020, 1, 16)));
+        assertEquals(LocalDate.of(2020, 2, 29), nextRunDate(AccountTransferRecurrenceType.PERIODIC, PeriodFrequencyType.MONTHS, 1, 31,
+                null, LocalDate.of(2020, 2, 1)));
+        assertEquals(LocalDate.of(2020, 3, 31), nextRunDate(AccountTransferRecurrenceType.PERIODIC, PeriodFrequencyType.MONTHS, 1, 31,
+                null, LocalDate.of(2020, 3, 1)));
+    }
+
+    @Test
+    public void testMonthlyRecurrenceStartsAfterValidFrom() {
+        // the 10th of January is before the instruction becomes valid, so the first run is in February
+        assertEquals(LocalDate.of(2020, 2, 10), nextRunDate(AccountTransferRecurrenceType.PERIODIC, PeriodFrequencyType.MONTHS, 1, 10,
+                null, LocalDate.of(2020, 1, 1)));
+        assertEquals(LocalDate.of(2020, 6, 10), nextRunDate(AccountTransferRecurrenceType.PERIODIC, PeriodFrequencyType.MONTHS, 2, 10,
+                null, LocalDate.of(2020, 4, 11)));
+    }
+
+    @Test
+    public void testYearlyRecurrence() {
+        assertEquals(LocalDate.of(2021, 1, 5), nextRunDate(AccountTransferRecurrenceType.PERIODIC, PeriodFrequencyType.YEARS, 1, 5, 1,
+                LocalDate.of(2020, 1, 16)));
+        assertEquals(LocalDate.of(2020, 6, 30), nextRunDate(AccountTransferRecurrenceType.PERIODIC, PeriodFrequencyType.YEARS, 1, 30, 6,
+                LocalDate.of(2020, 1, 16)));
+    }
+
+    @Test
+    public void testPeriodicRecurrenceWithoutFrequencyIsNeverDue() {
+        assertNull(nextRunDate(AccountTransferRecurrenceType.PERIODIC, null, 1, null, null, LocalDate.of(2020, 1, 16)));
+        assertNull(nextRunDate(AccountTransferRecurrenceType.PERIODIC, PeriodFrequencyType.WHOLE_TERM, 1, null, null,
+                LocalDate.of(2020, 1, 16)));
+    }
+
+    private static LocalDate nextRunDate(final AccountTransferRecurrenceType recurrenceType, final PeriodFrequencyType frequencyType,
+            final Integer recurrenceInterval, final Integer recurrenceOnDay, final Integer recurrenceOnMonth, final LocalDate onOrAfter) {
+        return StandingInstructionRunDateCalculator.nextRunDate(recurrenceType, frequencyType, recurrenceInterval, recurrenceOnDay,
+                recurrenceOnMonth, VALID_FROM, onOrAfter);
+    }
+}
@@ -0,0 +1,387 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.client.domain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.env.MockEnvironment;
+
+/**
+ * Unit Test for {@link AccountNumberSequence}, against an in-memory <code>m_account_number_sequence</code> table per
+ * tenant whose rows only change when the connection that updated them commits.
+ */
+@ExtendWith(MockitoExtension.class)
+public class AccountNumberSequenceTest {
+
+    private static final FineractPlatformTenant DEFAULT = new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null);
+    private static final FineractPlatformTenant OTHER = new FineractPlatformTenant(2L, "other", "Other", "Asia/Kolkata", null);
+
+    @Mock
+    private RoutingDataSource dataSource;
+
+    // tenant identifier to sequence name to next value, as committed
+    private final Map<String, Map<String, Long>> sequenceTables = new ConcurrentHashMap<>();
+    private final List<FakeConnection> connections = new ArrayList<>();
+    private int maxOpenConnections;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        ThreadLocalContextUtil.setTenant(DEFAULT);
+        when(this.dataSource.getConnection()).thenAnswer(invocation -> openConnection().connection);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadLocalContextUtil.clearTenant();
+    }
+
+    @Test
+    public void testNumbersAreHandedOutFromReservedBlock() {
+        sequenceTable(DEFAULT).put(AccountNumberSequence.CLIENT, 10L);
+        final AccountNumberSequence sequence = sequence(3);
+
+        assertEquals(10L, sequence.next(AccountNumberSequence.CLIENT));
+        assertEquals(11L, sequence.next(AccountNumberSequence.CLIENT));
+        assertEquals(12L, sequence.next(AccountNumberSequence.CLIENT));
+
+        assertEquals(1, reservations());
+        assertEquals(13L, sequenceTable(DEFAULT).get(AccountNumberSequence.CLIENT));
+    }
+
+    @Test
+    public void testExhaustedBlockRollsOverToNextFreeBlock() {
+        sequenceTable(DEFAULT).put(AccountNumberSequence.LOAN, 10L);
+        final AccountNumberSequence node = sequence(3);
+        final AccountNumberSequence otherNode = sequence(3);
+
+        assertEquals(10L, node.next(AccountNumberSequence.LOAN));
+        assertEquals(13L, otherNode.next(AccountNumberSequence.LOAN));
+        assertEquals(11L, node.next(AccountNumberSequence.LOAN));
+        assertEquals(12L, node.next(AccountNumberSequence.LOAN));
+        // the block following the first one was reserved by the other node
+        assertEquals(16L, node.next(AccountNumberSequence.LOAN));
+        assertEquals(14L, otherNode.next(AccountNumberSequence.LOAN));
+
+        assertEquals(3, reservations());
+        assertEquals(19L, sequenceTable(DEFAULT).get(AccountNumberSequence.LOAN));
+    }
+
+    @Test
+    public void testBlocksAreKeptPerTenant() {
+        sequenceTable(DEFAULT).put(AccountNumberSequence.CLIENT, 10L);
+        sequenceTable(OTHER).put(AccountNumberSequence.CLIENT, 500L);
+        final AccountNumberSequence sequence = sequence(3);
+
+        assertEquals(10L, sequence.next(AccountNumberSequence.CLIENT));
+        ThreadLocalContextUtil.setTenant(OTHER);
+        assertEquals(500L, sequence.next(AccountNumberSequence.CLIENT));
+        ThreadLocalContextUtil.setTenant(DEFAULT);
+        assertEquals(11L, sequence.next(AccountNumberSequence.CLIENT));
+        ThreadLocalContextUtil.setTenant(OTHER);
+        assertEquals(501L, sequence.next(AccountNumberSequence.CLIENT));
+
+        assertEquals(2, reservations());
+        assertEquals(13L, sequenceTable(DEFAULT).get(AccountNumberSequence.CLIENT));
+        assertEquals(503L, sequenceTable(OTHER).get(AccountNumberSequence.CLIENT));
+    }
+
+    @Test
+    public void testBlocksAreKeptPerSequence() {
+        sequenceTable(DEFAULT).put(AccountNumberSequence.SAVINGS, 10L);
+        sequenceTable(DEFAULT).put(AccountNumberSequence.SHARES, 40L);
+        final AccountNumberSequence sequence = sequence(3);
+
+        assertEquals(10L, sequence.next(AccountNumberSequence.SAVINGS));
+        assertEquals(40L, sequence.next(AccountNumberSequence.SHARES));
+        assertEquals(11L, sequence.next(AccountNumberSequence.SAVINGS));
+        assertEquals(41L, sequence.next(AccountNumberSequence.SHARES));
+    }
+
+    @Test
+    public void testReservationSurvivesCallerRollback() throws SQLException {
+        sequenceTable(DEFAULT).put(AccountNumberSequence.CLIENT, 10L);
+        final AccountNumberSequence sequence = sequence(3);
+
+        final FakeConnection caller = openConnection();
+        caller.connection.setAutoCommit(false);
+        assertEquals(10L, sequence.next(AccountNumberSequence.CLIENT));
+        caller.connection.rollback();
+
+        final List<FakeConnection> reservations = connections(connection -> connection.commits > 0);
+        assertEquals(1, reservations.size());
+        assertNotSame(caller, reservations.get(0));
+        assertTrue(reservations.get(0).autoCommit);
+        assertTrue(reservations.get(0).closed);
+        assertEquals(1, caller.rollbacks);
+        assertEquals(13L, sequenceTable(DEFAULT).get(AccountNumberSequence.CLIENT));
+
+        // a restarted node skips the rest of the block instead of handing out the rolled back number again
+        assertEquals(13L, sequence(3).next(AccountNumberSequence.CLIENT));
+        assertEquals(11L, sequence.next(AccountNumberSequence.CLIENT));
+    }
+
+    @Test
+    public void testMissingSequenceIsRolledBackAndRetried() {
+        final AccountNumberSequence sequence = sequence(3);
+
+        assertThrows(IllegalStateException.class, () -> sequence.next(AccountNumberSequence.GROUP));
+        final List<FakeConnection> failed = connections(connection -> connection.rollbacks > 0);
+        assertEquals(1, failed.size());
+        assertTrue(failed.get(0).closed);
+        assertEquals(0, reservations());
+
+        sequenceTable(DEFAULT).put(AccountNumberSequence.GROUP, 7L);
+        assertEquals(7L, sequence.next(AccountNumberSequence.GROUP));
+    }
+
+    @Test
+    public void testBlockSizeDefaultsToFifty() {
+        sequenceTable(DEFAULT).put(AccountNumberSequence.CLIENT, 1L);
+        final AccountNumberSequence sequence = new AccountNumberSequence(this.dataSource, new MockEnvironment());
+
+        for (long expected = 1; expected <= 50; expected++) {
+            assertEquals(expected, sequence.next(AccountNumberSequence.CLIENT));
+        }
+        assertEquals(1, reservations());
+        assertEquals(51L, sequence.next(AccountNumberSequence.CLIENT));
+        assertEquals(2, reservations());
+    }
+
+    @Test
+    public void testConcurrentCallersGetDistinctNumbers() throws Exception {
+        sequenceTable(DEFAULT).put(AccountNumberSequence.LOAN, 1L);
+        final AccountNumberSequence sequence = sequence(7);
+        final Callable<List<Long>> caller = () -> {
+            ThreadLocalContextUtil.setTenant(DEFAULT);
+            try {
+                final List<Long> numbers = new ArrayList<>();
+                for (int i = 0; i < 100; i++) {
+                    numbers.add(sequence.next(AccountNumberSequence.LOAN));
+                }
+                return numbers;
+            } finally {
+                ThreadLocalContextUtil.clearTenant();
+            }
+        };
+
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        final List<Future<List<Long>>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(executor.submit(caller));
+        }
+        final Set<Long> numbers = ConcurrentHashMap.newKeySet();
+        for (final Future<List<Long>> result : results) {
+            numbers.addAll(result.get(30, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+
+        assertEquals(800, numbers.size());
+        assertTrue(numbers.stream().allMatch(number -> number >= 1 && number < sequenceTable(DEFAULT).get(AccountNumberSequence.LOAN)));
+    }
+
+    @Test
+    public void testConcurrentReservationsAreBounded() throws Exception {
+        final String[] sequenceNames = { AccountNumberSequence.CLIENT, AccountNumberSequence.GROUP, AccountNumberSequence.LOAN,
+                AccountNumberSequence.SAVINGS, AccountNumberSequence.SHARES };
+        for (final String sequenceName : sequenceNames) {
+            sequenceTable(DEFAULT).put(sequenceName, 1L);
+        }
+        final AccountNumberSequence sequence = new AccountNumberSequence(this.dataSource,
+                new MockEnvironment().withProperty("FINERACT_ACCOUNT_NUMBER_BLOCK_SIZE", "1")
+                        .withProperty("FINERACT_ACCOUNT_NUMBER_RESERVATION_CONCURRENCY", "2"));
+
+        final ExecutorService executor = Executors.newFixedThreadPool(sequenceNames.length);
+        final List<Future<?>> results = new ArrayList<>();
+        for (final String sequenceName : sequenceNames) {
+            results.add(executor.submit(() -> {
+                ThreadLocalContextUtil.setTenant(DEFAULT);
+                try {
+                    for (int i = 0; i < 50; i++) {
+                        sequence.next(sequenceName);
+                    }
+                } finally {
+                    ThreadLocalContextUtil.clearTenant();
+                }
+            }));
+        }
+        for (final Future<?> result : results) {
+            result.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // every number is reserved in a block of its own, on a connection of its own
+        assertEquals(250, reservations());
+        assertTrue(this.maxOpenConnections <= 2, "at most two reservation connections open at a time");
+        for (final String sequenceName : sequenceNames) {
+            assertEquals(51L, sequenceTable(DEFAULT).get(sequenceName));
+        }
+    }
+
+    @Test
+    public void testMigrationSeedsEverySequenceAfterHighestId() throws IOException {
+        final String migration;
+        try (InputStream in = getClass().getResourceAsStream("/sql/migrations/core_db/V379__account_number_sequence.sql")) {
+            migration = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+
+        for (final String sequenceName : new String[] { AccountNumberSequence.CLIENT, AccountNumberSequence.GROUP,
+                AccountNumberSequence.LOAN, AccountNumberSequence.SAVINGS, AccountNumberSequence.SHARES }) {
+            assertTrue(migration.contains("SELECT '" + sequenceName + "', COALESCE(MAX(id), 0) + 1 FROM " + sequenceName),
+                    sequenceName);
+        }
+    }
+
+    private AccountNumberSequence sequence(final int blockSize) {
+        return new AccountNumberSequence(this.dataSource,
+                new MockEnvironment().withProperty("FINERACT_ACCOUNT_NUMBER_BLOCK_SIZE", String.valueOf(blockSize)));
+    }
+
+    private Map<String, Long> sequenceTable(final FineractPlatformTenant tenant) {
+        return this.sequenceTables.computeIfAbsent(tenant.getTenantIdentifier(), tenantIdentifier -> new ConcurrentHashMap<>());
+    }
+
+    private synchronized int reservations() {
+        return this.connections.stream().mapToInt(connection -> connection.commits).sum();
+    }
+
+    private synchronized List<FakeConnection> connections(final Predicate<FakeConnection> filter) {
+        return this.connections.stream().filter(filter).collect(Collectors.toList());
+    }
+
+    private synchronized FakeConnection openConnection() {
+        final FakeConnection connection = new FakeConnection(sequenceTable(ThreadLocalContextUtil.getTenant()));
+        this.connections.add(connection);
+        this.maxOpenConnections = Math.max(this.maxOpenConnections, connections(open -> !open.closed).size());
+        return connection;
+    }
+
+    /**
+     * Connection of the routing data source to the database of the current tenant. Updates stay pending until commit.
+     */
+    private static final class FakeConnection {
+
+        private final Map<String, Long> sequenceTable;
+        private final Map<String, Long> pending = new HashMap<>();
+        private final Connection connection;
+        private boolean autoCommit = true;
+        private volatile boolean closed;
+        private int commits;
+        private int rollbacks;
+
+        FakeConnection(final Map<String, Long> sequenceTable) {
+            this.sequenceTable = sequenceTable;
+            this.connection = mock(Connection.class, invocation -> {
+                switch (invocation.getMethod().getName()) {
+                    case "getAutoCommit":
+                        return this.autoCommit;
+                    case "setAutoCommit":
+                        this.autoCommit = invocation.getArgument(0);
+                        return null;
+                    case "prepareStatement":
+                        return statement();
+                    case "commit":
+                        this.sequenceTable.putAll(this.pending);
+                        this.pending.clear();
+                        this.commits++;
+                        return null;
+                    case "rollback":
+                        this.pending.clear();
+                        this.rollbacks++;
+                        return null;
+                    case "close":
+                        this.closed = true;
+                        return null;
+                    default:
+                        return Answers.RETURNS_DEFAULTS.answer(invocation);
+                }
+            });
+        }
+
+        private PreparedStatement statement() {
+            final Object[] parameters = new Object[2];
+            return mock(PreparedStatement.class, invocation -> {
+                switch (invocation.getMethod().getName()) {
+                    case "setString":
+                    case "setLong":
+                    case "setObject":
+                        parameters[(Integer) invocation.getArgument(0) - 1] = invocation.getArgument(1);
+                        return null;
+                    case "executeQuery":
+                        return resultSet(this.sequenceTable.get(parameters[0]));
+                    case "executeUpdate":
+                        this.pending.put((String) parameters[1], (Long) parameters[0]);
+                        return 1;
+                    default:
+                        return Answers.RETURNS_DEFAULTS.answer(invocation);
+                }
+            });
+        }
+
+        private static ResultSet resultSet(final Long nextValue) {
+            final boolean[] read = new boolean[1];
+            return mock(ResultSet.class, invocation -> {
+                switch (invocation.getMethod().getName()) {
+                    case "next":
+                        final boolean hasRow = nextValue != null && !read[0];
+                        read[0] = true;
+                        return hasRow;
+                    case "getLong":
+                        return nextValue;
+                    default:
+                        return Answers.RETURNS_DEFAULTS.answer(invocation);
+                }
+            });
+        }
+    }
+}
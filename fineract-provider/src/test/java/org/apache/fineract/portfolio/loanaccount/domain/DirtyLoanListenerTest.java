@@ -0,0 +1,117 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.domain;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import javax.persistence.EntityManagerFactory;
+import org.apache.openjpa.event.LifecycleEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * Unit Test for {@link DirtyLoanListener}.
+ */
+@ExtendWith(MockitoExtension.class)
+public class DirtyLoanListenerTest {
+
+    @Mock
+    private DirtyLoanQueue queue;
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private Loan loan;
+
+    private DirtyLoanListener listener;
+
+    @BeforeEach
+    public void setUp() {
+        this.listener = new DirtyLoanListener(this.queue, this.entityManagerFactory);
+    }
+
+    @Test
+    public void testWrittenLoanIsMarked() {
+        when(this.loan.getId()).thenReturn(3L);
+
+        this.listener.afterPersistPerformed(new LifecycleEvent(this.loan, LifecycleEvent.AFTER_PERSIST_PERFORMED));
+        this.listener.afterUpdatePerformed(new LifecycleEvent(this.loan, LifecycleEvent.AFTER_UPDATE_PERFORMED));
+
+        verify(this.queue, times(2)).markDirty(3L);
+    }
+
+    @Test
+    public void testDeletedLoanIsNotMarked() {
+        this.listener.beforeDelete(new LifecycleEvent(this.loan, LifecycleEvent.BEFORE_DELETE));
+
+        verify(this.queue, never()).markDirty(any(Long.class));
+    }
+
+    @Test
+    public void testWrittenInstallmentMarksItsLoan() {
+        when(this.loan.getId()).thenReturn(5L);
+        final LoanRepaymentScheduleInstallment installment = mock(LoanRepaymentScheduleInstallment.class);
+        when(installment.getLoan()).thenReturn(this.loan);
+
+        this.listener.afterUpdatePerformed(new LifecycleEvent(installment, LifecycleEvent.AFTER_UPDATE_PERFORMED));
+        this.listener.beforeDelete(new LifecycleEvent(installment, LifecycleEvent.BEFORE_DELETE));
+
+        verify(this.queue, times(2)).markDirty(5L);
+    }
+
+    @Test
+    public void testWrittenChargeMarksItsLoan() {
+        when(this.loan.getId()).thenReturn(7L);
+        final LoanCharge charge = mock(LoanCharge.class);
+        when(charge.getLoan()).thenReturn(this.loan);
+
+        this.listener.afterPersistPerformed(new LifecycleEvent(charge, LifecycleEvent.AFTER_PERSIST_PERFORMED));
+
+        verify(this.queue).markDirty(7L);
+    }
+
+    @Test
+    public void testWrittenTransactionMarksItsLoan() {
+        when(this.loan.getId()).thenReturn(9L);
+        final LoanTransaction transaction = mock(LoanTransaction.class);
+        when(transaction.getLoan()).thenReturn(this.loan);
+
+        this.listener.afterPersistPerformed(new LifecycleEvent(transaction, LifecycleEvent.AFTER_PERSIST_PERFORMED));
+
+        verify(this.queue).markDirty(9L);
+    }
+
+    @Test
+    public void testInstallmentWithoutLoanIsNotMarked() {
+        final LoanRepaymentScheduleInstallment installment = mock(LoanRepaymentScheduleInstallment.class);
+
+        this.listener.afterPersistPerformed(new LifecycleEvent(installment, LifecycleEvent.AFTER_PERSIST_PERFORMED));
+
+        verify(this.queue, never()).markDirty(any(Long.class));
+    }
+}
@@ -0,0 +1,203 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.domain;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.persistence.EntityManager;
+import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Unit Test for {@link DirtyLoanQueue}.
+ */
+@ExtendWith(MockitoExtension.class)
+public class DirtyLoanQueueTest {
+
+    @Mock
+    private RoutingDataSource dataSource;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Captor
+    private ArgumentCaptor<List<Object[]>> batchArgs;
+
+    private DirtyLoanQueue queue;
+
+    @BeforeEach
+    public void setUp() {
+        this.queue = new DirtyLoanQueue(this.dataSource);
+        ReflectionTestUtils.setField(this.queue, "jdbcTemplate", this.jdbcTemplate);
+        ReflectionTestUtils.setField(this.queue, "entityManager", this.entityManager);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void testLoansAreMarkedOnceForEveryConsumerBeforeCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        this.queue.markDirty(7L);
+        this.queue.markDirty(3L);
+        this.queue.markDirty(7L);
+
+        verifyNoInteractions(this.jdbcTemplate);
+        assertEquals(1, TransactionSynchronizationManager.getSynchronizations().size());
+
+        beforeCommit();
+
+        verify(this.entityManager).flush();
+        verify(this.jdbcTemplate).batchUpdate(contains("on duplicate key update version = version + 1"), this.batchArgs.capture());
+        verifyNoMoreInteractions(this.jdbcTemplate);
+        assertEquals(2, this.batchArgs.getValue().size());
+        assertArrayEquals(new Object[] { 3L, 3L }, this.batchArgs.getValue().get(0));
+        assertArrayEquals(new Object[] { 7L, 7L }, this.batchArgs.getValue().get(1));
+    }
+
+    @Test
+    public void testLoansFlushedBeforeCommitAreMarkedWithTheOthers() {
+        TransactionSynchronizationManager.initSynchronization();
+        this.queue.markDirty(2L);
+        doAnswer(invocation -> {
+            this.queue.markDirty(1L);
+            return null;
+        }).when(this.entityManager).flush();
+
+        beforeCommit();
+
+        verify(this.jdbcTemplate).batchUpdate(contains("insert into m_loan_dirty"), this.batchArgs.capture());
+        verifyNoMoreInteractions(this.jdbcTemplate);
+        assertEquals(2, this.batchArgs.getValue().size());
+        assertArrayEquals(new Object[] { 1L, 1L }, this.batchArgs.getValue().get(0));
+    }
+
+    @Test
+    public void testLoanFlushedAsTheTransactionCommitsIsMarkedAtOnce() {
+        TransactionSynchronizationManager.initSynchronization();
+        this.queue.markDirty(4L);
+        beforeCommit();
+
+        this.queue.markDirty(6L);
+
+        verify(this.jdbcTemplate, times(2)).batchUpdate(contains("insert into m_loan_dirty"), this.batchArgs.capture());
+        assertArrayEquals(new Object[] { 6L, 6L }, this.batchArgs.getValue().get(0));
+    }
+
+    @Test
+    public void testLoanIsMarkedAtOnceWithoutTransactionSynchronization() {
+        this.queue.markDirty(8L);
+
+        verify(this.jdbcTemplate).batchUpdate(contains("insert into m_loan_dirty"), anyList());
+        verifyNoInteractions(this.entityManager);
+    }
+
+    @Test
+    public void testUnsavedLoanIsNotMarked() {
+        this.queue.markDirty((Long) null);
+        this.queue.markDirty(Arrays.asList((Long) null));
+
+        verifyNoInteractions(this.jdbcTemplate);
+    }
+
+    @Test
+    public void testDirtyLoansAreDrainedInLoanIdOrderWithTheirVersions() throws Exception {
+        final ResultSet first = row(11L, 2L);
+        final ResultSet second = row(12L, 1L);
+        doAnswer(invocation -> {
+            final RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(first);
+            handler.processRow(second);
+            return null;
+        }).when(this.jdbcTemplate).query(contains("loan_id > ? order by loan_id limit ?"), any(RowCallbackHandler.class),
+                eq(DirtyLoanQueue.LOAN_SUMMARY), eq(10L), eq(2));
+
+        final Map<Long, Long> dirtyLoans = this.queue.retrieveDirtyLoans(DirtyLoanQueue.LOAN_SUMMARY, 10L, 2);
+
+        assertEquals(Arrays.asList(11L, 12L), new ArrayList<>(dirtyLoans.keySet()));
+        assertEquals(Long.valueOf(2L), dirtyLoans.get(11L));
+        assertEquals(Long.valueOf(1L), dirtyLoans.get(12L));
+    }
+
+    @Test
+    public void testMarksAreOnlyClearedAtTheVersionsRead() {
+        final Map<Long, Long> dirtyLoans = new LinkedHashMap<>();
+        dirtyLoans.put(11L, 2L);
+        dirtyLoans.put(12L, 1L);
+
+        this.queue.clear(DirtyLoanQueue.LOAN_PAID_IN_ADVANCE, dirtyLoans);
+
+        verify(this.jdbcTemplate).batchUpdate(eq("delete from m_loan_dirty where consumer = ? and loan_id = ? and version = ?"),
+                this.batchArgs.capture());
+        assertEquals(2, this.batchArgs.getValue().size());
+        assertArrayEquals(new Object[] { DirtyLoanQueue.LOAN_PAID_IN_ADVANCE, 11L, 2L }, this.batchArgs.getValue().get(0));
+        assertArrayEquals(new Object[] { DirtyLoanQueue.LOAN_PAID_IN_ADVANCE, 12L, 1L }, this.batchArgs.getValue().get(1));
+    }
+
+    private static ResultSet row(final long loanId, final long version) throws Exception {
+        final ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.getLong("loan_id")).thenReturn(loanId);
+        when(resultSet.getLong("version")).thenReturn(version);
+        return resultSet;
+    }
+
+    private static void beforeCommit() {
+        for (final TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.beforeCommit(false);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
+import org.apache.fineract.portfolio.loanaccount.domain.DirtyLoanQueue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Unit Test for {@link LoanDerivedFieldsWritePlatformServiceImpl}.
+ */
+@ExtendWith(MockitoExtension.class)
+public class LoanDerivedFieldsWritePlatformServiceImplTest {
+
+    @Mock
+    private RoutingDataSource dataSource;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private DirtyLoanQueue dirtyLoanQueue;
+
+    private LoanDerivedFieldsWritePlatformServiceImpl service;
+
+    private final Map<Long, Long> dirtyLoans = new LinkedHashMap<>();
+
+    @BeforeEach
+    public void setUp() {
+        this.service = new LoanDerivedFieldsWritePlatformServiceImpl(this.dataSource, this.dirtyLoanQueue);
+        ReflectionTestUtils.setField(this.service, "jdbcTemplate", this.jdbcTemplate);
+        this.dirtyLoans.put(3L, 2L);
+        this.dirtyLoans.put(5L, 1L);
+    }
+
+    @Test
+    public void testSummariesOfDirtyLoansAreRefreshedBeforeTheirMarksAreCleared() {
+        when(this.jdbcTemplate.update(contains("ml.id in (?,?)"), eq(3L), eq(5L))).thenReturn(2);
+
+        assertEquals(2, this.service.refreshLoanSummaries(this.dirtyLoans));
+
+        final InOrder inOrder = inOrder(this.jdbcTemplate, this.dirtyLoanQueue);
+        inOrder.verify(this.jdbcTemplate).update(contains("update m_loan join"), eq(3L), eq(5L));
+        inOrder.verify(this.dirtyLoanQueue).clear(DirtyLoanQueue.LOAN_SUMMARY, this.dirtyLoans);
+    }
+
+    @Test
+    public void testPaidInAdvanceOfDirtyLoansIsRefreshedBeforeTheirMarksAreCleared() {
+        this.service.refreshPaidInAdvance(this.dirtyLoans);
+
+        final InOrder inOrder = inOrder(this.jdbcTemplate, this.dirtyLoanQueue);
+        inOrder.verify(this.jdbcTemplate).update("delete from m_loan_paid_in_advance where loan_id in (?,?)", 3L, 5L);
+        inOrder.verify(this.jdbcTemplate).update(contains("INSERT INTO m_loan_paid_in_advance"), eq(3L), eq(5L));
+        inOrder.verify(this.dirtyLoanQueue).clear(DirtyLoanQueue.LOAN_PAID_IN_ADVANCE, this.dirtyLoans);
+    }
+
+    @Test
+    public void testNoDirtyLoansIsNoStatement() {
+        assertEquals(0, this.service.refreshLoanSummaries(new LinkedHashMap<>()));
+
+        verifyNoInteractions(this.jdbcTemplate, this.dirtyLoanQueue);
+    }
+}
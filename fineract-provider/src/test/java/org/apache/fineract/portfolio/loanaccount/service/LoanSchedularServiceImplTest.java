@@ -0,0 +1,198 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
+import org.apache.fineract.infrastructure.core.data.ApiParameterError;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.exception.PlatformApiDataValidationException;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.jobs.exception.JobExecutionException;
+import org.apache.fineract.organisation.office.service.OfficeReadPlatformService;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.data.OverdueLoanScheduleData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationContext;
+import org.springframework.mock.env.MockEnvironment;
+
+/**
+ * Unit Test for {@link LoanSchedularServiceImpl}.
+ */
+@ExtendWith(MockitoExtension.class)
+public class LoanSchedularServiceImplTest {
+
+    private static final FineractPlatformTenant TENANT = new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null);
+    private static final Long PENALTY_WAIT_PERIOD = 2L;
+
+    @Mock
+    private ConfigurationDomainService configurationDomainService;
+    @Mock
+    private LoanReadPlatformService loanReadPlatformService;
+    @Mock
+    private LoanWritePlatformService loanWritePlatformService;
+    @Mock
+    private OfficeReadPlatformService officeReadPlatformService;
+    @Mock
+    private ApplicationContext applicationContext;
+
+    private LoanSchedularServiceImpl loanSchedularService;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(TENANT);
+        when(this.configurationDomainService.retrievePenaltyWaitPeriod()).thenReturn(PENALTY_WAIT_PERIOD);
+        when(this.configurationDomainService.isBackdatePenaltiesEnabled()).thenReturn(true);
+        // a single worker charges the loans in the order they were read
+        when(this.configurationDomainService.retrieveScheduledJobNumberOfThreads()).thenReturn(1);
+        this.loanSchedularService = new LoanSchedularServiceImpl(this.configurationDomainService, this.loanReadPlatformService,
+                this.loanWritePlatformService, this.officeReadPlatformService, this.applicationContext,
+                new MockEnvironment().withProperty("FINERACT_OVERDUE_CHARGE_PAGE_SIZE", "2"));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadLocalContextUtil.clearTenant();
+    }
+
+    @Test
+    public void testLoansAreReadPageByPage() throws Exception {
+        givenLoanPage(0L, 1L, 2L);
+        givenLoanPage(2L, 3L, 4L);
+        givenLoanPage(4L, 5L);
+        final OverdueLoanScheduleData first = installment(1L, 1);
+        final OverdueLoanScheduleData second = installment(1L, 2);
+        final OverdueLoanScheduleData third = installment(2L, 1);
+        givenOverdueInstallments(Arrays.asList(1L, 2L), first, second, third);
+        final OverdueLoanScheduleData fourth = installment(3L, 1);
+        final OverdueLoanScheduleData fifth = installment(4L, 1);
+        givenOverdueInstallments(Arrays.asList(3L, 4L), fourth, fifth);
+        final OverdueLoanScheduleData sixth = installment(5L, 3);
+        givenOverdueInstallments(Collections.singletonList(5L), sixth);
+
+        this.loanSchedularService.applyChargeForOverdueLoans();
+
+        // the installments of a page are grouped per loan, each loan is charged once
+        final InOrder inOrder = inOrder(this.loanWritePlatformService);
+        inOrder.verify(this.loanWritePlatformService).applyOverdueChargesForLoan(1L, Arrays.asList(first, second));
+        inOrder.verify(this.loanWritePlatformService).applyOverdueChargesForLoan(2L, Collections.singletonList(third));
+        inOrder.verify(this.loanWritePlatformService).applyOverdueChargesForLoan(3L, Collections.singletonList(fourth));
+        inOrder.verify(this.loanWritePlatformService).applyOverdueChargesForLoan(4L, Collections.singletonList(fifth));
+        inOrder.verify(this.loanWritePlatformService).applyOverdueChargesForLoan(5L, Collections.singletonList(sixth));
+        inOrder.verifyNoMoreInteractions();
+    }
+
+    @Test
+    public void testFullLastPageIsFollowedByEmptyPage() throws Exception {
+        givenLoanPage(0L, 1L, 2L);
+        givenLoanPage(2L);
+        final OverdueLoanScheduleData first = installment(1L, 1);
+        final OverdueLoanScheduleData second = installment(2L, 1);
+        givenOverdueInstallments(Arrays.asList(1L, 2L), first, second);
+
+        this.loanSchedularService.applyChargeForOverdueLoans();
+
+        verify(this.loanWritePlatformService).applyOverdueChargesForLoan(1L, Collections.singletonList(first));
+        verify(this.loanWritePlatformService).applyOverdueChargesForLoan(2L, Collections.singletonList(second));
+    }
+
+    @Test
+    public void testNoOverdueLoans() throws Exception {
+        givenLoanPage(0L);
+
+        this.loanSchedularService.applyChargeForOverdueLoans();
+
+        verifyNoInteractions(this.loanWritePlatformService);
+    }
+
+    @Test
+    public void testFailuresOfAllLoansAreReportedTogether() {
+        givenLoanPage(0L, 1L, 2L);
+        givenLoanPage(2L, 3L);
+        final OverdueLoanScheduleData first = installment(1L, 1);
+        final OverdueLoanScheduleData second = installment(2L, 1);
+        givenOverdueInstallments(Arrays.asList(1L, 2L), first, second);
+        final OverdueLoanScheduleData third = installment(3L, 1);
+        givenOverdueInstallments(Collections.singletonList(3L), third);
+        final PlatformApiDataValidationException invalid = new PlatformApiDataValidationException("validation.msg.validation.errors.exist",
+                "Validation errors exist.",
+                Collections.singletonList(ApiParameterError.generalError("error.msg.loan.charge.invalid", "Charge is not valid")));
+        final IllegalStateException failure = new IllegalStateException("charge failed");
+        doThrow(invalid).when(this.loanWritePlatformService).applyOverdueChargesForLoan(1L, Collections.singletonList(first));
+        doThrow(failure).when(this.loanWritePlatformService).applyOverdueChargesForLoan(3L, Collections.singletonList(third));
+
+        final JobExecutionException thrown = assertThrows(JobExecutionException.class,
+                () -> this.loanSchedularService.applyChargeForOverdueLoans());
+
+        // a failing loan does not stop the others
+        verify(this.loanWritePlatformService).applyOverdueChargesForLoan(2L, Collections.singletonList(second));
+        assertEquals(Arrays.asList(invalid, failure), thrown.getCauses());
+    }
+
+    @Test
+    public void testLoansAreChargedForTenantOfJob() throws Exception {
+        givenLoanPage(0L, 1L);
+        final OverdueLoanScheduleData first = installment(1L, 1);
+        givenOverdueInstallments(Collections.singletonList(1L), first);
+        final List<FineractPlatformTenant> tenants = new ArrayList<>();
+        doAnswer(invocation -> tenants.add(ThreadLocalContextUtil.getTenant())).when(this.loanWritePlatformService)
+                .applyOverdueChargesForLoan(1L, Collections.singletonList(first));
+
+        this.loanSchedularService.applyChargeForOverdueLoans();
+
+        assertEquals(1, tenants.size());
+        assertSame(TENANT, tenants.get(0));
+    }
+
+    private void givenLoanPage(final Long afterLoanId, final Long... loanIds) {
+        when(this.loanReadPlatformService.retrieveLoanIdsWithOverdueInstallments(eq(PENALTY_WAIT_PERIOD), eq(true), any(),
+                eq(afterLoanId), eq(2))).thenReturn(Arrays.asList(loanIds));
+    }
+
+    private void givenOverdueInstallments(final List<Long> loanIds, final OverdueLoanScheduleData... installments) {
+        when(this.loanReadPlatformService.retrieveOverdueInstallments(PENALTY_WAIT_PERIOD, true, loanIds))
+                .thenReturn(Arrays.asList(installments));
+    }
+
+    private static OverdueLoanScheduleData installment(final Long loanId, final Integer periodNumber) {
+        return new OverdueLoanScheduleData(loanId, 7L, "01 January 2021", new BigDecimal("10"), "dd MMMM yyyy", "en",
+                new BigDecimal("100"), new BigDecimal("5"), periodNumber);
+    }
+}
@@ -0,0 +1,186 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.savings.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.portfolio.savings.DepositAccountUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Unit Test for {@link RecurringDepositScheduleWritePlatformServiceImpl}.
+ */
+@ExtendWith(MockitoExtension.class)
+public class RecurringDepositScheduleWritePlatformServiceImplTest {
+
+    @Mock
+    private RoutingDataSource dataSource;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private DepositAccountReadPlatformService depositAccountReadPlatformService;
+
+    private RecurringDepositScheduleWritePlatformServiceImpl service;
+
+    private final List<ResultSet> accounts = new ArrayList<>();
+    private final List<Object[]> writtenInstallments = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        this.service = new RecurringDepositScheduleWritePlatformServiceImpl(this.dataSource, this.depositAccountReadPlatformService);
+        ReflectionTestUtils.setField(this.service, "jdbcTemplate", this.jdbcTemplate);
+
+        doAnswer(invocation -> {
+            final RowCallbackHandler rowHandler = invocation.getArgument(2);
+            for (final ResultSet account : this.accounts) {
+                rowHandler.processRow(account);
+            }
+            return null;
+        }).when(this.depositAccountReadPlatformService).retriveDataForRDScheduleCreation(eq(4), eq(1), any(RowCallbackHandler.class));
+        // the batch is cleared once written, so the rows are copied as they are written
+        lenient().doAnswer(invocation -> {
+            final List<Object[]> batch = invocation.getArgument(1);
+            this.writtenInstallments.addAll(batch);
+            return new int[batch.size()];
+        }).when(this.jdbcTemplate).batchUpdate(anyString(), anyList());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadLocalContextUtil.clearTenant();
+    }
+
+    @Test
+    public void testInstallmentsAreTheSameAsBeforeTheRewrite() throws Exception {
+        this.accounts.add(account(7L, 2L, "FREQ=MONTHLY;INTERVAL=1", LocalDate.of(2020, 1, 31), 12, "100.00"));
+        this.accounts.add(account(8L, 0L, "FREQ=WEEKLY;INTERVAL=2", LocalDate.of(2020, 2, 27), 3, "25.50"));
+        this.accounts.add(account(9L, 4L, "FREQ=YEARLY", LocalDate.of(2020, 2, 29), 1, "1000.00"));
+        this.accounts.add(account(10L, 0L, "FREQ=DAILY;INTERVAL=3", LocalDate.of(2020, 12, 30), 0, "10.00"));
+
+        final List<Object[]> expected = new ArrayList<>();
+        for (final ResultSet account : this.accounts) {
+            expected.addAll(installmentsBeforeTheRewrite(account));
+        }
+
+        final int written = this.service.generateFutureInstallments(4, 1);
+
+        // each installment follows the one before it, as the due dates were always chained
+        assertArrayEquals(new Object[] { 7L, LocalDate.of(2020, 2, 29), 13, new BigDecimal("100.00") }, expected.get(0));
+        assertArrayEquals(new Object[] { 7L, LocalDate.of(2020, 4, 29), 15, new BigDecimal("100.00") }, expected.get(2));
+        assertEquals(3 + 5 + 1 + 5, expected.size());
+        assertEquals(expected.size(), written);
+        assertEquals(expected.size(), this.writtenInstallments.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertArrayEquals(expected.get(i), Arrays.copyOf(this.writtenInstallments.get(i), 4), "installment " + i);
+            // completed_derived is a constant of the statement, the audit dates are the same for every row
+            assertEquals(this.writtenInstallments.get(0)[4], this.writtenInstallments.get(i)[4]);
+            assertEquals(this.writtenInstallments.get(i)[4], this.writtenInstallments.get(i)[5]);
+        }
+    }
+
+    @Test
+    public void testInstallmentsAreWrittenInBatchesThatStartEmptyAgain() throws Exception {
+        final int accountCount = RecurringDepositScheduleWritePlatformServiceImpl.BATCH_SIZE / 5 + 1;
+        for (long savingsId = 1; savingsId <= accountCount; savingsId++) {
+            this.accounts.add(account(savingsId, 0L, "FREQ=MONTHLY;INTERVAL=1", LocalDate.of(2021, 3, 15), 1, "50.00"));
+        }
+
+        final int written = this.service.generateFutureInstallments(4, 1);
+
+        assertEquals(accountCount * DepositAccountUtils.GENERATE_MINIMUM_NUMBER_OF_FUTURE_INSTALMENTS, written);
+        assertEquals(written, this.writtenInstallments.size());
+        verify(this.jdbcTemplate, times(2)).batchUpdate(anyString(), anyList());
+        assertEquals(Long.valueOf(accountCount), this.writtenInstallments.get(written - 1)[0]);
+        assertEquals(6, this.writtenInstallments.get(written - 1)[2]);
+    }
+
+    @Test
+    public void testAccountWithEnoughFutureInstallmentsIsLeftAlone() throws Exception {
+        this.accounts.add(account(7L, DepositAccountUtils.GENERATE_MINIMUM_NUMBER_OF_FUTURE_INSTALMENTS, "FREQ=MONTHLY;INTERVAL=1",
+                LocalDate.of(2020, 1, 31), 12, "100.00"));
+
+        assertEquals(0, this.service.generateFutureInstallments(4, 1));
+
+        verify(this.jdbcTemplate, times(0)).batchUpdate(anyString(), anyList());
+    }
+
+    /**
+     * The installments the job generated before it was rewritten: the same loop, with the recurrence parsed for every
+     * installment.
+     */
+    private static List<Object[]> installmentsBeforeTheRewrite(final ResultSet account) throws Exception {
+        final List<Object[]> installments = new ArrayList<>();
+        long count = account.getLong("futureInstallemts");
+        final Long savingsId = account.getLong("savingsId");
+        final BigDecimal amount = account.getBigDecimal("amount");
+        final String recurrence = account.getString("recurrence");
+        LocalDate lastDepositDate = account.getDate("dueDate").toLocalDate();
+        Integer installmentNumber = account.getInt("installment");
+        while (count < DepositAccountUtils.GENERATE_MINIMUM_NUMBER_OF_FUTURE_INSTALMENTS) {
+            count++;
+            installmentNumber++;
+            lastDepositDate = DepositAccountUtils.calculateNextDepositDate(lastDepositDate, recurrence);
+            installments.add(new Object[] { savingsId, lastDepositDate, installmentNumber, amount });
+        }
+        return installments;
+    }
+
+    private static ResultSet account(final long savingsId, final long futureInstallments, final String recurrence,
+            final LocalDate lastDueDate, final int lastInstallment, final String amount) throws Exception {
+        final ResultSet account = mock(ResultSet.class);
+        when(account.getLong("futureInstallemts")).thenReturn(futureInstallments);
+        when(account.getLong("savingsId")).thenReturn(savingsId);
+        when(account.getBigDecimal("amount")).thenReturn(new BigDecimal(amount));
+        when(account.getString("recurrence")).thenReturn(recurrence);
+        when(account.getDate("dueDate")).thenReturn(java.sql.Date.valueOf(lastDueDate));
+        when(account.getInt("installment")).thenReturn(lastInstallment);
+        return account;
+    }
+}
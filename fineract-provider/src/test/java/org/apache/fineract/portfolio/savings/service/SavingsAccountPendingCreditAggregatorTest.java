@@ -0,0 +1,139 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.savings.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.security.service.TenantDetailsService;
+import org.apache.fineract.portfolio.savings.data.SavingsAccountPendingCreditEvent;
+import org.apache.fineract.portfolio.savings.exception.SavingsAccountCreditsBlockedException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+/**
+ * Unit Test for {@link SavingsAccountPendingCreditAggregator}.
+ */
+@ExtendWith(MockitoExtension.class)
+public class SavingsAccountPendingCreditAggregatorTest {
+
+    private static final FineractPlatformTenant TENANT = new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null);
+    private static final Long ACCOUNT_ID = 5L;
+
+    @Mock
+    private TenantDetailsService tenantDetailsService;
+
+    @Mock
+    private SavingsAccountPendingCreditWritePlatformService pendingCreditWritePlatformService;
+
+    private SavingsAccountPendingCreditAggregator aggregator;
+
+    @BeforeEach
+    public void setUp() {
+        when(this.tenantDetailsService.loadTenantById("default")).thenReturn(TENANT);
+        this.aggregator = new SavingsAccountPendingCreditAggregator(this.tenantDetailsService, this.pendingCreditWritePlatformService);
+    }
+
+    @Test
+    public void testFullBatchesAreAppliedUntilAccountIsDrained() throws InterruptedException {
+        final List<FineractPlatformTenant> tenants = new CopyOnWriteArrayList<>();
+        when(this.pendingCreditWritePlatformService.applyPendingCredits(ACCOUNT_ID)).thenAnswer(invocation -> {
+            tenants.add(ThreadLocalContextUtil.getTenant());
+            return tenants.size() < 3 ? SavingsAccountPendingCreditWritePlatformService.APPLY_BATCH_SIZE : 3;
+        });
+
+        this.aggregator.onApplicationEvent(SavingsAccountPendingCreditEvent.instance("default", ACCOUNT_ID));
+        this.aggregator.shutdown();
+
+        verify(this.pendingCreditWritePlatformService, times(3)).applyPendingCredits(ACCOUNT_ID);
+        verify(this.pendingCreditWritePlatformService, never()).retrievePendingCreditIds(anyLong());
+        assertEquals(List.of(TENANT, TENANT, TENANT), tenants);
+    }
+
+    @Test
+    public void testFailedBatchIsRetriedOneByOne() throws InterruptedException {
+        final SavingsAccountCreditsBlockedException failure = new SavingsAccountCreditsBlockedException(ACCOUNT_ID);
+        when(this.pendingCreditWritePlatformService.applyPendingCredits(ACCOUNT_ID)).thenThrow(failure);
+        when(this.pendingCreditWritePlatformService.retrievePendingCreditIds(ACCOUNT_ID)).thenReturn(List.of(11L, 12L, 13L));
+        doThrow(failure).when(this.pendingCreditWritePlatformService).applyPendingCredit(12L);
+
+        this.aggregator.onApplicationEvent(SavingsAccountPendingCreditEvent.instance("default", ACCOUNT_ID));
+        this.aggregator.shutdown();
+
+        verify(this.pendingCreditWritePlatformService).applyPendingCredit(11L);
+        verify(this.pendingCreditWritePlatformService).applyPendingCredit(12L);
+        verify(this.pendingCreditWritePlatformService).applyPendingCredit(13L);
+        verify(this.pendingCreditWritePlatformService).recordFailure(12L, failure);
+        verify(this.pendingCreditWritePlatformService, times(1)).recordFailure(anyLong(), any());
+        // fewer credits than a full batch were left, so the account is drained
+        verify(this.pendingCreditWritePlatformService, times(1)).applyPendingCredits(ACCOUNT_ID);
+    }
+
+    @Test
+    public void testConcurrentBatchIsNotMarkedFailed() throws InterruptedException {
+        when(this.pendingCreditWritePlatformService.applyPendingCredits(ACCOUNT_ID))
+                .thenThrow(new OptimisticLockingFailureException("m_savings_account"));
+
+        this.aggregator.onApplicationEvent(SavingsAccountPendingCreditEvent.instance("default", ACCOUNT_ID));
+        this.aggregator.shutdown();
+
+        verify(this.pendingCreditWritePlatformService, never()).retrievePendingCreditIds(anyLong());
+        verify(this.pendingCreditWritePlatformService, never()).recordFailure(anyLong(), any());
+    }
+
+    @Test
+    public void testConcurrentCreditStopsTheFallback() throws InterruptedException {
+        when(this.pendingCreditWritePlatformService.applyPendingCredits(ACCOUNT_ID)).thenThrow(new IllegalStateException("batch"));
+        when(this.pendingCreditWritePlatformService.retrievePendingCreditIds(ACCOUNT_ID)).thenReturn(List.of(11L, 12L));
+        doThrow(new OptimisticLockingFailureException("m_savings_account")).when(this.pendingCreditWritePlatformService)
+                .applyPendingCredit(11L);
+
+        this.aggregator.onApplicationEvent(SavingsAccountPendingCreditEvent.instance("default", ACCOUNT_ID));
+        this.aggregator.shutdown();
+
+        verify(this.pendingCreditWritePlatformService, never()).applyPendingCredit(12L);
+        verify(this.pendingCreditWritePlatformService, never()).recordFailure(anyLong(), any());
+    }
+
+    @Test
+    public void testAccountsAreDrainedSeparately() throws InterruptedException {
+        when(this.pendingCreditWritePlatformService.applyPendingCredits(any())).thenReturn(1);
+
+        this.aggregator.onApplicationEvent(SavingsAccountPendingCreditEvent.instance("default", ACCOUNT_ID));
+        this.aggregator.onApplicationEvent(SavingsAccountPendingCreditEvent.instance("default", 6L));
+        this.aggregator.shutdown();
+
+        verify(this.pendingCreditWritePlatformService, times(1)).applyPendingCredits(ACCOUNT_ID);
+        verify(this.pendingCreditWritePlatformService, times(1)).applyPendingCredits(6L);
+    }
+}
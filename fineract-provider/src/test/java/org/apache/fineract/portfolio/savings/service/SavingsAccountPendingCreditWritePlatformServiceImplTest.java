@@ -0,0 +1,238 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.savings.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.exception.GeneralPlatformDomainRuleException;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
+import org.apache.fineract.portfolio.note.domain.NoteRepository;
+import org.apache.fineract.portfolio.savings.data.SavingsAccountPendingCreditEvent;
+import org.apache.fineract.portfolio.savings.data.SavingsAccountTransactionDTO;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccount;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccountAssembler;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccountDomainService;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccountPendingCredit;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccountPendingCreditRepository;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccountPendingCreditStatus;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccountTransaction;
+import org.apache.fineract.portfolio.savings.exception.SavingsAccountCreditsBlockedException;
+import org.apache.fineract.portfolio.savings.exception.SavingsAccountPendingCreditNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.BeanUtils;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Unit Test for {@link SavingsAccountPendingCreditWritePlatformServiceImpl}.
+ */
+@ExtendWith(MockitoExtension.class)
+public class SavingsAccountPendingCreditWritePlatformServiceImplTest {
+
+    private static final Long ACCOUNT_ID = 5L;
+    private static final Integer PENDING = SavingsAccountPendingCreditStatus.PENDING.getValue();
+
+    @Mock
+    private PlatformSecurityContext context;
+
+    @Mock
+    private SavingsAccountPendingCreditRepository pendingCreditRepository;
+
+    @Mock
+    private SavingsAccountAssembler savingsAccountAssembler;
+
+    @Mock
+    private SavingsAccountDomainService savingsAccountDomainService;
+
+    @Mock
+    private NoteRepository noteRepository;
+
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Mock
+    private SavingsAccount account;
+
+    private SavingsAccountPendingCreditWritePlatformServiceImpl service;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        this.service = new SavingsAccountPendingCreditWritePlatformServiceImpl(this.context, this.pendingCreditRepository,
+                this.savingsAccountAssembler, this.savingsAccountDomainService, this.noteRepository, this.applicationEventPublisher);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadLocalContextUtil.clearTenant();
+    }
+
+    @Test
+    public void testBatchIsAppliedWithOneAccountLoad() {
+        // the batch is read by status already
+        final SavingsAccountPendingCredit first = pendingCredit(null, "10");
+        final SavingsAccountPendingCredit second = pendingCredit(null, "20");
+        when(this.pendingCreditRepository.findBySavingsAccountIdAndStatus(eq(ACCOUNT_ID), eq(PENDING), any(Pageable.class)))
+                .thenReturn(List.of(first, second));
+        when(this.savingsAccountAssembler.assembleWithoutTransactionHistory(ACCOUNT_ID)).thenReturn(this.account);
+        when(this.savingsAccountDomainService.handleDeposit(eq(this.account), any(SavingsAccountTransactionDTO.class), eq(false),
+                eq(true))).thenReturn(deposit(101L), deposit(102L));
+
+        assertEquals(2, this.service.applyPendingCredits(ACCOUNT_ID));
+
+        verify(this.savingsAccountAssembler, times(1)).assembleWithoutTransactionHistory(ACCOUNT_ID);
+        final ArgumentCaptor<SavingsAccountTransactionDTO> deposits = ArgumentCaptor.forClass(SavingsAccountTransactionDTO.class);
+        verify(this.savingsAccountDomainService, times(2)).handleDeposit(eq(this.account), deposits.capture(), eq(false), eq(true));
+        assertEquals(new BigDecimal("10"), deposits.getAllValues().get(0).getTransactionAmount());
+        assertEquals(new BigDecimal("20"), deposits.getAllValues().get(1).getTransactionAmount());
+        verify(first).markApplied(101L);
+        verify(second).markApplied(102L);
+        verify(this.pendingCreditRepository).save(first);
+        verify(this.pendingCreditRepository).save(second);
+    }
+
+    @Test
+    public void testEmptyBatchDoesNotLoadAccount() {
+        when(this.pendingCreditRepository.findBySavingsAccountIdAndStatus(eq(ACCOUNT_ID), eq(PENDING), any(Pageable.class)))
+                .thenReturn(Collections.emptyList());
+
+        assertEquals(0, this.service.applyPendingCredits(ACCOUNT_ID));
+
+        verify(this.savingsAccountAssembler, never()).assembleWithoutTransactionHistory(anyLong());
+    }
+
+    @Test
+    public void testSingleCreditIsAppliedOnlyWhilePending() {
+        final SavingsAccountPendingCredit applied = pendingCredit(SavingsAccountPendingCreditStatus.APPLIED, null);
+        final SavingsAccountPendingCredit failed = pendingCredit(SavingsAccountPendingCreditStatus.FAILED, null);
+        when(this.pendingCreditRepository.findById(11L)).thenReturn(Optional.of(applied));
+        when(this.pendingCreditRepository.findById(12L)).thenReturn(Optional.of(failed));
+        when(this.pendingCreditRepository.findById(13L)).thenReturn(Optional.empty());
+
+        this.service.applyPendingCredit(11L);
+        this.service.applyPendingCredit(12L);
+        this.service.applyPendingCredit(13L);
+
+        verify(this.savingsAccountAssembler, never()).assembleWithoutTransactionHistory(anyLong());
+    }
+
+    @Test
+    public void testSingleCreditIsApplied() {
+        final SavingsAccountPendingCredit pendingCredit = pendingCredit(SavingsAccountPendingCreditStatus.PENDING, "10");
+        when(pendingCredit.getSavingsAccountId()).thenReturn(ACCOUNT_ID);
+        when(this.pendingCreditRepository.findById(11L)).thenReturn(Optional.of(pendingCredit));
+        when(this.savingsAccountAssembler.assembleWithoutTransactionHistory(ACCOUNT_ID)).thenReturn(this.account);
+        when(this.savingsAccountDomainService.handleDeposit(eq(this.account), any(SavingsAccountTransactionDTO.class), eq(false),
+                eq(true))).thenReturn(deposit(101L));
+
+        this.service.applyPendingCredit(11L);
+
+        verify(pendingCredit).markApplied(101L);
+        verify(this.pendingCreditRepository).save(pendingCredit);
+    }
+
+    @Test
+    public void testFailureIsRecordedWithReason() {
+        final SavingsAccountPendingCredit pendingCredit = mock(SavingsAccountPendingCredit.class);
+        when(this.pendingCreditRepository.findById(11L)).thenReturn(Optional.of(pendingCredit));
+
+        this.service.recordFailure(11L, new SavingsAccountCreditsBlockedException(ACCOUNT_ID));
+
+        final ArgumentCaptor<String> reason = ArgumentCaptor.forClass(String.class);
+        verify(pendingCredit).markFailed(reason.capture());
+        assertTrue(reason.getValue().contains("error.msg.savings.account.credit.transaction.not.allowed"));
+        verify(this.pendingCreditRepository).save(pendingCredit);
+    }
+
+    @Test
+    public void testFailedCreditIsRetried() {
+        final SavingsAccountPendingCredit pendingCredit = pendingCredit(SavingsAccountPendingCreditStatus.FAILED, null);
+        when(pendingCredit.getSavingsAccountId()).thenReturn(ACCOUNT_ID);
+        when(this.pendingCreditRepository.findById(11L)).thenReturn(Optional.of(pendingCredit));
+
+        final CommandProcessingResult result = this.service.retryFailedPendingCredit(ACCOUNT_ID, 11L);
+
+        assertEquals(11L, result.resourceId());
+        verify(pendingCredit).markPendingForRetry();
+        verify(this.pendingCreditRepository).saveAndFlush(pendingCredit);
+        final ArgumentCaptor<SavingsAccountPendingCreditEvent> event = ArgumentCaptor.forClass(SavingsAccountPendingCreditEvent.class);
+        verify(this.applicationEventPublisher).publishEvent(event.capture());
+        assertEquals("default", event.getValue().getTenantIdentifier());
+        assertEquals(ACCOUNT_ID, event.getValue().getSavingsAccountId());
+    }
+
+    @Test
+    public void testOnlyFailedCreditsOfTheAccountAreRetried() {
+        final SavingsAccountPendingCredit pending = pendingCredit(SavingsAccountPendingCreditStatus.PENDING, null);
+        when(pending.getSavingsAccountId()).thenReturn(ACCOUNT_ID);
+        when(this.pendingCreditRepository.findById(11L)).thenReturn(Optional.of(pending));
+
+        assertThrows(GeneralPlatformDomainRuleException.class, () -> this.service.retryFailedPendingCredit(ACCOUNT_ID, 11L));
+        assertThrows(SavingsAccountPendingCreditNotFoundException.class, () -> this.service.retryFailedPendingCredit(6L, 11L));
+
+        verify(pending, never()).markPendingForRetry();
+        verify(this.applicationEventPublisher, never()).publishEvent(any(SavingsAccountPendingCreditEvent.class));
+    }
+
+    private static SavingsAccountPendingCredit pendingCredit(final SavingsAccountPendingCreditStatus status, final String amount) {
+        final SavingsAccountPendingCredit pendingCredit = mock(SavingsAccountPendingCredit.class);
+        if (status != null) {
+            when(pendingCredit.getStatus()).thenReturn(status);
+        }
+        if (amount != null) {
+            when(pendingCredit.getAmount()).thenReturn(new BigDecimal(amount));
+            when(pendingCredit.getTransactionDate()).thenReturn(LocalDate.of(2021, 3, 1));
+            when(pendingCredit.getCreatedDate()).thenReturn(new Date());
+        }
+        return pendingCredit;
+    }
+
+    private static SavingsAccountTransaction deposit(final Long id) {
+        // final entity, so a real instance with the id it gets on insert
+        final SavingsAccountTransaction deposit = BeanUtils.instantiateClass(SavingsAccountTransaction.class);
+        ReflectionTestUtils.setField(deposit, "id", id);
+        return deposit;
+    }
+}
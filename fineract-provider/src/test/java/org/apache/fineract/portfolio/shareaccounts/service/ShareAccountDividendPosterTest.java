@@ -0,0 +1,165 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.shareaccounts.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import org.apache.fineract.infrastructure.core.data.ApiParameterError;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenantConnection;
+import org.apache.fineract.infrastructure.core.exception.PlatformApiDataValidationException;
+import org.apache.fineract.infrastructure.core.service.TenantAwareTasks;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.jobs.exception.JobExecutionException;
+import org.apache.fineract.portfolio.shareaccounts.data.ShareAccountDividendPostingData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Unit Test for {@link ShareAccountDividendPoster}.
+ */
+@ExtendWith(MockitoExtension.class)
+public class ShareAccountDividendPosterTest {
+
+    private static final FineractPlatformTenant TENANT = new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata",
+            new FineractPlatformTenantConnection(1L, "fineract_default", "localhost", "3306", null, "root", "mysql", false, 5, 30000L,
+                    true, 60, false, 50, 40, 20, 10, 60, 34000, 60000, 1, 0, true));
+
+    private static final ShareAccountDividendPostingData FIRST = dividend(1L, 101L);
+    private static final ShareAccountDividendPostingData SECOND = dividend(2L, 102L);
+    private static final ShareAccountDividendPostingData THIRD = dividend(3L, 103L);
+    private static final List<ShareAccountDividendPostingData> CHUNK = Arrays.asList(FIRST, SECOND, THIRD);
+
+    @Mock
+    private ShareAccountSchedularService shareAccountSchedularService;
+
+    @Mock
+    private SecurityContext securityContext;
+
+    private Callable<Void> poster;
+
+    @BeforeEach
+    public void setUp() {
+        final ShareAccountDividendPoster dividendPoster = new ShareAccountDividendPoster();
+        dividendPoster.setDividends(CHUNK);
+        dividendPoster.setShareAccountSchedularService(this.shareAccountSchedularService);
+        // the job wraps the poster on its own thread, which carries the tenant and the security context
+        ThreadLocalContextUtil.setTenant(TENANT);
+        SecurityContextHolder.setContext(this.securityContext);
+        try {
+            this.poster = TenantAwareTasks.wrap(dividendPoster);
+        } finally {
+            SecurityContextHolder.clearContext();
+            ThreadLocalContextUtil.clearTenant();
+        }
+    }
+
+    @Test
+    public void testChunkIsPostedInOneTransaction() throws Exception {
+        doAnswer(invocation -> {
+            assertSame(TENANT, ThreadLocalContextUtil.getTenant());
+            assertSame(this.securityContext, SecurityContextHolder.getContext());
+            return null;
+        }).when(this.shareAccountSchedularService).postDividends(CHUNK);
+
+        this.poster.call();
+
+        verify(this.shareAccountSchedularService).postDividends(CHUNK);
+        verify(this.shareAccountSchedularService, never()).postDividend(any());
+        assertNull(ThreadLocalContextUtil.getTenant());
+    }
+
+    @Test
+    public void testFailedChunkIsPostedDividendByDividend() throws Exception {
+        doThrow(new IllegalStateException("chunk failed")).when(this.shareAccountSchedularService).postDividends(CHUNK);
+
+        this.poster.call();
+
+        final InOrder inOrder = inOrder(this.shareAccountSchedularService);
+        inOrder.verify(this.shareAccountSchedularService).postDividends(CHUNK);
+        inOrder.verify(this.shareAccountSchedularService).postDividend(FIRST);
+        inOrder.verify(this.shareAccountSchedularService).postDividend(SECOND);
+        inOrder.verify(this.shareAccountSchedularService).postDividend(THIRD);
+    }
+
+    @Test
+    public void testFailingDividendDoesNotHoldBackOthers() {
+        final PlatformApiDataValidationException invalid = new PlatformApiDataValidationException("validation.msg.validation.errors.exist",
+                "Validation errors exist.",
+                Collections.singletonList(ApiParameterError.generalError("error.msg.savings.account.inactive", "Account is not active")));
+        final IllegalStateException failure = new IllegalStateException("posting failed");
+        doThrow(new IllegalStateException("chunk failed")).when(this.shareAccountSchedularService).postDividends(CHUNK);
+        doThrow(invalid).when(this.shareAccountSchedularService).postDividend(FIRST);
+        doThrow(failure).when(this.shareAccountSchedularService).postDividend(THIRD);
+
+        final JobExecutionException thrown = assertThrows(JobExecutionException.class, () -> this.poster.call());
+
+        assertEquals(Arrays.asList(invalid, failure), thrown.getCauses());
+        verify(this.shareAccountSchedularService).postDividend(SECOND);
+        assertNull(ThreadLocalContextUtil.getTenant());
+    }
+
+    @Test
+    public void testLockConflictOnChunkIsRetriedBeforeFallingBack() throws Exception {
+        doThrow(new CannotAcquireLockException("deadlock")).doNothing().when(this.shareAccountSchedularService).postDividends(CHUNK);
+
+        this.poster.call();
+
+        verify(this.shareAccountSchedularService, times(2)).postDividends(CHUNK);
+        verify(this.shareAccountSchedularService, never()).postDividend(any());
+    }
+
+    @Test
+    public void testLockConflictOnDividendIsRetried() throws Exception {
+        doThrow(new IllegalStateException("chunk failed")).when(this.shareAccountSchedularService).postDividends(CHUNK);
+        doThrow(new CannotAcquireLockException("deadlock")).doNothing().when(this.shareAccountSchedularService).postDividend(SECOND);
+
+        this.poster.call();
+
+        verify(this.shareAccountSchedularService).postDividend(FIRST);
+        verify(this.shareAccountSchedularService, times(2)).postDividend(SECOND);
+        verify(this.shareAccountSchedularService).postDividend(THIRD);
+    }
+
+    private static ShareAccountDividendPostingData dividend(final Long id, final Long savingsAccountId) {
+        return ShareAccountDividendPostingData.instance(id, 7L, savingsAccountId, new BigDecimal("12.50"));
+    }
+}
@@ -0,0 +1,227 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.shareaccounts.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.apache.fineract.accounting.journalentry.service.AccountingProcessorHelper;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.infrastructure.core.service.RoutingDataSource;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccount;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccountAssembler;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccountDomainService;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccountTransaction;
+import org.apache.fineract.portfolio.shareaccounts.data.ShareAccountDividendPostingData;
+import org.apache.fineract.portfolio.shareaccounts.domain.ShareAccountDividendDetails;
+import org.apache.fineract.portfolio.shareaccounts.domain.ShareAccountDividendRepository;
+import org.apache.fineract.portfolio.shareaccounts.domain.ShareAccountDividendStatusType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.BeanUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Unit Test for the posting and progress counters of {@link ShareAccountSchedularServiceImpl}.
+ */
+@ExtendWith(MockitoExtension.class)
+public class ShareAccountSchedularServiceImplTest {
+
+    private static final Long PAY_OUT = 7L;
+    private static final Long OTHER_PAY_OUT = 8L;
+
+    @Mock
+    private ShareAccountDividendRepository shareAccountDividendRepository;
+
+    @Mock
+    private SavingsAccountDomainService savingsAccountDomainService;
+
+    @Mock
+    private SavingsAccountAssembler savingsAccountAssembler;
+
+    @Mock
+    private AccountingProcessorHelper accountingProcessorHelper;
+
+    @Mock
+    private RoutingDataSource dataSource;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private ShareAccountSchedularServiceImpl service;
+    private final Map<Long, ShareAccountDividendDetails> details = new HashMap<>();
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        this.service = new ShareAccountSchedularServiceImpl(this.shareAccountDividendRepository, this.savingsAccountDomainService,
+                this.savingsAccountAssembler, this.accountingProcessorHelper, this.dataSource);
+        ReflectionTestUtils.setField(this.service, "jdbcTemplate", this.jdbcTemplate);
+
+        when(this.shareAccountDividendRepository.findAllById(anyList())).thenAnswer(invocation -> {
+            final List<Long> ids = invocation.getArgument(0);
+            return ids.stream().map(this.details::get).collect(Collectors.toList());
+        });
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(this.accountingProcessorHelper).executeInUnitOfWork(any(Runnable.class));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadLocalContextUtil.clearTenant();
+    }
+
+    @Test
+    public void testChunkIsPostedWithProgressPerPayOut() {
+        final List<ShareAccountDividendPostingData> chunk = Arrays.asList(dividend(1L, PAY_OUT, 101L, "12.50"),
+                dividend(2L, PAY_OUT, 102L, "7.25"), dividend(3L, OTHER_PAY_OUT, 103L, "100"));
+        depositsSucceed();
+
+        this.service.postDividends(chunk);
+
+        for (final long id : new long[] { 1L, 2L, 3L }) {
+            assertPosted(id, 1000L + id);
+        }
+        verify(this.accountingProcessorHelper).executeInUnitOfWork(any(Runnable.class));
+        @SuppressWarnings("unchecked")
+        final ArgumentCaptor<Collection<ShareAccountDividendDetails>> saved = ArgumentCaptor.forClass(Collection.class);
+        verify(this.shareAccountDividendRepository).saveAll(saved.capture());
+        assertEquals(new HashSet<>(this.details.values()), new HashSet<>(saved.getValue()));
+
+        final Map<Long, Object[]> progress = progress();
+        assertEquals(2, progress.size());
+        assertProgress(progress.get(PAY_OUT), 2, "19.75");
+        assertProgress(progress.get(OTHER_PAY_OUT), 1, "100");
+    }
+
+    @Test
+    public void testSingleDividendAdvancesProgressOfItsPayOut() {
+        depositsSucceed();
+
+        this.service.postDividend(dividend(4L, PAY_OUT, 104L, "3.10"));
+
+        assertPosted(4L, 1004L);
+        final Map<Long, Object[]> progress = progress();
+        assertEquals(1, progress.size());
+        assertProgress(progress.get(PAY_OUT), 1, "3.10");
+    }
+
+    @Test
+    public void testFailedChunkLeavesProgressUntouched() {
+        final List<ShareAccountDividendPostingData> chunk = Arrays.asList(dividend(1L, PAY_OUT, 101L, "12.50"),
+                dividend(2L, PAY_OUT, 102L, "7.25"));
+        final SavingsAccount savingsAccount = mock(SavingsAccount.class);
+        when(this.savingsAccountAssembler.assembleFrom(any(Long.class))).thenReturn(savingsAccount);
+        when(this.savingsAccountDomainService.handleDividendPayout(eq(savingsAccount), any(LocalDate.class), any(BigDecimal.class)))
+                .thenReturn(savingsTransaction(1001L)).thenThrow(new IllegalStateException("account is not active"));
+
+        assertThrows(IllegalStateException.class, () -> this.service.postDividends(chunk));
+
+        verify(this.shareAccountDividendRepository, never()).saveAll(any());
+        verify(this.jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    private ShareAccountDividendPostingData dividend(final Long id, final Long payOutId, final Long savingsAccountId,
+            final String amount) {
+        final ShareAccountDividendDetails dividendDetails = new ShareAccountDividendDetails(500L + id, new BigDecimal(amount));
+        ReflectionTestUtils.setField(dividendDetails, "id", id);
+        this.details.put(id, dividendDetails);
+        return ShareAccountDividendPostingData.instance(id, payOutId, savingsAccountId, new BigDecimal(amount));
+    }
+
+    /**
+     * Deposits into savings account <code>n</code> succeed with savings transaction <code>n + 900</code>.
+     */
+    private void depositsSucceed() {
+        when(this.savingsAccountAssembler.assembleFrom(any(Long.class))).thenAnswer(invocation -> {
+            final SavingsAccount savingsAccount = mock(SavingsAccount.class);
+            when(savingsAccount.getId()).thenReturn(invocation.getArgument(0));
+            return savingsAccount;
+        });
+        when(this.savingsAccountDomainService.handleDividendPayout(any(SavingsAccount.class), eq(DateUtils.getLocalDateOfTenant()),
+                any(BigDecimal.class))).thenAnswer(invocation -> {
+                    final SavingsAccount savingsAccount = invocation.getArgument(0);
+                    return savingsTransaction(savingsAccount.getId() + 900L);
+                });
+    }
+
+    private static SavingsAccountTransaction savingsTransaction(final Long id) {
+        final SavingsAccountTransaction transaction = BeanUtils.instantiateClass(SavingsAccountTransaction.class);
+        ReflectionTestUtils.setField(transaction, "id", id);
+        return transaction;
+    }
+
+    private void assertPosted(final Long id, final Long savingsTransactionId) {
+        final ShareAccountDividendDetails dividendDetails = this.details.get(id);
+        assertEquals(ShareAccountDividendStatusType.POSTED.getValue(), ReflectionTestUtils.getField(dividendDetails, "status"));
+        assertEquals(savingsTransactionId, ReflectionTestUtils.getField(dividendDetails, "savingsTransactionId"));
+    }
+
+    /**
+     * @return the rows of the progress update, by pay out
+     */
+    private Map<Long, Object[]> progress() {
+        @SuppressWarnings("unchecked")
+        final ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        final ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(this.jdbcTemplate).batchUpdate(sql.capture(), rows.capture());
+        assertTrue(sql.getValue()
+                .startsWith("update m_share_product_dividend_pay_out set posted_account_count = posted_account_count + ?, "));
+
+        final Map<Long, Object[]> progress = new HashMap<>();
+        for (final Object[] row : rows.getValue()) {
+            progress.put((Long) row[2], row);
+        }
+        return progress;
+    }
+
+    private static void assertProgress(final Object[] row, final int postedAccountCount, final String postedAmount) {
+        assertEquals(postedAccountCount, row[0]);
+        assertEquals(0, new BigDecimal(postedAmount).compareTo((BigDecimal) row[1]));
+    }
+}
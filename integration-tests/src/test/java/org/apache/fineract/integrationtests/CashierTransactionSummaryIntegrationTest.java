@@ -0,0 +1,189 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.integrationtests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.builder.ResponseSpecBuilder;
+import io.restassured.http.ContentType;
+import io.restassured.specification.RequestSpecification;
+import io.restassured.specification.ResponseSpecification;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import org.apache.fineract.integrationtests.common.ClientHelper;
+import org.apache.fineract.integrationtests.common.CommonConstants;
+import org.apache.fineract.integrationtests.common.PaymentTypeHelper;
+import org.apache.fineract.integrationtests.common.Utils;
+import org.apache.fineract.integrationtests.common.organisation.StaffHelper;
+import org.apache.fineract.integrationtests.common.organisation.TellerHelper;
+import org.apache.fineract.integrationtests.common.savings.AccountTransferHelper;
+import org.apache.fineract.integrationtests.common.savings.SavingsAccountHelper;
+import org.apache.fineract.integrationtests.common.savings.SavingsProductHelper;
+import org.apache.fineract.integrationtests.useradministration.users.UserHelper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks the cashier summary, which totals the per day summary rebuilt from the days marked dirty, against the
+ * transactions of the cashier as listed by the UNION over the cashier, savings, loan and client transactions.
+ */
+public class CashierTransactionSummaryIntegrationTest {
+
+    private static final String CURRENCY_CODE = "USD";
+    private static final String TRANSACTION_DATE = SavingsAccountHelper.TRANSACTION_DATE;
+    private static final String ACCOUNT_TYPE_SAVINGS = "2";
+    private static final int SUPER_USER_ROLE_ID = 1;
+
+    private static final int ALLOCATE = 101;
+    private static final int SETTLE = 102;
+    private static final int CASH_IN = 103;
+    private static final int CASH_OUT = 104;
+
+    private ResponseSpecification responseSpec;
+    private RequestSpecification requestSpec;
+
+    @BeforeEach
+    public void setup() {
+        Utils.initializeRESTAssured();
+        this.requestSpec = new RequestSpecBuilder().setContentType(ContentType.JSON).build();
+        this.requestSpec.header("Authorization", "Basic " + Utils.loginIntoServerAndGetBase64EncodedAuthenticationKey());
+        this.responseSpec = new ResponseSpecBuilder().expectStatusCode(200).build();
+    }
+
+    @Test
+    public void testSummaryTotalsMatchTransactionsThroughReversalsTransfersAndNonCashPayments() {
+        final Integer staffId = StaffHelper.createStaff(this.requestSpec, this.responseSpec);
+        final String username = Utils.randomNameGenerator("Cashier_", 5);
+        final String password = "Cashier_Pass1";
+        UserHelper.createUserWithPassword(this.requestSpec, this.responseSpec, SUPER_USER_ROLE_ID, staffId, username, password);
+        final RequestSpecification cashierRequestSpec = new RequestSpecBuilder().setContentType(ContentType.JSON).build();
+        cashierRequestSpec.header("Authorization",
+                "Basic " + Base64.getEncoder().encodeToString((username + ":" + password).getBytes(StandardCharsets.UTF_8)));
+
+        final String today = Utils.getLocalDateOfTenant().format(DateTimeFormatter.ofPattern(CommonConstants.DATE_FORMAT, Locale.US));
+        final String tomorrow = Utils.getLocalDateOfTenant().plusDays(1)
+                .format(DateTimeFormatter.ofPattern(CommonConstants.DATE_FORMAT, Locale.US));
+        final Integer tellerId = TellerHelper.createTeller(this.requestSpec, this.responseSpec, SavingsAccountHelper.CREATED_DATE);
+        final Integer cashierId = TellerHelper.createFullDayCashier(this.requestSpec, this.responseSpec, tellerId, staffId,
+                TRANSACTION_DATE, tomorrow);
+        TellerHelper.allocateCash(this.requestSpec, this.responseSpec, tellerId, cashierId, CURRENCY_CODE, "1000", today);
+
+        final Integer cashPaymentTypeId = PaymentTypeHelper.createPaymentType(this.requestSpec, this.responseSpec,
+                PaymentTypeHelper.randomNameGenerator("P_T", 5), "Cash", true, 1);
+        final Integer chequePaymentTypeId = PaymentTypeHelper.createPaymentType(this.requestSpec, this.responseSpec,
+                PaymentTypeHelper.randomNameGenerator("P_T", 5), "Cheque", false, 2);
+
+        // the accounts are opened by a user without a cashier, so only the transactions below belong to the cashier
+        final Integer clientId = ClientHelper.createClient(this.requestSpec, this.responseSpec);
+        final Integer savingsProductId = SavingsProductHelper.createSavingsProduct(new SavingsProductHelper().build(), this.requestSpec,
+                this.responseSpec);
+        final Integer savingsId = openSavingsAccount(clientId, savingsProductId);
+        final Integer otherSavingsId = openSavingsAccount(clientId, savingsProductId);
+
+        final SavingsAccountHelper cashierSavingsHelper = new SavingsAccountHelper(cashierRequestSpec, this.responseSpec);
+        cashierSavingsHelper.depositToSavingsAccount(savingsId, "500", TRANSACTION_DATE, CommonConstants.RESPONSE_RESOURCE_ID);
+        cashierSavingsHelper.depositToSavingsAccountWithPaymentType(savingsId, "50", TRANSACTION_DATE, cashPaymentTypeId,
+                CommonConstants.RESPONSE_RESOURCE_ID);
+        cashierSavingsHelper.depositToSavingsAccountWithPaymentType(savingsId, "200", TRANSACTION_DATE, chequePaymentTypeId,
+                CommonConstants.RESPONSE_RESOURCE_ID);
+        cashierSavingsHelper.withdrawalFromSavingsAccount(savingsId, "120", TRANSACTION_DATE, CommonConstants.RESPONSE_RESOURCE_ID);
+
+        Map<Integer, BigDecimal> totals = verifySummaryMatchesTransactions(tellerId, cashierId);
+        assertTotal(totals, ALLOCATE, "1000");
+        assertTotal(totals, CASH_IN, "550");
+        assertTotal(totals, CASH_OUT, "120");
+
+        // the day was rebuilt by the read above, a later deposit on it marks it dirty again
+        final Integer depositId = (Integer) cashierSavingsHelper.depositToSavingsAccount(savingsId, "300", TRANSACTION_DATE,
+                CommonConstants.RESPONSE_RESOURCE_ID);
+        totals = verifySummaryMatchesTransactions(tellerId, cashierId);
+        assertTotal(totals, CASH_IN, "850");
+
+        cashierSavingsHelper.undoSavingsAccountTransaction(savingsId, depositId);
+        totals = verifySummaryMatchesTransactions(tellerId, cashierId);
+        assertTotal(totals, CASH_IN, "550");
+
+        new AccountTransferHelper(cashierRequestSpec, this.responseSpec).accountTransfer(clientId, savingsId, clientId, otherSavingsId,
+                ACCOUNT_TYPE_SAVINGS, ACCOUNT_TYPE_SAVINGS, "100");
+        totals = verifySummaryMatchesTransactions(tellerId, cashierId);
+        assertTotal(totals, CASH_IN, "550");
+        assertTotal(totals, CASH_OUT, "120");
+
+        // the net cash is 1000 + 550 - 120, checked without rebuilding the summary
+        cashierSavingsHelper.depositToSavingsAccount(savingsId, "10", TRANSACTION_DATE, CommonConstants.RESPONSE_RESOURCE_ID);
+        final ResponseSpecification errorResponse = new ResponseSpecBuilder().expectStatusCode(403).build();
+        TellerHelper.settleCash(this.requestSpec, errorResponse, tellerId, cashierId, CURRENCY_CODE, "1441", today);
+        TellerHelper.settleCash(this.requestSpec, this.responseSpec, tellerId, cashierId, CURRENCY_CODE, "1440", today);
+
+        totals = verifySummaryMatchesTransactions(tellerId, cashierId);
+        assertTotal(totals, CASH_IN, "560");
+        assertTotal(totals, SETTLE, "1440");
+    }
+
+    private Integer openSavingsAccount(final Integer clientId, final Integer savingsProductId) {
+        final SavingsAccountHelper savingsAccountHelper = new SavingsAccountHelper(this.requestSpec, this.responseSpec);
+        final Integer savingsId = savingsAccountHelper.applyForSavingsApplication(clientId, savingsProductId,
+                SavingsAccountHelper.ACCOUNT_TYPE_INDIVIDUAL);
+        savingsAccountHelper.approveSavings(savingsId);
+        savingsAccountHelper.activateSavings(savingsId);
+        return savingsId;
+    }
+
+    /**
+     * @return the totals of the summary per cashier transaction type, after checking that they equal the sums of the
+     *         listed transactions
+     */
+    private Map<Integer, BigDecimal> verifySummaryMatchesTransactions(final Integer tellerId, final Integer cashierId) {
+        final String json = TellerHelper.getSummaryAndTransactions(this.requestSpec, this.responseSpec, tellerId, cashierId,
+                CURRENCY_CODE);
+        final JsonObject summary = JsonParser.parseString(json).getAsJsonObject();
+
+        final Map<Integer, BigDecimal> listed = new HashMap<>();
+        for (final JsonElement element : summary.getAsJsonObject("cashierTransactions").getAsJsonArray("pageItems")) {
+            final JsonObject transaction = element.getAsJsonObject();
+            listed.merge(transaction.getAsJsonObject("txnType").get("id").getAsInt(), transaction.get("txnAmount").getAsBigDecimal(),
+                    BigDecimal::add);
+        }
+
+        final Map<Integer, BigDecimal> totals = new HashMap<>();
+        totals.put(ALLOCATE, summary.get("sumCashAllocation").getAsBigDecimal());
+        totals.put(SETTLE, summary.get("sumCashSettlement").getAsBigDecimal());
+        totals.put(CASH_IN, summary.get("sumInwardCash").getAsBigDecimal());
+        totals.put(CASH_OUT, summary.get("sumOutwardCash").getAsBigDecimal());
+        for (final Map.Entry<Integer, BigDecimal> total : totals.entrySet()) {
+            assertEquals(0, listed.getOrDefault(total.getKey(), BigDecimal.ZERO).compareTo(total.getValue()),
+                    "total of type " + total.getKey() + " differs from its transactions: " + json);
+        }
+        return totals;
+    }
+
+    private static void assertTotal(final Map<Integer, BigDecimal> totals, final int cashierTxnType, final String expected) {
+        assertEquals(0, new BigDecimal(expected).compareTo(totals.get(cashierTxnType)),
+                "total of type " + cashierTxnType + " is " + totals.get(cashierTxnType));
+    }
+}
@@ -0,0 +1,107 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.integrationtests.common.organisation;
+
+import com.google.gson.Gson;
+import io.restassured.specification.RequestSpecification;
+import io.restassured.specification.ResponseSpecification;
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.fineract.integrationtests.common.CommonConstants;
+import org.apache.fineract.integrationtests.common.Utils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public final class TellerHelper {
+
+    private TellerHelper() {
+
+    }
+
+    private static final Logger LOG = LoggerFactory.getLogger(TellerHelper.class);
+    private static final String TELLERS_URL = "/fineract-provider/api/v1/tellers";
+
+    private static final String TELLER_STATUS_ACTIVE = "300";
+
+    public static Integer createTeller(final RequestSpecification requestSpec, final ResponseSpecification responseSpec,
+            final String startDate) {
+        final Map<String, Object> map = new HashMap<>();
+        map.put("locale", CommonConstants.LOCALE);
+        map.put("dateFormat", CommonConstants.DATE_FORMAT);
+        map.put("officeId", 1);
+        map.put("name", Utils.randomNameGenerator("Teller_", 5));
+        map.put("startDate", startDate);
+        map.put("status", TELLER_STATUS_ACTIVE);
+        final String json = new Gson().toJson(map);
+        LOG.info("map :  {}", map);
+        return Utils.performServerPost(requestSpec, responseSpec, TELLERS_URL + "?" + Utils.TENANT_IDENTIFIER, json, "resourceId");
+    }
+
+    public static Integer createFullDayCashier(final RequestSpecification requestSpec, final ResponseSpecification responseSpec,
+            final Integer tellerId, final Integer staffId, final String startDate, final String endDate) {
+        final Map<String, Object> map = new HashMap<>();
+        map.put("locale", CommonConstants.LOCALE);
+        map.put("dateFormat", CommonConstants.DATE_FORMAT);
+        map.put("staffId", staffId);
+        map.put("startDate", startDate);
+        map.put("endDate", endDate);
+        map.put("isFullDay", true);
+        final String json = new Gson().toJson(map);
+        LOG.info("map :  {}", map);
+        return Utils.performServerPost(requestSpec, responseSpec, cashiersURL(tellerId) + "?" + Utils.TENANT_IDENTIFIER, json,
+                "resourceId");
+    }
+
+    public static Integer allocateCash(final RequestSpecification requestSpec, final ResponseSpecification responseSpec,
+            final Integer tellerId, final Integer cashierId, final String currencyCode, final String amount, final String txnDate) {
+        return postCashTransaction(requestSpec, responseSpec, tellerId, cashierId, "allocate", currencyCode, amount, txnDate);
+    }
+
+    public static Integer settleCash(final RequestSpecification requestSpec, final ResponseSpecification responseSpec,
+            final Integer tellerId, final Integer cashierId, final String currencyCode, final String amount, final String txnDate) {
+        return postCashTransaction(requestSpec, responseSpec, tellerId, cashierId, "settle", currencyCode, amount, txnDate);
+    }
+
+    public static String getSummaryAndTransactions(final RequestSpecification requestSpec, final ResponseSpecification responseSpec,
+            final Integer tellerId, final Integer cashierId, final String currencyCode) {
+        final String url = cashiersURL(tellerId) + "/" + cashierId + "/summaryandtransactions?currencyCode=" + currencyCode
+                + "&offset=0&limit=1000&" + Utils.TENANT_IDENTIFIER;
+        return Utils.performServerGet(requestSpec, responseSpec, url, null);
+    }
+
+    private static Integer postCashTransaction(final RequestSpecification requestSpec, final ResponseSpecification responseSpec,
+            final Integer tellerId, final Integer cashierId, final String command, final String currencyCode, final String amount,
+            final String txnDate) {
+        final Map<String, Object> map = new HashMap<>();
+        map.put("locale", CommonConstants.LOCALE);
+        map.put("dateFormat", CommonConstants.DATE_FORMAT);
+        map.put("currencyCode", currencyCode);
+        map.put("txnAmount", amount);
+        map.put("txnDate", txnDate);
+        map.put("txnNote", command);
+        final String json = new Gson().toJson(map);
+        LOG.info("map :  {}", map);
+        return Utils.performServerPost(requestSpec, responseSpec,
+                cashiersURL(tellerId) + "/" + cashierId + "/" + command + "?" + Utils.TENANT_IDENTIFIER, json, "resourceId");
+    }
+
+    private static String cashiersURL(final Integer tellerId) {
+        return TELLERS_URL + "/" + tellerId + "/cashiers";
+    }
+}
@@ -247,6 +247,13 @@ public class SavingsAccountHelper {
                 getSavingsTransactionJSON(amount, date), jsonAttributeToGetback);
     }
 
+    public Object depositToSavingsAccountWithPaymentType(final Integer savingsID, final String amount, String date,
+            final Integer paymentTypeId, String jsonAttributeToGetback) {
+        LOG.info("--------------------------------- SAVINGS TRANSACTION DEPOSIT --------------------------------");
+        return performSavingActions(createSavingsTransactionURL(DEPOSIT_SAVINGS_COMMAND, savingsID),
+                getSavingsTransactionWithPaymentTypeJSON(amount, date, paymentTypeId), jsonAttributeToGetback);
+    }
+
     public Object withdrawalFromSavingsAccount(final Integer savingsId, final String amount, String date, String jsonAttributeToGetback) {
         LOG.info("\n--------------------------------- SAVINGS TRANSACTION WITHDRAWAL --------------------------------");
         return performSavingActions(createSavingsTransactionURL(WITHDRAW_SAVINGS_COMMAND, savingsId),
@@ -432,6 +439,19 @@ public class SavingsAccountHelper {
         return savingsAccountWithdrawalJson;
     }
 
+    private String getSavingsTransactionWithPaymentTypeJSON(final String amount, final String transactionDate,
+            final Integer paymentTypeId) {
+        final HashMap<String, Object> map = new HashMap<>();
+        map.put("locale", CommonConstants.LOCALE);
+        map.put("dateFormat", CommonConstants.DATE_FORMAT);
+        map.put("transactionDate", transactionDate);
+        map.put("transactionAmount", amount);
+        map.put("paymentTypeId", paymentTypeId);
+        String savingsAccountDepositJson = new Gson().toJson(map);
+        LOG.info(savingsAccountDepositJson);
+        return savingsAccountDepositJson;
+    }
+
     private String getCalculatedInterestForSavingsApplicationAsJSON() {
         final HashMap<String, String> map = new HashMap<>();
         String savingsAccountCalculatedInterestJson = new Gson().toJson(map);
@@ -46,6 +46,12 @@ public final class UserHelper {
                 attribute);
     }
 
+    public static Integer createUserWithPassword(final RequestSpecification requestSpec, final ResponseSpecification responseSpec,
+            int roleId, int staffId, String username, String password) {
+        return Utils.performServerPost(requestSpec, responseSpec, CREATE_USER_URL,
+                getTestCreateUserWithPasswordAsJSON(roleId, staffId, username, password), "resourceId");
+    }
+
     public static Object createUserForSelfService(final RequestSpecification requestSpec, final ResponseSpecification responseSpec,
             int roleId, int staffId, int clientId, String attribute) {
         return Utils.performServerPost(requestSpec, responseSpec, CREATE_USER_URL,
@@ -79,6 +85,12 @@ public final class UserHelper {
                 + "\"], \"sendPasswordToEmail\": false}";
     }
 
+    private static String getTestCreateUserWithPasswordAsJSON(int roleId, int staffId, String username, String password) {
+        return "{ \"username\": \"" + username + "\", \"firstname\": \"Test\", \"lastname\": \"User\", \"email\": \"whatever@mifos.org\","
+                + " \"officeId\": \"1\", \"staffId\": " + "\"" + staffId + "\",\"roles\": [\"" + roleId
+                + "\"], \"sendPasswordToEmail\": false, \"password\": \"" + password + "\", \"repeatPassword\": \"" + password + "\"}";
+    }
+
     private static String getTestUpdateUserAsJSON(String username) {
         return "{ \"username\": \"" + username + "\", \"firstname\": \"Test\", \"lastname\": \"User\", \"email\": \"whatever@mifos.org\","
                 + " \"officeId\": \"1\"}";